@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.ipc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.util.ipc.IpcEndpoint;
+import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryClientEndpoint;
+import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryServerEndpoint;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.logger.NullLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares round trip latency and throughput of shared memory spaces backed by memory mapped files
+ * with loopback TCP connection. Each round trip sends a message to an echo thread and reads it back.
+ */
+@State(Scope.Benchmark)
+public class JmhSharedMemoryBenchmark extends JmhAbstractBenchmark {
+    /** Shared memory transport. */
+    private static final String SHMEM = "SHMEM";
+
+    /** Loopback TCP transport. */
+    private static final String TCP = "TCP";
+
+    /** Transport. */
+    @Param({SHMEM, TCP})
+    private String transport;
+
+    /** Message size. */
+    @Param({"64", "4096", "65536"})
+    private int msgSize;
+
+    /** Message. */
+    private byte[] msg;
+
+    /** Shared memory server endpoint. */
+    private IpcSharedMemoryServerEndpoint shmemSrv;
+
+    /** Shared memory client endpoint. */
+    private IpcSharedMemoryClientEndpoint shmemClient;
+
+    /** TCP server socket. */
+    private ServerSocket srvSock;
+
+    /** TCP client socket. */
+    private Socket sock;
+
+    /** Input stream. */
+    private InputStream in;
+
+    /** Output stream. */
+    private OutputStream out;
+
+    /** Echo thread. */
+    private Thread echo;
+
+    /**
+     * Setup.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        msg = new byte[msgSize];
+
+        if (SHMEM.equals(transport)) {
+            shmemSrv = new IpcSharedMemoryServerEndpoint(new NullLogger(), UUID.randomUUID(), "bench",
+                Files.createTempDirectory("shmem-bench").toString());
+
+            shmemSrv.setPort(IpcSharedMemoryServerEndpoint.DFLT_IPC_PORT);
+            shmemSrv.setMapped(true);
+
+            shmemSrv.start();
+
+            echo = startEcho(() -> {
+                IpcEndpoint endpoint = shmemSrv.accept();
+
+                echo(endpoint.inputStream(), endpoint.outputStream());
+            });
+
+            shmemClient = new IpcSharedMemoryClientEndpoint(shmemSrv.getPort(), new NullLogger());
+
+            in = shmemClient.inputStream();
+            out = shmemClient.outputStream();
+        }
+        else {
+            srvSock = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+
+            echo = startEcho(() -> {
+                try (Socket sock = srvSock.accept()) {
+                    sock.setTcpNoDelay(true);
+
+                    echo(sock.getInputStream(), sock.getOutputStream());
+                }
+            });
+
+            sock = new Socket(InetAddress.getLoopbackAddress(), srvSock.getLocalPort());
+
+            sock.setTcpNoDelay(true);
+
+            in = sock.getInputStream();
+            out = sock.getOutputStream();
+        }
+    }
+
+    /**
+     * Tear down.
+     *
+     * @throws Exception If failed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (shmemClient != null)
+            shmemClient.close();
+
+        U.closeQuiet(sock);
+
+        echo.join();
+
+        if (shmemSrv != null)
+            shmemSrv.close();
+
+        U.closeQuiet(srvSock);
+    }
+
+    /**
+     * Sends a message and reads it back.
+     *
+     * @return Last byte of the message.
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public byte roundTrip() throws Exception {
+        out.write(msg);
+        out.flush();
+
+        readFully(in, msg);
+
+        return msg[msgSize - 1];
+    }
+
+    /**
+     * @param task Echo task.
+     * @return Started thread.
+     */
+    private static Thread startEcho(EchoTask task) {
+        Thread t = new Thread(() -> {
+            try {
+                task.run();
+            }
+            catch (Exception ignored) {
+                // Connection closed.
+            }
+        }, "echo");
+
+        t.setDaemon(true);
+
+        t.start();
+
+        return t;
+    }
+
+    /**
+     * Reads messages and sends them back until the stream is closed.
+     *
+     * @param in Input stream.
+     * @param out Output stream.
+     * @throws IOException If failed.
+     */
+    private void echo(InputStream in, OutputStream out) throws IOException {
+        byte[] buf = new byte[msgSize];
+
+        while (readFully(in, buf)) {
+            out.write(buf);
+            out.flush();
+        }
+    }
+
+    /**
+     * @param in Input stream.
+     * @param buf Buffer to fill.
+     * @return {@code False} if stream has been closed.
+     * @throws IOException If failed.
+     */
+    private static boolean readFully(InputStream in, byte[] buf) throws IOException {
+        int off = 0;
+
+        while (off < buf.length) {
+            int read = in.read(buf, off, buf.length - off);
+
+            if (read < 0)
+                return false;
+
+            off += read;
+        }
+
+        return true;
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(1)
+            .warmupIterations(10)
+            .measurementIterations(20)
+            .benchmarkModes(Mode.AverageTime, Mode.Throughput)
+            .outputTimeUnit(TimeUnit.MICROSECONDS)
+            .benchmarks(JmhSharedMemoryBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms1g", "-Xmx1g")
+            .run();
+    }
+
+    /**
+     * Echo task.
+     */
+    private interface EchoTask {
+        /**
+         * @throws Exception If failed.
+         */
+        void run() throws Exception;
+    }
+}
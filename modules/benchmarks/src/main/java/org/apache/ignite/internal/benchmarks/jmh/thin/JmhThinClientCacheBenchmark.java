@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.thin;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares throughput per client thread of synchronous thin client cache operations with asynchronous ones,
+ * which are pipelined over the same connection without waiting for the previous responses.
+ */
+@State(Scope.Benchmark)
+public class JmhThinClientCacheBenchmark extends JmhAbstractBenchmark {
+    /** Number of async operations in flight per benchmark thread. */
+    private static final int WINDOW = 64;
+
+    /** Keys count. */
+    private static final int CNT = 10_000;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Thin client. */
+    private IgniteClient client;
+
+    /** Cache. */
+    private ClientCache<Integer, Integer> cache;
+
+    /**
+     * Setup.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        IgniteConfiguration cfg = new IgniteConfiguration()
+            .setIgniteInstanceName("server")
+            .setLocalHost("127.0.0.1")
+            .setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME));
+
+        Ignition.start(cfg);
+
+        client = Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"));
+
+        cache = client.cache(CACHE_NAME);
+
+        for (int i = 0; i < CNT; i++)
+            cache.put(i, i);
+    }
+
+    /**
+     * Tear down.
+     *
+     * @throws Exception If failed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+
+        Ignition.stopAll(true);
+    }
+
+    /**
+     * Synchronous put.
+     */
+    @Benchmark
+    public void put() {
+        int key = ThreadLocalRandom.current().nextInt(CNT);
+
+        cache.put(key, key);
+    }
+
+    /**
+     * Asynchronous puts, {@link #WINDOW} requests are sent before waiting for responses.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public void putAsync() {
+        IgniteFuture<?>[] futs = new IgniteFuture[WINDOW];
+
+        for (int i = 0; i < WINDOW; i++) {
+            int key = ThreadLocalRandom.current().nextInt(CNT);
+
+            futs[i] = cache.putAsync(key, key);
+        }
+
+        for (IgniteFuture<?> fut : futs)
+            fut.get();
+    }
+
+    /**
+     * Synchronous get.
+     *
+     * @return Value.
+     */
+    @Benchmark
+    public Integer get() {
+        return cache.get(ThreadLocalRandom.current().nextInt(CNT));
+    }
+
+    /**
+     * Asynchronous gets, {@link #WINDOW} requests are sent before waiting for responses.
+     *
+     * @return Sum of values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public int getAsync() {
+        IgniteFuture<Integer>[] futs = new IgniteFuture[WINDOW];
+
+        for (int i = 0; i < WINDOW; i++)
+            futs[i] = cache.getAsync(ThreadLocalRandom.current().nextInt(CNT));
+
+        int sum = 0;
+
+        for (IgniteFuture<Integer> fut : futs)
+            sum += fut.get();
+
+        return sum;
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(1)
+            .warmupIterations(10)
+            .measurementIterations(20)
+            .benchmarkModes(Mode.Throughput)
+            .outputTimeUnit(TimeUnit.SECONDS)
+            .benchmarks(JmhThinClientCacheBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms1g", "-Xmx1g")
+            .run();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.jdbc.thin;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Checks that query results read through columnar result pages are the same as read through row-based pages.
+ */
+public class JdbcThinColumnarResultsSelfTest extends JdbcThinAbstractSelfTest {
+    /** URL. */
+    private static final String URL = "jdbc:ignite:thin://127.0.0.1/";
+
+    /** URL with columnar result pages enabled. */
+    private static final String COLUMNAR_URL = URL + "?columnarResults=true";
+
+    /** Rows count. */
+    private static final int ROWS = 1_000;
+
+    /** Fetch size, less than rows count to get several pages per query. */
+    private static final int FETCH_SIZE = 128;
+
+    /** Distinct values of the dictionary-encoded string column. */
+    private static final String[] CITIES = {"London", "Paris", "Berlin", "Madrid"};
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(2);
+
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE TEST (id INT PRIMARY KEY, intVal INT, longVal BIGINT, dblVal DOUBLE, " +
+                    "boolVal BOOLEAN, city VARCHAR, name VARCHAR, nullableVal INT, decVal DECIMAL)");
+            }
+
+            String ins = "INSERT INTO TEST VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+            try (PreparedStatement stmt = conn.prepareStatement(ins)) {
+                for (int i = 0; i < ROWS; i++) {
+                    stmt.setInt(1, i);
+                    stmt.setInt(2, i * 3);
+                    stmt.setLong(3, i * 1_000_000_007L);
+                    stmt.setDouble(4, i / 7.0);
+                    stmt.setBoolean(5, i % 3 == 0);
+                    stmt.setString(6, CITIES[i % CITIES.length]);
+                    stmt.setString(7, "name-" + i);
+
+                    if (i % 5 == 0)
+                        stmt.setObject(8, null);
+                    else
+                        stmt.setInt(8, i);
+
+                    stmt.setBigDecimal(9, BigDecimal.valueOf(i, 2));
+
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testColumnarResultsMatchRowResults() throws Exception {
+        String sql = "SELECT id, intVal, longVal, dblVal, boolVal, city, name, nullableVal, decVal " +
+            "FROM TEST ORDER BY id";
+
+        List<List<Object>> exp = query(URL, sql);
+        List<List<Object>> res = query(COLUMNAR_URL, sql);
+
+        assertEquals(ROWS, exp.size());
+        assertEquals(exp, res);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPrimitiveGetters() throws Exception {
+        try (Connection conn = DriverManager.getConnection(COLUMNAR_URL)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setFetchSize(FETCH_SIZE);
+
+                ResultSet rs = stmt.executeQuery(
+                    "SELECT id, intVal, longVal, dblVal, boolVal, city, nullableVal FROM TEST ORDER BY id");
+
+                int cnt = 0;
+
+                while (rs.next()) {
+                    int i = rs.getInt(1);
+
+                    assertEquals(cnt, i);
+                    assertEquals(i * 3, rs.getInt(2));
+                    assertEquals(i * 3L, rs.getLong(2));
+                    assertEquals(String.valueOf(i * 3), rs.getString(2));
+                    assertEquals(i * 1_000_000_007L, rs.getLong(3));
+                    assertEquals(i / 7.0, rs.getDouble(4));
+                    assertEquals(i % 3 == 0, rs.getBoolean(5));
+                    assertEquals(CITIES[i % CITIES.length], rs.getString(6));
+
+                    int nullable = rs.getInt(7);
+
+                    if (i % 5 == 0) {
+                        assertTrue(rs.wasNull());
+                        assertEquals(0, nullable);
+                        assertNull(rs.getObject(7));
+                    }
+                    else {
+                        assertFalse(rs.wasNull());
+                        assertEquals(i, nullable);
+                    }
+
+                    cnt++;
+                }
+
+                assertEquals(ROWS, cnt);
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAllNullAndEmptyResults() throws Exception {
+        String nullSql = "SELECT nullableVal FROM TEST WHERE id % 5 = 0 ORDER BY id";
+
+        List<List<Object>> res = query(COLUMNAR_URL, nullSql);
+
+        assertEquals(ROWS / 5, res.size());
+
+        for (List<Object> row : res)
+            assertNull(row.get(0));
+
+        assertTrue(query(COLUMNAR_URL, "SELECT id, city FROM TEST WHERE id < 0").isEmpty());
+    }
+
+    /**
+     * @param url Connection URL.
+     * @param sql Query.
+     * @return Query results.
+     * @throws Exception If failed.
+     */
+    private List<List<Object>> query(String url, String sql) throws Exception {
+        try (Connection conn = DriverManager.getConnection(url)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setFetchSize(FETCH_SIZE);
+
+                ResultSet rs = stmt.executeQuery(sql);
+
+                int cols = rs.getMetaData().getColumnCount();
+
+                List<List<Object>> res = new ArrayList<>();
+
+                while (rs.next()) {
+                    List<Object> row = new ArrayList<>(cols);
+
+                    for (int i = 1; i <= cols; i++)
+                        row.add(rs.getObject(i));
+
+                    res.add(row);
+                }
+
+                return res;
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.jdbc.thin;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.internal.processors.odbc.ClientListenerConnectionContext;
+import org.apache.ignite.internal.processors.odbc.ClientListenerNioListener;
+import org.apache.ignite.internal.processors.odbc.SqlStateCode;
+import org.apache.ignite.internal.util.nio.GridNioServer;
+import org.apache.ignite.internal.util.nio.GridNioSession;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Server-side prepared statements test.
+ */
+@SuppressWarnings("ThrowableNotThrown")
+public class JdbcThinServerPreparedStatementSelfTest extends JdbcThinAbstractSelfTest {
+    /** URL. */
+    private static final String URL = "jdbc:ignite:thin://127.0.0.1/";
+
+    /** Query parser metrics registry name. */
+    private static final String PARSER_METRICS = "sql.parser.cache";
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrid(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "DROP TABLE IF EXISTS TEST");
+            execute(conn, "CREATE TABLE TEST (id INT PRIMARY KEY, val INT)");
+            execute(conn, "INSERT INTO TEST VALUES (1, 10), (2, 20)");
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRepeatedExecutionsSkipParsing() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT val FROM TEST WHERE id = ?")) {
+                stmt.setInt(1, 1);
+
+                assertEquals(10, singleValue(stmt));
+
+                long lookups = parserCacheLookups();
+
+                for (int i = 0; i < 10; i++) {
+                    stmt.setInt(1, 2);
+
+                    assertEquals(20, singleValue(stmt));
+                }
+
+                assertEquals(lookups, parserCacheLookups());
+
+                execute(conn, "CREATE INDEX TEST_VAL_IDX ON TEST (val)");
+
+                lookups = parserCacheLookups();
+
+                // The query is parsed once again for the new schema version.
+                for (int i = 0; i < 10; i++)
+                    assertEquals(20, singleValue(stmt));
+
+                assertEquals(lookups + 1, parserCacheLookups());
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO TEST VALUES (?, ?)")) {
+                long lookups = 0;
+
+                for (int i = 0; i < 3; i++) {
+                    for (int j = 0; j < 5; j++) {
+                        int id = 100 + i * 5 + j;
+
+                        stmt.setInt(1, id);
+                        stmt.setInt(2, id);
+
+                        stmt.addBatch();
+                    }
+
+                    stmt.executeBatch();
+
+                    if (i == 0)
+                        lookups = parserCacheLookups();
+                }
+
+                // Batched executions are parsed once as well.
+                assertEquals(lookups, parserCacheLookups());
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFailedExecutionKeepsStatement() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO TEST VALUES (?, ?)")) {
+                stmt.setInt(1, 3);
+                stmt.setInt(2, 30);
+
+                assertEquals(1, stmt.executeUpdate());
+
+                Map<Long, ?> srvStmts = serverPreparedStatements();
+
+                assertEquals(1, srvStmts.size());
+
+                Long stmtId = F.first(srvStmts.keySet());
+
+                // Duplicate key.
+                GridTestUtils.assertThrows(log, () -> stmt.executeUpdate(), SQLException.class, null);
+
+                stmt.setInt(1, 4);
+
+                assertEquals(1, stmt.executeUpdate());
+
+                assertEquals(1, srvStmts.size());
+                assertEquals(stmtId, F.first(srvStmts.keySet()));
+                assertEquals(1, clientPreparedStatements(conn).size());
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidationAfterSchemaChange() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT val FROM TEST WHERE id = ?")) {
+                stmt.setInt(1, 1);
+
+                assertEquals(10, singleValue(stmt));
+
+                execute(conn, "ALTER TABLE TEST DROP COLUMN val");
+
+                GridTestUtils.assertThrows(log, () -> singleValue(stmt), SQLException.class, "VAL");
+
+                execute(conn, "ALTER TABLE TEST ADD COLUMN val INT");
+                execute(conn, "UPDATE TEST SET val = 100 WHERE id = 1");
+
+                assertEquals(100, singleValue(stmt));
+
+                // The statement is parsed again instead of being prepared once more.
+                assertEquals(1, serverPreparedStatements().size());
+                assertEquals(1, clientPreparedStatements(conn).size());
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFallbackToQueryText() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT val FROM TEST WHERE id = ?")) {
+                stmt.setInt(1, 2);
+
+                assertEquals(20, singleValue(stmt));
+
+                Map<Long, ?> srvStmts = serverPreparedStatements();
+
+                assertEquals(1, srvStmts.size());
+
+                // Statement is lost on the server, the query is sent as text.
+                srvStmts.clear();
+
+                assertEquals(20, singleValue(stmt));
+
+                assertTrue(clientPreparedStatements(conn).isEmpty());
+
+                // Statement is prepared again on the next execution.
+                assertEquals(20, singleValue(stmt));
+
+                assertEquals(1, srvStmts.size());
+            }
+
+            // Statement that fails to prepare is sent as text, the error is reported on execution.
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT val FROM TEST2 WHERE id = ?")) {
+                stmt.setInt(1, 1);
+
+                SQLException e = (SQLException)GridTestUtils.assertThrows(log, () -> singleValue(stmt),
+                    SQLException.class, "TEST2");
+
+                assertEquals(SqlStateCode.PARSING_EXCEPTION, e.getSQLState());
+
+                assertEquals(1, serverPreparedStatements().size());
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testServerSideCleanupOnClose() throws Exception {
+        Map<Long, ?> srvStmts;
+
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            for (int i = 1; i <= 2; i++) {
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT val FROM TEST WHERE id = " + i)) {
+                    assertEquals(i * 10, singleValue(stmt));
+                }
+            }
+
+            srvStmts = serverPreparedStatements();
+
+            assertEquals(2, srvStmts.size());
+        }
+
+        assertTrue(GridTestUtils.waitForCondition(srvStmts::isEmpty, getTestTimeout()));
+    }
+
+    /**
+     * @param conn Connection.
+     * @param sql Statement.
+     * @throws SQLException If failed.
+     */
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * @param stmt Statement.
+     * @return Value of the first column of the single row result.
+     * @throws SQLException If failed.
+     */
+    private static int singleValue(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+
+            int res = rs.getInt(1);
+
+            assertFalse(rs.next());
+
+            return res;
+        }
+    }
+
+    /**
+     * @return Number of parsed queries looked up in the parser cache.
+     */
+    private long parserCacheLookups() {
+        MetricRegistry mreg = grid(0).context().metric().registry(PARSER_METRICS);
+
+        return mreg.<LongMetric>findMetric("hits").value() + mreg.<LongMetric>findMetric("misses").value();
+    }
+
+    /**
+     * @return Statements prepared on the server by the only client connection.
+     */
+    private Map<Long, ?> serverPreparedStatements() {
+        GridNioServer<?> srv = GridTestUtils.getFieldValue(grid(0).context().sqlListener(), "srv");
+
+        List<Map<Long, ?>> res = new ArrayList<>();
+
+        for (GridNioSession ses : srv.sessions()) {
+            ClientListenerConnectionContext connCtx = ses.meta(ClientListenerNioListener.CONN_CTX_META_KEY);
+
+            if (connCtx != null)
+                res.add(GridTestUtils.getFieldValue(connCtx.handler(), "preparedQrys"));
+        }
+
+        assertEquals(1, res.size());
+
+        return res.get(0);
+    }
+
+    /**
+     * @param conn Connection.
+     * @return Statements prepared on the server known by the client.
+     */
+    private static Map<?, Long> clientPreparedStatements(Connection conn) {
+        Object io = GridTestUtils.getFieldValue(conn, "singleIo");
+
+        return GridTestUtils.getFieldValue(io, "preparedStmts");
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.jdbc.thin;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.internal.jdbc.thin.JdbcThinTcpIo;
+import org.apache.ignite.internal.processors.query.GridQueryProcessor;
+import org.apache.ignite.internal.processors.query.SqlClientContext;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for streaming via thin driver with partition awareness: rows must be sent directly to the primary nodes.
+ */
+public class JdbcThinStreamingPartitionAwarenessSelfTest extends JdbcThinAbstractSelfTest {
+    /** URL. */
+    private static final String URL = "jdbc:ignite:thin://127.0.0.1:10800..10802?partitionAwareness=true";
+
+    /** Nodes count. */
+    private static final int NODES_CNT = 3;
+
+    /** Rows count. */
+    private static final int ROWS_CNT = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            GridQueryProcessor.idxCls = PrimaryCheckingIndexing.class;
+
+            startGrid(i);
+        }
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "CREATE TABLE Person(id INT PRIMARY KEY, name VARCHAR) WITH \"cache_name=person\"");
+        }
+
+        awaitPartitionMapExchange();
+
+        PrimaryCheckingIndexing.rows.set(0);
+        PrimaryCheckingIndexing.remoteRows.set(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "DROP TABLE Person");
+        }
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRowsStreamedToPrimaryNodes() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            // Connections to the nodes other than the first one are established in background.
+            assertTrue(GridTestUtils.waitForCondition(
+                () -> GridTestUtils.<Map<?, ?>>getFieldValue(conn, "ios").size() == NODES_CNT, getTestTimeout()));
+
+            execute(conn, "SET STREAMING ON BATCH_SIZE 17 ORDERED");
+
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO Person(id, name) VALUES (?, ?)")) {
+                for (int i = 0; i < ROWS_CNT; i++) {
+                    stmt.setInt(1, i);
+                    stmt.setString(2, "Person " + i);
+
+                    stmt.executeUpdate();
+                }
+            }
+
+            execute(conn, "SET STREAMING OFF");
+        }
+
+        assertEquals(ROWS_CNT, PrimaryCheckingIndexing.rows.get());
+        assertEquals(0, PrimaryCheckingIndexing.remoteRows.get());
+
+        assertEquals(ROWS_CNT, grid(0).cache("person").size());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderedOverwrite() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "SET STREAMING ON BATCH_SIZE 17 ALLOW_OVERWRITE 1 ORDERED");
+
+            for (int round = 0; round < 3; round++)
+                streamRound(conn, "INSERT INTO Person(id, name) VALUES (?, ?)", round);
+
+            execute(conn, "SET STREAMING OFF");
+
+            checkNames(conn, 2);
+        }
+    }
+
+    /**
+     * Checks that rows of the same key are written in order when the partition metadata becomes unavailable.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderedOverwriteAfterMetadataFailure() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "SET STREAMING ON BATCH_SIZE 17 ALLOW_OVERWRITE 1 ORDERED");
+
+            String sql = "INSERT INTO Person(id, name) VALUES (?, ?)";
+
+            streamRound(conn, sql, 0);
+
+            JdbcThinTcpIo metaIo = GridTestUtils.getFieldValue(conn, "streamState", "metaIo");
+
+            metaIo.close();
+
+            // Metadata of the new query cannot be retrieved, rows are streamed through the single node.
+            streamRound(conn, "INSERT INTO Person(name, id) VALUES (?, ?)", 1);
+
+            // Route of the known query is kept.
+            streamRound(conn, sql, 2);
+
+            execute(conn, "SET STREAMING OFF");
+
+            checkNames(conn, 2);
+        }
+
+        assertTrue(PrimaryCheckingIndexing.remoteRows.get() > 0);
+    }
+
+    /**
+     * Checks that rows of the same key are written in order when some of the rows cannot be routed.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderedOverwriteMixedRoutes() throws Exception {
+        try (Connection conn = DriverManager.getConnection(URL)) {
+            execute(conn, "SET STREAMING ON BATCH_SIZE 17 ALLOW_OVERWRITE 1 ORDERED");
+
+            String sql = "INSERT INTO Person(id, name) VALUES (?, ?)";
+
+            streamRound(conn, sql, 0);
+
+            // Rows of non-prepared statements are not routed.
+            try (Statement stmt = conn.createStatement()) {
+                for (int i = 0; i < ROWS_CNT; i++)
+                    stmt.executeUpdate("INSERT INTO Person(id, name) VALUES (" + i + ", 'Person " + i + " 1')");
+            }
+
+            streamRound(conn, sql, 2);
+
+            execute(conn, "SET STREAMING OFF");
+
+            checkNames(conn, 2);
+        }
+    }
+
+    /**
+     * Streams all the rows with the name suffix of the round.
+     *
+     * @param conn Connection.
+     * @param sql Insert statement with the {@code id} and {@code name} parameters in any order.
+     * @param round Round.
+     * @throws Exception If failed.
+     */
+    private static void streamRound(Connection conn, String sql, int round) throws Exception {
+        boolean idFirst = sql.indexOf("id") < sql.indexOf("name");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ROWS_CNT; i++) {
+                stmt.setInt(idFirst ? 1 : 2, i);
+                stmt.setString(idFirst ? 2 : 1, "Person " + i + " " + round);
+
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * @param conn Connection.
+     * @param round Round of the rows expected to be written last.
+     * @throws Exception If failed.
+     */
+    private static void checkNames(Connection conn, int round) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT id, name FROM Person")) {
+                int cnt = 0;
+
+                while (rs.next()) {
+                    assertEquals("Person " + rs.getInt(1) + " " + round, rs.getString(2));
+
+                    cnt++;
+                }
+
+                assertEquals(ROWS_CNT, cnt);
+            }
+        }
+    }
+
+    /**
+     * @param conn Connection.
+     * @param sql Statement.
+     * @throws Exception If failed.
+     */
+    private static void execute(Connection conn, String sql) throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Indexing that counts streamed rows whose keys are not primary on the local node.
+     */
+    public static class PrimaryCheckingIndexing extends IgniteH2Indexing {
+        /** Streamed rows count. */
+        static final AtomicInteger rows = new AtomicInteger();
+
+        /** Count of rows streamed to the node that is not primary for them. */
+        static final AtomicInteger remoteRows = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override public List<Long> streamBatchedUpdateQuery(String schemaName, String qry, List<Object[]> params,
+            SqlClientContext cliCtx) throws IgniteCheckedException {
+            Affinity<Object> aff = kernalContext().grid().affinity("person");
+
+            int keyIdx = qry.indexOf("id") < qry.indexOf("name") ? 0 : 1;
+
+            for (Object[] args : params) {
+                rows.incrementAndGet();
+
+                // Rows of non-prepared statements have no arguments.
+                if (args.length == 0 || !aff.isPrimary(kernalContext().discovery().localNode(), args[keyIdx]))
+                    remoteRows.incrementAndGet();
+            }
+
+            return super.streamBatchedUpdateQuery(schemaName, qry, params, cliCtx);
+        }
+    }
+}
@@ -20,11 +20,14 @@ import com.github.luben.zstd.Zstd;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.configuration.CommunicationCompression;
 import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.pagemem.PageUtils;
@@ -385,6 +388,79 @@ public class CompressionProcessorImpl extends CompressionProcessor {
         setCompressionInfo(page, DiskPageCompression.DISABLED, 0, 0);
     }
 
+    /** {@inheritDoc} */
+    @Override public void checkMessageCompressionSupported() throws IgniteCheckedException {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte[] compressMessage(
+        byte[] src,
+        int len,
+        CommunicationCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        assert len <= src.length : "len=" + len + ", src=" + src.length;
+
+        switch (compression) {
+            case ZSTD: {
+                byte[] dst = new byte[(int)Zstd.compressBound(len)];
+
+                long res = Zstd.compressByteArray(dst, 0, dst.length, src, 0, len, compressLevel);
+
+                if (Zstd.isError(res))
+                    throw new IgniteCheckedException("Failed to compress message with ZSTD: " + Zstd.getErrorName(res));
+
+                return Arrays.copyOf(dst, (int)res);
+            }
+
+            case LZ4: {
+                LZ4Compressor compressor = Lz4.getCompressor(compressLevel);
+
+                byte[] dst = new byte[compressor.maxCompressedLength(len)];
+
+                int res = compressor.compress(src, 0, len, dst, 0, dst.length);
+
+                return Arrays.copyOf(dst, res);
+            }
+        }
+
+        throw new IllegalStateException("Unsupported compression: " + compression);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void decompressMessage(byte[] src, byte[] dst, CommunicationCompression compression)
+        throws IgniteCheckedException {
+        switch (compression) {
+            case ZSTD: {
+                long res = Zstd.decompressByteArray(dst, 0, dst.length, src, 0, src.length);
+
+                if (Zstd.isError(res))
+                    throw new IgniteCheckedException("Failed to decompress message with ZSTD: " + Zstd.getErrorName(res));
+
+                if (res != dst.length) {
+                    throw new IgniteCheckedException("Unexpected size of decompressed message [expected=" +
+                        dst.length + ", actual=" + res + ']');
+                }
+
+                return;
+            }
+
+            case LZ4: {
+                try {
+                    Lz4.decompressor.decompress(src, 0, dst, 0, dst.length);
+                }
+                catch (LZ4Exception e) {
+                    throw new IgniteCheckedException("Failed to decompress message with LZ4.", e);
+                }
+
+                return;
+            }
+        }
+
+        throw new IllegalStateException("Unsupported compression: " + compression);
+    }
+
     /** */
     static class Lz4 {
         /** */
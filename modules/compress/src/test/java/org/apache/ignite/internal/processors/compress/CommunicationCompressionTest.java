@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.CommunicationCompression;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.CommunicationCompression.DISABLED;
+import static org.apache.ignite.configuration.CommunicationCompression.LZ4;
+import static org.apache.ignite.configuration.CommunicationCompression.ZSTD;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMMUNICATION_METRICS_GROUP_NAME;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMPRESSED_MESSAGES_SENT_METRIC_NAME;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMPRESSION_BYTES_SAVED_METRIC_NAME;
+
+/**
+ * Tests compression of messages sent by {@link TcpCommunicationSpi}.
+ */
+public class CommunicationCompressionTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 100;
+
+    /** */
+    private static final int VAL_SIZE = 16 * 1024;
+
+    /** Compression by node index. */
+    private CommunicationCompression[] compression;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        TcpCommunicationSpi commSpi = (TcpCommunicationSpi)cfg.getCommunicationSpi();
+
+        commSpi.setMessageCompression(compression[getTestIgniteInstanceIndex(igniteInstanceName)]);
+
+        return cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME).setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testZstd() throws Exception {
+        checkCompression(ZSTD, ZSTD);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLz4() throws Exception {
+        checkCompression(LZ4, LZ4);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDifferentCompression() throws Exception {
+        checkCompression(ZSTD, LZ4);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompressionDisabledOnRemoteNode() throws Exception {
+        checkCompression(ZSTD, DISABLED);
+    }
+
+    /**
+     * @param compression Compression by node index.
+     * @throws Exception If failed.
+     */
+    private void checkCompression(CommunicationCompression... compression) throws Exception {
+        this.compression = compression;
+
+        IgniteEx ignite0 = startGrids(compression.length);
+
+        IgniteCache<Integer, byte[]> cache = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 1; i < compression.length; i++) {
+            IgniteCache<Integer, byte[]> cache0 = grid(i).cache(DEFAULT_CACHE_NAME);
+
+            for (int k = 0; k < KEYS; k++)
+                assertTrue(Arrays.equals(value(k), cache0.get(k)));
+        }
+
+        // Values are sent to backups by the first node only.
+        if (compression[0] == compression[1]) {
+            assertTrue(metric(ignite0, COMPRESSED_MESSAGES_SENT_METRIC_NAME) >= KEYS);
+            assertTrue(metric(ignite0, COMPRESSION_BYTES_SAVED_METRIC_NAME) > KEYS * VAL_SIZE / 2);
+        }
+        else {
+            for (int i = 0; i < compression.length; i++)
+                assertEquals(0, metric(grid(i), COMPRESSED_MESSAGES_SENT_METRIC_NAME));
+        }
+    }
+
+    /**
+     * @param ignite Node.
+     * @param name Metric name.
+     * @return Metric value or {@code 0} if metric is not registered.
+     */
+    private static long metric(IgniteEx ignite, String name) {
+        LongMetric metric = ignite.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME).findMetric(name);
+
+        return metric != null ? metric.value() : 0;
+    }
+
+    /**
+     * @param i Key.
+     * @return Well compressible value.
+     */
+    private static byte[] value(int i) {
+        byte[] val = new byte[VAL_SIZE];
+
+        for (int j = 0; j < val.length; j++)
+            val[j] = (byte)(i + j % 16);
+
+        return val;
+    }
+}
@@ -385,6 +385,15 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT = "IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT";
 
+    /**
+     * Maximum number of atomic cache backup update requests the primary node coalesces into one message
+     * to the same backup node. Requests are coalesced while the striped pool processes already queued messages,
+     * so that concurrent updates share one message. Set to {@code 1} to send every request separately.
+     * <p>
+     * Default is {@code 1}.
+     */
+    public static final String IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE = "IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE";
+
     /**
      * Atomic cache deferred update timeout.
      */
@@ -543,6 +552,14 @@ public final class IgniteSystemProperties {
     public static final String IGNITE_DISCOVERY_CLIENT_RECONNECT_HISTORY_SIZE =
         "IGNITE_DISCOVERY_CLIENT_RECONNECT_HISTORY_SIZE";
 
+    /**
+     * Maximum number of discovery custom events the coordinator packs into one ring message.
+     * Set to {@code 1} to send every custom event around the ring separately.
+     * <p>
+     * Default is {@code 64}.
+     */
+    public static final String IGNITE_DISCOVERY_CUSTOM_EVENT_BATCH_SIZE = "IGNITE_DISCOVERY_CUSTOM_EVENT_BATCH_SIZE";
+
     /** Time interval that indicates that client reconnect throttle must be reset to zero. 2 minutes by default. */
     public static final String CLIENT_THROTTLE_RECONNECT_RESET_TIMEOUT_INTERVAL =
         "CLIENT_THROTTLE_RECONNECT_RESET_TIMEOUT_INTERVAL";
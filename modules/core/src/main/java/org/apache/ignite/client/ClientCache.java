@@ -21,12 +21,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import javax.cache.Cache;
 import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.query.AbstractContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.lang.IgniteFuture;
 
 /**
  * Thin client cache.
@@ -41,6 +46,15 @@ public interface ClientCache<K, V> {
      */
     public V get(K key) throws ClientException;
 
+    /**
+     * Gets an entry from the cache asynchronously.
+     *
+     * @param key Key.
+     * @return Future for the value, or {@code null} if it does not exist.
+     * @throws NullPointerException if the key is null.
+     */
+    public IgniteFuture<V> getAsync(K key) throws ClientException;
+
     /**
      * Associates the specified value with the specified key in the cache.
      * <p>
@@ -53,6 +67,16 @@ public interface ClientCache<K, V> {
      */
     public void put(K key, V val) throws ClientException;
 
+    /**
+     * Associates the specified value with the specified key in the cache asynchronously.
+     *
+     * @param key Key.
+     * @param val Value.
+     * @return Future.
+     * @throws NullPointerException if key is null or if value is null.
+     */
+    public IgniteFuture<Void> putAsync(K key, V val) throws ClientException;
+
     /**
      * Determines if the {@link ClientCache} contains an entry for the specified key.
      * <p>
@@ -65,6 +89,14 @@ public interface ClientCache<K, V> {
      */
     public boolean containsKey(K key) throws ClientException;
 
+    /**
+     * Determines if the {@link ClientCache} contains an entry for the specified key asynchronously.
+     *
+     * @param key Key.
+     * @return Future for {@code true} if this cache contains a mapping for the specified key.
+     */
+    public IgniteFuture<Boolean> containsKeyAsync(K key) throws ClientException;
+
     /**
      * @return The name of the cache.
      */
@@ -86,6 +118,14 @@ public interface ClientCache<K, V> {
      */
     public int size(CachePeekMode... peekModes) throws ClientException;
 
+    /**
+     * Gets the number of all entries cached across all nodes asynchronously.
+     *
+     * @param peekModes Optional peek modes. If not provided, then total cache size is returned.
+     * @return Future for the cache size.
+     */
+    public IgniteFuture<Integer> sizeAsync(CachePeekMode... peekModes) throws ClientException;
+
     /**
      * Gets a collection of entries from the {@link ClientCache}, returning them as
      * {@link Map} of the values associated with the set of keys requested.
@@ -96,6 +136,14 @@ public interface ClientCache<K, V> {
      */
     public Map<K, V> getAll(Set<? extends K> keys) throws ClientException;
 
+    /**
+     * Gets a collection of entries from the {@link ClientCache} asynchronously.
+     *
+     * @param keys The keys whose associated values are to be returned.
+     * @return Future for a map of entries that were found for the given keys.
+     */
+    public IgniteFuture<Map<K, V>> getAllAsync(Set<? extends K> keys) throws ClientException;
+
     /**
      * Copies all of the entries from the specified map to the {@link ClientCache}.
      * <p>
@@ -115,6 +163,14 @@ public interface ClientCache<K, V> {
      */
     public void putAll(Map<? extends K, ? extends V> map) throws ClientException;
 
+    /**
+     * Copies all of the entries from the specified map to the {@link ClientCache} asynchronously.
+     *
+     * @param map Mappings to be stored in this cache.
+     * @return Future.
+     */
+    public IgniteFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) throws ClientException;
+
     /**
      * Atomically replaces the entry for a key only if currently mapped to a given value.
      * <p>
@@ -136,6 +192,16 @@ public interface ClientCache<K, V> {
      */
     public boolean replace(K key, V oldVal, V newVal) throws ClientException;
 
+    /**
+     * Atomically replaces the entry for a key only if currently mapped to a given value asynchronously.
+     *
+     * @param key Key with which the specified value is associated.
+     * @param oldVal Value expected to be associated with the specified key.
+     * @param newVal Value to be associated with the specified key.
+     * @return Future for {@code true} if the value was replaced.
+     */
+    public IgniteFuture<Boolean> replaceAsync(K key, V oldVal, V newVal) throws ClientException;
+
     /**
      * Atomically replaces the entry for a key only if currently mapped to some
      * value.
@@ -156,6 +222,15 @@ public interface ClientCache<K, V> {
      */
     public boolean replace(K key, V val) throws ClientException;
 
+    /**
+     * Atomically replaces the entry for a key only if currently mapped to some value asynchronously.
+     *
+     * @param key Key with which the specified value is associated.
+     * @param val Value to be associated with the specified key.
+     * @return Future for {@code true} if the value was replaced.
+     */
+    public IgniteFuture<Boolean> replaceAsync(K key, V val) throws ClientException;
+
     /**
      * Removes the mapping for a key from this cache if it is present.
      * <p>
@@ -174,6 +249,14 @@ public interface ClientCache<K, V> {
      */
     public boolean remove(K key) throws ClientException;
 
+    /**
+     * Removes the mapping for a key from this cache if it is present asynchronously.
+     *
+     * @param key Key whose mapping is to be removed from the cache.
+     * @return Future for {@code false} if there was no matching key.
+     */
+    public IgniteFuture<Boolean> removeAsync(K key) throws ClientException;
+
     /**
      * Atomically removes the mapping for a key only if currently mapped to the given value.
      * <p>
@@ -194,6 +277,15 @@ public interface ClientCache<K, V> {
      */
     public boolean remove(K key, V oldVal) throws ClientException;
 
+    /**
+     * Atomically removes the mapping for a key only if currently mapped to the given value asynchronously.
+     *
+     * @param key Key whose mapping is to be removed from the cache.
+     * @param oldVal Value expected to be associated with the specified key.
+     * @return Future for {@code false} if there was no matching mapping.
+     */
+    public IgniteFuture<Boolean> removeAsync(K key, V oldVal) throws ClientException;
+
     /**
      * Removes entries for the specified keys.
      * <p>
@@ -203,6 +295,14 @@ public interface ClientCache<K, V> {
      */
     public void removeAll(Set<? extends K> keys) throws ClientException;
 
+    /**
+     * Removes entries for the specified keys asynchronously.
+     *
+     * @param keys The keys to remove.
+     * @return Future.
+     */
+    public IgniteFuture<Void> removeAllAsync(Set<? extends K> keys) throws ClientException;
+
     /**
      * Removes all of the mappings from this cache.
      * <p>
@@ -210,6 +310,13 @@ public interface ClientCache<K, V> {
      */
     public void removeAll() throws ClientException;
 
+    /**
+     * Removes all of the mappings from this cache asynchronously.
+     *
+     * @return Future.
+     */
+    public IgniteFuture<Void> removeAllAsync() throws ClientException;
+
     /**
      * Associates the specified value with the specified key in this cache, returning an existing value if one existed.
      * <p>
@@ -229,6 +336,16 @@ public interface ClientCache<K, V> {
      */
     public V getAndPut(K key, V val) throws ClientException;
 
+    /**
+     * Associates the specified value with the specified key in this cache, returning an existing value if one
+     * existed, asynchronously.
+     *
+     * @param key Key with which the specified value is to be associated.
+     * @param val Value to be associated with the specified key.
+     * @return Future for the value associated with the key at the start of the operation or {@code null}.
+     */
+    public IgniteFuture<V> getAndPutAsync(K key, V val) throws ClientException;
+
     /**
      * Atomically removes the entry for a key only if currently mapped to some value.
      * <p>
@@ -249,6 +366,14 @@ public interface ClientCache<K, V> {
      */
     public V getAndRemove(K key) throws ClientException;
 
+    /**
+     * Atomically removes the entry for a key only if currently mapped to some value asynchronously.
+     *
+     * @param key Key with which the specified value is associated.
+     * @return Future for the value if one existed or {@code null} if no mapping existed for this key.
+     */
+    public IgniteFuture<V> getAndRemoveAsync(K key) throws ClientException;
+
     /**
      * Atomically replaces the value for a given key if and only if there is a value currently mapped by the key.
      * <p>
@@ -271,6 +396,17 @@ public interface ClientCache<K, V> {
      */
     public V getAndReplace(K key, V val) throws ClientException;
 
+    /**
+     * Atomically replaces the value for a given key if and only if there is a value currently mapped by the key,
+     * asynchronously.
+     *
+     * @param key Key with which the specified value is associated.
+     * @param val Value to be associated with the specified key.
+     * @return Future for the previous value associated with the specified key, or {@code null} if there was no
+     * mapping for the key.
+     */
+    public IgniteFuture<V> getAndReplaceAsync(K key, V val) throws ClientException;
+
     /**
      * Atomically associates the specified key with the given value if it is not already associated with a value.
      * <p>
@@ -291,11 +427,28 @@ public interface ClientCache<K, V> {
      */
     public boolean putIfAbsent(K key, V val) throws ClientException;
 
+    /**
+     * Atomically associates the specified key with the given value if it is not already associated with a value,
+     * asynchronously.
+     *
+     * @param key Key with which the specified value is to be associated.
+     * @param val Value to be associated with the specified key.
+     * @return Future for {@code true} if a value was set.
+     */
+    public IgniteFuture<Boolean> putIfAbsentAsync(K key, V val) throws ClientException;
+
     /**
      * Clears the contents of the cache.
      */
     public void clear() throws ClientException;
 
+    /**
+     * Clears the contents of the cache asynchronously.
+     *
+     * @return Future.
+     */
+    public IgniteFuture<Void> clearAsync() throws ClientException;
+
     /**
      * Returns cache that will operate with binary objects.
      * <p>
@@ -336,7 +489,8 @@ public interface ClientCache<K, V> {
     public <K1, V1> ClientCache<K1, V1> withKeepBinary();
 
     /**
-     * Queries cache. Supports {@link ScanQuery} and {@link SqlFieldsQuery}.
+     * Queries cache. Supports {@link ScanQuery}, {@link SqlFieldsQuery}, {@link ContinuousQuery} and
+     * {@link ContinuousQueryWithTransformer}.
      *
      * @param qry Query.
      * @return Cursor.
@@ -344,6 +498,26 @@ public interface ClientCache<K, V> {
      */
     public <R> QueryCursor<R> query(Query<R> qry);
 
+    /**
+     * Starts {@link ContinuousQuery} or {@link ContinuousQueryWithTransformer}. Events are pushed by the server
+     * in batches over the client connection and passed to the local listener in the continuous query continuation
+     * executor, see {@link org.apache.ignite.configuration.ClientConfiguration#getAsyncContinuationExecutor()}.
+     * Remote filter and transformer factories are deployed to the server nodes, their classes must be available
+     * there. Initial query is not supported.
+     * <p>
+     * The query is bound to the server connection it was started on. If the connection is lost, no more events
+     * are received and the disconnect listener is notified. The query is also stopped and the disconnect listener is
+     * notified if the local listener does not keep up with the events.
+     * <p>
+     * Closing of the returned cursor stops the query.
+     *
+     * @param qry Continuous query.
+     * @param disconnectLsnr Listener of the connection loss or of the query stop, may be {@code null}.
+     * @return Cursor.
+     */
+    public QueryCursor<Cache.Entry<K, V>> query(AbstractContinuousQuery<K, V> qry,
+        ClientDisconnectListener disconnectLsnr);
+
     /**
      * Convenience method to execute {@link SqlFieldsQuery}.
      *
@@ -351,4 +525,11 @@ public interface ClientCache<K, V> {
      * @return Cursor.
      */
     public FieldsQueryCursor<List<?>> query(SqlFieldsQuery qry);
+
+    /**
+     * Gets metrics of the near cache, see {@link ClientNearCacheConfiguration}.
+     *
+     * @return Near cache metrics or {@code null} if the near cache is not configured for this cache.
+     */
+    public ClientNearCacheMetrics nearCacheMetrics();
 }
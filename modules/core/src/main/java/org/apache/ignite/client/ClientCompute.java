@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.client;
+
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.lang.IgniteRunnable;
+
+/**
+ * Thin client compute facade. Executes compute tasks and jobs on server nodes: the request is sent to the server
+ * the client is connected to, which starts the computation and notifies the client when it is completed. Task and
+ * job classes must be available on server nodes.
+ * <p>
+ * Computation is bound to the server connection it was started on and is cancelled if the connection is lost.
+ * <p>
+ * Compute is disabled on the server by default, see
+ * {@link org.apache.ignite.configuration.ClientConnectorConfiguration#setThinClientComputeEnabled(boolean)}. The
+ * number of active computations per connection is limited by
+ * {@link org.apache.ignite.configuration.ClientConnectorConfiguration#setMaxActiveComputeTasksPerConnection(int)}.
+ */
+public interface ClientCompute {
+    /**
+     * Executes the task by name on server nodes.
+     *
+     * @param taskName Name of the task, usually the class name.
+     * @param arg Task argument.
+     * @return Task result.
+     * @throws ClientException If the task failed.
+     * @throws InterruptedException If the wait for the result was interrupted.
+     */
+    public <T, R> R execute(String taskName, T arg) throws ClientException, InterruptedException;
+
+    /**
+     * Executes the task by name on server nodes asynchronously.
+     *
+     * @param taskName Name of the task, usually the class name.
+     * @param arg Task argument.
+     * @return Future for the task result.
+     * @throws ClientException If the task can't be started.
+     */
+    public <T, R> IgniteFuture<R> executeAsync(String taskName, T arg) throws ClientException;
+
+    /**
+     * Executes the job on the node where the affinity key is mapped, see
+     * {@link org.apache.ignite.IgniteCompute#affinityRun(String, Object, IgniteRunnable)}. The job is serialized with
+     * binary marshaller, its class must be available on server nodes.
+     *
+     * @param cacheName Cache name.
+     * @param affKey Affinity key.
+     * @param job Job.
+     * @throws ClientException If the job failed.
+     * @throws InterruptedException If the wait for the job completion was interrupted.
+     */
+    public void affinityRun(String cacheName, Object affKey, IgniteRunnable job)
+        throws ClientException, InterruptedException;
+
+    /**
+     * Executes the job on the node where the affinity key is mapped asynchronously, see
+     * {@link #affinityRun(String, Object, IgniteRunnable)}.
+     *
+     * @param cacheName Cache name.
+     * @param affKey Affinity key.
+     * @param job Job.
+     * @return Future completed when the job is done.
+     * @throws ClientException If the job can't be started.
+     */
+    public IgniteFuture<Void> affinityRunAsync(String cacheName, Object affKey, IgniteRunnable job)
+        throws ClientException;
+
+    /**
+     * Returns compute facade with the timeout for all tasks started by it.
+     *
+     * @param timeout Timeout in milliseconds, {@code 0} for no timeout.
+     * @return Compute facade with the timeout.
+     */
+    public ClientCompute withTimeout(long timeout);
+
+    /**
+     * Returns compute facade which disables failover of the jobs of the tasks started by it.
+     *
+     * @return Compute facade without failover.
+     */
+    public ClientCompute withNoFailover();
+
+    /**
+     * Returns compute facade which disables caching of job results of the tasks started by it.
+     *
+     * @return Compute facade without result cache.
+     */
+    public ClientCompute withNoResultCache();
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.Map;
+
+/**
+ * Thin client data streamer, loads large amounts of data into the cache.
+ * <p>
+ * Entries are accumulated on the client and sent to the server in batches of {@link #bufferSize()} entries,
+ * several batches can be sent without waiting for the previous ones to be acknowledged, see
+ * {@link #parallelOperations()}. The server passes received entries to
+ * {@link org.apache.ignite.IgniteDataStreamer}, which buffers them per node. Entries are not guaranteed to be
+ * stored until {@link #flush()} or {@link #close(boolean)} returns, failures of added entries are reported by
+ * these methods.
+ * <p>
+ * The streamer is bound to the server connection it was opened on. If the connection is lost, the streamer
+ * fails and entries which were not flushed may be lost.
+ * <p>
+ * Streamer settings must be changed before the first entry is added. The streamer is thread-safe.
+ */
+public interface ClientDataStreamer<K, V> extends AutoCloseable {
+    /** Default number of entries sent in one batch. */
+    public static final int DFLT_BUFFER_SIZE = 512;
+
+    /** Default number of batches sent without waiting for acknowledgement. */
+    public static final int DFLT_PARALLEL_OPS = 4;
+
+    /**
+     * @return Name of the cache to load data to.
+     */
+    public String cacheName();
+
+    /**
+     * @return Whether existing entries can be overwritten, see
+     * {@link org.apache.ignite.IgniteDataStreamer#allowOverwrite()}.
+     */
+    public boolean allowOverwrite();
+
+    /**
+     * Sets whether existing entries can be overwritten. Default is {@code false}.
+     *
+     * @param allowOverwrite Whether existing entries can be overwritten.
+     */
+    public void allowOverwrite(boolean allowOverwrite);
+
+    /**
+     * @return Whether cache store is skipped.
+     */
+    public boolean skipStore();
+
+    /**
+     * Sets whether cache store is skipped. Default is {@code false}.
+     *
+     * @param skipStore Whether cache store is skipped.
+     */
+    public void skipStore(boolean skipStore);
+
+    /**
+     * @return Number of entries sent to the server in one batch.
+     */
+    public int bufferSize();
+
+    /**
+     * Sets number of entries sent to the server in one batch. Default is {@link #DFLT_BUFFER_SIZE}.
+     *
+     * @param bufSize Number of entries.
+     */
+    public void bufferSize(int bufSize);
+
+    /**
+     * @return Maximum number of batches sent to the server without waiting for acknowledgement.
+     */
+    public int parallelOperations();
+
+    /**
+     * Sets maximum number of batches sent to the server without waiting for acknowledgement. Adding entries
+     * blocks when the limit is reached. Default is {@link #DFLT_PARALLEL_OPS}.
+     *
+     * @param parallelOps Maximum number of batches.
+     */
+    public void parallelOperations(int parallelOps);
+
+    /**
+     * @return Per node buffer size of the server side streamer, {@code 0} for the server default.
+     */
+    public int perNodeBufferSize();
+
+    /**
+     * Sets per node buffer size of the server side streamer, see
+     * {@link org.apache.ignite.IgniteDataStreamer#perNodeBufferSize(int)}.
+     *
+     * @param bufSize Per node buffer size, {@code 0} for the server default.
+     */
+    public void perNodeBufferSize(int bufSize);
+
+    /**
+     * @return Per node parallel operations of the server side streamer, {@code 0} for the server default.
+     */
+    public int perNodeParallelOperations();
+
+    /**
+     * Sets per node parallel operations of the server side streamer, see
+     * {@link org.apache.ignite.IgniteDataStreamer#perNodeParallelOperations(int)}.
+     *
+     * @param parallelOps Per node parallel operations, {@code 0} for the server default.
+     */
+    public void perNodeParallelOperations(int parallelOps);
+
+    /**
+     * Adds entry to the streamer.
+     *
+     * @param key Key.
+     * @param val Value, {@code null} to remove the entry.
+     * @throws NullPointerException if the key is null.
+     * @throws ClientException If the streamer is closed or failed.
+     */
+    public void addData(K key, V val) throws ClientException;
+
+    /**
+     * Adds entries to the streamer.
+     *
+     * @param entries Entries.
+     * @throws ClientException If the streamer is closed or failed.
+     */
+    public void addData(Map<? extends K, ? extends V> entries) throws ClientException;
+
+    /**
+     * Adds removal of the entry to the streamer.
+     *
+     * @param key Key.
+     * @throws ClientException If the streamer is closed or failed.
+     */
+    public void removeData(K key) throws ClientException;
+
+    /**
+     * Sends buffered entries and waits until all added entries are stored.
+     *
+     * @throws ClientException If some of the entries were not stored.
+     */
+    public void flush() throws ClientException;
+
+    /**
+     * Closes the streamer.
+     *
+     * @param cancel {@code True} to discard entries which are not stored yet, {@code false} to send buffered
+     * entries and wait until all added entries are stored.
+     * @throws ClientException If some of the entries were not stored.
+     */
+    public void close(boolean cancel) throws ClientException;
+
+    /**
+     * Closes the streamer waiting until all added entries are stored, same as {@code close(false)}.
+     *
+     * @throws ClientException If some of the entries were not stored.
+     */
+    @Override public void close() throws ClientException;
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+/**
+ * Listener of the loss of the server connection a thin client resource is bound to. The listener is also notified if
+ * the resource is stopped by the server or by the client because notifications of the resource are not consumed fast
+ * enough.
+ */
+public interface ClientDisconnectListener {
+    /**
+     * @param reason Reason of the connection or resource loss.
+     */
+    public void onDisconnected(Exception reason);
+}
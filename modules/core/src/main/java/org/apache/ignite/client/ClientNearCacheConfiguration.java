@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Thin client near cache configuration.
+ * <p>
+ * Near cache keeps values read by the client, so repeated reads of the same keys are served locally without
+ * a round trip to the server. The cached entries are kept consistent by the server: keys of the updated, removed
+ * and expired entries are pushed to the client in batches and dropped from the near cache. Until the invalidation
+ * is received the near cache may return the previous value, see {@link ClientNearCacheMetrics#getAverageHitAge()}.
+ * The near cache is cleared if the connection it receives invalidations from is lost and when the server topology
+ * changes.
+ * <p>
+ * Values are returned from the near cache as is, they must not be modified. Near cache is not used by binary
+ * ({@link ClientCache#withKeepBinary()}) and transactional operations.
+ */
+public final class ClientNearCacheConfiguration implements Serializable {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Default max near cache size. */
+    public static final int DFLT_MAX_SIZE = 10_000;
+
+    /** Default invalidation page size. */
+    public static final int DFLT_INVALIDATION_PAGE_SIZE = 1;
+
+    /** @serial Cache name. */
+    private String name;
+
+    /** @serial Max near cache size. */
+    private int maxSize = DFLT_MAX_SIZE;
+
+    /** @serial Time to live of the near cache entries in milliseconds. */
+    private long ttl;
+
+    /** @serial Invalidation page size. */
+    private int invalidationPageSize = DFLT_INVALIDATION_PAGE_SIZE;
+
+    /** @serial Invalidation time interval. */
+    private long invalidationTimeInterval;
+
+    /**
+     * @return Cache name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name Name of the cache the near cache is created for.
+     */
+    public ClientNearCacheConfiguration setName(String name) {
+        this.name = name;
+
+        return this;
+    }
+
+    /**
+     * @return Max near cache size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets max number of entries in the near cache. The oldest entries are evicted when the limit is reached.
+     * Default is {@link #DFLT_MAX_SIZE}.
+     *
+     * @param maxSize Max near cache size.
+     */
+    public ClientNearCacheConfiguration setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+
+        return this;
+    }
+
+    /**
+     * @return Time to live of the near cache entries in milliseconds, {@code 0} if not limited.
+     */
+    public long getTimeToLive() {
+        return ttl;
+    }
+
+    /**
+     * Sets time to live of the near cache entries, the entry is read from the server again when it expires.
+     * Bounds the staleness of the values if invalidations are delayed. Not limited by default.
+     *
+     * @param ttl Time to live in milliseconds, {@code 0} if not limited.
+     */
+    public ClientNearCacheConfiguration setTimeToLive(long ttl) {
+        this.ttl = ttl;
+
+        return this;
+    }
+
+    /**
+     * @return Invalidation page size.
+     */
+    public int getInvalidationPageSize() {
+        return invalidationPageSize;
+    }
+
+    /**
+     * Sets number of invalidated keys buffered on the server nodes before they are sent to the node the client is
+     * connected to, see {@link org.apache.ignite.cache.query.ContinuousQuery#setPageSize(int)}. The node batches
+     * keys sent to the client anyway if the client receives them slower than the entries are updated.
+     * Default is {@link #DFLT_INVALIDATION_PAGE_SIZE}.
+     *
+     * @param invalidationPageSize Invalidation page size.
+     */
+    public ClientNearCacheConfiguration setInvalidationPageSize(int invalidationPageSize) {
+        this.invalidationPageSize = invalidationPageSize;
+
+        return this;
+    }
+
+    /**
+     * @return Invalidation time interval in milliseconds.
+     */
+    public long getInvalidationTimeInterval() {
+        return invalidationTimeInterval;
+    }
+
+    /**
+     * Sets max time the invalidated keys are buffered on the server nodes if the page is not full, see
+     * {@link org.apache.ignite.cache.query.ContinuousQuery#setTimeInterval(long)}. Must be set if the page size
+     * is greater than {@code 1}, otherwise invalidations may be delayed until the page is full.
+     *
+     * @param invalidationTimeInterval Invalidation time interval in milliseconds.
+     */
+    public ClientNearCacheConfiguration setInvalidationTimeInterval(long invalidationTimeInterval) {
+        this.invalidationTimeInterval = invalidationTimeInterval;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientNearCacheConfiguration.class, this);
+    }
+}
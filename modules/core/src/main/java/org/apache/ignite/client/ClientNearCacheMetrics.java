@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+/**
+ * Thin client near cache metrics.
+ */
+public interface ClientNearCacheMetrics {
+    /**
+     * @return Number of reads served from the near cache.
+     */
+    public long getHits();
+
+    /**
+     * @return Number of reads sent to the server.
+     */
+    public long getMisses();
+
+    /**
+     * @return Percentage of reads served from the near cache.
+     */
+    public float getHitPercentage();
+
+    /**
+     * @return Average time in milliseconds passed since the values served from the near cache were read from the
+     * server. Upper bound of the staleness of the values if invalidations are delayed.
+     */
+    public float getAverageHitAge();
+
+    /**
+     * @return Current number of entries in the near cache.
+     */
+    public int getSize();
+
+    /**
+     * @return Number of keys invalidated by the server.
+     */
+    public long getInvalidations();
+
+    /**
+     * @return Number of entries dropped since their time to live expired.
+     */
+    public long getExpirations();
+
+    /**
+     * @return Number of times the near cache was cleared due to connection loss or topology change.
+     */
+    public long getResets();
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.client;
+
+/**
+ * Thin client transaction, see {@link ClientTransactions}.
+ * <p>
+ * Transaction must be completed by the thread which started it.
+ */
+public interface ClientTransaction extends AutoCloseable {
+    /**
+     * Commits the transaction.
+     *
+     * @throws ClientException If the transaction is already completed or failed to commit.
+     */
+    public void commit() throws ClientException;
+
+    /**
+     * Rolls back the transaction.
+     *
+     * @throws ClientException If the transaction is already completed or failed to roll back.
+     */
+    public void rollback() throws ClientException;
+
+    /**
+     * Rolls back the transaction if it is not completed yet.
+     *
+     * @throws ClientException If failed to roll back.
+     */
+    @Override public void close() throws ClientException;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.client;
+
+import org.apache.ignite.transactions.TransactionIsolation;
+
+/**
+ * Thin client transactions facade.
+ * <p>
+ * Transaction is started and executed on the server node the client is connected to and is bound to the
+ * thread which started it: cache operations of this thread are executed within the transaction until it is
+ * completed. All operations of the transaction are sent over the same server connection. If the connection is
+ * lost, the transaction is rolled back by the server.
+ * <p>
+ * Only {@link org.apache.ignite.transactions.TransactionConcurrency#OPTIMISTIC} transactions are supported: the
+ * transaction is suspended on the server between the requests of the client.
+ */
+public interface ClientTransactions {
+    /**
+     * Starts a new optimistic transaction with the default isolation level and timeout of the server.
+     *
+     * @return New transaction.
+     * @throws ClientException If the transaction is already started by the current thread or can't be started.
+     */
+    public ClientTransaction txStart() throws ClientException;
+
+    /**
+     * Starts a new optimistic transaction with the given isolation level and the default timeout of the server.
+     *
+     * @param isolation Isolation level.
+     * @return New transaction.
+     * @throws ClientException If the transaction is already started by the current thread or can't be started.
+     */
+    public ClientTransaction txStart(TransactionIsolation isolation) throws ClientException;
+
+    /**
+     * Starts a new optimistic transaction with the given isolation level and timeout.
+     *
+     * @param isolation Isolation level.
+     * @param timeout Timeout in milliseconds, {@code 0} for no timeout.
+     * @return New transaction.
+     * @throws ClientException If the transaction is already started by the current thread or can't be started.
+     */
+    public ClientTransaction txStart(TransactionIsolation isolation, long timeout) throws ClientException;
+
+    /**
+     * Returns instance of {@code ClientTransactions} to mark each new transaction with the label.
+     *
+     * @param lb Transaction label.
+     * @return Transactions facade with the label.
+     */
+    public ClientTransactions withLabel(String lb);
+}
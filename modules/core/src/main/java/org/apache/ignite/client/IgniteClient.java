@@ -21,6 +21,7 @@ import java.util.List;
 import org.apache.ignite.IgniteBinary;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.lang.IgniteFuture;
 
 /**
  * Ignite thin client.
@@ -37,6 +38,14 @@ public interface IgniteClient extends AutoCloseable {
      */
     public <K, V> ClientCache<K, V> getOrCreateCache(String name) throws ClientException;
 
+    /**
+     * Gets existing cache or creates the cache if it does not exist asynchronously.
+     *
+     * @param name Cache name.
+     * @return Future for the cache.
+     */
+    public <K, V> IgniteFuture<ClientCache<K, V>> getOrCreateCacheAsync(String name) throws ClientException;
+
     /**
      * Get existing cache or create the cache if it does not exist.
      *
@@ -44,6 +53,15 @@ public interface IgniteClient extends AutoCloseable {
      */
     public <K, V> ClientCache<K, V> getOrCreateCache(ClientCacheConfiguration cfg) throws ClientException;
 
+    /**
+     * Gets existing cache or creates the cache if it does not exist asynchronously.
+     *
+     * @param cfg Cache configuration.
+     * @return Future for the cache.
+     */
+    public <K, V> IgniteFuture<ClientCache<K, V>> getOrCreateCacheAsync(ClientCacheConfiguration cfg)
+        throws ClientException;
+
     /**
      * Get existing cache.
      *
@@ -56,11 +74,26 @@ public interface IgniteClient extends AutoCloseable {
      */
     public Collection<String> cacheNames() throws ClientException;
 
+    /**
+     * Gets names of currently available caches asynchronously.
+     *
+     * @return Future for the collection of names of currently available caches.
+     */
+    public IgniteFuture<Collection<String>> cacheNamesAsync() throws ClientException;
+
     /**
      * Destroy cache.
      */
     public void destroyCache(String name) throws ClientException;
 
+    /**
+     * Destroys cache asynchronously.
+     *
+     * @param name Cache name.
+     * @return Future.
+     */
+    public IgniteFuture<Void> destroyCacheAsync(String name) throws ClientException;
+
     /**
      * Create cache.
      *
@@ -68,6 +101,14 @@ public interface IgniteClient extends AutoCloseable {
      */
     public <K, V> ClientCache<K, V> createCache(String name) throws ClientException;
 
+    /**
+     * Creates cache asynchronously.
+     *
+     * @param name Cache name.
+     * @return Future for the cache.
+     */
+    public <K, V> IgniteFuture<ClientCache<K, V>> createCacheAsync(String name) throws ClientException;
+
     /**
      * Create cache.
      *
@@ -75,6 +116,15 @@ public interface IgniteClient extends AutoCloseable {
      */
     public <K, V> ClientCache<K, V> createCache(ClientCacheConfiguration cfg) throws ClientException;
 
+    /**
+     * Creates cache asynchronously.
+     *
+     * @param cfg Cache configuration.
+     * @return Future for the cache.
+     */
+    public <K, V> IgniteFuture<ClientCache<K, V>> createCacheAsync(ClientCacheConfiguration cfg)
+        throws ClientException;
+
     /**
      * @return Instance of {@link IgniteBinary} interface.
      */
@@ -87,4 +137,26 @@ public interface IgniteClient extends AutoCloseable {
      * @return Cursor.
      */
     public FieldsQueryCursor<List<?>> query(SqlFieldsQuery qry);
+
+    /**
+     * Creates data streamer to load data into the cache, see {@link ClientDataStreamer}.
+     *
+     * @param cacheName Cache name.
+     * @return Data streamer.
+     */
+    public <K, V> ClientDataStreamer<K, V> dataStreamer(String cacheName);
+
+    /**
+     * Gets transactions facade, see {@link ClientTransactions}.
+     *
+     * @return Transactions facade.
+     */
+    public ClientTransactions transactions();
+
+    /**
+     * Gets compute facade, see {@link ClientCompute}.
+     *
+     * @return Compute facade.
+     */
+    public ClientCompute compute();
 }
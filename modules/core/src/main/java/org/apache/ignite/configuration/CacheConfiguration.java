@@ -146,6 +146,9 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Default value for eager ttl flag. */
     public static final boolean DFLT_EAGER_TTL = true;
 
+    /** Default expiry bucket width (expiring entries are tracked by the pending entries tree). */
+    public static final long DFLT_EXPIRY_BUCKET_WIDTH = 0;
+
     /** Default value for 'maxConcurrentAsyncOps'. */
     public static final int DFLT_MAX_CONCURRENT_ASYNC_OPS = 500;
 
@@ -196,6 +199,15 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Default threshold for concurrent loading of keys from {@link CacheStore}. */
     public static final int DFLT_CONCURRENT_LOAD_ALL_THRESHOLD = 5;
 
+    /** Default read-through batch window (batching of read-through loads is disabled). */
+    public static final long DFLT_READ_THROUGH_BATCH_WINDOW = 0;
+
+    /** Default maximum number of keys loaded from {@link CacheStore} in one read-through batch. */
+    public static final int DFLT_READ_THROUGH_BATCH_SIZE = 512;
+
+    /** Default number of threads loading read-through batches. */
+    public static final int DFLT_READ_THROUGH_BATCH_THREAD_CNT = 4;
+
     /** Default partition loss policy. */
     public static final PartitionLossPolicy DFLT_PARTITION_LOSS_POLICY = PartitionLossPolicy.IGNORE;
 
@@ -223,6 +235,15 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Threshold for concurrent loading of keys from {@link CacheStore}. */
     private int storeConcurrentLoadAllThreshold = DFLT_CONCURRENT_LOAD_ALL_THRESHOLD;
 
+    /** Time window to collect read-through loads into a batch. */
+    private long readThroughBatchWindow = DFLT_READ_THROUGH_BATCH_WINDOW;
+
+    /** Maximum number of keys in read-through batch. */
+    private int readThroughBatchSize = DFLT_READ_THROUGH_BATCH_SIZE;
+
+    /** Number of threads loading read-through batches. */
+    private int readThroughBatchThreadCnt = DFLT_READ_THROUGH_BATCH_THREAD_CNT;
+
     /** Rebalance thread pool size. */
     @Deprecated
     private int rebalancePoolSize = DFLT_REBALANCE_THREAD_POOL_SIZE;
@@ -255,6 +276,9 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
     /** Eager ttl flag. */
     private boolean eagerTtl = DFLT_EAGER_TTL;
 
+    /** Width of time buckets tracking expiring entries. */
+    private long expiryBucketWidth = DFLT_EXPIRY_BUCKET_WIDTH;
+
     /** Default lock timeout. */
     private long dfltLockTimeout = DFLT_LOCK_TIMEOUT;
 
@@ -460,6 +484,7 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         cpOnRead = cc.isCopyOnRead();
         dfltLockTimeout = cc.getDefaultLockTimeout();
         eagerTtl = cc.isEagerTtl();
+        expiryBucketWidth = cc.getExpiryBucketWidth();
         encryptionEnabled = cc.isEncryptionEnabled();
         evictFilter = cc.getEvictionFilter();
         evictPlc = cc.getEvictionPolicy();
@@ -514,6 +539,9 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         writeBehindFlushThreadCnt = cc.getWriteBehindFlushThreadCount();
         writeSync = cc.getWriteSynchronizationMode();
         storeConcurrentLoadAllThreshold = cc.getStoreConcurrentLoadAllThreshold();
+        readThroughBatchWindow = cc.getReadThroughBatchWindow();
+        readThroughBatchSize = cc.getReadThroughBatchSize();
+        readThroughBatchThreadCnt = cc.getReadThroughBatchThreadCount();
         maxQryIterCnt = cc.getMaxQueryIteratorsCount();
         sqlOnheapCache = cc.isSqlOnheapCacheEnabled();
         sqlOnheapCacheMaxSize = cc.getSqlOnheapCacheMaxSize();
@@ -877,6 +905,43 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         return this;
     }
 
+    /**
+     * Gets width in milliseconds of time buckets used to track entries with expiration time when
+     * {@link #isEagerTtl()} is enabled. If set, keys of expiring entries are appended on heap to the bucket
+     * covering their expiration time instead of being put to and removed from the pending entries tree on every
+     * update, and expired entries are removed bucket by bucket. Entries are removed no earlier than at the end
+     * of their bucket, so the width is the maximum additional delay of the eager removal.
+     * <p>
+     * Buckets are kept on heap and are not bounded: every primary and backup key of an entry with expiration time
+     * is referenced by its bucket and by a map from keys to their buckets, costing about a hundred bytes of heap
+     * per key in addition to the key itself. Use the pending entries tree, which is kept off-heap, for caches
+     * with many expiring entries and limited heap.
+     * <p>
+     * Buckets are not persisted, so they can be used only by caches with persistence disabled and
+     * atomicity mode other than {@link CacheAtomicityMode#TRANSACTIONAL_SNAPSHOT}.
+     * <p>
+     * Default value is {@link #DFLT_EXPIRY_BUCKET_WIDTH}.
+     *
+     * @return Expiry bucket width in milliseconds, {@code 0} if entries are tracked by the pending entries tree.
+     */
+    public long getExpiryBucketWidth() {
+        return expiryBucketWidth;
+    }
+
+    /**
+     * Sets width in milliseconds of time buckets used to track entries with expiration time.
+     * See {@link #getExpiryBucketWidth()} for more information.
+     *
+     * @param expiryBucketWidth Expiry bucket width in milliseconds, {@code 0} to track entries by the pending
+     *      entries tree.
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setExpiryBucketWidth(long expiryBucketWidth) {
+        this.expiryBucketWidth = expiryBucketWidth;
+
+        return this;
+    }
+
     /**
      * Gets flag indicating whether value should be loaded from store if it is not in the cache
      * for following cache operations:
@@ -1008,6 +1073,83 @@ public class CacheConfiguration<K, V> extends MutableConfiguration<K, V> {
         return this;
     }
 
+    /**
+     * Gets time window in milliseconds during which read-through loads of missing keys are collected into
+     * a single {@link CacheStore#loadAll(Iterable)} call. Concurrent loads of the same key are always
+     * performed once. Batches are loaded by a dedicated pool of {@link #getReadThroughBatchThreadCount()}
+     * threads, so that a slow store does not block cache threads.
+     * <p>
+     * Batching applies to non-transactional reads only. If set to {@code 0}, read-through loads are not batched.
+     * <p>
+     * Default value is {@link #DFLT_READ_THROUGH_BATCH_WINDOW}.
+     *
+     * @return Read-through batch window in milliseconds.
+     */
+    public long getReadThroughBatchWindow() {
+        return readThroughBatchWindow;
+    }
+
+    /**
+     * Sets time window in milliseconds during which read-through loads of missing keys are collected into
+     * a single batch. See {@link #getReadThroughBatchWindow()} for more information.
+     *
+     * @param readThroughBatchWindow Read-through batch window in milliseconds, {@code 0} to disable batching.
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setReadThroughBatchWindow(long readThroughBatchWindow) {
+        this.readThroughBatchWindow = readThroughBatchWindow;
+
+        return this;
+    }
+
+    /**
+     * Gets maximum number of keys loaded from {@link CacheStore} in one read-through batch. A batch is loaded
+     * before the end of the batch window as soon as it reaches this size.
+     * <p>
+     * Default value is {@link #DFLT_READ_THROUGH_BATCH_SIZE}.
+     *
+     * @return Maximum number of keys in read-through batch.
+     */
+    public int getReadThroughBatchSize() {
+        return readThroughBatchSize;
+    }
+
+    /**
+     * Sets maximum number of keys loaded from {@link CacheStore} in one read-through batch.
+     *
+     * @param readThroughBatchSize Maximum number of keys in read-through batch.
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setReadThroughBatchSize(int readThroughBatchSize) {
+        this.readThroughBatchSize = readThroughBatchSize;
+
+        return this;
+    }
+
+    /**
+     * Gets number of threads loading read-through batches from {@link CacheStore}. This is the maximum number
+     * of concurrent batch loads for the cache.
+     * <p>
+     * Default value is {@link #DFLT_READ_THROUGH_BATCH_THREAD_CNT}.
+     *
+     * @return Number of threads loading read-through batches.
+     */
+    public int getReadThroughBatchThreadCount() {
+        return readThroughBatchThreadCnt;
+    }
+
+    /**
+     * Sets number of threads loading read-through batches from {@link CacheStore}.
+     *
+     * @param readThroughBatchThreadCnt Number of threads loading read-through batches.
+     * @return {@code this} for chaining.
+     */
+    public CacheConfiguration<K, V> setReadThroughBatchThreadCount(int readThroughBatchThreadCnt) {
+        this.readThroughBatchThreadCnt = readThroughBatchThreadCnt;
+
+        return this;
+    }
+
     /**
      * Gets key topology resolver to provide mapping from keys to nodes.
      *
@@ -17,8 +17,12 @@
 package org.apache.ignite.configuration;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import javax.cache.configuration.Factory;
 import javax.net.ssl.SSLContext;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.client.ClientNearCacheConfiguration;
 import org.apache.ignite.client.SslMode;
 import org.apache.ignite.client.SslProtocol;
 import org.apache.ignite.internal.client.thin.TcpIgniteClient;
@@ -88,6 +92,18 @@ public final class ClientConfiguration implements Serializable {
     /** @serial User password. */
     private String userPwd;
 
+    /** @serial Whether key requests are sent directly to primary nodes. */
+    private boolean partitionAwarenessEnabled;
+
+    /** Executor for async operations continuations, {@link ForkJoinPool#commonPool()} if not set. */
+    private transient Executor asyncContinuationExecutor;
+
+    /** Logger, nothing is logged if not set. */
+    private transient IgniteLogger log;
+
+    /** @serial Near cache configurations. */
+    private ClientNearCacheConfiguration[] nearCacheCfgs;
+
     /**
      * @return Host addresses.
      */
@@ -392,6 +408,90 @@ public final class ClientConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * @return Whether partition awareness is enabled.
+     */
+    public boolean isPartitionAwarenessEnabled() {
+        return partitionAwarenessEnabled;
+    }
+
+    /**
+     * Enables partition awareness.
+     * <p>
+     * The client keeps connections to all server addresses and sends single key requests directly to the primary
+     * node of the key, {@code getAll} and {@code putAll} requests are split by primary nodes. Requests are sent to
+     * the default connection while the affinity mapping is not known yet or stale after topology change, and if
+     * there is no connection to the primary node. Disabled by default.
+     *
+     * @param newVal Whether partition awareness is enabled.
+     */
+    public ClientConfiguration setPartitionAwarenessEnabled(boolean newVal) {
+        partitionAwarenessEnabled = newVal;
+
+        return this;
+    }
+
+    /**
+     * @return Executor for async operations continuations.
+     */
+    public Executor getAsyncContinuationExecutor() {
+        return asyncContinuationExecutor;
+    }
+
+    /**
+     * Sets executor for async operations continuations.
+     * <p>
+     * Responses to async operations are received by a dedicated thread of the client connection. Futures returned
+     * by async methods are completed and their listeners are notified using this executor, so that user code does
+     * not delay processing of other responses. {@link ForkJoinPool#commonPool()} is used if not set.
+     *
+     * @param newVal Executor for async operations continuations.
+     */
+    public ClientConfiguration setAsyncContinuationExecutor(Executor newVal) {
+        asyncContinuationExecutor = newVal;
+
+        return this;
+    }
+
+    /**
+     * @return Logger.
+     */
+    public IgniteLogger getLogger() {
+        return log;
+    }
+
+    /**
+     * Sets logger for client events which can not be reported to the caller, such as failures of user listeners
+     * invoked by the client. Nothing is logged if not set.
+     *
+     * @param newVal Logger.
+     */
+    public ClientConfiguration setLogger(IgniteLogger newVal) {
+        log = newVal;
+
+        return this;
+    }
+
+    /**
+     * @return Near cache configurations.
+     */
+    public ClientNearCacheConfiguration[] getNearCacheConfiguration() {
+        return nearCacheCfgs;
+    }
+
+    /**
+     * Sets near cache configurations. Reads of the caches with near cache configured are served by the client
+     * locally if the value was read before and was not changed since then, see {@link ClientNearCacheConfiguration}.
+     * Requires server support of the near cache invalidation, near cache is not used otherwise.
+     *
+     * @param newVal Near cache configurations.
+     */
+    public ClientConfiguration setNearCacheConfiguration(ClientNearCacheConfiguration... newVal) {
+        nearCacheCfgs = newVal;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(ClientConfiguration.class, this);
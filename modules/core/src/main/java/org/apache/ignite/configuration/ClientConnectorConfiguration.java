@@ -41,9 +41,30 @@ public class ClientConnectorConfiguration {
     /** Default max number of open cursors per connection. */
     public static final int DFLT_MAX_OPEN_CURSORS_PER_CONN = 128;
 
+    /** Default max number of active transactions per thin client connection. */
+    public static final int DFLT_MAX_ACTIVE_TX_PER_CONN = 100;
+
+    /** Default max number of active compute tasks per thin client connection. */
+    public static final int DFLT_MAX_ACTIVE_COMPUTE_TASKS_PER_CONN = 100;
+
     /** Default size of thread pool. */
     public static final int DFLT_THREAD_POOL_SIZE = IgniteConfiguration.DFLT_PUBLIC_THREAD_CNT;
 
+    /** Default size of thread pool for SQL requests, zero means that the common thread pool is used. */
+    public static final int DFLT_SQL_THREAD_POOL_SIZE = 0;
+
+    /** Default size of thread pool for metadata requests, zero means that the common thread pool is used. */
+    public static final int DFLT_METADATA_THREAD_POOL_SIZE = 0;
+
+    /** Default max number of requests in flight per connection, zero means no limit. */
+    public static final int DFLT_MAX_IN_FLIGHT_REQS_PER_CONN = 0;
+
+    /** Default max time a request may wait in the queue, zero means no limit. */
+    public static final long DFLT_MAX_REQ_QUEUE_TIME = 0;
+
+    /** Default max number of requests waiting in the queue of a thread pool. */
+    public static final int DFLT_MAX_REQ_QUEUE_SIZE = 64 * 1024;
+
     /** Default handshake timeout. */
     public static final int DFLT_HANDSHAKE_TIMEOUT = 10_000;
 
@@ -74,9 +95,30 @@ public class ClientConnectorConfiguration {
     /** Max number of opened cursors per connection. */
     private int maxOpenCursorsPerConn = DFLT_MAX_OPEN_CURSORS_PER_CONN;
 
+    /** Max number of active transactions per thin client connection. */
+    private int maxActiveTxPerConn = DFLT_MAX_ACTIVE_TX_PER_CONN;
+
+    /** Max number of active compute tasks per thin client connection. */
+    private int maxActiveComputeTasksPerConn = DFLT_MAX_ACTIVE_COMPUTE_TASKS_PER_CONN;
+
     /** Thread pool size. */
     private int threadPoolSize = DFLT_THREAD_POOL_SIZE;
 
+    /** SQL thread pool size. */
+    private int sqlThreadPoolSize = DFLT_SQL_THREAD_POOL_SIZE;
+
+    /** Metadata thread pool size. */
+    private int metaThreadPoolSize = DFLT_METADATA_THREAD_POOL_SIZE;
+
+    /** Max number of requests in flight per connection. */
+    private int maxInFlightReqsPerConn = DFLT_MAX_IN_FLIGHT_REQS_PER_CONN;
+
+    /** Max request queue time. */
+    private long maxReqQueueTime = DFLT_MAX_REQ_QUEUE_TIME;
+
+    /** Max request queue size. */
+    private int maxReqQueueSize = DFLT_MAX_REQ_QUEUE_SIZE;
+
     /** Idle timeout. */
     private long idleTimeout = DFLT_IDLE_TIMEOUT;
 
@@ -92,6 +134,9 @@ public class ClientConnectorConfiguration {
     /** JDBC connections enabled flag. */
     private boolean thinCliEnabled = true;
 
+    /** Thin client compute enabled flag, default is disabled. */
+    private boolean thinCliComputeEnabled;
+
     /** SSL enable flag, default is disabled. */
     private boolean sslEnabled;
 
@@ -121,17 +166,25 @@ public class ClientConnectorConfiguration {
 
         host = cfg.getHost();
         maxOpenCursorsPerConn = cfg.getMaxOpenCursorsPerConnection();
+        maxActiveTxPerConn = cfg.getMaxActiveTxPerConnection();
+        maxActiveComputeTasksPerConn = cfg.getMaxActiveComputeTasksPerConnection();
         port = cfg.getPort();
         portRange = cfg.getPortRange();
         sockRcvBufSize = cfg.getSocketReceiveBufferSize();
         sockSndBufSize = cfg.getSocketSendBufferSize();
         tcpNoDelay = cfg.isTcpNoDelay();
         threadPoolSize = cfg.getThreadPoolSize();
+        sqlThreadPoolSize = cfg.getSqlThreadPoolSize();
+        metaThreadPoolSize = cfg.getMetadataThreadPoolSize();
+        maxInFlightReqsPerConn = cfg.getMaxInFlightRequestsPerConnection();
+        maxReqQueueTime = cfg.getMaxRequestQueueTime();
+        maxReqQueueSize = cfg.getMaxRequestQueueSize();
         idleTimeout = cfg.getIdleTimeout();
         handshakeTimeout = cfg.getHandshakeTimeout();
         jdbcEnabled = cfg.jdbcEnabled;
         odbcEnabled = cfg.odbcEnabled;
         thinCliEnabled = cfg.thinCliEnabled;
+        thinCliComputeEnabled = cfg.thinCliComputeEnabled;
         sslEnabled = cfg.isSslEnabled();
         sslClientAuth = cfg.isSslClientAuth();
         useIgniteSslCtxFactory = cfg.isUseIgniteSslContextFactory();
@@ -291,6 +344,54 @@ public class ClientConnectorConfiguration {
         return this;
     }
 
+    /**
+     * Gets maximum number of active transactions per thin client connection. Thin client transaction is bound to
+     * the connection and is rolled back when the connection is closed.
+     * <p>
+     * Defaults to {@link #DFLT_MAX_ACTIVE_TX_PER_CONN}.
+     *
+     * @return Maximum number of active transactions.
+     */
+    public int getMaxActiveTxPerConnection() {
+        return maxActiveTxPerConn;
+    }
+
+    /**
+     * Sets maximum number of active transactions per thin client connection.
+     *
+     * @param maxActiveTxPerConn Maximum number of active transactions.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMaxActiveTxPerConnection(int maxActiveTxPerConn) {
+        this.maxActiveTxPerConn = maxActiveTxPerConn;
+
+        return this;
+    }
+
+    /**
+     * Gets maximum number of active compute tasks per thin client connection. Thin client compute task is bound to
+     * the connection and is cancelled when the connection is closed.
+     * <p>
+     * Defaults to {@link #DFLT_MAX_ACTIVE_COMPUTE_TASKS_PER_CONN}.
+     *
+     * @return Maximum number of active compute tasks.
+     */
+    public int getMaxActiveComputeTasksPerConnection() {
+        return maxActiveComputeTasksPerConn;
+    }
+
+    /**
+     * Sets maximum number of active compute tasks per thin client connection.
+     *
+     * @param maxActiveComputeTasksPerConn Maximum number of active compute tasks.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMaxActiveComputeTasksPerConnection(int maxActiveComputeTasksPerConn) {
+        this.maxActiveComputeTasksPerConn = maxActiveComputeTasksPerConn;
+
+        return this;
+    }
+
     /**
      * Size of thread pool that is in charge of processing SQL requests.
      * <p>
@@ -315,6 +416,134 @@ public class ClientConnectorConfiguration {
         return this;
     }
 
+    /**
+     * Size of thread pool that is in charge of processing SQL requests of JDBC, ODBC and thin clients, so that
+     * heavy queries do not delay key-value requests. Zero means that SQL requests are processed by the common
+     * thread pool of size {@link #getThreadPoolSize()}.
+     * <p>
+     * Defaults {@link #DFLT_SQL_THREAD_POOL_SIZE}.
+     *
+     * @return Thread pool that is in charge of processing SQL requests.
+     */
+    public int getSqlThreadPoolSize() {
+        return sqlThreadPoolSize;
+    }
+
+    /**
+     * Sets thread pool that is in charge of processing SQL requests. See {@link #getSqlThreadPoolSize()} for more
+     * information.
+     *
+     * @param sqlThreadPoolSize Thread pool that is in charge of processing SQL requests.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setSqlThreadPoolSize(int sqlThreadPoolSize) {
+        this.sqlThreadPoolSize = sqlThreadPoolSize;
+
+        return this;
+    }
+
+    /**
+     * Size of thread pool that is in charge of processing metadata requests: schema and binary type requests,
+     * cache management, cluster state and so on. Zero means that metadata requests are processed by the common
+     * thread pool of size {@link #getThreadPoolSize()}.
+     * <p>
+     * Defaults {@link #DFLT_METADATA_THREAD_POOL_SIZE}.
+     *
+     * @return Thread pool that is in charge of processing metadata requests.
+     */
+    public int getMetadataThreadPoolSize() {
+        return metaThreadPoolSize;
+    }
+
+    /**
+     * Sets thread pool that is in charge of processing metadata requests. See {@link #getMetadataThreadPoolSize()}
+     * for more information.
+     *
+     * @param metaThreadPoolSize Thread pool that is in charge of processing metadata requests.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMetadataThreadPoolSize(int metaThreadPoolSize) {
+        this.metaThreadPoolSize = metaThreadPoolSize;
+
+        return this;
+    }
+
+    /**
+     * Gets max number of requests of a single connection which are queued or processed at the same time. Requests
+     * above this limit are rejected with an error which the client may retry later. Zero means no limit.
+     * <p>
+     * Defaults {@link #DFLT_MAX_IN_FLIGHT_REQS_PER_CONN}.
+     *
+     * @return Max number of requests in flight per connection.
+     */
+    public int getMaxInFlightRequestsPerConnection() {
+        return maxInFlightReqsPerConn;
+    }
+
+    /**
+     * Sets max number of requests in flight per connection. See {@link #getMaxInFlightRequestsPerConnection()} for
+     * more information.
+     *
+     * @param maxInFlightReqsPerConn Max number of requests in flight per connection.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMaxInFlightRequestsPerConnection(int maxInFlightReqsPerConn) {
+        this.maxInFlightReqsPerConn = maxInFlightReqsPerConn;
+
+        return this;
+    }
+
+    /**
+     * Gets max time a request may wait in the thread pool queue. Requests which waited longer are not processed
+     * and rejected with an error which the client may retry later, so that an overloaded node does not waste
+     * resources on requests the client has probably given up on. Zero means no limit.
+     * <p>
+     * Defaults {@link #DFLT_MAX_REQ_QUEUE_TIME}.
+     *
+     * @return Max request queue time in milliseconds.
+     */
+    public long getMaxRequestQueueTime() {
+        return maxReqQueueTime;
+    }
+
+    /**
+     * Sets max time a request may wait in the thread pool queue. See {@link #getMaxRequestQueueTime()} for more
+     * information.
+     *
+     * @param maxReqQueueTime Max request queue time in milliseconds.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMaxRequestQueueTime(long maxReqQueueTime) {
+        this.maxReqQueueTime = maxReqQueueTime;
+
+        return this;
+    }
+
+    /**
+     * Gets max number of requests waiting in the queue of each client connector thread pool. Requests above this
+     * limit are rejected with an error which the client may retry later. Zero means no limit.
+     * <p>
+     * Defaults {@link #DFLT_MAX_REQ_QUEUE_SIZE}.
+     *
+     * @return Max request queue size.
+     */
+    public int getMaxRequestQueueSize() {
+        return maxReqQueueSize;
+    }
+
+    /**
+     * Sets max number of requests waiting in the queue of each client connector thread pool. See
+     * {@link #getMaxRequestQueueSize()} for more information.
+     *
+     * @param maxReqQueueSize Max request queue size.
+     * @return This instance for chaining.
+     */
+    public ClientConnectorConfiguration setMaxRequestQueueSize(int maxReqQueueSize) {
+        this.maxReqQueueSize = maxReqQueueSize;
+
+        return this;
+    }
+
     /**
      * Gets idle timeout for client connections.
      * If no packets come within idle timeout, the connection is closed.
@@ -444,6 +673,32 @@ public class ClientConnectorConfiguration {
         return this;
     }
 
+    /**
+     * Gets whether thin clients are allowed to execute compute tasks. Thin client runs tasks on behalf of the
+     * server node it is connected to, so the compute is disabled unless it is explicitly enabled.
+     * <p>
+     * Defaults to {@code false}.
+     *
+     * @return Whether thin client compute is enabled.
+     */
+    public boolean isThinClientComputeEnabled() {
+        return thinCliComputeEnabled;
+    }
+
+    /**
+     * Sets whether thin clients are allowed to execute compute tasks.
+     * <p>
+     * Defaults to {@code false}.
+     *
+     * @param thinCliComputeEnabled Whether thin client compute is enabled.
+     * @return {@code this} for chaining.
+     */
+    public ClientConnectorConfiguration setThinClientComputeEnabled(boolean thinCliComputeEnabled) {
+        this.thinCliComputeEnabled = thinCliComputeEnabled;
+
+        return this;
+    }
+
     /**
      * Whether secure socket layer should be enabled on client connector.
      * <p>
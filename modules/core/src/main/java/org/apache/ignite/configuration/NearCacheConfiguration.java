@@ -36,6 +36,12 @@ public class NearCacheConfiguration<K, V> implements Serializable {
     /** */
     private static final long serialVersionUID = 0L;
 
+    /** Default maximum size of off-heap near cache memory (off-heap near cache is disabled by default). */
+    public static final long DFLT_NEAR_OFFHEAP_MAX_SIZE = 0;
+
+    /** Default concurrency level of off-heap near cache memory. */
+    public static final int DFLT_NEAR_OFFHEAP_CONCURRENCY_LEVEL = 16;
+
     /** Near cache eviction policy. */
     @Deprecated
     private EvictionPolicy<K, V> nearEvictPlc;
@@ -47,6 +53,12 @@ public class NearCacheConfiguration<K, V> implements Serializable {
     /** Default near cache start size. */
     private int nearStartSize = DFLT_NEAR_START_SIZE;
 
+    /** Maximum size of off-heap memory used by near cache. */
+    private long nearOffheapMaxSize = DFLT_NEAR_OFFHEAP_MAX_SIZE;
+
+    /** Concurrency level of off-heap memory used by near cache. */
+    private int nearOffheapConcurrencyLvl = DFLT_NEAR_OFFHEAP_CONCURRENCY_LEVEL;
+
     /**
      * Empty constructor.
      */
@@ -63,6 +75,8 @@ public class NearCacheConfiguration<K, V> implements Serializable {
         nearEvictPlcFactory = ccfg.getNearEvictionPolicyFactory();
         nearEvictPlc = ccfg.getNearEvictionPolicy();
         nearStartSize = ccfg.getNearStartSize();
+        nearOffheapMaxSize = ccfg.getNearOffheapMaxSize();
+        nearOffheapConcurrencyLvl = ccfg.getNearOffheapConcurrencyLevel();
     }
 
     /**
@@ -141,6 +155,65 @@ public class NearCacheConfiguration<K, V> implements Serializable {
         return this;
     }
 
+    /**
+     * Gets maximum size in bytes of off-heap memory used to store near cache entries evicted from heap.
+     * Default value is defined by {@link #DFLT_NEAR_OFFHEAP_MAX_SIZE} which means that off-heap near cache
+     * is disabled.
+     *
+     * @return Maximum size of off-heap near cache memory in bytes.
+     * @see #setNearOffheapMaxSize(long)
+     */
+    public long getNearOffheapMaxSize() {
+        return nearOffheapMaxSize;
+    }
+
+    /**
+     * Sets maximum size in bytes of off-heap memory used to store near cache entries.
+     * <p>
+     * When set to a positive value, entries evicted from on-heap near cache by near eviction policy
+     * are moved to off-heap memory instead of being discarded, so that on-heap part of near cache
+     * can be kept small while the total amount of near cached data stays large. Entries are admitted
+     * to off-heap memory based on their access frequency, so that rarely accessed entries do not push
+     * out frequently accessed ones. Off-heap near entries are invalidated by the same near reader
+     * mechanism as on-heap near entries.
+     * <p>
+     * Off-heap near cache memory is allocated outside of the Java heap and is not limited by the maximum
+     * direct memory size of the JVM. The memory is released when near cache is cleared or stopped.
+     *
+     * @param nearOffheapMaxSize Maximum size of off-heap near cache memory in bytes, {@code 0} to disable.
+     * @return {@code this} for chaining.
+     */
+    public NearCacheConfiguration<K, V> setNearOffheapMaxSize(long nearOffheapMaxSize) {
+        this.nearOffheapMaxSize = nearOffheapMaxSize;
+
+        return this;
+    }
+
+    /**
+     * Gets concurrency level of off-heap near cache memory, see {@link #setNearOffheapConcurrencyLevel(int)}.
+     * Default value is defined by {@link #DFLT_NEAR_OFFHEAP_CONCURRENCY_LEVEL}.
+     *
+     * @return Concurrency level of off-heap near cache memory.
+     */
+    public int getNearOffheapConcurrencyLevel() {
+        return nearOffheapConcurrencyLvl;
+    }
+
+    /**
+     * Sets concurrency level of off-heap near cache memory. Off-heap memory is split into a number of
+     * independently locked shards, the number of shards is the concurrency level rounded up to a power
+     * of two and limited so that a shard is not too small for the configured
+     * {@link #setNearOffheapMaxSize(long) maximum size}.
+     *
+     * @param nearOffheapConcurrencyLvl Concurrency level of off-heap near cache memory.
+     * @return {@code this} for chaining.
+     */
+    public NearCacheConfiguration<K, V> setNearOffheapConcurrencyLevel(int nearOffheapConcurrencyLvl) {
+        this.nearOffheapConcurrencyLvl = nearOffheapConcurrencyLvl;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(NearCacheConfiguration.class, this, super.toString());
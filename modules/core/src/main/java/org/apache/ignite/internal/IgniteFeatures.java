@@ -112,7 +112,16 @@ public enum IgniteFeatures {
     MANAGEMENT_CONSOLE(28),
 
     /** Distributed change timeout for dump long operations. */
-    DISTRIBUTED_CHANGE_LONG_OPERATIONS_DUMP_TIMEOUT(30);
+    DISTRIBUTED_CHANGE_LONG_OPERATIONS_DUMP_TIMEOUT(30),
+
+    /** Compact encoding of partition update counters in full partitions messages. */
+    COMPACT_PARTITION_COUNTERS(31),
+
+    /** Packing of several discovery custom events into one ring message. */
+    DISCOVERY_CUSTOM_EVENT_BATCH(32),
+
+    /** Coalescing of atomic cache backup update requests into one message. */
+    ATOMIC_DHT_UPDATE_BATCH(33);
 
     /**
      * Unique feature identifier.
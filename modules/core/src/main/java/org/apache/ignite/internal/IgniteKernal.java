@@ -281,6 +281,7 @@ import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_REBALANCE_POO
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_RESTART_ENABLED;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_REST_PORT_RANGE;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_SPI_CLASS;
+import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_STRIPED_POOL_SIZE;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_TX_CONFIG;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_USER_NAME;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_VALIDATE_CACHE_REQUESTS;
@@ -1103,6 +1104,9 @@ public class IgniteKernal implements IgniteEx, IgniteMXBean, Externalizable {
             // Start security processors.
             startProcessor(securityProcessor());
 
+            // Compression processor is used by communication SPI.
+            startProcessor(COMPRESSION.createOptional(ctx));
+
             // Start SPI managers.
             // NOTE: that order matters as there are dependencies between managers.
             startManager(new GridMetricManager(ctx));
@@ -1129,7 +1133,6 @@ public class IgniteKernal implements IgniteEx, IgniteMXBean, Externalizable {
             // be able to start receiving messages once discovery completes.
             try {
                 startProcessor(new TracingProcessor(ctx));
-                startProcessor(COMPRESSION.createOptional(ctx));
                 startProcessor(new GridMarshallerMappingProcessor(ctx));
                 startProcessor(new PdsConsistentIdProcessor(ctx));
                 startProcessor(new MvccProcessorImpl(ctx));
@@ -1653,6 +1656,7 @@ public class IgniteKernal implements IgniteEx, IgniteMXBean, Externalizable {
     private void fillNodeAttributes(boolean notifyEnabled) throws IgniteCheckedException {
         ctx.addNodeAttribute(ATTR_REBALANCE_POOL_SIZE, configuration().getRebalanceThreadPoolSize());
         ctx.addNodeAttribute(ATTR_DATA_STREAMER_POOL_SIZE, configuration().getDataStreamerThreadPoolSize());
+        ctx.addNodeAttribute(ATTR_STRIPED_POOL_SIZE, configuration().getStripedPoolSize());
 
         final String[] incProps = cfg.getIncludeProperties();
 
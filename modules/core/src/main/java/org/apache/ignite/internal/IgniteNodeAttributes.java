@@ -198,6 +198,9 @@ public final class IgniteNodeAttributes {
     /** Rebalance thread pool size. */
     public static final String ATTR_REBALANCE_POOL_SIZE = ATTR_PREFIX + ".rebalance.pool.size";
 
+    /** Striped thread pool size. */
+    public static final String ATTR_STRIPED_POOL_SIZE = ATTR_PREFIX + ".striped.pool.size";
+
     /** Internal attribute name constant. */
     public static final String ATTR_DYNAMIC_CACHE_START_ROLLBACK_SUPPORTED = ATTR_PREFIX + ".dynamic.cache.start.rollback.supported";
 
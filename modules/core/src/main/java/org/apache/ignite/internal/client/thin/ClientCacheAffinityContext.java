@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Affinity mappings of caches known to the thin client and the last affinity topology version reported by servers.
+ * A mapping of older topology version is stale: key requests of the cache are sent to the default channel until
+ * the mapping is updated.
+ */
+class ClientCacheAffinityContext {
+    /** Converts keys to the form they have on server nodes. */
+    private final Function<Object, Object> keyMapper;
+
+    /** Mappings by cache ID. */
+    private final Map<Integer, ClientCacheAffinityMapping> mappings = new ConcurrentHashMap<>();
+
+    /** IDs of caches which mappings should be requested. */
+    private final Set<Integer> pendingCacheIds = ConcurrentHashMap.newKeySet();
+
+    /** Last affinity topology version reported by servers. */
+    private volatile AffinityTopologyVersion lastTopVer;
+
+    /**
+     * @param keyMapper Converts keys to the form they have on server nodes.
+     */
+    ClientCacheAffinityContext(Function<Object, Object> keyMapper) {
+        this.keyMapper = keyMapper;
+    }
+
+    /**
+     * @param topVer Affinity topology version reported by a server.
+     * @return {@code True} if the version is newer than the last known one.
+     */
+    synchronized boolean updateLastTopologyVersion(@Nullable AffinityTopologyVersion topVer) {
+        if (topVer == null || (lastTopVer != null && lastTopVer.compareTo(topVer) >= 0))
+            return false;
+
+        lastTopVer = topVer;
+
+        return true;
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @return Primary node ID or {@code null} if unknown. If mapping of the cache is absent or stale, the cache is
+     * scheduled for mapping update.
+     */
+    @Nullable UUID affinityNode(int cacheId, Object key) {
+        ClientCacheAffinityMapping mapping = mappings.get(cacheId);
+
+        AffinityTopologyVersion topVer = lastTopVer;
+
+        if (mapping == null || (topVer != null && mapping.topologyVersion().compareTo(topVer) < 0)) {
+            pendingCacheIds.add(cacheId);
+
+            return null;
+        }
+
+        return mapping.affinityNode(key, keyMapper);
+    }
+
+    /**
+     * @return {@code True} if mappings of some caches should be requested.
+     */
+    boolean affinityUpdateRequired() {
+        return !pendingCacheIds.isEmpty();
+    }
+
+    /**
+     * Writes {@link ClientOperation#CACHE_PARTITIONS} request for the caches which mappings are absent or stale.
+     *
+     * @param ch Payload output channel.
+     */
+    void writePartitionsUpdateRequest(PayloadOutputChannel ch) {
+        Collection<Integer> cacheIds = new ArrayList<>(pendingCacheIds);
+
+        pendingCacheIds.removeAll(cacheIds);
+
+        ch.out().writeInt(cacheIds.size());
+
+        for (int cacheId : cacheIds)
+            ch.out().writeInt(cacheId);
+    }
+
+    /**
+     * Reads mappings from {@link ClientOperation#CACHE_PARTITIONS} response.
+     *
+     * @param ch Payload input channel.
+     */
+    void readPartitionsUpdateResponse(PayloadInputChannel ch) {
+        Map<Integer, ClientCacheAffinityMapping> newMappings = ClientCacheAffinityMapping.readResponse(ch);
+
+        // All mappings of the response have the same topology version.
+        if (!newMappings.isEmpty())
+            updateLastTopologyVersion(newMappings.values().iterator().next().topologyVersion());
+
+        mappings.putAll(newMappings);
+    }
+}
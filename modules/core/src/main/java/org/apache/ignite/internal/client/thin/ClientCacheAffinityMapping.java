@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.internal.binary.BinaryObjectExImpl;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_6_0;
+
+/**
+ * Primary nodes of cache partitions known to the thin client, used to send key requests to primary nodes.
+ * Read from the response to {@link ClientOperation#CACHE_PARTITIONS} request.
+ */
+class ClientCacheAffinityMapping {
+    /** Affinity topology version of the mapping. */
+    private final AffinityTopologyVersion topVer;
+
+    /** Primary node ID of each partition, {@code null} if the cache is not applicable for partition awareness. */
+    @Nullable private final UUID[] partMapping;
+
+    /** Affinity key field ID by key type ID. */
+    private final Map<Integer, Integer> affKeyFields;
+
+    /**
+     * @param topVer Affinity topology version.
+     * @param partMapping Primary node ID of each partition.
+     * @param affKeyFields Affinity key field ID by key type ID.
+     */
+    private ClientCacheAffinityMapping(AffinityTopologyVersion topVer, @Nullable UUID[] partMapping,
+        Map<Integer, Integer> affKeyFields) {
+        this.topVer = topVer;
+        this.partMapping = partMapping;
+        this.affKeyFields = affKeyFields;
+    }
+
+    /**
+     * @return Affinity topology version of the mapping.
+     */
+    AffinityTopologyVersion topologyVersion() {
+        return topVer;
+    }
+
+    /**
+     * @param key Key.
+     * @param keyMapper Converts key to the form it has on server nodes.
+     * @return Primary node ID or {@code null} if unknown.
+     */
+    @Nullable UUID affinityNode(Object key, Function<Object, Object> keyMapper) {
+        if (partMapping == null || partMapping.length == 0)
+            return null;
+
+        Object affKey = keyMapper.apply(key);
+
+        if (!affKeyFields.isEmpty() && affKey instanceof BinaryObject) {
+            BinaryObject binKey = (BinaryObject)affKey;
+
+            Integer fieldId = affKeyFields.get(binKey.type().typeId());
+
+            if (fieldId != null && binKey instanceof BinaryObjectExImpl)
+                affKey = ((BinaryObjectExImpl)binKey).field(fieldId);
+        }
+
+        if (affKey == null)
+            return null;
+
+        int parts = partMapping.length;
+
+        return partMapping[RendezvousAffinityFunction.calculatePartition(affKey,
+            RendezvousAffinityFunction.calculateMask(parts), parts)];
+    }
+
+    /**
+     * Reads mappings of all caches from the partitions response.
+     *
+     * @param in Response payload.
+     * @return Mapping by cache ID.
+     */
+    static Map<Integer, ClientCacheAffinityMapping> readResponse(PayloadInputChannel in) {
+        try (BinaryReaderExImpl reader = new BinaryReaderExImpl(null, in.in(), null, true)) {
+            AffinityTopologyVersion topVer = new AffinityTopologyVersion(reader.readLong(), reader.readInt());
+
+            // Older servers do not send the number of partitions, so keys can't be mapped to partitions.
+            boolean partCnt = in.clientChannel().serverVersion().compareTo(V1_6_0) >= 0;
+
+            Map<Integer, ClientCacheAffinityMapping> res = new HashMap<>();
+
+            int grpCnt = reader.readInt();
+
+            for (int i = 0; i < grpCnt; i++) {
+                boolean applicable = reader.readBoolean();
+
+                int cacheCnt = reader.readInt();
+
+                int[] cacheIds = new int[cacheCnt];
+
+                Map<Integer, Map<Integer, Integer>> keyFields = new HashMap<>();
+
+                for (int j = 0; j < cacheCnt; j++) {
+                    cacheIds[j] = reader.readInt();
+
+                    if (applicable) {
+                        int keyCfgCnt = reader.readInt();
+
+                        Map<Integer, Integer> fields = keyCfgCnt == 0 ? Collections.emptyMap() : new HashMap<>();
+
+                        for (int k = 0; k < keyCfgCnt; k++)
+                            fields.put(reader.readInt(), reader.readInt());
+
+                        keyFields.put(cacheIds[j], fields);
+                    }
+                }
+
+                UUID[] partMapping = applicable ? readPartitions(reader, partCnt) : null;
+
+                for (int cacheId : cacheIds) {
+                    res.put(cacheId, new ClientCacheAffinityMapping(topVer, partMapping,
+                        keyFields.getOrDefault(cacheId, Collections.emptyMap())));
+                }
+            }
+
+            return res;
+        }
+        catch (IOException e) {
+            throw new ClientError(e);
+        }
+    }
+
+    /**
+     * @param reader Reader.
+     * @param partCnt Whether the number of partitions is sent by the server.
+     * @return Primary node ID of each partition or {@code null} if the number of partitions is unknown.
+     */
+    @Nullable private static UUID[] readPartitions(BinaryReaderExImpl reader, boolean partCnt) {
+        UUID[] partMapping = partCnt ? new UUID[reader.readInt()] : null;
+
+        int nodeCnt = reader.readInt();
+
+        for (int i = 0; i < nodeCnt; i++) {
+            UUID nodeId = reader.readUuid();
+
+            int nodePartCnt = reader.readInt();
+
+            for (int j = 0; j < nodePartCnt; j++) {
+                int part = reader.readInt();
+
+                if (partMapping != null)
+                    partMapping[part] = nodeId;
+            }
+        }
+
+        return partMapping;
+    }
+}
@@ -16,10 +16,13 @@
 
 package org.apache.ignite.internal.client.thin;
 
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.ignite.client.ClientAuthorizationException;
 import org.apache.ignite.client.ClientConnectionException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 
 /**
  * Processing thin client requests and responses.
@@ -36,8 +39,52 @@ interface ClientChannel extends AutoCloseable {
     public <T> T service(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter,
         Function<PayloadInputChannel, T> payloadReader) throws ClientConnectionException, ClientAuthorizationException;
 
+    /**
+     * Send request and handle response asynchronously for client operation.
+     *
+     * @param op Operation.
+     * @param payloadWriter Payload writer to stream or {@code null} if request has no payload.
+     * @param payloadReader Payload reader from stream.
+     * @return Future for the operation payload or {@code null} if response has no payload.
+     */
+    public <T> IgniteInternalFuture<T> serviceAsync(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader) throws ClientConnectionException;
+
     /**
      * @return Server version.
      */
     public ProtocolVersion serverVersion();
+
+    /**
+     * @return Server node ID, {@code null} if server protocol version does not support partition awareness.
+     */
+    public UUID serverNodeId();
+
+    /**
+     * @return Last affinity topology version reported by the server or {@code null} if not reported yet.
+     */
+    public AffinityTopologyVersion serverTopologyVersion();
+
+    /**
+     * Adds listener notified when the server reports a new affinity topology version.
+     *
+     * @param lsnr Listener.
+     */
+    public void addTopologyChangeListener(Consumer<ClientChannel> lsnr);
+
+    /**
+     * Adds listener of the server notifications for the resource. Notifications received before the listener is
+     * added are delivered to it after adding. Notifications of one resource are delivered sequentially.
+     *
+     * @param rsrcId Resource ID.
+     * @param lsnr Listener.
+     */
+    public void addNotificationListener(long rsrcId, NotificationListener lsnr);
+
+    /**
+     * Removes listener of the server notifications for the resource.
+     *
+     * @param rsrcId Resource ID.
+     */
+    public void removeNotificationListener(long rsrcId);
 }
@@ -17,8 +17,10 @@
 package org.apache.ignite.internal.client.thin;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
 import javax.cache.configuration.Factory;
 import javax.net.ssl.SSLContext;
+import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.configuration.ClientConfiguration;
 import org.apache.ignite.client.SslMode;
 import org.apache.ignite.client.SslProtocol;
@@ -81,6 +83,12 @@ final class ClientChannelConfiguration {
     /** Password. */
     private String userPwd;
 
+    /** Executor for async operations continuations. */
+    private Executor asyncContinuationExecutor;
+
+    /** Logger. */
+    private IgniteLogger log;
+
     /**
      * Constructor.
      */
@@ -102,6 +110,8 @@ final class ClientChannelConfiguration {
         this.sslCtxFactory = cfg.getSslContextFactory();
         this.userName = cfg.getUserName();
         this.userPwd = cfg.getUserPassword();
+        this.asyncContinuationExecutor = cfg.getAsyncContinuationExecutor();
+        this.log = cfg.getLogger();
     }
 
     /**
@@ -238,4 +248,18 @@ final class ClientChannelConfiguration {
     public String getUserPassword() {
         return userPwd;
     }
+
+    /**
+     * @return Executor for async operations continuations.
+     */
+    public Executor getAsyncContinuationExecutor() {
+        return asyncContinuationExecutor;
+    }
+
+    /**
+     * @return Logger.
+     */
+    public IgniteLogger getLogger() {
+        return log;
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.event.EventType;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.ClientDisconnectListener;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thin client continuous query cursor. Receives batches of events from the server and passes them to the local
+ * listener. Closing of the cursor stops the query.
+ */
+class ClientContinuousQueryCursor<K, V> implements QueryCursor<Cache.Entry<K, V>>, NotificationListener {
+    /** Channel the query is started on. */
+    private final ClientChannel ch;
+
+    /** Query resource ID. */
+    private final long rsrcId;
+
+    /** Local listener, {@code null} if events are transformed. */
+    private final CacheEntryUpdatedListener<K, V> lsnr;
+
+    /** Local listener of transformed events, {@code null} if events are not transformed. */
+    private final ContinuousQueryWithTransformer.EventListener<Object> transformedLsnr;
+
+    /** Disconnect listener. */
+    private final ClientDisconnectListener disconnectLsnr;
+
+    /** Source of the events. */
+    private final Cache<K, V> src;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Keep binary flag. */
+    private final boolean keepBinary;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param ch Channel the query is started on.
+     * @param rsrcId Query resource ID.
+     * @param lsnr Local listener, {@code null} if events are transformed.
+     * @param transformedLsnr Local listener of transformed events, {@code null} if events are not transformed.
+     * @param disconnectLsnr Disconnect listener or {@code null}.
+     * @param cache Cache.
+     * @param serDes Serializer/deserializer.
+     * @param keepBinary Keep binary flag.
+     */
+    ClientContinuousQueryCursor(
+        ClientChannel ch,
+        long rsrcId,
+        CacheEntryUpdatedListener<K, V> lsnr,
+        ContinuousQueryWithTransformer.EventListener<Object> transformedLsnr,
+        ClientDisconnectListener disconnectLsnr,
+        ClientCache<K, V> cache,
+        ClientUtils serDes,
+        boolean keepBinary
+    ) {
+        this.ch = ch;
+        this.rsrcId = rsrcId;
+        this.lsnr = lsnr;
+        this.transformedLsnr = transformedLsnr;
+        this.disconnectLsnr = disconnectLsnr;
+        this.serDes = serDes;
+        this.keepBinary = keepBinary;
+
+        src = eventSource(cache);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void acceptNotification(PayloadInputChannel payload, Exception err) {
+        if (closed)
+            return;
+
+        // Query is stopped if events are not consumed fast enough, the resource is already released.
+        if (err != null) {
+            closed = true;
+
+            ch.removeNotificationListener(rsrcId);
+
+            if (disconnectLsnr != null)
+                disconnectLsnr.onDisconnected(err);
+
+            return;
+        }
+
+        BinaryInputStream in = payload.in();
+
+        int cnt = in.readInt();
+
+        if (transformedLsnr != null) {
+            List<Object> evts = new ArrayList<>(cnt);
+
+            for (int i = 0; i < cnt; i++)
+                evts.add(serDes.readObject(in, keepBinary));
+
+            transformedLsnr.onUpdated(evts);
+        }
+        else {
+            List<CacheEntryEvent<? extends K, ? extends V>> evts = new ArrayList<>(cnt);
+
+            for (int i = 0; i < cnt; i++) {
+                EventType type = EventType.values()[in.readByte()];
+                K key = serDes.readObject(in, keepBinary);
+                V oldVal = serDes.readObject(in, keepBinary);
+                V val = serDes.readObject(in, keepBinary);
+
+                evts.add(new ClientCacheEntryEvent<>(src, type, key, oldVal, val));
+            }
+
+            lsnr.onUpdated(evts);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onChannelClosed(Exception err) {
+        if (!closed && disconnectLsnr != null)
+            disconnectLsnr.onDisconnected(err);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Cache.Entry<K, V>> getAll() {
+        return Collections.emptyList();
+    }
+
+    /** {@inheritDoc} */
+    @NotNull @Override public Iterator<Cache.Entry<K, V>> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+
+        try {
+            ch.service(ClientOperation.RESOURCE_CLOSE, req -> req.out().writeLong(rsrcId), null);
+        }
+        catch (ClientException | ClientError ignored) {
+            // Query is stopped by the server if the connection is lost.
+        }
+        finally {
+            ch.removeNotificationListener(rsrcId);
+        }
+    }
+
+    /**
+     * {@link CacheEntryEvent} requires a JCache source, the thin client cache is exposed as a view supporting
+     * {@link Cache#getName()} and {@link Cache#unwrap(Class)} only.
+     *
+     * @param cache Cache.
+     * @return Source of the events.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> Cache<K, V> eventSource(ClientCache<K, V> cache) {
+        return (Cache<K, V>)Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class[] {Cache.class},
+            (proxy, mtd, args) -> {
+                switch (mtd.getName()) {
+                    case "getName":
+                        return cache.getName();
+
+                    case "unwrap":
+                        if (((Class<?>)args[0]).isInstance(cache))
+                            return cache;
+
+                        throw new IllegalArgumentException("Cannot unwrap to " + args[0]);
+
+                    case "equals":
+                        return proxy == args[0];
+
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+
+                    case "toString":
+                        return "ClientCache [name=" + cache.getName() + ']';
+
+                    default:
+                        throw new UnsupportedOperationException("Operation is not supported by continuous query " +
+                            "event source, use the client cache instead: " + mtd.getName());
+                }
+            });
+    }
+
+    /**
+     * Continuous query event.
+     */
+    private static class ClientCacheEntryEvent<K, V> extends CacheEntryEvent<K, V> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Key. */
+        private final K key;
+
+        /** Old value. */
+        private final V oldVal;
+
+        /** Value. */
+        private final V val;
+
+        /**
+         * Constructor.
+         *
+         * @param src Source cache.
+         * @param type Event type.
+         * @param key Key.
+         * @param oldVal Old value.
+         * @param val Value.
+         */
+        ClientCacheEntryEvent(Cache<K, V> src, EventType type, K key, V oldVal, V val) {
+            super(src, type);
+
+            this.key = key;
+            this.oldVal = oldVal;
+            this.val = val;
+        }
+
+        /** {@inheritDoc} */
+        @Override public K getKey() {
+            return key;
+        }
+
+        /** {@inheritDoc} */
+        @Override public V getValue() {
+            return val;
+        }
+
+        /** {@inheritDoc} */
+        @Override public V getOldValue() {
+            return oldVal;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isOldValueAvailable() {
+            return oldVal != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public <T> T unwrap(Class<T> clazz) {
+            if (clazz.isAssignableFrom(getClass()))
+                return clazz.cast(this);
+
+            throw new IllegalArgumentException("Cannot unwrap to " + clazz.getName());
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(ClientCacheEntryEvent.class, this, "evtType", getEventType());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.util.future.IgniteFutureImpl;
+import org.apache.ignite.internal.util.typedef.X;
+
+/**
+ * Future returned by async operations of thin client, throws {@link ClientException} on failure.
+ */
+class ClientFutureImpl<V> extends IgniteFutureImpl<V> {
+    /**
+     * @param fut Future.
+     */
+    ClientFutureImpl(IgniteInternalFuture<V> fut) {
+        super(fut);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected RuntimeException convertException(IgniteCheckedException e) {
+        ClientError err = X.cause(e, ClientError.class);
+
+        if (err != null)
+            return err;
+
+        ClientException cause = X.cause(e, ClientException.class);
+
+        return cause != null ? cause : new ClientException(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheConfiguration;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thin client near cache. Keeps values read from the server until the server reports that the entries are changed.
+ * <p>
+ * Invalidations are received over the connection the near cache subscribed on. Values are cached only while the
+ * subscription is active, and only if no invalidation was received while the value was being read: every
+ * invalidation increments the epoch, the value read in the previous epoch is dropped. The near cache is cleared if
+ * the subscription connection is lost or any server reports a new topology version.
+ */
+class ClientNearCache implements NotificationListener, ClientNearCacheMetrics {
+    /** Configuration. */
+    private final ClientNearCacheConfiguration cfg;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Entries. */
+    private final GridBoundedConcurrentLinkedHashMap<Object, NearEntry> entries;
+
+    /** Epoch, incremented on every invalidation. */
+    private final AtomicLong epoch = new AtomicLong();
+
+    /** Subscription request is in progress. */
+    private final AtomicBoolean subscribing = new AtomicBoolean();
+
+    /** Channel invalidations are received from, {@code null} if not subscribed. */
+    private volatile ClientChannel subCh;
+
+    /** Last topology version reported by the servers. */
+    private AffinityTopologyVersion lastTopVer;
+
+    /** Hits. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Misses. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Sum of the ages of the values served from the near cache. */
+    private final LongAdder hitAges = new LongAdder();
+
+    /** Invalidated keys. */
+    private final LongAdder invalidations = new LongAdder();
+
+    /** Expired entries. */
+    private final LongAdder expirations = new LongAdder();
+
+    /** Resets. */
+    private final LongAdder resets = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param cfg Configuration.
+     * @param ch Channel.
+     * @param serDes Serializer/deserializer.
+     */
+    ClientNearCache(ClientNearCacheConfiguration cfg, ReliableChannel ch, ClientUtils serDes) {
+        this.cfg = cfg;
+        this.ch = ch;
+        this.serDes = serDes;
+
+        cacheId = ClientUtils.cacheId(cfg.getName());
+
+        entries = new GridBoundedConcurrentLinkedHashMap<>(cfg.getMaxSize());
+
+        ch.addTopologyChangeListener(this::onTopologyChanged);
+    }
+
+    /**
+     * @param key Key.
+     * @return Value or {@code null} if the key is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable <V> V get(Object key) {
+        NearEntry e = entries.get(key);
+
+        if (e == null) {
+            misses.increment();
+
+            return null;
+        }
+
+        long age = U.currentTimeMillis() - e.loadTime;
+
+        if (cfg.getTimeToLive() > 0 && age >= cfg.getTimeToLive()) {
+            if (entries.remove(key, e))
+                expirations.increment();
+
+            misses.increment();
+
+            return null;
+        }
+
+        hits.increment();
+        hitAges.add(age);
+
+        return (V)e.val;
+    }
+
+    /**
+     * Called before the values are read from the server.
+     *
+     * @return Epoch to pass to {@link #onLoaded(Object, Object, long)} or {@code -1} if the values can't be cached,
+     * since there is no active subscription.
+     */
+    long startLoad() {
+        if (subCh == null) {
+            subscribeAsync();
+
+            return -1;
+        }
+
+        return epoch.get();
+    }
+
+    /**
+     * Caches the value read from the server.
+     *
+     * @param key Key.
+     * @param val Value.
+     * @param epoch0 Epoch returned by {@link #startLoad()}.
+     */
+    void onLoaded(Object key, @Nullable Object val, long epoch0) {
+        if (epoch0 < 0 || val == null)
+            return;
+
+        NearEntry e = new NearEntry(val, U.currentTimeMillis());
+
+        entries.put(key, e);
+
+        // Entry is stored first and checked then, so the concurrent invalidation either sees it or changes the epoch.
+        if (epoch.get() != epoch0)
+            entries.remove(key, e);
+    }
+
+    /**
+     * Drops the key updated by this client, so the next read gets the new value without waiting for invalidation.
+     *
+     * @param key Key.
+     */
+    void invalidate(Object key) {
+        epoch.incrementAndGet();
+
+        entries.remove(key);
+    }
+
+    /**
+     * Drops the keys updated by this client.
+     *
+     * @param keys Keys.
+     */
+    void invalidateAll(Iterable<?> keys) {
+        epoch.incrementAndGet();
+
+        for (Object key : keys)
+            entries.remove(key);
+    }
+
+    /**
+     * Drops all entries after the cache is cleared by this client.
+     */
+    void clear() {
+        epoch.incrementAndGet();
+
+        // Bounded map doesn't support clear().
+        for (Iterator<Object> it = entries.keySet().iterator(); it.hasNext(); ) {
+            it.next();
+
+            it.remove();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void acceptNotification(PayloadInputChannel payload, Exception err) {
+        // Subscription is stopped if invalidations are not consumed fast enough, the next read requests it again.
+        if (err != null) {
+            onChannelClosed(err);
+
+            return;
+        }
+
+        epoch.incrementAndGet();
+
+        BinaryInputStream in = payload.in();
+
+        int cnt = in.readInt();
+
+        try {
+            for (int i = 0; i < cnt; i++)
+                entries.remove(serDes.readObject(in, false));
+        }
+        catch (RuntimeException e) {
+            // Key can't be deserialized, so it is not cached.
+            reset();
+        }
+
+        invalidations.add(cnt);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onChannelClosed(Exception err) {
+        subCh = null;
+
+        reset();
+    }
+
+    /**
+     * @param topVer Topology version reported by a server.
+     */
+    private void onTopologyChanged(AffinityTopologyVersion topVer) {
+        synchronized (this) {
+            if (topVer == null || (lastTopVer != null && lastTopVer.compareTo(topVer) >= 0))
+                return;
+
+            boolean first = lastTopVer == null;
+
+            lastTopVer = topVer;
+
+            if (first)
+                return;
+        }
+
+        reset();
+    }
+
+    /**
+     * Drops all entries.
+     */
+    private void reset() {
+        clear();
+
+        resets.increment();
+    }
+
+    /**
+     * Subscribes to the invalidations if the server supports them.
+     */
+    private void subscribeAsync() {
+        if (!subscribing.compareAndSet(false, true))
+            return;
+
+        try {
+            ClientChannel ch0 = ch.channel();
+
+            if (ch0.serverVersion().compareTo(ProtocolVersion.V1_9_0) < 0) {
+                subscribing.set(false);
+
+                return;
+            }
+
+            ch0.serviceAsync(
+                ClientOperation.QUERY_NEAR_INVALIDATION,
+                req -> {
+                    BinaryOutputStream out = req.out();
+
+                    out.writeInt(cacheId);
+                    out.writeByte((byte)0); // Flags.
+                    out.writeInt(cfg.getInvalidationPageSize());
+                    out.writeLong(cfg.getInvalidationTimeInterval());
+                },
+                res -> res.in().readLong()
+            ).listen(f -> {
+                try {
+                    long rsrcId = f.get();
+
+                    subCh = ch0;
+
+                    // Notifies the near cache immediately if the channel is already closed.
+                    ch0.addNotificationListener(rsrcId, this);
+                }
+                catch (IgniteCheckedException ignored) {
+                    // Subscription is requested again by the next read.
+                }
+                finally {
+                    subscribing.set(false);
+                }
+            });
+        }
+        catch (ClientException | ClientError e) {
+            // Subscription is requested again by the next read.
+            subscribing.set(false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getHits() {
+        return hits.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getMisses() {
+        return misses.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getHitPercentage() {
+        long hits0 = hits.sum();
+        long reads = hits0 + misses.sum();
+
+        return reads == 0 ? 0 : (float)hits0 / reads * 100.0f;
+    }
+
+    /** {@inheritDoc} */
+    @Override public float getAverageHitAge() {
+        long hits0 = hits.sum();
+
+        return hits0 == 0 ? 0 : (float)hitAges.sum() / hits0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSize() {
+        return entries.sizex();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getResets() {
+        return resets.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientNearCache.class, this);
+    }
+
+    /**
+     * Near cache entry.
+     */
+    private static class NearEntry {
+        /** Value. */
+        private final Object val;
+
+        /** Time the value was read from the server. */
+        private final long loadTime;
+
+        /**
+         * @param val Value.
+         * @param loadTime Time the value was read from the server.
+         */
+        NearEntry(Object val, long loadTime) {
+            this.val = val;
+            this.loadTime = loadTime;
+        }
+    }
+}
@@ -43,16 +43,29 @@ enum ClientOperation {
     /** Cache get and replace. */CACHE_GET_AND_REPLACE(1006),
     /** Cache put if absent. */CACHE_PUT_IF_ABSENT(1002),
     /** Cache clear. */CACHE_CLEAR(1013),
+    /** Cache partitions. */CACHE_PARTITIONS(1101),
     /** Query scan. */QUERY_SCAN(2000),
     /** Query scan cursor get page. */QUERY_SCAN_CURSOR_GET_PAGE(2001),
     /** Query sql. */QUERY_SQL(2002),
     /** Query sql cursor get page. */QUERY_SQL_CURSOR_GET_PAGE(2003),
     /** Query sql fields. */QUERY_SQL_FIELDS(2004),
     /** Query sql fields cursor get page. */QUERY_SQL_FIELDS_CURSOR_GET_PAGE(2005),
+    /** Continuous query. */QUERY_CONTINUOUS(2006),
+    /** Continuous query event notification. */QUERY_CONTINUOUS_EVENT_NOTIFICATION(2007),
+    /** Near cache invalidation. */QUERY_NEAR_INVALIDATION(2008),
     /** Get binary type. */GET_BINARY_TYPE(3002),
     /** Register binary type name. */REGISTER_BINARY_TYPE_NAME(3001),
     /** Put binary type. */PUT_BINARY_TYPE(3003),
-    /** Get binary type name. */GET_BINARY_TYPE_NAME(3000);
+    /** Get binary type name. */GET_BINARY_TYPE_NAME(3000),
+    /** Start transaction. */TX_START(4000),
+    /** End transaction. */TX_END(4001),
+    /** Execute compute task. */COMPUTE_TASK_EXECUTE(6000),
+    /** Compute task finished notification. */COMPUTE_TASK_FINISHED(6001),
+    /** Compute affinity run. */COMPUTE_AFFINITY_RUN(6002),
+    /** Data streamer start. */DATA_STREAMER_START(8000),
+    /** Data streamer add data. */DATA_STREAMER_ADD_DATA(8001),
+    /** Data streamer flush. */DATA_STREAMER_FLUSH(8002),
+    /** Data streamer close. */DATA_STREAMER_CLOSE(8003);
 
     /** Code. */
     private final int code;
@@ -68,4 +81,21 @@ enum ClientOperation {
     public short code() {
         return (short)code;
     }
+
+    /**
+     * @return {@code True} if the response of the operation starts with the ID of the resource the server sends
+     * notifications for.
+     */
+    public boolean notificationResource() {
+        switch (this) {
+            case QUERY_CONTINUOUS:
+            case QUERY_NEAR_INVALIDATION:
+            case COMPUTE_TASK_EXECUTE:
+            case COMPUTE_AFFINITY_RUN:
+                return true;
+
+            default:
+                return false;
+        }
+    }
 }
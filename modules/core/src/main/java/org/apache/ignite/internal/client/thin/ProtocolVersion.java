@@ -18,6 +18,27 @@ package org.apache.ignite.internal.client.thin;
 
 /** Thin client protocol version. */
 public final class ProtocolVersion implements Comparable<ProtocolVersion> {
+    /** Protocol version: 1.9.0. */
+    public static final ProtocolVersion V1_9_0 = new ProtocolVersion((short)1, (short)9, (short)0);
+
+    /** Protocol version: 1.8.0. */
+    public static final ProtocolVersion V1_8_0 = new ProtocolVersion((short)1, (short)8, (short)0);
+
+    /** Protocol version: 1.7.0. */
+    public static final ProtocolVersion V1_7_0 = new ProtocolVersion((short)1, (short)7, (short)0);
+
+    /** Protocol version: 1.6.0. */
+    public static final ProtocolVersion V1_6_0 = new ProtocolVersion((short)1, (short)6, (short)0);
+
+    /** Protocol version: 1.5.0. */
+    public static final ProtocolVersion V1_5_0 = new ProtocolVersion((short)1, (short)5, (short)0);
+
+    /** Protocol version: 1.4.0. */
+    public static final ProtocolVersion V1_4_0 = new ProtocolVersion((short)1, (short)4, (short)0);
+
+    /** Protocol version: 1.3.0. */
+    public static final ProtocolVersion V1_3_0 = new ProtocolVersion((short)1, (short)3, (short)0);
+
     /** Protocol version: 1.2.0. */
     public static final ProtocolVersion V1_2_0 = new ProtocolVersion((short)1, (short)2, (short)0);
 
@@ -19,10 +19,19 @@ package org.apache.ignite.internal.client.thin;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -32,9 +41,15 @@ import org.apache.ignite.client.ClientConnectionException;
 import org.apache.ignite.client.ClientException;
 import org.apache.ignite.configuration.ClientConfiguration;
 import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.util.HostAndPortRange;
+import org.apache.ignite.internal.util.future.GridCompoundFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteReducer;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Adds failover abd thread-safety to {@link ClientChannel}.
@@ -61,12 +76,55 @@ final class ReliableChannel implements AutoCloseable {
     /** Channel is closed. */
     private boolean closed;
 
+    /** All server addresses. */
+    private final List<InetSocketAddress> addrs;
+
+    /** Affinity mappings, {@code null} if partition awareness is disabled. */
+    @Nullable private final ClientCacheAffinityContext affinityCtx;
+
+    /** Channels to the servers other than the primary one, by address. Used if partition awareness is enabled. */
+    private final Map<InetSocketAddress, ClientChannel> nodeChannels = new ConcurrentHashMap<>();
+
+    /** Channels by server node ID, including the default channel. Used if partition awareness is enabled. */
+    private final Map<UUID, ClientChannel> nodeChannelsById = new ConcurrentHashMap<>();
+
+    /** Node channels are being connected. */
+    private final AtomicBoolean nodeChannelsInitInProgress = new AtomicBoolean();
+
+    /** Affinity mappings are being requested. */
+    private final AtomicBoolean affinityUpdateInProgress = new AtomicBoolean();
+
+    /** Executor connecting node channels. */
+    private final Executor asyncExecutor;
+
+    /** Channel the requests of the current thread are bound to, e.g. by the active transaction. */
+    private final ThreadLocal<ClientChannel> boundCh = new ThreadLocal<>();
+
+    /** Listeners of the affinity topology versions reported by the servers. */
+    private final Collection<Consumer<AffinityTopologyVersion>> topChangeLsnrs = new CopyOnWriteArrayList<>();
+
     /**
      * Constructor.
      */
     ReliableChannel(
         Function<ClientChannelConfiguration, Result<ClientChannel>> chFactory,
         ClientConfiguration clientCfg
+    ) throws ClientException {
+        this(chFactory, clientCfg, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param chFactory Channel factory.
+     * @param clientCfg Client configuration.
+     * @param keyMapper Converts keys to the form they have on server nodes, required if partition awareness is
+     * enabled.
+     */
+    ReliableChannel(
+        Function<ClientChannelConfiguration, Result<ClientChannel>> chFactory,
+        ClientConfiguration clientCfg,
+        @Nullable Function<Object, Object> keyMapper
     ) throws ClientException {
         if (chFactory == null)
             throw new NullPointerException("chFactory");
@@ -77,7 +135,13 @@ final class ReliableChannel implements AutoCloseable {
         this.chFactory = chFactory;
         this.clientCfg = clientCfg;
 
-        List<InetSocketAddress> addrs = parseAddresses(clientCfg.getAddresses());
+        affinityCtx = clientCfg.isPartitionAwarenessEnabled() && keyMapper != null ?
+            new ClientCacheAffinityContext(keyMapper) : null;
+
+        asyncExecutor = clientCfg.getAsyncContinuationExecutor() == null ?
+            ForkJoinPool.commonPool() : clientCfg.getAsyncContinuationExecutor();
+
+        addrs = parseAddresses(clientCfg.getAddresses());
 
         srvCnt = addrs.size();
 
@@ -92,7 +156,12 @@ final class ReliableChannel implements AutoCloseable {
 
         for (int i = 0; i < addrs.size(); i++) {
             try {
-                ch = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(primary)).get();
+                ch = createChannel(primary);
+
+                registerNodeChannel(ch);
+
+                if (affinityCtx != null && addrs.size() > 1)
+                    initNodeChannelsAsync();
 
                 return;
             } catch (ClientConnectionException e) {
@@ -109,6 +178,12 @@ final class ReliableChannel implements AutoCloseable {
     @Override public synchronized void close() throws Exception {
         closed = true;
 
+        for (ClientChannel nodeCh : nodeChannels.values())
+            U.closeQuiet(nodeCh);
+
+        nodeChannels.clear();
+        nodeChannelsById.clear();
+
         if (ch != null) {
             ch.close();
 
@@ -124,6 +199,12 @@ final class ReliableChannel implements AutoCloseable {
         Consumer<PayloadOutputChannel> payloadWriter,
         Function<PayloadInputChannel, T> payloadReader
     ) throws ClientException {
+        ClientChannel boundCh0 = boundCh.get();
+
+        // Requests bound to the channel are not retried on the other servers.
+        if (boundCh0 != null)
+            return boundCh0.service(op, payloadWriter, payloadReader);
+
         ClientConnectionException failure = null;
 
         for (int i = 0; i < srvCnt; i++) {
@@ -162,6 +243,509 @@ final class ReliableChannel implements AutoCloseable {
         service(op, payloadWriter, null);
     }
 
+    /**
+     * Send request and handle response asynchronously.
+     */
+    public <T> IgniteInternalFuture<T> serviceAsync(
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        GridFutureAdapter<T> fut = new GridFutureAdapter<>();
+
+        ClientChannel boundCh0 = boundCh.get();
+
+        if (boundCh0 != null)
+            boundServiceAsync(boundCh0, op, payloadWriter, payloadReader, fut);
+        else
+            serviceAsync0(op, payloadWriter, payloadReader, fut, 0, null);
+
+        return fut;
+    }
+
+    /**
+     * Send request without payload and handle response asynchronously.
+     */
+    public <T> IgniteInternalFuture<T> serviceAsync(ClientOperation op, Function<PayloadInputChannel, T> payloadReader)
+        throws ClientException {
+        return serviceAsync(op, null, payloadReader);
+    }
+
+    /**
+     * Send request and handle response without payload asynchronously.
+     */
+    public IgniteInternalFuture<Void> requestAsync(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
+        throws ClientException {
+        return serviceAsync(op, payloadWriter, null);
+    }
+
+    /**
+     * Sends request to the bound channel asynchronously, the request is not retried if the connection fails.
+     *
+     * @param boundCh0 Bound channel.
+     * @param op Operation.
+     * @param payloadWriter Payload writer.
+     * @param payloadReader Payload reader.
+     * @param fut Future to complete.
+     */
+    private <T> void boundServiceAsync(
+        ClientChannel boundCh0,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader,
+        GridFutureAdapter<T> fut
+    ) {
+        try {
+            boundCh0.serviceAsync(op, payloadWriter, payloadReader).listen(f -> {
+                try {
+                    fut.onDone(f.get());
+                }
+                catch (IgniteCheckedException e) {
+                    fut.onDone(e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        }
+        catch (Throwable e) {
+            fut.onDone(e);
+        }
+    }
+
+    /**
+     * Sends request and retries it on the next server if connection fails, the same way as
+     * {@link #service(ClientOperation, Consumer, Function)} does.
+     *
+     * @param op Operation.
+     * @param payloadWriter Payload writer.
+     * @param payloadReader Payload reader.
+     * @param fut Future to complete.
+     * @param attempt Attempt number.
+     * @param failure Failure of the previous attempts.
+     */
+    private <T> void serviceAsync0(
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader,
+        GridFutureAdapter<T> fut,
+        int attempt,
+        @Nullable ClientConnectionException failure
+    ) {
+        ClientChannel ch = null;
+
+        try {
+            ch = channel();
+
+            ClientChannel ch0 = ch;
+
+            ch.serviceAsync(op, payloadWriter, payloadReader).listen(f -> {
+                try {
+                    fut.onDone(f.get());
+                }
+                catch (IgniteCheckedException e) {
+                    if (e.getCause() instanceof ClientConnectionException) {
+                        onAsyncConnectionFailure(op, payloadWriter, payloadReader, fut, attempt, failure, ch0,
+                            (ClientConnectionException)e.getCause());
+                    }
+                    else
+                        fut.onDone(e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        }
+        catch (ClientConnectionException e) {
+            onAsyncConnectionFailure(op, payloadWriter, payloadReader, fut, attempt, failure, ch, e);
+        }
+        catch (Throwable e) {
+            fut.onDone(e);
+        }
+    }
+
+    /**
+     * Changes server and retries the request or fails the future if all servers have been tried.
+     */
+    private <T> void onAsyncConnectionFailure(
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader,
+        GridFutureAdapter<T> fut,
+        int attempt,
+        @Nullable ClientConnectionException failure,
+        @Nullable ClientChannel ch,
+        ClientConnectionException e
+    ) {
+        if (failure == null)
+            failure = e;
+        else
+            failure.addSuppressed(e);
+
+        changeServer(ch);
+
+        if (attempt + 1 < srvCnt)
+            serviceAsync0(op, payloadWriter, payloadReader, fut, attempt + 1, failure);
+        else
+            fut.onDone(failure);
+    }
+
+    /**
+     * Sends key request to the primary node of the key if partition awareness is enabled and the primary node is
+     * known, otherwise sends the request the same way as {@link #service(ClientOperation, Consumer, Function)} does.
+     *
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @param op Operation.
+     * @param payloadWriter Payload writer.
+     * @param payloadReader Payload reader.
+     */
+    public <T> T affinityService(
+        int cacheId,
+        Object key,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        return nodeService(affinityChannel(cacheId, key), op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Sends key request asynchronously, see {@link #affinityService(int, Object, ClientOperation, Consumer, Function)}.
+     */
+    public <T> IgniteInternalFuture<T> affinityServiceAsync(
+        int cacheId,
+        Object key,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        return nodeServiceAsync(affinityChannel(cacheId, key), op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Splits keys by primary nodes if partition awareness is enabled and sends request with each part of the keys
+     * to its primary node.
+     *
+     * @param cacheId Cache ID.
+     * @param keys Keys.
+     * @param op Operation.
+     * @param payloadWriter Creates payload writer for the part of the keys.
+     * @param payloadReader Payload reader.
+     * @return Results of the requests.
+     */
+    public <K, T> Collection<T> affinityServiceAll(
+        int cacheId,
+        Collection<K> keys,
+        ClientOperation op,
+        Function<Collection<K>, Consumer<PayloadOutputChannel>> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        Map<ClientChannel, Collection<K>> keysByCh = affinityChannels(cacheId, keys);
+
+        if (keysByCh.size() == 1) {
+            Map.Entry<ClientChannel, Collection<K>> e = keysByCh.entrySet().iterator().next();
+
+            return Collections.singletonList(
+                nodeService(e.getKey(), op, payloadWriter.apply(e.getValue()), payloadReader));
+        }
+
+        return new ClientFutureImpl<>(nodeServiceAllAsync(keysByCh, op, payloadWriter, payloadReader)).get();
+    }
+
+    /**
+     * Sends requests asynchronously, see
+     * {@link #affinityServiceAll(int, Collection, ClientOperation, Function, Function)}.
+     */
+    public <K, T> IgniteInternalFuture<Collection<T>> affinityServiceAllAsync(
+        int cacheId,
+        Collection<K> keys,
+        ClientOperation op,
+        Function<Collection<K>, Consumer<PayloadOutputChannel>> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        return nodeServiceAllAsync(affinityChannels(cacheId, keys), op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Sends request to the node channel and falls back to the default channel if the node channel fails.
+     *
+     * @param nodeCh Node channel, {@code null} to use the default channel.
+     */
+    private <T> T nodeService(
+        @Nullable ClientChannel nodeCh,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        if (nodeCh != null) {
+            try {
+                return nodeCh.service(op, payloadWriter, payloadReader);
+            }
+            catch (ClientConnectionException e) {
+                onNodeChannelFailure(nodeCh);
+            }
+        }
+
+        return service(op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Sends request to the node channel asynchronously and falls back to the default channel if the node channel
+     * fails.
+     *
+     * @param nodeCh Node channel, {@code null} to use the default channel.
+     */
+    private <T> IgniteInternalFuture<T> nodeServiceAsync(
+        @Nullable ClientChannel nodeCh,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) {
+        if (nodeCh == null)
+            return serviceAsync(op, payloadWriter, payloadReader);
+
+        GridFutureAdapter<T> fut = new GridFutureAdapter<>();
+
+        try {
+            nodeCh.serviceAsync(op, payloadWriter, payloadReader).listen(f -> {
+                try {
+                    fut.onDone(f.get());
+                }
+                catch (IgniteCheckedException e) {
+                    if (e.getCause() instanceof ClientConnectionException) {
+                        onNodeChannelFailure(nodeCh);
+
+                        serviceAsync0(op, payloadWriter, payloadReader, fut, 0, null);
+                    }
+                    else
+                        fut.onDone(e.getCause() != null ? e.getCause() : e);
+                }
+            });
+        }
+        catch (ClientConnectionException e) {
+            onNodeChannelFailure(nodeCh);
+
+            serviceAsync0(op, payloadWriter, payloadReader, fut, 0, null);
+        }
+        catch (Throwable e) {
+            fut.onDone(e);
+        }
+
+        return fut;
+    }
+
+    /**
+     * Sends request with each part of the keys to its node channel asynchronously.
+     *
+     * @param keysByCh Keys by node channels, {@code null} channel stands for the default one.
+     */
+    private <K, T> IgniteInternalFuture<Collection<T>> nodeServiceAllAsync(
+        Map<ClientChannel, Collection<K>> keysByCh,
+        ClientOperation op,
+        Function<Collection<K>, Consumer<PayloadOutputChannel>> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) {
+        Collection<T> res = Collections.synchronizedList(new ArrayList<>(keysByCh.size()));
+
+        GridCompoundFuture<T, Collection<T>> fut = new GridCompoundFuture<>(new IgniteReducer<T, Collection<T>>() {
+            /** */
+            private static final long serialVersionUID = 0L;
+
+            @Override public boolean collect(T t) {
+                res.add(t);
+
+                return true;
+            }
+
+            @Override public Collection<T> reduce() {
+                return res;
+            }
+        });
+
+        for (Map.Entry<ClientChannel, Collection<K>> e : keysByCh.entrySet())
+            fut.add(nodeServiceAsync(e.getKey(), op, payloadWriter.apply(e.getValue()), payloadReader));
+
+        fut.markInitialized();
+
+        return fut;
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @return Channel to the primary node of the key or {@code null} if unknown.
+     */
+    @Nullable private ClientChannel affinityChannel(int cacheId, Object key) {
+        if (affinityCtx == null || boundCh.get() != null)
+            return null;
+
+        UUID nodeId = affinityCtx.affinityNode(cacheId, key);
+
+        if (affinityCtx.affinityUpdateRequired())
+            updateAffinityAsync();
+
+        return nodeId == null ? null : nodeChannelsById.get(nodeId);
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param keys Keys.
+     * @return Keys by channels to their primary nodes, {@code null} channel stands for the default one.
+     */
+    private <K> Map<ClientChannel, Collection<K>> affinityChannels(int cacheId, Collection<K> keys) {
+        if (affinityCtx == null || boundCh.get() != null)
+            return Collections.singletonMap(null, keys);
+
+        Map<ClientChannel, Collection<K>> res = new HashMap<>();
+
+        for (K key : keys)
+            res.computeIfAbsent(affinityChannel(cacheId, key), ch -> new ArrayList<>()).add(key);
+
+        return res;
+    }
+
+    /**
+     * Requests affinity mappings of the caches which mappings are absent or stale using the default channel.
+     */
+    private void updateAffinityAsync() {
+        if (!affinityUpdateInProgress.compareAndSet(false, true))
+            return;
+
+        try {
+            ClientChannel ch = channel();
+
+            if (ch.serverVersion().compareTo(ProtocolVersion.V1_4_0) < 0) {
+                affinityUpdateInProgress.set(false);
+
+                return;
+            }
+
+            ch.serviceAsync(
+                ClientOperation.CACHE_PARTITIONS,
+                affinityCtx::writePartitionsUpdateRequest,
+                res -> {
+                    affinityCtx.readPartitionsUpdateResponse(res);
+
+                    return null;
+                }
+            ).listen(f -> affinityUpdateInProgress.set(false));
+        }
+        catch (ClientException e) {
+            // Mappings are requested again by the next key request, until then the default channel is used.
+            affinityUpdateInProgress.set(false);
+        }
+    }
+
+    /**
+     * Notified when a server reports new affinity topology version. Notifies the listeners and connects to the
+     * servers which were not available before, since the topology has changed.
+     *
+     * @param ch Channel.
+     */
+    private void onTopologyChanged(ClientChannel ch) {
+        for (Consumer<AffinityTopologyVersion> lsnr : topChangeLsnrs)
+            lsnr.accept(ch.serverTopologyVersion());
+
+        if (affinityCtx != null && affinityCtx.updateLastTopologyVersion(ch.serverTopologyVersion()))
+            initNodeChannelsAsync();
+    }
+
+    /**
+     * Connects to all servers other than the primary one asynchronously.
+     */
+    private void initNodeChannelsAsync() {
+        if (!nodeChannelsInitInProgress.compareAndSet(false, true))
+            return;
+
+        asyncExecutor.execute(() -> {
+            try {
+                initNodeChannels();
+            }
+            finally {
+                nodeChannelsInitInProgress.set(false);
+            }
+        });
+    }
+
+    /**
+     * Connects to all servers other than the primary one, unavailable servers are skipped.
+     */
+    private void initNodeChannels() {
+        for (InetSocketAddress addr : addrs) {
+            synchronized (this) {
+                if (closed)
+                    return;
+
+                if (addr.equals(primary) || nodeChannels.containsKey(addr))
+                    continue;
+            }
+
+            ClientChannel nodeCh;
+
+            try {
+                nodeCh = createChannel(addr);
+            }
+            catch (ClientException ignored) {
+                // Requests to this server are sent to the default channel.
+                continue;
+            }
+
+            synchronized (this) {
+                if (closed || addr.equals(primary) || nodeChannels.containsKey(addr)) {
+                    U.closeQuiet(nodeCh);
+
+                    continue;
+                }
+
+                nodeChannels.put(addr, nodeCh);
+
+                registerNodeChannel(nodeCh);
+            }
+        }
+    }
+
+    /**
+     * Closes the failed node channel, the server is connected again on the next topology change.
+     *
+     * @param nodeCh Node channel.
+     */
+    private synchronized void onNodeChannelFailure(ClientChannel nodeCh) {
+        if (nodeCh == ch) {
+            changeServer(nodeCh);
+
+            return;
+        }
+
+        nodeChannels.values().remove(nodeCh);
+
+        unregisterNodeChannel(nodeCh);
+
+        U.closeQuiet(nodeCh);
+    }
+
+    /**
+     * @param addr Server address.
+     * @return New channel.
+     */
+    private ClientChannel createChannel(InetSocketAddress addr) {
+        ClientChannel ch = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(addr)).get();
+
+        ch.addTopologyChangeListener(this::onTopologyChanged);
+
+        return ch;
+    }
+
+    /**
+     * @param ch Channel.
+     */
+    private void registerNodeChannel(ClientChannel ch) {
+        if (affinityCtx != null && ch.serverNodeId() != null)
+            nodeChannelsById.put(ch.serverNodeId(), ch);
+    }
+
+    /**
+     * @param ch Channel.
+     */
+    private void unregisterNodeChannel(ClientChannel ch) {
+        if (ch.serverNodeId() != null)
+            nodeChannelsById.remove(ch.serverNodeId(), ch);
+    }
+
     /**
      * @return host:port_range address lines parsed as {@link InetSocketAddress}.
      */
@@ -193,19 +777,52 @@ final class ReliableChannel implements AutoCloseable {
             .collect(Collectors.toList());
     }
 
-    /** */
-    private synchronized ClientChannel channel() {
+    /**
+     * Adds listener notified when a server reports new affinity topology version. The same version may be reported
+     * by several servers.
+     *
+     * @param lsnr Listener.
+     */
+    void addTopologyChangeListener(Consumer<AffinityTopologyVersion> lsnr) {
+        topChangeLsnrs.add(lsnr);
+    }
+
+    /**
+     * Binds requests of the current thread to the channel, so they are sent to the same server and are not retried
+     * on the other servers. Partition awareness is not applied to the bound requests.
+     *
+     * @param ch Channel or {@code null} to unbind.
+     */
+    void bindChannel(@Nullable ClientChannel ch) {
+        if (ch == null)
+            boundCh.remove();
+        else
+            boundCh.set(ch);
+    }
+
+    /**
+     * @return Channel to the primary server, used directly by resources bound to a server connection.
+     */
+    synchronized ClientChannel channel() {
         if (closed)
             throw new ClientException("Channel is closed");
 
         if (ch == null) {
-            try {
-                ch = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(primary)).get();
-            }
-            catch (ClientConnectionException e) {
-                rollAddress();
+            ClientChannel nodeCh = nodeChannels.remove(primary);
 
-                throw e;
+            if (nodeCh != null)
+                ch = nodeCh;
+            else {
+                try {
+                    ch = createChannel(primary);
+                }
+                catch (ClientConnectionException e) {
+                    rollAddress();
+
+                    throw e;
+                }
+
+                registerNodeChannel(ch);
             }
         }
 
@@ -226,6 +843,8 @@ final class ReliableChannel implements AutoCloseable {
         if (oldCh == ch && ch != null) {
             rollAddress();
 
+            unregisterNodeChannel(ch);
+
             U.closeQuiet(ch);
 
             ch = null;
@@ -17,14 +17,23 @@
 package org.apache.ignite.internal.client.thin;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.cache.Cache;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.event.CacheEntryUpdatedListener;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.query.AbstractContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
@@ -33,10 +42,17 @@ import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.SqlQuery;
 import org.apache.ignite.client.ClientCache;
 import org.apache.ignite.client.ClientCacheConfiguration;
+import org.apache.ignite.client.ClientDisconnectListener;
 import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.binary.GridBinaryMarshaller;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.util.future.IgniteFinishedFutureImpl;
+import org.apache.ignite.internal.util.lang.GridClosureException;
+import org.apache.ignite.lang.IgniteFuture;
+import org.jetbrains.annotations.Nullable;
 
 import static java.util.AbstractMap.SimpleEntry;
 
@@ -44,6 +60,12 @@ import static java.util.AbstractMap.SimpleEntry;
  * Implementation of {@link ClientCache} over TCP protocol.
  */
 class TcpClientCache<K, V> implements ClientCache<K, V> {
+    /** "Keep binary" flag mask. */
+    private static final byte KEEP_BINARY_FLAG_MASK = 0x01;
+
+    /** "Transactional" flag mask. */
+    private static final byte TRANSACTIONAL_FLAG_MASK = 0x04;
+
     /** Cache id. */
     private final int cacheId;
 
@@ -59,65 +81,102 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
     /** Serializer/deserializer. */
     private final ClientUtils serDes;
 
+    /** Transactions facade. */
+    private final TcpClientTransactions transactions;
+
+    /** Near cache or {@code null} if not configured. */
+    @Nullable private final ClientNearCache nearCache;
+
     /** Indicates if cache works with Ignite Binary format. */
     private boolean keepBinary = false;
 
     /** Constructor. */
-    TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh) {
+    TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh,
+        TcpClientTransactions transactions, @Nullable ClientNearCache nearCache) {
         this.name = name;
         this.cacheId = ClientUtils.cacheId(name);
         this.ch = ch;
         this.marsh = marsh;
+        this.transactions = transactions;
+        this.nearCache = nearCache;
 
         serDes = new ClientUtils(marsh);
     }
 
     /** {@inheritDoc} */
     @Override public V get(K key) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+        Consumer<PayloadOutputChannel> keyWriter = keyWriter(key);
 
-        return ch.service(
-            ClientOperation.CACHE_GET,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-            },
-            this::readObject
-        );
+        ClientNearCache near = readNearCache();
+
+        if (near == null)
+            return ch.affinityService(cacheId, key, ClientOperation.CACHE_GET, keyWriter, this::readObject);
+
+        V val = near.get(key);
+
+        if (val != null)
+            return val;
+
+        long epoch = near.startLoad();
+
+        val = ch.affinityService(cacheId, key, ClientOperation.CACHE_GET, keyWriter, this::readObject);
+
+        near.onLoaded(key, val, epoch);
+
+        return val;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<V> getAsync(K key) throws ClientException {
+        Consumer<PayloadOutputChannel> keyWriter = keyWriter(key);
+
+        ClientNearCache near = readNearCache();
+
+        if (near == null) {
+            return new ClientFutureImpl<>(ch.affinityServiceAsync(cacheId, key, ClientOperation.CACHE_GET,
+                keyWriter, this::readObject));
+        }
+
+        V val = near.get(key);
+
+        if (val != null)
+            return new IgniteFinishedFutureImpl<>(val);
+
+        long epoch = near.startLoad();
+
+        return new ClientFutureImpl<>(ch.affinityServiceAsync(cacheId, key, ClientOperation.CACHE_GET,
+            keyWriter, res -> {
+                V val0 = readObject(res);
+
+                near.onLoaded(key, val0, epoch);
+
+                return val0;
+            }));
     }
 
     /** {@inheritDoc} */
     @Override public void put(K key, V val) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+        ch.affinityService(cacheId, key, ClientOperation.CACHE_PUT, keyValueWriter(key, val), null);
 
-        if (val == null)
-            throw new NullPointerException("val");
+        invalidateNear(key);
+    }
 
-        ch.request(
-            ClientOperation.CACHE_PUT,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, val);
-            }
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> putAsync(K key, V val) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_PUT, keyValueWriter(key, val), null)));
     }
 
     /** {@inheritDoc} */
     @Override public boolean containsKey(K key) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+        return ch.affinityService(cacheId, key, ClientOperation.CACHE_CONTAINS_KEY, keyWriter(key),
+            TcpClientCache::readBoolean);
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_CONTAINS_KEY,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-            },
-            res -> res.in().readBoolean()
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> containsKeyAsync(K key) throws ClientException {
+        return new ClientFutureImpl<>(ch.affinityServiceAsync(cacheId, key, ClientOperation.CACHE_CONTAINS_KEY,
+            keyWriter(key), TcpClientCache::readBoolean));
     }
 
     /** {@inheritDoc} */
@@ -143,14 +202,13 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
 
     /** {@inheritDoc} */
     @Override public int size(CachePeekMode... peekModes) throws ClientException {
-        return ch.service(
-            ClientOperation.CACHE_GET_SIZE,
-            req -> {
-                writeCacheInfo(req);
-                ClientUtils.collection(peekModes, req.out(), (out, m) -> out.writeByte((byte)m.ordinal()));
-            },
-            res -> (int)res.in().readLong()
-        );
+        return ch.service(ClientOperation.CACHE_GET_SIZE, sizeWriter(peekModes), TcpClientCache::readSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Integer> sizeAsync(CachePeekMode... peekModes) throws ClientException {
+        return new ClientFutureImpl<>(
+            ch.serviceAsync(ClientOperation.CACHE_GET_SIZE, sizeWriter(peekModes), TcpClientCache::readSize));
     }
 
     /** {@inheritDoc} */
@@ -161,17 +219,71 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return new HashMap<>();
 
-        return ch.service(
-            ClientOperation.CACHE_GET_ALL,
-            req -> {
-                writeCacheInfo(req);
-                ClientUtils.collection(keys, req.out(), serDes::writeObject);
-            },
-            res -> ClientUtils.collection(
-                res.in(),
-                in -> new SimpleEntry<K, V>(readObject(in), readObject(in))
-            )
-        ).stream().collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue));
+        ClientNearCache near = readNearCache();
+
+        if (near == null) {
+            return mergeEntries(ch.affinityServiceAll(cacheId, keys, ClientOperation.CACHE_GET_ALL, this::keysWriter,
+                this::readEntries));
+        }
+
+        Map<K, V> res = new HashMap<>();
+        Set<K> missed = nearGetAll(near, keys, res);
+
+        if (missed.isEmpty())
+            return res;
+
+        long epoch = near.startLoad();
+
+        Map<K, V> loaded = mergeEntries(ch.affinityServiceAll(cacheId, missed, ClientOperation.CACHE_GET_ALL,
+            this::keysWriter, this::readEntries));
+
+        for (Map.Entry<K, V> e : loaded.entrySet())
+            near.onLoaded(e.getKey(), e.getValue(), epoch);
+
+        res.putAll(loaded);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Map<K, V>> getAllAsync(Set<? extends K> keys) throws ClientException {
+        if (keys == null)
+            throw new NullPointerException("keys");
+
+        if (keys.isEmpty())
+            return new IgniteFinishedFutureImpl<>(new HashMap<>());
+
+        ClientNearCache near = readNearCache();
+
+        Map<K, V> res = new HashMap<>();
+        Set<? extends K> missed = near == null ? keys : nearGetAll(near, keys, res);
+
+        if (missed.isEmpty())
+            return new IgniteFinishedFutureImpl<>(res);
+
+        long epoch = near == null ? -1 : near.startLoad();
+
+        IgniteInternalFuture<Collection<Map<K, V>>> fut = ch.affinityServiceAllAsync(cacheId, missed,
+            ClientOperation.CACHE_GET_ALL, this::keysWriter, this::readEntries);
+
+        return new ClientFutureImpl<>(fut.chain(f -> {
+            try {
+                Map<K, V> loaded = mergeEntries(f.get());
+
+                if (near == null)
+                    return loaded;
+
+                for (Map.Entry<K, V> e : loaded.entrySet())
+                    near.onLoaded(e.getKey(), e.getValue(), epoch);
+
+                res.putAll(loaded);
+
+                return res;
+            }
+            catch (IgniteCheckedException e) {
+                throw new GridClosureException(e);
+            }
+        }));
     }
 
     /** {@inheritDoc} */
@@ -182,95 +294,84 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (map.isEmpty())
             return;
 
-        ch.request(
-            ClientOperation.CACHE_PUT_ALL,
-            req -> {
-                writeCacheInfo(req);
-                ClientUtils.collection(
-                    map.entrySet(),
-                    req.out(),
-                    (out, e) -> {
-                        serDes.writeObject(out, e.getKey());
-                        serDes.writeObject(out, e.getValue());
-                    });
-            }
-        );
+        ch.affinityServiceAll(cacheId, map.keySet(), ClientOperation.CACHE_PUT_ALL, keys -> entriesWriter(map, keys),
+            null);
+
+        invalidateNearAll(map.keySet());
     }
 
     /** {@inheritDoc} */
-    @Override public boolean replace(K key, V oldVal, V newVal) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+    @Override public IgniteFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) throws ClientException {
+        if (map == null)
+            throw new NullPointerException("map");
 
-        if (oldVal == null)
-            throw new NullPointerException("oldVal");
+        if (map.isEmpty())
+            return new IgniteFinishedFutureImpl<>();
 
-        if (newVal == null)
-            throw new NullPointerException("newVal");
+        IgniteInternalFuture<Collection<Void>> fut = ch.affinityServiceAllAsync(cacheId, map.keySet(),
+            ClientOperation.CACHE_PUT_ALL, keys -> entriesWriter(map, keys), null);
 
-        return ch.service(
-            ClientOperation.CACHE_REPLACE_IF_EQUALS,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, oldVal);
-                writeObject(req, newVal);
-            },
-            res -> res.in().readBoolean()
-        );
+        return new ClientFutureImpl<>(fut.chain(f -> {
+            invalidateNearAll(map.keySet());
+
+            try {
+                f.get();
+
+                return null;
+            }
+            catch (IgniteCheckedException e) {
+                throw new GridClosureException(e);
+            }
+        }));
     }
 
     /** {@inheritDoc} */
-    @Override public boolean replace(K key, V val) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+    @Override public boolean replace(K key, V oldVal, V newVal) throws ClientException {
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_REPLACE_IF_EQUALS,
+            replaceIfEqualsWriter(key, oldVal, newVal), TcpClientCache::readBoolean));
+    }
 
-        if (val == null)
-            throw new NullPointerException("val");
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> replaceAsync(K key, V oldVal, V newVal) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_REPLACE_IF_EQUALS, replaceIfEqualsWriter(key, oldVal, newVal),
+            TcpClientCache::readBoolean)));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_REPLACE,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, val);
-            },
-            res -> res.in().readBoolean()
-        );
+    /** {@inheritDoc} */
+    @Override public boolean replace(K key, V val) throws ClientException {
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_REPLACE,
+            keyValueWriter(key, val), TcpClientCache::readBoolean));
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> replaceAsync(K key, V val) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_REPLACE, keyValueWriter(key, val), TcpClientCache::readBoolean)));
     }
 
     /** {@inheritDoc} */
     @Override public boolean remove(K key) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_REMOVE_KEY,
+            keyWriter(key), TcpClientCache::readBoolean));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_REMOVE_KEY,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-            },
-            res -> res.in().readBoolean()
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> removeAsync(K key) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_REMOVE_KEY, keyWriter(key), TcpClientCache::readBoolean)));
     }
 
     /** {@inheritDoc} */
     @Override public boolean remove(K key, V oldVal) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
-
-        if (oldVal == null)
-            throw new NullPointerException("oldVal");
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_REMOVE_IF_EQUALS,
+            removeIfEqualsWriter(key, oldVal), TcpClientCache::readBoolean));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_REMOVE_IF_EQUALS,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, oldVal);
-            },
-            res -> res.in().readBoolean()
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> removeAsync(K key, V oldVal) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_REMOVE_IF_EQUALS, removeIfEqualsWriter(key, oldVal), TcpClientCache::readBoolean)));
     }
 
     /** {@inheritDoc} */
@@ -281,95 +382,107 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return;
 
-        ch.request(
-            ClientOperation.CACHE_REMOVE_KEYS,
-            req -> {
-                writeCacheInfo(req);
-                ClientUtils.collection(keys, req.out(), serDes::writeObject);
-            }
-        );
+        ch.request(ClientOperation.CACHE_REMOVE_KEYS, keysWriter(keys));
+
+        invalidateNearAll(keys);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> removeAllAsync(Set<? extends K> keys) throws ClientException {
+        if (keys == null)
+            throw new NullPointerException("keys");
+
+        if (keys.isEmpty())
+            return new IgniteFinishedFutureImpl<>();
+
+        IgniteInternalFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_REMOVE_KEYS, keysWriter(keys));
+
+        if (nearCache != null)
+            fut.listen(f -> nearCache.invalidateAll(keys));
+
+        return new ClientFutureImpl<>(fut);
     }
 
     /** {@inheritDoc} */
     @Override public void removeAll() throws ClientException {
         ch.request(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+
+        clearNear();
     }
 
     /** {@inheritDoc} */
-    @Override public V getAndPut(K key, V val) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+    @Override public IgniteFuture<Void> removeAllAsync() throws ClientException {
+        IgniteInternalFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
 
-        if (val == null)
-            throw new NullPointerException("val");
+        if (nearCache != null)
+            fut.listen(f -> nearCache.clear());
 
-        return ch.service(
-            ClientOperation.CACHE_GET_AND_PUT,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, val);
-            },
-            this::readObject
-        );
+        return new ClientFutureImpl<>(fut);
+    }
+
+    /** {@inheritDoc} */
+    @Override public V getAndPut(K key, V val) throws ClientException {
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_GET_AND_PUT,
+            keyValueWriter(key, val), this::readObject));
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<V> getAndPutAsync(K key, V val) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_GET_AND_PUT, keyValueWriter(key, val), this::readObject)));
     }
 
     /** {@inheritDoc} */
     @Override public V getAndRemove(K key) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_GET_AND_REMOVE,
+            keyWriter(key), this::readObject));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_GET_AND_REMOVE,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-            },
-            this::readObject
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<V> getAndRemoveAsync(K key) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_GET_AND_REMOVE, keyWriter(key), this::readObject)));
     }
 
     /** {@inheritDoc} */
     @Override public V getAndReplace(K key, V val) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
-
-        if (val == null)
-            throw new NullPointerException("val");
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_GET_AND_REPLACE,
+            keyValueWriter(key, val), this::readObject));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_GET_AND_REPLACE,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, val);
-            },
-            this::readObject
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<V> getAndReplaceAsync(K key, V val) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_GET_AND_REPLACE, keyValueWriter(key, val), this::readObject)));
     }
 
     /** {@inheritDoc} */
     @Override public boolean putIfAbsent(K key, V val) throws ClientException {
-        if (key == null)
-            throw new NullPointerException("key");
-
-        if (val == null)
-            throw new NullPointerException("val");
+        return invalidateNear(key, ch.affinityService(cacheId, key, ClientOperation.CACHE_PUT_IF_ABSENT,
+            keyValueWriter(key, val), TcpClientCache::readBoolean));
+    }
 
-        return ch.service(
-            ClientOperation.CACHE_PUT_IF_ABSENT,
-            req -> {
-                writeCacheInfo(req);
-                writeObject(req, key);
-                writeObject(req, val);
-            },
-            res -> res.in().readBoolean()
-        );
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Boolean> putIfAbsentAsync(K key, V val) throws ClientException {
+        return new ClientFutureImpl<>(invalidateNearAsync(key, ch.affinityServiceAsync(cacheId, key,
+            ClientOperation.CACHE_PUT_IF_ABSENT, keyValueWriter(key, val), TcpClientCache::readBoolean)));
     }
 
     /** {@inheritDoc} */
     @Override public void clear() throws ClientException {
         ch.request(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+
+        clearNear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> clearAsync() throws ClientException {
+        IgniteInternalFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+
+        if (nearCache != null)
+            fut.listen(f -> nearCache.clear());
+
+        return new ClientFutureImpl<>(fut);
     }
 
     /** {@inheritDoc} */
@@ -388,7 +501,7 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
             }
         }
         else {
-            binCache = new TcpClientCache<>(name, ch, marsh);
+            binCache = new TcpClientCache<>(name, ch, marsh, transactions, nearCache);
 
             binCache.keepBinary = true;
         }
@@ -410,6 +523,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
             res = (QueryCursor<R>)sqlQuery((SqlQuery)qry);
         else if (qry instanceof SqlFieldsQuery)
             res = (QueryCursor<R>)query((SqlFieldsQuery)qry);
+        else if (qry instanceof AbstractContinuousQuery)
+            res = (QueryCursor<R>)query((AbstractContinuousQuery<K, V>)qry, null);
         else
             throw new IllegalArgumentException(
                 String.format("Query of type [%s] is not supported", qry.getClass().getSimpleName())
@@ -418,6 +533,11 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         return res;
     }
 
+    /** {@inheritDoc} */
+    @Override public ClientNearCacheMetrics nearCacheMetrics() {
+        return nearCache;
+    }
+
     /** {@inheritDoc} */
     @Override public FieldsQueryCursor<List<?>> query(SqlFieldsQuery qry) {
         if (qry == null)
@@ -438,6 +558,101 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         ));
     }
 
+    /** {@inheritDoc} */
+    @Override public QueryCursor<Cache.Entry<K, V>> query(AbstractContinuousQuery<K, V> qry,
+        ClientDisconnectListener disconnectLsnr) {
+        if (qry == null)
+            throw new NullPointerException("qry");
+
+        if (qry.getInitialQuery() != null)
+            throw new IllegalArgumentException("Initial query is not supported by thin client continuous queries");
+
+        CacheEntryUpdatedListener<K, V> lsnr = null;
+        ContinuousQueryWithTransformer.EventListener<Object> transformedLsnr = null;
+        Factory<?> transformerFactory = null;
+        Factory<?> filterFactory = qry.getRemoteFilterFactory();
+
+        if (qry instanceof ContinuousQuery) {
+            ContinuousQuery<K, V> qry0 = (ContinuousQuery<K, V>)qry;
+
+            lsnr = qry0.getLocalListener();
+
+            if (filterFactory == null && qry0.getRemoteFilter() != null)
+                filterFactory = FactoryBuilder.factoryOf(qry0.getRemoteFilter());
+        }
+        else if (qry instanceof ContinuousQueryWithTransformer) {
+            ContinuousQueryWithTransformer<K, V, Object> qry0 = (ContinuousQueryWithTransformer<K, V, Object>)qry;
+
+            transformedLsnr = qry0.getLocalListener();
+            transformerFactory = qry0.getRemoteTransformerFactory();
+
+            if (transformerFactory == null)
+                throw new IllegalArgumentException("Remote transformer factory is not set");
+        }
+        else {
+            throw new IllegalArgumentException(
+                String.format("Query of type [%s] is not supported", qry.getClass().getSimpleName())
+            );
+        }
+
+        if (lsnr == null && transformedLsnr == null)
+            throw new IllegalArgumentException("Local listener is not set");
+
+        ClientChannel ch0 = ch.channel();
+
+        if (ch0.serverVersion().compareTo(ProtocolVersion.V1_7_0) < 0) {
+            throw new ClientException("Continuous queries are not supported by the server [ver=" +
+                ch0.serverVersion() + ']');
+        }
+
+        Factory<?> filterFactory0 = filterFactory;
+        Factory<?> transformerFactory0 = transformerFactory;
+
+        Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
+            writeCacheInfo(payloadCh);
+
+            BinaryOutputStream out = payloadCh.out();
+
+            out.writeInt(qry.getPageSize());
+            out.writeLong(qry.getTimeInterval());
+            out.writeBoolean(qry.isIncludeExpired());
+
+            writeFactory(out, filterFactory0);
+            writeFactory(out, transformerFactory0);
+        };
+
+        long rsrcId;
+
+        try {
+            rsrcId = ch0.service(ClientOperation.QUERY_CONTINUOUS, qryWriter, res -> res.in().readLong());
+        }
+        catch (ClientError e) {
+            throw new ClientException(e.getMessage(), e);
+        }
+
+        ClientContinuousQueryCursor<K, V> cur = new ClientContinuousQueryCursor<>(ch0, rsrcId, lsnr,
+            transformedLsnr, disconnectLsnr, this, serDes, keepBinary);
+
+        ch0.addNotificationListener(rsrcId, cur);
+
+        return cur;
+    }
+
+    /**
+     * Writes remote filter or transformer factory.
+     *
+     * @param out Output stream.
+     * @param factory Factory.
+     */
+    private void writeFactory(BinaryOutputStream out, Factory<?> factory) {
+        if (factory == null)
+            out.writeByte(GridBinaryMarshaller.NULL);
+        else {
+            serDes.writeObject(out, factory);
+            out.writeByte((byte)1); // Java platform
+        }
+    }
+
     /** Handle scan query. */
     private QueryCursor<Cache.Entry<K, V>> scanQuery(ScanQuery<K, V> qry) {
         Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
@@ -494,12 +709,266 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         ));
     }
 
-    /** Write cache ID and flags. */
+    /**
+     * @return Near cache to serve the reads or {@code null} if the reads must be sent to the server: near cache is
+     * not configured, binary mode is enabled or the current thread has an active transaction.
+     */
+    @Nullable private ClientNearCache readNearCache() {
+        return nearCache == null || keepBinary || transactions.tx() != null ? null : nearCache;
+    }
+
+    /**
+     * Gets the values of the keys from the near cache.
+     *
+     * @param near Near cache.
+     * @param keys Keys.
+     * @param res Map to put the found values to.
+     * @return Keys which are not found in the near cache.
+     */
+    private Set<K> nearGetAll(ClientNearCache near, Set<? extends K> keys, Map<K, V> res) {
+        Set<K> missed = new HashSet<>();
+
+        for (K key : keys) {
+            V val = near.get(key);
+
+            if (val != null)
+                res.put(key, val);
+            else
+                missed.add(key);
+        }
+
+        return missed;
+    }
+
+    /**
+     * Drops the key updated by this client from the near cache.
+     *
+     * @param key Key.
+     */
+    private void invalidateNear(K key) {
+        if (nearCache != null)
+            nearCache.invalidate(key);
+    }
+
+    /**
+     * Drops the key updated by this client from the near cache.
+     *
+     * @param key Key.
+     * @param res Update result.
+     * @return Update result.
+     */
+    private <T> T invalidateNear(K key, T res) {
+        invalidateNear(key);
+
+        return res;
+    }
+
+    /**
+     * Drops the key from the near cache when the update is done.
+     *
+     * @param key Key.
+     * @param fut Update future.
+     * @return Update future.
+     */
+    private <T> IgniteInternalFuture<T> invalidateNearAsync(K key, IgniteInternalFuture<T> fut) {
+        if (nearCache != null)
+            fut.listen(f -> nearCache.invalidate(key));
+
+        return fut;
+    }
+
+    /**
+     * Drops the keys updated by this client from the near cache.
+     *
+     * @param keys Keys.
+     */
+    private void invalidateNearAll(Collection<? extends K> keys) {
+        if (nearCache != null)
+            nearCache.invalidateAll(keys);
+    }
+
+    /**
+     * Drops all entries from the near cache after this client cleared the cache.
+     */
+    private void clearNear() {
+        if (nearCache != null)
+            nearCache.clear();
+    }
+
+    /**
+     * @param key Key.
+     * @return Writer of the request with the key.
+     */
+    private Consumer<PayloadOutputChannel> keyWriter(K key) {
+        if (key == null)
+            throw new NullPointerException("key");
+
+        return req -> {
+            writeCacheInfo(req);
+            writeObject(req, key);
+        };
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value.
+     * @return Writer of the request with the key and the value.
+     */
+    private Consumer<PayloadOutputChannel> keyValueWriter(K key, V val) {
+        if (key == null)
+            throw new NullPointerException("key");
+
+        if (val == null)
+            throw new NullPointerException("val");
+
+        return req -> {
+            writeCacheInfo(req);
+            writeObject(req, key);
+            writeObject(req, val);
+        };
+    }
+
+    /**
+     * @param key Key.
+     * @param oldVal Expected value.
+     * @param newVal New value.
+     * @return Writer of the replace request.
+     */
+    private Consumer<PayloadOutputChannel> replaceIfEqualsWriter(K key, V oldVal, V newVal) {
+        if (key == null)
+            throw new NullPointerException("key");
+
+        if (oldVal == null)
+            throw new NullPointerException("oldVal");
+
+        if (newVal == null)
+            throw new NullPointerException("newVal");
+
+        return req -> {
+            writeCacheInfo(req);
+            writeObject(req, key);
+            writeObject(req, oldVal);
+            writeObject(req, newVal);
+        };
+    }
+
+    /**
+     * @param key Key.
+     * @param oldVal Expected value.
+     * @return Writer of the remove request.
+     */
+    private Consumer<PayloadOutputChannel> removeIfEqualsWriter(K key, V oldVal) {
+        if (key == null)
+            throw new NullPointerException("key");
+
+        if (oldVal == null)
+            throw new NullPointerException("oldVal");
+
+        return req -> {
+            writeCacheInfo(req);
+            writeObject(req, key);
+            writeObject(req, oldVal);
+        };
+    }
+
+    /**
+     * @param keys Keys.
+     * @return Writer of the request with the keys.
+     */
+    private Consumer<PayloadOutputChannel> keysWriter(Collection<? extends K> keys) {
+        return req -> {
+            writeCacheInfo(req);
+            ClientUtils.collection(keys, req.out(), serDes::writeObject);
+        };
+    }
+
+    /**
+     * @param map Entries.
+     * @param keys Keys of the entries to write.
+     * @return Writer of the request with the entries.
+     */
+    private Consumer<PayloadOutputChannel> entriesWriter(Map<? extends K, ? extends V> map,
+        Collection<? extends K> keys) {
+        return req -> {
+            writeCacheInfo(req);
+            ClientUtils.collection(
+                keys,
+                req.out(),
+                (out, key) -> {
+                    serDes.writeObject(out, key);
+                    serDes.writeObject(out, map.get(key));
+                });
+        };
+    }
+
+    /**
+     * @param peekModes Peek modes.
+     * @return Writer of the size request.
+     */
+    private Consumer<PayloadOutputChannel> sizeWriter(CachePeekMode... peekModes) {
+        return req -> {
+            writeCacheInfo(req);
+            ClientUtils.collection(peekModes, req.out(), (out, m) -> out.writeByte((byte)m.ordinal()));
+        };
+    }
+
+    /**
+     * @param parts Entries received from several nodes.
+     * @return All entries.
+     */
+    private static <K, V> Map<K, V> mergeEntries(Collection<Map<K, V>> parts) {
+        if (parts.size() == 1)
+            return parts.iterator().next();
+
+        Map<K, V> res = new HashMap<>();
+
+        for (Map<K, V> part : parts)
+            res.putAll(part);
+
+        return res;
+    }
+
+    /** */
+    private Map<K, V> readEntries(PayloadInputChannel res) {
+        return ClientUtils.collection(
+            res.in(),
+            in -> new SimpleEntry<K, V>(readObject(in), readObject(in))
+        ).stream().collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue));
+    }
+
+    /** */
+    private static boolean readBoolean(PayloadInputChannel res) {
+        return res.in().readBoolean();
+    }
+
+    /** */
+    private static int readSize(PayloadInputChannel res) {
+        return (int)res.in().readLong();
+    }
+
+    /** Write cache ID, flags and ID of the transaction started by the current thread. */
     private void writeCacheInfo(PayloadOutputChannel payloadCh) {
         BinaryOutputStream out = payloadCh.out();
 
         out.writeInt(cacheId);
-        out.writeByte((byte)(keepBinary ? 1 : 0));
+
+        byte flags = keepBinary ? KEEP_BINARY_FLAG_MASK : 0;
+
+        TcpClientTransactions.TcpClientTransaction tx = transactions.tx();
+
+        if (tx != null) {
+            // Operation must not silently escape the transaction, if it is sent over another channel.
+            if (tx.clientChannel() != payloadCh.clientChannel()) {
+                throw new ClientException("Transaction context has been lost, the operation is sent over another " +
+                    "connection than the transaction is started on. Cache operations are prohibited until the " +
+                    "current transaction is closed.");
+            }
+
+            out.writeByte((byte)(flags | TRANSACTIONAL_FLAG_MASK));
+            out.writeInt(tx.txId());
+        }
+        else
+            out.writeByte(flags);
     }
 
     /** */
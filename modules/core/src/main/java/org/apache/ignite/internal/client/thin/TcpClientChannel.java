@@ -25,6 +25,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -32,10 +33,17 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -54,6 +62,7 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.client.ClientAuthenticationException;
 import org.apache.ignite.client.ClientAuthorizationException;
 import org.apache.ignite.client.ClientConnectionException;
@@ -61,7 +70,8 @@ import org.apache.ignite.client.ClientException;
 import org.apache.ignite.client.SslMode;
 import org.apache.ignite.client.SslProtocol;
 import org.apache.ignite.configuration.ClientConfiguration;
-import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.binary.BinaryPrimitives;
 import org.apache.ignite.internal.binary.BinaryRawWriterEx;
 import org.apache.ignite.internal.binary.BinaryReaderExImpl;
 import org.apache.ignite.internal.binary.BinaryWriterExImpl;
@@ -69,14 +79,26 @@ import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryHeapOutputStream;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.platform.client.ClientFlag;
 import org.apache.ignite.internal.processors.platform.client.ClientStatus;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.io.GridUnsafeDataInput;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.logger.NullLogger;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_0_0;
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_1_0;
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_2_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_3_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_4_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_5_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_6_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_7_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_8_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_9_0;
 import static org.apache.ignite.ssl.SslContextFactory.DFLT_KEY_ALGORITHM;
 import static org.apache.ignite.ssl.SslContextFactory.DFLT_STORE_TYPE;
 
@@ -84,18 +106,34 @@ import static org.apache.ignite.ssl.SslContextFactory.DFLT_STORE_TYPE;
  * Implements {@link ClientChannel} over TCP.
  */
 class TcpClientChannel implements ClientChannel {
+    /** Max notifications of one resource received and not delivered to the listener yet. */
+    static final int MAX_PENDING_NOTIFICATIONS = 1024;
+
     /** Supported protocol versions. */
     private static final Collection<ProtocolVersion> supportedVers = Arrays.asList(
+        V1_9_0,
+        V1_8_0,
+        V1_7_0,
+        V1_6_0,
+        V1_5_0,
+        V1_4_0,
+        V1_3_0,
         V1_2_0,
         V1_1_0,
         V1_0_0
     );
 
-    /** Timeout before next attempt to lock channel and process next response by current thread. */
-    private static final long PAYLOAD_WAIT_TIMEOUT = 10L;
-
     /** Protocol version agreed with the server. */
-    private ProtocolVersion ver = V1_2_0;
+    private ProtocolVersion ver = V1_9_0;
+
+    /** Server node ID, {@code null} if server does not report it. */
+    private UUID srvNodeId;
+
+    /** Last affinity topology version reported by the server. */
+    private volatile AffinityTopologyVersion srvTopVer;
+
+    /** Topology change listeners. */
+    private final Collection<Consumer<ClientChannel>> topChangeLsnrs = new CopyOnWriteArrayList<>();
 
     /** Channel. */
     private final Socket sock;
@@ -118,16 +156,35 @@ class TcpClientChannel implements ClientChannel {
     /** Send lock. */
     private final Lock sndLock = new ReentrantLock();
 
-    /** Receive lock. */
-    private final Lock rcvLock = new ReentrantLock();
-
     /** Pending requests. */
     private final Map<Long, ClientRequestFuture> pendingReqs = new ConcurrentHashMap<>();
 
+    /** Server notification queues by resource ID. */
+    private final Map<Long, NotificationQueue> notificationQueues = new ConcurrentHashMap<>();
+
+    /** Executor for async operations continuations. */
+    private final Executor asyncContinuationExecutor;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Channel is closed. */
+    private volatile boolean closed;
+
+    /** Socket timeout. */
+    private final int timeout;
+
     /** Constructor. */
     TcpClientChannel(ClientChannelConfiguration cfg) throws ClientConnectionException, ClientAuthenticationException {
         validateConfiguration(cfg);
 
+        asyncContinuationExecutor = cfg.getAsyncContinuationExecutor() == null ?
+            ForkJoinPool.commonPool() : cfg.getAsyncContinuationExecutor();
+
+        log = cfg.getLogger() == null ? new NullLogger() : cfg.getLogger();
+
+        timeout = cfg.getTimeout();
+
         try {
             sock = createSocket(cfg);
 
@@ -142,41 +199,83 @@ class TcpClientChannel implements ClientChannel {
             throw handleIOError("addr=" + cfg.getAddress(), e);
         }
 
-        handshake(cfg.getUserName(), cfg.getUserPassword());
+        try {
+            handshake(cfg.getUserName(), cfg.getUserPassword());
+        }
+        catch (ClientException e) {
+            U.closeQuiet(sock);
+
+            throw e;
+        }
+
+        Thread rcvThread = new Thread(this::receiveResponses, "thin-client-channel-receiver-" + cfg.getAddress());
+
+        rcvThread.setDaemon(true);
+
+        rcvThread.start();
     }
 
     /** {@inheritDoc} */
     @Override public void close() throws Exception {
+        closed = true;
+
         in.close();
         out.close();
         sock.close();
 
-        for (ClientRequestFuture pendingReq : pendingReqs.values())
-            pendingReq.onDone(new ClientConnectionException("Channel is closed"));
+        onClosed(new ClientConnectionException("Channel is closed"));
     }
 
     /** {@inheritDoc} */
     @Override public <T> T service(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter,
         Function<PayloadInputChannel, T> payloadReader) throws ClientConnectionException, ClientAuthorizationException {
-        long id = send(op, payloadWriter);
+        ClientRequestFuture pendingReq = send(op, payloadWriter);
+
+        return receive(pendingReq, payloadReader);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> IgniteInternalFuture<T> serviceAsync(ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter, Function<PayloadInputChannel, T> payloadReader)
+        throws ClientConnectionException {
+        ClientRequestFuture pendingReq = send(op, payloadWriter);
+
+        GridFutureAdapter<T> fut = new GridFutureAdapter<>();
 
-        return receive(id, payloadReader);
+        // Response is read by the receiver thread, payload is deserialized and user listeners are notified by
+        // the continuation executor, so that the receiver thread proceeds to the next response immediately.
+        pendingReq.listen(f -> asyncContinuationExecutor.execute(() -> {
+            try {
+                fut.onDone(receive(pendingReq, payloadReader));
+            }
+            catch (Throwable e) {
+                fut.onDone(e);
+            }
+        }));
+
+        return fut;
     }
 
     /**
      * @param op Operation.
      * @param payloadWriter Payload writer to stream or {@code null} if request has no payload.
-     * @return Request ID.
+     * @return Pending request future.
      */
-    private long send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
+    private ClientRequestFuture send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
         throws ClientConnectionException {
         long id = reqId.getAndIncrement();
 
+        ClientRequestFuture pendingReq = new ClientRequestFuture(op);
+
         // Only one thread at a time can have access to write to the channel.
         sndLock.lock();
 
         try (PayloadOutputChannel payloadCh = new PayloadOutputChannel(this)) {
-            pendingReqs.put(id, new ClientRequestFuture());
+            pendingReqs.put(id, pendingReq);
+
+            // Receiver thread fails requests registered before it stopped, check that this one is not missed.
+            if (closed)
+                throw new ClientConnectionException("Channel is closed");
 
             BinaryOutputStream req = payloadCh.out();
 
@@ -200,48 +299,23 @@ class TcpClientChannel implements ClientChannel {
             sndLock.unlock();
         }
 
-        return id;
+        return pendingReq;
     }
 
     /**
-     * @param reqId ID of the request to receive the response for.
+     * @param pendingReq Pending request future.
      * @param payloadReader Payload reader from stream.
      * @return Received operation payload or {@code null} if response has no payload.
      */
-    private <T> T receive(long reqId, Function<PayloadInputChannel, T> payloadReader)
+    private <T> T receive(ClientRequestFuture pendingReq, Function<PayloadInputChannel, T> payloadReader)
         throws ClientConnectionException, ClientAuthorizationException {
-        ClientRequestFuture pendingReq = pendingReqs.get(reqId);
-
-        assert pendingReq != null : "Pending request future not found for request " + reqId;
-
-        // Each thread creates a future on request sent and returns a response when this future is completed.
-        // Only one thread at a time can have access to read from the channel. This thread reads the next available
-        // response and complete corresponding future. All other concurrent threads wait for their own futures with
-        // a timeout and periodically try to lock the channel to process the next response.
         try {
-            while (true) {
-                if (rcvLock.tryLock()) {
-                    try {
-                        if (!pendingReq.isDone())
-                            processNextResponse();
-                    }
-                    finally {
-                        rcvLock.unlock();
-                    }
-                }
-
-                try {
-                    byte[] payload = pendingReq.get(PAYLOAD_WAIT_TIMEOUT);
+            byte[] payload = pendingReq.get();
 
-                    if (payload == null || payloadReader == null)
-                        return null;
+            if (payload == null || payloadReader == null)
+                return null;
 
-                    return payloadReader.apply(new PayloadInputChannel(this, payload));
-                }
-                catch (IgniteFutureTimeoutCheckedException ignore) {
-                    // Next cycle if timed out.
-                }
-            }
+            return payloadReader.apply(new PayloadInputChannel(this, payload));
         }
         catch (IgniteCheckedException e) {
             if (e.getCause() instanceof ClientError)
@@ -252,16 +326,74 @@ class TcpClientChannel implements ClientChannel {
 
             throw new ClientException(e.getMessage(), e);
         }
-        finally {
-            pendingReqs.remove(reqId);
+    }
+
+    /**
+     * Receives responses and completes corresponding futures until the channel is closed. Requests are pipelined:
+     * any number of threads may send requests without waiting for responses to the previous ones.
+     */
+    private void receiveResponses() {
+        try {
+            while (!closed) {
+                try {
+                    processNextResponse();
+                }
+                catch (SocketTimeoutException e) {
+                    // Timed out before the first byte of the next response, so the stream is consistent. It is only
+                    // an error if there are requests waiting for the response longer than the timeout.
+                    if (hasTimedOutRequests())
+                        throw handleIOError(e);
+                }
+            }
         }
+        catch (Throwable e) {
+            closed = true;
+
+            U.closeQuiet(sock);
+
+            onClosed(e instanceof ClientException ? (ClientException)e :
+                new ClientConnectionException("Failed to receive response [sock=" + sock + ']', e));
+        }
+    }
+
+    /**
+     * @return {@code True} if there are requests waiting for the response longer than the socket timeout.
+     */
+    private boolean hasTimedOutRequests() {
+        long now = U.currentTimeMillis();
+
+        for (ClientRequestFuture pendingReq : pendingReqs.values()) {
+            if (now - pendingReq.startTime >= timeout)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Fails all pending requests and notifies listeners of the server notifications.
+     *
+     * @param err Error.
+     */
+    private void onClosed(ClientException err) {
+        for (Iterator<ClientRequestFuture> it = pendingReqs.values().iterator(); it.hasNext(); ) {
+            ClientRequestFuture pendingReq = it.next();
+
+            it.remove();
+
+            pendingReq.onDone(err);
+        }
+
+        for (NotificationQueue queue : notificationQueues.values())
+            queue.onChannelClosed(err);
     }
 
     /**
      * Process next response from the input stream and complete corresponding future.
      */
-    private void processNextResponse() throws ClientProtocolError, ClientConnectionException {
-        int resSize = readInt();
+    private void processNextResponse()
+        throws ClientProtocolError, ClientConnectionException, SocketTimeoutException {
+        int resSize = readResponseSize();
 
         if (resSize <= 0)
             throw new ClientProtocolError(String.format("Invalid response size: %s", resSize));
@@ -270,24 +402,89 @@ class TcpClientChannel implements ClientChannel {
 
         long resId = readLong();
 
-        ClientRequestFuture pendingReq = pendingReqs.get(resId);
+        int status = 0;
+
+        BinaryInputStream resIn;
 
-        if (pendingReq == null)
-            throw new ClientProtocolError(String.format("Unexpected response ID [%s]", resId));
+        ClientRequestFuture pendingReq;
 
-        int status;
+        if (ver.compareTo(V1_4_0) >= 0) {
+            short flags = readShort();
 
-        BinaryInputStream resIn;
+            if ((flags & ClientFlag.NOTIFICATION) != 0) {
+                readShort(); // Operation code.
+
+                if ((flags & ClientFlag.ERROR) != 0)
+                    status = readInt();
+
+                int hdrSize = (int)(totalBytesRead - bytesReadOnStartReq);
+
+                byte[] payload = read(resSize - hdrSize);
+
+                // Response ID is the ID of the resource the notification is sent for. Notifications of the resources
+                // that are already closed are dropped.
+                NotificationQueue queue = notificationQueues.get(resId);
+
+                if (queue == null)
+                    return;
 
-        status = readInt();
+                if (status == 0)
+                    queue.offer(payload, null);
+                else {
+                    String err = new BinaryReaderExImpl(null, new BinaryHeapInputStream(payload), null, true)
+                        .readString();
+
+                    queue.offer(null, new ClientServerError(err, status, resId));
+                }
+
+                return;
+            }
+
+            pendingReq = pendingReqs.remove(resId);
+
+            if (pendingReq == null)
+                throw new ClientProtocolError(String.format("Unexpected response ID [%s]", resId));
+
+            if ((flags & ClientFlag.AFFINITY_TOPOLOGY_CHANGED) != 0) {
+                long topVer = readLong();
+                int minorTopVer = readInt();
+
+                srvTopVer = new AffinityTopologyVersion(topVer, minorTopVer);
+
+                for (Consumer<ClientChannel> lsnr : topChangeLsnrs)
+                    lsnr.accept(this);
+            }
+
+            if ((flags & ClientFlag.ERROR) != 0)
+                status = readInt();
+        }
+        else {
+            pendingReq = pendingReqs.remove(resId);
+
+            if (pendingReq == null)
+                throw new ClientProtocolError(String.format("Unexpected response ID [%s]", resId));
+
+            status = readInt();
+        }
 
         int hdrSize = (int)(totalBytesRead - bytesReadOnStartReq);
 
         if (status == 0) {
             if (resSize <= hdrSize)
                 pendingReq.onDone();
-            else
-                pendingReq.onDone(read(resSize - hdrSize));
+            else {
+                byte[] payload = read(resSize - hdrSize);
+
+                // Queue is registered before the next response is read, so that no notification of the resource is
+                // missed before the listener is added.
+                if (pendingReq.op.notificationResource()) {
+                    long rsrcId = BinaryPrimitives.readLong(payload, 0);
+
+                    notificationQueues.put(rsrcId, new NotificationQueue(rsrcId));
+                }
+
+                pendingReq.onDone(payload);
+            }
         }
         else {
             resIn = new BinaryHeapInputStream(read(resSize - hdrSize));
@@ -308,6 +505,41 @@ class TcpClientChannel implements ClientChannel {
         return ver;
     }
 
+    /** {@inheritDoc} */
+    @Override public UUID serverNodeId() {
+        return srvNodeId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public AffinityTopologyVersion serverTopologyVersion() {
+        return srvTopVer;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addTopologyChangeListener(Consumer<ClientChannel> lsnr) {
+        topChangeLsnrs.add(lsnr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addNotificationListener(long rsrcId, NotificationListener lsnr) {
+        // Queue is registered when the resource is started, it is absent if the listener is already removed.
+        NotificationQueue queue = notificationQueues.get(rsrcId);
+
+        if (queue == null)
+            return;
+
+        queue.listen(lsnr);
+
+        // Channel could be closed before the queue is registered.
+        if (closed)
+            queue.onChannelClosed(new ClientConnectionException("Channel is closed"));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeNotificationListener(long rsrcId) {
+        notificationQueues.remove(rsrcId);
+    }
+
     /** Validate {@link ClientConfiguration}. */
     private static void validateConfiguration(ClientChannelConfiguration cfg) {
         String error = null;
@@ -392,7 +624,11 @@ class TcpClientChannel implements ClientChannel {
 
         BinaryInputStream res = new BinaryHeapInputStream(read(resSize));
 
-        if (!res.readBoolean()) { // success flag
+        if (res.readBoolean()) { // success flag
+            if (ver.compareTo(V1_4_0) >= 0)
+                srvNodeId = new BinaryReaderExImpl(null, res, null, true).readUuid();
+        }
+        else {
             ProtocolVersion srvVer = new ProtocolVersion(res.readShort(), res.readShort(), res.readShort());
 
             try (BinaryReaderExImpl r = new BinaryReaderExImpl(null, res, null, true)) {
@@ -454,6 +690,43 @@ class TcpClientChannel implements ClientChannel {
         return bytes;
     }
 
+    /**
+     * Reads size of the next response from the input stream.
+     *
+     * @return Response size.
+     * @throws SocketTimeoutException If timed out before any byte of the response is read.
+     */
+    private int readResponseSize() throws SocketTimeoutException {
+        byte[] bytes = new byte[Integer.BYTES];
+        int bytesNum;
+        int readBytesNum = 0;
+
+        while (readBytesNum < bytes.length) {
+            try {
+                bytesNum = in.read(bytes, readBytesNum, bytes.length - readBytesNum);
+            }
+            catch (SocketTimeoutException e) {
+                // Stream is broken if the response is partially read.
+                if (readBytesNum == 0)
+                    throw e;
+
+                throw handleIOError(e);
+            }
+            catch (IOException e) {
+                throw handleIOError(e);
+            }
+
+            if (bytesNum < 0)
+                throw handleIOError(null);
+
+            readBytesNum += bytesNum;
+        }
+
+        totalBytesRead += readBytesNum;
+
+        return BinaryPrimitives.readInt(bytes, 0);
+    }
+
     /**
      * Read long value from input stream.
      */
@@ -532,6 +805,176 @@ class TcpClientChannel implements ClientChannel {
      *
      */
     private static class ClientRequestFuture extends GridFutureAdapter<byte[]> {
+        /** Operation. */
+        private final ClientOperation op;
+
+        /** Time the request was created. */
+        private final long startTime = U.currentTimeMillis();
+
+        /**
+         * @param op Operation.
+         */
+        ClientRequestFuture(ClientOperation op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * Server notifications of one resource. Notifications are queued by the receiver thread and delivered to the
+     * listener sequentially by the continuation executor, so the receiver thread is not blocked by listeners.
+     * <p>
+     * If the listener does not keep up and {@link #MAX_PENDING_NOTIFICATIONS} notifications are queued, the queued
+     * notifications are dropped, the listener gets an error and the resource is closed. The queue is removed once an
+     * error is delivered, so notifications that are still on the way are dropped.
+     */
+    private class NotificationQueue implements Runnable {
+        /** Resource ID. */
+        private final long rsrcId;
+
+        /** Received notifications: payloads or errors. */
+        private final Queue<T2<byte[], Exception>> notifications = new ArrayDeque<>();
+
+        /** Listener, {@code null} until added. */
+        private NotificationListener lsnr;
+
+        /** Channel close error to deliver after queued notifications. */
+        private ClientException closeErr;
+
+        /** Channel close is delivered. */
+        private boolean closeDelivered;
+
+        /** Delivery task is scheduled. */
+        private boolean scheduled;
+
+        /** Error is queued, next notifications are dropped. */
+        private boolean failed;
+
+        /**
+         * @param rsrcId Resource ID.
+         */
+        NotificationQueue(long rsrcId) {
+            this.rsrcId = rsrcId;
+        }
+
+        /**
+         * @param payload Notification payload, {@code null} if the server reported an error.
+         * @param err Error reported by the server.
+         */
+        synchronized void offer(byte[] payload, ClientServerError err) {
+            if (failed)
+                return;
+
+            if (err != null)
+                failed = true;
+            else if (notifications.size() >= MAX_PENDING_NOTIFICATIONS) {
+                notifications.clear();
+
+                failed = true;
+
+                notifications.add(new T2<>(null, new ClientException("Notification listener does not keep up " +
+                    "with the server, notifications are dropped [rsrcId=" + rsrcId + ", maxPendingNotifications=" +
+                    MAX_PENDING_NOTIFICATIONS + ']')));
+
+                closeResource();
+
+                scheduleIfNeeded();
+
+                return;
+            }
+
+            notifications.add(new T2<>(payload, err));
+
+            scheduleIfNeeded();
+        }
+
+        /**
+         * @param lsnr Listener.
+         */
+        synchronized void listen(NotificationListener lsnr) {
+            this.lsnr = lsnr;
+
+            scheduleIfNeeded();
+        }
+
+        /**
+         * @param err Error.
+         */
+        synchronized void onChannelClosed(ClientException err) {
+            if (closeErr == null)
+                closeErr = err;
+
+            scheduleIfNeeded();
+        }
+
+        /** */
+        private void scheduleIfNeeded() {
+            if (lsnr == null || scheduled || (notifications.isEmpty() && (closeErr == null || closeDelivered)))
+                return;
+
+            scheduled = true;
+
+            asyncContinuationExecutor.execute(this);
+        }
+
+        /**
+         * Closes the resource on the server, so that it does not send notifications anymore.
+         */
+        private void closeResource() {
+            // Request is sent by the continuation executor, the receiver thread must not be blocked by the socket.
+            asyncContinuationExecutor.execute(() -> {
+                try {
+                    serviceAsync(ClientOperation.RESOURCE_CLOSE, req -> req.out().writeLong(rsrcId), null);
+                }
+                catch (ClientException ignored) {
+                    // Resources are closed by the server if the connection is lost.
+                }
+            });
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            while (true) {
+                T2<byte[], Exception> notification;
+
+                ClientException err = null;
+
+                synchronized (this) {
+                    notification = notifications.poll();
+
+                    if (notification == null) {
+                        if (closeErr == null || closeDelivered) {
+                            scheduled = false;
+
+                            return;
+                        }
+
+                        err = closeErr;
+
+                        closeDelivered = true;
+                    }
+                }
+
+                try {
+                    if (notification != null) {
+                        byte[] payload = notification.get1();
+
+                        // Error is the last notification of the resource.
+                        if (notification.get2() != null)
+                            notificationQueues.remove(rsrcId, this);
+
+                        lsnr.acceptNotification(
+                            payload == null ? null : new PayloadInputChannel(TcpClientChannel.this, payload),
+                            notification.get2());
+                    }
+                    else
+                        lsnr.onChannelClosed(err);
+                }
+                catch (Throwable e) {
+                    // Listener failure must not stop delivery of the next notifications.
+                    U.warn(log, "Server notification listener failed [rsrcId=" + rsrcId + ']', e);
+                }
+            }
+        }
     }
 
     /** SSL Socket Factory. */
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.function.Consumer;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.client.ClientCompute;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.lang.IgniteRunnable;
+
+/**
+ * Implementation of {@link ClientCompute} over TCP protocol.
+ * <p>
+ * Server responds to the compute request with the ID of the task resource and sends the result as a notification
+ * for this resource when the task is completed.
+ */
+class TcpClientCompute implements ClientCompute {
+    /** "No failover" flag mask. */
+    private static final byte NO_FAILOVER_FLAG_MASK = 0x01;
+
+    /** "No result cache" flag mask. */
+    private static final byte NO_RESULT_CACHE_FLAG_MASK = 0x02;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Task flags. */
+    private final byte flags;
+
+    /** Task timeout. */
+    private final long timeout;
+
+    /**
+     * Constructor.
+     *
+     * @param ch Channel.
+     * @param marsh Marshaller.
+     */
+    TcpClientCompute(ReliableChannel ch, ClientBinaryMarshaller marsh) {
+        this(ch, new ClientUtils(marsh), (byte)0, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ch Channel.
+     * @param serDes Serializer/deserializer.
+     * @param flags Task flags.
+     * @param timeout Task timeout.
+     */
+    private TcpClientCompute(ReliableChannel ch, ClientUtils serDes, byte flags, long timeout) {
+        this.ch = ch;
+        this.serDes = serDes;
+        this.flags = flags;
+        this.timeout = timeout;
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T, R> R execute(String taskName, T arg) throws ClientException, InterruptedException {
+        return get(executeAsync0(taskName, arg));
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T, R> IgniteFuture<R> executeAsync(String taskName, T arg) throws ClientException {
+        return new ClientFutureImpl<>(executeAsync0(taskName, arg));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void affinityRun(String cacheName, Object affKey, IgniteRunnable job)
+        throws ClientException, InterruptedException {
+        get(affinityRunAsync0(cacheName, affKey, job));
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> affinityRunAsync(String cacheName, Object affKey, IgniteRunnable job)
+        throws ClientException {
+        return new ClientFutureImpl<>(affinityRunAsync0(cacheName, affKey, job));
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withTimeout(long timeout) {
+        A.ensure(timeout >= 0, "timeout >= 0");
+
+        return timeout == this.timeout ? this : new TcpClientCompute(ch, serDes, flags, timeout);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withNoFailover() {
+        return withFlag(NO_FAILOVER_FLAG_MASK);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withNoResultCache() {
+        return withFlag(NO_RESULT_CACHE_FLAG_MASK);
+    }
+
+    /**
+     * @param flag Flag mask.
+     * @return Compute facade with the flag set.
+     */
+    private ClientCompute withFlag(byte flag) {
+        return (flags & flag) != 0 ? this : new TcpClientCompute(ch, serDes, (byte)(flags | flag), timeout);
+    }
+
+    /**
+     * @param taskName Task name.
+     * @param arg Task argument.
+     * @return Future for the task result.
+     */
+    private <R> IgniteInternalFuture<R> executeAsync0(String taskName, Object arg) {
+        A.notNull(taskName, "taskName");
+
+        return startAsync(ClientOperation.COMPUTE_TASK_EXECUTE, req -> {
+            BinaryOutputStream out = req.out();
+
+            out.writeByte(flags);
+            out.writeLong(timeout);
+            serDes.writeObject(out, taskName);
+            serDes.writeObject(out, arg);
+        });
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param affKey Affinity key.
+     * @param job Job.
+     * @return Future completed when the job is done.
+     */
+    private IgniteInternalFuture<Void> affinityRunAsync0(String cacheName, Object affKey, IgniteRunnable job) {
+        A.notNull(cacheName, "cacheName");
+        A.notNull(affKey, "affKey");
+        A.notNull(job, "job");
+
+        return startAsync(ClientOperation.COMPUTE_AFFINITY_RUN, req -> {
+            BinaryOutputStream out = req.out();
+
+            serDes.writeObject(out, cacheName);
+            serDes.writeObject(out, affKey);
+            serDes.writeObject(out, job);
+        });
+    }
+
+    /**
+     * Starts the computation and waits for its result notification.
+     *
+     * @param op Operation.
+     * @param payloadWriter Payload writer.
+     * @return Future for the result.
+     */
+    private <R> IgniteInternalFuture<R> startAsync(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter) {
+        ClientChannel ch0 = ch.channel();
+
+        if (ch0.serverVersion().compareTo(ProtocolVersion.V1_8_0) < 0) {
+            throw new ClientException("Compute is not supported by the server [srvVer=" +
+                ch0.serverVersion() + ']');
+        }
+
+        GridFutureAdapter<R> fut = new GridFutureAdapter<>();
+
+        ch0.serviceAsync(op, payloadWriter, res -> res.in().readLong()).listen(f -> {
+            long taskId;
+
+            try {
+                taskId = f.get();
+            }
+            catch (IgniteCheckedException e) {
+                fut.onDone(e.getCause() != null ? e.getCause() : e);
+
+                return;
+            }
+
+            ch0.addNotificationListener(taskId, new NotificationListener() {
+                @Override public void acceptNotification(PayloadInputChannel payload, Exception err) {
+                    ch0.removeNotificationListener(taskId);
+
+                    if (err != null)
+                        fut.onDone(err);
+                    else {
+                        try {
+                            fut.onDone(serDes.<R>readObject(payload.in(), false));
+                        }
+                        catch (Exception e) {
+                            fut.onDone(e);
+                        }
+                    }
+                }
+
+                @Override public void onChannelClosed(Exception err) {
+                    fut.onDone(err);
+                }
+            });
+        });
+
+        return fut;
+    }
+
+    /**
+     * @param fut Future.
+     * @return Result.
+     * @throws ClientException If the computation failed.
+     * @throws InterruptedException If the wait was interrupted.
+     */
+    private static <R> R get(IgniteInternalFuture<R> fut) throws ClientException, InterruptedException {
+        try {
+            return fut.get();
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            throw new InterruptedException(e.getMessage());
+        }
+        catch (IgniteCheckedException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+            if (cause instanceof ClientException)
+                throw (ClientException)cause;
+
+            throw new ClientException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.client.ClientDataStreamer;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+
+import static java.util.AbstractMap.SimpleImmutableEntry;
+
+/**
+ * Implementation of {@link ClientDataStreamer} over TCP protocol.
+ */
+class TcpClientDataStreamer<K, V> implements ClientDataStreamer<K, V> {
+    /** Flag: allow overwrite. */
+    private static final byte FLAG_ALLOW_OVERWRITE = 1;
+
+    /** Flag: skip store. */
+    private static final byte FLAG_SKIP_STORE = 2;
+
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Channel. */
+    private final ReliableChannel rch;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Allow overwrite flag. */
+    private boolean allowOverwrite;
+
+    /** Skip store flag. */
+    private boolean skipStore;
+
+    /** Number of entries sent in one batch. */
+    private int bufSize = DFLT_BUFFER_SIZE;
+
+    /** Maximum number of batches sent without acknowledgement. */
+    private int parallelOps = DFLT_PARALLEL_OPS;
+
+    /** Per node buffer size of the server side streamer. */
+    private int perNodeBufSize;
+
+    /** Per node parallel operations of the server side streamer. */
+    private int perNodeParallelOps;
+
+    /** Channel the server side streamer is opened on, {@code null} if not opened yet. */
+    private ClientChannel ch;
+
+    /** Resource ID of the server side streamer. */
+    private long resId;
+
+    /** Entries to send. */
+    private List<Map.Entry<K, V>> buf = new ArrayList<>();
+
+    /** Permits to send batches without acknowledgement. */
+    private Semaphore sndPermits;
+
+    /** First failure of sent batches. */
+    private final AtomicReference<Throwable> err = new AtomicReference<>();
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheName Cache name.
+     * @param rch Channel.
+     * @param marsh Marshaller.
+     */
+    TcpClientDataStreamer(String cacheName, ReliableChannel rch, ClientBinaryMarshaller marsh) {
+        this.cacheName = cacheName;
+        this.rch = rch;
+
+        cacheId = ClientUtils.cacheId(cacheName);
+        serDes = new ClientUtils(marsh);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String cacheName() {
+        return cacheName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized boolean allowOverwrite() {
+        return allowOverwrite;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void allowOverwrite(boolean allowOverwrite) {
+        ensureNotStarted();
+
+        this.allowOverwrite = allowOverwrite;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized boolean skipStore() {
+        return skipStore;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void skipStore(boolean skipStore) {
+        ensureNotStarted();
+
+        this.skipStore = skipStore;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int bufferSize() {
+        return bufSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void bufferSize(int bufSize) {
+        if (bufSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufSize);
+
+        ensureNotStarted();
+
+        this.bufSize = bufSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int parallelOperations() {
+        return parallelOps;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void parallelOperations(int parallelOps) {
+        if (parallelOps <= 0)
+            throw new IllegalArgumentException("Parallel operations must be positive: " + parallelOps);
+
+        ensureNotStarted();
+
+        this.parallelOps = parallelOps;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int perNodeBufferSize() {
+        return perNodeBufSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void perNodeBufferSize(int bufSize) {
+        if (bufSize < 0)
+            throw new IllegalArgumentException("Per node buffer size must not be negative: " + bufSize);
+
+        ensureNotStarted();
+
+        perNodeBufSize = bufSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int perNodeParallelOperations() {
+        return perNodeParallelOps;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void perNodeParallelOperations(int parallelOps) {
+        if (parallelOps < 0)
+            throw new IllegalArgumentException("Per node parallel operations must not be negative: " + parallelOps);
+
+        ensureNotStarted();
+
+        perNodeParallelOps = parallelOps;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void addData(K key, V val) throws ClientException {
+        if (key == null)
+            throw new NullPointerException("key");
+
+        ensureActive();
+
+        buf.add(new SimpleImmutableEntry<>(key, val));
+
+        if (buf.size() >= bufSize)
+            sendBuffer();
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void addData(Map<? extends K, ? extends V> entries) throws ClientException {
+        if (entries == null)
+            throw new NullPointerException("entries");
+
+        for (Map.Entry<? extends K, ? extends V> e : entries.entrySet())
+            addData(e.getKey(), e.getValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeData(K key) throws ClientException {
+        addData(key, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void flush() throws ClientException {
+        ensureActive();
+
+        sendBuffer();
+
+        if (ch == null)
+            return;
+
+        awaitBatches();
+
+        checkError();
+
+        service(ch, ClientOperation.DATA_STREAMER_FLUSH, req -> req.out().writeLong(resId), null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close(boolean cancel) throws ClientException {
+        if (closed)
+            return;
+
+        try {
+            if (!cancel && err.get() == null)
+                sendBuffer();
+
+            if (ch == null)
+                return;
+
+            awaitBatches();
+
+            service(ch, ClientOperation.DATA_STREAMER_CLOSE, req -> {
+                req.out().writeLong(resId);
+                req.out().writeBoolean(cancel);
+            }, null);
+
+            if (!cancel)
+                checkError();
+        }
+        finally {
+            closed = true;
+
+            buf = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws ClientException {
+        close(false);
+    }
+
+    /**
+     * Sends buffered entries without waiting for acknowledgement. Blocks if the limit of batches sent without
+     * acknowledgement is reached.
+     */
+    private void sendBuffer() {
+        if (buf.isEmpty())
+            return;
+
+        if (ch == null)
+            open();
+
+        List<Map.Entry<K, V>> batch = buf;
+
+        buf = new ArrayList<>(bufSize);
+
+        try {
+            sndPermits.acquire();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new ClientException("Interrupted while sending data streamer batch", e);
+        }
+
+        try {
+            ch.serviceAsync(ClientOperation.DATA_STREAMER_ADD_DATA, req -> writeBatch(req.out(), batch), null)
+                .listen(f -> {
+                    sndPermits.release();
+
+                    try {
+                        f.get();
+                    }
+                    catch (IgniteCheckedException e) {
+                        err.compareAndSet(null, e.getCause() != null ? e.getCause() : e);
+                    }
+                });
+        }
+        catch (RuntimeException e) {
+            sndPermits.release();
+
+            err.compareAndSet(null, e);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the server side streamer on the current channel.
+     */
+    private void open() {
+        ClientChannel ch0 = rch.channel();
+
+        byte flags = (byte)((allowOverwrite ? FLAG_ALLOW_OVERWRITE : 0) | (skipStore ? FLAG_SKIP_STORE : 0));
+
+        resId = service(ch0, ClientOperation.DATA_STREAMER_START, req -> {
+            BinaryOutputStream out = req.out();
+
+            out.writeInt(cacheId);
+            out.writeByte(flags);
+            out.writeInt(perNodeBufSize);
+            out.writeInt(perNodeParallelOps);
+        }, res -> res.in().readLong());
+
+        sndPermits = new Semaphore(parallelOps);
+
+        ch = ch0;
+    }
+
+    /**
+     * Sends request and reports server errors as {@link ClientException}.
+     */
+    private static <T> T service(
+        ClientChannel ch,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        try {
+            return ch.service(op, payloadWriter, payloadReader);
+        }
+        catch (ClientError e) {
+            throw new ClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param out Output stream.
+     * @param batch Entries.
+     */
+    private void writeBatch(BinaryOutputStream out, List<Map.Entry<K, V>> batch) {
+        out.writeLong(resId);
+
+        ClientUtils.collection(batch, out, (out0, e) -> {
+            serDes.writeObject(out0, e.getKey());
+            serDes.writeObject(out0, e.getValue());
+        });
+    }
+
+    /**
+     * Waits until all sent batches are acknowledged.
+     */
+    private void awaitBatches() {
+        try {
+            sndPermits.acquire(parallelOps);
+
+            sndPermits.release(parallelOps);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new ClientException("Interrupted while waiting for data streamer batches", e);
+        }
+    }
+
+    /**
+     * @throws ClientException If the streamer is closed or failed.
+     */
+    private void ensureActive() {
+        if (closed)
+            throw new ClientException("Data streamer is closed");
+
+        checkError();
+    }
+
+    /**
+     * @throws ClientException If some of sent batches failed.
+     */
+    private void checkError() {
+        Throwable e = err.get();
+
+        if (e != null)
+            throw new ClientException("Failed to send data streamer batch: " + e.getMessage(), e);
+    }
+
+    /**
+     * @throws IllegalStateException If entries were already added.
+     */
+    private void ensureNotStarted() {
+        if (closed || ch != null || !buf.isEmpty())
+            throw new IllegalStateException("Data streamer settings can't be changed after entries are added");
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.ignite.client.ClientConnectionException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientTransaction;
+import org.apache.ignite.client.ClientTransactions;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.transactions.TransactionIsolation;
+
+import static org.apache.ignite.transactions.TransactionConcurrency.OPTIMISTIC;
+
+/**
+ * Implementation of {@link ClientTransactions} over TCP protocol.
+ */
+class TcpClientTransactions implements ClientTransactions {
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Transaction started by the current thread. Shared by all facades of the client. */
+    private final ThreadLocal<TcpClientTransaction> threadLocTx;
+
+    /** Label of the transactions. */
+    private final String lb;
+
+    /**
+     * Constructor.
+     *
+     * @param ch Channel.
+     * @param marsh Marshaller.
+     */
+    TcpClientTransactions(ReliableChannel ch, ClientBinaryMarshaller marsh) {
+        this(ch, new ClientUtils(marsh), new ThreadLocal<>(), null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ch Channel.
+     * @param serDes Serializer/deserializer.
+     * @param threadLocTx Transaction started by the current thread.
+     * @param lb Label of the transactions.
+     */
+    private TcpClientTransactions(
+        ReliableChannel ch,
+        ClientUtils serDes,
+        ThreadLocal<TcpClientTransaction> threadLocTx,
+        String lb
+    ) {
+        this.ch = ch;
+        this.serDes = serDes;
+        this.threadLocTx = threadLocTx;
+        this.lb = lb;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientTransaction txStart() throws ClientException {
+        return txStart0(null, -1);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientTransaction txStart(TransactionIsolation isolation) throws ClientException {
+        A.notNull(isolation, "isolation");
+
+        return txStart0(isolation, -1);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientTransaction txStart(TransactionIsolation isolation, long timeout)
+        throws ClientException {
+        A.notNull(isolation, "isolation");
+        A.ensure(timeout >= 0, "timeout >= 0");
+
+        return txStart0(isolation, timeout);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientTransactions withLabel(String lb) {
+        A.notNull(lb, "lb");
+
+        return new TcpClientTransactions(ch, serDes, threadLocTx, lb);
+    }
+
+    /**
+     * @param isolation Isolation level, {@code null} for the server default.
+     * @param timeout Timeout, negative for the server default.
+     * @return New transaction.
+     */
+    private ClientTransaction txStart0(TransactionIsolation isolation, long timeout) {
+        if (threadLocTx.get() != null)
+            throw new ClientException("A transaction has already been started by the current thread.");
+
+        ClientChannel ch0 = ch.channel();
+
+        if (ch0.serverVersion().compareTo(ProtocolVersion.V1_8_0) < 0) {
+            throw new ClientException("Transactions are not supported by the server [srvVer=" +
+                ch0.serverVersion() + ']');
+        }
+
+        int txId = service(ch0, ClientOperation.TX_START, req -> {
+            BinaryOutputStream out = req.out();
+
+            out.writeByte((byte)OPTIMISTIC.ordinal());
+            out.writeByte(isolation == null ? -1 : (byte)isolation.ordinal());
+            out.writeLong(timeout);
+            serDes.writeObject(out, lb);
+        }, res -> res.in().readInt());
+
+        TcpClientTransaction tx = new TcpClientTransaction(txId, ch0);
+
+        threadLocTx.set(tx);
+
+        ch.bindChannel(ch0);
+
+        return tx;
+    }
+
+    /**
+     * @return Transaction started by the current thread or {@code null}.
+     */
+    TcpClientTransaction tx() {
+        return threadLocTx.get();
+    }
+
+    /**
+     * Sends request and reports server errors as {@link ClientException}.
+     */
+    private static <T> T service(
+        ClientChannel ch,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        try {
+            return ch.service(op, payloadWriter, payloadReader);
+        }
+        catch (ClientError e) {
+            throw new ClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Thin client transaction.
+     */
+    class TcpClientTransaction implements ClientTransaction {
+        /** Transaction ID. */
+        private final int txId;
+
+        /** Channel the transaction is started on. */
+        private final ClientChannel clientCh;
+
+        /** Transaction is completed. */
+        private boolean closed;
+
+        /**
+         * Constructor.
+         *
+         * @param txId Transaction ID.
+         * @param clientCh Channel the transaction is started on.
+         */
+        TcpClientTransaction(int txId, ClientChannel clientCh) {
+            this.txId = txId;
+            this.clientCh = clientCh;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void commit() throws ClientException {
+            end(true);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void rollback() throws ClientException {
+            end(false);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() throws ClientException {
+            if (closed)
+                return;
+
+            try {
+                end(false);
+            }
+            catch (ClientConnectionException ignored) {
+                // Transaction is rolled back by the server when the connection is lost.
+            }
+        }
+
+        /**
+         * @return Transaction ID.
+         */
+        int txId() {
+            return txId;
+        }
+
+        /**
+         * @return Channel the transaction is started on.
+         */
+        ClientChannel clientChannel() {
+            return clientCh;
+        }
+
+        /**
+         * @param committed Commit flag, the transaction is rolled back if not set.
+         */
+        private void end(boolean committed) {
+            if (threadLocTx.get() != this)
+                throw new ClientException("The transaction is completed or was started by another thread.");
+
+            closed = true;
+
+            threadLocTx.remove();
+
+            ch.bindChannel(null);
+
+            service(clientCh, ClientOperation.TX_END, req -> {
+                req.out().writeInt(txId);
+                req.out().writeBoolean(committed);
+            }, null);
+        }
+    }
+}
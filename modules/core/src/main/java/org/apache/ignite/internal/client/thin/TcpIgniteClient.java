@@ -19,6 +19,7 @@ package org.apache.ignite.internal.client.thin;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,9 +33,14 @@ import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.client.ClientCache;
 import org.apache.ignite.client.ClientCacheConfiguration;
+import org.apache.ignite.client.ClientCompute;
+import org.apache.ignite.client.ClientDataStreamer;
 import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheConfiguration;
+import org.apache.ignite.client.ClientTransactions;
 import org.apache.ignite.client.IgniteClient;
 import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.MarshallerPlatformIds;
 import org.apache.ignite.internal.binary.BinaryCachingMetadataHandler;
 import org.apache.ignite.internal.binary.BinaryMetadata;
@@ -46,7 +52,9 @@ import org.apache.ignite.internal.binary.BinaryUtils;
 import org.apache.ignite.internal.binary.BinaryWriterExImpl;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.util.lang.GridClosureException;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.marshaller.MarshallerContext;
 import org.apache.ignite.marshaller.jdk.JdkMarshaller;
@@ -67,6 +75,15 @@ public class TcpIgniteClient implements IgniteClient {
     /** Serializer/deserializer. */
     private final ClientUtils serDes;
 
+    /** Transactions facade. */
+    private final TcpClientTransactions transactions;
+
+    /** Compute facade. */
+    private final TcpClientCompute compute;
+
+    /** Near caches by cache name. */
+    private final Map<String, ClientNearCache> nearCaches = new HashMap<>();
+
     /**
      * Private constructor. Use {@link TcpIgniteClient#start(ClientConfiguration)} to create an instance of
      * {@link TcpClientChannel}.
@@ -81,8 +98,6 @@ public class TcpIgniteClient implements IgniteClient {
             }
         };
 
-        ch = new ReliableChannel(chFactory, cfg);
-
         marsh = new ClientBinaryMarshaller(new ClientBinaryMetadataHandler(), new ClientMarshallerContext());
 
         marsh.setBinaryConfiguration(cfg.getBinaryConfiguration());
@@ -90,6 +105,17 @@ public class TcpIgniteClient implements IgniteClient {
         serDes = new ClientUtils(marsh);
 
         binary = new ClientBinary(marsh);
+
+        ch = new ReliableChannel(chFactory, cfg, binary::toBinary);
+
+        transactions = new TcpClientTransactions(ch, marsh);
+
+        compute = new TcpClientCompute(ch, marsh);
+
+        if (cfg.getNearCacheConfiguration() != null) {
+            for (ClientNearCacheConfiguration nearCfg : cfg.getNearCacheConfiguration())
+                nearCaches.put(nearCfg.getName(), new ClientNearCache(nearCfg, ch, serDes));
+        }
     }
 
     /** {@inheritDoc} */
@@ -103,7 +129,18 @@ public class TcpIgniteClient implements IgniteClient {
 
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh);
+        return newCache(name);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> IgniteFuture<ClientCache<K, V>> getOrCreateCacheAsync(String name)
+        throws ClientException {
+        ensureCacheName(name);
+
+        return cacheAsync(
+            ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out())),
+            name
+        );
     }
 
     /** {@inheritDoc} */
@@ -114,14 +151,26 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION, 
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().serverVersion()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh);
+        return newCache(cfg.getName());
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> IgniteFuture<ClientCache<K, V>> getOrCreateCacheAsync(ClientCacheConfiguration cfg)
+        throws ClientException {
+        ensureCacheConfiguration(cfg);
+
+        return cacheAsync(
+            ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION,
+                req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().serverVersion())),
+            cfg.getName()
+        );
     }
 
     /** {@inheritDoc} */
     @Override public <K, V> ClientCache<K, V> cache(String name) {
         ensureCacheName(name);
 
-        return new TcpClientCache<>(name, ch, marsh);
+        return newCache(name);
     }
 
     /** {@inheritDoc} */
@@ -129,6 +178,12 @@ public class TcpIgniteClient implements IgniteClient {
         return ch.service(ClientOperation.CACHE_GET_NAMES, res -> Arrays.asList(BinaryUtils.doReadStringArray(res.in())));
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Collection<String>> cacheNamesAsync() throws ClientException {
+        return new ClientFutureImpl<>(ch.serviceAsync(ClientOperation.CACHE_GET_NAMES,
+            res -> Arrays.asList(BinaryUtils.doReadStringArray(res.in()))));
+    }
+
     /** {@inheritDoc} */
     @Override public void destroyCache(String name) throws ClientException {
         ensureCacheName(name);
@@ -136,13 +191,31 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name)));
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> destroyCacheAsync(String name) throws ClientException {
+        ensureCacheName(name);
+
+        return new ClientFutureImpl<>(
+            ch.requestAsync(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name))));
+    }
+
     /** {@inheritDoc} */
     @Override public <K, V> ClientCache<K, V> createCache(String name) throws ClientException {
         ensureCacheName(name);
 
         ch.request(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh);
+        return newCache(name);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> IgniteFuture<ClientCache<K, V>> createCacheAsync(String name) throws ClientException {
+        ensureCacheName(name);
+
+        return cacheAsync(
+            ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out())),
+            name
+        );
     }
 
     /** {@inheritDoc} */
@@ -152,7 +225,36 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION, 
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().serverVersion()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh);
+        return newCache(cfg.getName());
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> IgniteFuture<ClientCache<K, V>> createCacheAsync(ClientCacheConfiguration cfg)
+        throws ClientException {
+        ensureCacheConfiguration(cfg);
+
+        return cacheAsync(
+            ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION,
+                req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().serverVersion())),
+            cfg.getName()
+        );
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> ClientDataStreamer<K, V> dataStreamer(String cacheName) {
+        ensureCacheName(cacheName);
+
+        return new TcpClientDataStreamer<>(cacheName, ch, marsh);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientTransactions transactions() {
+        return transactions;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute compute() {
+        return compute;
     }
 
     /** {@inheritDoc} */
@@ -193,6 +295,32 @@ public class TcpIgniteClient implements IgniteClient {
         return new TcpIgniteClient(cfg);
     }
 
+    /**
+     * @param fut Cache create request future.
+     * @param name Cache name.
+     * @return Future for the cache completed when the request is done.
+     */
+    private <K, V> IgniteFuture<ClientCache<K, V>> cacheAsync(IgniteInternalFuture<Void> fut, String name) {
+        return new ClientFutureImpl<>(fut.chain(f -> {
+            try {
+                f.get();
+
+                return this.<K, V>newCache(name);
+            }
+            catch (IgniteCheckedException e) {
+                throw new GridClosureException(e);
+            }
+        }));
+    }
+
+    /**
+     * @param name Cache name.
+     * @return Client cache.
+     */
+    private <K, V> TcpClientCache<K, V> newCache(String name) {
+        return new TcpClientCache<>(name, ch, marsh, transactions, nearCaches.get(name));
+    }
+
     /** @throws IllegalArgumentException if the specified cache name is invalid. */
     private static void ensureCacheName(String name) {
         if (name == null || name.isEmpty())
@@ -518,4 +518,16 @@ public interface ConnectionProperties {
      * @param connTimeout Connection timeout in milliseconds.
      */
     public void setConnectionTimeout(@Nullable Integer connTimeout) throws SQLException;
+
+    /**
+     * @return {@code true} if query result pages are transferred in columnar format.
+     */
+    public boolean isColumnarResults();
+
+    /**
+     * Note: columnar format is used only if it is supported by the server, otherwise the flag is ignored.
+     *
+     * @param columnarResults {@code true} to transfer query result pages in columnar format.
+     */
+    public void setColumnarResults(boolean columnarResults);
 }
@@ -233,6 +233,11 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
             " Zero means there is no limits.",
         0L, false, 0, Integer.MAX_VALUE);
 
+    /** Columnar result pages flag. */
+    private BooleanProperty columnarResults = new BooleanProperty("columnarResults",
+        "Whether query result pages are transferred in columnar format. Reduces the size of result pages " +
+            "and the cost of their decoding for queries returning many rows of primitive or repeated string values.",
+        false, false);
 
     /** Properties array. */
     private final ConnectionProperty [] propsArray = {
@@ -250,7 +255,8 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
         partitionAwarenessPartDistributionsCacheSize,
         qryMaxMemory,
         qryTimeout,
-        connTimeout
+        connTimeout,
+        columnarResults
     };
 
     /** {@inheritDoc} */
@@ -639,6 +645,16 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
         connTimeout.setValue(timeout);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean isColumnarResults() {
+        return columnarResults.value();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setColumnarResults(boolean columnarResults) {
+        this.columnarResults.setValue(columnarResults);
+    }
+
     /**
      * @param url URL connection.
      * @param props Environment properties.
@@ -80,6 +80,8 @@ import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQuery;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryCancelRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryExecuteRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryExecuteResult;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryPrepareRequest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryPrepareResult;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcResponse;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcResultWithIo;
@@ -303,10 +305,12 @@ public class JdbcThinConnection implements Connection {
                         + cliIo.igniteVersion() + ']', INTERNAL_ERROR);
                 }
 
-                streamState = new StreamState((SqlSetStreamingCommand)cmd, cliIo);
+                streamState = new StreamState((SqlSetStreamingCommand)cmd, sql, cliIo);
 
-                sendRequest(new JdbcQueryExecuteRequest(JdbcStatementType.ANY_STATEMENT_TYPE,
-                    schema, 1, 1, autoCommit, sql, null), stmt, cliIo);
+                for (JdbcThinTcpIo streamIo : streamState.ios()) {
+                    sendRequest(new JdbcQueryExecuteRequest(JdbcStatementType.ANY_STATEMENT_TYPE,
+                        schema, 1, 1, autoCommit, sql, null), stmt, streamIo);
+                }
 
                 streamState.start();
             }
@@ -1249,50 +1253,105 @@ public class JdbcThinConnection implements Connection {
         /** Batch size for streaming. */
         private int streamBatchSize;
 
-        /** Batch for streaming. */
-        private List<JdbcQuery> streamBatch;
+        /** Streams to all the nodes. */
+        private final List<NodeStream> streams = new ArrayList<>();
 
-        /** Last added query to recognize batches. */
-        private String lastStreamQry;
+        /**
+         * Streams to the nodes by node ID, used to send rows directly to the primary nodes. {@code null} value means
+         * that the stream to the node failed to open.
+         */
+        private final Map<UUID, NodeStream> nodeStreams = new HashMap<>();
 
-        /** Keep request order on execution. */
-        private long order;
+        /** Stream for the rows with unknown target node. */
+        private final NodeStream dfltStream;
 
-        /** Async response reader thread. */
-        private Thread asyncRespReaderThread;
+        /**
+         * Ignite endpoint for the partition metadata requests, since the others are busy with streaming.
+         * {@code null} if the rows are not routed to the primary nodes or the metadata is not available anymore.
+         */
+        private JdbcThinTcpIo metaIo;
 
-        /** Async response error. */
-        private volatile Exception err;
+        /** Whether rows are processed by the server in the order they are added. */
+        private final boolean ordered;
 
-        /** The order of the last batch request at the stream. */
-        private long lastRespOrder = -1;
+        /** Whether rows are sent directly to the primary nodes. */
+        private final boolean routing;
 
-        /** Last response future. */
-        private final GridFutureAdapter<Void> lastRespFut = new GridFutureAdapter<>();
+        /** Text of the stream command. */
+        private final String cmdSql;
 
-        /** Response semaphore sem. */
-        private Semaphore respSem = new Semaphore(MAX_REQUESTS_BEFORE_RESPONSE);
+        /** Whether the last added row was routed to its primary node. */
+        private boolean lastRouted;
 
-        /** Streaming sticky ignite endpoint. */
-        private final JdbcThinTcpIo streamingStickyIo;
+        /** Partition results of the streamed queries. */
+        private final Map<QualifiedSQLQuery, JdbcThinPartitionResultDescriptor> partResults = new HashMap<>();
+
+        /**
+         * Partitions distributions of the caches. Distribution is retrieved once per stream, so that rows with the
+         * same key are always sent to the same node in the same order.
+         */
+        private final Map<Integer, UUID[]> cacheDistrs = new HashMap<>();
+
+        /** Closed flag. */
+        private boolean closed;
 
         /**
          * @param cmd Stream cmd.
+         * @param cmdSql Text of the stream command, used to open the streams to the nodes connected later.
          * @param stickyIo Sticky ignite endpoint.
          */
-        StreamState(SqlSetStreamingCommand cmd, JdbcThinTcpIo stickyIo) {
+        StreamState(SqlSetStreamingCommand cmd, String cmdSql, JdbcThinTcpIo stickyIo) {
             streamBatchSize = cmd.batchSize();
 
-            asyncRespReaderThread = new Thread(this::readResponses);
+            ordered = cmd.isOrdered();
+
+            this.cmdSql = cmdSql;
+
+            dfltStream = new NodeStream(stickyIo);
+
+            streams.add(dfltStream);
+
+            routing = partitionAwareness && stickyIo.isStreamPartitionAwarenessSupported();
 
-            streamingStickyIo = stickyIo;
+            if (routing) {
+                nodeStreams.put(stickyIo.nodeId(), dfltStream);
+
+                for (JdbcThinTcpIo io : ios.values()) {
+                    if (io != stickyIo && io.isStreamPartitionAwarenessSupported()) {
+                        NodeStream stream = new NodeStream(io);
+
+                        streams.add(stream);
+                        nodeStreams.put(io.nodeId(), stream);
+                    }
+                }
+
+                // Connections to the other nodes may be established later, so the metadata connection is opened
+                // even if the only node is connected now.
+                try {
+                    metaIo = new JdbcThinTcpIo(connProps, stickyIo.socketAddress(), 0);
+
+                    metaIo.timeout(netTimeout);
+                }
+                catch (Exception e) {
+                    LOG.log(Level.WARNING, "Failed to open connection for streaming partition metadata, " +
+                        "all rows will be streamed through the single node.", e);
+                }
+            }
+        }
+
+        /**
+         * @return Ignite endpoints to stream to.
+         */
+        List<JdbcThinTcpIo> ios() {
+            return streams.stream().map(stream -> stream.io).collect(Collectors.toList());
         }
 
         /**
          * Start reader.
          */
         void start() {
-            asyncRespReaderThread.start();
+            for (NodeStream stream : streams)
+                stream.asyncRespReaderThread.start();
         }
 
         /**
@@ -1305,86 +1364,204 @@ public class JdbcThinConnection implements Connection {
         void addBatch(String sql, List<Object> args) throws SQLException {
             checkError();
 
-            boolean newQry = (args == null || !F.eq(lastStreamQry, sql));
+            Object[] args0 = args != null ? args.toArray() : null;
 
-            // Providing null as SQL here allows for recognizing subbatches on server and handling them more efficiently.
-            JdbcQuery q = new JdbcQuery(newQry ? sql : null, args != null ? args.toArray() : null);
+            NodeStream stream = route(sql, args0);
 
-            if (streamBatch == null)
-                streamBatch = new ArrayList<>(streamBatchSize);
+            boolean routed = stream != null;
 
-            streamBatch.add(q);
+            // Rows of the same key may be sent through the different streams when some rows cannot be routed, so
+            // the rows sent before are written first.
+            if (ordered && routed != lastRouted) {
+                flush();
 
-            // Null args means "addBatch(String)" was called on non-prepared Statement,
-            // we don't want to remember its query string.
-            lastStreamQry = (args != null ? sql : null);
+                lastRouted = routed;
+            }
 
-            if (streamBatch.size() == streamBatchSize)
-                executeBatch(false);
+            (routed ? stream : dfltStream).addBatch(sql, args0);
         }
 
         /**
-         * @param lastBatch Whether open data streamers must be flushed and closed after this batch.
-         * @throws SQLException if failed.
+         * Gets stream to the primary node of the row. Partition metadata is retrieved once per stream and is kept if
+         * the metadata connection fails, so that rows of the same key that can be routed always take the same route.
+         *
+         * @param sql Query.
+         * @param args Arguments.
+         * @return Stream to the primary node or {@code null} if the primary node is unknown.
+         * @throws SQLException On error.
          */
-        private void executeBatch(boolean lastBatch) throws SQLException {
-            checkError();
-
-            if (lastBatch)
-                lastRespOrder = order;
+        @Nullable private NodeStream route(String sql, Object[] args) throws SQLException {
+            // Null args means "addBatch(String)" was called on non-prepared Statement.
+            if (!routing || args == null)
+                return null;
 
             try {
-                respSem.acquire();
+                JdbcThinPartitionResultDescriptor partResDesc = partitionResult(new QualifiedSQLQuery(schema, sql));
 
-                sendRequestNotWaitResponse(
-                    new JdbcOrderedBatchExecuteRequest(schema, streamBatch, autoCommit, lastBatch, order),
-                    streamingStickyIo);
+                if (partResDesc == null || partResDesc == JdbcThinPartitionResultDescriptor.EMPTY_DESCRIPTOR)
+                    return null;
 
-                streamBatch = null;
+                Collection<Integer> parts = calculatePartitions(partResDesc, args);
 
-                lastStreamQry = null;
+                if (parts == null || parts.size() != 1)
+                    return null;
 
-                if (lastBatch) {
-                    try {
-                        lastRespFut.get();
-                    }
-                    catch (IgniteCheckedException ignored) {
-                        // No-op.
-                        // No exceptions are expected here.
-                    }
+                UUID[] cacheDistr = cacheDistribution(partResDesc);
 
-                    checkError();
-                }
-                else
-                    order++;
+                return cacheDistr != null ? nodeStream(cacheDistr[parts.iterator().next()]) : null;
             }
-            catch (InterruptedException e) {
-                throw new SQLException("Streaming operation was interrupted", INTERNAL_ERROR, e);
+            catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to retrieve streaming partition metadata, " +
+                    "rows of new queries and caches will be streamed through the single node.", e);
+
+                metaIo.close();
+
+                metaIo = null;
+
+                return null;
             }
         }
 
         /**
-         * Throws at the user thread exception that was thrown at the {@link #asyncRespReaderThread} thread.
+         * Gets stream to the node. Connection to the node may be established after the streaming was started, in
+         * this case the stream is opened on the first row routed to the node.
          *
-         * @throws SQLException Saved exception.
+         * @param nodeId Node ID.
+         * @return Stream to the node or {@code null} if the node is not connected.
+         * @throws SQLException On error.
          */
-        void checkError() throws SQLException {
-            if (err != null) {
-                Exception err0 = err;
+        @Nullable private NodeStream nodeStream(UUID nodeId) throws SQLException {
+            if (nodeStreams.containsKey(nodeId))
+                return nodeStreams.get(nodeId);
+
+            JdbcThinTcpIo io = ios.get(nodeId);
 
-                err = null;
+            if (io == null || !io.connected())
+                return null;
 
-                if (err0 instanceof SQLException)
-                    throw (SQLException)err0;
-                else {
-                    onDisconnect(streamingStickyIo);
+            NodeStream stream = null;
 
-                    if (err0 instanceof SocketTimeoutException)
-                        throw new SQLException("Connection timed out.", CONNECTION_FAILURE, err0);
-                    throw new SQLException("Failed to communicate with Ignite cluster on JDBC streaming.",
-                        CONNECTION_FAILURE, err0);
+            if (io.isStreamPartitionAwarenessSupported()) {
+                try {
+                    JdbcResponse res = io.sendRequest(new JdbcQueryExecuteRequest(JdbcStatementType.ANY_STATEMENT_TYPE,
+                        schema, 1, 1, autoCommit, cmdSql, null), null);
+
+                    if (res.status() == ClientListenerResponse.STATUS_SUCCESS)
+                        stream = new NodeStream(io);
+                    else {
+                        LOG.log(Level.WARNING, "Failed to start streaming on the node, its rows will be streamed " +
+                            "through the single node [nodeId=" + nodeId + ", err=" + res.error() + ']');
+                    }
+                }
+                catch (IOException e) {
+                    LOG.log(Level.WARNING, "Failed to start streaming on the node, its rows will be streamed " +
+                        "through the single node [nodeId=" + nodeId + ']', e);
                 }
             }
+
+            if (stream != null) {
+                // Rows of the node keys were sent through the default stream before, so they are written first.
+                if (ordered)
+                    flush();
+
+                streams.add(stream);
+
+                stream.asyncRespReaderThread.start();
+            }
+
+            nodeStreams.put(nodeId, stream);
+
+            return stream;
+        }
+
+        /**
+         * Makes the server write all the rows sent before and waits for it.
+         *
+         * @throws SQLException On error.
+         */
+        private void flush() throws SQLException {
+            for (NodeStream stream : streams) {
+                if (stream.dirty)
+                    stream.flush();
+            }
+
+            for (NodeStream stream : streams)
+                stream.awaitFlush();
+
+            checkError();
+        }
+
+        /**
+         * @param qry Query.
+         * @return Partition result descriptor or {@code null} if it is not available.
+         * @throws IOException In case of IO error.
+         */
+        @Nullable private JdbcThinPartitionResultDescriptor partitionResult(QualifiedSQLQuery qry) throws IOException {
+            JdbcThinPartitionResultDescriptor partResDesc = partResults.get(qry);
+
+            if (partResDesc != null || metaIo == null)
+                return partResDesc;
+
+            JdbcQueryPrepareRequest req = new JdbcQueryPrepareRequest(qry.schemaName(), qry.sqlQuery());
+
+            req.partitionResponseRequest(true);
+
+            JdbcResponse res = metaIo.sendRequest(req, null);
+
+            PartitionResult partRes = res.status() == ClientListenerResponse.STATUS_SUCCESS ?
+                ((JdbcQueryPrepareResult)res.response()).partitionResult() :
+                null;
+
+            if (partRes != null && partRes.tree() != null) {
+                partResDesc = new JdbcThinPartitionResultDescriptor(partRes,
+                    GridCacheUtils.cacheId(partRes.cacheName()), new PartitionClientContext(partRes.partitionsCount()));
+            }
+            else
+                partResDesc = JdbcThinPartitionResultDescriptor.EMPTY_DESCRIPTOR;
+
+            partResults.put(qry, partResDesc);
+
+            return partResDesc;
+        }
+
+        /**
+         * @param partResDesc Partition result descriptor.
+         * @return Partitions distribution or {@code null} if it is not available.
+         * @throws IOException In case of IO error.
+         */
+        @Nullable private UUID[] cacheDistribution(JdbcThinPartitionResultDescriptor partResDesc) throws IOException {
+            int cacheId = partResDesc.cacheId();
+
+            if (cacheDistrs.containsKey(cacheId) || metaIo == null)
+                return cacheDistrs.get(cacheId);
+
+            JdbcResponse res = metaIo.sendRequest(new JdbcCachePartitionsRequest(Collections.singleton(cacheId)),
+                null);
+
+            UUID[] cacheDistr = null;
+
+            if (res.status() == ClientListenerResponse.STATUS_SUCCESS) {
+                List<JdbcThinPartitionAwarenessMappingGroup> mappings =
+                    ((JdbcCachePartitionsResult)res.response()).getMappings();
+
+                assert mappings.size() == 1;
+
+                cacheDistr = mappings.get(0).revertMappings(partResDesc.partitionResult().partitionsCount());
+            }
+
+            cacheDistrs.put(cacheId, cacheDistr);
+
+            return cacheDistr;
+        }
+
+        /**
+         * Throws at the user thread exception that was thrown at the response reader threads.
+         *
+         * @throws SQLException Saved exception.
+         */
+        void checkError() throws SQLException {
+            for (NodeStream stream : streams)
+                stream.checkError();
         }
 
         /**
@@ -1399,55 +1576,282 @@ public class JdbcThinConnection implements Connection {
         /**
          */
         void close0() {
+            if (closed)
+                return;
+
+            closed = true;
+
             if (connCnt.get() > 0) {
-                try {
-                    executeBatch(true);
-                }
-                catch (SQLException e) {
-                    err = e;
+                // Flush all the streams first, then wait for them.
+                for (NodeStream stream : streams) {
+                    try {
+                        if (stream.io.connected())
+                            stream.executeBatch(true);
+                    }
+                    catch (SQLException e) {
+                        stream.err = e;
 
-                    LOG.log(Level.WARNING, "Exception during batch send on streamed connection close", e);
+                        LOG.log(Level.WARNING, "Exception during batch send on streamed connection close", e);
+                    }
                 }
+
+                for (NodeStream stream : streams)
+                    stream.awaitLastResponse();
             }
 
-            if (asyncRespReaderThread != null)
-                asyncRespReaderThread.interrupt();
+            for (NodeStream stream : streams)
+                stream.asyncRespReaderThread.interrupt();
+
+            if (metaIo != null)
+                metaIo.close();
         }
 
         /**
-         *
+         * Stream to a single node.
          */
-        void readResponses() {
-            try {
-                while (true) {
-                    JdbcResponse resp = streamingStickyIo.readResponse();
+        private class NodeStream {
+            /** Ignite endpoint. */
+            private final JdbcThinTcpIo io;
 
-                    if (resp.response() instanceof JdbcOrderedBatchExecuteResult) {
-                        JdbcOrderedBatchExecuteResult res = (JdbcOrderedBatchExecuteResult)resp.response();
+            /** Batch for streaming. */
+            private List<JdbcQuery> streamBatch;
 
-                        respSem.release();
+            /** Last added query to recognize batches. */
+            private String lastStreamQry;
 
-                        if (res.errorCode() != ClientListenerResponse.STATUS_SUCCESS) {
-                            err = new BatchUpdateException(res.errorMessage(),
-                                IgniteQueryErrorCode.codeToSqlState(res.errorCode()),
-                                res.errorCode(), res.updateCounts());
-                        }
+            /** Keep request order on execution. */
+            private long order;
 
-                        // Receive the response for the last request.
-                        if (res.order() == lastRespOrder) {
-                            lastRespFut.onDone();
+            /** Async response reader thread. */
+            private final Thread asyncRespReaderThread;
 
-                            break;
-                        }
+            /** Async response error. */
+            private volatile Exception err;
+
+            /** The order of the last batch request at the stream. */
+            private long lastRespOrder = -1;
+
+            /** Last response future. */
+            private final GridFutureAdapter<Void> lastRespFut = new GridFutureAdapter<>();
+
+            /** Response semaphore sem. */
+            private Semaphore respSem = new Semaphore(MAX_REQUESTS_BEFORE_RESPONSE);
+
+            /** Whether rows were sent since the last flush. */
+            private boolean dirty;
+
+            /** The order of the last flush request. */
+            private volatile long flushOrder = -1;
+
+            /** Last flush future. */
+            private volatile GridFutureAdapter<Void> flushFut;
+
+            /**
+             * @param io Ignite endpoint.
+             */
+            NodeStream(JdbcThinTcpIo io) {
+                this.io = io;
+
+                asyncRespReaderThread = new Thread(this::readResponses);
+            }
+
+            /**
+             * Add another query for batched execution.
+             *
+             * @param sql Query.
+             * @param args Arguments.
+             * @throws SQLException On error.
+             */
+            void addBatch(String sql, Object[] args) throws SQLException {
+                boolean newQry = (args == null || !F.eq(lastStreamQry, sql));
+
+                // Providing null as SQL here allows for recognizing subbatches on server and handling them more
+                // efficiently.
+                JdbcQuery q = new JdbcQuery(newQry ? sql : null, args);
+
+                if (streamBatch == null)
+                    streamBatch = new ArrayList<>(streamBatchSize);
+
+                streamBatch.add(q);
+
+                dirty = true;
+
+                // Null args means "addBatch(String)" was called on non-prepared Statement,
+                // we don't want to remember its query string.
+                lastStreamQry = (args != null ? sql : null);
+
+                if (streamBatch.size() == streamBatchSize)
+                    executeBatch(false);
+            }
+
+            /**
+             * @param lastBatch Whether open data streamers must be flushed and closed after this batch.
+             * @throws SQLException if failed.
+             */
+            private void executeBatch(boolean lastBatch) throws SQLException {
+                checkError();
+
+                if (lastBatch)
+                    lastRespOrder = order;
+
+                try {
+                    respSem.acquire();
+
+                    sendRequestNotWaitResponse(
+                        new JdbcOrderedBatchExecuteRequest(schema, streamBatch, autoCommit, lastBatch, order), io);
+
+                    streamBatch = null;
+
+                    lastStreamQry = null;
+
+                    if (!lastBatch)
+                        order++;
+                }
+                catch (InterruptedException e) {
+                    throw new SQLException("Streaming operation was interrupted", INTERNAL_ERROR, e);
+                }
+            }
+
+            /**
+             * Sends the current batch and the request to write all the rows sent through the stream.
+             *
+             * @throws SQLException if failed.
+             */
+            private void flush() throws SQLException {
+                if (streamBatch != null)
+                    executeBatch(false);
+
+                // The future is set before the error check, so that it is completed if the reader fails.
+                flushOrder = order;
+                flushFut = new GridFutureAdapter<>();
+
+                checkError();
+
+                try {
+                    respSem.acquire();
+
+                    // Empty batch makes the server flush the data streamers of the connection.
+                    sendRequestNotWaitResponse(new JdbcOrderedBatchExecuteRequest(schema, Collections.emptyList(),
+                        autoCommit, false, order), io);
+
+                    order++;
+
+                    dirty = false;
+                }
+                catch (InterruptedException e) {
+                    throw new SQLException("Streaming operation was interrupted", INTERNAL_ERROR, e);
+                }
+            }
+
+            /**
+             * Waits for the response to the last flush request.
+             */
+            private void awaitFlush() {
+                GridFutureAdapter<Void> fut = flushFut;
+
+                if (fut == null)
+                    return;
+
+                try {
+                    fut.get();
+                }
+                catch (IgniteCheckedException ignored) {
+                    // No-op.
+                    // No exceptions are expected here.
+                }
+
+                flushFut = null;
+            }
+
+            /**
+             * Waits for the response to the last batch.
+             */
+            private void awaitLastResponse() {
+                if (lastRespOrder < 0 || err != null)
+                    return;
+
+                try {
+                    lastRespFut.get();
+                }
+                catch (IgniteCheckedException ignored) {
+                    // No-op.
+                    // No exceptions are expected here.
+                }
+            }
+
+            /**
+             * Throws at the user thread exception that was thrown at the {@link #asyncRespReaderThread} thread.
+             *
+             * @throws SQLException Saved exception.
+             */
+            void checkError() throws SQLException {
+                if (err != null) {
+                    Exception err0 = err;
+
+                    err = null;
+
+                    if (err0 instanceof SQLException)
+                        throw (SQLException)err0;
+                    else {
+                        onDisconnect(io);
+
+                        if (err0 instanceof SocketTimeoutException)
+                            throw new SQLException("Connection timed out.", CONNECTION_FAILURE, err0);
+                        throw new SQLException("Failed to communicate with Ignite cluster on JDBC streaming.",
+                            CONNECTION_FAILURE, err0);
                     }
-                    else if (resp.status() != ClientListenerResponse.STATUS_SUCCESS)
-                        err = new SQLException(resp.error(), IgniteQueryErrorCode.codeToSqlState(resp.status()));
-                    else
-                        assert false : "Invalid response: " + resp;
                 }
             }
-            catch (Exception e) {
-                err = e;
+
+            /**
+             *
+             */
+            void readResponses() {
+                try {
+                    while (true) {
+                        JdbcResponse resp = io.readResponse();
+
+                        if (resp.response() instanceof JdbcOrderedBatchExecuteResult) {
+                            JdbcOrderedBatchExecuteResult res = (JdbcOrderedBatchExecuteResult)resp.response();
+
+                            respSem.release();
+
+                            if (res.errorCode() != ClientListenerResponse.STATUS_SUCCESS) {
+                                err = new BatchUpdateException(res.errorMessage(),
+                                    IgniteQueryErrorCode.codeToSqlState(res.errorCode()),
+                                    res.errorCode(), res.updateCounts());
+                            }
+
+                            if (res.order() == flushOrder) {
+                                GridFutureAdapter<Void> fut = flushFut;
+
+                                if (fut != null)
+                                    fut.onDone();
+                            }
+
+                            // Receive the response for the last request.
+                            if (res.order() == lastRespOrder) {
+                                lastRespFut.onDone();
+
+                                break;
+                            }
+                        }
+                        else if (resp.status() != ClientListenerResponse.STATUS_SUCCESS)
+                            err = new SQLException(resp.error(), IgniteQueryErrorCode.codeToSqlState(resp.status()));
+                        else
+                            assert false : "Invalid response: " + resp;
+                    }
+                }
+                catch (Exception e) {
+                    err = e;
+
+                    lastRespFut.onDone();
+
+                    GridFutureAdapter<Void> fut = flushFut;
+
+                    if (fut != null)
+                        fut.onDone();
+                }
             }
         }
     }
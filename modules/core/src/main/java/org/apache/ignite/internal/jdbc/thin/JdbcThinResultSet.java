@@ -47,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import org.apache.ignite.internal.processors.odbc.SqlStateCode;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcColumnMeta;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcColumnarPage;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryCloseRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryFetchRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryFetchResult;
@@ -271,6 +272,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public String getString(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isString(colIdx - 1))
+            return (String)row.get(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         return val == null ? null : String.valueOf(val);
@@ -278,6 +284,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public boolean getBoolean(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? false : row.booleanValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -303,6 +314,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public byte getByte(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.byteValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -328,6 +344,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public short getShort(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.shortValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -353,6 +374,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public int getInt(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.intValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -378,6 +404,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public long getLong(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.longValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -403,6 +434,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public float getFloat(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.floatValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -428,6 +464,11 @@ public class JdbcThinResultSet implements ResultSet {
 
     /** {@inheritDoc} */
     @Override public double getDouble(int colIdx) throws SQLException {
+        JdbcColumnarPage.Row row = columnarRow(colIdx);
+
+        if (row != null && row.isPrimitive(colIdx - 1))
+            return wasNull ? 0 : row.doubleValue(colIdx - 1);
+
         Object val = getValue(colIdx);
 
         if (val == null)
@@ -1859,6 +1900,30 @@ public class JdbcThinResultSet implements ResultSet {
         }
     }
 
+    /**
+     * Gets current row if it is a row of columnar page, so that its values can be accessed without boxing.
+     *
+     * @param colIdx Column index.
+     * @return Current row or {@code null} if rows are not columnar.
+     * @throws SQLException On error.
+     */
+    private JdbcColumnarPage.Row columnarRow(int colIdx) throws SQLException {
+        ensureAlive();
+        ensureHasCurrentRow();
+
+        if (!(curRow instanceof JdbcColumnarPage.Row))
+            return null;
+
+        JdbcColumnarPage.Row row = (JdbcColumnarPage.Row)curRow;
+
+        if (colIdx < 1 || colIdx > row.size())
+            throw new SQLException("Invalid column index: " + colIdx, SqlStateCode.PARSING_EXCEPTION);
+
+        wasNull = row.isNull(colIdx - 1);
+
+        return row;
+    }
+
     /**
      * Ensures that result set is not closed.
      *
@@ -22,7 +22,11 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
@@ -36,15 +40,19 @@ import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.odbc.ClientListenerNioListener;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
+import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 import org.apache.ignite.internal.processors.odbc.SqlStateCode;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcBatchExecuteRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcOrderedBatchExecuteRequest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcPreparedStatementCloseRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQuery;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryCancelRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryCloseRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryExecuteRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryFetchRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryMetadataRequest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryPrepareRequest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryPrepareResult;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcResponse;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcUtils;
@@ -84,8 +92,17 @@ public class JdbcThinTcpIo {
     /** Version 2.8.1. */
     private static final ClientListenerProtocolVersion VER_2_8_1 = ClientListenerProtocolVersion.create(2, 8, 1);
 
+    /** Version 2.8.2: adds columnar result pages. */
+    private static final ClientListenerProtocolVersion VER_2_8_2 = ClientListenerProtocolVersion.create(2, 8, 2);
+
+    /** Version 2.8.3: adds server-side prepared statements. */
+    private static final ClientListenerProtocolVersion VER_2_8_3 = ClientListenerProtocolVersion.create(2, 8, 3);
+
+    /** Version 2.8.4: adds partition result to prepared statement response. */
+    private static final ClientListenerProtocolVersion VER_2_8_4 = ClientListenerProtocolVersion.create(2, 8, 4);
+
     /** Current version. */
-    private static final ClientListenerProtocolVersion CURRENT_VER = VER_2_8_1;
+    private static final ClientListenerProtocolVersion CURRENT_VER = VER_2_8_4;
 
     /** Initial output stream capacity for handshake. */
     private static final int HANDSHAKE_MSG_SIZE = 13;
@@ -105,6 +122,9 @@ public class JdbcThinTcpIo {
     /** Initial output for query close message. */
     private static final int QUERY_CLOSE_MSG_SIZE = 9;
 
+    /** Maximum count of server-side prepared statements kept per connection. */
+    private static final int MAX_PREPARED_STMT_CNT = 1024;
+
     /** Random. */
     private static final AtomicLong IDX_GEN = new AtomicLong(new Random(U.currentTimeMillis()).nextLong());
 
@@ -138,6 +158,9 @@ public class JdbcThinTcpIo {
     /** Current protocol version used to connection to Ignite. */
     private final ClientListenerProtocolVersion srvProtoVer;
 
+    /** IDs of statements prepared on the server, in access order. */
+    private final LinkedHashMap<QualifiedSQLQuery, Long> preparedStmts = new LinkedHashMap<>(16, 0.75f, true);
+
     /**
      * Start connection and perform handshake.
      *
@@ -259,6 +282,9 @@ public class JdbcThinTcpIo {
         if (ver.compareTo(VER_2_8_1) >= 0)
             JdbcUtils.writeNullableLong(writer, connProps.getQueryMaxMemory());
 
+        if (ver.compareTo(VER_2_8_2) >= 0)
+            writer.writeBoolean(connProps.isColumnarResults());
+
         if (!F.isEmpty(connProps.getUsername())) {
             assert ver.compareTo(VER_2_5_0) >= 0 : "Authentication is supported since 2.5";
 
@@ -315,7 +341,11 @@ public class JdbcThinTcpIo {
                     + ", url=" + connProps.getUrl() + " address=" + sockAddr + ']', SqlStateCode.CONNECTION_REJECTED);
             }
 
-            if (VER_2_7_0.equals(srvProtoVer0)
+            if (VER_2_8_3.equals(srvProtoVer0)
+                || VER_2_8_2.equals(srvProtoVer0)
+                || VER_2_8_1.equals(srvProtoVer0)
+                || VER_2_8_0.equals(srvProtoVer0)
+                || VER_2_7_0.equals(srvProtoVer0)
                 || VER_2_5_0.equals(srvProtoVer0)
                 || VER_2_4_0.equals(srvProtoVer0)
                 || VER_2_3_0.equals(srvProtoVer0)
@@ -407,6 +437,31 @@ public class JdbcThinTcpIo {
      * @throws IOException In case of IO error.
      */
     JdbcResponse sendRequest(JdbcRequest req, JdbcThinStatement stmt) throws IOException {
+        List<QualifiedSQLQuery> preparedQrys = stmt instanceof JdbcThinPreparedStatement ?
+            bindPreparedStatement(req) : null;
+
+        JdbcResponse resp = sendRequest0(req, stmt);
+
+        // The statement is not executed if a prepared statement is not found, so the query text can be sent instead.
+        if (preparedQrys != null && resp.status() == IgniteQueryErrorCode.PREPARED_STMT_NOT_FOUND) {
+            for (QualifiedSQLQuery qry : preparedQrys)
+                preparedStmts.remove(qry);
+
+            unbindPreparedStatement(req);
+
+            resp = sendRequest0(req, stmt);
+        }
+
+        return resp;
+    }
+
+    /**
+     * @param req Request.
+     * @param stmt Statement.
+     * @return Server response.
+     * @throws IOException In case of IO error.
+     */
+    private JdbcResponse sendRequest0(JdbcRequest req, JdbcThinStatement stmt) throws IOException {
         if (stmt != null) {
             synchronized (stmt.cancellationMutex()) {
                 if (stmt.isCancelled()) {
@@ -432,6 +487,111 @@ public class JdbcThinTcpIo {
             resp;
     }
 
+    /**
+     * Replaces the query text of the request with the ID of the statement prepared on the server. The statement is
+     * prepared on the first use, the query text is sent as is if the server does not support prepared statements or
+     * fails to prepare the query.
+     *
+     * @param req Request.
+     * @return Bound queries or {@code null} if the query text is sent.
+     * @throws IOException In case of IO error.
+     */
+    private List<QualifiedSQLQuery> bindPreparedStatement(JdbcRequest req) throws IOException {
+        if (srvProtoVer.compareTo(VER_2_8_3) < 0)
+            return null;
+
+        if (req instanceof JdbcQueryExecuteRequest) {
+            JdbcQueryExecuteRequest qryReq = (JdbcQueryExecuteRequest)req;
+
+            QualifiedSQLQuery qry = new QualifiedSQLQuery(qryReq.schemaName(), qryReq.sqlQuery());
+
+            long stmtId = preparedStatementId(qry);
+
+            qryReq.statementId(stmtId);
+
+            return stmtId != 0 ? Collections.singletonList(qry) : null;
+        }
+        else if (req instanceof JdbcBatchExecuteRequest && !(req instanceof JdbcOrderedBatchExecuteRequest)) {
+            JdbcBatchExecuteRequest batchReq = (JdbcBatchExecuteRequest)req;
+
+            List<QualifiedSQLQuery> bound = null;
+
+            for (JdbcQuery q : batchReq.queries()) {
+                if (q.sql() == null)
+                    continue;
+
+                QualifiedSQLQuery qry = new QualifiedSQLQuery(batchReq.schemaName(), q.sql());
+
+                long stmtId = preparedStatementId(qry);
+
+                q.statementId(stmtId);
+
+                if (stmtId != 0) {
+                    if (bound == null)
+                        bound = new ArrayList<>();
+
+                    bound.add(qry);
+                }
+            }
+
+            return bound;
+        }
+
+        return null;
+    }
+
+    /**
+     * Makes the request send the query text instead of prepared statement IDs.
+     *
+     * @param req Request.
+     */
+    private void unbindPreparedStatement(JdbcRequest req) {
+        if (req instanceof JdbcQueryExecuteRequest)
+            ((JdbcQueryExecuteRequest)req).statementId(0);
+        else if (req instanceof JdbcBatchExecuteRequest) {
+            for (JdbcQuery q : ((JdbcBatchExecuteRequest)req).queries())
+                q.statementId(0);
+        }
+    }
+
+    /**
+     * Gets ID of the statement prepared on the server, prepares the statement if needed.
+     *
+     * @param qry Query.
+     * @return Prepared statement ID or {@code 0} if the statement cannot be prepared.
+     * @throws IOException In case of IO error.
+     */
+    private long preparedStatementId(QualifiedSQLQuery qry) throws IOException {
+        Long stmtId = preparedStmts.get(qry);
+
+        if (stmtId != null)
+            return stmtId;
+
+        sendRequestRaw(new JdbcQueryPrepareRequest(qry.schemaName(), qry.sqlQuery()));
+
+        JdbcResponse resp = readResponse();
+
+        // Errors are reported on the query execution.
+        if (resp.status() != ClientListenerResponse.STATUS_SUCCESS)
+            return 0;
+
+        stmtId = ((JdbcQueryPrepareResult)resp.response()).statementId();
+
+        preparedStmts.put(qry, stmtId);
+
+        if (preparedStmts.size() > MAX_PREPARED_STMT_CNT) {
+            Map.Entry<QualifiedSQLQuery, Long> eldest = preparedStmts.entrySet().iterator().next();
+
+            preparedStmts.remove(eldest.getKey());
+
+            sendRequestRaw(new JdbcPreparedStatementCloseRequest(eldest.getValue()));
+
+            readResponse();
+        }
+
+        return stmtId;
+    }
+
     /**
      * Sends cancel request.
      *
@@ -613,6 +773,15 @@ public class JdbcThinTcpIo {
         return srvProtoVer.compareTo(VER_2_8_0) >= 0;
     }
 
+    /**
+     * @return True if partitions of the streamed rows could be derived on the client side, false otherwise.
+     */
+    boolean isStreamPartitionAwarenessSupported() {
+        assert srvProtoVer != null;
+
+        return srvProtoVer.compareTo(VER_2_8_4) >= 0;
+    }
+
     /**
      * Get next server index.
      *
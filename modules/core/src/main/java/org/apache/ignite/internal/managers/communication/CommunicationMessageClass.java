@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.managers.communication;
+
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+
+/**
+ * Classes of {@link GridIoMessage}s which can be sent over separate connections so that large messages do not
+ * delay small latency sensitive ones.
+ * <p>
+ * Messages of different classes may be delivered out of order. Within a class the order is kept for messages
+ * of the same transaction and for other messages sent by the same thread, see {@link GridIoMessage#connectionKey()}.
+ *
+ * @see GridIoMessage#messageClass()
+ * @see TcpCommunicationSpi#setMessageClassConnections(boolean)
+ */
+public enum CommunicationMessageClass {
+    /** Exchange, affinity, compute and other system messages. */
+    SYSTEM,
+
+    /** Transaction and lock messages. */
+    TX,
+
+    /** Atomic update, get and other cache messages. */
+    DATA,
+
+    /** Rebalancing, data streamer, query result pages and ordered messages. */
+    BULK
+}
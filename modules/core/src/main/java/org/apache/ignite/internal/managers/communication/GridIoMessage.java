@@ -20,7 +20,12 @@ import java.io.Externalizable;
 import java.nio.ByteBuffer;
 import org.apache.ignite.internal.ExecutorAwareMessage;
 import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.processors.cache.GridCacheIdMessage;
 import org.apache.ignite.internal.processors.cache.GridCacheMessage;
+import org.apache.ignite.internal.processors.cache.distributed.GridDistributedBaseMessage;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionDemandMessage;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionSupplyMessage;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.datastreamer.DataStreamerRequest;
 import org.apache.ignite.internal.processors.tracing.messages.SpanTransport;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
@@ -369,6 +374,47 @@ public class GridIoMessage implements Message, SpanTransport {
             return STRIPE_DISABLED_PART;
     }
 
+    /**
+     * @return Message class.
+     */
+    public CommunicationMessageClass messageClass() {
+        boolean bulkPlc = plc == GridIoPolicy.DATA_STREAMER_POOL || plc == GridIoPolicy.QUERY_POOL ||
+            plc == GridIoPolicy.REBALANCE_POOL;
+
+        if (bulkPlc || ordered || msg instanceof GridDhtPartitionSupplyMessage ||
+            msg instanceof GridDhtPartitionDemandMessage)
+            return CommunicationMessageClass.BULK;
+
+        if (msg instanceof GridDistributedBaseMessage)
+            return CommunicationMessageClass.TX;
+
+        if (msg instanceof GridCacheIdMessage)
+            return CommunicationMessageClass.DATA;
+
+        return CommunicationMessageClass.SYSTEM;
+    }
+
+    /**
+     * Gets key which pins the message to a connection of its {@link #messageClass() class}, so that messages
+     * with equal keys are delivered in the order they were sent regardless of the sending thread.
+     * <p>
+     * Only transaction and lock messages have a key, all of them are keyed by the transaction. Other messages
+     * are pinned to a connection by the sending thread only, so that all messages of a class sent by a thread
+     * keep their order. Cache messages of a partition are sent by the thread of the partition stripe.
+     *
+     * @return Transaction version hash for transaction and lock messages or {@code -1} if the message is pinned
+     *      to a connection by the sending thread.
+     */
+    public int connectionKey() {
+        if (msg instanceof GridDistributedBaseMessage) {
+            GridCacheVersion ver = ((GridDistributedBaseMessage)msg).version();
+
+            return ver != null ? ver.hashCode() & Integer.MAX_VALUE : 0;
+        }
+
+        return -1;
+    }
+
     /**
      * @return Executor name (if available).
      */
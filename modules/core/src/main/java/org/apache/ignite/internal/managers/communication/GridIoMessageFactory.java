@@ -80,6 +80,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtTxQuer
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtUnlockRequest;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridInvokeValue;
 import org.apache.ignite.internal.processors.cache.distributed.dht.PartitionUpdateCountersMessage;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicBatchUpdateRequest;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicDeferredUpdateResponse;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicNearResponse;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicSingleUpdateRequest;
@@ -185,6 +186,7 @@ import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.plugin.extensions.communication.MessageFactory;
 import org.apache.ignite.spi.collision.jobstealing.JobStealingRequest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.apache.ignite.spi.communication.tcp.messages.CompressedMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage2;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeWaitMessage;
@@ -316,6 +318,11 @@ public class GridIoMessageFactory implements MessageFactory {
 
                 break;
 
+            case TcpCommunicationSpi.COMPRESSED_MSG_TYPE:
+                msg = new CompressedMessage();
+
+                break;
+
             case 0:
                 msg = new GridJobCancelRequest();
 
@@ -1062,6 +1069,11 @@ public class GridIoMessageFactory implements MessageFactory {
 
                 break;
 
+            case 175:
+                msg = new GridDhtAtomicBatchUpdateRequest();
+
+                break;
+
             case GridQueryKillRequest.TYPE_CODE:
                 msg = new GridQueryKillRequest();
 
@@ -1077,7 +1089,7 @@ public class GridIoMessageFactory implements MessageFactory {
 
                 break;
 
-            // [-3..119] [124..129] [-23..-28] [-36..-55] - this
+            // [-3..119] [124..129] [-23..-29] [-36..-55] - this
             // [120..123] - DR
             // [-4..-22, -30..-35] - SQL
             // [2048..2053] - Snapshots
@@ -480,6 +480,23 @@ public class CacheGroupMetricsImpl {
         return sparseStorageSize == null ? 0 : sparseStorageSize.value();
     }
 
+    /**
+     * Updates the duration of partition map exchange stage for this cache group.
+     *
+     * @param stage Stage metric name.
+     * @param duration Duration in milliseconds.
+     */
+    public void exchangeStageDuration(String stage, long duration) {
+        // Do not recreate the registry of a group that is being stopped.
+        MetricRegistry mreg = ctx.shared().kernalContext().metric().registries().get(metricGroupName());
+
+        if (mreg == null)
+            return;
+
+        mreg.longMetric("Pme" + stage + "Duration",
+            "Duration of the last partition map exchange stage for this cache group in milliseconds.").value(duration);
+    }
+
     /** Removes all metric for cache group. */
     public void remove() {
         ctx.shared().kernalContext().metric().remove(metricGroupName());
@@ -310,6 +310,40 @@ public class CacheMetricsImpl implements CacheMetrics {
 
         rebalanceClearingPartitions = mreg.longMetric("RebalanceClearingPartitionsLeft",
             "Number of partitions need to be cleared before actual rebalance start.");
+
+        if (store != null) {
+            mreg.register("WriteBehindBufferSize",
+                store::getWriteBehindBufferSize,
+                "Count of entries in the write-behind buffer waiting to be flushed to the store.");
+
+            mreg.register("WriteBehindUpdates",
+                store::getWriteBehindUpdatesCount,
+                "Count of updates processed by the write-behind store.");
+
+            mreg.register("WriteBehindCoalescedUpdates",
+                store::getWriteBehindCoalescedUpdatesCount,
+                "Count of updates which replaced a not yet flushed update of the same key.");
+
+            mreg.register("WriteBehindCoalescingRatio",
+                store::getWriteBehindCoalescingRatio,
+                "Ratio of coalesced updates to the total count of write-behind updates.");
+
+            mreg.register("WriteBehindFlushedBatches",
+                store::getWriteBehindFlushedBatchesCount,
+                "Count of batches written to the store by the write-behind store.");
+
+            mreg.register("WriteBehindFlushedEntries",
+                store::getWriteBehindFlushedEntriesCount,
+                "Count of entries written to the store by the write-behind store.");
+
+            mreg.register("WriteBehindFlushTime",
+                store::getWriteBehindFlushTime,
+                "Total time of the write-behind store updates, in nanoseconds.");
+
+            mreg.register("WriteBehindCurrentBatchSize",
+                store::getWriteBehindCurrentBatchSize,
+                "Average batch size currently used by write-behind flusher threads.");
+        }
     }
 
     /**
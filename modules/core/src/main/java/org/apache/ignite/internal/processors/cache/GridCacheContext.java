@@ -105,6 +105,7 @@ import org.apache.ignite.internal.util.typedef.internal.GPC;
 import org.apache.ignite.internal.util.typedef.internal.GPR;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteClosure;
 import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.lang.IgniteUuid;
 import org.apache.ignite.marshaller.Marshaller;
@@ -1490,6 +1491,41 @@ public class GridCacheContext<K, V> implements Externalizable {
         };
     }
 
+    /**
+     * Creates closure that can be executed safely in a different thread inheriting
+     * the same thread local projection as for the current thread. If no projection is
+     * set for current thread then there's no need to create new object and method simply
+     * returns given closure.
+     *
+     * @param c Closure.
+     * @return Closure that can be executed in a different thread with the same
+     *      projection as for current thread.
+     */
+    public <E, R> IgniteClosure<E, R> projectSafe(final IgniteClosure<E, R> c) {
+        assert c != null;
+
+        // Have to get operation context per call used by calling thread to use it in a new thread.
+        final CacheOperationContext opCtx = operationContextPerCall();
+
+        if (opCtx == null)
+            return c;
+
+        return new C1<E, R>() {
+            @Override public R apply(E e) {
+                CacheOperationContext old = operationContextPerCall();
+
+                operationContextPerCall(opCtx);
+
+                try {
+                    return c.apply(e);
+                }
+                finally {
+                    operationContextPerCall(old);
+                }
+            }
+        };
+    }
+
     /**
      * @return {@code True} if deployment is enabled.
      */
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteInClosure;
+
+/**
+ * Index of keys of entries with expiration time grouped into time buckets of a fixed width. Used by
+ * {@link GridCacheTtlManager} instead of the pending entries tree if
+ * {@link CacheConfiguration#getExpiryBucketWidth()} is set.
+ * <p>
+ * A key is kept in the bucket covering the expiration time of the entry. The bucket of each key is tracked, so
+ * an update of the entry moves the key to the new bucket (or leaves it in place if the bucket is the same) and a
+ * removal of the entry removes the key, so the index holds each key at most once. A bucket is taken out of the
+ * index as a whole once all its entries are expired. Since the actual expiration time of an entry is checked when
+ * the expired entry is removed, keys of the entries updated after their bucket was taken out are skipped.
+ */
+public class GridCacheExpiryTimeBuckets {
+    /** Number of stripes of a bucket. */
+    private static final int STRIPES = Math.max(U.ceilPow2(Runtime.getRuntime().availableProcessors()), 1);
+
+    /** Bucket width in milliseconds. */
+    private final long width;
+
+    /** Buckets by index, bucket with index {@code i} holds keys expiring before {@code i * width}. */
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /** Buckets of the keys. */
+    @GridToStringExclude
+    private final ConcurrentHashMap<KeyCacheObject, Bucket> keyBuckets = new ConcurrentHashMap<>();
+
+    /** Keys of taken out buckets which are not processed yet. */
+    private final ConcurrentLinkedQueue<KeyCacheObject> due = new ConcurrentLinkedQueue<>();
+
+    /** Number of keys in the index. */
+    private final LongAdder size = new LongAdder();
+
+    /** Number of processed keys. */
+    private final LongAdder processed = new LongAdder();
+
+    /** Delay between expiration of the last taken out bucket and the moment it was taken out. */
+    private volatile long lag;
+
+    /**
+     * @param width Bucket width in milliseconds.
+     */
+    public GridCacheExpiryTimeBuckets(long width) {
+        assert width > 0 : width;
+
+        this.width = width;
+    }
+
+    /**
+     * Adds the key to the bucket covering the expiration time, or moves it there from the bucket it was added to
+     * before. Updates of the same key must not be concurrent.
+     *
+     * @param key Key.
+     * @param expireTime Entry expiration time.
+     */
+    public void add(KeyCacheObject key, long expireTime) {
+        assert expireTime > 0 : expireTime;
+
+        long idx = expireTime / width + 1;
+
+        while (true) {
+            Bucket b = buckets.computeIfAbsent(idx, Bucket::new);
+
+            Bucket prev = keyBuckets.put(key, b);
+
+            // Key is already in the bucket, or in the taken out bucket and will be processed anyway.
+            if (prev == b)
+                return;
+
+            if (prev != null && prev.remove(key))
+                size.decrement();
+
+            if (b.add(key)) {
+                size.increment();
+
+                return;
+            }
+
+            // Bucket fails to accept the key only if it is taken out concurrently, retry with a new one.
+            keyBuckets.remove(key, b);
+        }
+    }
+
+    /**
+     * Removes the key of the removed entry.
+     *
+     * @param key Key.
+     */
+    public void remove(KeyCacheObject key) {
+        Bucket b = keyBuckets.remove(key);
+
+        if (b != null && b.remove(key))
+            size.decrement();
+    }
+
+    /**
+     * @param now Current time.
+     * @return {@code True} if there are expired buckets or unprocessed keys of taken out buckets.
+     */
+    public boolean hasExpired(long now) {
+        if (!due.isEmpty())
+            return true;
+
+        Map.Entry<Long, Bucket> e = buckets.firstEntry();
+
+        return e != null && e.getKey() * width <= now;
+    }
+
+    /**
+     * Applies the closure to keys of the expired buckets.
+     *
+     * @param now Current time.
+     * @param amount Limit of processed keys by single call, {@code -1} for no limit.
+     * @param c Closure.
+     * @return Number of processed keys.
+     */
+    public int expire(long now, int amount, IgniteInClosure<KeyCacheObject> c) {
+        int cnt = 0;
+
+        while (amount == -1 || cnt < amount) {
+            KeyCacheObject key = due.poll();
+
+            if (key == null) {
+                if (!pollExpiredBucket(now))
+                    break;
+
+                continue;
+            }
+
+            size.decrement();
+
+            processed.increment();
+
+            cnt++;
+
+            c.apply(key);
+        }
+
+        return cnt;
+    }
+
+    /**
+     * Takes out the first bucket if it is expired.
+     *
+     * @param now Current time.
+     * @return {@code True} if a bucket was taken out.
+     */
+    private boolean pollExpiredBucket(long now) {
+        while (true) {
+            Map.Entry<Long, Bucket> e = buckets.firstEntry();
+
+            if (e == null || e.getKey() * width > now)
+                return false;
+
+            Bucket b = e.getValue();
+
+            if (buckets.remove(e.getKey(), b)) {
+                b.drainTo(due, keyBuckets);
+
+                lag = now - b.idx * width;
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return Number of keys in the index, each key is counted once.
+     */
+    public long size() {
+        return Math.max(size.sum(), 0);
+    }
+
+    /**
+     * @return Number of processed keys.
+     */
+    public long processed() {
+        return processed.sum();
+    }
+
+    /**
+     * @return Delay in milliseconds between expiration of the last taken out bucket and the moment it was taken out.
+     */
+    public long lag() {
+        return lag;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public void clear() {
+        buckets.clear();
+        due.clear();
+        keyBuckets.clear();
+
+        size.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheExpiryTimeBuckets.class, this);
+    }
+
+    /**
+     * Time bucket.
+     */
+    private static class Bucket {
+        /** Bucket index. */
+        private final long idx;
+
+        /** Stripes, picked by key hash code to reduce contention on adding keys to the same bucket. */
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        /**
+         * @param idx Bucket index.
+         */
+        private Bucket(long idx) {
+            this.idx = idx;
+
+            for (int i = 0; i < stripes.length; i++)
+                stripes[i] = new Stripe();
+        }
+
+        /**
+         * @param key Key.
+         * @return Stripe of the key.
+         */
+        private Stripe stripe(KeyCacheObject key) {
+            return stripes[key.hashCode() & (stripes.length - 1)];
+        }
+
+        /**
+         * @param key Key.
+         * @return {@code False} if bucket is already taken out.
+         */
+        private boolean add(KeyCacheObject key) {
+            Stripe s = stripe(key);
+
+            synchronized (s) {
+                if (s.closed)
+                    return false;
+
+                if (s.keys == null)
+                    s.keys = new HashSet<>();
+
+                s.keys.add(key);
+            }
+
+            return true;
+        }
+
+        /**
+         * @param key Key.
+         * @return {@code True} if the key was in the bucket, {@code false} if it was not or the bucket is already
+         *      taken out.
+         */
+        private boolean remove(KeyCacheObject key) {
+            Stripe s = stripe(key);
+
+            synchronized (s) {
+                return s.keys != null && s.keys.remove(key);
+            }
+        }
+
+        /**
+         * Closes the bucket and moves all its keys to the given queue.
+         *
+         * @param q Queue.
+         * @param keyBuckets Buckets of the keys to forget the taken out keys in.
+         */
+        private void drainTo(ConcurrentLinkedQueue<KeyCacheObject> q, Map<KeyCacheObject, Bucket> keyBuckets) {
+            for (Stripe s : stripes) {
+                Set<KeyCacheObject> keys;
+
+                synchronized (s) {
+                    s.closed = true;
+
+                    keys = s.keys;
+
+                    s.keys = null;
+                }
+
+                if (keys != null) {
+                    for (KeyCacheObject key : keys)
+                        keyBuckets.remove(key, this);
+
+                    q.addAll(keys);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bucket stripe.
+     */
+    private static class Stripe {
+        /** Keys. */
+        private Set<KeyCacheObject> keys;
+
+        /** Closed flag. */
+        private boolean closed;
+    }
+}
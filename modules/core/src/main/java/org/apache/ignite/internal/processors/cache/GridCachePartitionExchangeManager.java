@@ -157,6 +157,7 @@ import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.GridTopic.TOPIC_CACHE;
+import static org.apache.ignite.internal.IgniteFeatures.COMPACT_PARTITION_COUNTERS;
 import static org.apache.ignite.internal.IgniteFeatures.TRANSACTION_OWNER_THREAD_DUMP_PROVIDING;
 import static org.apache.ignite.internal.IgniteFeatures.allNodesSupports;
 import static org.apache.ignite.internal.events.DiscoveryCustomEvent.EVT_DISCOVERY_CUSTOM_EVT;
@@ -1451,6 +1452,11 @@ public class GridCachePartitionExchangeManager<K, V> extends GridCacheSharedMana
 
         m.compressed(compress);
 
+        if (newCntrMap && exchId != null) {
+            m.compactCounters(
+                allNodesSupports(cctx.kernalContext(), cctx.discovery().allNodes(), COMPACT_PARTITION_COUNTERS));
+        }
+
         final Map<Object, T2<Integer, GridDhtPartitionFullMap>> dupData = new HashMap<>();
 
         Map<Integer, Map<Integer, Long>> partsSizes = new HashMap<>();
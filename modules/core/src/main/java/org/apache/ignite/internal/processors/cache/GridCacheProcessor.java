@@ -1101,7 +1101,7 @@ public class GridCacheProcessor extends GridProcessorAdapter {
             GridCacheContextInfo cacheInfo = new GridCacheContextInfo(ctx, false);
 
             if (!clearDbObjects)
-                ctx.kernalContext().query().getIndexing().closeCacheOnClient(ctx.name());
+                ctx.kernalContext().query().closeCacheOnClient(ctx.name());
             else
                 ctx.kernalContext().query().onCacheStop(cacheInfo, !cache.context().group().persistenceEnabled() || destroy);
 
@@ -25,7 +25,10 @@ import org.apache.ignite.internal.NodeStoppingException;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtInvalidPartitionException;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheAdapter;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheEntry;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.util.GridConcurrentSkipListSet;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.typedef.X;
@@ -34,6 +37,8 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
 /**
  * Eagerly removes expired entries from cache when
  * {@link CacheConfiguration#isEagerTtl()} flag is set.
@@ -49,6 +54,12 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
     /** Entries pending removal. This collection tracks entries for near cache only. */
     private GridConcurrentSkipListSetEx pendingEntries;
 
+    /** Time buckets tracking expiring entries, see {@link CacheConfiguration#getExpiryBucketWidth()}. */
+    private GridCacheExpiryTimeBuckets expiryBuckets;
+
+    /** Rate of entries expired by time buckets. */
+    private HitRateMetric expirationRate;
+
     /** Indicates that  */
     protected volatile boolean hasPendingEntries;
 
@@ -107,6 +118,37 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
         cctx.shared().ttl().register(this);
 
         pendingEntries = (!cctx.isLocal() && cctx.config().getNearConfiguration() != null) ? new GridConcurrentSkipListSetEx() : null;
+
+        if (!cctx.isNear() && cctx.affinityNode() && cctx.config().getExpiryBucketWidth() > 0) {
+            expiryBuckets = new GridCacheExpiryTimeBuckets(cctx.config().getExpiryBucketWidth());
+
+            MetricRegistry mreg = cctx.kernalContext().metric().registry(cacheMetricsRegistryName(cctx.name(), false));
+
+            mreg.register("ExpiryBucketsSize",
+                expiryBuckets::size,
+                "Count of keys of entries with expiration time tracked by expiry time buckets, each key is " +
+                    "counted once, including keys of expired buckets which are not checked yet.");
+
+            mreg.register("ExpiryBucketsProcessedKeys",
+                expiryBuckets::processed,
+                "Count of keys of expired time buckets checked for expiration.");
+
+            mreg.register("ExpirationLag",
+                expiryBuckets::lag,
+                "Delay in milliseconds between the end of the last expired time bucket and its processing.");
+
+            expirationRate = mreg.hitRateMetric("ExpirationRate",
+                "Rate of keys of expired time buckets checked for expiration.",
+                60_000,
+                20);
+        }
+    }
+
+    /**
+     * @return Time buckets tracking expiring entries or {@code null} if entries are tracked by the pending entries tree.
+     */
+    @Nullable public GridCacheExpiryTimeBuckets expiryBuckets() {
+        return expiryBuckets;
     }
 
     /**
@@ -120,6 +162,9 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
     @Override protected void onKernalStop0(boolean cancel) {
         if (pendingEntries != null)
             pendingEntries.clear();
+
+        if (expiryBuckets != null)
+            expiryBuckets.clear();
     }
 
     /**
@@ -160,7 +205,8 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
      * @throws IgniteCheckedException If failed.
      */
     public long pendingSize() throws IgniteCheckedException {
-        return (pendingEntries != null ? pendingEntries.sizex() : 0) + cctx.offheap().expiredSize();
+        return (pendingEntries != null ? pendingEntries.sizex() : 0) +
+            (expiryBuckets != null ? expiryBuckets.size() : 0) + cctx.offheap().expiredSize();
     }
 
     /**
@@ -239,7 +285,7 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
             if (!hasPendingEntries || nextCleanTime > U.currentTimeMillis())
                 return false;
 
-            boolean more = cctx.offheap().expire(dhtCtx, expireC, amount);
+            boolean more = expiryBuckets != null ? expireBuckets(amount) : cctx.offheap().expire(dhtCtx, expireC, amount);
 
             if (more)
                 return true;
@@ -274,6 +320,52 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
         return false;
     }
 
+    /**
+     * Processes keys of expired time buckets. Buckets keep keys of the entries updated after the keys were taken
+     * out, so a cache entry is created only for keys which are still stored and expired.
+     *
+     * @param amount Limit of processed entries by single call, {@code -1} for no limit.
+     * @return {@code True} if unprocessed keys of expired buckets remain.
+     */
+    private boolean expireBuckets(int amount) {
+        long now = U.currentTimeMillis();
+
+        if (!expiryBuckets.hasExpired(now))
+            return false;
+
+        GridCacheVersion obsoleteVer = cctx.cache().nextVersion();
+
+        int cnt = expiryBuckets.expire(now, amount, key -> {
+            if (key.partition() == -1)
+                key.partition(cctx.affinity().partition(key));
+
+            try {
+                GridCacheEntryEx entry = cctx.cache().peekEx(key);
+
+                if (entry == null) {
+                    CacheDataRow row = cctx.offheap().read(cctx, key);
+
+                    // Entry is removed or updated with another expiration time.
+                    if (row == null || row.expireTime() == 0 || row.expireTime() > now)
+                        return;
+
+                    entry = cctx.cache().entryEx(key);
+                }
+
+                expireC.apply(entry, obsoleteVer);
+            }
+            catch (GridDhtInvalidPartitionException ignore) {
+                // Partition is evicted from the node, so is the entry.
+            }
+            catch (IgniteCheckedException e) {
+                U.error(log, "Failed to read expired entry [key=" + key + ']', e);
+            }
+        });
+
+        expirationRate.add(cnt);
+
+        return amount != -1 && cnt >= amount;
+    }
 
     /**
      * @param cctx1 First cache context.
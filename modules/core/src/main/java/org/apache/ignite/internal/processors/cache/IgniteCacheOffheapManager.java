@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import javax.cache.Cache;
@@ -132,6 +133,19 @@ public interface IgniteCacheOffheapManager {
      */
     @Nullable public CacheDataRow read(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+    /**
+     * Reads rows for a batch of keys. Keys are grouped by partition and looked up in the tree order, so that
+     * every partition is visited once.
+     *
+     * @param cctx Cache context.
+     * @param keys Keys.
+     * @return Found rows mapped by keys, keys which are not found (or belong to partitions which are
+     *      not available locally) are absent in the result.
+     * @throws IgniteCheckedException If failed.
+     */
+    public Map<KeyCacheObject, CacheDataRow> readAll(GridCacheContext cctx, Collection<KeyCacheObject> keys)
+        throws IgniteCheckedException;
+
     /**
      * @param p Partition.
      * @return Data store.
@@ -905,6 +919,18 @@ public interface IgniteCacheOffheapManager {
          */
         public CacheDataRow find(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException;
 
+        /**
+         * Finds rows for a batch of keys. If keys cover a dense enough range of the tree, the range is read
+         * with a single cursor, otherwise keys are looked up one by one in the tree order.
+         *
+         * @param cctx Cache context.
+         * @param keys Keys sorted by hash code.
+         * @param res Map to put found rows to.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void findAll(GridCacheContext cctx, List<KeyCacheObject> keys, Map<KeyCacheObject, CacheDataRow> res)
+            throws IgniteCheckedException;
+
         /**
          * Returns iterator over the all row versions for the given key.
          *
@@ -17,7 +17,10 @@
 package org.apache.ignite.internal.processors.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -151,6 +154,16 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
     /** Batch size for cache removals during destroy. */
     private static final int BATCH_SIZE = 1000;
 
+    /** Comparator ordering keys the same way as data tree does, by hash code. */
+    private static final Comparator<KeyCacheObject> KEY_HASH_CMP =
+        (k1, k2) -> Integer.compare(k1.hashCode(), k2.hashCode());
+
+    /**
+     * Maximum ratio between estimated number of rows in scanned range and number of keys to read with a range scan.
+     * The decision depends only on the key density, so even a couple of adjacent keys are read with one cursor.
+     */
+    private static final int FIND_ALL_SCAN_RATIO = 4;
+
     /** */
     protected GridCacheSharedContext ctx;
 
@@ -632,6 +645,69 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         return row;
     }
 
+    /** {@inheritDoc} */
+    @Override public Map<KeyCacheObject, CacheDataRow> readAll(GridCacheContext cctx, Collection<KeyCacheObject> keys)
+        throws IgniteCheckedException {
+        Map<KeyCacheObject, CacheDataRow> res = U.newHashMap(keys.size());
+
+        if (keys.size() == 1) {
+            KeyCacheObject key = F.first(keys);
+
+            CacheDataRow row = read(cctx, key);
+
+            if (row != null)
+                res.put(key, row);
+
+            return res;
+        }
+
+        Map<Integer, List<KeyCacheObject>> keysByPart = new TreeMap<>();
+
+        for (KeyCacheObject key : keys) {
+            int p = grp.isLocal() ? 0 : cctx.affinity().partition(key);
+
+            keysByPart.computeIfAbsent(p, k -> new ArrayList<>()).add(key);
+        }
+
+        for (Map.Entry<Integer, List<KeyCacheObject>> e : keysByPart.entrySet()) {
+            CacheDataStore dataStore;
+
+            if (grp.isLocal())
+                dataStore = locCacheDataStore;
+            else {
+                GridDhtLocalPartition part = grp.topology().localPartition(e.getKey(), null, false);
+
+                dataStore = part != null ? dataStore(part) : null;
+            }
+
+            if (dataStore == null)
+                continue;
+
+            List<KeyCacheObject> partKeys = e.getValue();
+
+            if (partKeys.size() > 1)
+                partKeys.sort(KEY_HASH_CMP);
+
+            dataStore.findAll(cctx, partKeys, res);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param hashes Sorted hash codes.
+     * @param hash Hash code to find.
+     * @return Index of the first occurrence of the hash code.
+     */
+    private static int firstIndexOf(int[] hashes, int hash) {
+        int idx = Arrays.binarySearch(hashes, hash);
+
+        while (idx > 0 && hashes[idx - 1] == hash)
+            idx--;
+
+        return idx;
+    }
+
     /** {@inheritDoc} */
     @Nullable @Override public CacheDataRow mvccRead(GridCacheContext cctx, KeyCacheObject key, MvccSnapshot mvccSnapshot)
         throws IgniteCheckedException {
@@ -2575,6 +2651,22 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         {
             long expireTime = newRow.expireTime();
 
+            GridCacheExpiryTimeBuckets expiryBuckets = cctx.ttl().expiryBuckets();
+
+            if (expiryBuckets != null) {
+                // Key is moved from the bucket of the old row, if any.
+                if (expireTime != 0 && (oldRow == null || oldRow.expireTime() != expireTime)) {
+                    expiryBuckets.add(newRow.key(), expireTime);
+
+                    if (!cctx.ttl().hasPendingEntries())
+                        cctx.ttl().hasPendingEntries(true);
+                }
+                else if (expireTime == 0 && oldRow != null && oldRow.expireTime() != 0)
+                    expiryBuckets.remove(newRow.key());
+
+                return;
+            }
+
             int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
 
             if (oldRow != null) {
@@ -2646,7 +2738,14 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             assert cacheId == CU.UNDEFINED_CACHE_ID || oldRow.cacheId() == cacheId :
                 "Incorrect cache ID [expected=" + cacheId + ", actual=" + oldRow.cacheId() + "].";
 
-            if (pendingTree() != null && oldRow.expireTime() != 0)
+            if (oldRow.expireTime() == 0)
+                return;
+
+            GridCacheExpiryTimeBuckets expiryBuckets = cctx.ttl().expiryBuckets();
+
+            if (expiryBuckets != null)
+                expiryBuckets.remove(oldRow.key());
+            else if (pendingTree() != null)
                 pendingTree().removex(new PendingRow(cacheId, oldRow.expireTime(), oldRow.link()));
         }
 
@@ -2677,6 +2776,127 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             return row;
         }
 
+        /** {@inheritDoc} */
+        @Override public void findAll(
+            GridCacheContext cctx,
+            List<KeyCacheObject> keys,
+            Map<KeyCacheObject, CacheDataRow> res
+        ) throws IgniteCheckedException {
+            int size = keys.size();
+
+            if (size == 0)
+                return;
+
+            int minHash = keys.get(0).hashCode();
+            int maxHash = keys.get(size - 1).hashCode();
+
+            if (grp.mvccEnabled() || size == 1 || !scanRange(cctx, size, minHash, maxHash)) {
+                // Keys are sorted, so subsequent lookups are likely to hit the same tree pages.
+                for (int i = 0; i < size; i++) {
+                    KeyCacheObject key = keys.get(i);
+
+                    CacheDataRow row = find(cctx, key);
+
+                    if (row != null)
+                        res.put(key, row);
+                }
+
+                return;
+            }
+
+            CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+            int[] hashes = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                KeyCacheObject key = keys.get(i);
+
+                key.valueBytes(coCtx);
+
+                hashes[i] = key.hashCode();
+            }
+
+            int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            // Materialize only rows which hashes match requested keys.
+            BPlusTree.TreeRowClosure<CacheSearchRow, CacheDataRow> filter = (tree, io, pageAddr, idx) ->
+                Arrays.binarySearch(hashes, ((RowLinkIO)io).getHash(pageAddr, idx)) >= 0;
+
+            GridCursor<CacheDataRow> cur = dataTree.find(
+                new SearchRow(cacheId, keys.get(0)),
+                new SearchRow(cacheId, keys.get(size - 1)),
+                filter,
+                null);
+
+            int found = 0;
+
+            while (found < size && cur.next()) {
+                CacheDataRow row = cur.get();
+
+                byte[] rowKeyBytes = row.key().valueBytes(coCtx);
+
+                // Rows with equal hashes are ordered by key bytes, so keys may match in any order.
+                for (int i = firstIndexOf(hashes, row.hash()); i < size && hashes[i] == row.hash(); i++) {
+                    KeyCacheObject key = keys.get(i);
+
+                    if (Arrays.equals(rowKeyBytes, key.valueBytes(coCtx))) {
+                        afterRowFound(row, key);
+
+                        res.put(key, row);
+
+                        found++;
+
+                        break;
+                    }
+                }
+            }
+
+            // Range bounds exclude rows which have boundary hashes but are ordered before (after) the
+            // first (last) key, such keys should be looked up separately.
+            for (int i = 0; i < size && hashes[i] == minHash; i++)
+                findIfAbsent(cctx, keys.get(i), res);
+
+            for (int i = size - 1; i >= 0 && hashes[i] == maxHash; i--)
+                findIfAbsent(cctx, keys.get(i), res);
+        }
+
+        /**
+         * @param cctx Cache context.
+         * @param keysCnt Number of keys.
+         * @param minHash Minimum hash code of keys.
+         * @param maxHash Maximum hash code of keys.
+         * @return {@code True} if keys are dense enough in their range, so that it is cheaper to scan the range than
+         *      to look the keys up one by one.
+         */
+        private boolean scanRange(GridCacheContext cctx, int keysCnt, int minHash, int maxHash) {
+            long rows = grp.sharedGroup() ? cacheSize(cctx.cacheId()) : fullSize();
+
+            // Hash codes are expected to be distributed uniformly.
+            double rangeRows = rows * (((double)maxHash - minHash + 1) / (1L << 32));
+
+            return rangeRows <= (double)keysCnt * FIND_ALL_SCAN_RATIO;
+        }
+
+        /**
+         * @param cctx Cache context.
+         * @param key Key.
+         * @param res Found rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void findIfAbsent(
+            GridCacheContext cctx,
+            KeyCacheObject key,
+            Map<KeyCacheObject, CacheDataRow> res
+        ) throws IgniteCheckedException {
+            if (res.containsKey(key))
+                return;
+
+            CacheDataRow row = find(cctx, key);
+
+            if (row != null)
+                res.put(key, row);
+        }
+
         /** {@inheritDoc} */
         @Override public List<IgniteBiTuple<Object, MvccVersion>> mvccFindAllVersions(
             GridCacheContext cctx,
@@ -342,6 +342,24 @@ public class ValidationOnNodeJoinUtils {
                     "'writeBehindFlushSize' parameters to 0 for cache: " + U.maskName(cc.getName()));
         }
 
+        if (cc.isReadThrough() && cc.getReadThroughBatchWindow() > 0) {
+            apply(assertParam, cc.getReadThroughBatchSize() > 0, "readThroughBatchSize > 0");
+            apply(assertParam, cc.getReadThroughBatchThreadCount() > 0, "readThroughBatchThreadCount > 0");
+        }
+
+        apply(assertParam, cc.getReadThroughBatchWindow() >= 0, "readThroughBatchWindow >= 0");
+
+        apply(assertParam, cc.getExpiryBucketWidth() >= 0, "expiryBucketWidth >= 0");
+
+        if (cc.getExpiryBucketWidth() > 0) {
+            apply(assertParam, cc.getAtomicityMode() != TRANSACTIONAL_SNAPSHOT,
+                "expiryBucketWidth cannot be used with TRANSACTIONAL_SNAPSHOT atomicity mode");
+
+            if (CU.isPersistentCache(cc, c.getDataStorageConfiguration()))
+                throw new IgniteCheckedException("Expiry buckets cannot be used for persistent cache " +
+                    "(set expiryBucketWidth to 0) [cacheName=" + U.maskName(cc.getName()) + ']');
+        }
+
         if (cc.isReadThrough() && cfgStore == null
             && ctx.discovery().cacheAffinityNode(ctx.discovery().localNode(), cc.getName()))
             throw new IgniteCheckedException("Cannot enable read-through (loader or store is not provided) " +
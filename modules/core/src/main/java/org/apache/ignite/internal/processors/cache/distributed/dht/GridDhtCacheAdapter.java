@@ -84,6 +84,7 @@ import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.lang.GridClosureException;
 import org.apache.ignite.internal.util.lang.GridPlainRunnable;
+import org.apache.ignite.internal.util.typedef.C1;
 import org.apache.ignite.internal.util.typedef.C2;
 import org.apache.ignite.internal.util.typedef.CI1;
 import org.apache.ignite.internal.util.typedef.CI2;
@@ -840,6 +841,10 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
 
             boolean readNoEntry = ctx.readNoEntry(expiry, readerArgs != null);
 
+            // Read rows of all keys at once, grouped by partitions.
+            Map<KeyCacheObject, CacheDataRow> rows = readNoEntry && mvccSnapshot == null && keysSize > 1 ?
+                ctx.offheap().readAll(ctx, keys) : null;
+
             for (KeyCacheObject key : keys) {
                 while (true) {
                     try {
@@ -853,7 +858,7 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
                         boolean skipEntry = readNoEntry;
 
                         if (readNoEntry) {
-                            CacheDataRow row = mvccSnapshot != null ?
+                            CacheDataRow row = rows != null ? rows.get(key) : mvccSnapshot != null ?
                                 ctx.offheap().mvccRead(ctx, key, mvccSnapshot) :
                                 ctx.offheap().read(ctx, key);
 
@@ -982,102 +987,132 @@ public abstract class GridDhtCacheAdapter<K, V> extends GridDistributedCacheAdap
 
                 final Collection<KeyCacheObject> loaded = new HashSet<>();
 
-                return new GridEmbeddedFuture<>(
-                    ctx.closures().callLocalSafe(ctx.projectSafe(new GPC<Map<K1, V1>>() {
-                        @Override public Map<K1, V1> call() throws Exception {
-                            ctx.store().loadAll(null/*tx*/, loadKeys.keySet(), new CI2<KeyCacheObject, Object>() {
-                                @Override public void apply(KeyCacheObject key, Object val) {
-                                    EntryGetResult res = loadKeys.get(key);
-
-                                    if (res == null || val == null)
-                                        return;
-
-                                    loaded.add(key);
-
-                                    CacheObject cacheVal = ctx.toCacheObject(val);
-
-                                    while (true) {
-                                        GridCacheEntryEx entry = null;
-
-                                        try {
-                                            ctx.shared().database().ensureFreeSpace(ctx.dataRegion());
-                                        }
-                                        catch (IgniteCheckedException e) {
-                                            // Wrap errors (will be unwrapped).
-                                            throw new GridClosureException(e);
-                                        }
-
-                                        ctx.shared().database().checkpointReadLock();
-
-                                        try {
-                                            entry = entryEx(key);
-
-                                            entry.unswap();
-
-                                            GridCacheVersion newVer = nextVersion();
-
-                                            EntryGetResult verVal = entry.versionedValue(
-                                                cacheVal,
-                                                res.version(),
-                                                newVer,
-                                                expiry,
-                                                readerArgs);
-
-                                            if (log.isDebugEnabled())
-                                                log.debug("Set value loaded from store into entry [" +
-                                                    "oldVer=" + res.version() +
-                                                    ", newVer=" + verVal.version() + ", " +
-                                                    "entry=" + entry + ']');
-
-                                            // Don't put key-value pair into result map if value is null.
-                                            if (verVal.value() != null) {
-                                                ctx.addResult(map,
-                                                    key,
-                                                    verVal,
-                                                    skipVals,
-                                                    keepCacheObjects,
-                                                    deserializeBinary,
-                                                    true,
-                                                    needVer);
-                                            }
-                                            else {
-                                                ctx.addResult(
-                                                    map,
-                                                    key,
-                                                    new EntryGetResult(cacheVal, res.version()),
-                                                    skipVals,
-                                                    keepCacheObjects,
-                                                    deserializeBinary,
-                                                    false,
-                                                    needVer
-                                                );
-                                            }
-
-                                            entry.touch();
-
-                                            break;
-                                        }
-                                        catch (GridCacheEntryRemovedException ignore) {
-                                            if (log.isDebugEnabled())
-                                                log.debug("Got removed entry during getAllAsync (will retry): " +
-                                                    entry);
-                                        }
-                                        catch (IgniteCheckedException e) {
-                                            // Wrap errors (will be unwrapped).
-                                            throw new GridClosureException(e);
-                                        }
-                                        finally {
-                                            ctx.shared().database().checkpointReadUnlock();
-                                        }
-                                    }
+                final CI2<KeyCacheObject, Object> vis = new CI2<KeyCacheObject, Object>() {
+                    @Override public void apply(KeyCacheObject key, Object val) {
+                        EntryGetResult res = loadKeys.get(key);
+
+                        if (res == null || val == null)
+                            return;
+
+                        loaded.add(key);
+
+                        CacheObject cacheVal = ctx.toCacheObject(val);
+
+                        while (true) {
+                            GridCacheEntryEx entry = null;
+
+                            try {
+                                ctx.shared().database().ensureFreeSpace(ctx.dataRegion());
+                            }
+                            catch (IgniteCheckedException e) {
+                                // Wrap errors (will be unwrapped).
+                                throw new GridClosureException(e);
+                            }
+
+                            ctx.shared().database().checkpointReadLock();
+
+                            try {
+                                entry = entryEx(key);
+
+                                entry.unswap();
+
+                                GridCacheVersion newVer = nextVersion();
+
+                                EntryGetResult verVal = entry.versionedValue(
+                                    cacheVal,
+                                    res.version(),
+                                    newVer,
+                                    expiry,
+                                    readerArgs);
+
+                                if (log.isDebugEnabled())
+                                    log.debug("Set value loaded from store into entry [" +
+                                        "oldVer=" + res.version() +
+                                        ", newVer=" + verVal.version() + ", " +
+                                        "entry=" + entry + ']');
+
+                                // Don't put key-value pair into result map if value is null.
+                                if (verVal.value() != null) {
+                                    ctx.addResult(map,
+                                        key,
+                                        verVal,
+                                        skipVals,
+                                        keepCacheObjects,
+                                        deserializeBinary,
+                                        true,
+                                        needVer);
+                                }
+                                else {
+                                    ctx.addResult(
+                                        map,
+                                        key,
+                                        new EntryGetResult(cacheVal, res.version()),
+                                        skipVals,
+                                        keepCacheObjects,
+                                        deserializeBinary,
+                                        false,
+                                        needVer
+                                    );
+                                }
+
+                                entry.touch();
+
+                                break;
+                            }
+                            catch (GridCacheEntryRemovedException ignore) {
+                                if (log.isDebugEnabled())
+                                    log.debug("Got removed entry during getAllAsync (will retry): " +
+                                        entry);
+                            }
+                            catch (IgniteCheckedException e) {
+                                // Wrap errors (will be unwrapped).
+                                throw new GridClosureException(e);
+                            }
+                            finally {
+                                ctx.shared().database().checkpointReadUnlock();
+                            }
+                        }
+                    }
+                };
+
+                IgniteInternalFuture<Map<K1, V1>> loadFut;
+
+                IgniteInternalFuture<Map<KeyCacheObject, Object>> batchFut =
+                    ctx.store().loadAllAsync(loadKeys.keySet());
+
+                if (batchFut != null) {
+                    // Keys are loaded by read-through batch loader, no need to occupy a thread.
+                    loadFut = batchFut.chain(ctx.projectSafe(
+                        new C1<IgniteInternalFuture<Map<KeyCacheObject, Object>>, Map<K1, V1>>() {
+                            @Override public Map<K1, V1> apply(IgniteInternalFuture<Map<KeyCacheObject, Object>> fut) {
+                                try {
+                                    for (Map.Entry<KeyCacheObject, Object> e : fut.get().entrySet())
+                                        vis.apply(e.getKey(), e.getValue());
+                                }
+                                catch (IgniteCheckedException e) {
+                                    throw new GridClosureException(e);
                                 }
-                            });
+
+                                clearReservationsIfNeeded(loadKeys, loaded, null);
+
+                                return map;
+                            }
+                        }));
+                }
+                else {
+                    loadFut = ctx.closures().callLocalSafe(ctx.projectSafe(new GPC<Map<K1, V1>>() {
+                        @Override public Map<K1, V1> call() throws Exception {
+                            ctx.store().loadAll(null/*tx*/, loadKeys.keySet(), vis);
 
                             clearReservationsIfNeeded(loadKeys, loaded, null);
 
                             return map;
                         }
-                    }), true),
+                    }), true);
+                }
+
+                return new GridEmbeddedFuture<>(
+                    loadFut,
                     new C2<Map<K1, V1>, Exception, IgniteInternalFuture<Map<K1, V1>>>() {
                         @Override public IgniteInternalFuture<Map<K1, V1>> apply(Map<K1, V1> map, Exception e) {
                             if (e != null) {
@@ -466,7 +466,7 @@ public abstract class GridDhtAtomicAbstractUpdateFuture extends GridCacheFutureA
                 if (cntQryClsrs != null)
                     req.replyWithoutDelay(true);
 
-                cctx.io().send(req.nodeId(), req, cctx.ioPolicy());
+                ((GridDhtAtomicCache)cctx.dht()).sendDhtUpdateRequest(req);
 
                 if (msgLog.isDebugEnabled()) {
                     msgLog.debug("DTH update fut, sent request [futId=" + futId +
@@ -490,6 +490,27 @@ public abstract class GridDhtAtomicAbstractUpdateFuture extends GridCacheFutureA
         }
     }
 
+    /**
+     * Handles failure to send request coalesced with requests of other futures.
+     *
+     * @param nodeId Backup node ID.
+     * @param e Error.
+     */
+    final void onSendFailed(UUID nodeId, IgniteCheckedException e) {
+        if (e instanceof ClusterTopologyCheckedException) {
+            if (msgLog.isDebugEnabled()) {
+                msgLog.debug("DTH update fut, failed to send request, node left [futId=" + futId +
+                    ", writeVer=" + writeVer + ", node=" + nodeId + ']');
+            }
+        }
+        else {
+            U.error(msgLog, "Failed to send request [futId=" + futId +
+                ", writeVer=" + writeVer + ", node=" + nodeId + ']');
+        }
+
+        registerResponse(nodeId);
+    }
+
     /**
      * Deferred update response.
      *
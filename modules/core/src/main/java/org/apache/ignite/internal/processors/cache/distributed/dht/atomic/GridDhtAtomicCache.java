@@ -36,6 +36,7 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.binary.BinaryInvalidTypeException;
 import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.NodeStoppingException;
 import org.apache.ignite.internal.UnregisteredBinaryTypeException;
@@ -92,6 +93,7 @@ import org.apache.ignite.internal.processors.cache.version.GridCacheVersionEx;
 import org.apache.ignite.internal.processors.cacheobject.IgniteCacheObjectProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
 import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.StripedExecutor;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.nio.GridNioBackPressureControl;
 import org.apache.ignite.internal.util.nio.GridNioMessageTracker;
@@ -102,6 +104,7 @@ import org.apache.ignite.internal.util.typedef.CI2;
 import org.apache.ignite.internal.util.typedef.CO;
 import org.apache.ignite.internal.util.typedef.CX1;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.CU;
@@ -119,8 +122,11 @@ import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_BUFFER_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE;
 import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_ASYNC;
 import static org.apache.ignite.cache.CacheWriteSynchronizationMode.PRIMARY_SYNC;
+import static org.apache.ignite.internal.IgniteFeatures.ATOMIC_DHT_UPDATE_BATCH;
+import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_STRIPED_POOL_SIZE;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_VALIDATE_CACHE_REQUESTS;
 import static org.apache.ignite.internal.processors.cache.GridCacheOperation.DELETE;
 import static org.apache.ignite.internal.processors.cache.GridCacheOperation.TRANSFORM;
@@ -159,6 +165,13 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
     @GridToStringExclude
     private UpdateReplyClosure updateReplyClos;
 
+    /** Maximum number of update requests coalesced into one message to backup node. */
+    private int dhtUpdBatchSize;
+
+    /** Not sent update requests to backup nodes per stripe, {@code null} if requests are sent separately. */
+    @GridToStringExclude
+    private DhtUpdateBuffer[] dhtUpdBufs;
+
     /** */
     private GridNearAtomicCache<K, V> near;
 
@@ -231,6 +244,20 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         if (ctx.dht().near() != null)
             metrics.delegate(ctx.dht().near().metrics0());
 
+        dhtUpdBatchSize = Integer.getInteger(IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE, 1);
+
+        StripedExecutor stripedExec = ctx.kernalContext().getStripedExecutorService();
+
+        // Deployment info is added to each request separately, so requests are not coalesced if P2P is enabled.
+        if (dhtUpdBatchSize > 1 && stripedExec != null && !ctx.deploymentEnabled()) {
+            DhtUpdateBuffer[] bufs = new GridDhtAtomicCache.DhtUpdateBuffer[stripedExec.stripes()];
+
+            for (int i = 0; i < bufs.length; i++)
+                bufs[i] = new DhtUpdateBuffer(i);
+
+            dhtUpdBufs = bufs;
+        }
+
         ctx.io().addCacheHandler(
             ctx.cacheId(),
             GridNearGetRequest.class,
@@ -316,6 +343,24 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 }
             });
 
+        ctx.io().addCacheHandler(
+            ctx.cacheId(),
+            GridDhtAtomicBatchUpdateRequest.class,
+            new CI2<UUID, GridDhtAtomicBatchUpdateRequest>() {
+                @Override public void apply(
+                    UUID nodeId,
+                    GridDhtAtomicBatchUpdateRequest req
+                ) {
+                    processDhtAtomicBatchUpdateRequest(
+                        nodeId,
+                        req);
+                }
+
+                @Override public String toString() {
+                    return "GridDhtAtomicBatchUpdateRequest handler";
+                }
+            });
+
         ctx.io().addCacheHandler(
             ctx.cacheId(),
             GridDhtAtomicUpdateResponse.class,
@@ -1466,10 +1511,14 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 boolean success = true;
                 boolean readNoEntry = ctx.readNoEntry(expiry, false);
 
+                // Read rows of all keys at once, grouped by partitions.
+                Map<KeyCacheObject, CacheDataRow> rows = readNoEntry && keys.size() > 1 ?
+                    ctx.offheap().readAll(ctx, keys) : null;
+
                 // Optimistically expect that all keys are available locally (avoid creation of get future).
                 for (KeyCacheObject key : keys) {
                     if (readNoEntry) {
-                        CacheDataRow row = ctx.offheap().read(ctx, key);
+                        CacheDataRow row = rows != null ? rows.get(key) : ctx.offheap().read(ctx, key);
 
                         if (row != null) {
                             long expireTime = row.expireTime();
@@ -3280,6 +3329,41 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         sendNearUpdateReply(nodeId, res);
     }
 
+    /**
+     * Processes coalesced requests in the order they were sent. Primary node coalesces only requests for partitions
+     * owned by the same stripe of this node, so the batch is processed by the stripe which also processes all
+     * other update requests for these partitions.
+     *
+     * @param nodeId Sender node ID.
+     * @param req Coalesced dht atomic update requests.
+     */
+    private void processDhtAtomicBatchUpdateRequest(UUID nodeId, GridDhtAtomicBatchUpdateRequest req) {
+        if (msgLog.isDebugEnabled()) {
+            msgLog.debug("Received DHT atomic batch update request [reqs=" + req.requests().size() +
+                ", node=" + nodeId + ']');
+        }
+
+        assert checkBatchStripe(req) : req;
+
+        for (GridDhtAtomicAbstractUpdateRequest req0 : req.requests())
+            processDhtAtomicUpdateRequest(nodeId, req0);
+    }
+
+    /**
+     * @param req Coalesced dht atomic update requests.
+     * @return {@code True} if all requests are mapped to the same stripe of the local node.
+     */
+    private boolean checkBatchStripe(GridDhtAtomicBatchUpdateRequest req) {
+        int stripes = ctx.kernalContext().getStripedExecutorService().stripes();
+
+        for (GridDhtAtomicAbstractUpdateRequest req0 : req.requests()) {
+            if (req0.partition() % stripes != req.partition() % stripes)
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * @param nodeId Sender node ID.
      * @param req Dht atomic update request.
@@ -3414,9 +3498,9 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
 
         GridDhtAtomicUpdateResponse dhtRes = null;
 
-        if (req.nearSize() > 0 || req.obsoleteNearKeysSize() > 0) {
-            List<KeyCacheObject> nearEvicted = null;
+        List<KeyCacheObject> nearEvicted = null;
 
+        if (req.nearSize() > 0 || req.obsoleteNearKeysSize() > 0) {
             if (isNearEnabled(ctx))
                 nearEvicted = ((GridNearAtomicCache<K, V>)near()).processDhtAtomicUpdateRequest(nodeId, req, nearRes);
             else if (req.nearSize() > 0) {
@@ -3471,6 +3555,79 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
             sendDhtPrimaryResponse(nodeId, req, dhtRes);
         else
             sendDeferredUpdateResponse(req.partition(), nodeId, req.futureId());
+
+        if (nearEvicted != null && isNearEnabled(ctx)) {
+            for (KeyCacheObject key : nearEvicted)
+                near().onNearEvictedSent(key, null);
+        }
+    }
+
+    /**
+     * Sends update request to backup node. If coalescing is enabled, the request is buffered and sent
+     * together with other requests mapped to the same backup node once the stripe owning request partition
+     * processes messages queued before it.
+     * <p>
+     * Only requests for partitions owned by the same stripe of the backup node are coalesced, so the backup
+     * processes each partition updates in one stripe in the order they were sent, whatever the striped pool
+     * sizes of the nodes are.
+     *
+     * @param req Request.
+     * @throws IgniteCheckedException If failed.
+     */
+    void sendDhtUpdateRequest(GridDhtAtomicAbstractUpdateRequest req) throws IgniteCheckedException {
+        DhtUpdateBuffer[] bufs = dhtUpdBufs;
+
+        if (bufs == null) {
+            ctx.io().send(req.nodeId(), req, ctx.ioPolicy());
+
+            return;
+        }
+
+        ClusterNode node = ctx.discovery().node(req.nodeId());
+
+        if (node == null)
+            throw new ClusterTopologyCheckedException("Node failed: " + req.nodeId());
+
+        Integer backupStripes = node.attribute(ATTR_STRIPED_POOL_SIZE);
+
+        if (backupStripes == null || !IgniteFeatures.nodeSupports(ctx.kernalContext(), node, ATOMIC_DHT_UPDATE_BATCH)) {
+            ctx.io().send(node, req, ctx.ioPolicy());
+
+            return;
+        }
+
+        // Near readers and continuous queries expect the response to the request without delay. The request is
+        // sent together with the requests buffered before it, so that it does not overtake them.
+        boolean flush = req.nearSize() > 0 || req.replyWithoutDelay();
+
+        bufs[req.partition() % bufs.length].add(req, req.partition() % backupStripes, flush);
+    }
+
+    /**
+     * @param nodeId Backup node ID.
+     * @param reqs Requests to send.
+     */
+    private void sendDhtUpdateRequests(UUID nodeId, List<GridDhtAtomicAbstractUpdateRequest> reqs) {
+        try {
+            if (reqs.size() == 1)
+                ctx.io().send(nodeId, reqs.get(0), ctx.ioPolicy());
+            else
+                ctx.io().send(nodeId, new GridDhtAtomicBatchUpdateRequest(ctx.cacheId(), reqs), ctx.ioPolicy());
+
+            if (msgLog.isDebugEnabled()) {
+                msgLog.debug("Sent DHT atomic batch update request [reqs=" + reqs.size() +
+                    ", node=" + nodeId + ']');
+            }
+        }
+        catch (IgniteCheckedException e) {
+            for (GridDhtAtomicAbstractUpdateRequest req : reqs) {
+                GridDhtAtomicAbstractUpdateFuture updateFut =
+                    (GridDhtAtomicAbstractUpdateFuture)ctx.mvcc().atomicFuture(req.futureId());
+
+                if (updateFut != null)
+                    updateFut.onSendFailed(nodeId, e);
+            }
+        }
     }
 
     /**
@@ -3749,6 +3906,77 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         // No-op.
     }
 
+    /**
+     * Update requests mapped to backup nodes by one stripe and not sent yet. The buffer is flushed by a task
+     * submitted to the same stripe, so requests mapped while the stripe processes queued messages share
+     * one message per backup node and backup stripe.
+     */
+    private class DhtUpdateBuffer implements Runnable {
+        /** */
+        private final int stripe;
+
+        /** Requests per backup node and stripe of the backup node. */
+        private Map<T2<UUID, Integer>, List<GridDhtAtomicAbstractUpdateRequest>> reqs = new HashMap<>();
+
+        /** {@code True} if flush task is submitted. */
+        private boolean flushScheduled;
+
+        /**
+         * @param stripe Stripe.
+         */
+        DhtUpdateBuffer(int stripe) {
+            this.stripe = stripe;
+        }
+
+        /**
+         * @param req Request.
+         * @param backupStripe Stripe of the backup node owning request partition.
+         * @param flush {@code True} to send the request without waiting for the flush task.
+         */
+        void add(GridDhtAtomicAbstractUpdateRequest req, int backupStripe, boolean flush) {
+            List<GridDhtAtomicAbstractUpdateRequest> full = null;
+
+            boolean schedule = false;
+
+            synchronized (this) {
+                T2<UUID, Integer> key = new T2<>(req.nodeId(), backupStripe);
+
+                List<GridDhtAtomicAbstractUpdateRequest> nodeReqs = reqs.get(key);
+
+                if (nodeReqs == null)
+                    reqs.put(key, nodeReqs = new ArrayList<>());
+
+                nodeReqs.add(req);
+
+                if (flush || nodeReqs.size() >= dhtUpdBatchSize)
+                    full = reqs.remove(key);
+                else if (!flushScheduled)
+                    schedule = flushScheduled = true;
+            }
+
+            if (full != null)
+                sendDhtUpdateRequests(req.nodeId(), full);
+            else if (schedule)
+                ctx.kernalContext().getStripedExecutorService().execute(stripe, this);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            Map<T2<UUID, Integer>, List<GridDhtAtomicAbstractUpdateRequest>> reqs0;
+
+            synchronized (this) {
+                reqs0 = reqs;
+
+                reqs = new HashMap<>();
+
+                flushScheduled = false;
+            }
+
+            for (Map.Entry<T2<UUID, Integer>, List<GridDhtAtomicAbstractUpdateRequest>> e : reqs0.entrySet())
+                sendDhtUpdateRequests(e.getKey().get1(), e.getValue());
+        }
+    }
+
     /**
      *
      */
@@ -16,6 +16,9 @@
 
 package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Map;
@@ -99,6 +102,80 @@ public class CachePartitionFullCountersMap implements Serializable {
         Arrays.fill(updCntrs, 0);
     }
 
+    /**
+     * Writes counters in a compact form: initial update counter and its difference with update counter of each
+     * partition are written as variable length numbers, so that usually small values take one or two bytes.
+     *
+     * @param out Output.
+     * @throws IOException If failed.
+     */
+    void writeCompact(DataOutput out) throws IOException {
+        int partsCnt = updCntrs.length;
+
+        writeVarLong(out, partsCnt);
+
+        for (int p = 0; p < partsCnt; p++) {
+            long delta = updCntrs[p] - initialUpdCntrs[p];
+
+            writeVarLong(out, initialUpdCntrs[p]);
+            writeVarLong(out, (delta << 1) ^ (delta >> 63));
+        }
+    }
+
+    /**
+     * @param in Input.
+     * @return Counters map written by {@link #writeCompact(DataOutput)}.
+     * @throws IOException If failed.
+     */
+    static CachePartitionFullCountersMap readCompact(DataInput in) throws IOException {
+        int partsCnt = (int)readVarLong(in);
+
+        CachePartitionFullCountersMap map = new CachePartitionFullCountersMap(partsCnt);
+
+        for (int p = 0; p < partsCnt; p++) {
+            long initialUpdCntr = readVarLong(in);
+            long delta = readVarLong(in);
+
+            map.initialUpdCntrs[p] = initialUpdCntr;
+            map.updCntrs[p] = initialUpdCntr + ((delta >>> 1) ^ -(delta & 1));
+        }
+
+        return map;
+    }
+
+    /**
+     * @param out Output.
+     * @param val Value.
+     * @throws IOException If failed.
+     */
+    private static void writeVarLong(DataOutput out, long val) throws IOException {
+        while ((val & ~0x7FL) != 0) {
+            out.writeByte((int)((val & 0x7F) | 0x80));
+
+            val >>>= 7;
+        }
+
+        out.writeByte((int)val);
+    }
+
+    /**
+     * @param in Input.
+     * @return Value.
+     * @throws IOException If failed.
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long val = 0;
+
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+
+            val |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return val;
+        }
+    }
+
     /**
      * @param map Full counters map.
      * @return Regular java map with counters.
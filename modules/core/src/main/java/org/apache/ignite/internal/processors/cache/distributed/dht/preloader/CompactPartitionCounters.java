@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Compact encoding of partition update counters of all cache groups sent in {@link GridDhtPartitionsFullMessage}
+ * when all nodes support {@link org.apache.ignite.internal.IgniteFeatures#COMPACT_PARTITION_COUNTERS}.
+ * <p>
+ * Counters are kept in {@link IgniteDhtPartitionCountersMap2} since its class name is a part of the JDK serialized
+ * form exchanged with nodes which do not support the compact encoding.
+ */
+public final class CompactPartitionCounters {
+    /**
+     *
+     */
+    private CompactPartitionCounters() {
+        // No-op.
+    }
+
+    /**
+     * @param cntrs Counters of all groups.
+     * @return Counters in the compact form.
+     * @throws IOException If failed.
+     * @see CachePartitionFullCountersMap#writeCompact(java.io.DataOutput)
+     */
+    public static byte[] toBytes(IgniteDhtPartitionCountersMap2 cntrs) throws IOException {
+        Map<Integer, CachePartitionFullCountersMap> map = cntrs.copy();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(map.size());
+
+            for (Map.Entry<Integer, CachePartitionFullCountersMap> e : map.entrySet()) {
+                out.writeInt(e.getKey());
+
+                e.getValue().writeCompact(out);
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes Counters written by {@link #toBytes(IgniteDhtPartitionCountersMap2)}.
+     * @return Counters of all groups.
+     * @throws IOException If failed.
+     */
+    public static IgniteDhtPartitionCountersMap2 fromBytes(byte[] bytes) throws IOException {
+        IgniteDhtPartitionCountersMap2 res = new IgniteDhtPartitionCountersMap2();
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int size = in.readInt();
+
+            for (int i = 0; i < size; i++) {
+                int grpId = in.readInt();
+
+                res.putIfAbsent(grpId, CachePartitionFullCountersMap.readCompact(in));
+            }
+        }
+
+        return res;
+    }
+}
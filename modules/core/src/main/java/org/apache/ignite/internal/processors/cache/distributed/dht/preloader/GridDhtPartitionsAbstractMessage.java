@@ -36,6 +36,9 @@ public abstract class GridDhtPartitionsAbstractMessage extends GridCacheMessage
     /** */
     private static final byte RESTORE_STATE_FLAG_MASK = 0x02;
 
+    /** */
+    private static final byte COMPACT_CNTRS_FLAG_MASK = 0x04;
+
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -142,6 +145,20 @@ public abstract class GridDhtPartitionsAbstractMessage extends GridCacheMessage
         return (flags & RESTORE_STATE_FLAG_MASK) != 0;
     }
 
+    /**
+     * @param compactCntrs {@code True} if partition update counters are encoded compactly.
+     */
+    public final void compactCounters(boolean compactCntrs) {
+        flags = compactCntrs ? (byte)(flags | COMPACT_CNTRS_FLAG_MASK) : (byte)(flags & ~COMPACT_CNTRS_FLAG_MASK);
+    }
+
+    /**
+     * @return {@code True} if partition update counters are encoded compactly.
+     */
+    public final boolean compactCounters() {
+        return (flags & COMPACT_CNTRS_FLAG_MASK) != 0;
+    }
+
     /** {@inheritDoc} */
     @Override public byte fieldsCount() {
         return 6;
@@ -101,6 +101,7 @@ import org.apache.ignite.internal.processors.cluster.ChangeGlobalStateMessage;
 import org.apache.ignite.internal.processors.cluster.DiscoveryDataClusterState;
 import org.apache.ignite.internal.processors.cluster.IgniteChangeGlobalStateSupport;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.service.GridServiceProcessor;
 import org.apache.ignite.internal.processors.tracing.NoopSpan;
 import org.apache.ignite.internal.processors.tracing.Span;
@@ -137,6 +138,7 @@ import static org.apache.ignite.internal.managers.communication.GridIoPolicy.SYS
 import static org.apache.ignite.internal.processors.cache.ExchangeDiscoveryEvents.serverJoinEvent;
 import static org.apache.ignite.internal.processors.cache.ExchangeDiscoveryEvents.serverLeftEvent;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.preloader.CachePartitionPartialCountersMap.PARTIAL_COUNTERS_MAP_SINCE;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_STAGES_METRICS;
 import static org.apache.ignite.internal.util.IgniteUtils.doInParallel;
 import static org.apache.ignite.internal.util.IgniteUtils.doInParallelUninterruptibly;
 
@@ -170,6 +172,9 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
     /** */
     private static final String DISTRIBUTED_LATCH_ID = "exchange";
 
+    /** Bounds of exchange stage duration histograms in milliseconds. */
+    private static final long[] STAGE_DURATION_BOUNDS = new long[] {10, 100, 500, 1000, 5000};
+
     /** */
     @GridToStringExclude
     private final Object mux = new Object();
@@ -1434,18 +1439,29 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
 
         assert !cctx.kernalContext().clientNode();
 
-        for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
-            if (grp.isLocal())
-                continue;
+        cctx.exchange().exchangerBlockingSectionBegin();
 
-            cctx.exchange().exchangerBlockingSectionBegin();
+        try {
+            // Reserve at least 2 threads for system operations.
+            doInParallel(
+                U.availableThreadCount(cctx.kernalContext(), GridIoPolicy.SYSTEM_POOL, 2),
+                cctx.kernalContext().getSystemExecutorService(),
+                cctx.cache().cacheGroups(),
+                grp -> {
+                    if (grp.isLocal())
+                        return null;
 
-            try {
-                grp.preloader().onTopologyChanged(this);
-            }
-            finally {
-                cctx.exchange().exchangerBlockingSectionEnd();
-            }
+                    long start = System.nanoTime();
+
+                    grp.preloader().onTopologyChanged(this);
+
+                    finishGroupStage(grp, "Preloading notification", start);
+
+                    return null;
+                });
+        }
+        finally {
+            cctx.exchange().exchangerBlockingSectionEnd();
         }
 
         timeBag.finishGlobalStage("Preloading notification");
@@ -2349,6 +2365,8 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
 
                     updateDurationHistogram(System.currentTimeMillis() - initTime);
 
+                    updateStagesMetrics();
+
                     // Collect all stages timings.
                     List<String> timings = timeBag.stagesTimings();
 
@@ -2415,6 +2433,60 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
             cctx.exchange().blockingDurationHistogram().value(duration);
     }
 
+    /**
+     * Updates the {@link GridMetricManager#PME_STAGES_METRICS} metrics with durations of finished exchange stages.
+     */
+    private void updateStagesMetrics() {
+        MetricRegistry mreg = cctx.kernalContext().metric().registry(PME_STAGES_METRICS);
+
+        for (Map.Entry<String, Long> e : timeBag.stagesTimes().entrySet()) {
+            String name = stageMetricName(e.getKey());
+
+            mreg.longMetric(name, "Duration of the last \"" + e.getKey() + "\" stage in milliseconds.")
+                .value(e.getValue());
+
+            mreg.histogram(name + "Histogram", STAGE_DURATION_BOUNDS,
+                "Histogram of \"" + e.getKey() + "\" stage durations in milliseconds.").value(e.getValue());
+        }
+    }
+
+    /**
+     * Finishes the local stage of exchange for the given cache group and updates the group stage duration metric.
+     *
+     * @param grp Cache group.
+     * @param stage Stage description.
+     * @param start Stage start time in nanoseconds.
+     */
+    private void finishGroupStage(CacheGroupContext grp, String stage, long start) {
+        timeBag.finishLocalStage(stage + " [grp=" + grp.cacheOrGroupName() + "]");
+
+        grp.metrics().exchangeStageDuration(stageMetricName(stage), U.millisSinceNanos(start));
+    }
+
+    /**
+     * @param stage Stage description.
+     * @return Stage metric name, e.g. {@code AffinityRecalculationCrd} for {@code Affinity recalculation (crd)}.
+     */
+    static String stageMetricName(String stage) {
+        StringBuilder sb = new StringBuilder(stage.length());
+
+        boolean upper = true;
+
+        for (int i = 0; i < stage.length(); i++) {
+            char c = stage.charAt(i);
+
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(upper ? Character.toUpperCase(c) : c);
+
+                upper = false;
+            }
+            else
+                upper = true;
+        }
+
+        return sb.toString();
+    }
+
     /**
      * Calculates discovery lag (Maximal difference between exchange start times across all nodes).
      *
@@ -3269,11 +3341,15 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
                 cctx.cache().cacheGroups(),
                 grp -> {
                     if (!grp.isLocal()) {
+                        long start = System.nanoTime();
+
                         // Do not trigger lost partition events on start.
                         boolean evt = !localJoinExchange() && !activateCluster();
 
                         if (grp.topology().detectLostPartitions(resTopVer, evt ? events().lastEvent() : null))
                             detected.incrementAndGet();
+
+                        finishGroupStage(grp, "Detect lost partitions", start);
                     }
 
                     return null;
@@ -3494,42 +3570,74 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
                     idealAffDiff = cctx.affinity().onServerLeftWithExchangeMergeProtocol(this);
                 else
                     cctx.affinity().onServerJoinWithExchangeMergeProtocol(this, true);
+            }
 
-                doInParallel(
-                    parallelismLvl,
-                    cctx.kernalContext().getSystemExecutorService(),
-                    cctx.affinity().cacheGroups().values(),
-                    desc -> {
-                        if (desc.config().getCacheMode() == CacheMode.LOCAL)
-                            return null;
+            TransactionalDrProcessor txDrProc = cctx.kernalContext().txDr();
 
-                        CacheGroupContext grp = cctx.cache().cacheGroup(desc.groupId());
+            boolean skipResetOwners = txDrProc != null && txDrProc.shouldIgnoreAssignPartitionStates(this);
 
-                        GridDhtPartitionTopology top = grp != null ? grp.topology() :
-                            cctx.exchange().clientTopology(desc.groupId(), events().discoveryCache());
+            span.addLog("Affinity recalculation (crd)");
 
-                        top.beforeExchange(this, true, true);
+            timeBag.finishGlobalStage("Affinity recalculation (crd)");
 
-                        return null;
-                    });
+            Set<Integer> grpIds = new HashSet<>();
+
+            if (exchCtx.mergeExchanges()) {
+                for (CacheGroupDescriptor desc : cctx.affinity().cacheGroups().values()) {
+                    if (desc.config().getCacheMode() != CacheMode.LOCAL)
+                        grpIds.add(desc.groupId());
+                }
             }
 
-            TransactionalDrProcessor txDrProc = cctx.kernalContext().txDr();
+            for (GridDhtPartitionsSingleMessage msg : msgs.values())
+                grpIds.addAll(msg.partitions().keySet());
 
-            boolean skipResetOwners = txDrProc != null && txDrProc.shouldIgnoreAssignPartitionStates(this);
+            // Groups are pipelined: update counters of a group are collected as soon as its partition map
+            // is recalculated for the new affinity, without waiting for other groups.
+            doInParallel(
+                parallelismLvl,
+                cctx.kernalContext().getSystemExecutorService(),
+                grpIds,
+                grpId -> {
+                    CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
 
-            span.addLog("Affinity recalculation (crd)");
+                    GridDhtPartitionTopology top = grp != null ? grp.topology() :
+                        cctx.exchange().clientTopology(grpId, events().discoveryCache());
 
-            timeBag.finishGlobalStage("Affinity recalculation (crd)");
+                    if (exchCtx.mergeExchanges() && cctx.affinity().cacheGroups().containsKey(grpId)) {
+                        long start = System.nanoTime();
+
+                        top.beforeExchange(this, true, true);
+
+                        if (grp != null)
+                            finishGroupStage(grp, "Affinity recalculation (crd)", start);
+                    }
+
+                    long start = System.nanoTime();
+
+                    collectUpdateCountersOnCrdFinish(grpId, top, skipResetOwners);
+
+                    if (grp != null)
+                        finishGroupStage(grp, "Collect update counters", start);
+
+                    return null;
+                });
 
             Map<Integer, CacheGroupAffinityMessage> joinedNodeAff = new ConcurrentHashMap<>(cctx.cache().cacheGroups().size());
 
             doInParallel(
                 parallelismLvl,
                 cctx.kernalContext().getSystemExecutorService(),
-                msgs.values(),
+                msgs.values().stream()
+                    .filter(msg -> msg.cacheGroupsAffinityRequest() != null)
+                    .collect(Collectors.toList()),
                 msg -> {
-                    processSingleMessageOnCrdFinish(msg, joinedNodeAff);
+                    CacheGroupAffinityMessage.createAffinityMessages(
+                        cctx,
+                        exchCtx.events().topologyVersion(),
+                        msg.cacheGroupsAffinityRequest(),
+                        joinedNodeAff
+                    );
 
                     return null;
                 }
@@ -3743,41 +3851,25 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
     }
 
     /**
-     * @param msg Single message to process.
-     * @param messageAccumulator Message to store message which need to be sent after.
+     * Collects partition update counters of the cache group from all received single messages.
+     *
+     * @param grpId Cache group ID.
+     * @param top Cache group topology.
+     * @param skipResetOwners {@code True} if partition states are not going to be assigned by update counters.
      */
-    private void processSingleMessageOnCrdFinish(
-        GridDhtPartitionsSingleMessage msg,
-        Map<Integer, CacheGroupAffinityMessage> messageAccumulator
-    ) {
-        TransactionalDrProcessor txDrProc = cctx.kernalContext().txDr();
-
-        boolean skipResetOwners = txDrProc != null && txDrProc.shouldIgnoreAssignPartitionStates(this);
-
-        for (Map.Entry<Integer, GridDhtPartitionMap> e : msg.partitions().entrySet()) {
-            Integer grpId = e.getKey();
-
-            CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+    private void collectUpdateCountersOnCrdFinish(int grpId, GridDhtPartitionTopology top, boolean skipResetOwners) {
+        if (skipResetOwners)
+            return;
 
-            GridDhtPartitionTopology top = grp != null
-                ? grp.topology()
-                : cctx.exchange().clientTopology(grpId, events().discoveryCache());
+        for (GridDhtPartitionsSingleMessage msg : msgs.values()) {
+            if (!msg.partitions().containsKey(grpId))
+                continue;
 
             CachePartitionPartialCountersMap cntrs = msg.partitionUpdateCounters(grpId, top.partitions());
 
-            if (cntrs != null && !skipResetOwners)
+            if (cntrs != null)
                 top.collectUpdateCounters(cntrs);
         }
-
-        Collection<Integer> affReq = msg.cacheGroupsAffinityRequest();
-
-        if (affReq != null)
-            CacheGroupAffinityMessage.createAffinityMessages(
-                cctx,
-                exchCtx.events().topologyVersion(),
-                affReq,
-                messageAccumulator
-            );
     }
 
     /**
@@ -4269,12 +4361,23 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
                     else
                         cctx.affinity().onServerJoinWithExchangeMergeProtocol(this, false);
 
-                    for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
-                        if (grp.isLocal() || cacheGroupStopping(grp.groupId()))
-                            continue;
+                    // Reserve at least 2 threads for system operations.
+                    doInParallel(
+                        U.availableThreadCount(cctx.kernalContext(), GridIoPolicy.SYSTEM_POOL, 2),
+                        cctx.kernalContext().getSystemExecutorService(),
+                        cctx.cache().cacheGroups(),
+                        grp -> {
+                            if (grp.isLocal() || cacheGroupStopping(grp.groupId()))
+                                return null;
 
-                        grp.topology().beforeExchange(this, true, false);
-                    }
+                            long start = System.nanoTime();
+
+                            grp.topology().beforeExchange(this, true, false);
+
+                            finishGroupStage(grp, "Affinity recalculation", start);
+
+                            return null;
+                        });
                 }
             }
             else if (localJoinExchange() && !exchCtx.fetchAffinityOnJoin())
@@ -4337,6 +4440,8 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
                     CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
 
                     if (grp != null) {
+                        long start = System.nanoTime();
+
                         CachePartitionFullCountersMap cntrMap = msg.partitionUpdateCounters(grpId,
                             grp.topology().partitions());
 
@@ -4347,6 +4452,8 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
                             partsSizes.getOrDefault(grpId, Collections.emptyMap()),
                             null,
                             this);
+
+                        finishGroupStage(grp, "Full map updating", start);
                     }
                     else {
                         GridDhtPartitionTopology top = cctx.exchange().clientTopology(grpId, events().discoveryCache());
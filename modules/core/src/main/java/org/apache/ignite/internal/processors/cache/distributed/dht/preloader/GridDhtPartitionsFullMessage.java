@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 
 import java.io.Externalizable;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -437,7 +438,8 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
                 objectsToMarshall,
                 new IgniteThrowableFunction<Object, byte[]>() {
                     @Override public byte[] apply(Object payload) throws IgniteCheckedException {
-                        byte[] marshalled = U.marshal(ctx, payload);
+                        byte[] marshalled = payload == partCntrs2 && compactCounters() ?
+                            marshalCompact(partCntrs2) : U.marshal(ctx, payload);
 
                         if(compressed())
                             marshalled = U.zip(marshalled, ctx.gridConfig().getNetworkCompressionLevel());
@@ -499,7 +501,7 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
         if (partCntrsBytes != null && partCntrs == null)
             objectsToUnmarshall.add(partCntrsBytes);
 
-        if (partCntrsBytes2 != null && partCntrs2 == null)
+        if (partCntrsBytes2 != null && partCntrs2 == null && !compactCounters())
             objectsToUnmarshall.add(partCntrsBytes2);
 
         if (partHistSuppliersBytes != null && partHistSuppliers == null)
@@ -560,8 +562,10 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
         if (partCntrsBytes != null && partCntrs == null)
             partCntrs = (IgniteDhtPartitionCountersMap)iterator.next();
 
-        if (partCntrsBytes2 != null && partCntrs2 == null)
-            partCntrs2 = (IgniteDhtPartitionCountersMap2)iterator.next();
+        if (partCntrsBytes2 != null && partCntrs2 == null) {
+            partCntrs2 = compactCounters() ?
+                unmarshalCompact(partCntrsBytes2) : (IgniteDhtPartitionCountersMap2)iterator.next();
+        }
 
         if (partHistSuppliersBytes != null && partHistSuppliers == null)
             partHistSuppliers = (IgniteDhtPartitionHistorySuppliersMap)iterator.next();
@@ -591,6 +595,34 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
             errs = new HashMap<>();
     }
 
+    /**
+     * @param cntrs Partition update counters.
+     * @return Compactly encoded counters.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static byte[] marshalCompact(IgniteDhtPartitionCountersMap2 cntrs) throws IgniteCheckedException {
+        try {
+            return CompactPartitionCounters.toBytes(cntrs);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to marshal partition update counters.", e);
+        }
+    }
+
+    /**
+     * @param bytes Compactly encoded counters, possibly compressed.
+     * @return Partition update counters.
+     * @throws IgniteCheckedException If failed.
+     */
+    private IgniteDhtPartitionCountersMap2 unmarshalCompact(byte[] bytes) throws IgniteCheckedException {
+        try {
+            return CompactPartitionCounters.fromBytes(compressed() ? U.unzip(bytes) : bytes);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to unmarshal partition update counters.", e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
         writer.setBuffer(buf);
@@ -64,4 +64,11 @@ public class IgniteDhtPartitionCountersMap2 implements Serializable {
 
         return cntrMap;
     }
+
+    /**
+     * @return Copy of counters of all groups.
+     */
+    synchronized Map<Integer, CachePartitionFullCountersMap> copy() {
+        return map == null ? new HashMap<>() : new HashMap<>(map);
+    }
 }
@@ -384,6 +384,10 @@ public class GridNearAtomicCache<K, V> extends GridNearCacheAdapter<K, V> {
             catch (IgniteCheckedException e) {
                 res.addFailedKey(key, new IgniteCheckedException("Failed to update near cache key: " + key, e));
             }
+
+            // Invalidate off-heap copy after the entry is updated or found evicted, so that the old value
+            // moved off-heap by a concurrent eviction is removed as well.
+            offheapInvalidate(key);
         }
 
         for (int i = 0; i < req.obsoleteNearKeysSize(); i++) {
@@ -393,6 +397,8 @@ public class GridNearAtomicCache<K, V> extends GridNearCacheAdapter<K, V> {
 
             if (entry != null && entry.markObsolete(ver))
                 removeEntry(entry);
+
+            offheapInvalidate(key);
         }
 
         return nearEvicted;
@@ -27,6 +27,9 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.cache.Cache;
 import javax.cache.expiry.ExpiryPolicy;
 import org.apache.ignite.IgniteCheckedException;
@@ -36,6 +39,8 @@ import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheEntryPredicate;
 import org.apache.ignite.internal.processors.cache.CacheEntryPredicateAdapter;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
 import org.apache.ignite.internal.processors.cache.GridCacheClearAllRunnable;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
@@ -55,13 +60,17 @@ import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.P1;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiPredicate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
 /**
  * Common logic for near caches.
  */
@@ -72,6 +81,27 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
     /** */
     private static final CachePeekMode[] NEAR_PEEK_MODE = {CachePeekMode.NEAR};
 
+    /** Maximum number of tracked transactional updates missed by near cache with off-heap memory. */
+    static final int MISSED_TX_UPDATES_MAX = 16 * 1024;
+
+    /** Number of stripes of versions of dropped missed transactional updates. */
+    private static final int MISSED_TX_FLOOR_STRIPES = 4096;
+
+    /** Off-heap near cache memory, {@code null} if off-heap near cache is disabled. */
+    private volatile NearCacheOffheapStore offheapStore;
+
+    /**
+     * Write versions of transactional updates of keys reported as evicted from the near cache, see
+     * {@link #onNearEvictedSent(KeyCacheObject, GridCacheVersion)}.
+     */
+    private volatile ConcurrentMap<KeyCacheObject, GridCacheVersion> missedTxUpdates;
+
+    /**
+     * Maximum write versions of missed transactional updates dropped from {@link #missedTxUpdates} on overflow,
+     * by key hash stripes. Values older than the version of their stripe are never moved off-heap.
+     */
+    private volatile AtomicReferenceArray<GridCacheVersion> missedTxFloors;
+
     /**
      * Empty constructor required for {@link Externalizable}.
      */
@@ -94,6 +124,42 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
                 entryFactory(),
                 ctx.config().getNearConfiguration().getNearStartSize());
         }
+
+        long offheapMaxSize = ctx.config().getNearConfiguration().getNearOffheapMaxSize();
+
+        if (offheapMaxSize < 0) {
+            throw new IgniteCheckedException("Near cache off-heap max size cannot be negative [cacheName=" +
+                ctx.name() + ", nearOffheapMaxSize=" + offheapMaxSize + ']');
+        }
+
+        if (offheapMaxSize > 0 && offheapStore == null) {
+            int concurrencyLvl = ctx.config().getNearConfiguration().getNearOffheapConcurrencyLevel();
+
+            if (concurrencyLvl <= 0) {
+                throw new IgniteCheckedException("Near cache off-heap concurrency level must be positive " +
+                    "[cacheName=" + ctx.name() + ", nearOffheapConcurrencyLevel=" + concurrencyLvl + ']');
+            }
+
+            offheapStore = new NearCacheOffheapStore(
+                offheapMaxSize,
+                concurrencyLvl,
+                ctx.kernalContext().metric().registry(cacheMetricsRegistryName(ctx.name(), true)));
+
+            resetMissedTxUpdates();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() {
+        super.stop();
+
+        NearCacheOffheapStore store = offheapStore;
+
+        if (store != null) {
+            store.close();
+
+            offheapStore = null;
+        }
     }
 
     /**
@@ -129,6 +195,22 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
             ctx,
             entryFactory(),
             ctx.config().getNearConfiguration().getNearStartSize());
+
+        NearCacheOffheapStore store = offheapStore;
+
+        if (store != null) {
+            store.clear();
+
+            resetMissedTxUpdates();
+        }
+    }
+
+    /**
+     * Starts tracking of missed transactional updates from scratch.
+     */
+    private void resetMissedTxUpdates() {
+        missedTxFloors = new AtomicReferenceArray<>(MISSED_TX_FLOOR_STRIPES);
+        missedTxUpdates = new ConcurrentHashMap<>();
     }
 
     /** {@inheritDoc} */
@@ -144,6 +226,9 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
 
     /** {@inheritDoc} */
     @Override public GridCacheMapEntry entryEx(KeyCacheObject key, AffinityTopologyVersion topVer) {
+        // Value is going to be read or updated on heap, off-heap copy is no longer valid.
+        offheapInvalidate(key);
+
         GridNearCacheEntry entry = null;
 
         while (true) {
@@ -178,6 +263,260 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
         return (GridNearCacheEntry)peekEx(key);
     }
 
+    /**
+     * @return {@code True} if off-heap near cache memory is enabled.
+     */
+    public boolean offheapEnabled() {
+        return offheapStore != null;
+    }
+
+    /**
+     * @param key Key.
+     * @return Invalidation stamp of the key to pass to {@link #onEvictedFromHeap}.
+     */
+    long offheapInvalidationStamp(KeyCacheObject key) {
+        NearCacheOffheapStore store = offheapStore;
+
+        return store == null ? 0 : store.invalidationStamp(key.hashCode());
+    }
+
+    /**
+     * Moves value of a near entry evicted from heap to off-heap near cache memory. The value is not stored if
+     * the key was invalidated after the entry was created: the entry is removed from heap before the value is
+     * stored, so a concurrent update may not find the entry and invalidate the key before the value is stored.
+     * Also, this node may be removed from the key readers on primary node after the entry was created, or the value
+     * may be read before a transactional update this node is not notified of, see
+     * {@link #onNearEvictedSent(KeyCacheObject, GridCacheVersion)}.
+     *
+     * @param invStamp Invalidation stamp taken when the entry was created.
+     * @param key Key.
+     * @param val Value.
+     * @param ver Entry version.
+     * @param dhtVer DHT version of the value.
+     * @param topVer Topology version the value is valid for.
+     * @param expireTime Expire time.
+     */
+    void onEvictedFromHeap(
+        long invStamp,
+        KeyCacheObject key,
+        CacheObject val,
+        GridCacheVersion ver,
+        GridCacheVersion dhtVer,
+        AffinityTopologyVersion topVer,
+        long expireTime
+    ) {
+        NearCacheOffheapStore store = offheapStore;
+
+        if (store == null)
+            return;
+
+        ConcurrentMap<KeyCacheObject, GridCacheVersion> missedUpdates = missedTxUpdates;
+
+        GridCacheVersion missedVer = missedUpdates.get(key);
+
+        if (missedVer != null) {
+            if (dhtVer.compareTo(missedVer) < 0)
+                return;
+
+            missedUpdates.remove(key, missedVer);
+        }
+
+        // Missed update of the key may have been dropped on overflow, the stripe version is raised before
+        // the update is dropped, so it is read after the update.
+        GridCacheVersion floor = missedTxFloors.get(missedTxFloorStripe(key));
+
+        if (floor != null && dhtVer.compareTo(floor) < 0)
+            return;
+
+        try {
+            CacheObjectContext coCtx = ctx.cacheObjectContext();
+
+            store.put(invStamp,
+                key.hashCode(),
+                key.valueBytes(coCtx),
+                val.valueBytes(coCtx),
+                val.cacheObjectType(),
+                ver,
+                topVer,
+                expireTime);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to move near cache entry to off-heap memory [key=" + key + ']', e);
+        }
+    }
+
+    /**
+     * Reads value from off-heap near cache memory.
+     *
+     * @param key Key.
+     * @param part Partition.
+     * @param topVer Topology version.
+     * @return Value and version or {@code null} if there is no valid value in off-heap near cache memory.
+     */
+    @Nullable public T2<CacheObject, GridCacheVersion> offheapPeek(
+        KeyCacheObject key,
+        int part,
+        AffinityTopologyVersion topVer
+    ) {
+        NearCacheOffheapStore store = offheapStore;
+
+        if (store == null)
+            return null;
+
+        try {
+            CacheObjectContext coCtx = ctx.cacheObjectContext();
+
+            byte[] keyBytes = key.valueBytes(coCtx);
+
+            NearCacheOffheapStore.Entry e = store.get(key.hashCode(), keyBytes);
+
+            if (e == null)
+                return null;
+
+            if ((e.expireTime() > 0 && e.expireTime() <= U.currentTimeMillis()) ||
+                !offheapValid(part, e.topologyVersion(), topVer)) {
+                store.remove(key.hashCode(), keyBytes);
+
+                return null;
+            }
+
+            CacheObject val = ctx.cacheObjects().toCacheObject(coCtx, e.valueType(), e.valueBytes());
+
+            return new T2<>(val, e.version());
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to read near cache entry from off-heap memory [key=" + key + ']', e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Removes key from off-heap near cache memory.
+     *
+     * @param key Key.
+     */
+    public void offheapInvalidate(KeyCacheObject key) {
+        NearCacheOffheapStore store = offheapStore;
+
+        // Key is marshalled only if an entry with the same hash is stored.
+        if (store == null || !store.invalidate(key.hashCode()))
+            return;
+
+        try {
+            store.remove(key.hashCode(), key.valueBytes(ctx.cacheObjectContext()));
+        }
+        catch (IgniteCheckedException e) {
+            // Store can not keep a value for a key which can not be marshalled.
+            if (log.isDebugEnabled())
+                log.debug("Failed to marshal key for off-heap near cache invalidation [key=" + key + ", err=" + e + ']');
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @param dhtVer DHT version of a value read from primary node.
+     * @return {@code True} if the value is older than a transactional update this node was not notified of.
+     */
+    boolean missedTxUpdate(KeyCacheObject key, GridCacheVersion dhtVer) {
+        ConcurrentMap<KeyCacheObject, GridCacheVersion> missedUpdates = missedTxUpdates;
+
+        if (missedUpdates == null)
+            return false;
+
+        GridCacheVersion missedVer = missedUpdates.get(key);
+
+        return missedVer != null && dhtVer.compareTo(missedVer) < 0;
+    }
+
+    /**
+     * Invalidates the key after primary node is notified that the key is evicted from the near cache. Primary node
+     * removes this node from the key readers unless it is registered by a later message, so the value of a get
+     * request sent before the notification is not updated by primary node anymore and must not be moved off-heap.
+     * <p>
+     * If the key is evicted when a transaction updating it is prepared, this node is not notified of the update
+     * at all, while a get request sent later may still read the previous value on primary node until the transaction
+     * is committed. Values older than the transaction write version are neither kept on heap nor moved off-heap then,
+     * see {@link #missedTxUpdate(KeyCacheObject, GridCacheVersion)}.
+     * <p>
+     * Number of tracked updates is limited. On overflow all the tracked updates are dropped, and the maximum dropped
+     * write version is kept for each key hash stripe instead: values older than the version of their stripe are
+     * not moved off-heap anymore, so a dropped update can never let a stale value be served from off-heap memory.
+     *
+     * @param key Key.
+     * @param writeVer Write version of the transaction updating the key or {@code null} for atomic updates.
+     */
+    public void onNearEvictedSent(KeyCacheObject key, @Nullable GridCacheVersion writeVer) {
+        ConcurrentMap<KeyCacheObject, GridCacheVersion> missedUpdates = missedTxUpdates;
+
+        if (missedUpdates == null)
+            return;
+
+        if (writeVer != null) {
+            missedUpdates.merge(key, writeVer, (v1, v2) -> v1.compareTo(v2) >= 0 ? v1 : v2);
+
+            if (missedUpdates.size() > MISSED_TX_UPDATES_MAX)
+                dropMissedTxUpdates(missedUpdates, missedTxFloors);
+        }
+
+        offheapInvalidate(key);
+    }
+
+    /**
+     * Drops tracked missed transactional updates, raising versions of their stripes first, so that a value
+     * of a dropped key is checked against the stripe version while the update is removed.
+     *
+     * @param missedUpdates Missed updates.
+     * @param floors Versions of the dropped updates by stripes.
+     */
+    private static void dropMissedTxUpdates(
+        ConcurrentMap<KeyCacheObject, GridCacheVersion> missedUpdates,
+        AtomicReferenceArray<GridCacheVersion> floors
+    ) {
+        for (Map.Entry<KeyCacheObject, GridCacheVersion> e : missedUpdates.entrySet()) {
+            GridCacheVersion ver = e.getValue();
+
+            floors.accumulateAndGet(missedTxFloorStripe(e.getKey()), ver,
+                (v1, v2) -> v1 != null && v1.compareTo(v2) >= 0 ? v1 : v2);
+
+            missedUpdates.remove(e.getKey(), ver);
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return Stripe of the versions of dropped missed transactional updates.
+     */
+    private static int missedTxFloorStripe(KeyCacheObject key) {
+        return U.hash(key.hashCode()) & (MISSED_TX_FLOOR_STRIPES - 1);
+    }
+
+    /**
+     * Checks that a value read from primary node on the given topology version is still valid,
+     * see {@link GridNearCacheEntry#valid(AffinityTopologyVersion)}.
+     *
+     * @param part Partition.
+     * @param valTopVer Topology version the value was read on.
+     * @param topVer Current topology version.
+     * @return {@code True} if value is valid.
+     */
+    private boolean offheapValid(int part, AffinityTopologyVersion valTopVer, AffinityTopologyVersion topVer) {
+        if (valTopVer.equals(topVer))
+            return true;
+
+        if (topVer.compareTo(valTopVer) < 0)
+            return false;
+
+        try {
+            return !ctx.affinity().primaryChanged(part, valTopVer, topVer) &&
+                !ctx.affinity().backupByPartition(ctx.localNode(), part, topVer);
+        }
+        catch (IllegalStateException ignore) {
+            // Do not have affinity history.
+            return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isLocked(K key) {
         return super.isLocked(key) || dht().isLocked(key);
@@ -359,11 +698,19 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
 
     /** {@inheritDoc} */
     @Override public boolean clearLocally(K key) {
+        if (offheapEnabled())
+            offheapInvalidate(ctx.toCacheKeyObject(key));
+
         return super.clearLocally(key) | dht().clearLocally(key);
     }
 
     /** {@inheritDoc} */
     @Override public void clearLocallyAll(Set<? extends K> keys, boolean srv, boolean near, boolean readers) {
+        if (near && keys != null && offheapEnabled()) {
+            for (K key : keys)
+                offheapInvalidate(ctx.toCacheKeyObject(key));
+        }
+
         super.clearLocallyAll(keys, srv, near, readers);
 
         dht().clearLocallyAll(keys, srv, near, readers);
@@ -384,6 +731,11 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
         boolean readers) {
         assert configuration().getNearConfiguration() != null;
 
+        NearCacheOffheapStore store = offheapStore;
+
+        if (near && store != null)
+            store.clear();
+
         if (ctx.affinityNode()) {
             GridCacheVersion obsoleteVer = nextVersion();
 
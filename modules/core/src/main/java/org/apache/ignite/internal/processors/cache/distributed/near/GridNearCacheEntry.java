@@ -21,6 +21,7 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.CacheEntryPredicate;
 import org.apache.ignite.internal.processors.cache.CacheLockCandidates;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -48,7 +49,7 @@ import static org.apache.ignite.events.EventType.EVT_CACHE_OBJECT_READ;
 @SuppressWarnings({"TooBroadScope"})
 public class GridNearCacheEntry extends GridDistributedCacheEntry {
     /** */
-    private static final int NEAR_SIZE_OVERHEAD = 36 + 16;
+    private static final int NEAR_SIZE_OVERHEAD = 36 + 16 + 8;
 
     /** Topology version at the moment when value was initialized from primary node. */
     private volatile AffinityTopologyVersion topVer = AffinityTopologyVersion.NONE;
@@ -62,6 +63,9 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
     /** */
     private short evictReservations;
 
+    /** Off-heap near cache invalidation stamp of the key taken when the entry was created. */
+    private final long offheapInvStamp;
+
     /**
      * @param ctx Cache context.
      * @param key Cache key.
@@ -73,6 +77,8 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
         super(ctx, key);
 
         part = ctx.affinity().partition(key);
+
+        offheapInvStamp = ctx.near().offheapInvalidationStamp(key);
     }
 
     /** {@inheritDoc} */
@@ -407,7 +413,8 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
             CacheObject old = this.val;
             boolean hasVal = hasValueUnlocked();
 
-            if (this.dhtVer == null || this.dhtVer.compareTo(dhtVer) < 0 || !valid(topVer)) {
+            if ((this.dhtVer == null || this.dhtVer.compareTo(dhtVer) < 0 || !valid(topVer)) &&
+                !cctx.near().missedTxUpdate(key, dhtVer)) {
                 primaryNode(primaryNodeId, topVer);
 
                 update(val, expireTime, ttl, ver, true);
@@ -743,6 +750,41 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean evictInternal(
+        GridCacheVersion obsoleteVer,
+        @Nullable CacheEntryPredicate[] filter,
+        boolean evictOffheap
+    ) throws IgniteCheckedException {
+        GridNearCacheAdapter near = cctx.near();
+
+        if (!near.offheapEnabled())
+            return super.evictInternal(obsoleteVer, filter, evictOffheap);
+
+        lockEntry();
+
+        try {
+            boolean wasObsolete = obsolete();
+
+            CacheObject val0 = val;
+            GridCacheVersion ver0 = ver;
+            GridCacheVersion dhtVer0 = dhtVer;
+            AffinityTopologyVersion topVer0 = topVer;
+            long expireTime0 = expireTimeUnlocked();
+
+            boolean evicted = super.evictInternal(obsoleteVer, filter, evictOffheap);
+
+            if (evicted && !wasObsolete && val0 != null && dhtVer0 != null &&
+                ver0.getClass() == GridCacheVersion.class && !topVer0.equals(AffinityTopologyVersion.NONE))
+                near.onEvictedFromHeap(offheapInvStamp, key, val0, ver0, dhtVer0, topVer0, expireTime0);
+
+            return evicted;
+        }
+        finally {
+            unlockEntry();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override protected boolean evictionDisabled() {
         assert lockedByCurrentThread();
@@ -48,6 +48,7 @@ import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.util.GridLeanMap;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -379,6 +380,19 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
                     }
                 }
 
+                // Then we peek into off-heap near cache memory.
+                if (v == null && !isNear && tx == null && expiryPlc == null && near.offheapEnabled()) {
+                    T2<CacheObject, GridCacheVersion> offheapRes = near.offheapPeek(key, part, topVer);
+
+                    if (offheapRes != null) {
+                        v = offheapRes.get1();
+                        ver = offheapRes.get2();
+
+                        if (cctx.statisticsEnabled() && !skipVals)
+                            cache().metrics0().onRead(true);
+                    }
+                }
+
                 if (v == null) {
                     // Allow to get cached value from the local node.
                     boolean allowLocRead = (!forcePrimary && cctx.config().isReadFromBackup())|| cctx.localNode().equals(affNodes.get(0));
@@ -5016,7 +5016,9 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
 
     /** {@inheritDoc} */
     @Override public void onTimeout() {
-        if (state() == SUSPENDED) {
+        boolean suspended = state() == SUSPENDED;
+
+        if (suspended) {
             try {
                 resume(false, threadId());
             }
@@ -5035,8 +5037,9 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
             cctx.kernalContext().closure().runLocalSafe(new GridPlainRunnable() {
                 @Override public void run() {
                     // Note: if rollback asynchronously on timeout should not clear thread map
-                    // since thread started tx still should be able to see this tx.
-                    rollbackNearTxLocalAsync(false, true);
+                    // since thread started tx still should be able to see this tx. Suspended tx is not owned
+                    // by any thread, it is unbound from the thread it was resumed to, which may be reused.
+                    rollbackNearTxLocalAsync(suspended, true);
 
                     U.warn(log, "The transaction was forcibly rolled back because a timeout is reached: " +
                         CU.txString(GridNearTxLocal.this));
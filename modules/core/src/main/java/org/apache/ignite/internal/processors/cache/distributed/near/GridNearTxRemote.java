@@ -336,6 +336,10 @@ public class GridNearTxRemote extends GridDistributedTxRemoteAdapter {
 
         GridNearCacheEntry cached = cacheCtx.near().peekExx(entry.key());
 
+        // Key is updated by the transaction, off-heap near copy is no longer valid. Invalidate it after the peek,
+        // so that the value moved off-heap by a concurrent eviction of the entry is removed as well.
+        cacheCtx.near().offheapInvalidate(entry.key());
+
         if (cached == null) {
             evicted.add(entry.txKey());
 
@@ -397,6 +401,9 @@ public class GridNearTxRemote extends GridDistributedTxRemoteAdapter {
 
         GridNearCacheEntry cached = cacheCtx.near().peekExx(key.key());
 
+        // See addEntry(IgniteTxEntry).
+        cacheCtx.near().offheapInvalidate(key.key());
+
         try {
             if (cached == null) {
                 evicted.add(key);
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Count-min sketch with 4-bit counters used to estimate access frequency of near cache keys
+ * (TinyLFU admission filter).
+ * <p>
+ * Each {@code long} of the table holds sixteen 4-bit counters, a key is mapped to four counters in
+ * four different table slots. When the number of recorded increments reaches the sample size, all
+ * counters are halved, so that the sketch reflects recent access history only.
+ * <p>
+ * The sketch is not thread-safe: concurrent increments may be lost, which only makes the estimate
+ * slightly less precise and is acceptable for admission decisions.
+ */
+public class NearCacheFrequencySketch {
+    /** Seeds used to compute counter positions. */
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /** Mask clearing the high bit of every counter after shift. */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Mask of the low bit of every counter. */
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    /** Maximum value of a counter. */
+    public static final int MAX_FREQUENCY = 15;
+
+    /** Counters. */
+    private final long[] table;
+
+    /** Table mask. */
+    private final int tblMask;
+
+    /** Number of increments after which counters are halved. */
+    private final int sampleSize;
+
+    /** Number of increments since last reset. */
+    private int size;
+
+    /**
+     * @param expectedSize Expected number of distinct keys.
+     */
+    public NearCacheFrequencySketch(int expectedSize) {
+        int len = U.ceilPow2(Math.max(expectedSize, 16));
+
+        table = new long[len];
+        tblMask = len - 1;
+        sampleSize = 10 * len;
+    }
+
+    /**
+     * Records access to the key with the given hash.
+     *
+     * @param hash Key hash.
+     */
+    public void increment(int hash) {
+        int h = spread(hash);
+        int start = (h & 3) << 2;
+
+        boolean incremented = false;
+
+        for (int i = 0; i < 4; i++)
+            incremented |= incrementAt(indexOf(h, i), start + i);
+
+        if (incremented && ++size >= sampleSize)
+            reset();
+    }
+
+    /**
+     * @param hash Key hash.
+     * @return Estimated access frequency of the key, from {@code 0} to {@link #MAX_FREQUENCY}.
+     */
+    public int frequency(int hash) {
+        int h = spread(hash);
+        int start = (h & 3) << 2;
+
+        int freq = Integer.MAX_VALUE;
+
+        for (int i = 0; i < 4; i++) {
+            int cnt = (int)((table[indexOf(h, i)] >>> ((start + i) << 2)) & 0xfL);
+
+            freq = Math.min(freq, cnt);
+        }
+
+        return freq;
+    }
+
+    /**
+     * Increments the counter if it is not saturated yet.
+     *
+     * @param i Table index.
+     * @param j Counter index within table slot.
+     * @return {@code True} if counter was incremented.
+     */
+    private boolean incrementAt(int i, int j) {
+        int off = j << 2;
+        long mask = 0xfL << off;
+
+        long val = table[i];
+
+        if ((val & mask) != mask) {
+            table[i] = val + (1L << off);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Halves all counters.
+     */
+    private void reset() {
+        int odd = 0;
+
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        size = (size >>> 1) - (odd >>> 2);
+    }
+
+    /**
+     * @param hash Spread hash.
+     * @param i Counter number.
+     * @return Table index of the counter.
+     */
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+
+        h += h >>> 32;
+
+        return ((int)h) & tblMask;
+    }
+
+    /**
+     * Applies supplemental hash function to defend against poor quality key hashes.
+     *
+     * @param x Hash.
+     * @return Spread hash.
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+
+        return (x >>> 16) ^ x;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(NearCacheFrequencySketch.class, this);
+    }
+}
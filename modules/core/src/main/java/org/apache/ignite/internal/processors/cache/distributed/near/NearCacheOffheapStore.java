@@ -0,0 +1,986 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Off-heap storage of near cache entries.
+ * <p>
+ * Memory is split into shards selected by key hash. Every shard is a fixed size block of memory allocated with
+ * {@link GridUnsafe#allocateMemory(long)} and used as a ring: records are appended at the head and the oldest
+ * records are evicted from the tail when there is not enough space for a new record. Records are located by an
+ * on-heap open addressing index which keeps key hash and record position only.
+ * <p>
+ * Shard memory is allocated on the first stored record and released explicitly when the shard is cleared,
+ * when the store is closed and when the last record of the shard is removed, so the memory is neither limited
+ * by the maximum direct memory size of the JVM nor held until garbage collection.
+ * <p>
+ * Since memory can be released, records are read under the read lock of shard {@link StampedLock}. Lookups of
+ * keys which are not stored, which are the most of the invalidations, check only the on-heap index under an
+ * optimistic stamp and do not lock the shard.
+ * <p>
+ * New records are admitted by TinyLFU policy: when a record has to be evicted to free space for a new one,
+ * the new record is stored only if its key was accessed more frequently than the key of the oldest live
+ * record according to {@link NearCacheFrequencySketch}.
+ * <p>
+ * Every shard counts invalidations of its keys in a number of stripes selected by key hash. A value is stored
+ * only if no key of its stripe was invalidated since the value was loaded, see {@link #invalidationStamp(int)}.
+ */
+public class NearCacheOffheapStore {
+    /** Maximum size of a shard. */
+    static final int MAX_SHARD_SIZE = 1 << 30;
+
+    /** Minimum size of a shard. */
+    static final int MIN_SHARD_SIZE = 64 * 1024;
+
+    /** Record header size. */
+    static final int HDR_SIZE = 56;
+
+    /** Average record size used to estimate number of records in a shard. */
+    private static final int AVG_RECORD_SIZE = 512;
+
+    /** Marker written instead of record length when the rest of the shard buffer is skipped. */
+    private static final int WRAP_MARKER = -1;
+
+    /** Number of invalidation counter stripes in a shard. */
+    private static final int INVALIDATION_STRIPES = 256;
+
+    /** Empty index slot marker. */
+    private static final long EMPTY = -1L;
+
+    /** Shards. */
+    private final Shard[] shards;
+
+    /** Shard mask. */
+    private final int shardMask;
+
+    /** Number of lookups which found an entry. */
+    private final LongAdderMetric hits;
+
+    /** Number of lookups which did not find an entry. */
+    private final LongAdderMetric misses;
+
+    /** Number of admitted entries. */
+    private final LongAdderMetric admissions;
+
+    /** Number of entries rejected by admission policy. */
+    private final LongAdderMetric rejections;
+
+    /** Number of entries evicted to free space for admitted entries. */
+    private final LongAdderMetric evictions;
+
+    /**
+     * @param maxSize Maximum size of memory in bytes.
+     * @param concurrencyLvl Concurrency level, used to define number of shards.
+     * @param mreg Metric registry, {@code null} if metrics should not be registered.
+     */
+    public NearCacheOffheapStore(long maxSize, int concurrencyLvl, @Nullable MetricRegistry mreg) {
+        A.ensure(maxSize > 0, "maxSize > 0");
+        A.ensure(concurrencyLvl > 0, "concurrencyLvl > 0");
+
+        long minCnt = (maxSize + MAX_SHARD_SIZE - 1) / MAX_SHARD_SIZE;
+
+        int cnt = U.ceilPow2((int)Math.max(Math.max(concurrencyLvl, minCnt), 2));
+
+        while (cnt > minCnt && cnt > 1 && maxSize / cnt < MIN_SHARD_SIZE)
+            cnt >>>= 1;
+
+        int shardSize = (int)Math.min(MAX_SHARD_SIZE, Math.max(HDR_SIZE * 2, (maxSize / cnt) & ~7L));
+
+        shards = new Shard[cnt];
+        shardMask = cnt - 1;
+
+        for (int i = 0; i < cnt; i++)
+            shards[i] = new Shard(shardSize);
+
+        if (mreg != null) {
+            hits = mreg.longAdderMetric("NearOffheapHits",
+                "Number of reads served from off-heap near cache memory.");
+            misses = mreg.longAdderMetric("NearOffheapMisses",
+                "Number of reads which did not find an entry in off-heap near cache memory.");
+            admissions = mreg.longAdderMetric("NearOffheapAdmissions",
+                "Number of entries admitted to off-heap near cache memory.");
+            rejections = mreg.longAdderMetric("NearOffheapRejections",
+                "Number of entries rejected by off-heap near cache admission policy.");
+            evictions = mreg.longAdderMetric("NearOffheapEvictions",
+                "Number of entries evicted from off-heap near cache memory.");
+
+            mreg.register("NearOffheapEntriesCount", this::size,
+                "Number of entries stored in off-heap near cache memory.");
+            mreg.register("NearOffheapUsedSize", this::usedSize,
+                "Size in bytes of off-heap near cache memory occupied by records.");
+            mreg.register("NearOffheapAllocatedSize", this::allocatedSize,
+                "Size in bytes of off-heap near cache memory allocated.");
+        }
+        else {
+            hits = new LongAdderMetric("NearOffheapHits", null);
+            misses = new LongAdderMetric("NearOffheapMisses", null);
+            admissions = new LongAdderMetric("NearOffheapAdmissions", null);
+            rejections = new LongAdderMetric("NearOffheapRejections", null);
+            evictions = new LongAdderMetric("NearOffheapEvictions", null);
+        }
+    }
+
+    /**
+     * @param hash Key hash.
+     * @return Invalidation stamp to pass to {@link #put} to not store a value if the key is invalidated
+     *      after the stamp is taken.
+     */
+    public long invalidationStamp(int hash) {
+        int h = spread(hash);
+
+        return shard(h).invalidations.get(h & (INVALIDATION_STRIPES - 1));
+    }
+
+    /**
+     * Stores entry if it passes admission policy. Previously stored entry for the same key is removed
+     * regardless of admission result.
+     *
+     * @param invStamp Invalidation stamp taken before the value was read.
+     * @param hash Key hash.
+     * @param key Key bytes.
+     * @param val Value bytes.
+     * @param valType Value type.
+     * @param ver Entry version.
+     * @param topVer Topology version the value is valid for.
+     * @param expireTime Expire time, {@code 0} if entry never expires.
+     * @return {@code True} if entry was stored.
+     */
+    public boolean put(
+        long invStamp,
+        int hash,
+        byte[] key,
+        byte[] val,
+        byte valType,
+        GridCacheVersion ver,
+        AffinityTopologyVersion topVer,
+        long expireTime
+    ) {
+        int h = spread(hash);
+
+        boolean res = shard(h).put(invStamp, h, hash, key, val, valType, ver, topVer, expireTime);
+
+        if (res)
+            admissions.increment();
+        else
+            rejections.increment();
+
+        return res;
+    }
+
+    /**
+     * @param hash Key hash.
+     * @param key Key bytes.
+     * @return Stored entry or {@code null} if there is no entry for the key.
+     */
+    @Nullable public Entry get(int hash, byte[] key) {
+        int h = spread(hash);
+
+        Entry e = shard(h).get(h, hash, key);
+
+        if (e != null)
+            hits.increment();
+        else
+            misses.increment();
+
+        return e;
+    }
+
+    /**
+     * @param hash Key hash.
+     * @param key Key bytes.
+     * @return {@code True} if entry was removed.
+     */
+    public boolean remove(int hash, byte[] key) {
+        int h = spread(hash);
+
+        return shard(h).remove(h, hash, key);
+    }
+
+    /**
+     * Invalidates the key, so that a value read before the call is not stored, see {@link #invalidationStamp(int)}.
+     * Unlike {@link #remove(int, byte[])} needs no key bytes and does not lock the store.
+     *
+     * @param hash Key hash.
+     * @return {@code True} if an entry for the key may be stored and should be removed by {@link #remove(int, byte[])}.
+     */
+    public boolean invalidate(int hash) {
+        int h = spread(hash);
+
+        return shard(h).invalidate(h, hash);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (Shard shard : shards)
+            shard.clear(false);
+    }
+
+    /**
+     * Removes all entries, releases memory and prevents new entries from being stored.
+     */
+    public void close() {
+        for (Shard shard : shards)
+            shard.clear(true);
+    }
+
+    /**
+     * @return Number of stored entries.
+     */
+    public long size() {
+        long size = 0;
+
+        for (Shard shard : shards)
+            size += shard.idx.size;
+
+        return size;
+    }
+
+    /**
+     * @return Size in bytes of memory occupied by records, including records of removed entries
+     *      which are not evicted yet.
+     */
+    public long usedSize() {
+        long size = 0;
+
+        for (Shard shard : shards)
+            size += shard.usedSize();
+
+        return size;
+    }
+
+    /**
+     * @return Size in bytes of allocated memory.
+     */
+    public long allocatedSize() {
+        long size = 0;
+
+        for (Shard shard : shards)
+            size += shard.allocatedSize();
+
+        return size;
+    }
+
+    /**
+     * @return Number of shards.
+     */
+    int shards() {
+        return shards.length;
+    }
+
+    /**
+     * @param h Spread hash.
+     * @return Shard.
+     */
+    private Shard shard(int h) {
+        // Use bits which are not correlated with the bits used by shard index.
+        return shards[((h * 0x9E3779B9) >>> 16) & shardMask];
+    }
+
+    /**
+     * @param x Hash.
+     * @return Spread hash.
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+
+        return (x >>> 16) ^ x;
+    }
+
+    /**
+     * @param len Length.
+     * @return Length aligned to 8 bytes.
+     */
+    private static long align(long len) {
+        return (len + 7) & ~7L;
+    }
+
+    /**
+     * Entry read from off-heap memory.
+     */
+    public static class Entry {
+        /** Value bytes. */
+        private final byte[] val;
+
+        /** Value type. */
+        private final byte valType;
+
+        /** Version. */
+        private final GridCacheVersion ver;
+
+        /** Topology version. */
+        private final AffinityTopologyVersion topVer;
+
+        /** Expire time. */
+        private final long expireTime;
+
+        /**
+         * @param val Value bytes.
+         * @param valType Value type.
+         * @param ver Version.
+         * @param topVer Topology version.
+         * @param expireTime Expire time.
+         */
+        Entry(byte[] val, byte valType, GridCacheVersion ver, AffinityTopologyVersion topVer, long expireTime) {
+            this.val = val;
+            this.valType = valType;
+            this.ver = ver;
+            this.topVer = topVer;
+            this.expireTime = expireTime;
+        }
+
+        /**
+         * @return Value bytes.
+         */
+        public byte[] valueBytes() {
+            return val;
+        }
+
+        /**
+         * @return Value type.
+         */
+        public byte valueType() {
+            return valType;
+        }
+
+        /**
+         * @return Version.
+         */
+        public GridCacheVersion version() {
+            return ver;
+        }
+
+        /**
+         * @return Topology version the value is valid for.
+         */
+        public AffinityTopologyVersion topologyVersion() {
+            return topVer;
+        }
+
+        /**
+         * @return Expire time, {@code 0} if entry never expires.
+         */
+        public long expireTime() {
+            return expireTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Entry.class, this);
+        }
+    }
+
+    /**
+     * Open addressing index of shard records. Arrays are modified under shard write lock only.
+     */
+    private static class Index {
+        /** Key hashes. */
+        private final int[] hashes;
+
+        /** Record positions. */
+        private final long[] positions;
+
+        /** Number of indexed records. */
+        private int size;
+
+        /**
+         * @param cap Capacity, power of 2.
+         */
+        private Index(int cap) {
+            hashes = new int[cap];
+            positions = new long[cap];
+
+            Arrays.fill(positions, EMPTY);
+        }
+    }
+
+    /**
+     * Shard of off-heap memory.
+     */
+    private class Shard {
+        /** Lock. */
+        private final StampedLock lock = new StampedLock();
+
+        /** Memory capacity. */
+        private final int cap;
+
+        /** Initial index capacity. */
+        private final int initIdxCap;
+
+        /** Access frequency sketch. */
+        private final NearCacheFrequencySketch sketch;
+
+        /** Memory address, {@code 0} if memory is not allocated. */
+        private long addr;
+
+        /** Logical position of the next record. */
+        private long head;
+
+        /** Logical position of the oldest record. */
+        private long tail;
+
+        /** Index. */
+        private volatile Index idx;
+
+        /** Closed flag. */
+        private boolean closed;
+
+        /** Number of invalidations by stripes. */
+        private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+        /**
+         * @param cap Capacity.
+         */
+        private Shard(int cap) {
+            this.cap = cap;
+
+            int expRecords = Math.max(16, cap / AVG_RECORD_SIZE);
+
+            initIdxCap = U.ceilPow2(expRecords * 2);
+            idx = new Index(initIdxCap);
+            sketch = new NearCacheFrequencySketch(expRecords);
+        }
+
+        /**
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param key Key bytes.
+         * @return Entry or {@code null} if not found.
+         */
+        @Nullable private Entry get(int h, int hash, byte[] key) {
+            sketch.increment(hash);
+
+            if (absent(h, hash))
+                return null;
+
+            long stamp = lock.readLock();
+
+            try {
+                int slot = find(idx, h, hash, key);
+
+                return slot < 0 ? null : read(idx.positions[slot]);
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Checks whether there is no record with the given key hash. Only the on-heap index is checked, so the
+         * check does not lock the shard.
+         *
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @return {@code True} if there is definitely no record with the given key hash.
+         */
+        private boolean absent(int h, int hash) {
+            long stamp = lock.tryOptimisticRead();
+
+            if (stamp == 0)
+                return false;
+
+            Index idx0 = idx;
+
+            int[] hashes = idx0.hashes;
+            long[] positions = idx0.positions;
+
+            int mask = hashes.length - 1;
+
+            for (int i = 0, slot = h & mask; i < hashes.length; i++, slot = (slot + 1) & mask) {
+                if (positions[slot] == EMPTY)
+                    return lock.validate(stamp);
+
+                if (hashes[slot] == hash)
+                    return false;
+            }
+
+            return false;
+        }
+
+        /**
+         * Reads entry. Must be called under the shard lock.
+         *
+         * @param pos Record position.
+         * @return Entry.
+         */
+        private Entry read(long pos) {
+            long ptr = addr + pos % cap;
+
+            int keyLen = GridUnsafe.getInt(ptr + 8);
+            int valLen = GridUnsafe.getInt(ptr + 12);
+
+            long expireTime = GridUnsafe.getLong(ptr + 16);
+
+            AffinityTopologyVersion topVer = new AffinityTopologyVersion(GridUnsafe.getLong(ptr + 24),
+                GridUnsafe.getInt(ptr + 32));
+
+            GridCacheVersion ver = new GridCacheVersion(GridUnsafe.getInt(ptr + 36), GridUnsafe.getInt(ptr + 48),
+                GridUnsafe.getLong(ptr + 40));
+
+            byte valType = GridUnsafe.getByte(ptr + 52);
+
+            byte[] val = new byte[valLen];
+
+            GridUnsafe.copyOffheapHeap(ptr + HDR_SIZE + keyLen, val, GridUnsafe.BYTE_ARR_OFF, valLen);
+
+            return new Entry(val, valType, ver, topVer, expireTime);
+        }
+
+        /**
+         * @param invStamp Invalidation stamp.
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param key Key bytes.
+         * @param val Value bytes.
+         * @param valType Value type.
+         * @param ver Version.
+         * @param topVer Topology version.
+         * @param expireTime Expire time.
+         * @return {@code True} if entry was stored.
+         */
+        private boolean put(
+            long invStamp,
+            int h,
+            int hash,
+            byte[] key,
+            byte[] val,
+            byte valType,
+            GridCacheVersion ver,
+            AffinityTopologyVersion topVer,
+            long expireTime
+        ) {
+            long recLen = align(HDR_SIZE + (long)key.length + val.length);
+
+            long stamp = lock.writeLock();
+
+            try {
+                // Key may have been invalidated after the value was read.
+                if (closed || invalidations.get(h & (INVALIDATION_STRIPES - 1)) != invStamp)
+                    return false;
+
+                sketch.increment(hash);
+
+                int slot = find(idx, h, hash, key);
+
+                if (slot >= 0)
+                    removeAt(slot);
+
+                // Do not let a single record flush the major part of the shard.
+                if (recLen > cap / 4) {
+                    releaseIfEmpty();
+
+                    return false;
+                }
+
+                int off = (int)(head % cap);
+
+                long skip = cap - off < recLen ? cap - off : 0;
+
+                long need = skip + recLen;
+
+                if (cap - (head - tail) < need) {
+                    if (!admit(hash, need))
+                        return false;
+
+                    while (cap - (head - tail) < need)
+                        evictTail();
+                }
+
+                if (addr == 0)
+                    addr = GridUnsafe.allocateMemory(cap);
+
+                if (skip > 0) {
+                    GridUnsafe.putInt(addr + off, WRAP_MARKER);
+
+                    head += skip;
+                    off = 0;
+                }
+
+                long ptr = addr + off;
+
+                GridUnsafe.putInt(ptr, (int)recLen);
+                GridUnsafe.putInt(ptr + 4, hash);
+                GridUnsafe.putInt(ptr + 8, key.length);
+                GridUnsafe.putInt(ptr + 12, val.length);
+                GridUnsafe.putLong(ptr + 16, expireTime);
+                GridUnsafe.putLong(ptr + 24, topVer.topologyVersion());
+                GridUnsafe.putInt(ptr + 32, topVer.minorTopologyVersion());
+                GridUnsafe.putInt(ptr + 36, ver.topologyVersion());
+                GridUnsafe.putLong(ptr + 40, ver.order());
+                GridUnsafe.putInt(ptr + 48, ver.nodeOrderAndDrIdRaw());
+                GridUnsafe.putByte(ptr + 52, valType);
+
+                GridUnsafe.copyHeapOffheap(key, GridUnsafe.BYTE_ARR_OFF, ptr + HDR_SIZE, key.length);
+                GridUnsafe.copyHeapOffheap(val, GridUnsafe.BYTE_ARR_OFF, ptr + HDR_SIZE + key.length, val.length);
+
+                insert(h, hash, head);
+
+                head += recLen;
+
+                return true;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param key Key bytes.
+         * @return {@code True} if entry was removed.
+         */
+        private boolean remove(int h, int hash, byte[] key) {
+            if (!invalidate(h, hash))
+                return false;
+
+            long stamp = lock.writeLock();
+
+            try {
+                int slot = find(idx, h, hash, key);
+
+                if (slot < 0)
+                    return false;
+
+                removeAt(slot);
+
+                releaseIfEmpty();
+
+                return true;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @return {@code False} if there is definitely no record with the given key hash.
+         */
+        private boolean invalidate(int h, int hash) {
+            invalidations.incrementAndGet(h & (INVALIDATION_STRIPES - 1));
+
+            // Most invalidations are for keys which are not stored off-heap, check it without locking.
+            return !absent(h, hash);
+        }
+
+        /**
+         * @param close Whether to close the shard.
+         */
+        private void clear(boolean close) {
+            for (int i = 0; i < INVALIDATION_STRIPES; i++)
+                invalidations.incrementAndGet(i);
+
+            long stamp = lock.writeLock();
+
+            try {
+                idx = new Index(initIdxCap);
+
+                release();
+
+                if (close)
+                    closed = true;
+            }
+            finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Releases memory if there are no records left. Must be called under the write lock.
+         */
+        private void releaseIfEmpty() {
+            if (idx.size == 0)
+                release();
+        }
+
+        /**
+         * Releases memory, all the records are discarded. Must be called under the write lock.
+         */
+        private void release() {
+            if (addr != 0) {
+                GridUnsafe.freeMemory(addr);
+
+                addr = 0;
+            }
+
+            head = 0;
+            tail = 0;
+        }
+
+        /**
+         * @return Used size.
+         */
+        private long usedSize() {
+            long stamp = lock.readLock();
+
+            try {
+                return head - tail;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * @return Allocated size.
+         */
+        private long allocatedSize() {
+            long stamp = lock.readLock();
+
+            try {
+                return addr == 0 ? 0 : cap;
+            }
+            finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Checks whether the candidate should be admitted, comparing its frequency with the frequency
+         * of the oldest live record which would be evicted.
+         *
+         * @param hash Candidate key hash.
+         * @param need Required free space.
+         * @return {@code True} if candidate should be admitted.
+         */
+        private boolean admit(int hash, long need) {
+            long pos = tail;
+
+            while (pos < head && cap - (head - pos) < need) {
+                int off = (int)(pos % cap);
+                int len = GridUnsafe.getInt(addr + off);
+
+                if (len == WRAP_MARKER) {
+                    pos += cap - off;
+
+                    continue;
+                }
+
+                int victimHash = GridUnsafe.getInt(addr + off + 4);
+
+                if (findByPosition(spread(victimHash), victimHash, pos) >= 0)
+                    return sketch.frequency(hash) > sketch.frequency(victimHash);
+
+                pos += len;
+            }
+
+            // Only records of removed entries have to be evicted.
+            return true;
+        }
+
+        /**
+         * Evicts the oldest record. Space of the record is reused by the new records.
+         */
+        private void evictTail() {
+            assert tail < head;
+
+            int off = (int)(tail % cap);
+            int len = GridUnsafe.getInt(addr + off);
+
+            if (len == WRAP_MARKER) {
+                tail += cap - off;
+
+                return;
+            }
+
+            int hash = GridUnsafe.getInt(addr + off + 4);
+
+            int slot = findByPosition(spread(hash), hash, tail);
+
+            if (slot >= 0) {
+                removeAt(slot);
+
+                evictions.increment();
+            }
+
+            tail += len;
+        }
+
+        /**
+         * Must be called under the shard lock.
+         *
+         * @param idx Index.
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param key Key bytes.
+         * @return Index slot or {@code -1} if not found.
+         */
+        private int find(Index idx, int h, int hash, byte[] key) {
+            int[] hashes = idx.hashes;
+            long[] positions = idx.positions;
+
+            int mask = hashes.length - 1;
+
+            for (int i = 0, slot = h & mask; i < hashes.length; i++, slot = (slot + 1) & mask) {
+                long pos = positions[slot];
+
+                if (pos == EMPTY)
+                    return -1;
+
+                if (hashes[slot] == hash && keyEquals(pos, key))
+                    return slot;
+            }
+
+            return -1;
+        }
+
+        /**
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param pos Record position.
+         * @return Index slot or {@code -1} if not found.
+         */
+        private int findByPosition(int h, int hash, long pos) {
+            int[] hashes = idx.hashes;
+            long[] positions = idx.positions;
+
+            int mask = hashes.length - 1;
+
+            for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+                long pos0 = positions[slot];
+
+                if (pos0 == EMPTY)
+                    return -1;
+
+                if (pos0 == pos && hashes[slot] == hash)
+                    return slot;
+            }
+        }
+
+        /**
+         * @param pos Record position.
+         * @param key Key bytes.
+         * @return {@code True} if the record has the given key.
+         */
+        private boolean keyEquals(long pos, byte[] key) {
+            long ptr = addr + pos % cap;
+
+            if (GridUnsafe.getInt(ptr + 8) != key.length)
+                return false;
+
+            long keyPtr = ptr + HDR_SIZE;
+
+            for (int i = 0; i < key.length; i++) {
+                if (GridUnsafe.getByte(keyPtr + i) != key[i])
+                    return false;
+            }
+
+            return true;
+        }
+
+        /**
+         * @param h Spread hash.
+         * @param hash Key hash.
+         * @param pos Record position.
+         */
+        private void insert(int h, int hash, long pos) {
+            if ((idx.size + 1) * 2 > idx.hashes.length)
+                resize();
+
+            int mask = idx.hashes.length - 1;
+
+            int slot = h & mask;
+
+            while (idx.positions[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+
+            idx.hashes[slot] = hash;
+            idx.positions[slot] = pos;
+            idx.size++;
+        }
+
+        /**
+         * Doubles index capacity.
+         */
+        private void resize() {
+            Index old = idx;
+            Index idx0 = new Index(old.hashes.length * 2);
+
+            int mask = idx0.hashes.length - 1;
+
+            for (int i = 0; i < old.hashes.length; i++) {
+                long pos = old.positions[i];
+
+                if (pos == EMPTY)
+                    continue;
+
+                int slot = spread(old.hashes[i]) & mask;
+
+                while (idx0.positions[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+
+                idx0.hashes[slot] = old.hashes[i];
+                idx0.positions[slot] = pos;
+            }
+
+            idx0.size = old.size;
+
+            idx = idx0;
+        }
+
+        /**
+         * Removes index slot using backward shift deletion.
+         *
+         * @param slot Slot.
+         */
+        private void removeAt(int slot) {
+            int[] hashes = idx.hashes;
+            long[] positions = idx.positions;
+
+            int mask = hashes.length - 1;
+
+            positions[slot] = EMPTY;
+            idx.size--;
+
+            for (int i = (slot + 1) & mask; positions[i] != EMPTY; i = (i + 1) & mask) {
+                int home = spread(hashes[i]) & mask;
+
+                boolean inRange = slot <= i ? (slot < home && home <= i) : (slot < home || home <= i);
+
+                if (!inRange) {
+                    hashes[slot] = hashes[i];
+                    positions[slot] = positions[i];
+                    positions[i] = EMPTY;
+
+                    slot = i;
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(NearCacheOffheapStore.class, this, "shards", shards.length, "size", size());
+    }
+}
@@ -85,6 +85,12 @@ public final class IgniteQueryErrorCode {
     /** Query out of memory. */
     public static final int QUERY_OUT_OF_MEMORY = 3015;
 
+    /** Request rejected by overloaded server, may be retried later. */
+    public static final int SERVER_BUSY = 3016;
+
+    /** Prepared statement is not found on the server, the query may be sent again as text. */
+    public static final int PREPARED_STMT_NOT_FOUND = 3017;
+
     /* 4xxx - cache related runtime errors */
 
     /** Attempt to INSERT a key that is already in cache. */
@@ -207,6 +213,9 @@ public final class IgniteQueryErrorCode {
             case QUERY_OUT_OF_MEMORY:
                 return SqlStateCode.MEMORY_ALLOCATION_ERROR;
 
+            case SERVER_BUSY:
+                return SqlStateCode.INSUFFICIENT_RESOURCES;
+
             case CLUSTER_READ_ONLY_MODE_ENABLED:
                 return SqlStateCode.CLUSTER_READ_ONLY_MODE_ENABLED;
 
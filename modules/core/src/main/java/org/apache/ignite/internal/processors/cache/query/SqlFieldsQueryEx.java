@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.internal.processors.query.NestedTxMode;
+import org.apache.ignite.internal.processors.query.ParsedQuery;
 import org.apache.ignite.internal.util.typedef.F;
 
 /**
@@ -48,6 +49,9 @@ public final class SqlFieldsQueryEx extends SqlFieldsQuery {
     /** Max memory available for query. */
     private long maxMem;
 
+    /** Query parsed in advance. */
+    private transient ParsedQuery parsedQry;
+
     /**
      * @param sql SQL query.
      * @param isQry Flag indicating whether this object denotes a query or an update operation.
@@ -70,6 +74,7 @@ public final class SqlFieldsQueryEx extends SqlFieldsQuery {
         this.nestedTxMode = qry.nestedTxMode;
         this.batchedArgs = qry.batchedArgs;
         this.maxMem = qry.maxMem;
+        this.parsedQry = qry.parsedQry;
     }
 
     /**
@@ -275,4 +280,24 @@ public final class SqlFieldsQueryEx extends SqlFieldsQuery {
 
         return this;
     }
+
+    /**
+     * @return Query parsed in advance or {@code null} if the query is to be parsed on execution.
+     */
+    public ParsedQuery getParsedQuery() {
+        return parsedQry;
+    }
+
+    /**
+     * Sets query parsed in advance. It is used only if it has been parsed from the same query text with the same
+     * flags, otherwise the query is parsed on execution as usual.
+     *
+     * @param parsedQry Query parsed in advance.
+     * @return {@code this} for chaining.
+     */
+    public SqlFieldsQueryEx setParsedQuery(ParsedQuery parsedQry) {
+        this.parsedQry = parsedQry;
+
+        return this;
+    }
 }
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Map;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.cache.store.CacheStore;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.GridCacheManager;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
@@ -95,6 +96,17 @@ public interface CacheStoreManager extends GridCacheManager {
     public boolean loadAll(@Nullable IgniteInternalTx tx, Collection<? extends KeyCacheObject> keys,
         IgniteBiInClosure<KeyCacheObject, Object> vis) throws IgniteCheckedException;
 
+    /**
+     * Asynchronously loads data from persistent store outside of transaction. Concurrent loads are collected
+     * into batches, see {@link org.apache.ignite.configuration.CacheConfiguration#getReadThroughBatchWindow()}.
+     *
+     * @param keys Cache keys.
+     * @return Future completed with loaded values (keys which are not found in store are absent in the result)
+     *      or {@code null} if read-through batching is disabled.
+     */
+    @Nullable public IgniteInternalFuture<Map<KeyCacheObject, Object>> loadAllAsync(
+        Collection<? extends KeyCacheObject> keys);
+
     /**
      * Loads data from persistent store.
      *
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObjectAdapter;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.lang.IgniteClosureX;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
+
+/**
+ * Collects read-through loads of missing keys into batches loaded from the store with a single
+ * {@code loadAll} call.
+ * <p>
+ * A key requested by several threads concurrently is loaded once. Keys requested during the batch window
+ * are collected into one batch, a batch is also loaded as soon as it reaches the maximum size. Batches are
+ * loaded by a dedicated fixed size thread pool, so that the number of concurrent store calls is bounded
+ * and a slow store does not block threads requesting the keys.
+ */
+public class GridCacheStoreLoadBatcher {
+    /** Batch window in milliseconds. */
+    private final long window;
+
+    /** Maximum batch size. */
+    private final int batchSize;
+
+    /** Closure loading a batch of keys from the store. */
+    private final IgniteClosureX<Collection<Object>, Map<Object, Object>> loadClo;
+
+    /** Timeout processor. */
+    private final GridTimeoutProcessor timeoutProc;
+
+    /** Loader pool. */
+    private final IgniteThreadPoolExecutor exec;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Futures of keys which are queued or being loaded. */
+    private final ConcurrentMap<Object, GridFutureAdapter<Object>> pending = new ConcurrentHashMap<>();
+
+    /** Mutex. */
+    private final Object mux = new Object();
+
+    /** Keys collected into the current batch. */
+    private List<Object> batch = new ArrayList<>();
+
+    /** Current batch flush timeout object, {@code null} if flush is not scheduled. */
+    private GridTimeoutObjectAdapter flushTimeout;
+
+    /** Stopped flag. */
+    private volatile boolean stopped;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param cacheName Cache name.
+     * @param window Batch window in milliseconds.
+     * @param batchSize Maximum batch size.
+     * @param threadCnt Number of loader threads.
+     * @param timeoutProc Timeout processor.
+     * @param loadClo Closure loading a batch of keys from the store.
+     * @param log Logger.
+     */
+    public GridCacheStoreLoadBatcher(
+        String igniteInstanceName,
+        String cacheName,
+        long window,
+        int batchSize,
+        int threadCnt,
+        GridTimeoutProcessor timeoutProc,
+        IgniteClosureX<Collection<Object>, Map<Object, Object>> loadClo,
+        IgniteLogger log
+    ) {
+        assert window > 0 : window;
+        assert batchSize > 0 : batchSize;
+        assert threadCnt > 0 : threadCnt;
+
+        this.window = window;
+        this.batchSize = batchSize;
+        this.timeoutProc = timeoutProc;
+        this.loadClo = loadClo;
+        this.log = log;
+
+        exec = new IgniteThreadPoolExecutor(
+            "store-loader-" + U.maskName(cacheName),
+            igniteInstanceName,
+            threadCnt,
+            threadCnt,
+            0,
+            new LinkedBlockingQueue<>());
+    }
+
+    /**
+     * Asynchronously loads values for the given keys.
+     *
+     * @param keys Store keys.
+     * @return Future completed with loaded values, keys which are not found in the store are absent in the result.
+     */
+    public IgniteInternalFuture<Map<Object, Object>> loadAll(Collection<Object> keys) {
+        if (stopped)
+            return new GridFinishedFuture<>(stoppedException());
+
+        final Map<Object, Object> res = new ConcurrentHashMap<>(U.capacity(keys.size()));
+
+        final GridFutureAdapter<Map<Object, Object>> resFut = new GridFutureAdapter<>();
+
+        final AtomicInteger remaining = new AtomicInteger(keys.size());
+
+        List<Object> newKeys = null;
+
+        for (final Object key : keys) {
+            GridFutureAdapter<Object> fut = pending.get(key);
+
+            if (fut == null) {
+                GridFutureAdapter<Object> old = pending.putIfAbsent(key, fut = new GridFutureAdapter<>());
+
+                if (old != null)
+                    fut = old;
+                else {
+                    if (newKeys == null)
+                        newKeys = new ArrayList<>(keys.size());
+
+                    newKeys.add(key);
+                }
+            }
+
+            fut.listen(f -> {
+                try {
+                    Object val = f.get();
+
+                    if (val != null)
+                        res.put(key, val);
+
+                    if (remaining.decrementAndGet() == 0)
+                        resFut.onDone(res);
+                }
+                catch (IgniteCheckedException e) {
+                    resFut.onDone(e);
+                }
+            });
+        }
+
+        if (newKeys != null)
+            enqueue(newKeys);
+
+        return resFut;
+    }
+
+    /**
+     * @param keys Keys to add to the current batch.
+     */
+    private void enqueue(List<Object> keys) {
+        List<List<Object>> full = null;
+
+        boolean rejected;
+
+        synchronized (mux) {
+            rejected = stopped;
+
+            if (!rejected) {
+                for (Object key : keys) {
+                    batch.add(key);
+
+                    if (batch.size() >= batchSize) {
+                        if (full == null)
+                            full = new ArrayList<>();
+
+                        full.add(batch);
+
+                        batch = new ArrayList<>();
+                    }
+                }
+
+                if (batch.isEmpty()) {
+                    if (flushTimeout != null) {
+                        timeoutProc.removeTimeoutObject(flushTimeout);
+
+                        flushTimeout = null;
+                    }
+                }
+                else if (flushTimeout == null) {
+                    flushTimeout = new GridTimeoutObjectAdapter(window) {
+                        @Override public void onTimeout() {
+                            flushOnTimeout(this);
+                        }
+                    };
+
+                    timeoutProc.addTimeoutObject(flushTimeout);
+                }
+            }
+        }
+
+        if (rejected) {
+            onLoaded(keys, null, stoppedException());
+
+            return;
+        }
+
+        if (full != null) {
+            for (List<Object> b : full)
+                submit(b);
+        }
+    }
+
+    /**
+     * @param timeoutObj Timeout object.
+     */
+    private void flushOnTimeout(GridTimeoutObjectAdapter timeoutObj) {
+        List<Object> b;
+
+        synchronized (mux) {
+            if (flushTimeout != timeoutObj || batch.isEmpty())
+                return;
+
+            b = batch;
+
+            batch = new ArrayList<>();
+
+            flushTimeout = null;
+        }
+
+        submit(b);
+    }
+
+    /**
+     * @param keys Batch to load.
+     */
+    private void submit(final List<Object> keys) {
+        try {
+            exec.execute(() -> load(keys));
+        }
+        catch (RejectedExecutionException ignored) {
+            onLoaded(keys, null, stoppedException());
+        }
+    }
+
+    /**
+     * @param keys Keys to load.
+     */
+    private void load(List<Object> keys) {
+        if (stopped) {
+            onLoaded(keys, null, stoppedException());
+
+            return;
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Loading batch of keys from store [size=" + keys.size() + ']');
+
+        Map<Object, Object> vals = null;
+        Throwable err = null;
+
+        try {
+            vals = loadClo.applyx(keys);
+        }
+        catch (Throwable e) {
+            err = e;
+
+            if (e instanceof Error)
+                throw (Error)e;
+        }
+        finally {
+            onLoaded(keys, vals, err);
+        }
+    }
+
+    /**
+     * @param keys Keys.
+     * @param vals Loaded values.
+     * @param err Error.
+     */
+    private void onLoaded(List<Object> keys, Map<Object, Object> vals, Throwable err) {
+        if (vals == null)
+            vals = Collections.emptyMap();
+
+        for (Object key : keys) {
+            GridFutureAdapter<Object> fut = pending.remove(key);
+
+            assert fut != null : key;
+
+            if (err != null)
+                fut.onDone(err);
+            else
+                fut.onDone(vals.get(key));
+        }
+    }
+
+    /**
+     * Stops the loader, pending loads are completed with an error.
+     */
+    public void stop() {
+        List<Object> b;
+
+        synchronized (mux) {
+            stopped = true;
+
+            b = batch;
+
+            batch = new ArrayList<>();
+
+            if (flushTimeout != null) {
+                timeoutProc.removeTimeoutObject(flushTimeout);
+
+                flushTimeout = null;
+            }
+        }
+
+        if (!b.isEmpty())
+            onLoaded(b, null, stoppedException());
+
+        // Queued batches are completed with an error since the loader is stopped.
+        for (Runnable task : exec.shutdownNow())
+            task.run();
+    }
+
+    /**
+     * @return Exception for loads requested after the loader is stopped.
+     */
+    private IgniteCheckedException stoppedException() {
+        return new IgniteCheckedException("Failed to load keys from store (cache store loader is stopped).");
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheStoreLoadBatcher.class, this);
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.store;
 import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -38,6 +39,7 @@ import org.apache.ignite.cache.store.CacheStoreSessionListener;
 import org.apache.ignite.cache.store.jdbc.CacheJdbcPojoStore;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.CacheStoreBalancingWrapper;
@@ -50,7 +52,10 @@ import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.util.GridEmptyIterator;
 import org.apache.ignite.internal.util.GridLeanMap;
 import org.apache.ignite.internal.util.GridSetWrapper;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.lang.GridClosureException;
 import org.apache.ignite.internal.util.lang.GridMetadataAwareAdapter;
+import org.apache.ignite.internal.util.lang.IgniteClosureX;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.C1;
@@ -111,6 +116,9 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
     /** Always keep binary. */
     protected boolean alwaysKeepBinary;
 
+    /** Read-through batch loader, {@code null} if read-through batching is disabled. */
+    private GridCacheStoreLoadBatcher loadBatcher;
+
     /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
     @Override public void initialize(@Nullable CacheStore cfgStore, Map sesHolders) throws IgniteCheckedException {
@@ -230,6 +238,22 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
                     "storage upon restarts. Consult documentation for more details.");
         }
 
+        if (store != null && cfg.isReadThrough() && cfg.getReadThroughBatchWindow() > 0 && !cctx.isNear()) {
+            loadBatcher = new GridCacheStoreLoadBatcher(
+                cctx.igniteInstanceName(),
+                cfg.getName(),
+                cfg.getReadThroughBatchWindow(),
+                cfg.getReadThroughBatchSize(),
+                cfg.getReadThroughBatchThreadCount(),
+                cctx.time(),
+                new IgniteClosureX<Collection<Object>, Map<Object, Object>>() {
+                    @Override public Map<Object, Object> applyx(Collection<Object> keys) throws IgniteCheckedException {
+                        return loadBatchFromStore(keys);
+                    }
+                },
+                cctx.logger(GridCacheStoreLoadBatcher.class));
+        }
+
         sesLsnrs = CU.startStoreSessionListeners(cctx.kernalContext(), cfg.getCacheStoreSessionListenerFactories());
 
         if (sesLsnrs == null) {
@@ -241,6 +265,9 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
 
     /** {@inheritDoc} */
     @Override protected void stop0(boolean cancel, boolean destroy) {
+        if (loadBatcher != null)
+            loadBatcher.stop();
+
         if (store instanceof LifecycleAware) {
             try {
                 // Avoid second start() call on store in case when near cache is enabled.
@@ -342,6 +369,82 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override @Nullable public IgniteInternalFuture<Map<KeyCacheObject, Object>> loadAllAsync(
+        Collection<? extends KeyCacheObject> keys
+    ) {
+        if (loadBatcher == null)
+            return null;
+
+        final Map<Object, KeyCacheObject> storeKeys = U.newHashMap(keys.size());
+
+        for (KeyCacheObject key : keys) {
+            // Never load internal keys from store as they are never persisted.
+            if (!key.internal())
+                storeKeys.put(cctx.unwrapBinaryIfNeeded(key, !convertBinary()), key);
+        }
+
+        if (storeKeys.isEmpty())
+            return new GridFinishedFuture<>(Collections.<KeyCacheObject, Object>emptyMap());
+
+        return loadBatcher.loadAll(storeKeys.keySet()).chain(
+            new C1<IgniteInternalFuture<Map<Object, Object>>, Map<KeyCacheObject, Object>>() {
+                @Override public Map<KeyCacheObject, Object> apply(IgniteInternalFuture<Map<Object, Object>> fut) {
+                    try {
+                        Map<Object, Object> vals = fut.get();
+
+                        Map<KeyCacheObject, Object> res = U.newHashMap(vals.size());
+
+                        for (Map.Entry<Object, Object> e : vals.entrySet())
+                            res.put(storeKeys.get(e.getKey()), e.getValue());
+
+                        return res;
+                    }
+                    catch (IgniteCheckedException e) {
+                        throw new GridClosureException(e);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Loads a batch of keys collected by read-through batch loader.
+     *
+     * @param keys Store keys.
+     * @return Loaded values.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Map<Object, Object> loadBatchFromStore(Collection<Object> keys) throws IgniteCheckedException {
+        if (log.isDebugEnabled())
+            log.debug("Loading values from store for keys: " + keys);
+
+        sessionInit0(null, StoreOperation.READ, false);
+
+        boolean threwEx = true;
+
+        Map<Object, Object> res = null;
+
+        try {
+            res = store.loadAll(keys);
+
+            threwEx = false;
+        }
+        catch (ClassCastException e) {
+            handleClassCastException(e);
+        }
+        catch (CacheLoaderException e) {
+            throw new IgniteCheckedException(e);
+        }
+        catch (Exception e) {
+            throw new IgniteCheckedException(new CacheLoaderException(e));
+        }
+        finally {
+            sessionEnd0(null, threwEx);
+        }
+
+        return res != null ? res : Collections.emptyMap();
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isWriteBehind() {
         return cctx.config().isWriteBehindEnabled();
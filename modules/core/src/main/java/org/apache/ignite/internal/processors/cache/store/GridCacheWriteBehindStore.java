@@ -27,6 +27,7 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.LockSupport;
@@ -70,6 +71,15 @@ import static javax.cache.Cache.Entry;
  * Since write operations to the cache store are deferred, transaction support is lost; no
  * transaction objects are passed to the underlying store.
  * <p/>
+ * Pending updates are striped between flusher threads by key hash, so every flusher owns its own
+ * part of the write buffer and updates of the same key are always written by the same flusher in
+ * the order they were made. Batch size of each flusher is adjusted according to the underlying
+ * store latency and failures, {@link #setBatchSize(int)} sets the upper bound.
+ * <p/>
+ * When write buffer with write coalescing grows above its critical size, writers are throttled: every
+ * update parks the writer for a time proportional to the overflow, so that flushers catch up. Values are
+ * flushed by writers synchronously only if the buffer keeps growing despite throttling.
+ * <p/>
  * {@link GridCacheWriteBehindStore} doesn't support concurrent modifications of the same key.
  */
 public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, LifecycleAware {
@@ -82,6 +92,18 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
     /** Default concurrency level of write cache. */
     public static final int DFLT_CONCUR_LVL = 64;
 
+    /** Maximum time a writer is parked for on a single update when write cache is overflowed. */
+    private static final long MAX_THROTTLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Minimum time a writer is parked for on a single update when write cache is overflowed. */
+    private static final long MIN_THROTTLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    /**
+     * Ratio of the critical size of write cache at which writers flush values synchronously, when throttling
+     * does not stop write cache from growing, e.g. when the underlying store is stuck.
+     */
+    private static final int CACHE_HARD_LIMIT_RATIO = 2;
+
     /** Write cache initial capacity. */
     private int initCap = DFLT_INITIAL_CAPACITY;
 
@@ -115,9 +137,6 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
     /** Underlying store. */
     private final CacheStore<K, V> store;
 
-    /** Write cache. */
-    private ConcurrentLinkedHashMap<K, StatefulValue<K, V>> writeCache;
-
     /** Flusher threads. */
     private Flusher[] flushThreads;
 
@@ -136,18 +155,27 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
     /** Variable for counting key-value pairs that are in {@link ValueStatus#RETRY} state. */
     private AtomicInteger retryEntriesCnt = new AtomicInteger();
 
+    /** Count of updates processed by the store. */
+    private final LongAdder updatesCnt = new LongAdder();
+
+    /** Count of updates which replaced a pending update of the same key. */
+    private final LongAdder coalescedCnt = new LongAdder();
+
+    /** Count of batches written to the underlying store. */
+    private final LongAdder flushedBatchesCnt = new LongAdder();
+
+    /** Count of entries written to the underlying store. */
+    private final LongAdder flushedEntriesCnt = new LongAdder();
+
+    /** Total time spent in the underlying store updates in nanoseconds. */
+    private final LongAdder flushTimeNanos = new LongAdder();
+
     /** Log. */
     private final IgniteLogger log;
 
     /** Store manager. */
     private final CacheStoreManager storeMgr;
 
-    /** Flush lock. */
-    private final Lock flushLock = new ReentrantLock();
-
-    /** Condition to determine records available for flush. */
-    private Condition canFlush = flushLock.newCondition();
-
     /**
      * Creates a write-behind cache store for the given store.
      *
@@ -297,16 +325,17 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      * @return Total count of entries in cache store internal buffer.
      */
     public int getWriteBehindBufferSize() {
-        if (writeCoalescing)
-            return writeCache.sizex();
-        else {
-            int size = 0;
+        Flusher[] flushThreads = this.flushThreads;
 
-            for (Flusher f : flushThreads)
-                size += f.size();
+        if (flushThreads == null)
+            return 0;
 
-            return size;
-        }
+        int size = 0;
+
+        for (Flusher f : flushThreads)
+            size += f.size();
+
+        return size;
     }
 
     /**
@@ -334,9 +363,6 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             flushThreads = new GridCacheWriteBehindStore.Flusher[flushThreadCnt];
 
-            if (writeCoalescing)
-                writeCache = new ConcurrentLinkedHashMap<>(initCap, 0.75f, concurLvl);
-
             for (int i = 0; i < flushThreads.length; i++) {
                 flushThreads[i] = new Flusher(igniteInstanceName, "flusher-" + i, log);
 
@@ -347,7 +373,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
     /**
      * Gets count of write buffer overflow events since initialization. Each overflow event causes
-     * the ongoing flush operation to be performed synchronously.
+     * the writer to be throttled, or the ongoing flush operation to be performed synchronously if
+     * the buffer keeps growing despite throttling.
      *
      * @return Count of cache overflow events since start.
      */
@@ -357,7 +384,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
     /**
      * Gets count of write buffer overflow events in progress at the moment. Each overflow event causes
-     * the ongoing flush operation to be performed synchronously.
+     * the writer to be throttled, or the ongoing flush operation to be performed synchronously if
+     * the buffer keeps growing despite throttling.
      *
      * @return Count of cache overflow events since start.
      */
@@ -376,6 +404,83 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         return retryEntriesCnt.get();
     }
 
+    /**
+     * Gets count of write and remove operations processed by the write-behind store since start.
+     *
+     * @return Count of updates.
+     */
+    public long getWriteBehindUpdatesCount() {
+        return updatesCnt.sum();
+    }
+
+    /**
+     * Gets count of updates which replaced a not yet flushed update of the same key, so only the latest
+     * value was written to the underlying store.
+     *
+     * @return Count of coalesced updates.
+     */
+    public long getWriteBehindCoalescedUpdatesCount() {
+        return coalescedCnt.sum();
+    }
+
+    /**
+     * Gets ratio of coalesced updates to the total count of updates.
+     *
+     * @return Coalescing ratio, {@code 0} if there were no updates.
+     */
+    public double getWriteBehindCoalescingRatio() {
+        long updates = updatesCnt.sum();
+
+        return updates == 0 ? 0 : (double)coalescedCnt.sum() / updates;
+    }
+
+    /**
+     * Gets count of batches successfully written to the underlying store.
+     *
+     * @return Count of flushed batches.
+     */
+    public long getWriteBehindFlushedBatchesCount() {
+        return flushedBatchesCnt.sum();
+    }
+
+    /**
+     * Gets count of entries successfully written to the underlying store.
+     *
+     * @return Count of flushed entries.
+     */
+    public long getWriteBehindFlushedEntriesCount() {
+        return flushedEntriesCnt.sum();
+    }
+
+    /**
+     * Gets total time of successful underlying store updates.
+     *
+     * @return Flush time in nanoseconds.
+     */
+    public long getWriteBehindFlushTime() {
+        return flushTimeNanos.sum();
+    }
+
+    /**
+     * Gets average size of the batches currently used by flusher threads. Batch size is decreased when the
+     * underlying store fails or is slow and is never greater than {@link #getWriteBehindStoreBatchSize()}.
+     *
+     * @return Current batch size.
+     */
+    public int getWriteBehindCurrentBatchSize() {
+        Flusher[] flushThreads = this.flushThreads;
+
+        if (flushThreads == null)
+            return batchSize;
+
+        long size = 0;
+
+        for (Flusher f : flushThreads)
+            size += f.batchSize();
+
+        return (int)(size / flushThreads.length);
+    }
+
     /**
      * Performs shutdown logic for store. No put, get and remove requests will be processed after
      * this method is called.
@@ -385,10 +490,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
             if (log.isDebugEnabled())
                 log.debug("Stopping write-behind store for cache '" + cacheName + '\'');
 
-            for (Flusher f : flushThreads) {
-                if (!f.isEmpty())
-                    f.wakeUp();
-            }
+            for (Flusher f : flushThreads)
+                f.wakeUp();
 
             boolean graceful = true;
 
@@ -430,7 +533,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
             StatefulValue<K, V> val;
 
             if (writeCoalescing)
-                val = writeCache.get(key);
+                val = flusher(key).writeCache.get(key);
             else
                 val = flusher(key).flusherWriteMap.get(key);
 
@@ -489,7 +592,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         StatefulValue<K, V> val;
 
         if (writeCoalescing)
-            val = writeCache.get(key);
+            val = flusher(key).writeCache.get(key);
         else
             val = flusher(key).flusherWriteMap.get(key);
 
@@ -595,6 +698,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         throws IgniteInterruptedCheckedException {
         StatefulValue<K, V> newVal = new StatefulValue<>(val, operation);
 
+        updatesCnt.increment();
+
         if (writeCoalescing)
             putToWriteCache(key, newVal);
         else
@@ -616,12 +721,18 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
         assert writeCoalescing : "Unexpected write coalescing.";
 
+        Flusher flusher = flusher(key);
+
+        ConcurrentLinkedHashMap<K, StatefulValue<K, V>> writeCache = flusher.writeCache;
+
         while ((prev = writeCache.putIfAbsent(key, newVal)) != null) {
             prev.writeLock().lock();
 
             try {
                 if (prev.status() == ValueStatus.PENDING || prev.status() == ValueStatus.PENDING_AND_UPDATED) {
                     // Flush process in progress, save next value and update the status.
+                    if (prev.status() == ValueStatus.PENDING_AND_UPDATED)
+                        coalescedCnt.increment();
 
                     prev.setNext(newVal.val, newVal.storeOperation);
 
@@ -638,6 +749,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                 assert prev.status() == ValueStatus.NEW || prev.status() == ValueStatus.RETRY;
 
+                coalescedCnt.increment();
+
                 prev.update(newVal.val, newVal.operation(), ValueStatus.NEW);
 
                 break;
@@ -648,13 +761,45 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         }
 
         // Now check the map size
-        int cacheSize = getWriteBehindBufferSize();
+        int cacheSize = writeCache.sizex();
+
+        if (flusher.isOverflowed(cacheSize))
+            throttle(flusher);
+        else if (flusher.flusherCacheMaxSize > 0 && cacheSize > flusher.flusherCacheMaxSize)
+            flusher.wakeUp();
+    }
+
+    /**
+     * Slows the writer down when write cache is overflowed, so that flushers catch up. The writer is parked
+     * for a time proportional to the overflow. Only when write cache keeps growing up to the hard limit of
+     * {@link #CACHE_HARD_LIMIT_RATIO} critical sizes, the writer flushes a value synchronously.
+     *
+     * @param flusher Flusher which write cache is overflowed.
+     */
+    private void throttle(Flusher flusher) {
+        flusher.wakeUp();
 
-        if (cacheSize > cacheCriticalSize)
+        long over = getWriteBehindBufferSize() - cacheCriticalSize;
+
+        if (over > (long)cacheCriticalSize * (CACHE_HARD_LIMIT_RATIO - 1)) {
             // Perform single store update in the same thread.
-            flushSingleValue();
-        else if (cacheMaxSize > 0 && cacheSize > cacheMaxSize)
-            wakeUp();
+            flushSingleValue(flusher);
+
+            return;
+        }
+
+        cacheOverflowCntr.incrementAndGet();
+
+        try {
+            cacheTotalOverflowCntr.incrementAndGet();
+
+            long parkNanos = Math.max(MIN_THROTTLE_PARK_NANOS, MAX_THROTTLE_PARK_NANOS * over / cacheCriticalSize);
+
+            LockSupport.parkNanos(Math.min(parkNanos, MAX_THROTTLE_PARK_NANOS));
+        }
+        finally {
+            cacheOverflowCntr.decrementAndGet();
+        }
     }
 
     /**
@@ -678,14 +823,16 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      * Flushes one upcoming value to the underlying store. Called from
      * {@link #updateCache(Object, Entry, StoreOperation)} method in case when current map size exceeds
      * critical size.
+     *
+     * @param flusher Flusher which write cache is overflowed.
      */
-    private void flushSingleValue() {
+    private void flushSingleValue(Flusher flusher) {
         cacheOverflowCntr.incrementAndGet();
 
         try {
             Map<K, StatefulValue<K, V>> batch;
 
-            for (Map.Entry<K, StatefulValue<K, V>> e : writeCache.entrySet()) {
+            for (Map.Entry<K, StatefulValue<K, V>> e : flusher.writeCache.entrySet()) {
                 StatefulValue<K, V> val = e.getValue();
 
                 val.writeLock().lock();
@@ -711,7 +858,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                 }
 
                 if (!batch.isEmpty()) {
-                    applyBatch(batch, false, null);
+                    applyBatch(batch, false, flusher);
 
                     cacheTotalOverflowCntr.incrementAndGet();
 
@@ -729,7 +876,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      *
      * @param valMap Batch map.
      * @param initSes {@code True} if need to initialize session.
-     * @param flusher Flusher, assotiated with all keys in batch (have sense in write coalescing = false mode)
+     * @param flusher Flusher, assotiated with all keys in batch.
      * @return {@code True} if batch was successfully applied, {@code False} otherwise.
      */
     private boolean applyBatch(Map<K, StatefulValue<K, V>> valMap, boolean initSes, Flusher flusher) {
@@ -778,7 +925,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                         else {
                             val.status(ValueStatus.FLUSHED);
 
-                            StatefulValue<K, V> prev = writeCache.remove(e.getKey());
+                            StatefulValue<K, V> prev = flusher.writeCache.remove(e.getKey());
 
                             // Additional check to ensure consistency.
                             assert prev == val : "Map value for key " + e.getKey() + " was updated during flush";
@@ -789,10 +936,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                     else {
                         val.status(ValueStatus.FLUSHED);
 
-                        Flusher f = flusher(e.getKey());
-
                         // Can remove using equal because if map contains another similar value it has different state.
-                        f.flusherWriteMap.remove(e.getKey(), e.getValue());
+                        flusher.flusherWriteMap.remove(e.getKey(), e.getValue());
 
                         val.signalFlushed();
                     }
@@ -841,7 +986,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      * @param operation Status indicating operation that should be performed.
      * @param vals Key-Value map.
      * @param initSes {@code True} if need to initialize session.
-     * @param flusher Flusher, assotiated with vals keys (in writeCoalescing=false mode)
+     * @param flusher Flusher, assotiated with vals keys.
      * @return {@code true} if value may be deleted from the write cache,
      *         {@code false} otherwise
      */
@@ -863,6 +1008,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             boolean threwEx = true;
 
+            long start = System.nanoTime();
+
             try {
                 switch (operation) {
                     case PUT:
@@ -881,6 +1028,10 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                 threwEx = false;
 
+                flushTimeNanos.add(System.nanoTime() - start);
+                flushedBatchesCnt.increment();
+                flushedEntriesCnt.add(vals.size());
+
                 return true;
             }
             finally {
@@ -891,12 +1042,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         catch (Exception e) {
             LT.error(log, e, "Unable to update underlying store: " + store);
 
-            boolean overflow;
-
-            if (writeCoalescing)
-                overflow = writeCache.sizex() > cacheCriticalSize || stopping.get();
-            else
-                overflow = flusher.isOverflowed() || stopping.get();
+            boolean overflow = flusher.isOverflowed(flusher.size()) || stopping.get();
 
             if (overflow) {
                 for (Map.Entry<K, Entry<? extends K, ? extends  V>> entry : vals.entrySet()) {
@@ -914,24 +1060,13 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         }
     }
 
-    /**
-     * Wakes up flushing threads if map size exceeded maximum value or in case of shutdown.
-     */
-    private void wakeUp() {
-        flushLock.lock();
-
-        try {
-            canFlush.signalAll();
-        }
-        finally {
-            flushLock.unlock();
-        }
-    }
-
     /**
      * Thread that performs time/size-based flushing of written values to the underlying storage.
      */
     private class Flusher extends GridWorker {
+        /** Write cache, {@code null} if write coalescing is disabled. */
+        private final ConcurrentLinkedHashMap<K, StatefulValue<K, V>> writeCache;
+
         /** Queue to flush. */
         private final FastSizeDeque<IgniteBiTuple<K, StatefulValue<K,V>>> queue;
 
@@ -941,6 +1076,15 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         /** Critical size of flusher local queue. */
         private final int flusherCacheCriticalSize;
 
+        /** Size of flusher write cache that triggers flush, {@code 0} if flush is performed on timeout only. */
+        private final int flusherCacheMaxSize;
+
+        /**
+         * Current batch size. Decreased on store failures and slow store updates,
+         * restored up to {@link #batchSize} on fast ones.
+         */
+        private volatile int curBatchSize;
+
         /** Flusher parked flag. */
         private volatile boolean parked;
 
@@ -956,7 +1100,11 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         /** Confition to determine available space for flush. */
         private Condition flusherWriterCanWrite = flusherWriterLock.newCondition();
 
-        /** {@inheritDoc */
+        /**
+         * @param igniteInstanceName Ignite instance name.
+         * @param name Flusher name.
+         * @param log Logger.
+         */
         protected Flusher(String igniteInstanceName,
             String name,
             IgniteLogger log) {
@@ -964,13 +1112,19 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             flusherCacheCriticalSize = cacheCriticalSize/flushThreadCnt;
 
+            flusherCacheMaxSize = cacheMaxSize > 0 ? Math.max(cacheMaxSize / flushThreadCnt, 1) : 0;
+
+            curBatchSize = batchSize;
+
             assert flusherCacheCriticalSize > batchSize;
 
             if (writeCoalescing) {
+                writeCache = new ConcurrentLinkedHashMap<>(initCap, 0.75f, concurLvl);
                 queue = null;
                 flusherWriteMap = null;
             }
             else {
+                writeCache = null;
                 queue = new FastSizeDeque<>(new ConcurrentLinkedDeque<>());
                 flusherWriteMap = new ConcurrentHashMap<>(initCap, 0.75f, concurLvl);
             }
@@ -1032,16 +1186,16 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
         }
 
         /**
-         * Get overflowed flag.
+         * Get overflowed flag. Flusher is overflowed if its part of the write buffer is greater than its share of
+         * the critical size and the whole write buffer is greater than the critical size, so that parts of skewed
+         * keys can use the space not used by the other flushers.
          *
+         * @param size Size of the flusher part of the write buffer.
          * @return {@code True} if write behind flusher is overflowed,
          *         {@code False} otherwise.
          */
-        public boolean isOverflowed() {
-            if (writeCoalescing)
-                return writeCache.sizex() > cacheCriticalSize;
-            else
-                return queue.sizex() > flusherCacheCriticalSize;
+        public boolean isOverflowed(int size) {
+            return size > flusherCacheCriticalSize && getWriteBehindBufferSize() > cacheCriticalSize;
         }
 
         /**
@@ -1059,7 +1213,14 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
          * @return {@code True} if write behind flusher is empty, {@code False} otherwise
          */
         public boolean isEmpty() {
-            return writeCoalescing ? writeCache.isEmpty() : queue.isEmpty();
+            return writeCoalescing ? writeCache.isEmptyx() : queue.isEmpty();
+        }
+
+        /**
+         * @return Current batch size.
+         */
+        public int batchSize() {
+            return curBatchSize;
         }
 
         /** {@inheritDoc} */
@@ -1086,21 +1247,24 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
          * @throws InterruptedException If awaiting was interrupted.
          */
         private void awaitOperationsAvailableCoalescing() throws InterruptedException {
-            flushLock.lock();
+            parked = true;
 
             try {
                 do {
-                    if (writeCache.sizex() <= cacheMaxSize || cacheMaxSize == 0) {
+                    if (writeCache.sizex() <= flusherCacheMaxSize || flusherCacheMaxSize == 0) {
                         if (cacheFlushFreq > 0)
-                            canFlush.await(cacheFlushFreq, TimeUnit.MILLISECONDS);
+                            LockSupport.parkNanos(cacheFlushFreqNanos);
                         else
-                            canFlush.await();
+                            LockSupport.park();
                     }
+
+                    if (Thread.interrupted())
+                        throw new InterruptedException();
                 }
                 while (writeCache.sizex() == 0 && !stopping.get());
             }
             finally {
-                flushLock.unlock();
+                parked = false;
             }
         }
 
@@ -1162,7 +1326,8 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                 Map.Entry<K, StatefulValue<K, V>> e = it.next();
                 StatefulValue<K, V> val = e.getValue();
 
-                if (!val.writeLock().tryLock()) // TODO: stripe write maps to avoid lock contention.
+                // Entry may be locked by a writer flushing it on overflow.
+                if (!val.writeLock().tryLock())
                     continue;
 
                 try {
@@ -1175,7 +1340,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
                             val.writeLock().unlock();
 
-                            applyBatch(pending, true, null);
+                            flush(pending);
 
                             pending = U.newLinkedHashMap(batchSize);
 
@@ -1202,7 +1367,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             // Process the remainder.
             if (!pending.isEmpty())
-                applyBatch(pending, true, null);
+                flush(pending);
         }
 
         /**
@@ -1249,7 +1414,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
                 }
 
                 // Process collected batch
-                applied = applyBatch(pending, true, this);
+                applied = flush(pending);
 
                 if (applied) {
                     // Wake up awaiting writers
@@ -1272,6 +1437,31 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
             }
         }
 
+        /**
+         * Applies batch to the underlying store and adjusts batch size according to the store update time.
+         * The batch size is halved if the store failed or a batch took longer than flush frequency,
+         * and grows back to the configured value while batches are applied fast.
+         *
+         * @param pending Batch to apply.
+         * @return {@code True} if batch was successfully applied, {@code False} otherwise.
+         */
+        private boolean flush(Map<K, StatefulValue<K, V>> pending) {
+            long start = System.nanoTime();
+
+            boolean applied = applyBatch(pending, true, this);
+
+            long time = System.nanoTime() - start;
+
+            int size = curBatchSize;
+
+            if (!applied || (cacheFlushFreqNanos > 0 && time > cacheFlushFreqNanos))
+                curBatchSize = Math.max(size / 2, 1);
+            else if (size < batchSize && pending.size() >= size)
+                curBatchSize = Math.min(size + Math.max(size / 4, 1), batchSize);
+
+            return applied;
+        }
+
         /**
          * Trying to add key and statefull value pairs into pending map.
          *
@@ -1305,7 +1495,7 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
 
             assert retryEntriesCnt.get() >= 0;
 
-            if (pending.size() == batchSize)
+            if (pending.size() >= curBatchSize)
                 return BatchingResult.NEW_BATCH;
 
             // We scan for the next operation and apply batch on operation change. Null means new batch.
@@ -1328,7 +1518,19 @@ public class GridCacheWriteBehindStore<K, V> implements CacheStore<K, V>, Lifecy
      * @return Write cache for the underlying store operations.
      */
     Map<K, StatefulValue<K, V>> writeCache() {
-        return writeCache;
+        Map<K, StatefulValue<K, V>> res = new HashMap<>();
+
+        for (Flusher f : flushThreads) {
+            if (writeCoalescing)
+                res.putAll(f.writeCache);
+            else {
+                // Later queued updates of the same key override earlier ones.
+                for (IgniteBiTuple<K, StatefulValue<K, V>> t : f.queue)
+                    res.put(t.get1(), t.get2());
+            }
+        }
+
+        return res;
     }
 
     /**
@@ -1549,6 +1549,18 @@ public class IgniteTxHandler {
             // Reply back to sender.
             ctx.io().send(nodeId, res, req.policy());
 
+            if (res.nearEvicted() != null) {
+                for (IgniteTxKey key : res.nearEvicted()) {
+                    GridCacheContext cacheCtx = ctx.cacheContext(key.cacheId());
+
+                    GridNearCacheAdapter near = cacheCtx == null ? null :
+                        cacheCtx.isNear() ? cacheCtx.near() : cacheCtx.dht().near();
+
+                    if (near != null)
+                        near.onNearEvictedSent(key.key(), req.writeVersion());
+                }
+            }
+
             if (txPrepareMsgLog.isDebugEnabled()) {
                 txPrepareMsgLog.debug("Sent dht prepare response [txId=" + req.nearXidVersion() +
                     ", dhtTxId=" + req.version() +
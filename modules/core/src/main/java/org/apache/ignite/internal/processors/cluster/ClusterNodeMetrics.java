@@ -22,6 +22,7 @@ import java.util.Map;
 import org.apache.ignite.cache.CacheMetrics;
 import org.apache.ignite.cluster.ClusterMetrics;
 import org.apache.ignite.internal.ClusterMetricsSnapshot;
+import org.jetbrains.annotations.Nullable;
 
 /**
  *
@@ -37,18 +38,18 @@ class ClusterNodeMetrics implements Serializable {
     private final Map<Integer, CacheMetrics> cacheMetrics;
 
     /**
-     * @param metrics Metrics.
+     * @param metrics Metrics or {@code null} if only cache metrics are sent.
      * @param cacheMetrics Cache metrics.
      */
-    ClusterNodeMetrics(ClusterMetrics metrics, Map<Integer, CacheMetrics> cacheMetrics) {
-        this.metrics = ClusterMetricsSnapshot.serialize(metrics);
+    ClusterNodeMetrics(@Nullable ClusterMetrics metrics, Map<Integer, CacheMetrics> cacheMetrics) {
+        this.metrics = metrics != null ? ClusterMetricsSnapshot.serialize(metrics) : null;
         this.cacheMetrics = cacheMetrics;
     }
 
     /**
-     * @return Metrics.
+     * @return Metrics or {@code null} if only cache metrics are sent.
      */
-    byte[] metrics() {
+    @Nullable byte[] metrics() {
         return metrics;
     }
 
@@ -17,9 +17,11 @@
 package org.apache.ignite.internal.processors.cluster;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,6 +58,8 @@ import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.metastorage.DistributedMetaStorage;
 import org.apache.ignite.internal.processors.metastorage.DistributedMetastorageLifecycleListener;
 import org.apache.ignite.internal.processors.metastorage.ReadableDistributedMetaStorage;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.processors.subscription.GridInternalSubscriptionProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
 import org.apache.ignite.internal.util.GridTimerTask;
@@ -111,6 +115,24 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
     /** Periodic version check delay. */
     private static final long PERIODIC_VER_CHECK_CONN_TIMEOUT = 10 * 1000; // 10 seconds.
 
+    /** Number of metrics update rounds after which unchanged metrics are sent anyway. */
+    private static final int FULL_METRICS_UPDATE_ROUNDS = 10;
+
+    /** Metrics exchange metrics registry name. */
+    public static final String METRICS_EXCHANGE_METRICS = "cluster.metricsExchange";
+
+    /** Size of the last sent metrics update message metric name. */
+    public static final String METRICS_UPDATE_MSG_SIZE = "LastMessageSize";
+
+    /** Metrics staleness metric name. */
+    public static final String METRICS_STALENESS = "Staleness";
+
+    /** Full metrics updates metric name. */
+    public static final String FULL_METRICS_UPDATES = "FullUpdates";
+
+    /** Delta metrics updates metric name. */
+    public static final String DELTA_METRICS_UPDATES = "DeltaUpdates";
+
     /** */
     private IgniteClusterImpl cluster;
 
@@ -138,6 +160,39 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
     /** */
     private final Map<UUID, byte[]> allNodesMetrics = new ConcurrentHashMap<>();
 
+    /** Nodes whose metrics were updated on the coordinator since the previous update round. */
+    private final Set<UUID> updatedNodesMetrics = ConcurrentHashMap.newKeySet();
+
+    /** Nodes which were sent all nodes metrics by the coordinator, only updated metrics are sent to them. */
+    private final Set<UUID> fullMetricsRcvrs = ConcurrentHashMap.newKeySet();
+
+    /** Time metrics of nodes were received at, as returned by {@link System#nanoTime()}. */
+    private final Map<UUID, Long> metricsRcvTime = new ConcurrentHashMap<>();
+
+    /*
+     * Fields below are accessed only by update rounds of the single MetricsUpdateTimeoutObject. A round is
+     * scheduled after the previous one completes, so rounds never run concurrently and the timeout processor
+     * and system executor queues publish the state of a round to the next one.
+     */
+
+    /** Metrics update round. */
+    private long metricsUpdateRound;
+
+    /** Last metrics sent to the coordinator. */
+    private byte[] lastSentMetrics;
+
+    /** Node the last metrics were sent to. */
+    private UUID lastMetricsRcvr;
+
+    /** Size of the last sent metrics update message. */
+    private AtomicLongMetric metricsMsgSize;
+
+    /** Number of full metrics updates sent by the coordinator. */
+    private AtomicLongMetric fullMetricsUpdates;
+
+    /** Number of delta metrics updates sent by the coordinator. */
+    private AtomicLongMetric deltaMetricsUpdates;
+
     /** */
     private final JdkMarshaller marsh = new JdkMarshaller();
 
@@ -147,6 +202,9 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
     /** */
     private boolean sndMetrics;
 
+    /** Only cache metrics are sent, node metrics are sent by discovery. */
+    private boolean cacheMetricsOnly;
+
     /** Cluster ID is stored in local variable before activation when it goes to distributed metastorage. */
     private volatile UUID locClusterId;
 
@@ -171,7 +229,13 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
 
         cluster = new IgniteClusterImpl(ctx);
 
-        sndMetrics = !(ctx.config().getDiscoverySpi() instanceof TcpDiscoverySpi);
+        if (ctx.config().getDiscoverySpi() instanceof TcpDiscoverySpi) {
+            cacheMetricsOnly = ((TcpDiscoverySpi)ctx.config().getDiscoverySpi()).isCacheMetricsOverCommunication();
+
+            sndMetrics = cacheMetricsOnly;
+        }
+        else
+            sndMetrics = true;
     }
 
     /**
@@ -366,6 +430,9 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
                 }
 
                 allNodesMetrics.remove(nodeId);
+                updatedNodesMetrics.remove(nodeId);
+                fullMetricsRcvrs.remove(nodeId);
+                metricsRcvTime.remove(nodeId);
             }
         }, EVT_NODE_FAILED, EVT_NODE_LEFT);
 
@@ -598,6 +665,21 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
         if (sndMetrics) {
             metricsProvider = ctx.discovery().createMetricsProvider();
 
+            MetricRegistry mreg = ctx.metric().registry(METRICS_EXCHANGE_METRICS);
+
+            metricsMsgSize = mreg.longMetric(METRICS_UPDATE_MSG_SIZE,
+                "Size in bytes of the metrics of the last sent metrics update message.");
+
+            fullMetricsUpdates = mreg.longMetric(FULL_METRICS_UPDATES,
+                "Number of metrics update messages with metrics of all nodes sent by the coordinator.");
+
+            deltaMetricsUpdates = mreg.longMetric(DELTA_METRICS_UPDATES,
+                "Number of metrics update messages with metrics updated since the previous round sent by " +
+                    "the coordinator.");
+
+            mreg.register(METRICS_STALENESS, this::metricsStaleness,
+                "Maximum time in milliseconds since metrics of a remote node were received.");
+
             long updateFreq = ctx.config().getMetricsUpdateFrequency();
 
             ctx.timeout().addTimeoutObject(new MetricsUpdateTimeoutObject(updateFreq));
@@ -679,6 +761,7 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
             assert msg.allNodesMetrics() == null;
 
             allNodesMetrics.put(sndNodeId, nodeMetrics);
+            updatedNodesMetrics.add(sndNodeId);
 
             updateNodeMetrics(ctx.discovery().discoCache(), sndNodeId, nodeMetrics);
         }
@@ -714,9 +797,13 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
 
             IgniteClusterNode node0 = (IgniteClusterNode)node;
 
-            node0.setMetrics(ClusterMetricsSnapshot.deserialize(metrics.metrics(), 0));
+            if (metrics.metrics() != null)
+                node0.setMetrics(ClusterMetricsSnapshot.deserialize(metrics.metrics(), 0));
+
             node0.setCacheMetrics(metrics.cacheMetrics());
 
+            metricsRcvTime.put(nodeId, System.nanoTime());
+
             ctx.discovery().metricsUpdateEvent(discoCache, node0);
         }
         catch (IgniteCheckedException e) {
@@ -725,7 +812,7 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
     }
 
     /**
-     *
+     * Runs a metrics update round, called only by {@link MetricsUpdateTimeoutObject}.
      */
     private void updateMetrics() {
         if (ctx.isStopping() || ctx.clientDisconnected())
@@ -736,18 +823,22 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
         if (oldest == null)
             return;
 
+        // Unchanged metrics are periodically sent anyway to limit staleness if an update was lost.
+        boolean fullRound = metricsUpdateRound++ % FULL_METRICS_UPDATE_ROUNDS == 0;
+
         if (ctx.localNodeId().equals(oldest.id())) {
             IgniteClusterNode locNode = (IgniteClusterNode)ctx.discovery().localNode();
 
-            locNode.setMetrics(metricsProvider.metrics());
-            locNode.setCacheMetrics(metricsProvider.cacheMetrics());
+            if (!cacheMetricsOnly)
+                locNode.setMetrics(metricsProvider.metrics());
 
-            ClusterNodeMetrics metrics = new ClusterNodeMetrics(locNode.metrics(), locNode.cacheMetrics());
+            locNode.setCacheMetrics(metricsProvider.cacheMetrics());
 
             try {
-                byte[] metricsBytes = U.zip(U.marshal(ctx.config().getMarshaller(), metrics));
+                byte[] metricsBytes = localMetrics();
 
-                allNodesMetrics.put(ctx.localNodeId(), metricsBytes);
+                if (!Arrays.equals(metricsBytes, allNodesMetrics.put(ctx.localNodeId(), metricsBytes)))
+                    updatedNodesMetrics.add(ctx.localNodeId());
             }
             catch (IgniteCheckedException e) {
                 U.warn(log, "Failed to marshal local node metrics: " + e, e);
@@ -757,33 +848,93 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
 
             Collection<ClusterNode> allNodes = ctx.discovery().allNodes();
 
-            ClusterMetricsUpdateMessage msg = new ClusterMetricsUpdateMessage(new HashMap<>(allNodesMetrics));
+            Map<UUID, byte[]> updated = new HashMap<>();
+
+            for (UUID nodeId : updatedNodesMetrics) {
+                updatedNodesMetrics.remove(nodeId);
+
+                byte[] metricsBytes = allNodesMetrics.get(nodeId);
+
+                if (metricsBytes != null)
+                    updated.put(nodeId, metricsBytes);
+            }
+
+            ClusterMetricsUpdateMessage fullMsg = null;
+            ClusterMetricsUpdateMessage deltaMsg = null;
 
             for (ClusterNode node : allNodes) {
                 if (ctx.localNodeId().equals(node.id()) || !ctx.discovery().alive(node.id()))
                     continue;
 
+                // Nodes which have not received metrics of all nodes yet, e.g. joined since the previous round,
+                // get a full update, others get only metrics updated since the previous round.
+                boolean full = fullRound || !fullMetricsRcvrs.contains(node.id());
+
+                if (!full && updated.isEmpty())
+                    continue;
+
+                ClusterMetricsUpdateMessage msg;
+
+                if (full) {
+                    if (fullMsg == null)
+                        fullMsg = new ClusterMetricsUpdateMessage(new HashMap<>(allNodesMetrics));
+
+                    msg = fullMsg;
+                }
+                else {
+                    if (deltaMsg == null)
+                        deltaMsg = new ClusterMetricsUpdateMessage(updated);
+
+                    msg = deltaMsg;
+                }
+
                 try {
                     ctx.io().sendToGridTopic(node, TOPIC_METRICS, msg, GridIoPolicy.SYSTEM_POOL);
+
+                    if (full) {
+                        fullMetricsRcvrs.add(node.id());
+
+                        fullMetricsUpdates.increment();
+                    }
+                    else
+                        deltaMetricsUpdates.increment();
                 }
                 catch (ClusterTopologyCheckedException e) {
                     if (log.isDebugEnabled())
                         log.debug("Failed to send metrics update, node failed: " + e);
                 }
                 catch (IgniteCheckedException e) {
+                    fullMetricsRcvrs.remove(node.id());
+
                     U.warn(log, "Failed to send metrics update: " + e, e);
                 }
             }
+
+            if (fullMsg != null || deltaMsg != null)
+                metricsMsgSize.value(size(fullMsg != null ? fullMsg.allNodesMetrics() : updated));
         }
         else {
-            ClusterNodeMetrics metrics = new ClusterNodeMetrics(metricsProvider.metrics(), metricsProvider.cacheMetrics());
+            // Node could be the coordinator before, the new one needs updates of all nodes.
+            fullMetricsRcvrs.clear();
 
             try {
-                byte[] metricsBytes = U.zip(U.marshal(ctx.config().getMarshaller(), metrics));
+                if (cacheMetricsOnly)
+                    ((IgniteClusterNode)ctx.discovery().localNode()).setCacheMetrics(metricsProvider.cacheMetrics());
+
+                byte[] metricsBytes = localMetrics();
+
+                // Metrics are not sent if they have not changed since they were sent to the same coordinator.
+                if (!fullRound && oldest.id().equals(lastMetricsRcvr) && Arrays.equals(metricsBytes, lastSentMetrics))
+                    return;
 
                 ClusterMetricsUpdateMessage msg = new ClusterMetricsUpdateMessage(metricsBytes);
 
                 ctx.io().sendToGridTopic(oldest, TOPIC_METRICS, msg, GridIoPolicy.SYSTEM_POOL);
+
+                lastSentMetrics = metricsBytes;
+                lastMetricsRcvr = oldest.id();
+
+                metricsMsgSize.value(metricsBytes.length);
             }
             catch (ClusterTopologyCheckedException e) {
                 if (log.isDebugEnabled())
@@ -795,6 +946,44 @@ public class ClusterProcessor extends GridProcessorAdapter implements Distribute
         }
     }
 
+    /**
+     * @return Marshalled local node metrics.
+     * @throws IgniteCheckedException If failed.
+     */
+    private byte[] localMetrics() throws IgniteCheckedException {
+        ClusterNodeMetrics metrics = new ClusterNodeMetrics(
+            cacheMetricsOnly ? null : metricsProvider.metrics(),
+            metricsProvider.cacheMetrics());
+
+        return U.zip(U.marshal(ctx.config().getMarshaller(), metrics));
+    }
+
+    /**
+     * @param metrics Marshalled metrics of nodes.
+     * @return Total size of metrics.
+     */
+    private static long size(Map<UUID, byte[]> metrics) {
+        long size = 0;
+
+        for (byte[] bytes : metrics.values())
+            size += bytes.length;
+
+        return size;
+    }
+
+    /**
+     * @return Maximum time in milliseconds since metrics of a remote node were received.
+     */
+    private long metricsStaleness() {
+        long now = System.nanoTime();
+        long max = 0;
+
+        for (Long time : metricsRcvTime.values())
+            max = Math.max(max, U.nanosToMillis(now - time));
+
+        return max;
+    }
+
     /**
      * Disables update notifier.
      */
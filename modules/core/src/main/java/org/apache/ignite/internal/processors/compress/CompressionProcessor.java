@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.compress;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.CommunicationCompression;
 import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteComponentType;
@@ -113,6 +114,44 @@ public class CompressionProcessor extends GridProcessorAdapter {
         return compressLevel;
     }
 
+    /**
+     * @param compression Message compression algorithm.
+     * @return Default compression level.
+     */
+    public static int getDefaultCompressionLevel(CommunicationCompression compression) {
+        switch (compression) {
+            case ZSTD:
+                return ZSTD_DEFAULT_LEVEL;
+
+            case LZ4:
+                return LZ4_DEFAULT_LEVEL;
+        }
+
+        throw new IllegalArgumentException("Compression: " + compression);
+    }
+
+    /**
+     * @param compressLevel Compression level.
+     * @param compression Message compression algorithm.
+     * @return Compression level.
+     */
+    public static int checkCompressionLevelBounds(int compressLevel, CommunicationCompression compression) {
+        switch (compression) {
+            case ZSTD:
+                checkCompressionLevelBounds(compressLevel, ZSTD_MIN_LEVEL, ZSTD_MAX_LEVEL);
+                break;
+
+            case LZ4:
+                checkCompressionLevelBounds(compressLevel, LZ4_MIN_LEVEL, LZ4_MAX_LEVEL);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Compression level for " + compression + " is not supported.");
+        }
+
+        return compressLevel;
+    }
+
     /**
      * @param compressLevel Compression level.
      * @param min Min level.
@@ -178,4 +217,41 @@ public class CompressionProcessor extends GridProcessorAdapter {
         if (PageIO.getCompressionType(page) != UNCOMPRESSED_PAGE)
             fail();
     }
+
+    /**
+     * Checks whether message compression is supported.
+     *
+     * @throws IgniteCheckedException If compression is not supported.
+     */
+    public void checkMessageCompressionSupported() throws IgniteCheckedException {
+        fail();
+    }
+
+    /**
+     * @param src Serialized message.
+     * @param len Length of the serialized message.
+     * @param compression Compression algorithm.
+     * @param compressLevel Compression level.
+     * @return Compressed message.
+     * @throws IgniteCheckedException If failed.
+     */
+    public byte[] compressMessage(
+        byte[] src,
+        int len,
+        CommunicationCompression compression,
+        int compressLevel
+    ) throws IgniteCheckedException {
+        return fail();
+    }
+
+    /**
+     * @param src Compressed message.
+     * @param dst Destination array, its length must be equal to the length of the serialized message.
+     * @param compression Compression algorithm.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void decompressMessage(byte[] src, byte[] dst, CommunicationCompression compression)
+        throws IgniteCheckedException {
+        fail();
+    }
 }
@@ -117,6 +117,9 @@ public class GridMetricManager extends GridManagerAdapter<MetricExporterSpi> imp
     /** Partition map exchange metrics prefix. */
     public static final String PME_METRICS = "pme";
 
+    /** Partition map exchange stages metrics prefix. */
+    public static final String PME_STAGES_METRICS = "pme.stages";
+
     /** Transaction metrics prefix. */
     public static final String TX_METRICS = "tx";
 
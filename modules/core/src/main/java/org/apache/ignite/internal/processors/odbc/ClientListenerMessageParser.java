@@ -51,4 +51,12 @@ public interface ClientListenerMessageParser {
      * @return Request Id.
      */
     long decodeRequestId(byte[] msg);
+
+    /**
+     * Gets category of the command, which defines the thread pool the command is processed by.
+     *
+     * @param cmdType Command type.
+     * @return Request category.
+     */
+    ClientListenerRequestCategory requestCategory(int cmdType);
 }
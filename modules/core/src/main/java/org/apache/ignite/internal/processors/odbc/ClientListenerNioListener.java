@@ -202,6 +202,8 @@ public class ClientListenerNioListener extends GridNioServerListenerAdapter<byte
                 byte[] outMsg = parser.encode(resp);
 
                 ses.send(outMsg);
+
+                resp.onSent();
             }
         }
         catch (Exception e) {
@@ -360,7 +362,9 @@ public class ClientListenerNioListener extends GridNioServerListenerAdapter<byte
                 return new JdbcConnectionContext(ctx, ses, busyLock, connId, maxCursors);
 
             case THIN_CLIENT:
-                return new ClientConnectionContext(ctx, connId, maxCursors);
+                return new ClientConnectionContext(ctx, ses, connId, maxCursors,
+                    cliConnCfg.getMaxActiveTxPerConnection(),
+                    cliConnCfg.isThinClientComputeEnabled() ? cliConnCfg.getMaxActiveComputeTasksPerConnection() : 0);
         }
 
         throw new IgniteCheckedException("Unknown client type: " + clientType);
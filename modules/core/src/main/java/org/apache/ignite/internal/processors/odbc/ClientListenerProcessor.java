@@ -22,8 +22,6 @@ import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.cache.configuration.Factory;
 import javax.management.JMException;
@@ -51,10 +49,10 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.mxbean.ClientProcessorMXBean;
 import org.apache.ignite.spi.IgnitePortProtocol;
-import org.apache.ignite.thread.IgniteThreadPoolExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.odbc.ClientListenerNioListener.CONN_CTX_META_KEY;
 
 /**
@@ -67,6 +65,9 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
     /** Client listener port. */
     public static final String CLIENT_LISTENER_PORT = "clientListenerPort";
 
+    /** Client connector metrics registry name. */
+    public static final String CLIENT_CONNECTOR_METRICS = metricName("client", "connector");
+
     /** Cancel counter. For testing purposes only. */
     public static final AtomicLong CANCEL_COUNTER = new AtomicLong(0);
 
@@ -82,8 +83,8 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
     /** TCP Server. */
     private GridNioServer<byte[]> srv;
 
-    /** Executor service. */
-    private ExecutorService execSvc;
+    /** Request dispatcher. */
+    private ClientListenerRequestDispatcher dispatcher;
 
     /**
      * @param ctx Kernal context.
@@ -124,13 +125,7 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
                     throw new IgniteCheckedException("Failed to resolve client connector host: " + host, e);
                 }
 
-                execSvc = new IgniteThreadPoolExecutor(
-                    "client-connector",
-                    cfg.getIgniteInstanceName(),
-                    cliConnCfg.getThreadPoolSize(),
-                    cliConnCfg.getThreadPoolSize(),
-                    0,
-                    new LinkedBlockingQueue<Runnable>());
+                dispatcher = new ClientListenerRequestDispatcher(ctx, cliConnCfg);
 
                 Exception lastErr = null;
 
@@ -257,7 +252,8 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
      */
     @NotNull private GridNioFilter[] makeFilters(@NotNull ClientConnectorConfiguration cliConnCfg)
         throws IgniteCheckedException {
-        GridNioFilter openSesFilter = new GridNioAsyncNotifyFilter(ctx.igniteInstanceName(), execSvc, log) {
+        GridNioFilter openSesFilter = new GridNioAsyncNotifyFilter(ctx.igniteInstanceName(), dispatcher.executor(),
+            log) {
             @Override public void onSessionOpened(GridNioSession ses)
                 throws IgniteCheckedException {
                 proceedSessionOpened(ses);
@@ -266,19 +262,22 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
             @Override public void onMessageReceived(GridNioSession ses, Object msg) throws IgniteCheckedException {
                 ClientListenerConnectionContext connCtx = ses.meta(ClientListenerNioListener.CONN_CTX_META_KEY);
 
-                if (connCtx != null && connCtx.parser() != null && connCtx.handler().isCancellationSupported()) {
+                if (connCtx != null && connCtx.parser() != null) {
                     byte[] inMsg;
 
                     int cmdType;
 
-                    long reqId;
+                    long reqId = 0;
+
+                    boolean cancellationSupported = connCtx.handler().isCancellationSupported();
 
                     try {
                         inMsg = (byte[])msg;
 
                         cmdType = connCtx.parser().decodeCommandType(inMsg);
 
-                        reqId = connCtx.parser().decodeRequestId(inMsg);
+                        if (cancellationSupported)
+                            reqId = connCtx.parser().decodeRequestId(inMsg);
                     }
                     catch (Exception e) {
                         U.error(log, "Failed to parse client request.", e);
@@ -288,16 +287,28 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
                         return;
                     }
 
-                    if (connCtx.handler().isCancellationCommand(cmdType)) {
-                        CANCEL_COUNTER.incrementAndGet();
+                    if (cancellationSupported) {
+                        if (connCtx.handler().isCancellationCommand(cmdType)) {
+                            CANCEL_COUNTER.incrementAndGet();
 
-                        proceedMessageReceived(ses, msg);
-                    }
-                    else {
-                        connCtx.handler().registerRequest(reqId, cmdType);
+                            proceedMessageReceived(ses, msg);
 
-                        super.onMessageReceived(ses, msg);
+                            return;
+                        }
+
+                        connCtx.handler().registerRequest(reqId, cmdType);
                     }
+
+                    dispatcher.submit(ses, connCtx, inMsg, cmdType, () -> {
+                        try {
+                            proceedMessageReceived(ses, msg);
+                        }
+                        catch (IgniteCheckedException e) {
+                            U.error(log, "Failed to process client request.", e);
+
+                            ses.close();
+                        }
+                    });
                 }
                 else
                     super.onMessageReceived(ses, msg);
@@ -346,10 +357,10 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
 
             ctx.ports().deregisterPorts(getClass());
 
-            if (execSvc != null) {
-                U.shutdownNow(getClass(), execSvc, log);
+            if (dispatcher != null) {
+                dispatcher.stop();
 
-                execSvc = null;
+                dispatcher = null;
             }
 
             if (!U.IGNITE_MBEANS_DISABLED)
@@ -451,7 +462,13 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
         assertParameter(cfg.getSocketSendBufferSize() >= 0, "socketSendBufferSize > 0");
         assertParameter(cfg.getSocketReceiveBufferSize() >= 0, "socketReceiveBufferSize > 0");
         assertParameter(cfg.getMaxOpenCursorsPerConnection() >= 0, "maxOpenCursorsPerConnection() >= 0");
+        assertParameter(cfg.getMaxActiveComputeTasksPerConnection() > 0, "maxActiveComputeTasksPerConnection > 0");
         assertParameter(cfg.getThreadPoolSize() > 0, "threadPoolSize > 0");
+        assertParameter(cfg.getSqlThreadPoolSize() >= 0, "sqlThreadPoolSize >= 0");
+        assertParameter(cfg.getMetadataThreadPoolSize() >= 0, "metadataThreadPoolSize >= 0");
+        assertParameter(cfg.getMaxInFlightRequestsPerConnection() >= 0, "maxInFlightRequestsPerConnection >= 0");
+        assertParameter(cfg.getMaxRequestQueueTime() >= 0, "maxRequestQueueTime >= 0");
+        assertParameter(cfg.getMaxRequestQueueSize() >= 0, "maxRequestQueueSize >= 0");
     }
 
     /**
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc;
+
+/**
+ * Category of a client request. Requests of different categories are processed by separate thread pools,
+ * so that heavy requests of one category do not delay requests of another.
+ */
+public enum ClientListenerRequestCategory {
+    /** Key-value cache operations, transactions and data streaming. */
+    KEY_VALUE,
+
+    /** SQL and scan queries, and other operations on the whole cache: clear, remove all and size. */
+    SQL,
+
+    /** Compute task execution. */
+    COMPUTE,
+
+    /** Schema, binary metadata, cache management, cluster and all other requests. */
+    METADATA
+}
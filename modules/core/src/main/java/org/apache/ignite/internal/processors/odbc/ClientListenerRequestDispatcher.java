@@ -0,0 +1,348 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.nio.GridNioSession;
+import org.apache.ignite.internal.util.nio.GridNioSessionMetaKey;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
+
+import static org.apache.ignite.internal.processors.odbc.ClientListenerProcessor.CLIENT_CONNECTOR_METRICS;
+
+/**
+ * Dispatches client requests to thread pools according to their categories and sheds load of the overloaded
+ * client connector. A request is rejected with an error which the client may retry, if its connection has too
+ * many requests in flight, if the queue of the thread pool is full or if the request has been waiting in the queue
+ * for too long.
+ */
+class ClientListenerRequestDispatcher {
+    /** Rejection rate time interval in milliseconds. */
+    private static final long REJECTION_RATE_TIME_INTERVAL = 60_000;
+
+    /** Number of rejection rate time sub-intervals. */
+    private static final int REJECTION_RATE_SUB_INTERVALS = 5;
+
+    /** Number of requests in flight meta key. */
+    private static final int IN_FLIGHT_REQS_META_KEY = GridNioSessionMetaKey.nextUniqueKey();
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Common executor service, which also processes requests of categories without own thread pools. */
+    private final ExecutorService execSvc;
+
+    /** Request queues by category ordinal. */
+    private final RequestQueue[] queues;
+
+    /** Max number of requests in flight per connection, {@code 0} if not limited. */
+    private final int maxInFlightReqs;
+
+    /** Max request queue time in nanoseconds, {@code 0} if not limited. */
+    private final long maxQueueTimeNanos;
+
+    /** Max number of requests waiting in the queue of a thread pool, {@code 0} if not limited. */
+    private final int maxQueueSize;
+
+    /**
+     * @param ctx Kernal context.
+     * @param cfg Client connector configuration.
+     */
+    ClientListenerRequestDispatcher(GridKernalContext ctx, ClientConnectorConfiguration cfg) {
+        this.ctx = ctx;
+
+        log = ctx.log(getClass());
+
+        maxInFlightReqs = cfg.getMaxInFlightRequestsPerConnection();
+        maxQueueTimeNanos = U.millisToNanos(cfg.getMaxRequestQueueTime());
+        maxQueueSize = cfg.getMaxRequestQueueSize();
+
+        execSvc = createExecutor("client-connector", cfg.getThreadPoolSize());
+
+        MetricRegistry mreg = ctx.metric().registry(CLIENT_CONNECTOR_METRICS);
+
+        ClientListenerRequestCategory[] cats = ClientListenerRequestCategory.values();
+
+        queues = new RequestQueue[cats.length];
+
+        for (ClientListenerRequestCategory cat : cats) {
+            int poolSize = 0;
+
+            if (cat == ClientListenerRequestCategory.SQL)
+                poolSize = cfg.getSqlThreadPoolSize();
+            else if (cat == ClientListenerRequestCategory.METADATA)
+                poolSize = cfg.getMetadataThreadPoolSize();
+
+            ExecutorService exec = poolSize > 0 ?
+                createExecutor("client-connector-" + cat.name().toLowerCase().replace('_', '-'), poolSize) : execSvc;
+
+            queues[cat.ordinal()] = new RequestQueue(exec, mreg, metricPrefix(cat));
+        }
+    }
+
+    /**
+     * @return Common executor service.
+     */
+    ExecutorService executor() {
+        return execSvc;
+    }
+
+    /**
+     * Submits request to the thread pool of its category or rejects it, if the connection has too many
+     * requests in flight or the queue of the thread pool is full.
+     *
+     * @param ses Session.
+     * @param connCtx Connection context.
+     * @param msg Request message.
+     * @param cmdType Command type.
+     * @param proc Request processing closure.
+     * @throws IgniteCheckedException If the thread pool is stopped.
+     */
+    void submit(GridNioSession ses, ClientListenerConnectionContext connCtx, byte[] msg, int cmdType,
+        Runnable proc) throws IgniteCheckedException {
+        RequestQueue queue = queues[connCtx.parser().requestCategory(cmdType).ordinal()];
+
+        AtomicInteger inFlightReqs = maxInFlightReqs > 0 ? inFlightRequests(ses) : null;
+
+        if (inFlightReqs != null && inFlightReqs.incrementAndGet() > maxInFlightReqs) {
+            inFlightReqs.decrementAndGet();
+
+            queue.onRejected();
+
+            reject(ses, connCtx, msg, "Too many requests in flight for the connection [max=" + maxInFlightReqs + ']');
+
+            return;
+        }
+
+        long enqueueTime = System.nanoTime();
+
+        queue.size.increment();
+
+        try {
+            queue.exec.execute(() -> {
+                queue.size.decrement();
+
+                try {
+                    if (maxQueueTimeNanos > 0 && System.nanoTime() - enqueueTime > maxQueueTimeNanos) {
+                        queue.onRejected();
+
+                        reject(ses, connCtx, msg, "Request has been waiting in the queue for too long [max=" +
+                            U.nanosToMillis(maxQueueTimeNanos) + "ms]");
+                    }
+                    else
+                        proc.run();
+                }
+                finally {
+                    if (inFlightReqs != null)
+                        inFlightReqs.decrementAndGet();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            queue.size.decrement();
+
+            if (inFlightReqs != null)
+                inFlightReqs.decrementAndGet();
+
+            if (queue.exec.isShutdown())
+                throw new IgniteCheckedException("Failed to submit client request (client connector is stopping).", e);
+
+            queue.onRejected();
+
+            reject(ses, connCtx, msg, "Request queue is full [max=" + maxQueueSize + ']');
+        }
+    }
+
+    /**
+     * Stops thread pools and removes metrics.
+     */
+    void stop() {
+        for (RequestQueue queue : queues) {
+            if (queue.exec != execSvc)
+                U.shutdownNow(getClass(), queue.exec, log);
+        }
+
+        U.shutdownNow(getClass(), execSvc, log);
+
+        ctx.metric().remove(CLIENT_CONNECTOR_METRICS);
+    }
+
+    /**
+     * Sends error response for the rejected request. Only the request header is read, so that the NIO thread
+     * does not spend time on decoding of the request which will not be processed.
+     *
+     * @param ses Session.
+     * @param connCtx Connection context.
+     * @param msg Request message.
+     * @param err Error message.
+     */
+    private void reject(GridNioSession ses, ClientListenerConnectionContext connCtx, byte[] msg, String err) {
+        ClientListenerMessageParser parser = connCtx.parser();
+        ClientListenerRequestHandler handler = connCtx.handler();
+
+        long reqId;
+
+        try {
+            reqId = parser.decodeRequestId(msg);
+        }
+        catch (Exception e) {
+            U.error(log, "Failed to parse client request.", e);
+
+            ses.close();
+
+            return;
+        }
+
+        if (handler.isCancellationSupported())
+            handler.unregisterRequest(reqId);
+
+        if (log.isDebugEnabled())
+            log.debug("Client request rejected [reqId=" + reqId + ", addr=" + ses.remoteAddress() +
+                ", err=" + err + ']');
+
+        ClientListenerRequest req = new RejectedRequest(reqId);
+
+        ses.send(parser.encode(handler.handleException(new ClientListenerRequestRejectedException(err), req)));
+    }
+
+    /**
+     * @param ses Session.
+     * @return Counter of requests in flight of the connection.
+     */
+    private static AtomicInteger inFlightRequests(GridNioSession ses) {
+        AtomicInteger cnt = ses.meta(IN_FLIGHT_REQS_META_KEY);
+
+        // Messages of a session are received by a single NIO thread, so there is no race.
+        if (cnt == null)
+            ses.addMeta(IN_FLIGHT_REQS_META_KEY, cnt = new AtomicInteger());
+
+        return cnt;
+    }
+
+    /**
+     * @param name Thread pool name.
+     * @param size Thread pool size.
+     * @return Executor service.
+     */
+    private ExecutorService createExecutor(String name, int size) {
+        return new IgniteThreadPoolExecutor(
+            name,
+            ctx.igniteInstanceName(),
+            size,
+            size,
+            0,
+            new LinkedBlockingQueue<Runnable>(maxQueueSize > 0 ? maxQueueSize : Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param cat Request category.
+     * @return Prefix of the category metric names.
+     */
+    private static String metricPrefix(ClientListenerRequestCategory cat) {
+        switch (cat) {
+            case KEY_VALUE:
+                return "KeyValue";
+
+            case SQL:
+                return "Sql";
+
+            case COMPUTE:
+                return "Compute";
+
+            default:
+                return "Metadata";
+        }
+    }
+
+    /**
+     * Rejected request, of which only the header has been read.
+     */
+    private static class RejectedRequest implements ClientListenerRequest {
+        /** Request ID. */
+        private final long reqId;
+
+        /**
+         * @param reqId Request ID.
+         */
+        RejectedRequest(long reqId) {
+            this.reqId = reqId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long requestId() {
+            return reqId;
+        }
+    }
+
+    /**
+     * Requests of a single category.
+     */
+    private static class RequestQueue {
+        /** Executor service. */
+        private final ExecutorService exec;
+
+        /** Number of requests waiting in the queue. */
+        private final AtomicLongMetric size;
+
+        /** Total number of rejected requests. */
+        private final LongAdderMetric rejected;
+
+        /** Rate of rejected requests. */
+        private final HitRateMetric rejectionRate;
+
+        /**
+         * @param exec Executor service.
+         * @param mreg Metric registry.
+         * @param prefix Metric name prefix.
+         */
+        RequestQueue(ExecutorService exec, MetricRegistry mreg, String prefix) {
+            this.exec = exec;
+
+            size = mreg.longMetric(prefix + "QueueSize", "Number of requests waiting in the queue.");
+
+            rejected = mreg.longAdderMetric(prefix + "Rejected", "Total number of rejected requests.");
+
+            rejectionRate = mreg.hitRateMetric(prefix + "RejectionRate",
+                "Number of requests rejected during the last time interval.",
+                REJECTION_RATE_TIME_INTERVAL,
+                REJECTION_RATE_SUB_INTERVALS);
+        }
+
+        /**
+         * Updates metrics on request rejection.
+         */
+        void onRejected() {
+            rejected.increment();
+
+            rejectionRate.increment();
+        }
+    }
+}
@@ -72,4 +72,12 @@ public abstract class ClientListenerResponse {
     public void error(String err) {
         this.err = err;
     }
+
+    /**
+     * Callback invoked after the response is passed to the session for sending. Any message sent to the session
+     * after this call is delivered to the client after the response.
+     */
+    public void onSent() {
+        // No-op.
+    }
 }
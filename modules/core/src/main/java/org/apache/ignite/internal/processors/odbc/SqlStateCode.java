@@ -85,4 +85,7 @@ public final class SqlStateCode {
 
     /** Query canceled. */
     public static final String MEMORY_ALLOCATION_ERROR = "HY001";
+
+    /** Server has not enough resources to process the request right now, the request may be retried later. */
+    public static final String INSUFFICIENT_RESOURCES = "53000";
 }
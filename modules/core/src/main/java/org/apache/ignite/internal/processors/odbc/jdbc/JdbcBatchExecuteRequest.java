@@ -96,7 +96,7 @@ public class JdbcBatchExecuteRequest extends JdbcRequest {
         boolean lastStreamBatch) {
         super(type);
 
-        assert lastStreamBatch || !F.isEmpty(queries);
+        assert lastStreamBatch || queries != null;
 
         this.schemaName = schemaName;
         this.queries = queries;
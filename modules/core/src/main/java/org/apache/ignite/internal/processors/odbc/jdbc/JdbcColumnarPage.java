@@ -0,0 +1,864 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.processors.odbc.SqlListenerUtils;
+
+/**
+ * Page of query result rows transferred column by column.
+ * <p>
+ * Values of a column which non-null values are all of the same primitive wrapper type are written as a raw array of
+ * primitives with an optional null bitmap. String columns with repeated values are written as a dictionary and an
+ * array of dictionary codes. Other columns are written value by value the same way as row-based pages are.
+ * <p>
+ * The page is read into the arrays as is, rows are exposed as lightweight views that box values lazily on access.
+ * {@link Row} also provides access to primitive values without boxing.
+ */
+public class JdbcColumnarPage extends AbstractList<List<Object>> {
+    /** Column with values written one by one. */
+    private static final byte GENERIC = GridBinaryMarshaller.OBJ;
+
+    /** Dictionary-encoded string column. */
+    private static final byte STRING_DICT = GridBinaryMarshaller.STRING;
+
+    /** Rows count. */
+    private final int rowCnt;
+
+    /** Columns. */
+    private final Column[] cols;
+
+    /**
+     * @param rowCnt Rows count.
+     * @param cols Columns.
+     */
+    private JdbcColumnarPage(int rowCnt, Column[] cols) {
+        this.rowCnt = rowCnt;
+        this.cols = cols;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Row get(int idx) {
+        if (idx < 0 || idx >= rowCnt)
+            throw new IndexOutOfBoundsException("Row index out of range [idx=" + idx + ", size=" + rowCnt + ']');
+
+        return new Row(idx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size() {
+        return rowCnt;
+    }
+
+    /**
+     * Writes rows in columnar format.
+     *
+     * @param writer Binary writer.
+     * @param rows Rows, all rows should have the same size.
+     */
+    public static void write(BinaryWriterExImpl writer, List<List<Object>> rows) {
+        int rowCnt = rows.size();
+        int colCnt = rowCnt == 0 ? 0 : rows.get(0).size();
+
+        writer.writeInt(rowCnt);
+        writer.writeInt(colCnt);
+
+        for (int col = 0; col < colCnt; col++)
+            writeColumn(writer, rows, col);
+    }
+
+    /**
+     * Reads rows written by {@link #write(BinaryWriterExImpl, List)}.
+     *
+     * @param reader Binary reader.
+     * @return Page of rows.
+     */
+    public static JdbcColumnarPage read(BinaryReaderExImpl reader) {
+        int rowCnt = reader.readInt();
+        int colCnt = reader.readInt();
+
+        Column[] cols = new Column[colCnt];
+
+        for (int col = 0; col < colCnt; col++)
+            cols[col] = readColumn(reader, rowCnt);
+
+        return new JdbcColumnarPage(rowCnt, cols);
+    }
+
+    /**
+     * @param writer Binary writer.
+     * @param rows Rows.
+     * @param col Column index.
+     */
+    private static void writeColumn(BinaryWriterExImpl writer, List<List<Object>> rows, int col) {
+        int rowCnt = rows.size();
+
+        Class<?> cls = null;
+        byte[] nulls = null;
+
+        for (int i = 0; i < rowCnt; i++) {
+            Object val = rows.get(i).get(col);
+
+            if (val == null) {
+                if (nulls == null)
+                    nulls = new byte[(rowCnt + 7) >> 3];
+
+                nulls[i >> 3] |= 1 << (i & 7);
+            }
+            else if (cls == null)
+                cls = val.getClass();
+            else if (cls != val.getClass()) {
+                writeGenericColumn(writer, rows, col);
+
+                return;
+            }
+        }
+
+        byte type = columnType(cls);
+
+        if (type == GENERIC) {
+            writeGenericColumn(writer, rows, col);
+
+            return;
+        }
+
+        Map<String, Integer> dict = null;
+
+        if (type == STRING_DICT) {
+            dict = new HashMap<>();
+
+            for (int i = 0; i < rowCnt; i++) {
+                String val = (String)rows.get(i).get(col);
+
+                if (val != null)
+                    dict.putIfAbsent(val, dict.size());
+
+                // Dictionary is not worth it for mostly unique values.
+                if (dict.size() > (rowCnt >> 1)) {
+                    writeGenericColumn(writer, rows, col);
+
+                    return;
+                }
+            }
+        }
+
+        writer.writeByte(type);
+        writer.writeBoolean(nulls != null);
+
+        BinaryOutputStream out = writer.out();
+
+        if (nulls != null)
+            out.writeByteArray(nulls);
+
+        switch (type) {
+            case GridBinaryMarshaller.BOOLEAN: {
+                boolean[] vals = new boolean[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val != null && (Boolean)val;
+                }
+
+                out.writeBooleanArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.BYTE: {
+                byte[] vals = new byte[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Byte)val;
+                }
+
+                out.writeByteArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.SHORT: {
+                short[] vals = new short[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Short)val;
+                }
+
+                out.writeShortArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.INT: {
+                int[] vals = new int[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Integer)val;
+                }
+
+                out.writeIntArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.LONG: {
+                long[] vals = new long[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Long)val;
+                }
+
+                out.writeLongArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.FLOAT: {
+                float[] vals = new float[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Float)val;
+                }
+
+                out.writeFloatArray(vals);
+
+                break;
+            }
+
+            case GridBinaryMarshaller.DOUBLE: {
+                double[] vals = new double[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    vals[i] = val == null ? 0 : (Double)val;
+                }
+
+                out.writeDoubleArray(vals);
+
+                break;
+            }
+
+            case STRING_DICT: {
+                String[] dictVals = new String[dict.size()];
+
+                for (Map.Entry<String, Integer> e : dict.entrySet())
+                    dictVals[e.getValue()] = e.getKey();
+
+                writer.writeInt(dictVals.length);
+
+                for (String val : dictVals)
+                    writer.writeString(val);
+
+                int[] codes = new int[rowCnt];
+
+                for (int i = 0; i < rowCnt; i++) {
+                    Object val = rows.get(i).get(col);
+
+                    codes[i] = val == null ? 0 : dict.get(val);
+                }
+
+                out.writeIntArray(codes);
+
+                break;
+            }
+
+            default:
+                assert false : "Unexpected column type: " + type;
+        }
+    }
+
+    /**
+     * @param writer Binary writer.
+     * @param rows Rows.
+     * @param col Column index.
+     */
+    private static void writeGenericColumn(BinaryWriterExImpl writer, List<List<Object>> rows, int col) {
+        writer.writeByte(GENERIC);
+
+        for (List<Object> row : rows)
+            SqlListenerUtils.writeObject(writer, row.get(col), false);
+    }
+
+    /**
+     * @param cls Class of all non-null column values or {@code null} if all values are {@code null}.
+     * @return Column type.
+     */
+    private static byte columnType(Class<?> cls) {
+        if (cls == Integer.class)
+            return GridBinaryMarshaller.INT;
+        else if (cls == Long.class)
+            return GridBinaryMarshaller.LONG;
+        else if (cls == Double.class)
+            return GridBinaryMarshaller.DOUBLE;
+        else if (cls == String.class)
+            return STRING_DICT;
+        else if (cls == Boolean.class)
+            return GridBinaryMarshaller.BOOLEAN;
+        else if (cls == Float.class)
+            return GridBinaryMarshaller.FLOAT;
+        else if (cls == Short.class)
+            return GridBinaryMarshaller.SHORT;
+        else if (cls == Byte.class)
+            return GridBinaryMarshaller.BYTE;
+        else
+            return GENERIC;
+    }
+
+    /**
+     * @param reader Binary reader.
+     * @param rowCnt Rows count.
+     * @return Column.
+     */
+    private static Column readColumn(BinaryReaderExImpl reader, int rowCnt) {
+        byte type = reader.readByte();
+
+        if (type == GENERIC) {
+            Object[] vals = new Object[rowCnt];
+
+            for (int i = 0; i < rowCnt; i++)
+                vals[i] = SqlListenerUtils.readObject(reader, false);
+
+            return new GenericColumn(vals);
+        }
+
+        BinaryInputStream in = reader.in();
+
+        byte[] nulls = reader.readBoolean() ? in.readByteArray((rowCnt + 7) >> 3) : null;
+
+        switch (type) {
+            case GridBinaryMarshaller.BOOLEAN:
+                return new BooleanColumn(nulls, in.readBooleanArray(rowCnt));
+
+            case GridBinaryMarshaller.BYTE:
+                return new ByteColumn(nulls, in.readByteArray(rowCnt));
+
+            case GridBinaryMarshaller.SHORT:
+                return new ShortColumn(nulls, in.readShortArray(rowCnt));
+
+            case GridBinaryMarshaller.INT:
+                return new IntColumn(nulls, in.readIntArray(rowCnt));
+
+            case GridBinaryMarshaller.LONG:
+                return new LongColumn(nulls, in.readLongArray(rowCnt));
+
+            case GridBinaryMarshaller.FLOAT:
+                return new FloatColumn(nulls, in.readFloatArray(rowCnt));
+
+            case GridBinaryMarshaller.DOUBLE:
+                return new DoubleColumn(nulls, in.readDoubleArray(rowCnt));
+
+            case STRING_DICT: {
+                String[] dict = new String[reader.readInt()];
+
+                for (int i = 0; i < dict.length; i++)
+                    dict[i] = reader.readString();
+
+                return new StringColumn(nulls, dict, in.readIntArray(rowCnt));
+            }
+
+            default:
+                throw new IllegalStateException("Unknown column type: " + type);
+        }
+    }
+
+    /**
+     * Row of the columnar page.
+     */
+    public class Row extends AbstractList<Object> {
+        /** Row index. */
+        private final int idx;
+
+        /**
+         * @param idx Row index.
+         */
+        private Row(int idx) {
+            this.idx = idx;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object get(int col) {
+            return cols[col].get(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return cols.length;
+        }
+
+        /**
+         * @param col Column index.
+         * @return {@code True} if the value is {@code null}.
+         */
+        public boolean isNull(int col) {
+            return cols[col].isNull(idx);
+        }
+
+        /**
+         * @param col Column index.
+         * @return {@code True} if values of the column are numbers or booleans, so that primitive accessors
+         *      of this row can be used for it.
+         */
+        public boolean isPrimitive(int col) {
+            return cols[col] instanceof PrimitiveColumn;
+        }
+
+        /**
+         * @param col Column index.
+         * @return {@code True} if values of the column are strings.
+         */
+        public boolean isString(int col) {
+            return cols[col] instanceof StringColumn;
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code boolean} the same way as {@code Number.intValue() != 0}.
+         */
+        public boolean booleanValue(int col) {
+            return ((PrimitiveColumn)cols[col]).intValue(idx) != 0;
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code byte} the same way as {@link Number#byteValue()}.
+         */
+        public byte byteValue(int col) {
+            return (byte)((PrimitiveColumn)cols[col]).intValue(idx);
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code short} the same way as {@link Number#shortValue()}.
+         */
+        public short shortValue(int col) {
+            return (short)((PrimitiveColumn)cols[col]).intValue(idx);
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code int} the same way as {@link Number#intValue()}.
+         */
+        public int intValue(int col) {
+            return ((PrimitiveColumn)cols[col]).intValue(idx);
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code long} the same way as {@link Number#longValue()}.
+         */
+        public long longValue(int col) {
+            return ((PrimitiveColumn)cols[col]).longValue(idx);
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code float} the same way as {@link Number#floatValue()}.
+         */
+        public float floatValue(int col) {
+            return ((PrimitiveColumn)cols[col]).floatValue(idx);
+        }
+
+        /**
+         * @param col Primitive column index.
+         * @return Value converted to {@code double} the same way as {@link Number#doubleValue()}.
+         */
+        public double doubleValue(int col) {
+            return ((PrimitiveColumn)cols[col]).doubleValue(idx);
+        }
+    }
+
+    /**
+     * Column of the page.
+     */
+    private abstract static class Column {
+        /** Null bitmap, {@code null} if column has no {@code null} values. */
+        private final byte[] nulls;
+
+        /**
+         * @param nulls Null bitmap.
+         */
+        Column(byte[] nulls) {
+            this.nulls = nulls;
+        }
+
+        /**
+         * @param idx Row index.
+         * @return {@code True} if the value is {@code null}.
+         */
+        boolean isNull(int idx) {
+            return nulls != null && (nulls[idx >> 3] & (1 << (idx & 7))) != 0;
+        }
+
+        /**
+         * @param idx Row index.
+         * @return Value.
+         */
+        abstract Object get(int idx);
+    }
+
+    /**
+     * Column of numbers or booleans.
+     */
+    private abstract static class PrimitiveColumn extends Column {
+        /**
+         * @param nulls Null bitmap.
+         */
+        PrimitiveColumn(byte[] nulls) {
+            super(nulls);
+        }
+
+        /**
+         * @param idx Row index.
+         * @return Value converted to {@code int}.
+         */
+        abstract int intValue(int idx);
+
+        /**
+         * @param idx Row index.
+         * @return Value converted to {@code long}.
+         */
+        abstract long longValue(int idx);
+
+        /**
+         * @param idx Row index.
+         * @return Value converted to {@code float}.
+         */
+        abstract float floatValue(int idx);
+
+        /**
+         * @param idx Row index.
+         * @return Value converted to {@code double}.
+         */
+        abstract double doubleValue(int idx);
+    }
+
+    /**
+     * Column of integral values, booleans are treated as {@code 1} and {@code 0}.
+     */
+    private abstract static class IntegralColumn extends PrimitiveColumn {
+        /**
+         * @param nulls Null bitmap.
+         */
+        IntegralColumn(byte[] nulls) {
+            super(nulls);
+        }
+
+        /** {@inheritDoc} */
+        @Override int intValue(int idx) {
+            return (int)longValue(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override float floatValue(int idx) {
+            return (float)longValue(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override double doubleValue(int idx) {
+            return (double)longValue(idx);
+        }
+    }
+
+    /**
+     * Column of floating point values.
+     */
+    private abstract static class FloatingPointColumn extends PrimitiveColumn {
+        /**
+         * @param nulls Null bitmap.
+         */
+        FloatingPointColumn(byte[] nulls) {
+            super(nulls);
+        }
+
+        /** {@inheritDoc} */
+        @Override int intValue(int idx) {
+            return (int)doubleValue(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return (long)doubleValue(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override float floatValue(int idx) {
+            return (float)doubleValue(idx);
+        }
+    }
+
+    /** */
+    private static class BooleanColumn extends IntegralColumn {
+        /** Values. */
+        private final boolean[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        BooleanColumn(byte[] nulls, boolean[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return vals[idx] ? 1 : 0;
+        }
+    }
+
+    /** */
+    private static class ByteColumn extends IntegralColumn {
+        /** Values. */
+        private final byte[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        ByteColumn(byte[] nulls, byte[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class ShortColumn extends IntegralColumn {
+        /** Values. */
+        private final short[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        ShortColumn(byte[] nulls, short[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class IntColumn extends IntegralColumn {
+        /** Values. */
+        private final int[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        IntColumn(byte[] nulls, int[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override int intValue(int idx) {
+            return vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class LongColumn extends IntegralColumn {
+        /** Values. */
+        private final long[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        LongColumn(byte[] nulls, long[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override long longValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class FloatColumn extends FloatingPointColumn {
+        /** Values. */
+        private final float[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        FloatColumn(byte[] nulls, float[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override float floatValue(int idx) {
+            return vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override double doubleValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class DoubleColumn extends FloatingPointColumn {
+        /** Values. */
+        private final double[] vals;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param vals Values.
+         */
+        DoubleColumn(byte[] nulls, double[] vals) {
+            super(nulls);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : vals[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override double doubleValue(int idx) {
+            return vals[idx];
+        }
+    }
+
+    /** */
+    private static class StringColumn extends Column {
+        /** Dictionary. */
+        private final String[] dict;
+
+        /** Dictionary codes. */
+        private final int[] codes;
+
+        /**
+         * @param nulls Null bitmap.
+         * @param dict Dictionary.
+         * @param codes Dictionary codes.
+         */
+        StringColumn(byte[] nulls, String[] dict, int[] codes) {
+            super(nulls);
+
+            this.dict = dict;
+            this.codes = codes;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return isNull(idx) ? null : dict[codes[idx]];
+        }
+    }
+
+    /** */
+    private static class GenericColumn extends Column {
+        /** Values. */
+        private final Object[] vals;
+
+        /**
+         * @param vals Values.
+         */
+        GenericColumn(Object[] vals) {
+            super(null);
+
+            this.vals = vals;
+        }
+
+        /** {@inheritDoc} */
+        @Override boolean isNull(int idx) {
+            return vals[idx] == null;
+        }
+
+        /** {@inheritDoc} */
+        @Override Object get(int idx) {
+            return vals[idx];
+        }
+    }
+}
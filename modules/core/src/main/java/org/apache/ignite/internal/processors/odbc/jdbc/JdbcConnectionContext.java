@@ -66,8 +66,17 @@ public class JdbcConnectionContext extends ClientListenerAbstractConnectionConte
     /** Version 2.8.1: adds query memory quotas.*/
     static final ClientListenerProtocolVersion VER_2_8_1 = ClientListenerProtocolVersion.create(2, 8, 1);
 
+    /** Version 2.8.2: adds columnar result pages.*/
+    static final ClientListenerProtocolVersion VER_2_8_2 = ClientListenerProtocolVersion.create(2, 8, 2);
+
+    /** Version 2.8.3: adds server-side prepared statements.*/
+    static final ClientListenerProtocolVersion VER_2_8_3 = ClientListenerProtocolVersion.create(2, 8, 3);
+
+    /** Version 2.8.4: adds partition result to prepared statement response.*/
+    static final ClientListenerProtocolVersion VER_2_8_4 = ClientListenerProtocolVersion.create(2, 8, 4);
+
     /** Current version. */
-    private static final ClientListenerProtocolVersion CURRENT_VER = VER_2_8_1;
+    private static final ClientListenerProtocolVersion CURRENT_VER = VER_2_8_4;
 
     /** Supported versions. */
     private static final Set<ClientListenerProtocolVersion> SUPPORTED_VERS = new HashSet<>();
@@ -95,6 +104,9 @@ public class JdbcConnectionContext extends ClientListenerAbstractConnectionConte
 
     static {
         SUPPORTED_VERS.add(CURRENT_VER);
+        SUPPORTED_VERS.add(VER_2_8_3);
+        SUPPORTED_VERS.add(VER_2_8_2);
+        SUPPORTED_VERS.add(VER_2_8_1);
         SUPPORTED_VERS.add(VER_2_8_0);
         SUPPORTED_VERS.add(VER_2_7_0);
         SUPPORTED_VERS.add(VER_2_5_0);
@@ -172,6 +184,7 @@ public class JdbcConnectionContext extends ClientListenerAbstractConnectionConte
         Boolean dataPageScanEnabled = null;
         Integer updateBatchSize = null;
         long maxMemory = 0L;
+        boolean columnarResults = false;
 
         if (ver.compareTo(VER_2_8_0) >= 0) {
             dataPageScanEnabled = nullableBooleanFromByte(reader.readByte());
@@ -182,6 +195,9 @@ public class JdbcConnectionContext extends ClientListenerAbstractConnectionConte
                 if (reader.readBoolean())
                     maxMemory = reader.readLong();
             }
+
+            if (ver.compareTo(VER_2_8_2) >= 0)
+                columnarResults = reader.readBoolean();
         }
 
         if (ver.compareTo(VER_2_5_0) >= 0) {
@@ -218,7 +234,7 @@ public class JdbcConnectionContext extends ClientListenerAbstractConnectionConte
 
         handler = new JdbcRequestHandler(busyLock, sender, maxCursors, maxMemory, distributedJoins, enforceJoinOrder,
             collocated, replicatedOnly, autoCloseCursors, lazyExec, skipReducerOnUpdate, nestedTxMode,
-            dataPageScanEnabled, updateBatchSize, actx, ver, this);
+            dataPageScanEnabled, updateBatchSize, columnarResults, actx, ver, this);
 
         handler.start();
     }
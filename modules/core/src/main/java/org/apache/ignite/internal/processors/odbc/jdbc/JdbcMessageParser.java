@@ -25,6 +25,7 @@ import org.apache.ignite.internal.binary.streams.BinaryInputStream;
 import org.apache.ignite.internal.processors.odbc.ClientListenerMessageParser;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestCategory;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 
 /**
@@ -105,4 +106,24 @@ public class JdbcMessageParser implements ClientListenerMessageParser {
 
         return JdbcRequest.readRequestId(msg);
     }
+
+    /** {@inheritDoc} */
+    @Override public ClientListenerRequestCategory requestCategory(int cmdType) {
+        switch (cmdType) {
+            case JdbcRequest.QRY_META:
+            case JdbcRequest.META_TABLES:
+            case JdbcRequest.META_COLUMNS:
+            case JdbcRequest.META_INDEXES:
+            case JdbcRequest.META_PARAMS:
+            case JdbcRequest.META_PRIMARY_KEYS:
+            case JdbcRequest.META_SCHEMAS:
+            case JdbcRequest.CACHE_PARTITIONS:
+            case JdbcRequest.QRY_PREPARE:
+            case JdbcRequest.PREPARED_STMT_CLOSE:
+                return ClientListenerRequestCategory.METADATA;
+
+            default:
+                return ClientListenerRequestCategory.SQL;
+        }
+    }
 }
@@ -25,7 +25,8 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * JDBC batch execute ordered request.
+ * JDBC batch execute ordered request. A request without queries that is not the last stream batch makes the server
+ * write all the rows streamed through the connection before.
  */
 public class JdbcOrderedBatchExecuteRequest extends JdbcBatchExecuteRequest
     implements Comparable<JdbcOrderedBatchExecuteRequest> {
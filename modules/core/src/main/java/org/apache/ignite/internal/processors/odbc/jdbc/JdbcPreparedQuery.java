@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import org.apache.ignite.internal.processors.query.ParsedQuery;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * SQL query prepared on the server side and referred by clients by ID instead of the query text. The query parsed
+ * for the current schema version is kept, so that executions skip parsing. Batched executions are parsed separately,
+ * since their plans differ from the ones of single executions.
+ */
+class JdbcPreparedQuery {
+    /** Schema name. */
+    private final String schemaName;
+
+    /** Sql query. */
+    @GridToStringInclude(sensitive = true)
+    private final String sql;
+
+    /** Schema version the parsed queries are valid for. */
+    private long schemaVer;
+
+    /** Query parsed for single executions. */
+    @GridToStringExclude
+    private ParsedQuery parsedQry;
+
+    /** Query parsed for batched executions. */
+    @GridToStringExclude
+    private ParsedQuery batchParsedQry;
+
+    /**
+     * @param schemaName Schema name.
+     * @param sql Sql query.
+     */
+    JdbcPreparedQuery(String schemaName, String sql) {
+        this.schemaName = schemaName;
+        this.sql = sql;
+    }
+
+    /**
+     * @return Schema name.
+     */
+    String schemaName() {
+        return schemaName;
+    }
+
+    /**
+     * Gets the query text. The same string instance is used for all executions, so that the parsed query is matched
+     * to the executed one without comparing the query text.
+     *
+     * @return Sql query.
+     */
+    String sql() {
+        return sql;
+    }
+
+    /**
+     * @param batched Whether the query is executed in batch.
+     * @param schemaVer Current schema version.
+     * @return Parsed query or {@code null} if the query has not been parsed for the given schema version.
+     */
+    synchronized @Nullable ParsedQuery parsedQuery(boolean batched, long schemaVer) {
+        if (this.schemaVer != schemaVer)
+            return null;
+
+        return batched ? batchParsedQry : parsedQry;
+    }
+
+    /**
+     * Sets parsed query. Queries parsed for an older schema version are dropped.
+     *
+     * @param parsed Parsed query.
+     * @param batched Whether the query is executed in batch.
+     * @param schemaVer Schema version the query has been parsed for.
+     */
+    synchronized void parsedQuery(@Nullable ParsedQuery parsed, boolean batched, long schemaVer) {
+        if (schemaVer < this.schemaVer)
+            return;
+
+        if (schemaVer > this.schemaVer) {
+            this.schemaVer = schemaVer;
+
+            parsedQry = null;
+            batchParsedQry = null;
+        }
+
+        if (batched)
+            batchParsedQry = parsed;
+        else
+            parsedQry = parsed;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(JdbcPreparedQuery.class, this);
+    }
+}
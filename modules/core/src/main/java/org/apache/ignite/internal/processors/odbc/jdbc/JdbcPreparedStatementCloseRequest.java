@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * JDBC prepared statement close request.
+ */
+public class JdbcPreparedStatementCloseRequest extends JdbcRequest {
+    /** Prepared statement ID. */
+    private long stmtId;
+
+    /**
+     * Default constructor is used for deserialization.
+     */
+    JdbcPreparedStatementCloseRequest() {
+        super(PREPARED_STMT_CLOSE);
+    }
+
+    /**
+     * @param stmtId Prepared statement ID.
+     */
+    public JdbcPreparedStatementCloseRequest(long stmtId) {
+        super(PREPARED_STMT_CLOSE);
+
+        this.stmtId = stmtId;
+    }
+
+    /**
+     * @return Prepared statement ID.
+     */
+    public long statementId() {
+        return stmtId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeBinary(BinaryWriterExImpl writer,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.writeBinary(writer, ver);
+
+        writer.writeLong(stmtId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readBinary(BinaryReaderExImpl reader,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.readBinary(reader, ver);
+
+        stmtId = reader.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(JdbcPreparedStatementCloseRequest.class, this);
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.SqlListenerUtils;
 import org.apache.ignite.internal.util.typedef.internal.S;
 
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_3;
+
 /**
  * JDBC SQL query with parameters.
  */
@@ -32,6 +34,9 @@ public class JdbcQuery implements JdbcRawBinarylizable {
     /** Arguments. */
     private Object[] args;
 
+    /** Prepared statement ID, SQL query is not sent if set. */
+    private long stmtId;
+
     /**
      * Default constructor is used for serialization.
      */
@@ -62,10 +67,24 @@ public class JdbcQuery implements JdbcRawBinarylizable {
         return args;
     }
 
+    /**
+     * @return Prepared statement ID or {@code 0} if SQL query is sent as is.
+     */
+    public long statementId() {
+        return stmtId;
+    }
+
+    /**
+     * @param stmtId Prepared statement ID or {@code 0} to send SQL query as is.
+     */
+    public void statementId(long stmtId) {
+        this.stmtId = stmtId;
+    }
+
     /** {@inheritDoc} */
     @Override public void writeBinary(BinaryWriterExImpl writer,
         ClientListenerProtocolVersion ver) {
-        writer.writeString(sql);
+        writer.writeString(stmtId == 0 ? sql : null);
 
         if (args == null || args.length == 0)
             writer.writeInt(0);
@@ -75,6 +94,11 @@ public class JdbcQuery implements JdbcRawBinarylizable {
             for (Object arg : args)
                 SqlListenerUtils.writeObject(writer, arg, false);
         }
+
+        if (ver.compareTo(VER_2_8_3) >= 0)
+            writer.writeLong(stmtId);
+        else
+            assert stmtId == 0 : "Prepared statements are supported since 2.8.3";
     }
 
     /** {@inheritDoc} */
@@ -88,6 +112,9 @@ public class JdbcQuery implements JdbcRawBinarylizable {
 
         for (int i = 0; i < argsNum; ++i)
             args[i] = SqlListenerUtils.readObject(reader, false);
+
+        if (ver.compareTo(VER_2_8_3) >= 0)
+            stmtId = reader.readLong();
     }
 
     /** {@inheritDoc} */
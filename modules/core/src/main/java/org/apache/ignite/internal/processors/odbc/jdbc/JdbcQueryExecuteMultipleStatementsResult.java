@@ -38,6 +38,9 @@ public class JdbcQueryExecuteMultipleStatementsResult extends JdbcResult {
     /** Flag indicating the query has no unfetched results for the first query. */
     private boolean last;
 
+    /** Columnar format flag. */
+    private boolean columnar;
+
     /**
      * Default constructor.
      */
@@ -49,13 +52,15 @@ public class JdbcQueryExecuteMultipleStatementsResult extends JdbcResult {
      * @param results Statements results.
      * @param items Query result rows for the first query.
      * @param last Flag indicating the query has no unfetched results for the first query.
+     * @param columnar Whether rows are written in columnar format.
      */
     public JdbcQueryExecuteMultipleStatementsResult(List<JdbcResultInfo> results,
-        List<List<Object>> items, boolean last) {
+        List<List<Object>> items, boolean last, boolean columnar) {
         super(QRY_EXEC_MULT);
         this.results = results;
         this.items = items;
         this.last = last;
+        this.columnar = columnar;
     }
 
     /**
@@ -93,7 +98,7 @@ public class JdbcQueryExecuteMultipleStatementsResult extends JdbcResult {
             if (results.get(0).isQuery()) {
                 writer.writeBoolean(last);
 
-                JdbcUtils.writeItems(writer, items);
+                JdbcUtils.writeItems(writer, items, columnar, ver);
             }
         }
         else
@@ -124,7 +129,7 @@ public class JdbcQueryExecuteMultipleStatementsResult extends JdbcResult {
             if (results.get(0).isQuery()) {
                 last = reader.readBoolean();
 
-                items = JdbcUtils.readItems(reader);
+                items = JdbcUtils.readItems(reader, ver);
             }
         }
     }
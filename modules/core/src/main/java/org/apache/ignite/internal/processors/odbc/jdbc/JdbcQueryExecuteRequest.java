@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_7_0;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_0;
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_3;
 
 /**
  * JDBC query execute request.
@@ -60,6 +61,9 @@ public class JdbcQueryExecuteRequest extends JdbcRequest {
     /** Flag, that signals, that query expects partition response in response. */
     private boolean partResReq;
 
+    /** Prepared statement ID, SQL query is not sent if set. */
+    private long stmtId;
+
     /**
      */
     JdbcQueryExecuteRequest() {
@@ -147,7 +151,7 @@ public class JdbcQueryExecuteRequest extends JdbcRequest {
         writer.writeString(schemaName);
         writer.writeInt(pageSize);
         writer.writeInt(maxRows);
-        writer.writeString(sqlQry);
+        writer.writeString(stmtId == 0 ? sqlQry : null);
 
         writer.writeInt(args == null ? 0 : args.length);
 
@@ -163,6 +167,11 @@ public class JdbcQueryExecuteRequest extends JdbcRequest {
 
         if (ver.compareTo(VER_2_8_0) >= 0)
             writer.writeBoolean(partResReq);
+
+        if (ver.compareTo(VER_2_8_3) >= 0)
+            writer.writeLong(stmtId);
+        else
+            assert stmtId == 0 : "Prepared statements are supported since 2.8.3";
     }
 
     /** {@inheritDoc} */
@@ -197,6 +206,9 @@ public class JdbcQueryExecuteRequest extends JdbcRequest {
 
         if (ver.compareTo(VER_2_8_0) >= 0)
             partResReq = reader.readBoolean();
+
+        if (ver.compareTo(VER_2_8_3) >= 0)
+            stmtId = reader.readLong();
     }
 
     /**
@@ -213,6 +225,20 @@ public class JdbcQueryExecuteRequest extends JdbcRequest {
         this.partResReq = partResReq;
     }
 
+    /**
+     * @return Prepared statement ID or {@code 0} if SQL query is sent as is.
+     */
+    public long statementId() {
+        return stmtId;
+    }
+
+    /**
+     * @param stmtId Prepared statement ID or {@code 0} to send SQL query as is.
+     */
+    public void statementId(long stmtId) {
+        this.stmtId = stmtId;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(JdbcQueryExecuteRequest.class, this, super.toString());
@@ -40,6 +40,9 @@ public class JdbcQueryExecuteResult extends JdbcResult {
     /** Flag indicating the query has no unfetched results. */
     private boolean last;
 
+    /** Columnar format flag. */
+    private boolean columnar;
+
     /** Flag indicating the query is SELECT query. {@code false} for DML/DDL queries. */
     private boolean isQuery;
 
@@ -60,14 +63,17 @@ public class JdbcQueryExecuteResult extends JdbcResult {
      * @param cursorId Cursor ID.
      * @param items Query result rows.
      * @param last Flag indicates the query has no unfetched results.
+     * @param columnar Whether rows are written in columnar format.
      * @param partRes partition result to use for best affort affinity on the client side.
      */
-    JdbcQueryExecuteResult(long cursorId, List<List<Object>> items, boolean last, PartitionResult partRes) {
+    JdbcQueryExecuteResult(long cursorId, List<List<Object>> items, boolean last, boolean columnar,
+        PartitionResult partRes) {
         super(QRY_EXEC);
 
         this.cursorId = cursorId;
         this.items = items;
         this.last = last;
+        this.columnar = columnar;
         isQuery = true;
         this.partRes = partRes;
     }
@@ -135,7 +141,7 @@ public class JdbcQueryExecuteResult extends JdbcResult {
 
             writer.writeBoolean(last);
 
-            JdbcUtils.writeItems(writer, items);
+            JdbcUtils.writeItems(writer, items, columnar, ver);
         }
         else
             writer.writeLong(updateCnt);
@@ -157,7 +163,7 @@ public class JdbcQueryExecuteResult extends JdbcResult {
         if (isQuery) {
             last = reader.readBoolean();
 
-            items = JdbcUtils.readItems(reader);
+            items = JdbcUtils.readItems(reader, ver);
         }
         else {
             last = true;
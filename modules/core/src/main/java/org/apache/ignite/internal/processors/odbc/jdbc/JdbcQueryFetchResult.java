@@ -33,6 +33,9 @@ public class JdbcQueryFetchResult extends JdbcResult {
     /** Flag indicating the query has no unfetched results. */
     private boolean last;
 
+    /** Columnar format flag. */
+    private boolean columnar;
+
     /**
      * Default constructor is used for deserialization.
      */
@@ -43,12 +46,14 @@ public class JdbcQueryFetchResult extends JdbcResult {
     /**
      * @param items Query result rows.
      * @param last Flag indicating the query has no unfetched results.
+     * @param columnar Whether rows are written in columnar format.
      */
-    JdbcQueryFetchResult(List<List<Object>> items, boolean last){
+    JdbcQueryFetchResult(List<List<Object>> items, boolean last, boolean columnar){
         super(QRY_FETCH);
 
         this.items = items;
         this.last = last;
+        this.columnar = columnar;
     }
 
     /**
@@ -72,7 +77,7 @@ public class JdbcQueryFetchResult extends JdbcResult {
 
         writer.writeBoolean(last);
 
-        JdbcUtils.writeItems(writer, items);
+        JdbcUtils.writeItems(writer, items, columnar, ver);
     }
 
     /** {@inheritDoc} */
@@ -82,7 +87,7 @@ public class JdbcQueryFetchResult extends JdbcResult {
 
         last = reader.readBoolean();
 
-        items = JdbcUtils.readItems(reader);
+        items = JdbcUtils.readItems(reader, ver);
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_4;
+
+/**
+ * JDBC prepare statement request.
+ */
+public class JdbcQueryPrepareRequest extends JdbcRequest {
+    /** Schema name. */
+    private String schemaName;
+
+    /** Sql query. */
+    @GridToStringInclude(sensitive = true)
+    private String sqlQry;
+
+    /** Flag, that signals, that query expects partition response in response. */
+    private boolean partResReq;
+
+    /**
+     * Default constructor is used for deserialization.
+     */
+    JdbcQueryPrepareRequest() {
+        super(QRY_PREPARE);
+    }
+
+    /**
+     * @param schemaName Schema name.
+     * @param sqlQry SQL query.
+     */
+    public JdbcQueryPrepareRequest(String schemaName, String sqlQry) {
+        super(QRY_PREPARE);
+
+        this.schemaName = F.isEmpty(schemaName) ? null : schemaName;
+        this.sqlQry = sqlQry;
+    }
+
+    /**
+     * @return Schema name.
+     */
+    @Nullable public String schemaName() {
+        return schemaName;
+    }
+
+    /**
+     * @return Sql query.
+     */
+    public String sqlQuery() {
+        return sqlQry;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeBinary(BinaryWriterExImpl writer,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.writeBinary(writer, ver);
+
+        writer.writeString(schemaName);
+        writer.writeString(sqlQry);
+
+        if (ver.compareTo(VER_2_8_4) >= 0)
+            writer.writeBoolean(partResReq);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readBinary(BinaryReaderExImpl reader,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.readBinary(reader, ver);
+
+        schemaName = reader.readString();
+        sqlQry = reader.readString();
+
+        if (ver.compareTo(VER_2_8_4) >= 0)
+            partResReq = reader.readBoolean();
+    }
+
+    /**
+     * @return Partition response request.
+     */
+    public boolean partitionResponseRequest() {
+        return partResReq;
+    }
+
+    /**
+     * @param partResReq New partition response request.
+     */
+    public void partitionResponseRequest(boolean partResReq) {
+        this.partResReq = partResReq;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(JdbcQueryPrepareRequest.class, this, super.toString());
+    }
+}
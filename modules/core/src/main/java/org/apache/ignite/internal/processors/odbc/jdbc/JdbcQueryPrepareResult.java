@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import org.apache.ignite.binary.BinaryObjectException;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+import org.apache.ignite.internal.sql.optimizer.affinity.PartitionResult;
+import org.apache.ignite.internal.sql.optimizer.affinity.PartitionResultMarshaler;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_4;
+
+/**
+ * JDBC prepare statement result.
+ */
+public class JdbcQueryPrepareResult extends JdbcResult {
+    /** Prepared statement ID. */
+    private long stmtId;
+
+    /** Partition result. */
+    private PartitionResult partRes;
+
+    /**
+     * Default constructor is used for deserialization.
+     */
+    JdbcQueryPrepareResult() {
+        super(QRY_PREPARE);
+    }
+
+    /**
+     * @param stmtId Prepared statement ID.
+     * @param partRes Partition result to use for best effort affinity on the client side.
+     */
+    JdbcQueryPrepareResult(long stmtId, PartitionResult partRes) {
+        super(QRY_PREPARE);
+
+        this.stmtId = stmtId;
+        this.partRes = partRes;
+    }
+
+    /**
+     * @return Prepared statement ID.
+     */
+    public long statementId() {
+        return stmtId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeBinary(BinaryWriterExImpl writer,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.writeBinary(writer, ver);
+
+        writer.writeLong(stmtId);
+
+        if (ver.compareTo(VER_2_8_4) >= 0) {
+            writer.writeBoolean(partRes != null);
+
+            if (partRes != null)
+                PartitionResultMarshaler.marshal(writer, partRes);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readBinary(BinaryReaderExImpl reader,
+        ClientListenerProtocolVersion ver) throws BinaryObjectException {
+        super.readBinary(reader, ver);
+
+        stmtId = reader.readLong();
+
+        if (ver.compareTo(VER_2_8_4) >= 0 && reader.readBoolean())
+            partRes = PartitionResultMarshaler.unmarshal(reader);
+    }
+
+    /**
+     * @return Partition result.
+     */
+    public PartitionResult partitionResult() {
+        return partRes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(JdbcQueryPrepareResult.class, this);
+    }
+}
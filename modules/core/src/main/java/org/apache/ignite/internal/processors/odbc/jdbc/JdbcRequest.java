@@ -78,6 +78,12 @@ public class JdbcRequest extends ClientListenerRequestNoId implements JdbcRawBin
     /** Get cache partitions distributions. */
     public static final byte CACHE_PARTITIONS = 16;
 
+    /** Prepare statement request. */
+    public static final byte QRY_PREPARE = 17;
+
+    /** Close prepared statement request. */
+    static final byte PREPARED_STMT_CLOSE = 18;
+
     /** Request Id generator. */
     private static final AtomicLong REQ_ID_GENERATOR = new AtomicLong();
 
@@ -213,6 +219,16 @@ public class JdbcRequest extends ClientListenerRequestNoId implements JdbcRawBin
 
                 break;
 
+            case QRY_PREPARE:
+                req = new JdbcQueryPrepareRequest();
+
+                break;
+
+            case PREPARED_STMT_CLOSE:
+                req = new JdbcPreparedStatementCloseRequest();
+
+                break;
+
             default:
                 throw new IgniteException("Unknown SQL listener request ID: [request ID=" + reqType + ']');
         }
@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.cache.configuration.Factory;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
@@ -54,11 +55,13 @@ import org.apache.ignite.internal.processors.cache.query.SqlFieldsQueryEx;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequestHandler;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestRejectedException;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponseSender;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.NestedTxMode;
+import org.apache.ignite.internal.processors.query.ParsedQuery;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.SqlClientContext;
 import org.apache.ignite.internal.sql.optimizer.affinity.PartitionResult;
@@ -94,11 +97,13 @@ import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.META_P
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.META_PRIMARY_KEYS;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.META_SCHEMAS;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.META_TABLES;
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.PREPARED_STMT_CLOSE;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_CANCEL;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_CLOSE;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_EXEC;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_FETCH;
 import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_META;
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest.QRY_PREPARE;
 
 /**
  * JDBC request handler.
@@ -129,6 +134,12 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
     /** Current JDBC cursors. */
     private final ConcurrentHashMap<Long, JdbcCursor> jdbcCursors = new ConcurrentHashMap<>();
 
+    /** Queries prepared by the client. */
+    private final ConcurrentHashMap<Long, JdbcPreparedQuery> preparedQrys = new ConcurrentHashMap<>();
+
+    /** Prepared query ID generator. */
+    private final AtomicLong preparedQryIdGen = new AtomicLong();
+
     /** Ordered batches queue. */
     private final PriorityQueue<JdbcOrderedBatchExecuteRequest> orderedBatchesQueue = new PriorityQueue<>();
 
@@ -144,6 +155,9 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
     /** Automatic close of cursors. */
     private final boolean autoCloseCursors;
 
+    /** Whether result pages are sent in columnar format. */
+    private final boolean columnarResults;
+
     /** Nested transactions handling mode. */
     private final NestedTxMode nestedTxMode;
 
@@ -173,6 +187,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
      * @param skipReducerOnUpdate Skip reducer on update flag.
      * @param dataPageScanEnabled Enable scan data page mode.
      * @param updateBatchSize Size of internal batch for DML queries.
+     * @param columnarResults Whether result pages are sent in columnar format.
      * @param actx Authentication context.
      * @param protocolVer Protocol version.
      * @param connCtx Jdbc connection context.
@@ -192,6 +207,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
         NestedTxMode nestedTxMode,
         @Nullable Boolean dataPageScanEnabled,
         @Nullable Integer updateBatchSize,
+        boolean columnarResults,
         AuthorizationContext actx,
         ClientListenerProtocolVersion protocolVer,
         JdbcConnectionContext connCtx
@@ -224,6 +240,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
         this.busyLock = busyLock;
         this.maxCursors = maxCursors;
         this.autoCloseCursors = autoCloseCursors;
+        this.columnarResults = columnarResults;
         this.nestedTxMode = nestedTxMode;
         this.protocolVer = protocolVer;
         this.actx = actx;
@@ -366,6 +383,14 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
                     resp = getCachePartitions((JdbcCachePartitionsRequest)req);
                     break;
 
+                case QRY_PREPARE:
+                    resp = prepareQuery((JdbcQueryPrepareRequest)req);
+                    break;
+
+                case PREPARED_STMT_CLOSE:
+                    resp = closePreparedQuery((JdbcPreparedStatementCloseRequest)req);
+                    break;
+
                 default:
                     resp = new JdbcResponse(IgniteQueryErrorCode.UNSUPPORTED_OPERATION,
                         "Unsupported JDBC request [req=" + req + ']');
@@ -409,6 +434,8 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
         try {
             if (req.isLastStreamBatch())
                 cliCtx.waitTotalProcessedOrderedRequests(req.order());
+            else if (F.isEmpty(req.queries()))
+                cliCtx.flushStreamers();
 
             JdbcResponse resp = executeBatch(req);
 
@@ -529,6 +556,8 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
 
         jdbcCursors.clear();
 
+        preparedQrys.clear();
+
         synchronized (reqMux) {
             reqRegister.clear();
         }
@@ -573,7 +602,9 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
 
             assert !cliCtx.isStream();
 
-            String sql = req.sqlQuery();
+            JdbcPreparedQuery prepared = req.statementId() == 0 ? null : preparedQuery(req.statementId());
+
+            String sql = prepared == null ? req.sqlQuery() : prepared.sql();
 
             SqlFieldsQueryEx qry;
 
@@ -599,6 +630,9 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
 
             setupQuery(qry, prepareSchemaName(req.schemaName()));
 
+            if (prepared != null)
+                qry.setParsedQuery(parsedQuery(prepared, qry));
+
             qry.setArgs(req.arguments());
             qry.setAutoCommit(req.autoCommit());
 
@@ -646,7 +680,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
                 PartitionResult partRes = ((QueryCursorImpl<List<?>>)fieldsCur).partitionResult();
 
                 if (cur.isQuery())
-                    res = new JdbcQueryExecuteResult(cur.cursorId(), cur.fetchRows(), !cur.hasNext(),
+                    res = new JdbcQueryExecuteResult(cur.cursorId(), cur.fetchRows(), !cur.hasNext(), columnarResults,
                         isClientPartitionAwarenessApplicable(req.partitionResponseRequest(), partRes) ?
                             partRes :
                             null);
@@ -704,7 +738,8 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
                     jdbcResults.add(jdbcRes);
                 }
 
-                return resultToResonse(new JdbcQueryExecuteMultipleStatementsResult(jdbcResults, items, last));
+                return resultToResonse(new JdbcQueryExecuteMultipleStatementsResult(jdbcResults, items, last,
+                    columnarResults));
             }
         }
         catch (Exception e) {
@@ -815,7 +850,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
 
             cur.pageSize(req.pageSize());
 
-            JdbcQueryFetchResult res = new JdbcQueryFetchResult(cur.fetchRows(), !cur.hasNext());
+            JdbcQueryFetchResult res = new JdbcQueryFetchResult(cur.fetchRows(), !cur.hasNext(), columnarResults);
 
             if (res.last() && (!cur.isQuery() || autoCloseCursors)) {
                 jdbcCursors.remove(req.cursorId());
@@ -908,14 +943,33 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
             // Send back only the first error. Others will be written to the log.
             IgniteBiTuple<Integer, String> firstErr = new IgniteBiTuple<>();
 
+            // Resolve prepared statements before anything is executed, so that the client may safely resend the
+            // whole batch if a statement is not found.
+            JdbcPreparedQuery[] prepared = new JdbcPreparedQuery[qryCnt];
+
+            for (int i = 0; i < qryCnt; i++) {
+                JdbcQuery q = req.queries().get(i);
+
+                if (q.statementId() != 0)
+                    prepared[i] = preparedQuery(q.statementId());
+            }
+
             SqlFieldsQueryEx qry = null;
 
-            for (JdbcQuery q : req.queries()) {
-                if (q.sql() != null) { // If we have a new query string in the batch,
+            JdbcPreparedQuery qryPrepared = null;
+
+            for (int i = 0; i < qryCnt; i++) {
+                JdbcQuery q = req.queries().get(i);
+
+                String sql = prepared[i] == null ? q.sql() : prepared[i].sql();
+
+                if (sql != null) { // If we have a new query string in the batch,
                     if (qry != null) // then execute the previous sub-batch and create a new SqlFieldsQueryEx.
-                        executeBatchedQuery(qry, updCntsAcc, firstErr, cancel);
+                        executeBatchedQuery(qry, qryPrepared, updCntsAcc, firstErr, cancel);
 
-                    qry = new SqlFieldsQueryEx(q.sql(), false);
+                    qryPrepared = prepared[i];
+
+                    qry = new SqlFieldsQueryEx(sql, false);
 
                     setupQuery(qry, schemaName);
 
@@ -928,7 +982,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
             }
 
             if (qry != null)
-                executeBatchedQuery(qry, updCntsAcc, firstErr, cancel);
+                executeBatchedQuery(qry, qryPrepared, updCntsAcc, firstErr, cancel);
 
             if (req.isLastStreamBatch())
                 cliCtx.disableStreaming();
@@ -940,7 +994,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
                     new JdbcBatchExecuteResult(updCnts, ClientListenerResponse.STATUS_SUCCESS, null)) :
                 resultToResonse(new JdbcBatchExecuteResult(updCnts, firstErr.getKey(), firstErr.getValue()));
         }
-        catch (QueryCancelledException e) {
+        catch (QueryCancelledException | IgniteSQLException e) {
             return exceptionToResult(e);
         }
         finally {
@@ -948,6 +1002,105 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
         }
     }
 
+    /**
+     * {@link JdbcQueryPrepareRequest} command handler.
+     *
+     * @param req Prepare statement request.
+     * @return Response.
+     */
+    private JdbcResponse prepareQuery(JdbcQueryPrepareRequest req) {
+        try {
+            JdbcPreparedQuery prepared = new JdbcPreparedQuery(prepareSchemaName(req.schemaName()), req.sqlQuery());
+
+            SqlFieldsQueryEx qry = new SqlFieldsQueryEx(prepared.sql(), null);
+
+            setupQuery(qry, prepared.schemaName());
+
+            // Validates the query, so that an invalid query is reported by the prepare request.
+            parsedQuery(prepared, qry);
+
+            PartitionResult partRes = null;
+
+            if (req.partitionResponseRequest()) {
+                partRes = connCtx.kernalContext().query().getIndexing().partitionResult(prepared.schemaName(), qry);
+
+                if (!isClientPartitionAwarenessApplicable(true, partRes))
+                    partRes = null;
+            }
+
+            long stmtId = preparedQryIdGen.incrementAndGet();
+
+            preparedQrys.put(stmtId, prepared);
+
+            // Statements are prepared by the driver internally, so the changed affinity version is left to be
+            // reported with the execution result.
+            return new JdbcResponse(new JdbcQueryPrepareResult(stmtId, partRes));
+        }
+        catch (Exception e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to prepare SQL query [reqId=" + req.requestId() + ", req=" + req + ", err=" + e +
+                    ']');
+
+            return exceptionToResult(e);
+        }
+    }
+
+    /**
+     * {@link JdbcPreparedStatementCloseRequest} command handler.
+     *
+     * @param req Close prepared statement request.
+     * @return Response.
+     */
+    private JdbcResponse closePreparedQuery(JdbcPreparedStatementCloseRequest req) {
+        preparedQrys.remove(req.statementId());
+
+        return new JdbcResponse(null);
+    }
+
+    /**
+     * Gets prepared query by ID.
+     *
+     * @param stmtId Prepared statement ID.
+     * @return Prepared query.
+     * @throws IgniteSQLException If prepared query is not found.
+     */
+    private JdbcPreparedQuery preparedQuery(long stmtId) {
+        JdbcPreparedQuery prepared = preparedQrys.get(stmtId);
+
+        if (prepared == null) {
+            throw new IgniteSQLException("Failed to find prepared statement with ID: " + stmtId,
+                IgniteQueryErrorCode.PREPARED_STMT_NOT_FOUND);
+        }
+
+        return prepared;
+    }
+
+    /**
+     * Gets the prepared query parsed for the given execution. The query is parsed again if the schema has changed
+     * since it was parsed. A query that is not valid anymore is kept until the client closes it, so it is parsed
+     * again on the next execution and may become valid after further schema changes.
+     *
+     * @param prepared Prepared query.
+     * @param qry Query to be executed.
+     * @return Parsed query or {@code null} if the query is multi-statement.
+     * @throws IgniteSQLException If failed to parse the query.
+     */
+    private ParsedQuery parsedQuery(JdbcPreparedQuery prepared, SqlFieldsQueryEx qry) {
+        long schemaVer = connCtx.kernalContext().query().schemaVersion();
+
+        boolean batched = qry.isBatched();
+
+        ParsedQuery parsed = prepared.parsedQuery(batched, schemaVer);
+
+        if (parsed == null) {
+            parsed = connCtx.kernalContext().query().getIndexing().parse(prepared.schemaName(), qry);
+
+            prepared.parsedQuery(parsed, batched, schemaVer);
+        }
+
+        return parsed;
+    }
+
     /**
      * Normalize schema name.
      *
@@ -985,14 +1138,16 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
      * Executes query and updates result counters.
      *
      * @param qry Query.
+     * @param prepared Prepared query the query is executed for, {@code null} if the query is sent as text.
      * @param updCntsAcc Per query rows updates counter.
      * @param firstErr First error data - code and message.
      * @param cancel Hook for query cancellation.
      * @throws QueryCancelledException If query was cancelled during execution.
      */
     @SuppressWarnings({"ForLoopReplaceableByForEach"})
-    private void executeBatchedQuery(SqlFieldsQueryEx qry, List<Integer> updCntsAcc,
-        IgniteBiTuple<Integer, String> firstErr, GridQueryCancel cancel) throws QueryCancelledException {
+    private void executeBatchedQuery(SqlFieldsQueryEx qry, @Nullable JdbcPreparedQuery prepared,
+        List<Integer> updCntsAcc, IgniteBiTuple<Integer, String> firstErr, GridQueryCancel cancel)
+        throws QueryCancelledException {
         try {
             if (cliCtx.isStream()) {
                 List<Long> cnt = connCtx.kernalContext().query().streamBatchedUpdateQuery(
@@ -1008,6 +1163,9 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
                 return;
             }
 
+            if (prepared != null)
+                qry.setParsedQuery(parsedQuery(prepared, qry));
+
             List<FieldsQueryCursor<List<?>>> qryRes = connCtx.kernalContext().query().querySqlFields(
                 null, qry, cliCtx, true, true, cancel);
 
@@ -1218,6 +1376,8 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
             return new JdbcResponse(IgniteQueryErrorCode.TRANSACTION_TYPE_MISMATCH, e.getMessage());
         if (e instanceof TransactionUnsupportedConcurrencyException)
             return new JdbcResponse(IgniteQueryErrorCode.UNSUPPORTED_OPERATION, e.getMessage());
+        if (e instanceof ClientListenerRequestRejectedException)
+            return new JdbcResponse(IgniteQueryErrorCode.SERVER_BUSY, e.getMessage());
         if (e instanceof IgniteSQLException)
             return new JdbcResponse(((IgniteSQLException)e).statusCode(), e.getMessage());
         else
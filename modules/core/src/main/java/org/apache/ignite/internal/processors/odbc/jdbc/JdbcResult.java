@@ -78,6 +78,9 @@ public class JdbcResult implements JdbcRawBinarylizable {
     /** A result of the processing cache partitions distributions request. */
     static final byte CACHE_PARTITIONS = 19;
 
+    /** Prepare statement result. */
+    static final byte QRY_PREPARE = 20;
+
     /** Success status. */
     private byte type;
 
@@ -199,6 +202,11 @@ public class JdbcResult implements JdbcRawBinarylizable {
 
                 break;
 
+            case QRY_PREPARE:
+                res = new JdbcQueryPrepareResult();
+
+                break;
+
             default:
                 throw new IgniteException("Unknown SQL listener request ID: [request ID=" + resId + ']');
         }
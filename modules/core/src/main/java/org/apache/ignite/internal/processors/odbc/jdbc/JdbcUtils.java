@@ -22,9 +22,12 @@ import java.util.Collections;
 import java.util.List;
 import org.apache.ignite.internal.binary.BinaryReaderExImpl;
 import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.SqlListenerUtils;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.odbc.jdbc.JdbcConnectionContext.VER_2_8_2;
+
 /**
  * Various JDBC utility methods.
  */
@@ -72,6 +75,44 @@ public class JdbcUtils {
             return Collections.emptyList();
     }
 
+    /**
+     * Writes query result items in columnar format if requested and supported by protocol version.
+     *
+     * @param writer Binary writer.
+     * @param items Query results items.
+     * @param columnar Columnar format flag.
+     * @param ver Protocol version.
+     */
+    public static void writeItems(BinaryWriterExImpl writer, List<List<Object>> items, boolean columnar,
+        ClientListenerProtocolVersion ver) {
+        if (ver.compareTo(VER_2_8_2) >= 0) {
+            writer.writeBoolean(columnar);
+
+            if (columnar) {
+                JdbcColumnarPage.write(writer, items);
+
+                return;
+            }
+        }
+
+        writeItems(writer, items);
+    }
+
+    /**
+     * Reads query result items written by {@link #writeItems(BinaryWriterExImpl, List, boolean,
+     * ClientListenerProtocolVersion)}.
+     *
+     * @param reader Binary reader.
+     * @param ver Protocol version.
+     * @return Query results items.
+     */
+    public static List<List<Object>> readItems(BinaryReaderExImpl reader, ClientListenerProtocolVersion ver) {
+        if (ver.compareTo(VER_2_8_2) >= 0 && reader.readBoolean())
+            return JdbcColumnarPage.read(reader);
+
+        return readItems(reader);
+    }
+
     /**
      * @param writer Binary writer.
      * @param lst List to write.
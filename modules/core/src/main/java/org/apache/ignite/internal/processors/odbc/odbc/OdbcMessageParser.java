@@ -32,6 +32,7 @@ import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProce
 import org.apache.ignite.internal.processors.odbc.ClientListenerMessageParser;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestCategory;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 import org.apache.ignite.internal.processors.odbc.SqlListenerUtils;
 import org.jetbrains.annotations.NotNull;
@@ -421,6 +422,19 @@ public class OdbcMessageParser implements ClientListenerMessageParser {
         return 0;
     }
 
+    /** {@inheritDoc} */
+    @Override public ClientListenerRequestCategory requestCategory(int cmdType) {
+        switch (cmdType) {
+            case OdbcRequest.META_COLS:
+            case OdbcRequest.META_TBLS:
+            case OdbcRequest.META_PARAMS:
+                return ClientListenerRequestCategory.METADATA;
+
+            default:
+                return ClientListenerRequestCategory.SQL;
+        }
+    }
+
     /**
      * @param writer Writer to use.
      * @param affectedRows Affected rows.
@@ -45,6 +45,7 @@ import org.apache.ignite.internal.processors.cache.query.SqlFieldsQueryEx;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequestHandler;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestRejectedException;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponseSender;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
@@ -997,6 +998,8 @@ public class OdbcRequestHandler implements ClientListenerRequestHandler {
             return new OdbcResponse(IgniteQueryErrorCode.UNSUPPORTED_OPERATION, msg);
         if (e instanceof TransactionDuplicateKeyException)
             return new OdbcResponse(IgniteQueryErrorCode.DUPLICATE_KEY, msg);
+        if (e instanceof ClientListenerRequestRejectedException)
+            return new OdbcResponse(IgniteQueryErrorCode.SERVER_BUSY, msg);
 
         return new OdbcResponse(OdbcUtils.tryRetrieveSqlErrorCode(e), msg);
     }
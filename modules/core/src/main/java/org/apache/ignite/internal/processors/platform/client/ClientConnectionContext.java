@@ -16,6 +16,9 @@
 
 package org.apache.ignite.internal.processors.platform.client;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.GridKernalContext;
@@ -26,6 +29,11 @@ import org.apache.ignite.internal.processors.odbc.ClientListenerAbstractConnecti
 import org.apache.ignite.internal.processors.odbc.ClientListenerMessageParser;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequestHandler;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxContext;
+import org.apache.ignite.internal.util.nio.GridNioFuture;
+import org.apache.ignite.internal.util.nio.GridNioSession;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.transactions.Transaction;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -54,11 +62,27 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
     /** Version 1.5.0. Added: Expiration Policy configuration. */
     public static final ClientListenerProtocolVersion VER_1_5_0 = ClientListenerProtocolVersion.create(1, 5, 0);
 
+    /** Version 1.6.0. Added: Partitions count in cache partitions response. */
+    public static final ClientListenerProtocolVersion VER_1_6_0 = ClientListenerProtocolVersion.create(1, 6, 0);
+
+    /** Version 1.7.0. Added: Continuous queries. */
+    public static final ClientListenerProtocolVersion VER_1_7_0 = ClientListenerProtocolVersion.create(1, 7, 0);
+
+    /** Version 1.8.0. Added: Transactions, compute tasks execution. */
+    public static final ClientListenerProtocolVersion VER_1_8_0 = ClientListenerProtocolVersion.create(1, 8, 0);
+
+    /** Version 1.9.0. Added: Near cache invalidation. */
+    public static final ClientListenerProtocolVersion VER_1_9_0 = ClientListenerProtocolVersion.create(1, 9, 0);
+
     /** Default version. */
-    public static final ClientListenerProtocolVersion DEFAULT_VER = VER_1_5_0;
+    public static final ClientListenerProtocolVersion DEFAULT_VER = VER_1_9_0;
 
     /** Supported versions. */
     private static final Collection<ClientListenerProtocolVersion> SUPPORTED_VERS = Arrays.asList(
+        VER_1_9_0,
+        VER_1_8_0,
+        VER_1_7_0,
+        VER_1_6_0,
         VER_1_5_0,
         VER_1_4_0,
         VER_1_3_0,
@@ -67,6 +91,9 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
         VER_1_0_0
     );
 
+    /** Session. */
+    private final GridNioSession ses;
+
     /** Message parser. */
     private ClientMessageParser parser;
 
@@ -79,6 +106,24 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
     /** Max cursors. */
     private final int maxCursors;
 
+    /** Max active transactions. */
+    private final int maxActiveTxs;
+
+    /** Active transactions. */
+    private final Map<Integer, ClientTxContext> txs = new ConcurrentHashMap<>();
+
+    /** Active transactions count, reserved before the transaction is registered. */
+    private final AtomicInteger txsCnt = new AtomicInteger();
+
+    /** Max active compute tasks, {@code 0} if the compute is disabled. */
+    private final int maxActiveComputeTasks;
+
+    /** Active compute tasks count. */
+    private final AtomicInteger activeComputeTasksCnt = new AtomicInteger();
+
+    /** Transaction ID generator. */
+    private final AtomicInteger txIdGen = new AtomicInteger();
+
     /** Current protocol version. */
     private ClientListenerProtocolVersion currentVer;
 
@@ -92,13 +137,20 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
      * Ctor.
      *
      * @param ctx Kernal context.
+     * @param ses Session.
      * @param connId Connection ID.
      * @param maxCursors Max active cursors.
+     * @param maxActiveTxs Max active transactions.
+     * @param maxActiveComputeTasks Max active compute tasks, {@code 0} if the compute is disabled.
      */
-    public ClientConnectionContext(GridKernalContext ctx, long connId, int maxCursors) {
+    public ClientConnectionContext(GridKernalContext ctx, GridNioSession ses, long connId, int maxCursors,
+        int maxActiveTxs, int maxActiveComputeTasks) {
         super(ctx, connId);
 
+        this.ses = ses;
         this.maxCursors = maxCursors;
+        this.maxActiveTxs = maxActiveTxs;
+        this.maxActiveComputeTasks = maxActiveComputeTasks;
     }
 
     /**
@@ -172,9 +224,31 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
     @Override public void onDisconnected() {
         resReg.clean();
 
+        for (ClientTxContext txCtx : txs.values()) {
+            try {
+                txCtx.close();
+            }
+            catch (Exception e) {
+                U.warn(ctx.log(ClientConnectionContext.class), "Failed to roll back thin client transaction " +
+                    "on disconnect [txId=" + txCtx.txId() + ", err=" + e.getMessage() + ']');
+            }
+        }
+
+        txs.clear();
+
         super.onDisconnected();
     }
 
+    /**
+     * Sends notification to the client. Notifications are not bound to requests and may be sent from any thread.
+     *
+     * @param notification Notification.
+     * @return Future completed when the notification is written to the socket.
+     */
+    public GridNioFuture<?> notifyClient(ClientNotification notification) {
+        return ses.send(parser.encode(notification));
+    }
+
     /**
      * Increments the cursor count.
      */
@@ -198,6 +272,80 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
         curCnt.decrementAndGet();
     }
 
+    /**
+     * Registers transaction started by the client.
+     *
+     * @param tx Suspended transaction.
+     * @return Transaction ID.
+     */
+    public int addTxContext(Transaction tx) {
+        if (txsCnt.incrementAndGet() > maxActiveTxs) {
+            txsCnt.decrementAndGet();
+
+            throw new IgniteClientException(ClientStatus.TX_LIMIT_EXCEEDED,
+                "Active transactions per connection limit (" + maxActiveTxs + ") exceeded. To start a new " +
+                "transaction you need to wait for some of currently active transactions complete. To change " +
+                "the limit set up ClientConnectorConfiguration.maxActiveTxPerConnection property.");
+        }
+
+        int txId = txIdGen.incrementAndGet();
+
+        txs.put(txId, new ClientTxContext(txId, tx));
+
+        return txId;
+    }
+
+    /**
+     * Gets active transaction context.
+     *
+     * @param txId Transaction ID.
+     * @return Transaction context.
+     */
+    public ClientTxContext txContext(int txId) {
+        ClientTxContext txCtx = txs.get(txId);
+
+        if (txCtx == null)
+            throw new IgniteClientException(ClientStatus.TX_NOT_FOUND, "Transaction with id " + txId + " not found.");
+
+        return txCtx;
+    }
+
+    /**
+     * Removes transaction context when the transaction is completed.
+     *
+     * @param txId Transaction ID.
+     */
+    public void removeTxContext(int txId) {
+        if (txs.remove(txId) != null)
+            txsCnt.decrementAndGet();
+    }
+
+    /**
+     * Reserves a slot for a compute task started by the client.
+     */
+    public void incrementActiveComputeTasks() {
+        if (maxActiveComputeTasks == 0) {
+            throw new IgniteClientException(ClientStatus.FUNCTIONALITY_DISABLED,
+                "Compute task execution is disabled for thin clients. To enable it set up " +
+                "ClientConnectorConfiguration.thinClientComputeEnabled property.");
+        }
+
+        if (activeComputeTasksCnt.incrementAndGet() > maxActiveComputeTasks) {
+            activeComputeTasksCnt.decrementAndGet();
+
+            throw new IgniteClientException(ClientStatus.TOO_MANY_COMPUTE_TASKS,
+                "Active compute tasks per connection limit (" + maxActiveComputeTasks + ") exceeded. To change " +
+                "the limit set up ClientConnectorConfiguration.maxActiveComputeTasksPerConnection property.");
+        }
+    }
+
+    /**
+     * Releases a slot of the completed or cancelled compute task.
+     */
+    public void decrementActiveComputeTasks() {
+        activeComputeTasksCnt.decrementAndGet();
+    }
+
     /**
      * Atomically check whether affinity topology version has changed since the last call and sets new version as a last.
      * @return New version, if it has changed since the last call.
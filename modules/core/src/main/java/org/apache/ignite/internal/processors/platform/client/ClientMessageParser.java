@@ -27,6 +27,7 @@ import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProce
 import org.apache.ignite.internal.processors.odbc.ClientListenerMessageParser;
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestCategory;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
 import org.apache.ignite.internal.processors.platform.client.binary.ClientBinaryTypeGetRequest;
 import org.apache.ignite.internal.processors.platform.client.binary.ClientBinaryTypeNameGetRequest;
@@ -37,6 +38,7 @@ import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheCl
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheClearRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheContainsKeyRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheContainsKeysRequest;
+import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheContinuousQueryRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheCreateWithConfigurationRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheCreateWithNameRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheDestroyRequest;
@@ -52,6 +54,7 @@ import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGe
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGetRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGetSizeRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheLocalPeekRequest;
+import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheNearInvalidationRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheNodePartitionsRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePartitionsRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePutAllRequest;
@@ -73,6 +76,14 @@ import org.apache.ignite.internal.processors.platform.client.cluster.ClientClust
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterWalGetStateRequest;
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterGroupGetNodeIdsRequest;
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterGroupGetNodesDetailsRequest;
+import org.apache.ignite.internal.processors.platform.client.compute.ClientComputeAffinityRunRequest;
+import org.apache.ignite.internal.processors.platform.client.compute.ClientComputeTaskExecuteRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerAddDataRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerCloseRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerFlushRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerStartRequest;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxEndRequest;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxStartRequest;
 
 /**
  * Thin client message parser.
@@ -198,6 +209,15 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     private static final short OP_QUERY_SQL_FIELDS_CURSOR_GET_PAGE = 2005;
 
+    /** */
+    private static final short OP_QUERY_CONTINUOUS = 2006;
+
+    /** Continuous query event notification, sent by the server only. */
+    public static final short OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION = 2007;
+
+    /** Near cache invalidation, keys are sent as {@link #OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION}. */
+    private static final short OP_QUERY_NEAR_INVALIDATION = 2008;
+
     /* Binary metadata operations. */
     /** */
     private static final short OP_BINARY_TYPE_NAME_GET = 3000;
@@ -211,12 +231,10 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     private static final short OP_BINARY_TYPE_PUT = 3003;
 
-    /** Start new transaction. Reserved for IGNITE-9410. */
-    @SuppressWarnings("unused")
+    /** Start new transaction. */
     private static final short OP_TX_START = 4000;
 
-    /** Commit transaction. Reserved for IGNITE-9410. */
-    @SuppressWarnings("unused")
+    /** Commit or rollback transaction. */
     private static final short OP_TX_END = 4001;
 
     /* Cluster operations. */
@@ -238,6 +256,29 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     private static final short OP_CLUSTER_GROUP_GET_NODE_INFO = 5101;
 
+    /* Compute operations. */
+    /** */
+    private static final short OP_COMPUTE_TASK_EXECUTE = 6000;
+
+    /** Compute task finished notification. */
+    public static final short OP_COMPUTE_TASK_FINISHED = 6001;
+
+    /** */
+    private static final short OP_COMPUTE_AFFINITY_RUN = 6002;
+
+    /* Data streamer operations. */
+    /** */
+    private static final short OP_DATA_STREAMER_START = 8000;
+
+    /** */
+    private static final short OP_DATA_STREAMER_ADD_DATA = 8001;
+
+    /** */
+    private static final short OP_DATA_STREAMER_FLUSH = 8002;
+
+    /** */
+    private static final short OP_DATA_STREAMER_CLOSE = 8003;
+
     /* Custom queries working through processors registry. */
     /** */
     private static final short OP_CUSTOM_QUERY = 32_000;
@@ -314,6 +355,12 @@ public class ClientMessageParser implements ClientListenerMessageParser {
             case OP_QUERY_SCAN_CURSOR_GET_PAGE:
                 return new ClientCacheQueryNextPageRequest(reader);
 
+            case OP_QUERY_CONTINUOUS:
+                return new ClientCacheContinuousQueryRequest(reader);
+
+            case OP_QUERY_NEAR_INVALIDATION:
+                return new ClientCacheNearInvalidationRequest(reader);
+
             case OP_RESOURCE_CLOSE:
                 return new ClientResourceCloseRequest(reader);
 
@@ -434,6 +481,30 @@ public class ClientMessageParser implements ClientListenerMessageParser {
             case OP_CLUSTER_GROUP_GET_NODE_INFO:
                 return new ClientClusterGroupGetNodesDetailsRequest(reader);
 
+            case OP_TX_START:
+                return new ClientTxStartRequest(reader);
+
+            case OP_TX_END:
+                return new ClientTxEndRequest(reader);
+
+            case OP_COMPUTE_TASK_EXECUTE:
+                return new ClientComputeTaskExecuteRequest(reader);
+
+            case OP_COMPUTE_AFFINITY_RUN:
+                return new ClientComputeAffinityRunRequest(reader);
+
+            case OP_DATA_STREAMER_START:
+                return new ClientDataStreamerStartRequest(reader);
+
+            case OP_DATA_STREAMER_ADD_DATA:
+                return new ClientDataStreamerAddDataRequest(reader);
+
+            case OP_DATA_STREAMER_FLUSH:
+                return new ClientDataStreamerFlushRequest(reader);
+
+            case OP_DATA_STREAMER_CLOSE:
+                return new ClientDataStreamerCloseRequest(reader);
+
             case OP_CUSTOM_QUERY:
                 return new ClientCustomQueryRequest(reader);
         }
@@ -466,6 +537,50 @@ public class ClientMessageParser implements ClientListenerMessageParser {
 
     /** {@inheritDoc} */
     @Override public long decodeRequestId(byte[] msg) {
-        return 0;
+        assert msg != null;
+
+        BinaryInputStream inStream = new BinaryHeapInputStream(msg);
+
+        // Skip operation code.
+        inStream.position(2);
+
+        return inStream.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientListenerRequestCategory requestCategory(int cmdType) {
+        switch (cmdType) {
+            case OP_TX_START:
+            case OP_TX_END:
+            case OP_DATA_STREAMER_START:
+            case OP_DATA_STREAMER_ADD_DATA:
+            case OP_DATA_STREAMER_FLUSH:
+            case OP_DATA_STREAMER_CLOSE:
+                return ClientListenerRequestCategory.KEY_VALUE;
+
+            // Operations on the whole cache are processed along with queries.
+            case OP_CACHE_CLEAR:
+            case OP_CACHE_REMOVE_ALL:
+            case OP_CACHE_GET_SIZE:
+            case OP_QUERY_SCAN:
+            case OP_QUERY_SCAN_CURSOR_GET_PAGE:
+            case OP_QUERY_SQL:
+            case OP_QUERY_SQL_CURSOR_GET_PAGE:
+            case OP_QUERY_SQL_FIELDS:
+            case OP_QUERY_SQL_FIELDS_CURSOR_GET_PAGE:
+            case OP_QUERY_CONTINUOUS:
+            case OP_QUERY_NEAR_INVALIDATION:
+                return ClientListenerRequestCategory.SQL;
+
+            case OP_COMPUTE_TASK_EXECUTE:
+            case OP_COMPUTE_AFFINITY_RUN:
+                return ClientListenerRequestCategory.COMPUTE;
+
+            default:
+                if (cmdType >= OP_CACHE_GET && cmdType <= OP_CACHE_LOCAL_PEEK)
+                    return ClientListenerRequestCategory.KEY_VALUE;
+
+                return ClientListenerRequestCategory.METADATA;
+        }
     }
 }
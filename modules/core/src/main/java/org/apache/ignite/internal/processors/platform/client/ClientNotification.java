@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+
+/**
+ * Server notification sent to the client without a request, e.g. continuous query events. Notification is
+ * addressed to the resource and carries operation code instead of the request ID.
+ */
+public class ClientNotification extends ClientResponse {
+    /** Operation code. */
+    private final short opCode;
+
+    /**
+     * Constructor.
+     *
+     * @param opCode Operation code.
+     * @param rsrcId Resource ID.
+     */
+    public ClientNotification(short opCode, long rsrcId) {
+        super(rsrcId);
+
+        this.opCode = opCode;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param opCode Operation code.
+     * @param rsrcId Resource ID.
+     * @param status Status code.
+     * @param err Error message.
+     */
+    public ClientNotification(short opCode, long rsrcId, int status, String err) {
+        super(rsrcId, status, err);
+
+        this.opCode = opCode;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        boolean error = status() != ClientStatus.SUCCESS;
+
+        writer.writeLong(requestId());
+        writer.writeShort(error ? (short)(ClientFlag.NOTIFICATION | ClientFlag.ERROR) : ClientFlag.NOTIFICATION);
+        writer.writeShort(opCode);
+
+        if (error) {
+            writer.writeInt(status());
+            writer.writeString(error());
+        }
+    }
+}
@@ -21,7 +21,10 @@ import org.apache.ignite.internal.processors.authentication.AuthorizationContext
 import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequest;
 import org.apache.ignite.internal.processors.odbc.ClientListenerRequestHandler;
+import org.apache.ignite.internal.processors.odbc.ClientListenerRequestRejectedException;
 import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxAwareRequest;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxContext;
 import org.apache.ignite.plugin.security.SecurityException;
 
 import static org.apache.ignite.internal.processors.platform.client.ClientConnectionContext.VER_1_4_0;
@@ -57,6 +60,13 @@ public class ClientRequestHandler implements ClientListenerRequestHandler {
     /** {@inheritDoc} */
     @Override public ClientListenerResponse handle(ClientListenerRequest req) {
         try {
+            if (req instanceof ClientTxAwareRequest) {
+                int txId = ((ClientTxAwareRequest)req).txId();
+
+                if (txId != 0)
+                    return processInTx((ClientRequest)req, ctx.txContext(txId));
+            }
+
             return ((ClientRequest)req).process(ctx);
         }
         catch (SecurityException ex) {
@@ -68,13 +78,50 @@ public class ClientRequestHandler implements ClientListenerRequestHandler {
         }
     }
 
+    /**
+     * Processes request within the transaction.
+     *
+     * @param req Request.
+     * @param txCtx Transaction context.
+     * @return Response.
+     */
+    private ClientListenerResponse processInTx(ClientRequest req, ClientTxContext txCtx) {
+        txCtx.acquire();
+
+        ClientListenerResponse res;
+
+        try {
+            res = req.process(ctx);
+        }
+        catch (Throwable e) {
+            try {
+                txCtx.release(false);
+            }
+            catch (Exception e0) {
+                e.addSuppressed(e0);
+            }
+
+            throw e;
+        }
+
+        txCtx.release(false);
+
+        return res;
+    }
+
     /** {@inheritDoc} */
     @Override public ClientListenerResponse handleException(Exception e, ClientListenerRequest req) {
         assert req != null;
         assert e != null;
 
-        int status = e instanceof IgniteClientException ?
-            ((IgniteClientException)e).statusCode() : ClientStatus.FAILED;
+        int status;
+
+        if (e instanceof IgniteClientException)
+            status = ((IgniteClientException)e).statusCode();
+        else if (e instanceof ClientListenerRequestRejectedException)
+            status = ClientStatus.SERVER_BUSY;
+        else
+            status = ClientStatus.FAILED;
 
         return new ClientResponse(req.requestId(), status, e.getMessage());
     }
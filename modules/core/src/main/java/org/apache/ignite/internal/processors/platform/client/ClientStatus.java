@@ -36,12 +36,18 @@ public final class ClientStatus {
     /** Invalid op code. */
     public static final int INVALID_OP_CODE = 2;
 
+    /** Request rejected by overloaded server, may be retried later. */
+    public static final int SERVER_BUSY = 3;
+
     /** Cache does not exist. */
     public static final int CACHE_DOES_NOT_EXIST = 1000;
 
     /** Cache already exists. */
     public static final int CACHE_EXISTS = 1001;
 
+    /** Functionality is disabled by the server configuration. */
+    public static final int FUNCTIONALITY_DISABLED = 1002;
+
     /** Too many cursors. */
     public static final int TOO_MANY_CURSORS = 1010;
 
@@ -51,6 +57,15 @@ public final class ClientStatus {
     /** Authorization failure. */
     public static final int SECURITY_VIOLATION = 1012;
 
+    /** Transaction not found. */
+    public static final int TX_NOT_FOUND = 1020;
+
+    /** Too many active transactions. */
+    public static final int TX_LIMIT_EXCEEDED = 1021;
+
+    /** Too many active compute tasks. */
+    public static final int TOO_MANY_COMPUTE_TASKS = 1030;
+
     /** Authentication failed. */
     public static final int AUTH_FAILED = 2000;
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.event.CacheEntryUpdatedListener;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.util.typedef.X;
+
+/**
+ * Continuous query started by thin client. Forwards events to the client in batches.
+ * <p>
+ * Flow control: at most {@link #MAX_NOTIFICATIONS_IN_FLIGHT} notifications may wait in the session queue to be
+ * written to the socket. Events received meanwhile are buffered and sent with the next notification, so batches
+ * grow when the client or the network is slower than updates. If the buffer reaches {@link #MAX_BUFFERED_EVTS},
+ * the query is closed and the client is notified with an error, the listener never blocks the cluster threads.
+ */
+class ClientCacheContinuousQueryHandle implements ClientCloseableResource {
+    /** Max notifications passed to the session and not written to the socket yet. */
+    private static final int MAX_NOTIFICATIONS_IN_FLIGHT = 2;
+
+    /** Max events buffered while notifications are in flight. */
+    private static final int MAX_BUFFERED_EVTS = 64 * 1024;
+
+    /** Connection context. */
+    private final ClientConnectionContext ctx;
+
+    /** Events are transformed on remote nodes. */
+    private final boolean transformed;
+
+    /** Buffered events. */
+    private List<Object> buf = new ArrayList<>();
+
+    /** Notifications in flight. */
+    private int inFlight;
+
+    /** Resource ID, events are buffered until it is sent to the client. */
+    private long rsrcId;
+
+    /** Started flag. */
+    private boolean started;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /** Events buffer overflow flag. */
+    private boolean overflow;
+
+    /** Continuous query cursor. */
+    private volatile QueryCursor<?> cur;
+
+    /**
+     * Ctor.
+     *
+     * @param ctx Connection context.
+     * @param transformed Events are transformed on remote nodes.
+     */
+    ClientCacheContinuousQueryHandle(ClientConnectionContext ctx, boolean transformed) {
+        this.ctx = ctx;
+        this.transformed = transformed;
+    }
+
+    /**
+     * @return Local listener of the continuous query.
+     */
+    CacheEntryUpdatedListener<Object, Object> eventListener() {
+        return this::onEvents;
+    }
+
+    /**
+     * @return Local listener of the continuous query with transformer.
+     */
+    ContinuousQueryWithTransformer.EventListener<Object> transformedEventListener() {
+        return this::onEvents;
+    }
+
+    /**
+     * @param cur Continuous query cursor.
+     */
+    void cursor(QueryCursor<?> cur) {
+        this.cur = cur;
+    }
+
+    /**
+     * Starts sending events to the client.
+     *
+     * @param rsrcId Resource ID.
+     */
+    synchronized void start(long rsrcId) {
+        this.rsrcId = rsrcId;
+
+        started = true;
+
+        if (overflow)
+            onOverflow();
+        else if (!closed && !buf.isEmpty())
+            sendBuffered();
+    }
+
+    /**
+     * @param evts Events.
+     */
+    private synchronized void onEvents(Iterable<?> evts) {
+        if (closed)
+            return;
+
+        for (Object evt : evts)
+            buf.add(evt);
+
+        if (started && inFlight < MAX_NOTIFICATIONS_IN_FLIGHT)
+            sendBuffered();
+        else if (buf.size() >= MAX_BUFFERED_EVTS) {
+            closed = true;
+            overflow = true;
+
+            buf = new ArrayList<>();
+
+            // Resource ID is not known until the query is started.
+            if (started)
+                onOverflow();
+        }
+    }
+
+    /**
+     * Notifies the client that the query is stopped and releases the query resource.
+     */
+    private void onOverflow() {
+        assert Thread.holdsLock(this);
+
+        ctx.notifyClient(new ClientCacheContinuousQueryNotification(rsrcId, ClientStatus.FAILED,
+            "Continuous query is stopped, the client does not keep up with the events [maxBufferedEvts=" +
+                MAX_BUFFERED_EVTS + ']'));
+
+        // Query is stopped outside of the listener thread.
+        ctx.kernalContext().closure().runLocalSafe(() -> {
+            try {
+                ctx.resources().release(rsrcId);
+            }
+            catch (IgniteClientException ignored) {
+                // Resource is already released by the client.
+            }
+        }, true);
+    }
+
+    /**
+     * Called when notification is written to the socket or session is closed.
+     */
+    private synchronized void onNotificationSent() {
+        inFlight--;
+
+        if (!closed && !buf.isEmpty())
+            sendBuffered();
+    }
+
+    /**
+     * Sends all buffered events in one notification.
+     */
+    private void sendBuffered() {
+        assert Thread.holdsLock(this);
+
+        List<Object> evts = buf;
+
+        buf = new ArrayList<>();
+
+        inFlight++;
+
+        // Notification is encoded and passed to the session under the lock to keep the order of events.
+        ctx.notifyClient(new ClientCacheContinuousQueryNotification(rsrcId, transformed, evts))
+            .listen(f -> onNotificationSent());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        synchronized (this) {
+            closed = true;
+
+            buf.clear();
+        }
+
+        QueryCursor<?> cur0 = cur;
+
+        if (cur0 == null)
+            return;
+
+        try {
+            cur0.close();
+        }
+        catch (IgniteException e) {
+            // Continuous queries are stopped with the node.
+            if (!X.hasCause(e, NodeStoppingException.class))
+                throw e;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.List;
+import javax.cache.event.CacheEntryEvent;
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientMessageParser;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+
+/**
+ * Batch of continuous query events.
+ */
+class ClientCacheContinuousQueryNotification extends ClientNotification {
+    /** Events are transformed on remote nodes. */
+    private final boolean transformed;
+
+    /** Events or transformed events. */
+    private final List<?> evts;
+
+    /**
+     * Ctor.
+     *
+     * @param rsrcId Continuous query resource ID.
+     * @param transformed Events are transformed on remote nodes.
+     * @param evts Events or transformed events.
+     */
+    ClientCacheContinuousQueryNotification(long rsrcId, boolean transformed, List<?> evts) {
+        super(ClientMessageParser.OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION, rsrcId);
+
+        this.transformed = transformed;
+        this.evts = evts;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param rsrcId Continuous query resource ID.
+     * @param status Status code.
+     * @param err Error message.
+     */
+    ClientCacheContinuousQueryNotification(long rsrcId, int status, String err) {
+        super(ClientMessageParser.OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION, rsrcId, status, err);
+
+        transformed = false;
+        evts = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        if (status() != ClientStatus.SUCCESS)
+            return;
+
+        writer.writeInt(evts.size());
+
+        for (Object evt : evts) {
+            if (transformed) {
+                writer.writeObjectDetached(evt);
+
+                continue;
+            }
+
+            CacheEntryEvent<?, ?> e = (CacheEntryEvent<?, ?>)evt;
+
+            writer.writeByte((byte)e.getEventType().ordinal());
+            writer.writeObjectDetached(e.getKey());
+            writer.writeObjectDetached(e.isOldValueAvailable() ? e.getOldValue() : null);
+            writer.writeObjectDetached(e.getValue());
+        }
+    }
+}
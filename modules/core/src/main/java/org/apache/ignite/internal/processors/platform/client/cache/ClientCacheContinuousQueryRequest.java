@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import javax.cache.configuration.Factory;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.AbstractContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Continuous query request. Registers the query with the client local listener, events are sent to the client
+ * as {@link ClientCacheContinuousQueryNotification} until the returned resource is closed.
+ */
+@SuppressWarnings("unchecked")
+public class ClientCacheContinuousQueryRequest extends ClientCacheRequest {
+    /** Java platform. */
+    private static final byte PLATFORM_JAVA = 1;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Time interval. */
+    private final long timeInterval;
+
+    /** Include expired events flag. */
+    private final boolean includeExpired;
+
+    /** Remote filter factory. */
+    private final Object filterFactory;
+
+    /** Remote filter factory platform. */
+    private final byte filterPlatform;
+
+    /** Remote transformer factory. */
+    private final Object transformerFactory;
+
+    /** Remote transformer factory platform. */
+    private final byte transformerPlatform;
+
+    /**
+     * Ctor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheContinuousQueryRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        pageSize = reader.readInt();
+        timeInterval = reader.readLong();
+        includeExpired = reader.readBoolean();
+
+        filterFactory = reader.readObjectDetached();
+        filterPlatform = filterFactory == null ? 0 : reader.readByte();
+
+        transformerFactory = reader.readObjectDetached();
+        transformerPlatform = transformerFactory == null ? 0 : reader.readByte();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        boolean javaCallbacks = filterPlatform == PLATFORM_JAVA || transformerPlatform == PLATFORM_JAVA;
+
+        IgniteCache cache = javaCallbacks && !isKeepBinary() ? rawCache(ctx) : cache(ctx);
+
+        ClientCacheContinuousQueryHandle hnd = new ClientCacheContinuousQueryHandle(ctx, transformerFactory != null);
+
+        AbstractContinuousQuery qry;
+
+        if (transformerFactory != null) {
+            qry = new ContinuousQueryWithTransformer()
+                .setRemoteTransformerFactory(createFactory(transformerFactory, transformerPlatform))
+                .setLocalListener(hnd.transformedEventListener());
+        }
+        else
+            qry = new ContinuousQuery().setLocalListener(hnd.eventListener());
+
+        qry.setRemoteFilterFactory(createFactory(filterFactory, filterPlatform));
+        qry.setTimeInterval(timeInterval);
+        qry.setIncludeExpired(includeExpired);
+        qry.setPageSize(pageSize);
+
+        QueryCursor cur = cache.query(qry);
+
+        hnd.cursor(cur);
+
+        long rsrcId = ctx.resources().put(hnd);
+
+        return new ClientCacheContinuousQueryResponse(requestId(), rsrcId, hnd);
+    }
+
+    /**
+     * Creates the factory of the remote filter or transformer.
+     *
+     * @param factory Factory object.
+     * @param platform Factory platform.
+     * @return Factory.
+     */
+    private static Factory createFactory(Object factory, byte platform) {
+        if (factory == null)
+            return null;
+
+        if (platform != PLATFORM_JAVA)
+            throw new UnsupportedOperationException("Invalid client ContinuousQuery callback platform code: " +
+                platform);
+
+        return ((BinaryObject)factory).deserialize();
+    }
+}
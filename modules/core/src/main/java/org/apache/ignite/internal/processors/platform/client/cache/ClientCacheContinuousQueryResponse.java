@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import org.apache.ignite.internal.processors.platform.client.ClientLongResponse;
+
+/**
+ * Continuous query response with the query resource ID.
+ */
+class ClientCacheContinuousQueryResponse extends ClientLongResponse {
+    /** Continuous query handle. */
+    private final ClientCacheContinuousQueryHandle hnd;
+
+    /** Resource ID. */
+    private final long rsrcId;
+
+    /**
+     * Ctor.
+     *
+     * @param reqId Request ID.
+     * @param rsrcId Resource ID.
+     * @param hnd Continuous query handle.
+     */
+    ClientCacheContinuousQueryResponse(long reqId, long rsrcId, ClientCacheContinuousQueryHandle hnd) {
+        super(reqId, rsrcId);
+
+        this.rsrcId = rsrcId;
+        this.hnd = hnd;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSent() {
+        // Client does not know the resource ID until the response is received, so events are sent after it.
+        hnd.start(rsrcId);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.lang.IgniteClosure;
+
+/**
+ * Near cache invalidation request. Registers continuous query which sends keys of the updated, removed and expired
+ * entries to the client, so it can drop them from the near cache. Keys are sent as transformed events of
+ * {@link ClientCacheContinuousQueryNotification} until the returned resource is closed.
+ */
+@SuppressWarnings("unchecked")
+public class ClientCacheNearInvalidationRequest extends ClientCacheRequest {
+    /** Page size. */
+    private final int pageSize;
+
+    /** Time interval. */
+    private final long timeInterval;
+
+    /**
+     * Ctor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheNearInvalidationRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        pageSize = reader.readInt();
+        timeInterval = reader.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientCacheContinuousQueryHandle hnd = new ClientCacheContinuousQueryHandle(ctx, true);
+
+        ContinuousQueryWithTransformer qry = new ContinuousQueryWithTransformer()
+            .setRemoteTransformerFactory(new KeyTransformerFactory())
+            .setLocalListener(hnd.transformedEventListener());
+
+        qry.setTimeInterval(timeInterval);
+        qry.setIncludeExpired(true);
+        qry.setPageSize(pageSize);
+
+        // Keys are sent in binary form, the client deserializes them.
+        QueryCursor cur = cache(ctx).query(qry);
+
+        hnd.cursor(cur);
+
+        long rsrcId = ctx.resources().put(hnd);
+
+        return new ClientCacheContinuousQueryResponse(requestId(), rsrcId, hnd);
+    }
+
+    /**
+     * Transforms events to the keys of the changed entries.
+     */
+    private static class KeyTransformerFactory
+        implements Factory<IgniteClosure<CacheEntryEvent<?, ?>, Object>>, IgniteClosure<CacheEntryEvent<?, ?>, Object> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public IgniteClosure<CacheEntryEvent<?, ?>, Object> create() {
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object apply(CacheEntryEvent<?, ?> evt) {
+            return evt.getKey();
+        }
+    }
+}
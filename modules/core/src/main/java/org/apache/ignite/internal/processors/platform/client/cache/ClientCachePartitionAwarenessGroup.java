@@ -23,6 +23,7 @@ import org.apache.ignite.cache.CacheKeyConfiguration;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
 import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
 
 /**
  * Partition mapping associated with the group of caches.
@@ -65,14 +66,15 @@ class ClientCachePartitionAwarenessGroup {
             return this.mapping == mapping;
 
         // Now we need to compare mappings themselves.
-        return mapping.isCompatible(mapping);
+        return this.mapping.isCompatible(mapping);
     }
 
     /**
      * Write mapping using binary writer.
      * @param writer Writer.
+     * @param ver Protocol version.
      */
-    public void write(BinaryRawWriter writer) {
+    public void write(BinaryRawWriter writer, ClientListenerProtocolVersion ver) {
         writer.writeBoolean(mapping != null);
 
         writer.writeInt(cacheCfgs.size());
@@ -104,7 +106,7 @@ class ClientCachePartitionAwarenessGroup {
         }
 
         if (mapping != null)
-            mapping.write(writer);
+            mapping.write(writer, ver);
     }
 
     /**
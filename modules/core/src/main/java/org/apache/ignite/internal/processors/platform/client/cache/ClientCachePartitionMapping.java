@@ -22,6 +22,9 @@ import java.util.UUID;
 import org.apache.ignite.binary.BinaryRawWriter;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.processors.affinity.AffinityAssignment;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+
+import static org.apache.ignite.internal.processors.platform.client.ClientConnectionContext.VER_1_6_0;
 
 /**
  * Cache partition mapping.
@@ -30,6 +33,9 @@ public class ClientCachePartitionMapping {
     /** Partitions map for caches. */
     private final HashMap<UUID, Set<Integer>> partitionMap;
 
+    /** Number of partitions. */
+    private final int parts;
+
     /**
      * @param cacheId Cache ID.
      * @param assignment Affinity assignment.
@@ -39,6 +45,8 @@ public class ClientCachePartitionMapping {
 
         partitionMap = new HashMap<>(nodes.size());
 
+        parts = assignment.assignment().size();
+
         for (ClusterNode node : nodes) {
             UUID nodeId = node.id();
             Set<Integer> parts = assignment.primaryPartitions(nodeId);
@@ -50,8 +58,12 @@ public class ClientCachePartitionMapping {
     /**
      * Write mapping using binary writer.
      * @param writer Writer.
+     * @param ver Protocol version.
      */
-    public void write(BinaryRawWriter writer) {
+    public void write(BinaryRawWriter writer, ClientListenerProtocolVersion ver) {
+        if (ver.compareTo(VER_1_6_0) >= 0)
+            writer.writeInt(parts);
+
         writer.writeInt(partitionMap.size());
 
         for (HashMap.Entry<UUID, Set<Integer>> nodeParts: partitionMap.entrySet()) {
@@ -72,6 +84,6 @@ public class ClientCachePartitionMapping {
      * @return True if compatible.
      */
     public boolean isCompatible(ClientCachePartitionMapping another) {
-        return partitionMap.equals(another.partitionMap);
+        return parts == another.parts && partitionMap.equals(another.partitionMap);
     }
 }
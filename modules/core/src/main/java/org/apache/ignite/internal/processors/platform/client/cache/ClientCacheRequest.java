@@ -24,19 +24,23 @@ import org.apache.ignite.internal.processors.platform.client.ClientConnectionCon
 import org.apache.ignite.internal.processors.platform.client.ClientRequest;
 import org.apache.ignite.internal.processors.platform.client.ClientStatus;
 import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxAwareRequest;
 
 import javax.cache.expiry.ExpiryPolicy;
 
 /**
  * Cache get request.
  */
-class ClientCacheRequest extends ClientRequest {
+class ClientCacheRequest extends ClientRequest implements ClientTxAwareRequest {
     /** Flag: keep binary. */
     private static final byte FLAG_KEEP_BINARY = 1;
 
     /** Flag: with expiry policy. */
     private static final byte FLAG_WITH_EXPIRY_POLICY = 2;
 
+    /** Flag: transactional. */
+    private static final byte FLAG_TRANSACTIONAL = 4;
+
     /** Cache ID. */
     private final int cacheId;
 
@@ -46,6 +50,9 @@ class ClientCacheRequest extends ClientRequest {
     /** Expiry policy. */
     private final ExpiryPolicy expiryPolicy;
 
+    /** Transaction ID. */
+    private final int txId;
+
     /**
      * Constructor.
      *
@@ -61,6 +68,8 @@ class ClientCacheRequest extends ClientRequest {
         expiryPolicy = withExpiryPolicy()
                 ? new PlatformExpiryPolicy(reader.readLong(), reader.readLong(), reader.readLong())
                 : null;
+
+        txId = (flags & FLAG_TRANSACTIONAL) == FLAG_TRANSACTIONAL ? reader.readInt() : 0;
     }
 
     /**
@@ -91,6 +100,11 @@ class ClientCacheRequest extends ClientRequest {
         return (flags & FLAG_WITH_EXPIRY_POLICY) == FLAG_WITH_EXPIRY_POLICY;
     }
 
+    /** {@inheritDoc} */
+    @Override public int txId() {
+        return txId;
+    }
+
     /**
      * Gets the cache for current cache id, ignoring any flags.
      *
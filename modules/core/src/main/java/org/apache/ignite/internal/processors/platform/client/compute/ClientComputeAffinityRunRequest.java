@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.lang.IgniteRunnable;
+
+/**
+ * Affinity run request. Job is executed on the node where the affinity key is mapped, completion is sent to the
+ * client as a compute task notification. Job class must be available on server nodes.
+ */
+public class ClientComputeAffinityRunRequest extends ClientRequest {
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Affinity key. */
+    private final Object affKey;
+
+    /** Job. */
+    private final Object job;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientComputeAffinityRunRequest(BinaryRawReader reader) {
+        super(reader);
+
+        cacheName = reader.readString();
+        affKey = ((BinaryRawReaderEx)reader).readObjectDetached();
+        job = ((BinaryRawReaderEx)reader).readObjectDetached();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ctx.incrementActiveComputeTasks();
+
+        IgniteFuture<?> fut;
+
+        try {
+            Object job0 = job instanceof BinaryObject ? ((BinaryObject)job).deserialize() : job;
+
+            if (!(job0 instanceof IgniteRunnable)) {
+                throw new IgniteClientException(ClientStatus.FAILED, "Affinity job must implement IgniteRunnable: " +
+                    (job0 == null ? null : job0.getClass().getName()));
+            }
+
+            fut = ctx.kernalContext().grid().compute().affinityRunAsync(cacheName, affKey, (IgniteRunnable)job0);
+        }
+        catch (RuntimeException e) {
+            ctx.decrementActiveComputeTasks();
+
+            throw e;
+        }
+
+        ClientComputeTask task = new ClientComputeTask(ctx, fut);
+
+        return new ClientComputeTaskResponse(requestId(), ctx.resources().put(task), task);
+    }
+}
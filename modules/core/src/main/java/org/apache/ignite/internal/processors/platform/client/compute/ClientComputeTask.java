@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.lang.IgniteFuture;
+
+/**
+ * Compute task started by thin client. Result of the task is sent to the client as a notification, the task is
+ * cancelled if the resource is closed before it is completed. The task holds a slot of the connection active tasks
+ * limit until it is completed or cancelled.
+ */
+class ClientComputeTask implements ClientCloseableResource {
+    /** Connection context. */
+    private final ClientConnectionContext ctx;
+
+    /** Task future. */
+    private final IgniteFuture<?> fut;
+
+    /** Closed flag, set when the task is completed or cancelled. */
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Ctor.
+     *
+     * @param ctx Connection context.
+     * @param fut Task future.
+     */
+    ClientComputeTask(ClientConnectionContext ctx, IgniteFuture<?> fut) {
+        this.ctx = ctx;
+        this.fut = fut;
+    }
+
+    /**
+     * Starts waiting for the task result.
+     *
+     * @param rsrcId Resource ID.
+     */
+    void start(long rsrcId) {
+        fut.listen(f -> onDone(rsrcId, f));
+    }
+
+    /**
+     * @param rsrcId Resource ID.
+     * @param f Completed task future.
+     */
+    private void onDone(long rsrcId, IgniteFuture<?> f) {
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        ctx.decrementActiveComputeTasks();
+
+        ClientComputeTaskNotification notification;
+
+        try {
+            notification = new ClientComputeTaskNotification(rsrcId, f.get());
+        }
+        catch (Exception e) {
+            notification = new ClientComputeTaskNotification(rsrcId, ClientStatus.FAILED, e.getMessage());
+        }
+
+        ctx.resources().release(rsrcId);
+
+        ctx.notifyClient(notification);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+
+        ctx.decrementActiveComputeTasks();
+
+        try {
+            fut.cancel();
+        }
+        catch (IgniteException e) {
+            // Tasks are cancelled with the node.
+            if (!X.hasCause(e, NodeStoppingException.class))
+                throw e;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import org.apache.ignite.IgniteCompute;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.lang.IgniteFuture;
+
+/**
+ * Execute compute task by name request. Task is executed on server nodes, the result is sent to the client
+ * as a notification.
+ */
+public class ClientComputeTaskExecuteRequest extends ClientRequest {
+    /** Flag: no failover. */
+    private static final byte FLAG_NO_FAILOVER = 1;
+
+    /** Flag: no result cache. */
+    private static final byte FLAG_NO_RESULT_CACHE = 2;
+
+    /** Flags. */
+    private final byte flags;
+
+    /** Task timeout, {@code 0} for no timeout. */
+    private final long timeout;
+
+    /** Task name. */
+    private final String taskName;
+
+    /** Task argument. */
+    private final Object arg;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientComputeTaskExecuteRequest(BinaryRawReader reader) {
+        super(reader);
+
+        flags = reader.readByte();
+        timeout = reader.readLong();
+        taskName = reader.readString();
+        arg = ((BinaryRawReaderEx)reader).readObjectDetached();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ctx.incrementActiveComputeTasks();
+
+        IgniteFuture<?> fut;
+
+        try {
+            IgniteCompute compute = ctx.kernalContext().grid().compute();
+
+            if ((flags & FLAG_NO_FAILOVER) != 0)
+                compute = compute.withNoFailover();
+
+            if ((flags & FLAG_NO_RESULT_CACHE) != 0)
+                compute = compute.withNoResultCache();
+
+            if (timeout > 0)
+                compute = compute.withTimeout(timeout);
+
+            Object arg0 = arg instanceof BinaryObject ? ((BinaryObject)arg).deserialize() : arg;
+
+            fut = compute.executeAsync(taskName, arg0);
+        }
+        catch (RuntimeException e) {
+            ctx.decrementActiveComputeTasks();
+
+            throw e;
+        }
+
+        ClientComputeTask task = new ClientComputeTask(ctx, fut);
+
+        return new ClientComputeTaskResponse(requestId(), ctx.resources().put(task), task);
+    }
+}
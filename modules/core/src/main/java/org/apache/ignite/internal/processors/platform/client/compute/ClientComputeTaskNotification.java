@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientMessageParser;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+
+/**
+ * Compute task finished notification with the task result.
+ */
+class ClientComputeTaskNotification extends ClientNotification {
+    /** Task result. */
+    private final Object res;
+
+    /**
+     * Ctor.
+     *
+     * @param rsrcId Task resource ID.
+     * @param res Task result.
+     */
+    ClientComputeTaskNotification(long rsrcId, Object res) {
+        super(ClientMessageParser.OP_COMPUTE_TASK_FINISHED, rsrcId);
+
+        this.res = res;
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param rsrcId Task resource ID.
+     * @param status Status code.
+     * @param err Error message.
+     */
+    ClientComputeTaskNotification(long rsrcId, int status, String err) {
+        super(ClientMessageParser.OP_COMPUTE_TASK_FINISHED, rsrcId, status, err);
+
+        res = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        if (status() == ClientStatus.SUCCESS)
+            writer.writeObjectDetached(res);
+    }
+}
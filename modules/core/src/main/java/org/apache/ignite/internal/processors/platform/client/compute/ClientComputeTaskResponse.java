@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import org.apache.ignite.internal.processors.platform.client.ClientLongResponse;
+
+/**
+ * Compute task response with the task resource ID.
+ */
+class ClientComputeTaskResponse extends ClientLongResponse {
+    /** Task. */
+    private final ClientComputeTask task;
+
+    /** Resource ID. */
+    private final long rsrcId;
+
+    /**
+     * Ctor.
+     *
+     * @param reqId Request ID.
+     * @param rsrcId Resource ID.
+     * @param task Task.
+     */
+    ClientComputeTaskResponse(long reqId, long rsrcId, ClientComputeTask task) {
+        super(reqId, rsrcId);
+
+        this.rsrcId = rsrcId;
+        this.task = task;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSent() {
+        // Client does not know the resource ID until the response is received, so the result is sent after it.
+        task.start(rsrcId);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Adds batch of entries to the data streamer, {@code null} value removes the entry. The response is sent once
+ * the entries are accepted by the streamer, without waiting for them to be stored: failures are reported by
+ * flush and close requests.
+ */
+public class ClientDataStreamerAddDataRequest extends ClientRequest {
+    /** Streamer resource ID. */
+    private final long resId;
+
+    /** Entries. */
+    private final Collection<Map.Entry<Object, Object>> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientDataStreamerAddDataRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        resId = reader.readLong();
+
+        int cnt = reader.readInt();
+
+        entries = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            Object key = reader.readObjectDetached();
+            Object val = reader.readObjectDetached();
+
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, val));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientDataStreamerHandle hnd = ctx.resources().get(resId);
+
+        if (!entries.isEmpty())
+            hnd.streamer().addData(entries);
+
+        return new ClientResponse(requestId());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Closes the data streamer, waiting until all added entries are stored unless the streamer is cancelled.
+ */
+public class ClientDataStreamerCloseRequest extends ClientRequest {
+    /** Streamer resource ID. */
+    private final long resId;
+
+    /** Whether to discard entries which are not stored yet. */
+    private final boolean cancel;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientDataStreamerCloseRequest(BinaryRawReader reader) {
+        super(reader);
+
+        resId = reader.readLong();
+        cancel = reader.readBoolean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientDataStreamerHandle hnd = ctx.resources().get(resId);
+
+        try {
+            hnd.streamer().close(cancel);
+        }
+        finally {
+            ctx.resources().release(resId);
+        }
+
+        return new ClientResponse(requestId());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+
+/**
+ * Data streamer opened by thin client.
+ */
+class ClientDataStreamerHandle implements ClientCloseableResource {
+    /** Data streamer. */
+    private final IgniteDataStreamer<Object, Object> streamer;
+
+    /**
+     * Constructor.
+     *
+     * @param streamer Data streamer.
+     */
+    ClientDataStreamerHandle(IgniteDataStreamer<Object, Object> streamer) {
+        this.streamer = streamer;
+    }
+
+    /**
+     * @return Data streamer.
+     */
+    IgniteDataStreamer<Object, Object> streamer() {
+        return streamer;
+    }
+
+    /**
+     * Cancels the streamer if the client has not closed it, e.g. on disconnect.
+     */
+    @Override public void close() {
+        streamer.close(true);
+    }
+}
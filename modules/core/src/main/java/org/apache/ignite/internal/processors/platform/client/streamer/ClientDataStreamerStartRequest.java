@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientLongResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+
+/**
+ * Opens data streamer for the cache and returns its resource ID.
+ */
+public class ClientDataStreamerStartRequest extends ClientRequest {
+    /** Flag: allow overwrite. */
+    private static final byte FLAG_ALLOW_OVERWRITE = 1;
+
+    /** Flag: skip store. */
+    private static final byte FLAG_SKIP_STORE = 2;
+
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Flags. */
+    private final byte flags;
+
+    /** Per node buffer size, default if not positive. */
+    private final int perNodeBufSize;
+
+    /** Per node parallel operations, default if not positive. */
+    private final int perNodeParallelOps;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientDataStreamerStartRequest(BinaryRawReader reader) {
+        super(reader);
+
+        cacheId = reader.readInt();
+        flags = reader.readByte();
+        perNodeBufSize = reader.readInt();
+        perNodeParallelOps = reader.readInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        DynamicCacheDescriptor desc = ctx.kernalContext().cache().cacheDescriptor(cacheId);
+
+        if (desc == null)
+            throw new IgniteClientException(ClientStatus.CACHE_DOES_NOT_EXIST, "Cache does not exist [cacheId= " +
+                cacheId + "]", null);
+
+        IgniteDataStreamer<Object, Object> streamer = ctx.kernalContext().grid().dataStreamer(desc.cacheName());
+
+        try {
+            streamer.keepBinary(true);
+            streamer.allowOverwrite((flags & FLAG_ALLOW_OVERWRITE) != 0);
+            streamer.skipStore((flags & FLAG_SKIP_STORE) != 0);
+
+            if (perNodeBufSize > 0)
+                streamer.perNodeBufferSize(perNodeBufSize);
+
+            if (perNodeParallelOps > 0)
+                streamer.perNodeParallelOperations(perNodeParallelOps);
+        }
+        catch (RuntimeException e) {
+            streamer.close(true);
+
+            throw e;
+        }
+
+        long resId = ctx.resources().put(new ClientDataStreamerHandle(streamer));
+
+        return new ClientLongResponse(requestId(), resId);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.tx;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ignite.transactions.Transaction;
+
+/**
+ * Thin client transaction context.
+ * <p>
+ * Ignite transaction is bound to the thread, while requests of the client are processed by any thread of the client
+ * connector pool. Transaction is kept suspended between the requests and is resumed by the thread processing the next
+ * request of the transaction. Requests of the same transaction are processed one by one.
+ */
+public class ClientTxContext {
+    /** Transaction ID. */
+    private final int txId;
+
+    /** Transaction. */
+    private final Transaction tx;
+
+    /** Lock. */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Constructor.
+     *
+     * @param txId Transaction ID.
+     * @param tx Suspended transaction.
+     */
+    public ClientTxContext(int txId, Transaction tx) {
+        assert tx != null;
+
+        this.txId = txId;
+        this.tx = tx;
+    }
+
+    /**
+     * @return Transaction ID.
+     */
+    public int txId() {
+        return txId;
+    }
+
+    /**
+     * @return Transaction.
+     */
+    public Transaction tx() {
+        return tx;
+    }
+
+    /**
+     * Resumes transaction in the current thread.
+     */
+    public void acquire() {
+        lock.lock();
+
+        try {
+            tx.resume();
+        }
+        catch (Exception e) {
+            lock.unlock();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Releases transaction resumed by {@link #acquire()}.
+     *
+     * @param end {@code True} if transaction is completed and should be closed, {@code false} to suspend it.
+     */
+    public void release(boolean end) {
+        try {
+            if (end)
+                tx.close();
+            else
+                suspend();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suspends transaction.
+     */
+    private void suspend() {
+        try {
+            tx.suspend();
+        }
+        catch (Exception e) {
+            // Transaction can't be suspended if it was invalidated by the last operation, release the thread anyway.
+            try {
+                tx.close();
+            }
+            catch (Exception e0) {
+                e.addSuppressed(e0);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Rolls back the transaction if it is still active.
+     */
+    public void close() {
+        lock.lock();
+
+        try {
+            tx.resume();
+
+            tx.close();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
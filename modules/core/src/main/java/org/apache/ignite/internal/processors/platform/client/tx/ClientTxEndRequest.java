@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.tx;
+
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * End transaction request.
+ */
+public class ClientTxEndRequest extends ClientRequest {
+    /** Transaction ID. */
+    private final int txId;
+
+    /** Commit flag, the transaction is rolled back if not set. */
+    private final boolean committed;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientTxEndRequest(BinaryRawReader reader) {
+        super(reader);
+
+        txId = reader.readInt();
+        committed = reader.readBoolean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientTxContext txCtx = ctx.txContext(txId);
+
+        try {
+            txCtx.acquire();
+        }
+        catch (Exception e) {
+            // Transaction can't be resumed if it was already rolled back, e.g. by timeout.
+            ctx.removeTxContext(txId);
+
+            if (committed)
+                throw e;
+
+            return new ClientResponse(requestId());
+        }
+
+        try {
+            if (committed)
+                txCtx.tx().commit();
+            else
+                txCtx.tx().rollback();
+        }
+        finally {
+            ctx.removeTxContext(txId);
+
+            txCtx.release(true);
+        }
+
+        return new ClientResponse(requestId());
+    }
+}
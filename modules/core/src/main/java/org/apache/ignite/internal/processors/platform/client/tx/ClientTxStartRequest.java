@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.tx;
+
+import org.apache.ignite.IgniteTransactions;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.configuration.TransactionConfiguration;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientIntResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.transactions.Transaction;
+import org.apache.ignite.transactions.TransactionConcurrency;
+import org.apache.ignite.transactions.TransactionIsolation;
+
+import static org.apache.ignite.transactions.TransactionConcurrency.OPTIMISTIC;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+
+/**
+ * Start transaction request.
+ * <p>
+ * Only optimistic transactions are supported: transaction is suspended between the requests of the client, and
+ * suspension of pessimistic transactions is not supported.
+ */
+public class ClientTxStartRequest extends ClientRequest {
+    /** Transaction concurrency control, {@code null} for default. */
+    private final TransactionConcurrency concurrency;
+
+    /** Transaction isolation level, {@code null} for default. */
+    private final TransactionIsolation isolation;
+
+    /** Transaction timeout, negative for default. */
+    private final long timeout;
+
+    /** Transaction label. */
+    private final String lb;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientTxStartRequest(BinaryRawReader reader) {
+        super(reader);
+
+        concurrency = TransactionConcurrency.fromOrdinal(reader.readByte());
+        isolation = TransactionIsolation.fromOrdinal(reader.readByte());
+        timeout = reader.readLong();
+        lb = reader.readString();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        if (concurrency == PESSIMISTIC) {
+            throw new IgniteClientException(ClientStatus.FAILED, "Pessimistic transactions are not supported " +
+                "by thin client (transaction is suspended between the requests of the client).");
+        }
+
+        TransactionConfiguration cfg = ctx.kernalContext().config().getTransactionConfiguration();
+
+        IgniteTransactions txs = ctx.kernalContext().grid().transactions();
+
+        if (lb != null)
+            txs = txs.withLabel(lb);
+
+        Transaction tx = txs.txStart(
+            OPTIMISTIC,
+            isolation == null ? cfg.getDefaultTxIsolation() : isolation,
+            timeout < 0 ? cfg.getDefaultTxTimeout() : timeout,
+            0);
+
+        int txId = 0;
+
+        try {
+            txId = ctx.addTxContext(tx);
+
+            tx.suspend();
+        }
+        catch (Exception e) {
+            if (txId != 0)
+                ctx.removeTxContext(txId);
+
+            tx.close();
+
+            throw e;
+        }
+
+        return new ClientIntResponse(requestId(), txId);
+    }
+}
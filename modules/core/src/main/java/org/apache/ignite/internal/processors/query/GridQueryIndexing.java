@@ -36,8 +36,10 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.persistence.RootPage;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
+import org.apache.ignite.internal.processors.cache.query.SqlFieldsQueryEx;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.sql.optimizer.affinity.PartitionResult;
 import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
@@ -296,6 +298,29 @@ public interface GridQueryIndexing {
     @Nullable public List<GridQueryFieldMetadata> resultMetaData(String schemaName, SqlFieldsQuery sql)
         throws IgniteSQLException;
 
+    /**
+     * Partitions affected by the specified query, derived from the query text, so that the client could send the
+     * query or the inserted row directly to the node owning the data.
+     *
+     * @param schemaName the default schema name for query.
+     * @param sql Sql query.
+     * @return Partition result or {@code null} if partitions cannot be derived or provided query is multi-statement.
+     * @throws IgniteSQLException if failed to parse the query.
+     */
+    @Nullable public PartitionResult partitionResult(String schemaName, SqlFieldsQuery sql) throws IgniteSQLException;
+
+    /**
+     * Parses the query in advance, so that it can be executed without parsing again. The result is passed to the
+     * execution with {@link SqlFieldsQueryEx#setParsedQuery(ParsedQuery)} and is valid until the schema version
+     * changes.
+     *
+     * @param schemaName the default schema name for query.
+     * @param sql Sql query.
+     * @return Parsed query or {@code null} if provided query is multi-statement.
+     * @throws IgniteSQLException if failed to parse the query.
+     */
+    @Nullable public ParsedQuery parse(String schemaName, SqlFieldsQuery sql) throws IgniteSQLException;
+
     /**
      * Updates index. Note that key is unique for cache, so if cache contains multiple indexes
      * the key should be removed from indexes other than one being updated.
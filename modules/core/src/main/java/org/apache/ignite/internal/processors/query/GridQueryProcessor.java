@@ -31,6 +31,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.cache.Cache;
 import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
@@ -211,6 +212,9 @@ public class GridQueryProcessor extends GridProcessorAdapter {
     /** */
     private boolean skipFieldLookup;
 
+    /** Local schema version, incremented on every change of existing tables and indexes. */
+    private final AtomicLong schemaVer = new AtomicLong();
+
     /** Cache name - value typeId pairs for which type mismatch message was logged. */
     private final Set<Long> missedCacheTypes = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
@@ -703,6 +707,16 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         return idx != null;
     }
 
+    /**
+     * Gets local schema version. The version is incremented when tables are dropped, caches are closed on the client
+     * node or when columns or indexes are added or removed, so that queries parsed in advance can be parsed again.
+     *
+     * @return Local schema version.
+     */
+    public long schemaVersion() {
+        return schemaVer.get();
+    }
+
     /**
      * @return Indexing.
      * @throws IgniteException If module is not enabled.
@@ -938,6 +952,17 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * Closes cache on the client node without destroying its SQL structures.
+     *
+     * @param cacheName Cache name.
+     */
+    public void closeCacheOnClient(String cacheName) {
+        getIndexing().closeCacheOnClient(cacheName);
+
+        schemaVer.incrementAndGet();
+    }
+
     /**
      * Destroy H2 structures for not started caches.
      *
@@ -1507,6 +1532,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
             if (log.isDebugEnabled())
                 log.debug("Local operation finished successfully [opId=" + op.id() + ']');
 
+            schemaVer.incrementAndGet();
+
             String schemaName = op.schemaName();
 
             try {
@@ -1895,6 +1922,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
             cacheNames.remove(cacheName);
 
+            schemaVer.incrementAndGet();
+
             Iterator<Long> missedCacheTypeIter = missedCacheTypes.iterator();
 
             while (missedCacheTypeIter.hasNext()) {
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import org.apache.ignite.internal.processors.cache.query.SqlFieldsQueryEx;
+
+/**
+ * Query parsed by {@link GridQueryIndexing} in advance. It holds the parsing result, e.g. the two-step plan of a
+ * SELECT query, and is passed to the execution with {@link SqlFieldsQueryEx#setParsedQuery(ParsedQuery)}, so that
+ * the query is not parsed and not looked up in the parser cache again. The parsed query is valid until the schema
+ * version changes, see {@link GridQueryProcessor#schemaVersion()}.
+ */
+public interface ParsedQuery {
+    // No-op.
+}
@@ -16,8 +16,10 @@
 
 package org.apache.ignite.internal.processors.query;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import javax.cache.configuration.Factory;
 import org.apache.ignite.IgniteDataStreamer;
@@ -189,6 +191,23 @@ public class SqlClientContext implements AutoCloseable {
         }
     }
 
+    /**
+     * Flushes all open streamers, if any.
+     */
+    public void flushStreamers() {
+        List<IgniteDataStreamer<?, ?>> streamers0;
+
+        synchronized (muxStreamer) {
+            if (!isStream())
+                return;
+
+            streamers0 = new ArrayList<>(streamers.values());
+        }
+
+        for (IgniteDataStreamer<?, ?> streamer : streamers0)
+            streamer.flush();
+    }
+
     /**
      * @return Collocated flag.
      */
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.util;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
@@ -191,6 +192,30 @@ public class TimeBag {
         }
     }
 
+    /**
+     * @return Times of all finished global stages by stage description, in order of completion. Times of stages
+     * with the same description are summed up.
+     */
+    public Map<String, Long> stagesTimes() {
+        lock.readLock().lock();
+
+        try {
+            Map<String, Long> times = new LinkedHashMap<>();
+
+            // Skip initial stage.
+            for (int i = 1; i < stages.size(); i++) {
+                CompositeStage stage = stages.get(i);
+
+                times.merge(stage.description(), stage.time(), Long::sum);
+            }
+
+            return times;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * @param maxPerCompositeStage Max count of local stages to collect per composite stage.
      * @return List of string represenation of longest local stages per each composite stage.
@@ -29,6 +29,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.util.ipc.IpcEndpoint;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * IPC endpoint based on shared memory space.
@@ -55,6 +56,9 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
     /** */
     private final Thread checker;
 
+    /** Doorbell of memory mapped spaces, {@code null} for native spaces. */
+    private final IpcSharedMemoryDoorbell bell;
+
     /** */
     private final IgniteLogger log;
 
@@ -68,6 +72,21 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
     public IpcSharedMemoryClientEndpoint(IpcSharedMemorySpace inSpace,
         IpcSharedMemorySpace outSpace,
         IgniteLogger parent) {
+        this(inSpace, outSpace, null, parent);
+    }
+
+    /**
+     * Creates connected client IPC endpoint.
+     *
+     * @param inSpace In space.
+     * @param outSpace Out space.
+     * @param bell Doorbell of memory mapped spaces or {@code null}.
+     * @param parent Parent logger.
+     */
+    IpcSharedMemoryClientEndpoint(IpcSharedMemorySpace inSpace,
+        IpcSharedMemorySpace outSpace,
+        @Nullable IpcSharedMemoryDoorbell bell,
+        IgniteLogger parent) {
         assert inSpace != null;
         assert outSpace != null;
 
@@ -79,6 +98,11 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         in = new IpcSharedMemoryInputStream(inSpace);
         out = new IpcSharedMemoryOutputStream(outSpace);
 
+        this.bell = bell;
+
+        if (bell != null)
+            bell.start();
+
         checker = null;
     }
 
@@ -113,14 +137,14 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         IpcSharedMemorySpace inSpace = null;
         IpcSharedMemorySpace outSpace = null;
 
+        IpcSharedMemoryDoorbell bell = null;
+
         Socket sock = new Socket();
 
         Exception err = null;
         boolean clear = true;
 
         try {
-            IpcSharedMemoryNativeLoader.load(log);
-
             sock.connect(new InetSocketAddress("127.0.0.1", port), timeout);
 
             // Send request.
@@ -137,6 +161,10 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
             err = res.error();
 
             if (err == null) {
+                // Spaces backed by memory mapped files do not need native library.
+                if (res.inSharedMemoryId() != IpcSharedMemorySpace.MAPPED_SHMEM_ID)
+                    IpcSharedMemoryNativeLoader.load(log);
+
                 String inTokFileName = res.inTokenFileName();
 
                 assert inTokFileName != null;
@@ -151,6 +179,10 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
                 outSpace = new IpcSharedMemorySpace(outTokFileName, pid, res.pid(), res.size(), false,
                     res.outSharedMemoryId(), log);
 
+                // Handshake socket of memory mapped spaces is kept open to wake up the other party.
+                if (inSpace.mapped())
+                    bell = new IpcSharedMemoryDoorbell(sock, inSpace, outSpace, log);
+
                 // This is success ACK.
                 out.writeBoolean(true);
 
@@ -170,7 +202,8 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
             throw new IgniteCheckedException(e);
         }
         finally {
-            U.closeQuiet(sock);
+            if (bell == null || clear)
+                U.closeQuiet(sock);
 
             if (clear) {
                 if (inSpace != null)
@@ -190,6 +223,11 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         in = new IpcSharedMemoryInputStream(inSpace);
         out = new IpcSharedMemoryOutputStream(outSpace);
 
+        this.bell = bell;
+
+        if (bell != null)
+            bell.start();
+
         checker = new Thread(new AliveChecker());
 
         // Required for Hadoop 2.x
@@ -214,6 +252,7 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         U.closeQuiet(out);
 
         stopChecker();
+        closeDoorbell();
     }
 
     /**
@@ -226,6 +265,15 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         out.forceClose();
 
         stopChecker();
+        closeDoorbell();
+    }
+
+    /**
+     * Closes the doorbell after the spaces, so that closing wakes up the other party.
+     */
+    private void closeDoorbell() {
+        if (bell != null)
+            bell.close();
     }
 
     /**
@@ -246,6 +294,25 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
 
     /** @return {@code True} if other party is alive and new invocation of this method needed. */
     boolean checkOtherPartyAlive() {
+        // Token files of memory mapped spaces may be removed while the spaces are still mapped,
+        // so liveness of the other party is checked by the lock it holds on the token file.
+        if (inSpace.mapped()) {
+            if (inSpace.closed() && outSpace.closed())
+                return false;
+
+            if (!inSpace.otherPartyAlive() || !outSpace.otherPartyAlive()) {
+                U.warn(log, "Remote process is considered to be dead (shared memory space will be forcibly " +
+                    "closed): " + inSpace.otherPartyPid());
+
+                closeSpace(inSpace);
+                closeSpace(outSpace);
+
+                return false;
+            }
+
+            return true;
+        }
+
         if (checkIn) {
             File tokFile = new File(inSpace.tokenFileName());
 
@@ -263,9 +330,11 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         if (!checkIn && !checkOut)
             return false;
 
-        if (!IpcSharedMemoryUtils.alive(inSpace.otherPartyPid())) {
+        int pid = inSpace.otherPartyPid();
+
+        if (!IpcSharedMemoryUtils.alive(pid)) {
             U.warn(log, "Remote process is considered to be dead (shared memory space will be forcibly closed): " +
-                inSpace.otherPartyPid());
+                pid);
 
             closeSpace(inSpace);
             closeSpace(outSpace);
@@ -306,7 +375,8 @@ public class IpcSharedMemoryClientEndpoint implements IpcEndpoint {
         // Space is not usable at this point and all local threads
         // are guaranteed to leave its methods (other party is not alive).
         // So, we can cleanup resources without additional synchronization.
-        IpcSharedMemoryUtils.freeSystemResources(tokFile.getAbsolutePath(), space.size());
+        if (!space.mapped())
+            IpcSharedMemoryUtils.freeSystemResources(tokFile.getAbsolutePath(), space.size());
 
         tokFile.delete();
     }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.ipc.shmem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Doorbell of the pair of memory mapped spaces of an endpoint. The party which updates a space rings the doorbell
+ * by sending a byte over the loopback socket which was used for the handshake, and the doorbell thread of the other
+ * party unparks its thread waiting on the space. End of the socket stream means that the other party has closed
+ * the endpoint or died.
+ */
+class IpcSharedMemoryDoorbell implements Runnable {
+    /** Bell for the reader of the space. */
+    private static final int READER_BELL = 0;
+
+    /** Bell for the writer of the space. */
+    private static final int WRITER_BELL = 1;
+
+    /** Socket connected to the other party. */
+    private final Socket sock;
+
+    /** Socket output stream. */
+    private final OutputStream out;
+
+    /** Ring buffer of the in space. */
+    private final IpcSharedMemoryRingBuffer inRing;
+
+    /** Ring buffer of the out space. */
+    private final IpcSharedMemoryRingBuffer outRing;
+
+    /** Thread reading the socket. */
+    private final Thread thread;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** Whether the socket has been closed. */
+    private volatile boolean closed;
+
+    /**
+     * @param sock Socket connected to the other party.
+     * @param inSpace In space.
+     * @param outSpace Out space.
+     * @param log Logger.
+     * @throws IOException If failed.
+     */
+    IpcSharedMemoryDoorbell(Socket sock, IpcSharedMemorySpace inSpace, IpcSharedMemorySpace outSpace,
+        IgniteLogger log) throws IOException {
+        assert inSpace.mapped() && outSpace.mapped();
+
+        // Bells must not be delayed to be coalesced.
+        sock.setTcpNoDelay(true);
+
+        this.sock = sock;
+        this.log = log;
+
+        out = sock.getOutputStream();
+
+        inRing = inSpace.ring();
+        outRing = outSpace.ring();
+
+        thread = new Thread(this, "shmem-doorbell-" + inSpace.otherPartyPid());
+
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Connects the doorbell to the spaces and starts the thread reading the socket.
+     */
+    void start() {
+        inRing.doorbell(this);
+        outRing.doorbell(this);
+
+        thread.start();
+    }
+
+    /**
+     * Wakes up the other party.
+     *
+     * @param reader {@code True} to wake up the reader of the space, {@code false} to wake up the writer.
+     */
+    void ring(boolean reader) {
+        if (closed)
+            return;
+
+        try {
+            synchronized (out) {
+                out.write(reader ? READER_BELL : WRITER_BELL);
+            }
+        }
+        catch (IOException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to ring shared memory doorbell (was connection closed by another party): " +
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * @return {@code True} if the socket has been closed, so the other party will not ring the doorbell anymore.
+     */
+    boolean closed() {
+        return closed;
+    }
+
+    /**
+     * Closes the socket and waits for the doorbell thread to stop.
+     */
+    void close() {
+        U.closeQuiet(sock);
+
+        try {
+            thread.join();
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void run() {
+        try {
+            InputStream in = sock.getInputStream();
+
+            int bell;
+
+            // The reader of the space is the reader of the in space of this party.
+            while ((bell = in.read()) >= 0) {
+                if (bell == READER_BELL)
+                    inRing.wakeUp();
+                else
+                    outRing.wakeUp();
+            }
+        }
+        catch (IOException e) {
+            if (log.isDebugEnabled())
+                log.debug("Shared memory doorbell socket has been closed: " + e.getMessage());
+        }
+        finally {
+            closed = true;
+
+            inRing.wakeUp();
+            outRing.wakeUp();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IpcSharedMemoryDoorbell.class, this);
+    }
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.ipc.shmem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Single producer single consumer ring buffer in a memory mapped file. This is a pure Java replacement of
+ * the native shared memory segment used when the native library is not available or not desired.
+ * <p>
+ * Layout of the mapped file:
+ * <ul>
+ *     <li>{@code 0} - total number of bytes written (updated by the writer only);</li>
+ *     <li>{@code 64} - total number of bytes read (updated by the reader only);</li>
+ *     <li>{@code 128} - closed flag;</li>
+ *     <li>{@code 132} - number of parties that released the buffer;</li>
+ *     <li>{@code 136} - attached flag, set by the party attached to the buffer created by the other one;</li>
+ *     <li>{@code 140} - flag of the reader waiting for data;</li>
+ *     <li>{@code 144} - flag of the writer waiting for free space;</li>
+ *     <li>{@code 192} - data.</li>
+ * </ul>
+ * Counters are placed on separate cache lines so that reader and writer do not contend on them.
+ * <p>
+ * Each party holds a lock on its own byte of the file ({@code 160} for the creator, {@code 161} for the attached
+ * party) until it releases the buffer. The lock is released by the operating system when the process dies,
+ * so liveness of the other party is checked on any platform by trying to lock its byte.
+ * <p>
+ * A party which has found nothing to do after spinning and yielding sets its waiting flag, checks the buffer once
+ * more and parks. The other party clears the flag after it updates the buffer and rings the {@link
+ * IpcSharedMemoryDoorbell doorbell}, which unparks the waiting thread, so idle parties do not consume CPU. Buffer
+ * without a doorbell falls back to parking for a short time and checking the buffer again.
+ */
+class IpcSharedMemoryRingBuffer {
+    /** Written bytes counter offset. */
+    private static final int WRITE_CNT_OFF = 0;
+
+    /** Read bytes counter offset. */
+    private static final int READ_CNT_OFF = 64;
+
+    /** Closed flag offset. */
+    private static final int CLOSED_OFF = 128;
+
+    /** Closed parties counter offset. */
+    private static final int CLOSED_CNT_OFF = 132;
+
+    /** Attached flag offset. */
+    private static final int ATTACHED_OFF = 136;
+
+    /** Reader waiting flag offset. */
+    private static final int READER_WAITING_OFF = 140;
+
+    /** Writer waiting flag offset. */
+    private static final int WRITER_WAITING_OFF = 144;
+
+    /** Position of the byte locked by the party which created the buffer. */
+    private static final int CREATOR_LOCK_POS = 160;
+
+    /** Position of the byte locked by the party attached to the buffer. */
+    private static final int ATTACHER_LOCK_POS = 161;
+
+    /** Header size. */
+    static final int HDR_SIZE = 192;
+
+    /** Number of busy spins before yielding while waiting for the other party. */
+    private static final int SPINS = 1000;
+
+    /** Number of yields before parking while waiting for the other party. */
+    private static final int YIELDS = 100;
+
+    /** Maximum park time while waiting for the other party without a doorbell, in nanoseconds. */
+    private static final long MAX_PARK_NANOS = 100_000;
+
+    /** Token file name. */
+    private final String tokFileName;
+
+    /** Data capacity. */
+    private final int cap;
+
+    /** Mapped buffer. */
+    private final MappedByteBuffer buf;
+
+    /** Address of the mapped buffer. */
+    private final long addr;
+
+    /** Token file, kept open while the buffer is used to hold the lock. */
+    private final RandomAccessFile file;
+
+    /** Lock held by this party. */
+    private final FileLock lock;
+
+    /** Position of the byte locked by the other party. */
+    private final int otherLockPos;
+
+    /** {@code True} if this party reads the buffer, {@code false} if it writes the buffer. */
+    private final boolean reader;
+
+    /** Doorbell to wake up the other party, {@code null} if the buffer is not connected to an endpoint. */
+    private volatile IpcSharedMemoryDoorbell bell;
+
+    /** Last thread of this party waiting for the other one. */
+    private volatile Thread waiter;
+
+    /** Whether the buffer has been released by this party. */
+    private boolean released;
+
+    /**
+     * @param tokFileName Token file name.
+     * @param cap Data capacity.
+     * @param create {@code True} to initialize the file, {@code false} to attach to the initialized one.
+     * @param reader {@code True} if this party reads the buffer.
+     * @throws IgniteCheckedException If failed.
+     */
+    IpcSharedMemoryRingBuffer(String tokFileName, int cap, boolean create, boolean reader)
+        throws IgniteCheckedException {
+        this.tokFileName = tokFileName;
+        this.cap = cap;
+        this.reader = reader;
+
+        RandomAccessFile file = null;
+
+        try {
+            file = new RandomAccessFile(tokFileName, "rw");
+
+            if (create)
+                file.setLength(HDR_SIZE + cap);
+            else if (file.length() < HDR_SIZE + cap)
+                throw new IgniteCheckedException("Shared memory token file has unexpected size [file=" + tokFileName +
+                    ", size=" + file.length() + ", expSize=" + (HDR_SIZE + cap) + ']');
+
+            buf = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HDR_SIZE + cap);
+
+            lock = file.getChannel().lock(create ? CREATOR_LOCK_POS : ATTACHER_LOCK_POS, 1, false);
+        }
+        catch (IOException e) {
+            U.closeQuiet(file);
+
+            throw new IgniteCheckedException("Failed to map shared memory token file: " + tokFileName, e);
+        }
+        catch (IgniteCheckedException e) {
+            U.closeQuiet(file);
+
+            throw e;
+        }
+
+        this.file = file;
+
+        otherLockPos = create ? ATTACHER_LOCK_POS : CREATOR_LOCK_POS;
+
+        addr = GridUnsafe.bufferAddress(buf);
+
+        if (!create)
+            GridUnsafe.putIntVolatile(null, addr + ATTACHED_OFF, 1);
+    }
+
+    /**
+     * Writes all the given bytes, blocking while the buffer is full.
+     *
+     * @param src Source array or {@code null} if {@code srcOff} is an address.
+     * @param srcOff Source offset.
+     * @param len Length.
+     * @param timeout Operation timeout in milliseconds ({@code 0} to wait forever).
+     * @throws IgniteCheckedException If buffer has been closed.
+     * @throws IpcSharedMemoryOperationTimedoutException If operation times out.
+     */
+    void write(Object src, long srcOff, int len, long timeout) throws IgniteCheckedException {
+        long writeCnt = GridUnsafe.getLongVolatile(null, addr + WRITE_CNT_OFF);
+
+        long deadline = timeout == 0 ? 0 : System.nanoTime() + timeout * 1_000_000L;
+
+        int waits = 0;
+
+        while (len > 0) {
+            if (closed())
+                throw new IgniteCheckedException("Shared memory segment has been closed.");
+
+            int free = cap - (int)(writeCnt - GridUnsafe.getLongVolatile(null, addr + READ_CNT_OFF));
+
+            if (free == 0) {
+                waits = await(waits, timeout, deadline);
+
+                continue;
+            }
+
+            waits = 0;
+
+            int cnt = Math.min(free, len);
+
+            copy(src, srcOff, writeCnt, cnt, true);
+
+            writeCnt += cnt;
+            srcOff += cnt;
+            len -= cnt;
+
+            GridUnsafe.putLongVolatile(null, addr + WRITE_CNT_OFF, writeCnt);
+
+            wakeUpOtherParty();
+        }
+    }
+
+    /**
+     * Reads available bytes, blocking until at least 1 byte is available.
+     *
+     * @param dst Destination array or {@code null} if {@code dstOff} is an address.
+     * @param dstOff Destination offset.
+     * @param len Maximum number of bytes to read.
+     * @param timeout Operation timeout in milliseconds ({@code 0} to wait forever).
+     * @return Number of read bytes or {@code -1} if buffer has been closed and there is no more data.
+     * @throws IpcSharedMemoryOperationTimedoutException If operation times out.
+     */
+    int read(Object dst, long dstOff, int len, long timeout) throws IgniteCheckedException {
+        long readCnt = GridUnsafe.getLongVolatile(null, addr + READ_CNT_OFF);
+
+        long deadline = timeout == 0 ? 0 : System.nanoTime() + timeout * 1_000_000L;
+
+        int waits = 0;
+
+        while (true) {
+            // Read closed flag before the counter, so that no data written before close is missed.
+            boolean closed = closed();
+
+            int avail = (int)(GridUnsafe.getLongVolatile(null, addr + WRITE_CNT_OFF) - readCnt);
+
+            if (avail > 0) {
+                int cnt = Math.min(avail, len);
+
+                copy(dst, dstOff, readCnt, cnt, false);
+
+                GridUnsafe.putLongVolatile(null, addr + READ_CNT_OFF, readCnt + cnt);
+
+                wakeUpOtherParty();
+
+                return cnt;
+            }
+
+            if (closed)
+                return -1;
+
+            waits = await(waits, timeout, deadline);
+        }
+    }
+
+    /**
+     * @return Number of bytes available for read.
+     */
+    int unreadCount() {
+        return (int)(GridUnsafe.getLongVolatile(null, addr + WRITE_CNT_OFF) -
+            GridUnsafe.getLongVolatile(null, addr + READ_CNT_OFF));
+    }
+
+    /**
+     * @return {@code True} if either party has closed the buffer.
+     */
+    boolean closed() {
+        return GridUnsafe.getIntVolatile(null, addr + CLOSED_OFF) != 0;
+    }
+
+    /**
+     * Marks buffer as closed for both parties and wakes up the waiting ones.
+     */
+    void close() {
+        GridUnsafe.putIntVolatile(null, addr + CLOSED_OFF, 1);
+
+        wakeUpOtherParty();
+        wakeUp();
+    }
+
+    /**
+     * @param bell Doorbell to wake up the other party.
+     */
+    void doorbell(IpcSharedMemoryDoorbell bell) {
+        this.bell = bell;
+    }
+
+    /**
+     * Unparks the thread of this party waiting for the other one.
+     */
+    void wakeUp() {
+        LockSupport.unpark(waiter);
+    }
+
+    /**
+     * Rings the doorbell if the other party waits for this one. Flag is cleared by this party, so the doorbell
+     * is rung once per wait of the other party.
+     */
+    private void wakeUpOtherParty() {
+        IpcSharedMemoryDoorbell bell = this.bell;
+
+        if (bell == null)
+            return;
+
+        long off = addr + (reader ? WRITER_WAITING_OFF : READER_WAITING_OFF);
+
+        if (GridUnsafe.getIntVolatile(null, off) != 0 && GridUnsafe.compareAndSwapInt(null, off, 1, 0))
+            bell.ring(!reader);
+    }
+
+    /**
+     * Unmaps the buffer. The last party releasing the buffer also removes the token file.
+     *
+     * @param force {@code True} to remove the token file regardless of the other party.
+     */
+    synchronized void release(boolean force) {
+        boolean last = !GridUnsafe.compareAndSwapInt(null, addr + CLOSED_CNT_OFF, 0, 1);
+
+        released = true;
+
+        GridUnsafe.cleanDirectBuffer(buf);
+
+        U.releaseQuiet(lock);
+        U.closeQuiet(file);
+
+        if (last || force)
+            new File(tokFileName).delete();
+    }
+
+    /**
+     * Checks whether the other party still holds the buffer. The party which has not attached to the buffer yet
+     * is considered to be alive.
+     *
+     * @return {@code False} if the other party has released the buffer or its process has died.
+     */
+    synchronized boolean otherPartyAlive() {
+        if (released || GridUnsafe.getIntVolatile(null, addr + ATTACHED_OFF) == 0)
+            return true;
+
+        try {
+            FileLock otherLock = file.getChannel().tryLock(otherLockPos, 1, false);
+
+            if (otherLock == null)
+                return true;
+
+            otherLock.release();
+
+            return false;
+        }
+        catch (OverlappingFileLockException ignored) {
+            // Other party is in this process.
+            return true;
+        }
+        catch (IOException ignored) {
+            return true;
+        }
+    }
+
+    /**
+     * Copies data between the ring and the given memory, wrapping around the end of the ring.
+     *
+     * @param mem Array or {@code null} if {@code memOff} is an address.
+     * @param memOff Offset in the array or address.
+     * @param pos Absolute position in the ring.
+     * @param len Length.
+     * @param toRing {@code True} to copy to the ring, {@code false} to copy from the ring.
+     */
+    private void copy(Object mem, long memOff, long pos, int len, boolean toRing) {
+        int ringOff = (int)(pos % cap);
+
+        int len0 = Math.min(len, cap - ringOff);
+
+        copy0(mem, memOff, addr + HDR_SIZE + ringOff, len0, toRing);
+
+        if (len0 < len)
+            copy0(mem, memOff + len0, addr + HDR_SIZE, len - len0, toRing);
+    }
+
+    /**
+     * @param mem Array or {@code null} if {@code memOff} is an address.
+     * @param memOff Offset in the array or address.
+     * @param ringAddr Ring address.
+     * @param len Length.
+     * @param toRing {@code True} to copy to the ring, {@code false} to copy from the ring.
+     */
+    private static void copy0(Object mem, long memOff, long ringAddr, int len, boolean toRing) {
+        if (toRing) {
+            if (mem == null)
+                GridUnsafe.copyMemory(memOff, ringAddr, len);
+            else
+                GridUnsafe.copyHeapOffheap(mem, memOff, ringAddr, len);
+        }
+        else {
+            if (mem == null)
+                GridUnsafe.copyMemory(ringAddr, memOff, len);
+            else
+                GridUnsafe.copyOffheapHeap(ringAddr, mem, memOff, len);
+        }
+    }
+
+    /**
+     * Waits for the other party: spins first and then yields. After that, if the buffer has a doorbell, sets
+     * the waiting flag of this party, returns to let the caller check the buffer once more and then parks until
+     * the other party rings the doorbell or the operation times out. Without a doorbell parks with growing time.
+     *
+     * @param waits Number of waits done so far.
+     * @param timeout Operation timeout in milliseconds ({@code 0} to wait forever).
+     * @param deadline Deadline in nanoseconds, not used if there is no timeout.
+     * @return Number of waits.
+     * @throws IgniteCheckedException If interrupted.
+     * @throws IpcSharedMemoryOperationTimedoutException If deadline has passed.
+     */
+    private int await(int waits, long timeout, long deadline) throws IgniteCheckedException {
+        if (waits < SPINS)
+            return waits + 1;
+
+        long left = 0;
+
+        if (timeout != 0) {
+            left = deadline - System.nanoTime();
+
+            if (left <= 0)
+                throw new IpcSharedMemoryOperationTimedoutException("Shared memory operation timed out.");
+        }
+
+        if (waits < SPINS + YIELDS) {
+            Thread.yield();
+
+            return waits + 1;
+        }
+
+        IpcSharedMemoryDoorbell bell = this.bell;
+
+        if (bell == null) {
+            long parkNanos = Math.min(MAX_PARK_NANOS, 1_000L * (waits - SPINS - YIELDS + 1));
+
+            LockSupport.parkNanos(this, timeout == 0 ? parkNanos : Math.min(parkNanos, left));
+
+            checkInterrupted();
+
+            // Stop counting once park time has reached its maximum.
+            return parkNanos < MAX_PARK_NANOS ? waits + 1 : waits;
+        }
+
+        if (waits == SPINS + YIELDS) {
+            waiter = Thread.currentThread();
+
+            GridUnsafe.putIntVolatile(null, addr + (reader ? READER_WAITING_OFF : WRITER_WAITING_OFF), 1);
+
+            return waits + 1;
+        }
+
+        // Other party has closed the endpoint or died, no one will ring the doorbell.
+        if (bell.closed())
+            close();
+        else if (timeout == 0)
+            LockSupport.park(this);
+        else
+            LockSupport.parkNanos(this, left);
+
+        checkInterrupted();
+
+        // Set the flag again before the next park, it is cleared by the other party on wake up.
+        return SPINS + YIELDS;
+    }
+
+    /**
+     * @throws IgniteCheckedException If current thread has been interrupted.
+     */
+    private static void checkInterrupted() throws IgniteCheckedException {
+        if (Thread.interrupted())
+            throw new IgniteCheckedException("Thread has been interrupted.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IpcSharedMemoryRingBuffer.class, this);
+    }
+}
@@ -29,6 +29,8 @@ import java.net.Socket;
 import java.nio.channels.FileLock;
 import java.nio.channels.FileLockInterruptionException;
 import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
@@ -84,9 +86,23 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
      */
     public static final String TOKEN_FILE_NAME = "gg-shmem-space-";
 
+    /**
+     * Token file name prefix of spaces backed by memory mapped files.
+     *
+     * Token files are created and stored in the following manner: [tokDirPath]/[nodeId]-[current
+     * PID]/gg-shmem-mmap-[auto_idx]-[other_party_pid]-[size]
+     */
+    public static final String MAPPED_TOKEN_FILE_NAME = "gg-shmem-mmap-";
+
     /** Default lock file name. */
     private static final String LOCK_FILE_NAME = "lock.file";
 
+    /**
+     * Name of the file in the token directory locked by the endpoint while it is running. The lock is released by
+     * the operating system when the process dies, so stale token directories are detected without native library.
+     */
+    private static final String OWNER_LOCK_FILE_NAME = "owner.lock";
+
     /** GC frequency. */
     private static final long GC_FREQ = 10000;
 
@@ -102,6 +118,9 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
     /** Space size. */
     private int size = DFLT_SPACE_SIZE;
 
+    /** Whether spaces are backed by memory mapped files instead of native shared memory segments. */
+    private boolean mapped;
+
     /** Server socket. */
     @GridToStringExclude
     private ServerSocket srvSock;
@@ -131,6 +150,14 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
     /** Pid of the current process. */
     private int pid;
 
+    /** Owner lock file. */
+    @GridToStringExclude
+    private RandomAccessFile ownerLockFile;
+
+    /** Owner lock. */
+    @GridToStringExclude
+    private FileLock ownerLock;
+
     /** Closed flag. */
     private volatile boolean closed;
 
@@ -170,7 +197,8 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
 
     /** {@inheritDoc} */
     @Override public void start() throws IgniteCheckedException {
-        IpcSharedMemoryNativeLoader.load(log);
+        if (!mapped)
+            IpcSharedMemoryNativeLoader.load(log);
 
         pid = IpcSharedMemoryUtils.pid();
 
@@ -192,6 +220,24 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
         if (port <= 0 || port >= 0xffff)
             throw new IpcEndpointBindException("Port value is illegal: " + port);
 
+        try {
+            File tmpFile = new File(tokDir, OWNER_LOCK_FILE_NAME + ".tmp");
+
+            ownerLockFile = new RandomAccessFile(tmpFile, "rw");
+
+            ownerLock = ownerLockFile.getChannel().lock();
+
+            // File appears under its name already locked, so that GC of other processes never sees it unlocked.
+            Files.move(tmpFile.toPath(), new File(tokDir, OWNER_LOCK_FILE_NAME).toPath(),
+                StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            releaseOwnerLock();
+
+            throw new IpcEndpointBindException("Failed to lock shared memory token directory: " +
+                tokDir.getAbsolutePath(), e);
+        }
+
         try {
             srvSock = new ServerSocket();
 
@@ -202,6 +248,8 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
             // Although empty socket constructor never throws exception, close it just in case.
             U.closeQuiet(srvSock);
 
+            releaseOwnerLock();
+
             throw new IpcEndpointBindException("Failed to bind shared memory IPC endpoint (is port already " +
                 "in use?): " + port, e);
         }
@@ -212,7 +260,7 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
 
         if (log.isInfoEnabled())
             log.info("IPC shared memory server endpoint started [port=" + port +
-                ", tokDir=" + tokDir.getAbsolutePath() + ']');
+                ", tokDir=" + tokDir.getAbsolutePath() + ", mapped=" + mapped + ']');
     }
 
     /** {@inheritDoc} */
@@ -223,6 +271,8 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
 
             boolean accepted = false;
 
+            IpcSharedMemoryDoorbell bell = null;
+
             try {
                 sock = srvSock.accept();
 
@@ -266,6 +316,7 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                         pid,
                         size,
                         true,
+                        mapped,
                         log);
 
                     outSpace = new IpcSharedMemorySpace(
@@ -274,16 +325,24 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                         req.pid(),
                         size,
                         false,
-                        log);
-
-                    IpcSharedMemoryClientEndpoint ret = new IpcSharedMemoryClientEndpoint(inSpace, outSpace,
+                        mapped,
                         log);
 
                     out.writeObject(new IpcSharedMemoryInitResponse(file2, outSpace.sharedMemoryId(),
                         file1, inSpace.sharedMemoryId(), pid, size));
 
+                    // Handshake socket of memory mapped spaces is kept open to wake up the other party.
+                    IpcSharedMemoryDoorbell bell0 = mapped ?
+                        new IpcSharedMemoryDoorbell(sock, inSpace, outSpace, log) : null;
+
                     err = !in.readBoolean();
 
+                    if (!err)
+                        bell = bell0;
+
+                    IpcSharedMemoryClientEndpoint ret = new IpcSharedMemoryClientEndpoint(inSpace, outSpace, bell,
+                        log);
+
                     endpoints.add(ret);
 
                     return ret;
@@ -338,7 +397,8 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                     LT.error(log, null, "Failed to process incoming shared memory connection: " + e.getMessage());
             }
             finally {
-                U.closeQuiet(sock);
+                if (bell == null)
+                    U.closeQuiet(sock);
             }
         } // while
 
@@ -383,13 +443,15 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
      * @return Token pair.
      */
     private IgnitePair<String> inOutToken(int pid, int size) {
+        String prefix = mapped ? MAPPED_TOKEN_FILE_NAME : TOKEN_FILE_NAME;
+
         while (true) {
             long idx = tokIdxGen.get();
 
             if (tokIdxGen.compareAndSet(idx, idx + 2))
                 return new IgnitePair<>(
-                    new File(tokDir, TOKEN_FILE_NAME + idx + "-" + pid + "-" + size).getAbsolutePath(),
-                    new File(tokDir, TOKEN_FILE_NAME + (idx + 1) + "-" + pid + "-" + size).getAbsolutePath()
+                    new File(tokDir, prefix + idx + "-" + pid + "-" + size).getAbsolutePath(),
+                    new File(tokDir, prefix + (idx + 1) + "-" + pid + "-" + size).getAbsolutePath()
                 );
         }
     }
@@ -458,6 +520,26 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
         this.size = size;
     }
 
+    /**
+     * Gets whether shared memory spaces are backed by memory mapped token files instead of native
+     * shared memory segments. Memory mapped spaces do not require native library.
+     *
+     * @return Whether shared memory spaces are memory mapped.
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * Sets whether shared memory spaces are backed by memory mapped token files instead of native
+     * shared memory segments. Memory mapped spaces do not require native library.
+     *
+     * @param mapped Whether shared memory spaces are memory mapped.
+     */
+    public void setMapped(boolean mapped) {
+        this.mapped = mapped;
+    }
+
     /** {@inheritDoc} */
     @Override public void close() {
         closed = true;
@@ -482,6 +564,19 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                     Thread.currentThread().interrupt();
             }
         }
+
+        releaseOwnerLock();
+    }
+
+    /**
+     * Releases lock of the token directory.
+     */
+    private void releaseOwnerLock() {
+        U.releaseQuiet(ownerLock);
+        U.closeQuiet(ownerLockFile);
+
+        ownerLock = null;
+        ownerLockFile = null;
     }
 
     /** {@inheritDoc} */
@@ -517,6 +612,10 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                         setTokenDirectoryPath(e.getValue());
                         break;
 
+                    case "mapped":
+                        setMapped(Boolean.parseBoolean(e.getValue()));
+                        break;
+
                     default:
                         throw new IgniteCheckedException("Invalid property '" + e.getKey() + "' of " + getClass().getSimpleName());
                 }
@@ -672,7 +771,7 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                 }
 
                 // Is process alive?
-                if (IpcSharedMemoryUtils.alive(pid)) {
+                if (alive(f, pid)) {
                     if (log.isDebugEnabled())
                         log.debug("Skipping alive node: " + pid);
 
@@ -701,7 +800,14 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                                 log.debug("Unexpected directory: " + f0.getName());
                         }
 
-                        // Token file format: gg-shmem-space-[auto_idx]-[other_party_pid]-[size]
+                        if (f0.getName().startsWith(OWNER_LOCK_FILE_NAME)) {
+                            if (f0.delete() || !f0.exists())
+                                rmvCnt++;
+
+                            continue;
+                        }
+
+                        // Token file format: gg-shmem-(space|mmap)-[auto_idx]-[other_party_pid]-[size]
                         String[] toks = f0.getName().split("-");
 
                         if (toks.length != 6) {
@@ -725,7 +831,19 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                             continue;
                         }
 
-                        if (IpcSharedMemoryUtils.alive(pid0)) {
+                        boolean mappedTok = f0.getName().startsWith(MAPPED_TOKEN_FILE_NAME);
+
+                        // Native segments can not be freed without native library.
+                        if (mapped && !mappedTok) {
+                            if (log.isDebugEnabled())
+                                log.debug("Skipping native token file: " + f0.getName());
+
+                            continue;
+                        }
+
+                        // Other party of a memory mapped space detects the owner death by the lock of the space,
+                        // and unlinking the file does not affect its mapping.
+                        if (!mappedTok && IpcSharedMemoryUtils.alive(pid0)) {
                             if (log.isDebugEnabled())
                                 log.debug("Skipping alive process: " + pid0);
 
@@ -735,7 +853,8 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                         if (log.isDebugEnabled())
                             log.debug("Possibly stale token file: " + f0);
 
-                        IpcSharedMemoryUtils.freeSystemResources(f0.getAbsolutePath(), size);
+                        if (!mappedTok)
+                            IpcSharedMemoryUtils.freeSystemResources(f0.getAbsolutePath(), size);
 
                         if (f0.delete()) {
                             if (log.isDebugEnabled())
@@ -764,5 +883,27 @@ public class IpcSharedMemoryServerEndpoint implements IpcServerEndpoint {
                 }
             }
         }
+
+        /**
+         * Checks whether the endpoint owning the token directory is alive. Directories of the endpoints started by
+         * this process are never checked by the lock, since closing a channel releases all locks of the process
+         * on the file.
+         *
+         * @param dir Token directory.
+         * @param pid PID of the process which created the directory.
+         * @return {@code True} if owner of the token directory is alive.
+         */
+        private boolean alive(File dir, int pid) {
+            if (pid == IpcSharedMemoryServerEndpoint.this.pid)
+                return true;
+
+            File ownerLockFile = new File(dir, OWNER_LOCK_FILE_NAME);
+
+            if (ownerLockFile.exists())
+                return IpcSharedMemoryUtils.locked(ownerLockFile);
+
+            // Directory created by an endpoint of older version, process can be checked only by native library.
+            return mapped || IpcSharedMemoryUtils.alive(pid);
+        }
     }
 }
\ No newline at end of file
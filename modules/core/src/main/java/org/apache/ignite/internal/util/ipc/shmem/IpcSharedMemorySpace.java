@@ -23,6 +23,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.typedef.internal.S;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_IPC_SHMEM_SPACE_DEBUG;
@@ -34,6 +35,9 @@ public class IpcSharedMemorySpace implements Closeable {
     /** Debug flag (enable for testing). */
     private static final boolean DEBUG = Boolean.getBoolean(IGNITE_IPC_SHMEM_SPACE_DEBUG);
 
+    /** Shared memory ID of the space backed by a memory mapped file instead of a native segment. */
+    public static final int MAPPED_SHMEM_ID = -1;
+
     /** Shared memory segment size (operable). */
     private final int opSize;
 
@@ -67,6 +71,9 @@ public class IpcSharedMemorySpace implements Closeable {
     /** */
     private final IgniteLogger log;
 
+    /** Ring buffer in a memory mapped file, {@code null} if space is backed by a native segment. */
+    private final IpcSharedMemoryRingBuffer ring;
+
     /**
      * This will allocate system resources for the space.
      *
@@ -80,16 +87,44 @@ public class IpcSharedMemorySpace implements Closeable {
      */
     public IpcSharedMemorySpace(String tokFileName, int writerPid, int readerPid, int size, boolean reader,
                                 IgniteLogger parent) throws IgniteCheckedException {
+        this(tokFileName, writerPid, readerPid, size, reader, false, parent);
+    }
+
+    /**
+     * This will allocate system resources for the space.
+     *
+     * @param tokFileName Token filename.
+     * @param writerPid Writer PID.
+     * @param readerPid Reader PID.
+     * @param size Size in bytes.
+     * @param reader {@code True} if reader.
+     * @param mapped {@code True} to back the space by the memory mapped token file instead of a native segment.
+     * @param parent Parent logger.
+     * @throws IgniteCheckedException If failed.
+     */
+    public IpcSharedMemorySpace(String tokFileName, int writerPid, int readerPid, int size, boolean reader,
+        boolean mapped, IgniteLogger parent) throws IgniteCheckedException {
         assert size > 0 : "Size cannot be less than 1 byte";
 
         log = parent.getLogger(IpcSharedMemorySpace.class);
 
         opSize = size;
 
-        shmemPtr = IpcSharedMemoryUtils.allocateSystemResources(tokFileName, size, DEBUG && log.isDebugEnabled());
+        if (mapped) {
+            ring = new IpcSharedMemoryRingBuffer(tokFileName, size, true, reader);
 
-        shmemId = IpcSharedMemoryUtils.sharedMemoryId(shmemPtr);
-        semId = IpcSharedMemoryUtils.semaphoreId(shmemPtr);
+            shmemPtr = 0;
+            shmemId = MAPPED_SHMEM_ID;
+            semId = -1;
+        }
+        else {
+            ring = null;
+
+            shmemPtr = IpcSharedMemoryUtils.allocateSystemResources(tokFileName, size, DEBUG && log.isDebugEnabled());
+
+            shmemId = IpcSharedMemoryUtils.sharedMemoryId(shmemPtr);
+            semId = IpcSharedMemoryUtils.semaphoreId(shmemPtr);
+        }
 
         isReader = reader;
 
@@ -109,7 +144,7 @@ public class IpcSharedMemorySpace implements Closeable {
      * @param readerPid Reader PID.
      * @param size Size.
      * @param reader Reader flag.
-     * @param shmemId Shared memory ID.
+     * @param shmemId Shared memory ID or {@link #MAPPED_SHMEM_ID} to attach to the memory mapped token file.
      * @param parent Logger.
      * @throws IgniteCheckedException If failed.
      */
@@ -126,9 +161,19 @@ public class IpcSharedMemorySpace implements Closeable {
         this.readerPid = readerPid;
         this.tokFileName = tokFileName;
 
-        shmemPtr = IpcSharedMemoryUtils.attach(shmemId, DEBUG && log.isDebugEnabled());
+        if (shmemId == MAPPED_SHMEM_ID) {
+            ring = new IpcSharedMemoryRingBuffer(tokFileName, size, false, reader);
 
-        semId = IpcSharedMemoryUtils.semaphoreId(shmemPtr);
+            shmemPtr = 0;
+            semId = -1;
+        }
+        else {
+            ring = null;
+
+            shmemPtr = IpcSharedMemoryUtils.attach(shmemId, DEBUG && log.isDebugEnabled());
+
+            semId = IpcSharedMemoryUtils.semaphoreId(shmemPtr);
+        }
     }
 
     /**
@@ -154,7 +199,10 @@ public class IpcSharedMemorySpace implements Closeable {
             if (closed.get())
                 throw new IgniteCheckedException("Shared memory segment has been closed: " + this);
 
-            IpcSharedMemoryUtils.writeSharedMemory(shmemPtr, buf, off, len, timeout);
+            if (ring != null)
+                ring.write(buf, GridUnsafe.BYTE_ARR_OFF + off, len, timeout);
+            else
+                IpcSharedMemoryUtils.writeSharedMemory(shmemPtr, buf, off, len, timeout);
         }
         finally {
             lock.readLock().unlock();
@@ -183,7 +231,14 @@ public class IpcSharedMemorySpace implements Closeable {
             if (closed.get())
                 throw new IgniteCheckedException("Shared memory segment has been closed: " + this);
 
-            IpcSharedMemoryUtils.writeSharedMemoryByteBuffer(shmemPtr, buf, off, len, timeout);
+            if (ring != null) {
+                if (buf.isDirect())
+                    ring.write(null, GridUnsafe.bufferAddress(buf) + off, len, timeout);
+                else
+                    ring.write(buf.array(), GridUnsafe.BYTE_ARR_OFF + buf.arrayOffset() + off, len, timeout);
+            }
+            else
+                IpcSharedMemoryUtils.writeSharedMemoryByteBuffer(shmemPtr, buf, off, len, timeout);
         }
         finally {
             lock.readLock().unlock();
@@ -215,6 +270,9 @@ public class IpcSharedMemorySpace implements Closeable {
             if (closed.get())
                 throw new IgniteCheckedException("Shared memory segment has been closed: " + this);
 
+            if (ring != null)
+                return ring.read(buf, GridUnsafe.BYTE_ARR_OFF + off, len, timeout);
+
             return (int) IpcSharedMemoryUtils.readSharedMemory(shmemPtr, buf, off, len, timeout);
         }
         finally {
@@ -246,6 +304,13 @@ public class IpcSharedMemorySpace implements Closeable {
             if (closed.get())
                 throw new IgniteCheckedException("Shared memory segment has been closed: " + this);
 
+            if (ring != null) {
+                if (buf.isDirect())
+                    return ring.read(null, GridUnsafe.bufferAddress(buf) + off, len, timeout);
+
+                return ring.read(buf.array(), GridUnsafe.BYTE_ARR_OFF + buf.arrayOffset() + off, len, timeout);
+            }
+
             return (int) IpcSharedMemoryUtils.readSharedMemoryByteBuffer(shmemPtr, buf, off, len, timeout);
         }
         finally {
@@ -269,6 +334,46 @@ public class IpcSharedMemorySpace implements Closeable {
         close0(true);
     }
 
+    /**
+     * @return {@code True} if space is backed by a memory mapped file instead of a native segment.
+     */
+    public boolean mapped() {
+        return ring != null;
+    }
+
+    /**
+     * @return Ring buffer of the space backed by a memory mapped file or {@code null} for a native segment.
+     */
+    IpcSharedMemoryRingBuffer ring() {
+        return ring;
+    }
+
+    /**
+     * @return {@code True} if space has been closed by this party.
+     */
+    public boolean closed() {
+        return closed.get();
+    }
+
+    /**
+     * Checks whether the other party of the memory mapped space still holds it. Unlike PID based check,
+     * this check does not depend on the platform.
+     *
+     * @return {@code False} if the other party has released the space or its process has died.
+     */
+    public boolean otherPartyAlive() {
+        assert ring != null;
+
+        lock.readLock().lock();
+
+        try {
+            return closed.get() || ring.otherPartyAlive();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /**
      * @return Shared memory ID.
      */
@@ -290,13 +395,19 @@ public class IpcSharedMemorySpace implements Closeable {
         if (!closed.compareAndSet(false, true))
             return;
 
-        IpcSharedMemoryUtils.ipcClose(shmemPtr);
+        if (ring != null)
+            ring.close();
+        else
+            IpcSharedMemoryUtils.ipcClose(shmemPtr);
 
         // Wait all readers and writes to leave critical section.
         lock.writeLock().lock();
 
         try {
-            IpcSharedMemoryUtils.freeSystemResources(tokFileName, shmemPtr, force);
+            if (ring != null)
+                ring.release(force);
+            else
+                IpcSharedMemoryUtils.freeSystemResources(tokFileName, shmemPtr, force);
         }
         finally {
             lock.writeLock().unlock();
@@ -317,7 +428,7 @@ public class IpcSharedMemorySpace implements Closeable {
             if (closed.get())
                 throw new IgniteCheckedException("Shared memory segment has been closed: " + this);
 
-            return IpcSharedMemoryUtils.unreadCount(shmemPtr);
+            return ring != null ? ring.unreadCount() : IpcSharedMemoryUtils.unreadCount(shmemPtr);
         }
         finally {
             lock.readLock().unlock();
@@ -17,10 +17,14 @@
 package org.apache.ignite.internal.util.ipc.shmem;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.lang.management.ManagementFactory;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
 import java.util.ArrayList;
 import java.util.Collection;
 import org.apache.ignite.IgniteCheckedException;
@@ -166,6 +170,34 @@ public class IpcSharedMemoryUtils {
      */
     static native boolean alive(int pid);
 
+    /**
+     * Checks whether the given file is locked by another process. The lock is released by the operating system
+     * when the process holding it dies, so this check does not need the native library and works on any platform.
+     * Must not be used for files locked by the current process, since closing a channel may release all locks
+     * held by the process on the file.
+     *
+     * @param file Existing file to check.
+     * @return {@code True} if file is locked or lock state can not be determined.
+     */
+    static boolean locked(File file) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileLock lock = raf.getChannel().tryLock();
+
+            if (lock == null)
+                return true;
+
+            lock.release();
+
+            return false;
+        }
+        catch (OverlappingFileLockException ignored) {
+            return true;
+        }
+        catch (IOException ignored) {
+            return true;
+        }
+    }
+
     /**
      * Returns shared memory ids for Mac OS and Linux platforms.
      *
@@ -0,0 +1,550 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.nio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.CommunicationCompression;
+import org.apache.ignite.internal.managers.communication.GridIoMessage;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgniteInClosure;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageFactory;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.apache.ignite.spi.communication.tcp.messages.CompressedMessage;
+
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.makeMessageType;
+
+/**
+ * Filter which compresses {@link GridIoMessage}s sent to nodes supporting the same compression algorithm and
+ * decompresses received {@link CompressedMessage}s.
+ * <p>
+ * A message is serialized and compressed as a whole and sent as {@link CompressedMessage}. Compression is
+ * decided per type of the message held by {@link GridIoMessage}: if serialized message of some type is less
+ * than the threshold or does not compress well, messages of this type are sent as is for a number of times
+ * growing exponentially while compression of the type stays useless.
+ */
+public class GridNioCompressionFilter extends GridNioFilterAdapter {
+    /** Session metadata key for compression statistics. */
+    public static final int COMPRESSION_STATS_META_KEY = GridNioSessionMetaKey.nextUniqueKey();
+
+    /** Messages of a type are not compressed this number of times after the first useless compression. */
+    private static final int MIN_SKIP = 16;
+
+    /** Max number of times messages of a type are not compressed after useless compression. */
+    private static final int MAX_SKIP = 4096;
+
+    /** Compression is useless if compressed message is larger than this part of serialized message. */
+    private static final double MAX_RATIO = 0.9;
+
+    /** Size of the buffer used for serialization. */
+    private static final int CHUNK_SIZE = 32 * 1024;
+
+    /** Max size of serialized message buffer retained by a thread. */
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    /** Serialization buffer. */
+    private static final ThreadLocal<ByteBuffer> chunk =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+    /** Serialized message. */
+    private static final ThreadLocal<byte[]> serBuf = new ThreadLocal<>();
+
+    /** Grid logger. */
+    @GridToStringExclude
+    private final IgniteLogger log;
+
+    /** Compression processor. */
+    @GridToStringExclude
+    private final CompressionProcessor compressor;
+
+    /** Compression algorithm. */
+    private final CommunicationCompression compression;
+
+    /** Compression level. */
+    private final int level;
+
+    /** Min size of serialized message to compress. */
+    private final int threshold;
+
+    /** Message writer factory. */
+    @GridToStringExclude
+    private final GridNioMessageWriterFactory writerFactory;
+
+    /** Message reader factory. */
+    @GridToStringExclude
+    private final GridNioMessageReaderFactory readerFactory;
+
+    /** Message factory. */
+    @GridToStringExclude
+    private final MessageFactory msgFactory;
+
+    /**
+     * Checks if remote side of the session supports compression, returns {@code null} if it is not known yet.
+     */
+    @GridToStringExclude
+    private final IgniteClosure<GridNioSession, Boolean> rmtSupported;
+
+    /** Compression policies by message type. */
+    @GridToStringExclude
+    private final ConcurrentMap<Short, TypePolicy> policies = new ConcurrentHashMap<>();
+
+    /** Number of compressed messages. */
+    private final LongAdder compressedMsgs = new LongAdder();
+
+    /** Number of bytes saved by compression. */
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /** Time spent on compression in nanoseconds. */
+    private final LongAdder compressTime = new LongAdder();
+
+    /** Time spent on decompression in nanoseconds. */
+    private final LongAdder decompressTime = new LongAdder();
+
+    /**
+     * @param log Log instance to use.
+     * @param compressor Compression processor.
+     * @param compression Compression algorithm.
+     * @param level Compression level.
+     * @param threshold Min size of serialized message to compress.
+     * @param writerFactory Message writer factory.
+     * @param readerFactory Message reader factory.
+     * @param msgFactory Message factory.
+     * @param rmtSupported Checks if remote side of the session supports compression, returns {@code null}
+     *      if it is not known yet.
+     */
+    public GridNioCompressionFilter(
+        IgniteLogger log,
+        CompressionProcessor compressor,
+        CommunicationCompression compression,
+        int level,
+        int threshold,
+        GridNioMessageWriterFactory writerFactory,
+        GridNioMessageReaderFactory readerFactory,
+        MessageFactory msgFactory,
+        IgniteClosure<GridNioSession, Boolean> rmtSupported
+    ) {
+        super("GridNioCompressionFilter");
+
+        assert compression != null && compression != CommunicationCompression.DISABLED : compression;
+
+        this.log = log;
+        this.compressor = compressor;
+        this.compression = compression;
+        this.level = level;
+        this.threshold = threshold;
+        this.writerFactory = writerFactory;
+        this.readerFactory = readerFactory;
+        this.msgFactory = msgFactory;
+        this.rmtSupported = rmtSupported;
+    }
+
+    /**
+     * @return Number of compressed messages.
+     */
+    public long compressedMessages() {
+        return compressedMsgs.sum();
+    }
+
+    /**
+     * @return Number of bytes saved by compression.
+     */
+    public long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * @return Time spent on compression in nanoseconds.
+     */
+    public long compressionTime() {
+        return compressTime.sum();
+    }
+
+    /**
+     * @return Time spent on decompression in nanoseconds.
+     */
+    public long decompressionTime() {
+        return decompressTime.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNioCompressionFilter.class, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionOpened(GridNioSession ses) throws IgniteCheckedException {
+        ses.addMeta(COMPRESSION_STATS_META_KEY, new CompressionStats());
+
+        proceedSessionOpened(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionClosed(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionClosed(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onExceptionCaught(
+        GridNioSession ses,
+        IgniteCheckedException ex
+    ) throws IgniteCheckedException {
+        proceedExceptionCaught(ses, ex);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<?> onSessionWrite(
+        GridNioSession ses,
+        Object msg,
+        boolean fut,
+        IgniteInClosure<IgniteException> ackC
+    ) throws IgniteCheckedException {
+        if (msg instanceof GridIoMessage) {
+            CompressedMessage compressed = compress(ses, (GridIoMessage)msg);
+
+            if (compressed != null)
+                msg = compressed;
+        }
+
+        return proceedSessionWrite(ses, msg, fut, ackC);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMessageReceived(GridNioSession ses, Object msg) throws IgniteCheckedException {
+        if (msg instanceof CompressedMessage)
+            msg = decompress(ses, (CompressedMessage)msg);
+
+        proceedMessageReceived(ses, msg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<Boolean> onSessionClose(GridNioSession ses) throws IgniteCheckedException {
+        return proceedSessionClose(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionIdleTimeout(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionIdleTimeout(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionWriteTimeout(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionWriteTimeout(ses);
+    }
+
+    /**
+     * @param ses Session.
+     * @param msg Message.
+     * @return Compressed message or {@code null} if message should be sent as is.
+     * @throws IgniteCheckedException If failed.
+     */
+    private CompressedMessage compress(GridNioSession ses, GridIoMessage msg) throws IgniteCheckedException {
+        CompressionStats stats = ses.meta(COMPRESSION_STATS_META_KEY);
+
+        if (stats == null)
+            return null;
+
+        Boolean enabled = stats.enabled;
+
+        if (enabled == null) {
+            enabled = rmtSupported.apply(ses);
+
+            if (enabled == null)
+                return null;
+
+            stats.enabled = enabled;
+        }
+
+        if (!enabled || msg.message() == null)
+            return null;
+
+        TypePolicy plc = policies.computeIfAbsent(msg.message().directType(), t -> new TypePolicy());
+
+        if (!plc.tryCompress())
+            return null;
+
+        long start = System.nanoTime();
+
+        int len = serialize(ses, msg);
+
+        byte[] data = len >= threshold ? compressor.compressMessage(serBuf.get(), len, compression, level) : null;
+
+        releaseSerializationBuffer();
+
+        long time = System.nanoTime() - start;
+
+        stats.compressTime.add(time);
+        compressTime.add(time);
+
+        if (data == null || data.length > len * MAX_RATIO) {
+            plc.onUseless();
+
+            return null;
+        }
+
+        plc.onUseful();
+
+        stats.compressedMsgs.increment();
+        stats.rawBytes.add(len);
+        stats.compressedBytes.add(data.length);
+
+        compressedMsgs.increment();
+        bytesSaved.add(len - data.length);
+
+        return new CompressedMessage(msg, compression, len, data);
+    }
+
+    /**
+     * Serializes the message to the thread local buffer.
+     *
+     * @param ses Session.
+     * @param msg Message.
+     * @return Size of serialized message.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int serialize(GridNioSession ses, Message msg) throws IgniteCheckedException {
+        MessageWriter writer = writerFactory.writer(ses);
+
+        ByteBuffer buf = chunk.get();
+
+        byte[] arr = serBuf.get();
+
+        if (arr == null)
+            arr = new byte[CHUNK_SIZE];
+
+        int len = 0;
+
+        boolean finished;
+
+        do {
+            buf.clear();
+
+            if (writer != null)
+                writer.setCurrentWriteClass(msg.getClass());
+
+            finished = msg.writeTo(buf, writer);
+
+            buf.flip();
+
+            int n = buf.remaining();
+
+            if (len + n > arr.length)
+                arr = Arrays.copyOf(arr, Math.max(arr.length * 2, len + n));
+
+            buf.get(arr, len, n);
+
+            len += n;
+        }
+        while (!finished);
+
+        serBuf.set(arr);
+
+        return len;
+    }
+
+    /**
+     * Drops serialization buffer of the current thread if it is too large to be retained.
+     */
+    private static void releaseSerializationBuffer() {
+        byte[] arr = serBuf.get();
+
+        if (arr != null && arr.length > MAX_RETAINED_SIZE)
+            serBuf.remove();
+    }
+
+    /**
+     * @param ses Session.
+     * @param msg Compressed message.
+     * @return Original message.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Message decompress(GridNioSession ses, CompressedMessage msg) throws IgniteCheckedException {
+        CommunicationCompression msgCompression = msg.compression();
+
+        if (msgCompression == null || msgCompression == CommunicationCompression.DISABLED)
+            throw new IgniteCheckedException("Unsupported compression of received message: " + msg);
+
+        long start = System.nanoTime();
+
+        byte[] raw = new byte[msg.rawSize()];
+
+        compressor.decompressMessage(msg.data(), raw, msgCompression);
+
+        ByteBuffer buf = ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buf.remaining() < Message.DIRECT_TYPE_SIZE)
+            throw new IgniteCheckedException("Failed to read decompressed message: " + msg);
+
+        byte b0 = buf.get();
+        byte b1 = buf.get();
+
+        short type = makeMessageType(b0, b1);
+
+        Message res = msgFactory.create(type);
+
+        if (res == null)
+            throw new IgniteCheckedException("Failed to create decompressed message [type=" + type + ']');
+
+        MessageReader reader = readerFactory.reader(ses, msgFactory);
+
+        if (reader != null)
+            reader.setCurrentReadClass(res.getClass());
+
+        if (!res.readFrom(buf, reader) || buf.hasRemaining()) {
+            throw new IgniteCheckedException("Failed to read decompressed message [msg=" + res +
+                ", remaining=" + buf.remaining() + ']');
+        }
+
+        long time = System.nanoTime() - start;
+
+        CompressionStats stats = ses.meta(COMPRESSION_STATS_META_KEY);
+
+        if (stats != null) {
+            stats.decompressedMsgs.increment();
+            stats.decompressTime.add(time);
+        }
+
+        decompressTime.add(time);
+
+        if (log.isTraceEnabled())
+            log.trace("Decompressed message [ses=" + ses + ", msg=" + res + ']');
+
+        return res;
+    }
+
+    /**
+     * Compression policy of a message type.
+     */
+    private static class TypePolicy {
+        /** Number of messages not to compress after the last useless compression. */
+        private int skip;
+
+        /** Number of messages left to skip. */
+        private int left;
+
+        /**
+         * @return {@code True} if message should be compressed.
+         */
+        synchronized boolean tryCompress() {
+            if (left == 0)
+                return true;
+
+            left--;
+
+            return false;
+        }
+
+        /**
+         * Called when compression of a message saved enough.
+         */
+        synchronized void onUseful() {
+            skip = 0;
+        }
+
+        /**
+         * Called when message is too small or compression of the message saved too little.
+         */
+        synchronized void onUseless() {
+            skip = skip == 0 ? MIN_SKIP : Math.min(skip * 2, MAX_SKIP);
+
+            left = skip;
+        }
+    }
+
+    /**
+     * Compression statistics of a session.
+     */
+    public static class CompressionStats {
+        /** Whether messages are compressed, {@code null} if not known yet. */
+        private volatile Boolean enabled;
+
+        /** Number of compressed messages. */
+        private final LongAdder compressedMsgs = new LongAdder();
+
+        /** Size of serialized compressed messages. */
+        private final LongAdder rawBytes = new LongAdder();
+
+        /** Size of compressed messages. */
+        private final LongAdder compressedBytes = new LongAdder();
+
+        /** Time spent on compression in nanoseconds. */
+        private final LongAdder compressTime = new LongAdder();
+
+        /** Number of decompressed messages. */
+        private final LongAdder decompressedMsgs = new LongAdder();
+
+        /** Time spent on decompression in nanoseconds. */
+        private final LongAdder decompressTime = new LongAdder();
+
+        /**
+         * @return Number of compressed messages.
+         */
+        public long compressedMessages() {
+            return compressedMsgs.sum();
+        }
+
+        /**
+         * @return Number of bytes saved by compression.
+         */
+        public long bytesSaved() {
+            return rawBytes.sum() - compressedBytes.sum();
+        }
+
+        /**
+         * @return Time spent on compression in nanoseconds.
+         */
+        public long compressionTime() {
+            return compressTime.sum();
+        }
+
+        /**
+         * @return Number of decompressed messages.
+         */
+        public long decompressedMessages() {
+            return decompressedMsgs.sum();
+        }
+
+        /**
+         * @return Time spent on decompression in nanoseconds.
+         */
+        public long decompressionTime() {
+            return decompressTime.sum();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return "[enabled=" + enabled +
+                ", compressedMsgs=" + compressedMsgs.sum() +
+                ", rawBytes=" + rawBytes.sum() +
+                ", compressedBytes=" + compressedBytes.sum() +
+                ", compressTime=" + compressTime.sum() +
+                ", decompressedMsgs=" + decompressedMsgs.sum() +
+                ", decompressTime=" + decompressTime.sum() + ']';
+        }
+    }
+}
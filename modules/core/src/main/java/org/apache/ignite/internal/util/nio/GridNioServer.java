@@ -140,6 +140,13 @@ public class GridNioServer<T> {
     private static final boolean DISABLE_KEYSET_OPTIMIZATION =
         IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_NO_SELECTOR_OPTS);
 
+    /**
+     * Maximum number of session buffers read or written for a message in progress per selection of a key.
+     * Large messages are streamed through the session buffers without returning to the selector for each buffer,
+     * the limit keeps other sessions of the worker served while a large message is transferred.
+     */
+    private static final int MAX_BUFFER_ROUNDS = 16;
+
     /** */
     public static final String OUTBOUND_MESSAGES_QUEUE_SIZE_METRIC_NAME = "outboundMessagesQueueSize";
 
@@ -269,6 +276,9 @@ public class GridNioServer<T> {
     /** Optional listener to monitor outbound message queue size. */
     private IgniteBiInClosure<GridNioSession, Integer> msgQueueLsnr;
 
+    /** Optional listener notified with time in nanoseconds a message spent in the write queue. */
+    private IgniteBiInClosure<Message, Long> writeQueueWaitLsnr;
+
     /** */
     private final AtomicLong readerMoveCnt = new AtomicLong();
 
@@ -309,6 +319,7 @@ public class GridNioServer<T> {
      * @param writerFactory Writer factory.
      * @param skipRecoveryPred Skip recovery predicate.
      * @param msgQueueLsnr Message queue size listener.
+     * @param writeQueueWaitLsnr Write queue wait time listener.
      * @param readWriteSelectorsAssign If {@code true} then in/out connections are assigned to even/odd workers.
      * @param workerLsnr Worker lifecycle listener.
      * @param mreg Metrics registry.
@@ -335,6 +346,7 @@ public class GridNioServer<T> {
         GridNioMessageWriterFactory writerFactory,
         IgnitePredicate<Message> skipRecoveryPred,
         IgniteBiInClosure<GridNioSession, Integer> msgQueueLsnr,
+        IgniteBiInClosure<Message, Long> writeQueueWaitLsnr,
         boolean readWriteSelectorsAssign,
         @Nullable GridWorkerListener workerLsnr,
         @Nullable MetricRegistry mreg,
@@ -362,6 +374,7 @@ public class GridNioServer<T> {
         this.sockSndBuf = sockSndBuf;
         this.sndQueueLimit = sndQueueLimit;
         this.msgQueueLsnr = msgQueueLsnr;
+        this.writeQueueWaitLsnr = writeQueueWaitLsnr;
         this.selectorSpins = selectorSpins;
         this.readWriteSelectorsAssign = readWriteSelectorsAssign;
         this.lsnr = lsnr;
@@ -637,6 +650,9 @@ public class GridNioServer<T> {
         assert ses != null;
         assert req != null;
 
+        if (writeQueueWaitLsnr != null)
+            req.enqueueTime(System.nanoTime());
+
         int msgCnt = sys ? ses.offerSystemFuture(req) : ses.offerFuture(req);
 
         if (ses.closed()) {
@@ -1328,50 +1344,65 @@ public class GridNioServer<T> {
 
             ByteBuffer readBuf = ses.readBuffer();
 
-            // Attempt to read off the channel.
-            int cnt = sockCh.read(readBuf);
+            for (int rounds = 1; ; rounds++) {
+                // Reads could be paused while the previous buffer was processed, pause request is applied
+                // by this worker only after the key is released.
+                if (ses.readsPaused() || (rounds > 1 && hasChangeRequests()))
+                    return;
 
-            if (cnt == -1) {
-                if (log.isDebugEnabled())
-                    log.debug("Remote client closed connection: " + ses);
+                // Attempt to read off the channel.
+                int cnt = sockCh.read(readBuf);
 
-                close(ses, null);
+                if (cnt == -1) {
+                    if (log.isDebugEnabled())
+                        log.debug("Remote client closed connection: " + ses);
 
-                return;
-            }
+                    close(ses, null);
 
-            if (log.isTraceEnabled())
-                log.trace("Bytes received [sockCh=" + sockCh + ", cnt=" + cnt + ']');
+                    return;
+                }
 
-            if (cnt == 0)
-                return;
+                if (log.isTraceEnabled())
+                    log.trace("Bytes received [sockCh=" + sockCh + ", cnt=" + cnt + ']');
 
-            if (rcvdBytesCntMetric != null)
-                rcvdBytesCntMetric.add(cnt);
+                if (cnt == 0)
+                    return;
 
-            ses.bytesReceived(cnt);
-            onRead(cnt);
+                if (rcvdBytesCntMetric != null)
+                    rcvdBytesCntMetric.add(cnt);
 
-            readBuf.flip();
+                ses.bytesReceived(cnt);
+                onRead(cnt);
 
-            assert readBuf.hasRemaining();
+                // Channel has filled up the whole buffer, most likely there is more data of a large message.
+                boolean full = !readBuf.hasRemaining();
 
-            try {
-                filterChain.onMessageReceived(ses, readBuf);
+                readBuf.flip();
 
-                if (readBuf.hasRemaining())
-                    readBuf.compact();
-                else
-                    readBuf.clear();
+                assert readBuf.hasRemaining();
+
+                try {
+                    filterChain.onMessageReceived(ses, readBuf);
+
+                    if (readBuf.hasRemaining())
+                        readBuf.compact();
+                    else
+                        readBuf.clear();
 
-                if (ses.hasSystemMessage() && !ses.procWrite.get()) {
-                    ses.procWrite.set(true);
+                    if (ses.hasSystemMessage() && !ses.procWrite.get()) {
+                        ses.procWrite.set(true);
 
-                    registerWrite(ses);
+                        registerWrite(ses);
+                    }
                 }
-            }
-            catch (IgniteCheckedException e) {
-                close(ses, e);
+                catch (IgniteCheckedException e) {
+                    close(ses, e);
+
+                    return;
+                }
+
+                if (!full || rounds >= MAX_BUFFER_ROUNDS || ses.closed())
+                    return;
             }
         }
 
@@ -1701,29 +1732,46 @@ public class GridNioServer<T> {
                 finished = writeToBuffer(ses, buf, req, writer);
             }
 
-            buf.flip();
+            for (int rounds = 1; ; rounds++) {
+                buf.flip();
 
-            assert buf.hasRemaining();
+                assert buf.hasRemaining();
 
-            if (!skipWrite) {
-                int cnt = sockCh.write(buf);
+                if (!skipWrite) {
+                    int cnt = sockCh.write(buf);
 
-                if (log.isTraceEnabled())
-                    log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
+                    if (log.isTraceEnabled())
+                        log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
 
-                if (sentBytesCntMetric != null)
-                    sentBytesCntMetric.add(cnt);
+                    if (sentBytesCntMetric != null)
+                        sentBytesCntMetric.add(cnt);
 
-                ses.bytesSent(cnt);
-                onWrite(cnt);
-            }
-            else {
-                // For test purposes only (skipWrite is set to true in tests only).
-                try {
-                    U.sleep(50);
+                    ses.bytesSent(cnt);
+                    onWrite(cnt);
                 }
-                catch (IgniteInterruptedCheckedException e) {
-                    throw new IOException("Thread has been interrupted.", e);
+                else {
+                    // For test purposes only (skipWrite is set to true in tests only).
+                    try {
+                        U.sleep(50);
+                    }
+                    catch (IgniteInterruptedCheckedException e) {
+                        throw new IOException("Thread has been interrupted.", e);
+                    }
+                }
+
+                // Channel has accepted the whole buffer in the middle of a large message,
+                // continue with the message right away instead of waiting for the next selection.
+                if (req == null || finished || buf.hasRemaining() || rounds >= MAX_BUFFER_ROUNDS)
+                    break;
+
+                buf.clear();
+
+                finished = writeToBuffer(ses, buf, req, writer);
+
+                if (finished) {
+                    req.onMessageWritten();
+
+                    req = null;
                 }
             }
 
@@ -1761,7 +1809,7 @@ public class GridNioServer<T> {
                 finished = msg.writeTo(buf, writer);
 
                 if (finished) {
-                    onMessageWritten(ses, msg);
+                    onMessageWritten(ses, req);
 
                     if (writer != null)
                         writer.reset();
@@ -1787,7 +1835,7 @@ public class GridNioServer<T> {
         for (SessionWriteRequest request : requests) {
             request.onMessageWritten();
 
-            onMessageWritten(ses, (Message)request.message());
+            onMessageWritten(ses, request);
         }
     }
 
@@ -1795,9 +1843,14 @@ public class GridNioServer<T> {
      * Handle message written event.
      *
      * @param ses Session.
-     * @param msg Message.
+     * @param req Write request.
      */
-    private void onMessageWritten(GridSelectorNioSessionImpl ses, Message msg) {
+    private void onMessageWritten(GridSelectorNioSessionImpl ses, SessionWriteRequest req) {
+        Message msg = (Message)req.message();
+
+        if (writeQueueWaitLsnr != null && req.enqueueTime() != 0)
+            writeQueueWaitLsnr.apply(msg, System.nanoTime() - req.enqueueTime());
+
         if (lsnr != null)
             lsnr.onMessageSent(ses, (T)msg);
     }
@@ -1963,6 +2016,13 @@ public class GridNioServer<T> {
             }
         }
 
+        /**
+         * @return {@code True} if there are change requests not processed by this worker yet.
+         */
+        protected boolean hasChangeRequests() {
+            return !changeReqs.isEmpty();
+        }
+
         /**
          * Adds socket channel to the registration queue and wakes up reading thread.
          *
@@ -2403,6 +2463,12 @@ public class GridNioServer<T> {
                         .append(", bytesSent0=").append(ses.bytesSent0())
                         .append(", opQueueSize=").append(ses.writeQueueSize());
 
+                    GridNioCompressionFilter.CompressionStats compressionStats =
+                        ses.meta(GridNioCompressionFilter.COMPRESSION_STATS_META_KEY);
+
+                    if (compressionStats != null)
+                        sb.append(", compression=").append(compressionStats);
+
                     if (!shortInfo) {
                         MessageWriter writer = ses.meta(MSG_WRITER.ordinal());
                         MessageReader reader = ses.meta(GridDirectParser.READER_META_KEY);
@@ -3171,6 +3237,9 @@ public class GridNioServer<T> {
         /** */
         private Span span;
 
+        /** Time the request was added to the session queue, {@code 0} if not tracked. */
+        private long enqueueTime;
+
         /**
          * @param ses Session.
          * @param msg Message.
@@ -3241,6 +3310,16 @@ public class GridNioServer<T> {
             return span;
         }
 
+        /** {@inheritDoc} */
+        @Override public void enqueueTime(long enqueueTime) {
+            this.enqueueTime = enqueueTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long enqueueTime() {
+            return enqueueTime;
+        }
+
         /** {@inheritDoc} */
         @Override public String toString() {
             return S.toString(WriteRequestSystemImpl.class, this);
@@ -3269,6 +3348,9 @@ public class GridNioServer<T> {
         /** Span for tracing. */
         private Span span;
 
+        /** Time the request was added to the session queue, {@code 0} if not tracked. */
+        private long enqueueTime;
+
         /**
          * @param ses Session.
          * @param msg Message.
@@ -3348,6 +3430,16 @@ public class GridNioServer<T> {
             return span;
         }
 
+        /** {@inheritDoc} */
+        @Override public void enqueueTime(long enqueueTime) {
+            this.enqueueTime = enqueueTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long enqueueTime() {
+            return enqueueTime;
+        }
+
         /** {@inheritDoc} */
         @Override public String toString() {
             return S.toString(WriteRequestImpl.class, this);
@@ -3388,6 +3480,9 @@ public class GridNioServer<T> {
         /** */
         private Span span;
 
+        /** Time the request was added to the session queue, {@code 0} if not tracked. */
+        private long enqueueTime;
+
         /**
          * @param sockCh Socket channel.
          * @param accepted {@code True} if socket has been accepted.
@@ -3494,6 +3589,16 @@ public class GridNioServer<T> {
             return span;
         }
 
+        /** {@inheritDoc} */
+        @Override public void enqueueTime(long enqueueTime) {
+            this.enqueueTime = enqueueTime;
+        }
+
+        /** {@inheritDoc} */
+        @Override public long enqueueTime() {
+            return enqueueTime;
+        }
+
         /** {@inheritDoc} */
         @Override public Object message() {
             return msg;
@@ -3775,6 +3880,9 @@ public class GridNioServer<T> {
         /** Message queue size listener. */
         private IgniteBiInClosure<GridNioSession, Integer> msgQueueLsnr;
 
+        /** Write queue wait time listener. */
+        private IgniteBiInClosure<Message, Long> writeQueueWaitLsnr;
+
         /** Name for threads identification. */
         private String srvName;
 
@@ -3820,6 +3928,7 @@ public class GridNioServer<T> {
                 writerFactory,
                 skipRecoveryPred,
                 msgQueueLsnr,
+                writeQueueWaitLsnr,
                 readWriteSelectorsAssign,
                 workerLsnr,
                 mreg,
@@ -4079,6 +4188,17 @@ public class GridNioServer<T> {
             return this;
         }
 
+        /**
+         * @param writeQueueWaitLsnr Listener notified with time in nanoseconds a message spent in the write queue
+         *      before it was written to the session buffer.
+         * @return Instance of this builder for chaining.
+         */
+        public Builder<T> writeQueueWaitListener(IgniteBiInClosure<Message, Long> writeQueueWaitLsnr) {
+            this.writeQueueWaitLsnr = writeQueueWaitLsnr;
+
+            return this;
+        }
+
         /**
          * @param workerLsnr Worker lifecycle listener.
          * @return This for chaining.
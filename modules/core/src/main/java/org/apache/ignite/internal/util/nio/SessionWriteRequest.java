@@ -82,4 +82,14 @@ public interface SessionWriteRequest {
      * @return Span.
      */
     Span span();
+
+    /**
+     * @param enqueueTime Time in nanoseconds the request was added to the session queue.
+     */
+    public void enqueueTime(long enqueueTime);
+
+    /**
+     * @return Time in nanoseconds the request was added to the session queue, {@code 0} if not tracked.
+     */
+    public long enqueueTime();
 }
@@ -58,6 +58,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.AddressResolver;
+import org.apache.ignite.configuration.CommunicationCompression;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.events.Event;
@@ -71,10 +72,15 @@ import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.IgniteKernal;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.managers.communication.CommunicationMessageClass;
+import org.apache.ignite.internal.managers.communication.GridIoMessage;
 import org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi;
 import org.apache.ignite.internal.managers.eventstorage.GridLocalEventListener;
 import org.apache.ignite.internal.managers.eventstorage.HighPriorityListener;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetric;
 import org.apache.ignite.internal.processors.metric.impl.MetricUtils;
 import org.apache.ignite.internal.processors.tracing.NoopTracing;
 import org.apache.ignite.internal.processors.tracing.SpanTags;
@@ -94,6 +100,7 @@ import org.apache.ignite.internal.util.nio.GridCommunicationClient;
 import org.apache.ignite.internal.util.nio.GridConnectionBytesVerifyFilter;
 import org.apache.ignite.internal.util.nio.GridDirectParser;
 import org.apache.ignite.internal.util.nio.GridNioCodecFilter;
+import org.apache.ignite.internal.util.nio.GridNioCompressionFilter;
 import org.apache.ignite.internal.util.nio.GridNioFilter;
 import org.apache.ignite.internal.util.nio.GridNioMessageReaderFactory;
 import org.apache.ignite.internal.util.nio.GridNioMessageTracker;
@@ -154,6 +161,7 @@ import org.apache.ignite.spi.communication.tcp.internal.ConnectionKey;
 import org.apache.ignite.spi.communication.tcp.internal.HandshakeException;
 import org.apache.ignite.spi.communication.tcp.internal.TcpCommunicationConnectionCheckFuture;
 import org.apache.ignite.spi.communication.tcp.internal.TcpCommunicationNodeConnectionCheckFuture;
+import org.apache.ignite.spi.communication.tcp.messages.CompressedMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage2;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeWaitMessage;
@@ -229,6 +237,7 @@ import static org.apache.ignite.spi.communication.tcp.messages.RecoveryLastRecei
  * <li>Use paired connections (see {@link #setUsePairedConnections(boolean)}</li>
  * <li>Connections per node (see {@link #setConnectionsPerNode(int)})</li>
  * <li>Shared memory port (see {@link #setSharedMemoryPort(int)}</li>
+ * <li>Memory mapped shared memory (see {@link #setSharedMemoryMapped(boolean)}</li>
  * <li>Idle connection timeout (see {@link #setIdleConnectionTimeout(long)})</li>
  * <li>Direct or heap buffer allocation (see {@link #setDirectBuffer(boolean)})</li>
  * <li>Direct or heap buffer allocation for sending (see {@link #setDirectSendBuffer(boolean)})</li>
@@ -312,10 +321,13 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** */
     public static final String ATTR_PAIRED_CONN = "comm.tcp.pairedConnection";
 
+    /** Node attribute that is mapped to message compression algorithm (value is <tt>comm.tcp.msgCompression</tt>). */
+    public static final String ATTR_MSG_COMPRESSION = "comm.tcp.msgCompression";
+
     /** Default port which node sets listener to (value is <tt>47100</tt>). */
     public static final int DFLT_PORT = 47100;
 
-    /** Default port which node sets listener for shared memory connections (value is <tt>48100</tt>). */
+    /** Default port which node sets listener for shared memory connections (value is <tt>-1</tt>, disabled). */
     public static final int DFLT_SHMEM_PORT = -1;
 
     /** Default idle connection timeout (value is <tt>10</tt>min). */
@@ -384,9 +396,18 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Default connections per node. */
     public static final int DFLT_CONN_PER_NODE = 1;
 
+    /** Bounds of write queue wait time histograms in microseconds. */
+    private static final long[] WRITE_QUEUE_WAIT_TIME_BOUNDS = new long[] {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    /** Default min size of serialized message to compress (value is <tt>4096</tt>). */
+    public static final int DFLT_MSG_COMPRESSION_THRESHOLD = 4096;
+
     /** No-op runnable. */
     private static final IgniteRunnable NOOP = () -> {};
 
+    /** Message classes. */
+    private static final CommunicationMessageClass[] MSG_CLASSES = CommunicationMessageClass.values();
+
     /** Node ID message type. */
     public static final short NODE_ID_MSG_TYPE = -1;
 
@@ -399,6 +420,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Handshake wait message type. */
     public static final short HANDSHAKE_WAIT_MSG_TYPE = -28;
 
+    /** Compressed message type. */
+    public static final short COMPRESSED_MSG_TYPE = -29;
+
     /** Communication metrics group name. */
     public static final String COMMUNICATION_METRICS_GROUP_NAME = "communication.tcp";
 
@@ -432,6 +456,37 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** */
     public static final String RECEIVED_MESSAGES_BY_NODE_ID_METRIC_DESC = "Total number of messages received by current node from the given node";
 
+    /** */
+    public static final String WRITE_QUEUE_WAIT_TIME_METRIC_NAME = "writeQueueWaitTime";
+
+    /** */
+    public static final String WRITE_QUEUE_WAIT_TIME_METRIC_DESC = "Time messages of the given class spent in the " +
+        "write queue represented as histogram in microseconds";
+
+    /** */
+    public static final String COMPRESSED_MESSAGES_SENT_METRIC_NAME = "compressedMessagesSent";
+
+    /** */
+    public static final String COMPRESSED_MESSAGES_SENT_METRIC_DESC = "Total number of compressed messages sent by current node";
+
+    /** */
+    public static final String COMPRESSION_BYTES_SAVED_METRIC_NAME = "compressionBytesSaved";
+
+    /** */
+    public static final String COMPRESSION_BYTES_SAVED_METRIC_DESC = "Total number of bytes saved by message compression";
+
+    /** */
+    public static final String COMPRESSION_TIME_METRIC_NAME = "compressionTime";
+
+    /** */
+    public static final String COMPRESSION_TIME_METRIC_DESC = "Total time spent on message compression in nanoseconds";
+
+    /** */
+    public static final String DECOMPRESSION_TIME_METRIC_NAME = "decompressionTime";
+
+    /** */
+    public static final String DECOMPRESSION_TIME_METRIC_DESC = "Total time spent on message decompression in nanoseconds";
+
     /** */
     public static String sentMessagesByTypeMetricName(Short directType) {
         return MetricUtils.metricName("sentMessagesByType", directType.toString());
@@ -788,7 +843,10 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             @Override public void onMessageSent(GridNioSession ses, Message msg) {
                 ConnectionKey connKey = ses.meta(CONN_IDX_META);
 
-                if (connKey != null)
+                if (msg instanceof CompressedMessage)
+                    msg = ((CompressedMessage)msg).message();
+
+                if (connKey != null && msg != null)
                     metricsLsnr.onMessageSent(msg, connKey.consistentId(), connKey.nodeId());
             }
 
@@ -1168,6 +1226,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Local port which node uses to accept shared memory connections. */
     private int shmemPort = DFLT_SHMEM_PORT;
 
+    /** Back shared memory spaces by memory mapped files instead of native segments. */
+    private boolean shmemMapped = true;
+
     /** Allocate direct buffer or heap buffer. */
     private boolean directBuf = true;
 
@@ -1210,6 +1271,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** */
     private int connectionsPerNode = DFLT_CONN_PER_NODE;
 
+    /** Whether messages of different classes are sent over different connections. */
+    private boolean msgClassConns;
+
     /** {@code TCP_NODELAY} option value for created sockets. */
     private boolean tcpNoDelay = DFLT_TCP_NODELAY;
 
@@ -1225,6 +1289,15 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Socket write timeout. */
     private long sockWriteTimeout = DFLT_SOCK_WRITE_TIMEOUT;
 
+    /** Message compression algorithm. */
+    private CommunicationCompression msgCompression = CommunicationCompression.DISABLED;
+
+    /** Message compression level. */
+    private Integer msgCompressionLevel;
+
+    /** Min size of serialized message to compress. */
+    private int msgCompressionThreshold = DFLT_MSG_COMPRESSION_THRESHOLD;
+
     /** Recovery and idle clients handler. */
     private CommunicationWorker commWorker;
 
@@ -1483,7 +1556,51 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     }
 
     /**
-     * Sets local port to accept shared memory connections.
+     * See {@link #setMessageClassConnections(boolean)}.
+     *
+     * @return {@code True} if messages of different classes are sent over different connections.
+     */
+    public boolean isMessageClassConnections() {
+        return msgClassConns;
+    }
+
+    /**
+     * Set this to {@code true} if {@code TcpCommunicationSpi} should send messages of different
+     * {@link CommunicationMessageClass classes} over different connections, so that rebalancing, data streamer
+     * and query messages do not delay transactional and atomic cache updates and system messages, and atomic
+     * updates do not delay transactions.
+     * <p>
+     * Messages of different classes sent by a thread may be delivered out of order. Transaction and lock messages
+     * are pinned to a connection of their class by transaction, other messages are pinned by the sending thread,
+     * so messages of a transaction and other messages of a class sent by a thread keep their order, see
+     * {@link CommunicationMessageClass}.
+     * <p>
+     * {@link #getConnectionsPerNode()} connections are split between message classes evenly, so at least
+     * {@code 4} connections per node are required to send messages of each class over a separate connection.
+     * If there are fewer connections, adjacent classes share a connection. Time messages of each class spent
+     * in the write queue is exposed as a histogram metric.
+     * <p>
+     * Default is {@code false}.
+     *
+     * @param msgClassConns {@code True} to send messages of different classes over different connections.
+     * @return {@code this} for chaining.
+     * @see #setConnectionsPerNode(int)
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageClassConnections(boolean msgClassConns) {
+        this.msgClassConns = msgClassConns;
+
+        return this;
+    }
+
+    /**
+     * Sets local port to accept shared memory connections. Nodes having the same set of MAC addresses connect
+     * to each other over shared memory if the remote node accepts shared memory connections, falling back to TCP
+     * otherwise.
+     * <p>
+     * If set to {@code 0} the first free port starting from {@link IpcSharedMemoryServerEndpoint#DFLT_IPC_PORT}
+     * within {@link #setLocalPortRange(int) local port range} is used, and shared memory communication is silently
+     * disabled if it can not be started or SSL is enabled.
      * <p>
      * If set to {@code -1} shared memory communication will be disabled.
      * <p>
@@ -1508,6 +1625,37 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         return shmemPort;
     }
 
+    /**
+     * Set this to {@code true} to back shared memory spaces by memory mapped files with lock-free ring buffers
+     * instead of native shared memory segments. Such spaces do not require native library, and connections
+     * to nodes on the same host do not spend time on waking up the other party with semaphores.
+     * Set this to {@code false} to use native shared memory segments.
+     * <p>
+     * Has effect only if shared memory communication is enabled, see {@link #setSharedMemoryPort(int)}.
+     * Token files of the spaces are created under the shared memory token directory in the work directory,
+     * so it is preferable to keep the work directory on a memory backed file system.
+     * <p>
+     * Default is {@code true}.
+     *
+     * @param shmemMapped {@code True} to back shared memory spaces by memory mapped files.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setSharedMemoryMapped(boolean shmemMapped) {
+        this.shmemMapped = shmemMapped;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setSharedMemoryMapped(boolean)}.
+     *
+     * @return {@code True} if shared memory spaces are backed by memory mapped files.
+     */
+    public boolean isSharedMemoryMapped() {
+        return shmemMapped;
+    }
+
     /**
      * Sets maximum idle connection timeout upon which a connection
      * to client will be closed.
@@ -1829,6 +1977,84 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         return tcpNoDelay;
     }
 
+    /**
+     * See {@link #setMessageCompression(CommunicationCompression)}.
+     *
+     * @return Message compression algorithm.
+     */
+    public CommunicationCompression getMessageCompression() {
+        return msgCompression;
+    }
+
+    /**
+     * Sets compression algorithm of messages sent to other nodes. Messages are compressed only if they are sent
+     * to a node configured with the same algorithm, so compression can be enabled node by node. Requires
+     * {@code ignite-compress} module in classpath.
+     * <p>
+     * Compression is applied to a message as a whole. Messages of a type which are smaller than
+     * {@link #setMessageCompressionThreshold(int)} or which are not compressed well are sent as is for
+     * an exponentially growing number of times.
+     * <p>
+     * If not provided, default value is {@link CommunicationCompression#DISABLED}.
+     *
+     * @param msgCompression Message compression algorithm.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompression(CommunicationCompression msgCompression) {
+        this.msgCompression = msgCompression;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionLevel(Integer)}.
+     *
+     * @return Message compression level, {@code null} for default.
+     */
+    public Integer getMessageCompressionLevel() {
+        return msgCompressionLevel;
+    }
+
+    /**
+     * Sets compression level of messages sent to other nodes. Valid levels are {@code -131072..22} for
+     * {@link CommunicationCompression#ZSTD} (default {@code 3}) and {@code 0..17} for
+     * {@link CommunicationCompression#LZ4} (default {@code 0}).
+     *
+     * @param msgCompressionLevel Message compression level, {@code null} for default.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionLevel(Integer msgCompressionLevel) {
+        this.msgCompressionLevel = msgCompressionLevel;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionThreshold(int)}.
+     *
+     * @return Min size of serialized message to compress.
+     */
+    public int getMessageCompressionThreshold() {
+        return msgCompressionThreshold;
+    }
+
+    /**
+     * Sets min size of serialized message to compress.
+     * <p>
+     * If not provided, default value is {@link #DFLT_MSG_COMPRESSION_THRESHOLD}.
+     *
+     * @param msgCompressionThreshold Min size of serialized message to compress.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionThreshold(int msgCompressionThreshold) {
+        this.msgCompressionThreshold = msgCompressionThreshold;
+
+        return this;
+    }
+
     /**
      * Gets value for {@code FILTER_REACHABLE_ADDRESSES} socket option.
      *
@@ -2188,7 +2414,7 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         assertParameter(sockRcvBuf >= 0, "sockRcvBuf >= 0");
         assertParameter(sockSndBuf >= 0, "sockSndBuf >= 0");
         assertParameter(msgQueueLimit >= 0, "msgQueueLimit >= 0");
-        assertParameter(shmemPort > 0 || shmemPort == -1, "shmemPort > 0 || shmemPort == -1");
+        assertParameter(shmemPort >= 0 || shmemPort == -1, "shmemPort >= 0 || shmemPort == -1");
         assertParameter(selectorsCnt > 0, "selectorsCnt > 0");
         assertParameter(connectionsPerNode > 0, "connectionsPerNode > 0");
         assertParameter(connectionsPerNode <= 1024, "connectionsPerNode <= 1024");
@@ -2202,6 +2428,21 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         assertParameter(sockWriteTimeout >= 0, "sockWriteTimeout >= 0");
         assertParameter(ackSndThreshold > 0, "ackSndThreshold > 0");
         assertParameter(unackedMsgsBufSize >= 0, "unackedMsgsBufSize >= 0");
+        assertParameter(msgCompression != null, "msgCompression != null");
+        assertParameter(msgCompressionThreshold >= 0, "msgCompressionThreshold >= 0");
+
+        if (msgCompression != CommunicationCompression.DISABLED) {
+            try {
+                if (msgCompressionLevel != null)
+                    CompressionProcessor.checkCompressionLevelBounds(msgCompressionLevel, msgCompression);
+
+                if (ignite instanceof IgniteEx)
+                    ((IgniteEx)ignite).context().compress().checkMessageCompressionSupported();
+            }
+            catch (IllegalArgumentException | IgniteCheckedException e) {
+                throw new IgniteSpiException("Failed to enable message compression: " + msgCompression, e);
+            }
+        }
 
         if (unackedMsgsBufSize > 0) {
             assertParameter(unackedMsgsBufSize >= msgQueueLimit * 5,
@@ -2211,7 +2452,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                 "Specified 'unackedMsgsBufSize' is too low, it should be at least 'ackSndThreshold * 5'.");
         }
 
-        if (connectionsPerNode > 1)
+        if (msgClassConns)
+            connPlc = new MessageClassConnectionPolicy();
+        else if (connectionsPerNode > 1)
             connPlc = new RoundRobinConnectionPolicy();
         else
             connPlc = new FirstConnectionPolicy();
@@ -2227,7 +2470,12 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             shmemSrv = resetShmemServer();
         }
         catch (IgniteCheckedException e) {
-            U.warn(log, "Failed to start shared memory communication server.", e);
+            if (shmemPort == 0) {
+                if (log.isInfoEnabled())
+                    log.info("Shared memory communication is disabled, failed to start server: " + e.getMessage());
+            }
+            else
+                U.warn(log, "Failed to start shared memory communication server.", e);
         }
 
         try {
@@ -2255,6 +2503,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             res.put(createSpiAttributeName(ATTR_EXT_ADDRS), extAddrs);
             res.put(createSpiAttributeName(ATTR_PAIRED_CONN), usePairedConnections);
 
+            if (msgCompression != CommunicationCompression.DISABLED)
+                res.put(createSpiAttributeName(ATTR_MSG_COMPRESSION), msgCompression.name());
+
             return res;
         }
         catch (IOException | IgniteCheckedException e) {
@@ -2289,8 +2540,10 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             log.debug(configInfo("sockSndBuf", sockSndBuf));
             log.debug(configInfo("sockRcvBuf", sockRcvBuf));
             log.debug(configInfo("shmemPort", shmemPort));
+            log.debug(configInfo("shmemMapped", shmemMapped));
             log.debug(configInfo("msgQueueLimit", msgQueueLimit));
             log.debug(configInfo("connectionsPerNode", connectionsPerNode));
+            log.debug(configInfo("msgClassConns", msgClassConns));
 
             if (failureDetectionTimeoutEnabled()) {
                 log.debug(configInfo("connTimeout", connTimeout));
@@ -2465,6 +2718,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
 
                 boolean clientMode = Boolean.TRUE.equals(ignite.configuration().isClientMode());
 
+                IgniteBiInClosure<Message, Long> writeQueueWaitLsnr = msgClassConns && metricsLsnr != null ?
+                    createWriteQueueWaitListener() : null;
+
                 IgniteBiInClosure<GridNioSession, Integer> queueSizeMonitor =
                     !clientMode && slowClientQueueLimit > 0 ?
                         new CI2<GridNioSession, Integer>() {
@@ -2474,7 +2730,15 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                         } :
                         null;
 
-                GridNioFilter[] filters;
+                List<GridNioFilter> filters = new ArrayList<>(5);
+
+                filters.add(new GridNioTracerFilter(log, tracing));
+
+                if (msgCompression != CommunicationCompression.DISABLED && ignite instanceof IgniteEx)
+                    filters.add(createCompressionFilter(msgFactory, readerFactory, writerFactory));
+
+                filters.add(new GridNioCodecFilter(parser, log, true));
+                filters.add(new GridConnectionBytesVerifyFilter(log));
 
                 if (isSslEnabled()) {
                     GridNioSslFilter sslFilter =
@@ -2486,19 +2750,8 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                     sslFilter.wantClientAuth(true);
                     sslFilter.needClientAuth(true);
 
-                    filters = new GridNioFilter[] {
-                        new GridNioTracerFilter(log, tracing),
-                        new GridNioCodecFilter(parser, log, true),
-                        new GridConnectionBytesVerifyFilter(log),
-                        sslFilter
-                    };
+                    filters.add(sslFilter);
                 }
-                else
-                    filters = new GridNioFilter[] {
-                        new GridNioTracerFilter(log, tracing),
-                        new GridNioCodecFilter(parser, log, true),
-                        new GridConnectionBytesVerifyFilter(log)
-                    };
 
                 GridNioServer.Builder<Message> builder = GridNioServer.<Message>builder()
                     .address(locHost)
@@ -2517,10 +2770,11 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                     .directMode(true)
                     .writeTimeout(sockWriteTimeout)
                     .selectorSpins(selectorSpins)
-                    .filters(filters)
+                    .filters(filters.toArray(new GridNioFilter[filters.size()]))
                     .writerFactory(writerFactory)
                     .skipRecoveryPredicate(skipRecoveryPred)
                     .messageQueueSizeListener(queueSizeMonitor)
+                    .writeQueueWaitListener(writeQueueWaitLsnr)
                     .tracing(tracing)
                     .readWriteSelectorsAssign(usePairedConnections);
 
@@ -2570,6 +2824,98 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             ", portRange=" + locPortRange + ", locHost=" + locHost + ']', lastEx);
     }
 
+    /**
+     * @param msg Message.
+     * @return Message class.
+     */
+    private static CommunicationMessageClass messageClass(Message msg) {
+        if (msg instanceof CompressedMessage)
+            msg = ((CompressedMessage)msg).message();
+
+        return msg instanceof GridIoMessage ? ((GridIoMessage)msg).messageClass() : CommunicationMessageClass.SYSTEM;
+    }
+
+    /**
+     * @param msg Message.
+     * @return Connection key or {@code -1} if the message is not pinned to a connection.
+     */
+    private static int connectionKey(Message msg) {
+        if (msg instanceof CompressedMessage)
+            msg = ((CompressedMessage)msg).message();
+
+        return msg instanceof GridIoMessage ? ((GridIoMessage)msg).connectionKey() : -1;
+    }
+
+    /**
+     * @return Listener updating histograms of time messages of each class spent in the write queue.
+     */
+    private IgniteBiInClosure<Message, Long> createWriteQueueWaitListener() {
+        MetricRegistry mreg = metricsLsnr.metricRegistry();
+
+        HistogramMetric[] hists = new HistogramMetric[MSG_CLASSES.length];
+
+        for (CommunicationMessageClass cls : MSG_CLASSES) {
+            hists[cls.ordinal()] = mreg.histogram(
+                MetricUtils.metricName(WRITE_QUEUE_WAIT_TIME_METRIC_NAME, cls.name()),
+                WRITE_QUEUE_WAIT_TIME_BOUNDS,
+                WRITE_QUEUE_WAIT_TIME_METRIC_DESC);
+        }
+
+        return (msg, time) -> hists[messageClass(msg).ordinal()].value(TimeUnit.NANOSECONDS.toMicros(time));
+    }
+
+    /**
+     * Creates filter compressing messages sent to nodes with the same message compression algorithm.
+     *
+     * @param msgFactory Message factory.
+     * @param readerFactory Message reader factory.
+     * @param writerFactory Message writer factory.
+     * @return Compression filter.
+     */
+    private GridNioCompressionFilter createCompressionFilter(
+        MessageFactory msgFactory,
+        GridNioMessageReaderFactory readerFactory,
+        GridNioMessageWriterFactory writerFactory
+    ) {
+        String attr = createSpiAttributeName(ATTR_MSG_COMPRESSION);
+
+        String name = msgCompression.name();
+
+        GridNioCompressionFilter filter = new GridNioCompressionFilter(
+            log,
+            ((IgniteEx)ignite).context().compress(),
+            msgCompression,
+            msgCompressionLevel != null ? msgCompressionLevel :
+                CompressionProcessor.getDefaultCompressionLevel(msgCompression),
+            msgCompressionThreshold,
+            writerFactory,
+            readerFactory,
+            msgFactory,
+            ses -> {
+                ConnectionKey connKey = ses.meta(CONN_IDX_META);
+
+                if (connKey == null)
+                    return null;
+
+                ClusterNode node = getSpiContext().node(connKey.nodeId());
+
+                return node != null ? name.equals(node.attribute(attr)) : null;
+            });
+
+        if (metricsLsnr != null) {
+            MetricRegistry mreg = metricsLsnr.metricRegistry();
+
+            mreg.register(COMPRESSED_MESSAGES_SENT_METRIC_NAME, filter::compressedMessages,
+                COMPRESSED_MESSAGES_SENT_METRIC_DESC);
+            mreg.register(COMPRESSION_BYTES_SAVED_METRIC_NAME, filter::bytesSaved,
+                COMPRESSION_BYTES_SAVED_METRIC_DESC);
+            mreg.register(COMPRESSION_TIME_METRIC_NAME, filter::compressionTime, COMPRESSION_TIME_METRIC_DESC);
+            mreg.register(DECOMPRESSION_TIME_METRIC_NAME, filter::decompressionTime, DECOMPRESSION_TIME_METRIC_DESC);
+        }
+
+        return filter;
+    }
+
     /**
      * Creates new shared memory communication server.
      *
@@ -2583,10 +2929,16 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         if (shmemPort == -1 || U.isWindows())
             return null;
 
+        // Shared memory connections are not encrypted, so they are chosen automatically only if SSL is disabled.
+        if (shmemPort == 0 && isSslEnabled())
+            return null;
+
+        int startPort = shmemPort == 0 ? IpcSharedMemoryServerEndpoint.DFLT_IPC_PORT : shmemPort;
+
         IgniteCheckedException lastEx = null;
 
         // If configured TCP port is busy, find first available in range.
-        for (int port = shmemPort; port < shmemPort + locPortRange; port++) {
+        for (int port = startPort; port < startPort + locPortRange; port++) {
             try {
                 IgniteConfiguration cfg = ignite.configuration();
 
@@ -2594,6 +2946,7 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                     new IpcSharedMemoryServerEndpoint(log, cfg.getNodeId(), igniteInstanceName, cfg.getWorkDirectory());
 
                 srv.setPort(port);
+                srv.setMapped(shmemMapped);
 
                 srv.omitOutOfResourcesWarning(true);
 
@@ -2619,7 +2972,7 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
 
         // If free port wasn't found.
         throw new IgniteCheckedException("Failed to bind shared memory communication to any port within range [startPort=" +
-            locPort + ", portRange=" + locPortRange + ", locHost=" + locHost + ']', lastEx);
+            startPort + ", portRange=" + locPortRange + ", locHost=" + locHost + ']', lastEx);
     }
 
     /** {@inheritDoc} */
@@ -2826,7 +3179,7 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         else {
             GridCommunicationClient client = null;
 
-            int connIdx = connPlc.connectionIndex();
+            int connIdx = connPlc.connectionIndex(msg);
 
             try {
                 boolean retry;
@@ -4101,6 +4454,12 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
 
         U.join(commWorker, log);
 
+        U.cancel(shmemAcceptWorker);
+        U.join(shmemAcceptWorker, log);
+
+        U.cancel(shmemWorkers);
+        U.join(shmemWorkers, log);
+
         for (GridCommunicationClient[] clients0 : clients.values()) {
             for (GridCommunicationClient client : clients0) {
                 if (client != null)
@@ -5011,15 +5370,16 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
      */
     interface ConnectionPolicy {
         /**
+         * @param msg Message to send.
          * @return Thread connection index.
          */
-        int connectionIndex();
+        int connectionIndex(Message msg);
     }
 
     /** */
     private static class FirstConnectionPolicy implements ConnectionPolicy {
         /** {@inheritDoc} */
-        @Override public int connectionIndex() {
+        @Override public int connectionIndex(Message msg) {
             return 0;
         }
     }
@@ -5027,11 +5387,40 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** */
     private class RoundRobinConnectionPolicy implements ConnectionPolicy {
         /** {@inheritDoc} */
-        @Override public int connectionIndex() {
+        @Override public int connectionIndex(Message msg) {
             return (int)(U.safeAbs(Thread.currentThread().getId()) % connectionsPerNode);
         }
     }
 
+    /**
+     * Picks connection from the range of connections of the message class, messages of each class are sent
+     * over its own connections if there are enough connections. Messages of the same class with the same
+     * {@link GridIoMessage#connectionKey() connection key} always use the same connection and thus keep their
+     * order. Classes other than transactions have no keys, their messages are pinned to a connection by
+     * the sending thread.
+     */
+    private class MessageClassConnectionPolicy implements ConnectionPolicy {
+        /** {@inheritDoc} */
+        @Override public int connectionIndex(Message msg) {
+            CommunicationMessageClass cls = messageClass(msg);
+
+            int clsCnt = MSG_CLASSES.length;
+
+            int from = cls.ordinal() * connectionsPerNode / clsCnt;
+            int to = (cls.ordinal() + 1) * connectionsPerNode / clsCnt;
+
+            if (to - from <= 1)
+                return from;
+
+            int key = connectionKey(msg);
+
+            if (key >= 0)
+                return from + key % (to - from);
+
+            return from + (int)(U.safeAbs(Thread.currentThread().getId()) % (to - from));
+        }
+    }
+
     /**
      * MBean implementation for TcpCommunicationSpi.
      */
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp.messages;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.configuration.CommunicationCompression;
+import org.apache.ignite.internal.IgniteCodeGeneratingFail;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Message which holds serialized and compressed form of another message.
+ */
+@IgniteCodeGeneratingFail
+public class CompressedMessage implements Message {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Compression algorithm ordinal. */
+    private byte compression;
+
+    /** Size of the serialized message. */
+    private int rawSize;
+
+    /** Compressed serialized message. */
+    @GridToStringExclude
+    private byte[] data;
+
+    /** Original message, available on sender side only. */
+    @GridToStringExclude
+    private transient Message msg;
+
+    /**
+     * Default constructor required by {@link Message}.
+     */
+    public CompressedMessage() {
+        // No-op.
+    }
+
+    /**
+     * @param msg Original message.
+     * @param compression Compression algorithm.
+     * @param rawSize Size of the serialized message.
+     * @param data Compressed serialized message.
+     */
+    public CompressedMessage(Message msg, CommunicationCompression compression, int rawSize, byte[] data) {
+        assert msg != null;
+        assert compression != null && compression != CommunicationCompression.DISABLED : compression;
+
+        this.msg = msg;
+        this.compression = (byte)compression.ordinal();
+        this.rawSize = rawSize;
+        this.data = data;
+    }
+
+    /**
+     * @return Original message or {@code null} if message was received.
+     */
+    @Nullable public Message message() {
+        return msg;
+    }
+
+    /**
+     * @return Compression algorithm.
+     */
+    public CommunicationCompression compression() {
+        return CommunicationCompression.fromOrdinal(compression);
+    }
+
+    /**
+     * @return Size of the serialized message.
+     */
+    public int rawSize() {
+        return rawSize;
+    }
+
+    /**
+     * @return Compressed serialized message.
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        if (msg != null)
+            msg.onAckReceived();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 0:
+                if (!writer.writeByte("compression", compression))
+                    return false;
+
+                writer.incrementState();
+
+            case 1:
+                if (!writer.writeByteArray("data", data))
+                    return false;
+
+                writer.incrementState();
+
+            case 2:
+                if (!writer.writeInt("rawSize", rawSize))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        switch (reader.state()) {
+            case 0:
+                compression = reader.readByte("compression");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 1:
+                data = reader.readByteArray("data");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 2:
+                rawSize = reader.readInt("rawSize");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(CompressedMessage.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return TcpCommunicationSpi.COMPRESSED_MSG_TYPE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 3;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CompressedMessage.class, this, "dataSize", data != null ? data.length : 0, "msg", msg);
+    }
+}
@@ -2489,8 +2489,10 @@ class ClientImpl extends TcpDiscoveryImpl {
 
                         TcpDiscoveryMetricsUpdateMessage.MetricsSet metricsSet = e.getValue();
 
+                        // Cache metrics received over communication are kept if the message does not carry them.
                         Map<Integer, CacheMetrics> cacheMetrics = msg.hasCacheMetrics(nodeId) ?
-                            msg.cacheMetrics().get(nodeId) : Collections.<Integer, CacheMetrics>emptyMap();
+                            msg.cacheMetrics().get(nodeId) :
+                            spi.isCacheMetricsOverCommunication() ? null : Collections.emptyMap();
 
                         updateMetrics(nodeId, metricsSet.metrics(), cacheMetrics, tsNanos);
 
@@ -2601,26 +2603,25 @@ class ClientImpl extends TcpDiscoveryImpl {
         /**
          * @param nodeId Node ID.
          * @param metrics Metrics.
-         * @param cacheMetrics Cache metrics.
+         * @param cacheMetrics Cache metrics or {@code null} to keep the current ones.
          * @param tsNanos Timestamp as returned by {@link System#nanoTime()}.
          */
         private void updateMetrics(UUID nodeId,
             ClusterMetrics metrics,
-            Map<Integer, CacheMetrics> cacheMetrics,
+            @Nullable Map<Integer, CacheMetrics> cacheMetrics,
             long tsNanos)
         {
             boolean isLocDaemon = spi.locNode.isDaemon();
 
             assert nodeId != null;
             assert metrics != null;
-            assert isLocDaemon || cacheMetrics != null;
 
             TcpDiscoveryNode node = nodeId.equals(getLocalNodeId()) ? locNode : rmtNodes.get(nodeId);
 
             if (node != null && node.visible()) {
                 node.setMetrics(metrics);
 
-                if (!isLocDaemon)
+                if (!isLocDaemon && cacheMetrics != null)
                     node.setCacheMetrics(cacheMetrics);
 
                 node.lastUpdateTimeNanos(tsNanos);
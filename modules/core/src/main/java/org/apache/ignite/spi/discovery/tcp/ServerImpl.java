@@ -163,6 +163,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BINARY_MARSHALLER_USE_STRING_SERIALIZATION_VER_2;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DISCOVERY_CLIENT_RECONNECT_HISTORY_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_DISCOVERY_CUSTOM_EVENT_BATCH_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_NODE_IDS_HISTORY_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_OPTIMIZED_MARSHALLER_USE_DEFAULT_SUID;
@@ -174,6 +175,7 @@ import static org.apache.ignite.events.EventType.EVT_NODE_METRICS_UPDATED;
 import static org.apache.ignite.events.EventType.EVT_NODE_SEGMENTED;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
+import static org.apache.ignite.internal.IgniteFeatures.DISCOVERY_CUSTOM_EVENT_BATCH;
 import static org.apache.ignite.internal.IgniteFeatures.TCP_DISCOVERY_MESSAGE_NODE_COMPACT_REPRESENTATION;
 import static org.apache.ignite.internal.IgniteFeatures.nodeSupports;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED;
@@ -207,6 +209,9 @@ class ServerImpl extends TcpDiscoveryImpl {
     /** */
     private static final int ENSURED_MSG_HIST_SIZE = getInteger(IGNITE_DISCOVERY_CLIENT_RECONNECT_HISTORY_SIZE, 512);
 
+    /** Maximum number of custom events packed into one ring message. */
+    private static final int CUSTOM_EVT_BATCH_SIZE = getInteger(IGNITE_DISCOVERY_CUSTOM_EVENT_BATCH_SIZE, 64);
+
     /** */
     private static final TcpDiscoveryAbstractMessage WAKEUP = new TcpDiscoveryDummyWakeupMessage();
 
@@ -3272,6 +3277,12 @@ class ServerImpl extends TcpDiscoveryImpl {
 
                 tracing.messages().finishProcessing(tMsg);
             }
+
+            // Batched custom messages are finished after they have been sent along with the head message.
+            if (msg instanceof TcpDiscoveryCustomEventMessage) {
+                for (TcpDiscoveryCustomEventMessage msg0 : ((TcpDiscoveryCustomEventMessage)msg).batch())
+                    tracing.messages().finishProcessing(msg0);
+            }
         }
 
         /**
@@ -3311,6 +3322,15 @@ class ServerImpl extends TcpDiscoveryImpl {
          * @param msg Message.
          */
         private void sendMessageToClients(TcpDiscoveryAbstractMessage msg) {
+            // Clients receive batched custom events one by one.
+            if (msg instanceof TcpDiscoveryCustomEventMessage &&
+                !((TcpDiscoveryCustomEventMessage)msg).batch().isEmpty()) {
+                for (TcpDiscoveryCustomEventMessage msg0 : ((TcpDiscoveryCustomEventMessage)msg).unpack())
+                    sendMessageToClients(msg0);
+
+                return;
+            }
+
             if (redirectToClients(msg)) {
                 if (spi.ensured(msg))
                     msgHist.add(msg);
@@ -3430,6 +3450,11 @@ class ServerImpl extends TcpDiscoveryImpl {
             if (msg instanceof TraceableMessage)
                 tracing.messages().beforeSend((TraceableMessage) msg);
 
+            if (msg instanceof TcpDiscoveryCustomEventMessage) {
+                for (TcpDiscoveryCustomEventMessage msg0 : ((TcpDiscoveryCustomEventMessage)msg).batch())
+                    tracing.messages().beforeSend(msg0);
+            }
+
             sendMessageToClients(msg);
 
             List<TcpDiscoveryNode> failedNodes;
@@ -3453,6 +3478,8 @@ class ServerImpl extends TcpDiscoveryImpl {
 
             UUID locNodeId = getLocalNodeId();
 
+            long sndStartNanos = System.nanoTime();
+
             ringLoop: while (true) {
                 TcpDiscoveryNode newNext = ring.nextNode(failedNodes);
 
@@ -3926,6 +3953,8 @@ class ServerImpl extends TcpDiscoveryImpl {
             }
 
             if (!failedNodes.isEmpty()) {
+                spi.stats.onFailureDetected(U.millisSinceNanos(sndStartNanos));
+
                 if (state == CONNECTED) {
                     if (!sent && log.isDebugEnabled())
                         // Message has not been sent due to some problems.
@@ -4743,6 +4772,37 @@ class ServerImpl extends TcpDiscoveryImpl {
                     return;
                 }
 
+                boolean locCacheMetricsOverComm = spi.cacheMetricsOverCommunication(locNode);
+                boolean rmtCacheMetricsOverComm = spi.cacheMetricsOverCommunication(node);
+
+                if (locCacheMetricsOverComm != rmtCacheMetricsOverComm) {
+                    String errMsg = "Local node's \"cacheMetricsOverCommunication\" discovery SPI property differs " +
+                        "from the same property on remote node (make sure all nodes in topology have the same value " +
+                        "of \"cacheMetricsOverCommunication\" property) [locCacheMetricsOverComm=" +
+                        locCacheMetricsOverComm + ", rmtCacheMetricsOverComm=" + rmtCacheMetricsOverComm +
+                        ", locNodeAddrs=" + U.addressesAsString(locNode) +
+                        ", rmtNodeAddrs=" + U.addressesAsString(node) +
+                        ", locNodeId=" + locNode.id() + ", rmtNodeId=" + msg.creatorNodeId() + ']';
+
+                    String sndMsg = "Local node's \"cacheMetricsOverCommunication\" discovery SPI property differs " +
+                        "from the same property on remote node (make sure all nodes in topology have the same value " +
+                        "of \"cacheMetricsOverCommunication\" property) [locCacheMetricsOverComm=" +
+                        rmtCacheMetricsOverComm + ", rmtCacheMetricsOverComm=" + locCacheMetricsOverComm +
+                        ", locNodeAddrs=" + U.addressesAsString(node) + ", locPort=" + node.discoveryPort() +
+                        ", rmtNodeAddr=" + U.addressesAsString(locNode) + ", locNodeId=" + node.id() +
+                        ", rmtNodeId=" + locNode.id() + ']';
+
+                    nodeCheckError(node, errMsg, sndMsg);
+
+                    // Ignore join request.
+                    msg.spanContainer().span()
+                        .addLog("Ignored")
+                        .setStatus(SpanStatus.ABORTED)
+                        .end();
+
+                    return;
+                }
+
                 // Handle join.
                 node.internalOrder(ring.nextNodeOrder());
 
@@ -6094,8 +6154,10 @@ class ServerImpl extends TcpDiscoveryImpl {
 
                         TcpDiscoveryMetricsUpdateMessage.MetricsSet metricsSet = e.getValue();
 
+                        // Cache metrics received over communication are kept if the message does not carry them.
                         Map<Integer, CacheMetrics> cacheMetrics = msg.hasCacheMetrics(nodeId) ?
-                            msg.cacheMetrics().get(nodeId) : Collections.emptyMap();
+                            msg.cacheMetrics().get(nodeId) :
+                            spi.isCacheMetricsOverCommunication() ? null : Collections.emptyMap();
 
                         updateMetrics(nodeId, metricsSet.metrics(), cacheMetrics, tsNanos);
 
@@ -6109,7 +6171,9 @@ class ServerImpl extends TcpDiscoveryImpl {
                 if (laps == 0 && spiStateCopy() == CONNECTED) {
                     // Message is on its first ring or just created on coordinator.
                     msg.setMetrics(locNodeId, spi.metricsProvider.metrics());
-                    msg.setCacheMetrics(locNodeId, spi.metricsProvider.cacheMetrics());
+
+                    if (!spi.isCacheMetricsOverCommunication())
+                        msg.setCacheMetrics(locNodeId, spi.metricsProvider.cacheMetrics());
 
                     for (Map.Entry<UUID, ClientMessageWorker> e : clientMsgWorkers.entrySet()) {
                         UUID nodeId = e.getKey();
@@ -6175,12 +6239,12 @@ class ServerImpl extends TcpDiscoveryImpl {
         /**
          * @param nodeId Node ID.
          * @param metrics Metrics.
-         * @param cacheMetrics Cache metrics.
+         * @param cacheMetrics Cache metrics or {@code null} to keep the current ones.
          * @param tsNanos Timestamp as returned by {@link System#nanoTime()}.
          */
         private void updateMetrics(UUID nodeId,
             ClusterMetrics metrics,
-            Map<Integer, CacheMetrics> cacheMetrics,
+            @Nullable Map<Integer, CacheMetrics> cacheMetrics,
             long tsNanos)
         {
             assert nodeId != null;
@@ -6190,7 +6254,9 @@ class ServerImpl extends TcpDiscoveryImpl {
 
             if (node != null) {
                 node.setMetrics(metrics);
-                node.setCacheMetrics(cacheMetrics);
+
+                if (cacheMetrics != null)
+                    node.setCacheMetrics(cacheMetrics);
 
                 node.lastUpdateTimeNanos(tsNanos);
 
@@ -6305,16 +6371,13 @@ class ServerImpl extends TcpDiscoveryImpl {
                 }
 
                 if (!msg.verified()) {
-                    msg.verify(getLocalNodeId());
-
-                    msg.spanContainer().span()
-                        .addLog("Verified");
-
-                    msg.topologyVersion(ring.topologyVersion());
+                    verifyCustomMessage(msg);
 
                     if (pendingMsgs.procCustomMsgs.add(msg.id())) {
                         notifyDiscoveryListener(msg, waitForNotification);
 
+                        batchCustomMessages(msg, waitForNotification);
+
                         if (sendMessageToRemotes(msg))
                             sendMessageAcrossRing(msg);
                         else {
@@ -6324,39 +6387,15 @@ class ServerImpl extends TcpDiscoveryImpl {
                         }
                     }
 
-                    msg.message(null, msg.messageBytes());
+                    msg.clearMessage();
                 }
                 else {
                     addMessage(new TcpDiscoveryDiscardMessage(getLocalNodeId(), msg.id(), true));
 
                     spi.stats.onRingMessageReceived(msg);
 
-                    DiscoverySpiCustomMessage msgObj = null;
-
-                    try {
-                        msgObj = msg.message(spi.marshaller(), U.resolveClassLoader(spi.ignite().configuration()));
-                    }
-                    catch (Throwable e) {
-                        U.error(log, "Failed to unmarshal discovery custom message.", e);
-                    }
-
-                    if (msgObj != null) {
-                        DiscoverySpiCustomMessage nextMsg = msgObj.ackMessage();
-
-                        if (nextMsg != null) {
-                            try {
-                                TcpDiscoveryCustomEventMessage ackMsg = new TcpDiscoveryCustomEventMessage(
-                                    getLocalNodeId(), nextMsg, U.marshal(spi.marshaller(), nextMsg));
-
-                                ackMsg.topologyVersion(msg.topologyVersion());
-
-                                processCustomMessage(ackMsg, waitForNotification);
-                            }
-                            catch (IgniteCheckedException e) {
-                                U.error(log, "Failed to marshal discovery custom message.", e);
-                            }
-                        }
-                    }
+                    for (TcpDiscoveryCustomEventMessage msg0 : msg.unpack())
+                        processCustomMessageAck(msg0, waitForNotification);
                 }
             }
             else {
@@ -6378,16 +6417,136 @@ class ServerImpl extends TcpDiscoveryImpl {
                         "msg: " + msg + ", topVer=" + ring.topologyVersion();
 
                     notifyDiscoveryListener(msg, waitForNotification);
+
+                    for (TcpDiscoveryCustomEventMessage msg0 : msg.batch()) {
+                        tracing.messages().afterReceive(msg0);
+
+                        spi.startMessageProcess(msg0);
+
+                        if (pendingMsgs.procCustomMsgs.add(msg0.id()))
+                            notifyDiscoveryListener(msg0, waitForNotification);
+                    }
                 }
 
                 // Clear msg field to prevent possible memory leak.
-                msg.message(null, msg.messageBytes());
+                msg.clearMessage();
 
                 if (sendMessageToRemotes(msg))
                     sendMessageAcrossRing(msg);
             }
         }
 
+        /**
+         * Marks custom message as verified by the coordinator.
+         *
+         * @param msg Message.
+         */
+        private void verifyCustomMessage(TcpDiscoveryCustomEventMessage msg) {
+            msg.verify(getLocalNodeId());
+
+            msg.spanContainer().span()
+                .addLog("Verified");
+
+            msg.topologyVersion(ring.topologyVersion());
+        }
+
+        /**
+         * Packs unverified custom messages waiting at the head of the queue into the given verified message, so
+         * that they pass the ring in a single round instead of being written and acknowledged hop by hop one by one.
+         *
+         * @param msg Verified message.
+         * @param waitForNotification If {@code true} thread will wait when discovery event notification has finished.
+         */
+        private void batchCustomMessages(TcpDiscoveryCustomEventMessage msg, boolean waitForNotification) {
+            if (CUSTOM_EVT_BATCH_SIZE <= 1 || msg.getClass() != TcpDiscoveryCustomEventMessage.class)
+                return;
+
+            Boolean supported = null;
+
+            while (msg.batch().size() + 1 < CUSTOM_EVT_BATCH_SIZE) {
+                TcpDiscoveryAbstractMessage next = queue.peekFirst();
+
+                if (next == null || next.getClass() != TcpDiscoveryCustomEventMessage.class)
+                    break;
+
+                TcpDiscoveryCustomEventMessage next0 = (TcpDiscoveryCustomEventMessage)next;
+
+                if (next0.verified() || next0.topologyVersion() != 0L || next0.failedNodes() != null)
+                    break;
+
+                synchronized (mux) {
+                    if (!joiningNodes.isEmpty() || !pendingCustomMsgs.isEmpty())
+                        break;
+                }
+
+                if (supported == null) {
+                    supported = allNodesSupport(DISCOVERY_CUSTOM_EVENT_BATCH, node -> !node.isClient());
+
+                    if (!supported)
+                        break;
+                }
+
+                if (!queue.removeFirstOccurrence(next0))
+                    break;
+
+                tracing.messages().afterReceive(next0);
+
+                spi.startMessageProcess(next0);
+
+                spi.stats.onMessageProcessingStarted(next0);
+
+                verifyCustomMessage(next0);
+
+                if (pendingMsgs.procCustomMsgs.add(next0.id())) {
+                    notifyDiscoveryListener(next0, waitForNotification);
+
+                    msg.addToBatch(next0);
+                }
+                else
+                    tracing.messages().finishProcessing(next0);
+
+                spi.stats.onMessageProcessingFinished(next0);
+            }
+
+            if (log.isDebugEnabled() && !msg.batch().isEmpty())
+                log.debug("Packed custom messages [msg=" + msg.id() + ", batchSize=" + msg.batch().size() + ']');
+        }
+
+        /**
+         * Processes custom message that has passed the ring: creates and sends acknowledgement message if needed.
+         *
+         * @param msg Verified message.
+         * @param waitForNotification If {@code true} thread will wait when discovery event notification has finished.
+         */
+        private void processCustomMessageAck(TcpDiscoveryCustomEventMessage msg, boolean waitForNotification) {
+            DiscoverySpiCustomMessage msgObj = null;
+
+            try {
+                msgObj = msg.message(spi.marshaller(), U.resolveClassLoader(spi.ignite().configuration()));
+            }
+            catch (Throwable e) {
+                U.error(log, "Failed to unmarshal discovery custom message.", e);
+            }
+
+            if (msgObj != null) {
+                DiscoverySpiCustomMessage nextMsg = msgObj.ackMessage();
+
+                if (nextMsg != null) {
+                    try {
+                        TcpDiscoveryCustomEventMessage ackMsg = new TcpDiscoveryCustomEventMessage(
+                            getLocalNodeId(), nextMsg, U.marshal(spi.marshaller(), nextMsg));
+
+                        ackMsg.topologyVersion(msg.topologyVersion());
+
+                        processCustomMessage(ackMsg, waitForNotification);
+                    }
+                    catch (IgniteCheckedException e) {
+                        U.error(log, "Failed to marshal discovery custom message.", e);
+                    }
+                }
+            }
+        }
+
         /**
          * Checks failed nodes list and sends {@link TcpDiscoveryNodeFailedMessage} if failed node is still in the
          * ring and node detected failure left ring.
@@ -238,6 +238,12 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** Node attribute that is mapped to node's external addresses (value is <tt>disc.tcp.ext-addrs</tt>). */
     public static final String ATTR_EXT_ADDRS = "disc.tcp.ext-addrs";
 
+    /**
+     * Node attribute that is mapped to node's cache metrics over communication flag
+     * (value is <tt>disc.tcp.cache-metrics-over-comm</tt>).
+     */
+    public static final String ATTR_CACHE_METRICS_OVER_COMM = "disc.tcp.cache-metrics-over-comm";
+
     /** Default local port range (value is <tt>100</tt>). */
     public static final int DFLT_PORT_RANGE = 100;
 
@@ -422,6 +428,9 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** */
     private boolean clientReconnectDisabled;
 
+    /** Exchange cache metrics over communication SPI instead of the ring. */
+    private boolean cacheMetricsOverCommunication;
+
     /** */
     private Serializable consistentId;
 
@@ -588,6 +597,37 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         this.clientReconnectDisabled = clientReconnectDisabled;
     }
 
+    /**
+     * If {@code true} cache metrics are not added to metrics update messages circulating around the ring,
+     * nodes send them over communication SPI to the coordinator, which distributes metrics updated since
+     * the previous round to all nodes.
+     *
+     * @return Cache metrics over communication flag.
+     */
+    public boolean isCacheMetricsOverCommunication() {
+        return cacheMetricsOverCommunication;
+    }
+
+    /**
+     * Sets cache metrics over communication flag.
+     * <p>
+     * If {@code true} cache metrics are not added to metrics update messages circulating around the ring,
+     * which keeps size of these messages independent of the number of caches. Metrics update messages are still
+     * used to check the ring and carry node metrics. Must be the same on all nodes, a node with a different value
+     * is not allowed to join the cluster.
+     * <p>
+     * If not provided, default value is {@code false}.
+     *
+     * @param cacheMetricsOverCommunication Cache metrics over communication flag.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpDiscoverySpi setCacheMetricsOverCommunication(boolean cacheMetricsOverCommunication) {
+        this.cacheMetricsOverCommunication = cacheMetricsOverCommunication;
+
+        return this;
+    }
+
     /**
      * Inject resources
      *
@@ -1183,6 +1223,8 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
             }
         }
 
+        locNodeAttrs.put(createSpiAttributeName(ATTR_CACHE_METRICS_OVER_COMM), cacheMetricsOverCommunication);
+
         locNode.setAttributes(locNodeAttrs);
         locNode.local(true);
 
@@ -1211,6 +1253,16 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         return res;
     }
 
+    /**
+     * @param node Node.
+     * @return Cache metrics over communication flag of provided node.
+     */
+    boolean cacheMetricsOverCommunication(ClusterNode node) {
+        Boolean attr = node.attribute(createSpiAttributeName(ATTR_CACHE_METRICS_OVER_COMM));
+
+        return attr != null ? attr : false;
+    }
+
     /**
      * @param node Node.
      * @param sameHost Same host flag.
@@ -1421,6 +1473,55 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         return stats.coordinatorSinceTimestamp();
     }
 
+    /**
+     * Gets time it took local node to join topology.
+     *
+     * @return Join duration in milliseconds or {@code 0} if local node has not joined topology yet.
+     */
+    public long getJoinDuration() {
+        long joinFinished = stats.joinFinished();
+
+        return joinFinished > 0 ? joinFinished - stats.joinStarted() : 0;
+    }
+
+    /**
+     * Gets average time it takes for messages to pass the full ring. Collected on coordinator.
+     *
+     * @return Average full ring pass time in milliseconds.
+     */
+    public long getAvgRingMessageTime() {
+        return stats.avgRingMessageTime();
+    }
+
+    /**
+     * Gets max time it takes for messages to pass the full ring. Collected on coordinator.
+     *
+     * @return Max full ring pass time in milliseconds.
+     */
+    public long getMaxRingMessageTime() {
+        return stats.maxRingMessageTime();
+    }
+
+    /**
+     * Gets average time local node spends on attempts to send message to the next node before the node is
+     * considered failed.
+     *
+     * @return Average failure detection time in milliseconds.
+     */
+    public long getAvgFailureDetectionTime() {
+        return stats.avgFailureDetectionTime();
+    }
+
+    /**
+     * Gets max time local node spends on attempts to send message to the next node before the node is
+     * considered failed.
+     *
+     * @return Max failure detection time in milliseconds.
+     */
+    public long getMaxFailureDetectionTime() {
+        return stats.maxFailureDetectionTime();
+    }
+
     /** {@inheritDoc} */
     @Override protected void onContextInitialized0(IgniteSpiContext spiCtx) throws IgniteSpiException {
         super.onContextInitialized0(spiCtx);
@@ -2204,6 +2305,7 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
             log.debug(configInfo("ipFinder", ipFinder));
             log.debug(configInfo("ipFinderCleanFreq", ipFinderCleanFreq));
             log.debug(configInfo("metricsUpdateFreq", metricsUpdateFreq));
+            log.debug(configInfo("cacheMetricsOverCommunication", cacheMetricsOverCommunication));
             log.debug(configInfo("statsPrintFreq", statsPrintFreq));
         }
 
@@ -2697,6 +2799,31 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
             return TcpDiscoverySpi.this.getCoordinatorSinceTimestamp();
         }
 
+        /** {@inheritDoc} */
+        @Override public long getJoinDuration() {
+            return TcpDiscoverySpi.this.getJoinDuration();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getAvgRingMessageTime() {
+            return TcpDiscoverySpi.this.getAvgRingMessageTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getMaxRingMessageTime() {
+            return TcpDiscoverySpi.this.getMaxRingMessageTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getAvgFailureDetectionTime() {
+            return TcpDiscoverySpi.this.getAvgFailureDetectionTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getMaxFailureDetectionTime() {
+            return TcpDiscoverySpi.this.getMaxFailureDetectionTime();
+        }
+
         /** {@inheritDoc} */
         @Override public void checkRingLatency(int maxHops) {
             TcpDiscoverySpi.this.impl.checkRingLatency(maxHops);
@@ -213,6 +213,48 @@ public interface TcpDiscoverySpiMBean extends IgniteSpiManagementMBean, Discover
     @MXBeanDescription("Local node is coordinator since.")
     public long getCoordinatorSinceTimestamp();
 
+    /**
+     * Gets time it took local node to join topology.
+     *
+     * @return Join duration in milliseconds or {@code 0} if local node has not joined topology yet.
+     */
+    @MXBeanDescription("Time it took local node to join topology in milliseconds.")
+    public long getJoinDuration();
+
+    /**
+     * Gets average time it takes for messages to pass the full ring. Collected on coordinator.
+     *
+     * @return Average full ring pass time in milliseconds.
+     */
+    @MXBeanDescription("Avg time it takes for messages to pass the full ring in milliseconds (on coordinator).")
+    public long getAvgRingMessageTime();
+
+    /**
+     * Gets max time it takes for messages to pass the full ring. Collected on coordinator.
+     *
+     * @return Max full ring pass time in milliseconds.
+     */
+    @MXBeanDescription("Max time it takes for messages to pass the full ring in milliseconds (on coordinator).")
+    public long getMaxRingMessageTime();
+
+    /**
+     * Gets average time local node spends on attempts to send message to the next node before the node is
+     * considered failed.
+     *
+     * @return Average failure detection time in milliseconds.
+     */
+    @MXBeanDescription("Avg time it takes to detect failure of the next node in milliseconds.")
+    public long getAvgFailureDetectionTime();
+
+    /**
+     * Gets max time local node spends on attempts to send message to the next node before the node is
+     * considered failed.
+     *
+     * @return Max failure detection time in milliseconds.
+     */
+    @MXBeanDescription("Max time it takes to detect failure of the next node in milliseconds.")
+    public long getMaxFailureDetectionTime();
+
     /**
      * Gets current coordinator.
      *
@@ -152,6 +152,15 @@ public class TcpDiscoveryStatistics {
     /** Pending messages discarded count. */
     private int pendingMsgsDiscarded;
 
+    /** Number of next node failures detected by local node. */
+    private int failureDetectionsCnt;
+
+    /** Average time it takes to detect failure of the next node. */
+    private long avgFailureDetectionTime;
+
+    /** Max time it takes to detect failure of the next node. */
+    private long maxFailureDetectionTime;
+
     /**
      * Increments joined nodes count.
      */
@@ -401,6 +410,15 @@ public class TcpDiscoveryStatistics {
         }
     }
 
+    /**
+     * Gets average time for ring message to make full pass.
+     *
+     * @return Average full pass time.
+     */
+    public synchronized long avgRingMessageTime() {
+        return avgRingMsgTime;
+    }
+
     /**
      * Gets max time for ring message to make full pass.
      *
@@ -456,6 +474,39 @@ public class TcpDiscoveryStatistics {
         avgClientSockInitTime = (avgClientSockInitTime * (clientSockCreatedCnt - 1) + initTime) / clientSockCreatedCnt;
     }
 
+    /**
+     * Called when local node detects failure of the next node in the ring.
+     *
+     * @param time Time spent on attempts to send message to the next node before it has been considered failed.
+     */
+    public synchronized void onFailureDetected(long time) {
+        failureDetectionsCnt++;
+
+        if (maxFailureDetectionTime < time)
+            maxFailureDetectionTime = time;
+
+        avgFailureDetectionTime = (avgFailureDetectionTime * (failureDetectionsCnt - 1) + time) /
+            failureDetectionsCnt;
+    }
+
+    /**
+     * Gets average time it takes to detect failure of the next node.
+     *
+     * @return Average failure detection time.
+     */
+    public synchronized long avgFailureDetectionTime() {
+        return avgFailureDetectionTime;
+    }
+
+    /**
+     * Gets max time it takes to detect failure of the next node.
+     *
+     * @return Max failure detection time.
+     */
+    public synchronized long maxFailureDetectionTime() {
+        return maxFailureDetectionTime;
+    }
+
     /**
      * Increments pending messages registered count.
      */
@@ -655,6 +706,7 @@ public class TcpDiscoveryStatistics {
     public synchronized void clear() {
         ackTimeoutsCnt = 0;
         avgClientSockInitTime = 0;
+        avgFailureDetectionTime = 0;
         avgMsgProcTime = 0;
         avgMsgQueueTime = 0;
         avgMsgsAckTimes.clear();
@@ -664,11 +716,13 @@ public class TcpDiscoveryStatistics {
         clientSockCreatedCnt = 0;
         crdSinceTs.set(0);
         failedNodesCnt = 0;
+        failureDetectionsCnt = 0;
         joinedNodesCnt = 0;
         joinFinishedTs = 0;
         joinStartedTs = 0;
         leftNodesCnt = 0;
         maxClientSockInitTime = 0;
+        maxFailureDetectionTime = 0;
         maxMsgProcTime = 0;
         maxMsgQueueTime = 0;
         maxMsgsAckTimes.clear();
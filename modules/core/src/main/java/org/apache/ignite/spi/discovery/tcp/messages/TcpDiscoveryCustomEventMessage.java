@@ -16,6 +16,9 @@
 
 package org.apache.ignite.spi.discovery.tcp.messages;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.managers.discovery.CustomMessageWrapper;
@@ -48,6 +51,9 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractMessage
     /** Span container. */
     private SpanContainer spanContainer = new SpanContainer();
 
+    /** Messages packed into this one to pass the ring together, {@code null} if nothing is packed. */
+    @Nullable private List<TcpDiscoveryCustomEventMessage> batch;
+
     /**
      * @param creatorNodeId Creator node id.
      * @param msg Message.
@@ -71,13 +77,66 @@ public class TcpDiscoveryCustomEventMessage extends TcpDiscoveryAbstractMessage
         this.msgBytes = msg.msgBytes;
         this.msg = msg.msg;
         this.spanContainer = msg.spanContainer;
+
+        if (msg.batch != null) {
+            batch = new ArrayList<>(msg.batch.size());
+
+            for (TcpDiscoveryCustomEventMessage msg0 : msg.batch)
+                batch.add(new TcpDiscoveryCustomEventMessage(msg0));
+        }
     }
 
     /**
-     * Clear deserialized form of wrapped message.
+     * Clear deserialized form of wrapped message and of the batched messages.
      */
     public void clearMessage() {
         msg = null;
+
+        if (batch != null) {
+            for (TcpDiscoveryCustomEventMessage msg0 : batch)
+                msg0.clearMessage();
+        }
+    }
+
+    /**
+     * Packs the given message into this one, so that it passes the ring along with this message.
+     * Batched messages are processed in order right after this message.
+     *
+     * @param msg Message to pack.
+     */
+    public void addToBatch(TcpDiscoveryCustomEventMessage msg) {
+        assert msg.batch == null : msg;
+
+        if (batch == null)
+            batch = new ArrayList<>();
+
+        batch.add(msg);
+    }
+
+    /**
+     * @return Messages packed into this one.
+     */
+    public List<TcpDiscoveryCustomEventMessage> batch() {
+        return batch == null ? Collections.emptyList() : batch;
+    }
+
+    /**
+     * @return This message without the batch followed by the batched messages.
+     */
+    public List<TcpDiscoveryCustomEventMessage> unpack() {
+        if (batch == null)
+            return Collections.singletonList(this);
+
+        List<TcpDiscoveryCustomEventMessage> res = new ArrayList<>(batch.size() + 1);
+
+        TcpDiscoveryCustomEventMessage head = new TcpDiscoveryCustomEventMessage(this);
+
+        head.batch = null;
+
+        res.add(head);
+        res.addAll(batch);
+
+        return res;
     }
 
     /**
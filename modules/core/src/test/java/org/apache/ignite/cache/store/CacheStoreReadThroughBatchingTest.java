@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.cache.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.integration.CacheLoaderException;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+
+/**
+ * Checks that concurrent read-through loads are collected into batches.
+ */
+public class CacheStoreReadThroughBatchingTest extends GridCommonAbstractTest {
+    /** Number of loader threads. */
+    private static final int THREADS = 16;
+
+    /** Number of {@code loadAll} calls. */
+    private static final AtomicInteger loadAllCnt = new AtomicInteger();
+
+    /** Number of loaded keys. */
+    private static final AtomicInteger loadedCnt = new AtomicInteger();
+
+    /** Store failure flag. */
+    private static volatile boolean fail;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCacheConfiguration(
+            cacheConfiguration("atomic", ATOMIC),
+            cacheConfiguration("tx", TRANSACTIONAL));
+    }
+
+    /**
+     * @param name Cache name.
+     * @param atomicityMode Atomicity mode.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, String> cacheConfiguration(String name, CacheAtomicityMode atomicityMode) {
+        return new CacheConfiguration<Integer, String>(name)
+            .setAtomicityMode(atomicityMode)
+            .setWriteSynchronizationMode(FULL_SYNC)
+            .setAffinity(new RendezvousAffinityFunction(false, 32))
+            .setReadThrough(true)
+            .setReadThroughBatchWindow(50)
+            .setReadThroughBatchSize(64)
+            .setReadThroughBatchThreadCount(2)
+            .setCacheStoreFactory(FactoryBuilder.factoryOf(TestStore.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrid(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        loadAllCnt.set(0);
+        loadedCnt.set(0);
+
+        fail = false;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).cache("atomic").clear();
+        grid(0).cache("tx").clear();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAtomic() throws Exception {
+        checkBatching("atomic");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactional() throws Exception {
+        checkBatching("tx");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStoreFailure() throws Exception {
+        IgniteCache<Integer, String> cache = grid(0).cache("atomic");
+
+        fail = true;
+
+        GridTestUtils.assertThrows(log, () -> cache.get(1), CacheLoaderException.class, null);
+
+        fail = false;
+
+        assertEquals("val-1", cache.get(1));
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @throws Exception If failed.
+     */
+    private void checkBatching(String cacheName) throws Exception {
+        final IgniteCache<Integer, String> cache = grid(0).cache(cacheName);
+
+        final int keysPerThread = 8;
+
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        final AtomicInteger idx = new AtomicInteger();
+
+        // Every thread reads its own keys, all threads read key 0.
+        GridTestUtils.runMultiThreaded(() -> {
+            int threadIdx = idx.getAndIncrement();
+
+            barrier.await();
+
+            assertEquals("val-0", cache.get(0));
+
+            for (int i = 1; i <= keysPerThread; i++) {
+                int key = threadIdx * keysPerThread + i;
+
+                assertEquals("val-" + key, cache.get(key));
+            }
+
+            return null;
+        }, THREADS, "reader");
+
+        // Every key is loaded once.
+        assertEquals(THREADS * keysPerThread + 1, loadedCnt.get());
+
+        // Concurrent loads are collected into batches.
+        assertTrue("Too many store calls: " + loadAllCnt.get(), loadAllCnt.get() < THREADS * keysPerThread / 2);
+
+        // Values are not loaded again.
+        for (int i = 0; i <= THREADS * keysPerThread; i++)
+            assertEquals("val-" + i, cache.get(i));
+
+        assertEquals(THREADS * keysPerThread + 1, loadedCnt.get());
+
+        // Absent keys.
+        assertNull(cache.get(-1));
+
+        Map<Integer, String> res = cache.getAll(new TreeSet<>(Arrays.asList(-2, -3, 1000)));
+
+        assertEquals(1, res.size());
+        assertEquals("val-1000", res.get(1000));
+    }
+
+    /**
+     * Test store.
+     */
+    public static class TestStore extends CacheStoreAdapter<Integer, String> {
+        /** {@inheritDoc} */
+        @Override public String load(Integer key) throws CacheLoaderException {
+            return loadAll(Collections.singletonList(key)).get(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<Integer, String> loadAll(Iterable<? extends Integer> keys) {
+            if (fail)
+                throw new CacheLoaderException("Test store failure.");
+
+            loadAllCnt.incrementAndGet();
+
+            Map<Integer, String> res = new HashMap<>();
+
+            List<Integer> keys0 = new ArrayList<>();
+
+            for (Integer key : keys)
+                keys0.add(key);
+
+            loadedCnt.addAndGet(keys0.size());
+
+            for (Integer key : keys0) {
+                if (key >= 0)
+                    res.put(key, "val-" + key);
+            }
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(Cache.Entry<? extends Integer, ? extends String> entry) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete(Object key) {
+            // No-op.
+        }
+    }
+}
@@ -16,6 +16,15 @@
 
 package org.apache.ignite.client;
 
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -34,6 +43,9 @@ import org.apache.ignite.configuration.ClientConfiguration;
 import org.apache.ignite.configuration.ClientConnectorConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+import org.apache.ignite.internal.binary.streams.BinaryHeapOutputStream;
+import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.junit.Test;
@@ -54,6 +66,9 @@ public class AsyncChannelTest extends GridCommonAbstractTest {
     /** Client connector address. */
     private static final String CLIENT_CONN_ADDR = "127.0.0.1:" + ClientConnectorConfiguration.DFLT_PORT;
 
+    /** Port of the fake server. */
+    private static final int FAKE_SRV_PORT = ClientConnectorConfiguration.DFLT_PORT + 200;
+
     /** {@inheritDoc} */
     @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
         return super.getConfiguration(igniteInstanceName).setCacheConfiguration(
@@ -194,4 +209,172 @@ public class AsyncChannelTest extends GridCommonAbstractTest {
             }, THREADS_CNT, "thin-client-thread");
         }
     }
+
+    /**
+     * Test that async operations are pipelined and do not wait for the blocked one.
+     */
+    @Test
+    public void testAsyncCacheOperations() throws Exception {
+        try (IgniteClient client = Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR))) {
+            IgniteCache<Integer, Integer> igniteCache = grid(0).cache(CACHE_NAME);
+            ClientCache<Integer, Integer> clientCache = client.cache(CACHE_NAME);
+
+            clientCache.clearAsync().get();
+
+            Lock keyLock = igniteCache.lock(0);
+
+            IgniteFuture<Void> blockedFut;
+
+            keyLock.lock();
+
+            try {
+                // This request is blocked until the key is unlocked.
+                blockedFut = clientCache.putAsync(0, 0);
+
+                List<IgniteFuture<Void>> futs = new ArrayList<>();
+
+                for (int i = 1; i < 100; i++)
+                    futs.add(clientCache.putAsync(i, i));
+
+                for (IgniteFuture<Void> fut : futs)
+                    fut.get();
+
+                assertFalse(blockedFut.isDone());
+
+                assertEquals((Integer)1, clientCache.getAsync(1).get());
+                assertTrue(clientCache.containsKeyAsync(1).get());
+                assertFalse(clientCache.containsKeyAsync(0).get());
+            }
+            finally {
+                keyLock.unlock();
+            }
+
+            blockedFut.get();
+
+            assertEquals(100, (int)clientCache.sizeAsync(CachePeekMode.PRIMARY).get());
+
+            Map<Integer, Integer> vals = clientCache.getAllAsync(new HashSet<>(Arrays.asList(1, 2, 100))).get();
+
+            assertEquals(2, vals.size());
+            assertEquals((Integer)2, vals.get(2));
+
+            assertEquals((Integer)1, clientCache.getAndPutAsync(1, 10).get());
+            assertTrue(clientCache.replaceAsync(1, 10, 11).get());
+            assertFalse(clientCache.putIfAbsentAsync(1, 12).get());
+            assertEquals((Integer)11, clientCache.getAndRemoveAsync(1).get());
+            assertFalse(clientCache.removeAsync(1).get());
+
+            clientCache.removeAllAsync().get();
+
+            assertEquals(0, clientCache.size());
+        }
+    }
+
+    /**
+     * Test that continuation of async operation can use synchronous operations of the same client.
+     */
+    @Test
+    public void testSyncOperationInContinuation() throws Exception {
+        try (IgniteClient client = Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR))) {
+            ClientCache<Integer, Integer> clientCache = client.cache(CACHE_NAME);
+
+            clientCache.put(1, 1);
+            clientCache.put(2, 2);
+
+            IgniteFuture<Integer> fut = clientCache.getAsync(1).chain(f -> f.get() + clientCache.get(2));
+
+            assertEquals((Integer)3, fut.get());
+
+            assertTrue(client.cacheNamesAsync().get().contains(CACHE_NAME));
+        }
+    }
+
+    /**
+     * Test that pending async operations fail when client is closed.
+     */
+    @Test
+    public void testPendingRequestsFailOnClose() throws Exception {
+        IgniteCache<Integer, Integer> igniteCache = grid(0).cache(CACHE_NAME);
+
+        Lock keyLock = igniteCache.lock(0);
+
+        keyLock.lock();
+
+        try {
+            IgniteClient client = Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR));
+
+            IgniteFuture<Void> fut = client.<Integer, Integer>cache(CACHE_NAME).putAsync(0, 0);
+
+            client.close();
+
+            GridTestUtils.assertThrows(log, () -> fut.get(getTestTimeout()), ClientException.class, null);
+        }
+        finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Test that idle channel survives socket timeouts.
+     */
+    @Test
+    public void testIdleChannelTimeout() throws Exception {
+        ClientConfiguration cfg = new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR).setTimeout(1_000);
+
+        try (IgniteClient client = Ignition.startClient(cfg)) {
+            ClientCache<Integer, Integer> clientCache = client.cache(CACHE_NAME);
+
+            clientCache.put(0, 0);
+
+            doSleep(3_000);
+
+            assertEquals((Integer)0, clientCache.get(0));
+        }
+    }
+
+    /**
+     * Test that channel is closed if socket times out in the middle of a response.
+     */
+    @Test
+    public void testTimeoutInTheMiddleOfResponse() throws Exception {
+        try (ServerSocket srv = new ServerSocket(FAKE_SRV_PORT)) {
+            IgniteInternalFuture<IgniteClient> cliFut = GridTestUtils.runAsync(() -> Ignition.startClient(
+                new ClientConfiguration().setAddresses("127.0.0.1:" + FAKE_SRV_PORT).setTimeout(200)));
+
+            try (Socket sock = srv.accept()) {
+                DataInputStream in = new DataInputStream(sock.getInputStream());
+                OutputStream out = sock.getOutputStream();
+
+                // Skip handshake request.
+                in.skipBytes(Integer.reverseBytes(in.readInt()));
+
+                BinaryHeapOutputStream res = new BinaryHeapOutputStream(32);
+
+                res.writeInt(18);
+                res.writeBoolean(true);
+                res.writeByte(GridBinaryMarshaller.UUID);
+                res.writeLong(0);
+                res.writeLong(1);
+
+                out.write(res.array(), 0, res.position());
+                out.flush();
+
+                try (IgniteClient ignored = cliFut.get(getTestTimeout())) {
+                    // Send only size and a part of the header of the next response.
+                    res = new BinaryHeapOutputStream(8);
+
+                    res.writeInt(20);
+                    res.writeShort((short)0);
+
+                    out.write(res.array(), 0, res.position());
+                    out.flush();
+
+                    sock.setSoTimeout((int)getTestTimeout());
+
+                    // Stream is inconsistent, so client must close the channel instead of waiting for more data.
+                    assertEquals(-1, in.read());
+                }
+            }
+        }
+    }
 }
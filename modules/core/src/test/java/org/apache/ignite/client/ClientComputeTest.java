@@ -0,0 +1,308 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.ComputeJobAdapter;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.compute.ComputeTaskSplitAdapter;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.lang.IgniteRunnable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests thin client compute.
+ */
+public class ClientComputeTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Client connector address. */
+    private static final String CLIENT_CONN_ADDR = "127.0.0.1:" + ClientConnectorConfiguration.DFLT_PORT;
+
+    /** Max active compute tasks per connection. */
+    private static final int MAX_ACTIVE_TASKS = 2;
+
+    /** Index of the node with thin client compute disabled. */
+    private static final int COMPUTE_DISABLED_NODE_IDX = 2;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME));
+
+        if (getTestIgniteInstanceIndex(igniteInstanceName) != COMPUTE_DISABLED_NODE_IDX) {
+            cfg.setClientConnectorConfiguration(new ClientConnectorConfiguration()
+                .setThinClientComputeEnabled(true)
+                .setMaxActiveComputeTasksPerConnection(MAX_ACTIVE_TASKS));
+        }
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        awaitPartitionMapExchange();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExecute() throws Exception {
+        try (IgniteClient client = startClient()) {
+            int res = client.compute().execute(WordLengthTask.class.getName(), "a bb ccc");
+
+            assertEquals(6, res);
+
+            IgniteFuture<Integer> fut = client.compute().executeAsync(WordLengthTask.class.getName(), "dddd");
+
+            assertEquals(4, (int)fut.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTaskFailure() throws Exception {
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrows(log, () -> client.compute().execute(WordLengthTask.class.getName(), null),
+                ClientException.class, "Argument is null");
+
+            GridTestUtils.assertThrows(log, () -> client.compute().execute("missing.Task", "abc"),
+                ClientException.class, null);
+
+            // Connection is still usable.
+            assertEquals(1, (int)client.compute().execute(WordLengthTask.class.getName(), "a"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrows(log,
+                () -> client.compute().withTimeout(100).execute(SleepTask.class.getName(), 10_000L),
+                ClientException.class, null);
+
+            assertEquals(Long.valueOf(1L), client.compute().withNoFailover().execute(SleepTask.class.getName(), 1L));
+
+            // Job results are not passed to reduce if result cache is disabled.
+            assertNull(client.compute().withNoResultCache().execute(SleepTask.class.getName(), 1L));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAffinityRun() throws Exception {
+        try (IgniteClient client = startClient()) {
+            for (int key = 0; key < 10; key++) {
+                client.compute().affinityRun(CACHE_NAME, key, new PutJob(key));
+
+                Ignite primary = grid(0).affinity(CACHE_NAME).isPrimary(grid(0).localNode(), key) ? grid(0) : grid(1);
+
+                assertEquals(primary.name(), grid(0).cache(CACHE_NAME).get(key));
+            }
+
+            client.compute().affinityRunAsync(CACHE_NAME, -1, new PutJob(-1)).get(10, TimeUnit.SECONDS);
+
+            assertNotNull(grid(0).cache(CACHE_NAME).get(-1));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testActiveTasksLimit() throws Exception {
+        try (IgniteClient client = startClient()) {
+            List<IgniteFuture<Long>> futs = new ArrayList<>();
+
+            for (int i = 0; i < MAX_ACTIVE_TASKS; i++)
+                futs.add(client.compute().executeAsync(SleepTask.class.getName(), 1_000L));
+
+            // Requests are processed concurrently, wait for the tasks to be started before the limit is checked.
+            assertTrue(GridTestUtils.waitForCondition(
+                () -> grid(0).compute().activeTaskFutures().size() == MAX_ACTIVE_TASKS, 5_000));
+
+            GridTestUtils.assertThrows(log, () -> client.compute().execute(SleepTask.class.getName(), 1L),
+                ClientException.class, "Active compute tasks per connection limit");
+
+            for (IgniteFuture<Long> fut : futs)
+                assertEquals(Long.valueOf(1_000L), fut.get(10, TimeUnit.SECONDS));
+
+            // Completed tasks release the limit.
+            for (int i = 0; i < MAX_ACTIVE_TASKS; i++)
+                futs.set(i, client.compute().executeAsync(SleepTask.class.getName(), 1L));
+
+            for (IgniteFuture<Long> fut : futs)
+                assertEquals(Long.valueOf(1L), fut.get(10, TimeUnit.SECONDS));
+
+            // Failed tasks release the limit.
+            for (int i = 0; i < MAX_ACTIVE_TASKS + 1; i++) {
+                GridTestUtils.assertThrows(log, () -> client.compute().execute("missing.Task", "abc"),
+                    ClientException.class, null);
+            }
+
+            assertEquals(1, (int)client.compute().execute(WordLengthTask.class.getName(), "a"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testComputeDisabled() throws Exception {
+        startGrid(COMPUTE_DISABLED_NODE_IDX);
+
+        try (IgniteClient client = Ignition.startClient(new ClientConfiguration()
+            .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + COMPUTE_DISABLED_NODE_IDX)))) {
+            GridTestUtils.assertThrows(log, () -> client.compute().execute(WordLengthTask.class.getName(), "a"),
+                ClientException.class, "Compute task execution is disabled");
+
+            GridTestUtils.assertThrows(log, () -> {
+                client.compute().affinityRun(CACHE_NAME, 0, new PutJob(0));
+
+                return null;
+            }, ClientException.class, "Compute task execution is disabled");
+
+            // Connection is still usable.
+            client.cache(CACHE_NAME).put(0, "0");
+        }
+        finally {
+            stopGrid(COMPUTE_DISABLED_NODE_IDX);
+        }
+    }
+
+    /**
+     * @return Thin client.
+     */
+    private static IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR));
+    }
+
+    /**
+     * Calculates total length of the words of the string argument, one job per word. Fails on {@code null} argument.
+     */
+    public static class WordLengthTask extends ComputeTaskSplitAdapter<String, Integer> {
+        /** {@inheritDoc} */
+        @Override protected Collection<? extends ComputeJob> split(int gridSize, String arg) {
+            if (arg == null)
+                throw new IgniteException("Argument is null");
+
+            String[] words = arg.split(" ");
+
+            List<ComputeJob> jobs = new ArrayList<>(words.length);
+
+            for (String word : words) {
+                jobs.add(new ComputeJobAdapter(word) {
+                    @Override public Object execute() {
+                        return this.<String>argument(0).length();
+                    }
+                });
+            }
+
+            return jobs;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Integer reduce(List<ComputeJobResult> results) {
+            int sum = 0;
+
+            for (ComputeJobResult res : results)
+                sum += res.<Integer>getData();
+
+            return sum;
+        }
+    }
+
+    /**
+     * Sleeps for the given number of milliseconds and returns it, or {@code null} if job results are not cached.
+     */
+    public static class SleepTask extends ComputeTaskSplitAdapter<Long, Long> {
+        /** {@inheritDoc} */
+        @Override protected Collection<? extends ComputeJob> split(int gridSize, Long arg) {
+            return Collections.singletonList(new ComputeJobAdapter(arg) {
+                @Override public Object execute() {
+                    try {
+                        U.sleep(argument(0));
+                    }
+                    catch (IgniteInterruptedCheckedException e) {
+                        throw new IgniteException(e);
+                    }
+
+                    return argument(0);
+                }
+            });
+        }
+
+        /** {@inheritDoc} */
+        @Override public Long reduce(List<ComputeJobResult> results) {
+            return results.isEmpty() ? null : results.get(0).getData();
+        }
+    }
+
+    /**
+     * Puts name of the executing node by the affinity key.
+     */
+    public static class PutJob implements IgniteRunnable {
+        /** Key. */
+        private final int key;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient Ignite ignite;
+
+        /**
+         * @param key Key.
+         */
+        public PutJob(int key) {
+            this.key = key;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            ignite.cache(CACHE_NAME).put(key, ignite.name());
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javax.cache.Cache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.client.thin.ClientServerError;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.odbc.ClientListenerProcessor.CLIENT_CONNECTOR_METRICS;
+
+/**
+ * Tests thread pool isolation of request categories and load shedding of the client connector.
+ */
+public class ClientConnectorAdmissionControlTest extends GridCommonAbstractTest {
+    /** Client connector address. */
+    private static final String CLIENT_CONN_ADDR = "127.0.0.1:" + ClientConnectorConfiguration.DFLT_PORT;
+
+    /** Max request queue time. */
+    private static final long MAX_QUEUE_TIME = 200;
+
+    /** Latch released when the blocking filter is invoked. */
+    private static volatile CountDownLatch filterStarted;
+
+    /** Latch which blocks the filter. */
+    private static volatile CountDownLatch filterUnblocked;
+
+    /** Client connector configuration. */
+    private ClientConnectorConfiguration cliConnCfg;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setClientConnectorConfiguration(cliConnCfg)
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        filterStarted = new CountDownLatch(1);
+        filterUnblocked = new CountDownLatch(1);
+
+        cliConnCfg = new ClientConnectorConfiguration().setSqlThreadPoolSize(1);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        filterUnblocked.countDown();
+
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueriesDoNotBlockKeyValueRequests() throws Exception {
+        startGrid(0).cache(DEFAULT_CACHE_NAME).put(0, 0);
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> blockedFut = runBlockingQuery(cache);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> queuedFut =
+                GridTestUtils.runAsync(() -> cache.query(new ScanQuery<Integer, Integer>()).getAll());
+
+            assertTrue(GridTestUtils.waitForCondition(() -> metric("SqlQueueSize") == 1, getTestTimeout()));
+
+            for (int i = 1; i < 100; i++) {
+                cache.put(i, i);
+
+                assertEquals(i, (int)cache.get(i));
+            }
+
+            assertEquals(0, metric("KeyValueQueueSize"));
+            assertFalse(queuedFut.isDone());
+
+            filterUnblocked.countDown();
+
+            assertEquals(1, blockedFut.get().size());
+            assertEquals(100, queuedFut.get().size());
+
+            assertEquals(0, metric("SqlQueueSize"));
+            assertEquals(0, metric("SqlRejected"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRequestsQueuedForTooLongRejected() throws Exception {
+        cliConnCfg.setMaxRequestQueueTime(MAX_QUEUE_TIME);
+
+        startGrid(0).cache(DEFAULT_CACHE_NAME).put(0, 0);
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> blockedFut = runBlockingQuery(cache);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> queuedFut =
+                GridTestUtils.runAsync(() -> cache.query(new ScanQuery<Integer, Integer>()).getAll());
+
+            assertTrue(GridTestUtils.waitForCondition(() -> metric("SqlQueueSize") == 1, getTestTimeout()));
+
+            U.sleep(MAX_QUEUE_TIME * 2);
+
+            filterUnblocked.countDown();
+
+            assertEquals(1, blockedFut.get().size());
+
+            assertServerBusy(queuedFut);
+
+            assertEquals(1, metric("SqlRejected"));
+            assertEquals(1, metric("SqlRejectionRate"));
+
+            // Requests are processed again when the node is not overloaded.
+            assertEquals(1, cache.query(new ScanQuery<Integer, Integer>()).getAll().size());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInFlightRequestsLimit() throws Exception {
+        cliConnCfg.setMaxInFlightRequestsPerConnection(1);
+
+        startGrid(0).cache(DEFAULT_CACHE_NAME).put(0, 0);
+
+        try (IgniteClient client1 = startClient(); IgniteClient client2 = startClient()) {
+            ClientCache<Integer, Integer> cache1 = client1.cache(DEFAULT_CACHE_NAME);
+            ClientCache<Integer, Integer> cache2 = client2.cache(DEFAULT_CACHE_NAME);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> blockedFut = runBlockingQuery(cache1);
+
+            assertServerBusy(GridTestUtils.runAsync(() -> cache1.put(1, 1)));
+
+            assertEquals(1, metric("KeyValueRejected"));
+
+            // Limit is per connection.
+            cache2.put(1, 1);
+
+            filterUnblocked.countDown();
+
+            assertEquals(1, blockedFut.get().size());
+
+            cache1.put(2, 2);
+
+            assertEquals(2, (int)cache2.get(2));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRequestQueueSizeLimit() throws Exception {
+        cliConnCfg.setMaxRequestQueueSize(1);
+
+        startGrid(0).cache(DEFAULT_CACHE_NAME).put(0, 0);
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> blockedFut = runBlockingQuery(cache);
+
+            IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> queuedFut =
+                GridTestUtils.runAsync(() -> cache.query(new ScanQuery<Integer, Integer>()).getAll());
+
+            assertTrue(GridTestUtils.waitForCondition(() -> metric("SqlQueueSize") == 1, getTestTimeout()));
+
+            // Operations on the whole cache are processed by the SQL thread pool.
+            assertServerBusy(GridTestUtils.runAsync(() -> cache.size()));
+
+            assertEquals(1, metric("SqlRejected"));
+
+            // Key-value requests are not affected.
+            cache.put(1, 1);
+
+            filterUnblocked.countDown();
+
+            assertEquals(1, blockedFut.get().size());
+            assertEquals(2, queuedFut.get().size());
+
+            assertEquals(2, cache.size());
+        }
+    }
+
+    /**
+     * Starts scan query blocked on the server until {@link #filterUnblocked} is released.
+     *
+     * @param cache Cache.
+     * @return Query future.
+     * @throws Exception If failed.
+     */
+    private IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> runBlockingQuery(
+        ClientCache<Integer, Integer> cache) throws Exception {
+        IgniteInternalFuture<List<Cache.Entry<Integer, Integer>>> fut =
+            GridTestUtils.runAsync(() -> cache.query(new ScanQuery<>(new BlockingFilter())).getAll());
+
+        filterStarted.await();
+
+        return fut;
+    }
+
+    /**
+     * @param fut Future of the rejected request.
+     */
+    private void assertServerBusy(IgniteInternalFuture<?> fut) {
+        try {
+            fut.get(getTestTimeout());
+
+            fail("Request should have been rejected.");
+        }
+        catch (Exception e) {
+            ClientServerError err = X.cause(e, ClientServerError.class);
+
+            assertNotNull(e.toString(), err);
+            assertEquals(ClientStatus.SERVER_BUSY, err.getCode());
+        }
+    }
+
+    /**
+     * @param name Metric name.
+     * @return Metric value.
+     */
+    private long metric(String name) {
+        MetricRegistry mreg = grid(0).context().metric().registry(CLIENT_CONNECTOR_METRICS);
+
+        return mreg.<LongMetric>findMetric(name).value();
+    }
+
+    /**
+     * @return Thin client.
+     */
+    private static IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR));
+    }
+
+    /**
+     * Filter accepting only zero key and blocking the query on it until the latch is released.
+     */
+    private static class BlockingFilter implements IgniteBiPredicate<Integer, Integer> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public boolean apply(Integer key, Integer val) {
+            if (key != 0)
+                return false;
+
+            filterStarted.countDown();
+
+            U.awaitQuiet(filterUnblocked);
+
+            return true;
+        }
+    }
+}
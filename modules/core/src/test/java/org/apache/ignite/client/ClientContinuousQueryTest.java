@@ -0,0 +1,448 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryEventFilter;
+import javax.cache.event.EventType;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests thin client continuous queries.
+ */
+public class ClientContinuousQueryTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Entries count. */
+    private static final int ENTRIES = 1_000;
+
+    /** Timeout. */
+    private static final long TIMEOUT = 10_000L;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME).setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(CACHE_NAME).clear();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testEvents() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        Map<Integer, List<CacheEntryEvent<? extends Integer, ? extends Integer>>> evts = new ConcurrentHashMap<>();
+
+        CountDownLatch latch = new CountDownLatch(ENTRIES + 2);
+
+        ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> {
+            for (CacheEntryEvent<? extends Integer, ? extends Integer> evt : batch) {
+                evts.computeIfAbsent(evt.getKey(), k -> Collections.synchronizedList(new ArrayList<>())).add(evt);
+
+                latch.countDown();
+            }
+        });
+
+        try (IgniteClient client = startClient(0);
+             QueryCursor<?> ignored = client.cache(CACHE_NAME).query(qry)) {
+            for (int i = 0; i < ENTRIES; i++)
+                cache.put(i, i);
+
+            cache.put(0, -1);
+            cache.remove(1);
+
+            assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+            assertEquals(ENTRIES, evts.size());
+
+            List<CacheEntryEvent<? extends Integer, ? extends Integer>> updated = evts.get(0);
+
+            assertEquals(2, updated.size());
+            assertEquals(EventType.CREATED, updated.get(0).getEventType());
+            assertEquals(EventType.UPDATED, updated.get(1).getEventType());
+            assertEquals(0, (int)updated.get(1).getOldValue());
+            assertEquals(-1, (int)updated.get(1).getValue());
+            assertEquals(CACHE_NAME, updated.get(1).getSource().getName());
+
+            assertEquals(EventType.REMOVED, evts.get(1).get(1).getEventType());
+
+            for (int i = 2; i < ENTRIES; i++)
+                assertEquals(i, (int)evts.get(i).get(0).getValue());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemoteFilterAndTransformer() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        Map<Integer, Integer> received = new ConcurrentHashMap<>();
+
+        CountDownLatch latch = new CountDownLatch(ENTRIES / 2);
+
+        ContinuousQueryWithTransformer<Integer, Integer, Integer> qry = new ContinuousQueryWithTransformer<>();
+
+        qry.setRemoteFilterFactory(new EvenKeysFilterFactory());
+        qry.setRemoteTransformerFactory(new KeyTransformerFactory());
+        qry.setLocalListener(batch -> {
+            for (Integer key : batch) {
+                received.merge(key, 1, Integer::sum);
+
+                latch.countDown();
+            }
+        });
+
+        try (IgniteClient client = startClient(0);
+             QueryCursor<?> ignored = client.cache(CACHE_NAME).query(qry)) {
+            for (int i = 0; i < ENTRIES; i++)
+                cache.put(i, i);
+
+            assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+            assertEquals(ENTRIES / 2, received.size());
+
+            for (Map.Entry<Integer, Integer> e : received.entrySet()) {
+                assertEquals(0, e.getKey() % 2);
+                assertEquals(1, (int)e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Tests that events of the key are delivered in order to the slow listener.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSlowListener() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        int updates = 10;
+
+        Map<Integer, Integer> lastVals = new ConcurrentHashMap<>();
+
+        AtomicReference<String> err = new AtomicReference<>();
+
+        CountDownLatch latch = new CountDownLatch(ENTRIES * updates);
+
+        ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> {
+            for (CacheEntryEvent<? extends Integer, ? extends Integer> evt : batch) {
+                Integer prev = lastVals.put(evt.getKey(), evt.getValue());
+
+                if (prev != null && prev >= evt.getValue())
+                    err.compareAndSet(null, "Unexpected order [key=" + evt.getKey() + ", val=" + evt.getValue() + ']');
+
+                latch.countDown();
+            }
+
+            doSleep(10);
+        });
+
+        qry.setPageSize(100);
+        qry.setTimeInterval(100);
+
+        try (IgniteClient client = startClient(0);
+             QueryCursor<?> ignored = client.cache(CACHE_NAME).query(qry)) {
+            for (int upd = 0; upd < updates; upd++) {
+                Map<Integer, Integer> batch = new TreeMap<>();
+
+                for (int i = 0; i < ENTRIES; i++)
+                    batch.put(i, upd);
+
+                cache.putAll(batch);
+            }
+
+            assertTrue(latch.await(TIMEOUT * 3, TimeUnit.MILLISECONDS));
+
+            assertNull(err.get());
+
+            for (int i = 0; i < ENTRIES; i++)
+                assertEquals(updates - 1, (int)lastVals.get(i));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testClose() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        AtomicInteger cnt = new AtomicInteger();
+
+        ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> {
+            for (CacheEntryEvent<? extends Integer, ? extends Integer> ignored : batch)
+                cnt.incrementAndGet();
+        });
+
+        try (IgniteClient client = startClient(0)) {
+            QueryCursor<?> cur = client.cache(CACHE_NAME).query(qry);
+
+            cache.put(1, 1);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> cnt.get() == 1, TIMEOUT));
+
+            cur.close();
+
+            cache.put(2, 2);
+
+            // Query is stopped on the server, cache updates are still available to the new queries.
+            CountDownLatch latch = new CountDownLatch(1);
+
+            try (QueryCursor<?> ignored = client.cache(CACHE_NAME).query(
+                new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> latch.countDown()))) {
+                cache.put(3, 3);
+
+                assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+            }
+
+            assertEquals(1, cnt.get());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDisconnect() throws Exception {
+        startGrid(2);
+
+        try (IgniteClient client = startClient(2)) {
+            CountDownLatch latch = new CountDownLatch(1);
+
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            cache.query(new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> {}),
+                reason -> latch.countDown());
+
+            stopGrid(2);
+
+            assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Tests that the query is stopped and the client is notified if the listener does not keep up with the events.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSlowListenerOverflow() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        CountDownLatch lsnrLatch = new CountDownLatch(1);
+
+        AtomicReference<Exception> disconnectErr = new AtomicReference<>();
+
+        ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>().setLocalListener(batch -> {
+            try {
+                lsnrLatch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        qry.setPageSize(1);
+
+        try (IgniteClient client = startClient(0)) {
+            client.<Integer, Integer>cache(CACHE_NAME).query(qry, disconnectErr::set);
+
+            for (int i = 0; i < ENTRIES * 5; i++)
+                cache.put(i, i);
+
+            lsnrLatch.countDown();
+
+            assertTrue(GridTestUtils.waitForCondition(() -> disconnectErr.get() != null, TIMEOUT));
+
+            assertTrue(disconnectErr.get() instanceof ClientException);
+            assertTrue(disconnectErr.get().getMessage().contains("does not keep up"));
+
+            assertTrue(GridTestUtils.waitForCondition(() -> continuousRoutines(grid(0)).isEmpty(), TIMEOUT));
+
+            Object ch = GridTestUtils.getFieldValue(client, "ch", "ch");
+
+            assertTrue(((Map<?, ?>)GridTestUtils.getFieldValue(ch, "notificationQueues")).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that the query of the client that does not read the socket is stopped and cache updates are not blocked.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNotReadingClientOverflow() throws Exception {
+        IgniteCache<Integer, byte[]> cache = grid(0).cache(CACHE_NAME);
+
+        try (Socket sock = new Socket()) {
+            sock.setReceiveBufferSize(1024);
+
+            sock.connect(new InetSocketAddress("127.0.0.1", ClientConnectorConfiguration.DFLT_PORT));
+
+            DataOutputStream out = new DataOutputStream(sock.getOutputStream());
+            DataInputStream in = new DataInputStream(sock.getInputStream());
+
+            // Handshake: version 1.9.0, thin client.
+            out.write(ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putInt(8).put((byte)1)
+                .putShort((short)1).putShort((short)9).putShort((short)0).put((byte)2).array());
+
+            assertEquals(1, readResponse(in)[0]);
+
+            // Continuous query without a filter and a transformer.
+            out.write(ByteBuffer.allocate(34).order(ByteOrder.LITTLE_ENDIAN).putInt(30).putShort((short)2006)
+                .putLong(1).putInt(CU.cacheId(CACHE_NAME)).put((byte)0).putInt(1).putLong(0).put((byte)0)
+                .put((byte)101).put((byte)101).array());
+
+            readResponse(in);
+
+            assertFalse(continuousRoutines(grid(0)).isEmpty());
+
+            byte[] val = new byte[512];
+
+            // Updates must not be blocked by the client, the query is stopped once the events buffer is full.
+            for (int i = 0; i < 1_000_000 && !continuousRoutines(grid(0)).isEmpty(); i++)
+                cache.put(i % ENTRIES, val);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> continuousRoutines(grid(0)).isEmpty(), TIMEOUT));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInitialQueryNotSupported() throws Exception {
+        try (IgniteClient client = startClient(0)) {
+            ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+                .setLocalListener(batch -> {});
+
+            qry.setInitialQuery(new ScanQuery<>());
+
+            GridTestUtils.assertThrows(log, () -> client.cache(CACHE_NAME).query(qry),
+                IllegalArgumentException.class, "Initial query is not supported");
+        }
+    }
+
+    /**
+     * @param idx Index of the node to connect to.
+     * @return Thin client.
+     */
+    private static IgniteClient startClient(int idx) {
+        return Ignition.startClient(new ClientConfiguration()
+            .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + idx)));
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Continuous routines started on the node.
+     */
+    private static Map<?, ?> continuousRoutines(IgniteEx ignite) {
+        return GridTestUtils.getFieldValue(ignite.context().continuous(), "locInfos");
+    }
+
+    /**
+     * @param in Input stream.
+     * @return Response of the raw thin client connection without the length.
+     * @throws IOException If failed.
+     */
+    private static byte[] readResponse(DataInputStream in) throws IOException {
+        byte[] len = new byte[4];
+
+        in.readFully(len);
+
+        byte[] res = new byte[ByteBuffer.wrap(len).order(ByteOrder.LITTLE_ENDIAN).getInt()];
+
+        in.readFully(res);
+
+        return res;
+    }
+
+    /**
+     * Remote filter factory passing events of even keys.
+     */
+    private static class EvenKeysFilterFactory implements Factory<CacheEntryEventFilter<Integer, Integer>> {
+        /** {@inheritDoc} */
+        @Override public CacheEntryEventFilter<Integer, Integer> create() {
+            return evt -> evt.getKey() % 2 == 0;
+        }
+    }
+
+    /**
+     * Remote transformer factory returning keys of the events.
+     */
+    private static class KeyTransformerFactory
+        implements Factory<IgniteClosure<CacheEntryEvent<? extends Integer, ? extends Integer>, Integer>> {
+        /** {@inheritDoc} */
+        @Override public IgniteClosure<CacheEntryEvent<? extends Integer, ? extends Integer>, Integer> create() {
+            return CacheEntryEvent::getKey;
+        }
+    }
+}
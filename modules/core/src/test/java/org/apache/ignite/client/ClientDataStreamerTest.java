@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests thin client data streamer.
+ */
+public class ClientDataStreamerTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Entries count. */
+    private static final int ENTRIES = 10_000;
+
+    /** Client connector address. */
+    private static final String CLIENT_CONN_ADDR = "127.0.0.1:" + ClientConnectorConfiguration.DFLT_PORT;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME).setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(CACHE_NAME).clear();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStreaming() throws Exception {
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Person> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.bufferSize(100);
+
+                for (int i = 0; i < ENTRIES; i++)
+                    streamer.addData(i, new Person(i, "Person " + i));
+            }
+
+            ClientCache<Integer, Person> cache = client.cache(CACHE_NAME);
+
+            assertEquals(ENTRIES, cache.size());
+
+            for (int i = 0; i < ENTRIES; i += 100)
+                assertEquals(new Person(i, "Person " + i), cache.get(i));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFlush() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        try (IgniteClient client = startClient();
+             ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+            Map<Integer, Integer> entries = new HashMap<>();
+
+            for (int i = 0; i < 10; i++)
+                entries.put(i, i);
+
+            streamer.addData(entries);
+
+            assertEquals(0, cache.size());
+
+            streamer.flush();
+
+            assertEquals(entries.size(), cache.size());
+
+            GridTestUtils.assertThrows(log, () -> {
+                streamer.bufferSize(10);
+
+                return null;
+            }, IllegalStateException.class, null);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAllowOverwrite() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        for (int i = 0; i < 10; i++)
+            cache.put(i, -1);
+
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                for (int i = 0; i < 20; i++)
+                    streamer.addData(i, i);
+            }
+
+            for (int i = 0; i < 20; i++)
+                assertEquals(i < 10 ? -1 : i, (int)cache.get(i));
+
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.allowOverwrite(true);
+
+                for (int i = 0; i < 10; i++)
+                    streamer.addData(i, i);
+
+                for (int i = 10; i < 20; i++)
+                    streamer.removeData(i);
+            }
+
+            assertEquals(10, cache.size());
+
+            for (int i = 0; i < 10; i++)
+                assertEquals(i, (int)cache.get(i));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCloseWithCancel() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME);
+
+            streamer.addData(1, 1);
+
+            streamer.close(true);
+
+            assertEquals(0, grid(0).cache(CACHE_NAME).size());
+
+            GridTestUtils.assertThrows(log, () -> {
+                streamer.addData(2, 2);
+
+                return null;
+            }, ClientException.class, "Data streamer is closed");
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMissingCache() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer("missing");
+
+            streamer.addData(1, 1);
+
+            GridTestUtils.assertThrows(log, () -> {
+                streamer.flush();
+
+                return null;
+            }, ClientException.class, "Cache does not exist");
+        }
+    }
+
+    /**
+     * @return Thin client.
+     */
+    private static IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses(CLIENT_CONN_ADDR));
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests thin client near cache.
+ */
+public class ClientNearCacheTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Name of the cache without near cache. */
+    private static final String OTHER_CACHE_NAME = "other";
+
+    /** Max near cache size. */
+    private static final int MAX_SIZE = 10;
+
+    /** Timeout. */
+    private static final long TIMEOUT = 10_000L;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(
+                new CacheConfiguration<>(CACHE_NAME).setBackups(1),
+                new CacheConfiguration<>(OTHER_CACHE_NAME));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(CACHE_NAME).clear();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidation() throws Exception {
+        IgniteCache<Integer, String> srvCache = grid(0).cache(CACHE_NAME);
+
+        srvCache.put(1, "a");
+
+        try (IgniteClient client = startClient(0, new ClientNearCacheConfiguration().setName(CACHE_NAME))) {
+            ClientCache<Integer, String> cache = client.cache(CACHE_NAME);
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            assertNotNull(metrics);
+            assertNull(client.cache(OTHER_CACHE_NAME).nearCacheMetrics());
+
+            awaitCached(cache, 1);
+
+            long hits = metrics.getHits();
+
+            assertEquals("a", cache.get(1));
+            assertEquals(hits + 1, metrics.getHits());
+            assertTrue(metrics.getHitPercentage() > 0);
+
+            srvCache.put(1, "b");
+
+            assertTrue(GridTestUtils.waitForCondition(() -> "b".equals(cache.get(1)), TIMEOUT));
+            assertTrue(metrics.getInvalidations() > 0);
+
+            srvCache.remove(1);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> cache.get(1) == null, TIMEOUT));
+
+            // Binary reads are not served by the near cache.
+            srvCache.put(2, "c");
+
+            awaitCached(cache, 2);
+
+            hits = metrics.getHits();
+
+            assertEquals("c", client.cache(CACHE_NAME).withKeepBinary().get(2));
+            assertEquals(hits, metrics.getHits());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLocalUpdates() throws Exception {
+        try (IgniteClient client = startClient(0, new ClientNearCacheConfiguration().setName(CACHE_NAME))) {
+            ClientCache<Integer, String> cache = client.cache(CACHE_NAME);
+
+            Set<Integer> keys = new HashSet<>();
+
+            for (int i = 0; i < 5; i++) {
+                cache.put(i, "a" + i);
+
+                keys.add(i);
+            }
+
+            for (int i = 0; i < 5; i++)
+                awaitCached(cache, i);
+
+            // Updates of this client are visible to its next reads without waiting for invalidation.
+            for (int i = 0; i < 5; i++) {
+                cache.put(i, "b" + i);
+
+                assertEquals("b" + i, cache.get(i));
+            }
+
+            assertEquals(5, cache.getAll(keys).size());
+
+            cache.removeAll(keys);
+
+            assertTrue(cache.getAll(keys).isEmpty());
+
+            cache.put(1, "c");
+
+            awaitCached(cache, 1);
+
+            cache.clear();
+
+            assertNull(cache.get(1));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLimits() throws Exception {
+        IgniteCache<Integer, String> srvCache = grid(0).cache(CACHE_NAME);
+
+        for (int i = 0; i < MAX_SIZE * 10; i++)
+            srvCache.put(i, "a" + i);
+
+        ClientNearCacheConfiguration nearCfg = new ClientNearCacheConfiguration()
+            .setName(CACHE_NAME)
+            .setMaxSize(MAX_SIZE)
+            .setTimeToLive(200);
+
+        try (IgniteClient client = startClient(0, nearCfg)) {
+            ClientCache<Integer, String> cache = client.cache(CACHE_NAME);
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            awaitCached(cache, 0);
+
+            for (int i = 0; i < MAX_SIZE * 10; i++)
+                assertEquals("a" + i, cache.get(i));
+
+            assertTrue(metrics.getSize() <= MAX_SIZE);
+
+            int last = MAX_SIZE * 10 - 1;
+
+            long hits = metrics.getHits();
+
+            assertEquals("a" + last, cache.get(last));
+            assertEquals(hits + 1, metrics.getHits());
+
+            doSleep(300);
+
+            assertEquals("a" + last, cache.get(last));
+            assertEquals(hits + 1, metrics.getHits());
+            assertEquals(1, metrics.getExpirations());
+            assertTrue(metrics.getAverageHitAge() >= 0);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testResetOnTopologyChange() throws Exception {
+        grid(0).cache(CACHE_NAME).put(1, "a");
+
+        try (IgniteClient client = startClient(0, new ClientNearCacheConfiguration().setName(CACHE_NAME))) {
+            ClientCache<Integer, String> cache = client.cache(CACHE_NAME);
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            awaitCached(cache, 1);
+
+            startGrid(2);
+
+            try {
+                // Topology change is reported with the next response.
+                assertTrue(GridTestUtils.waitForCondition(() -> {
+                    cache.get(2);
+
+                    return metrics.getResets() > 0;
+                }, TIMEOUT));
+
+                assertEquals(0, metrics.getSize());
+
+                awaitCached(cache, 1);
+            }
+            finally {
+                stopGrid(2);
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testResetOnDisconnect() throws Exception {
+        grid(0).cache(CACHE_NAME).put(1, "a");
+
+        startGrid(2);
+
+        try (IgniteClient client = startClient(2, new ClientNearCacheConfiguration().setName(CACHE_NAME))) {
+            ClientCache<Integer, String> cache = client.cache(CACHE_NAME);
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            awaitCached(cache, 1);
+
+            long resets = metrics.getResets();
+
+            stopGrid(2);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> metrics.getResets() > resets, TIMEOUT));
+            assertEquals(0, metrics.getSize());
+        }
+        finally {
+            stopGrid(2);
+        }
+    }
+
+    /**
+     * Reads the key until it is served from the near cache.
+     *
+     * @param cache Cache.
+     * @param key Key.
+     */
+    private static void awaitCached(ClientCache<Integer, String> cache, int key) throws Exception {
+        ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            long hits = metrics.getHits();
+
+            cache.get(key);
+
+            return metrics.getHits() > hits;
+        }, TIMEOUT));
+    }
+
+    /**
+     * @param idx Index of the server to connect to.
+     * @param nearCfg Near cache configuration.
+     * @return Thin client.
+     */
+    private static IgniteClient startClient(int idx, ClientNearCacheConfiguration nearCfg) {
+        return Ignition.startClient(new ClientConfiguration()
+            .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + idx))
+            .setNearCacheConfiguration(nearCfg));
+    }
+}
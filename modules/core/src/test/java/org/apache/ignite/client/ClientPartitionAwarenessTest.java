@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNearAtomicFullUpdateRequest;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNearAtomicSingleUpdateRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearGetRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearSingleGetRequest;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+
+/**
+ * Tests sending of thin client key requests directly to primary nodes.
+ */
+public class ClientPartitionAwarenessTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "atomic_cache";
+
+    /** Name of the cache with another number of partitions. */
+    private static final String CACHE_NAME_2 = "atomic_cache_2";
+
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** Addresses of all servers started by the test, including not started yet. */
+    private static final String CLIENT_CONN_ADDR = "127.0.0.1:10800..10803";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TestRecordingCommunicationSpi());
+
+        cfg.setCacheConfiguration(
+            new CacheConfiguration<>(CACHE_NAME)
+                .setAtomicityMode(ATOMIC)
+                .setBackups(1)
+                .setAffinity(new RendezvousAffinityFunction(false, 32)),
+            new CacheConfiguration<>(CACHE_NAME_2)
+                .setAtomicityMode(ATOMIC)
+                .setAffinity(new RendezvousAffinityFunction(false, 1000)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRequestsSentToPrimaryNodes() throws Exception {
+        startGrids(3);
+
+        awaitPartitionMapExchange();
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            awaitPartitionAwareness(cache);
+
+            for (int i = 0; i < KEYS; i++) {
+                cache.put(i, i + 1);
+
+                assertEquals(i + 1, (int)cache.get(i));
+                assertTrue(cache.replace(i, i + 1, i));
+                assertEquals(i, (int)cache.getAsync(i).get());
+
+                cache.putAsync(i, i).get();
+            }
+
+            Map<Integer, Integer> entries = entries();
+
+            cache.putAll(entries);
+
+            assertEquals(entries, cache.getAll(entries.keySet()));
+
+            cache.putAllAsync(entries).get();
+
+            assertEquals(entries, cache.getAllAsync(entries.keySet()).get());
+
+            assertNoNearRequests();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCachesWithDifferentPartitionsCount() throws Exception {
+        startGrids(3);
+
+        awaitPartitionMapExchange();
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+            ClientCache<Integer, Integer> cache2 = client.cache(CACHE_NAME_2);
+
+            awaitPartitionAwareness(cache);
+            awaitPartitionAwareness(cache2);
+
+            recordNearRequests();
+
+            for (int i = 0; i < KEYS; i++) {
+                cache.put(i, i);
+                cache2.put(i, i);
+
+                assertEquals(i, (int)cache.get(i));
+                assertEquals(i, (int)cache2.get(i));
+            }
+
+            assertNoNearRequests();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTopologyChange() throws Exception {
+        startGrids(3);
+
+        awaitPartitionMapExchange();
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            awaitPartitionAwareness(cache);
+
+            Map<Integer, Integer> entries = entries();
+
+            cache.putAll(entries);
+
+            startGrid(3);
+
+            awaitPartitionMapExchange();
+
+            // Requests are sent to the default channel while the mapping is stale.
+            assertEquals(entries, cache.getAll(entries.keySet()));
+
+            awaitPartitionAwareness(cache);
+
+            assertEquals(entries, cache.getAll(entries.keySet()));
+
+            stopGrid(1);
+
+            awaitPartitionMapExchange();
+
+            // Requests to the stopped node fall back to the default channel.
+            for (int i = 0; i < KEYS; i++)
+                assertEquals(i, (int)cache.get(i));
+
+            assertEquals(entries, cache.getAllAsync(entries.keySet()).get());
+
+            awaitPartitionAwareness(cache);
+        }
+    }
+
+    /**
+     * @return Thin client with partition awareness enabled.
+     */
+    private static IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration()
+            .setAddresses(CLIENT_CONN_ADDR)
+            .setPartitionAwarenessEnabled(true));
+    }
+
+    /**
+     * Waits until key requests stop producing near requests between server nodes, that is until the client
+     * connects to all servers and receives actual affinity mapping.
+     *
+     * @param cache Cache.
+     * @throws Exception If failed.
+     */
+    private void awaitPartitionAwareness(ClientCache<Integer, Integer> cache) throws Exception {
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            recordNearRequests();
+
+            for (int i = 0; i < KEYS; i++) {
+                cache.put(i, i);
+                cache.get(i);
+            }
+
+            return nearRequests() == 0;
+        }, getTestTimeout()));
+    }
+
+    /**
+     * Checks that no near requests were sent since the last check.
+     */
+    private void assertNoNearRequests() {
+        assertEquals(0, nearRequests());
+    }
+
+    /**
+     * Starts recording of near requests on all server nodes.
+     */
+    private void recordNearRequests() {
+        for (Ignite ignite : G.allGrids()) {
+            TestRecordingCommunicationSpi.spi(ignite).record(
+                GridNearAtomicSingleUpdateRequest.class,
+                GridNearAtomicFullUpdateRequest.class,
+                GridNearSingleGetRequest.class,
+                GridNearGetRequest.class);
+        }
+    }
+
+    /**
+     * @return Count of near requests sent by server nodes since the last call.
+     */
+    private int nearRequests() {
+        int cnt = 0;
+
+        for (Ignite ignite : G.allGrids())
+            cnt += TestRecordingCommunicationSpi.spi(ignite).recordedMessages(false).size();
+
+        return cnt;
+    }
+
+    /**
+     * @return Test entries.
+     */
+    private static Map<Integer, Integer> entries() {
+        return IntStream.range(0, KEYS).boxed().collect(Collectors.toMap(k -> k, k -> k));
+    }
+}
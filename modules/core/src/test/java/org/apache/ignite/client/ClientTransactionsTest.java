@@ -0,0 +1,341 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+import static org.apache.ignite.transactions.TransactionIsolation.SERIALIZABLE;
+
+/**
+ * Tests thin client transactions.
+ */
+public class ClientTransactionsTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Max active transactions per connection. */
+    private static final int MAX_ACTIVE_TXS = 3;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setClientConnectorConfiguration(new ClientConnectorConfiguration()
+                .setMaxActiveTxPerConnection(MAX_ACTIVE_TXS))
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME)
+                .setAtomicityMode(TRANSACTIONAL)
+                .setWriteSynchronizationMode(FULL_SYNC)
+                .setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(CACHE_NAME).clear();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCommit() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).cache(CACHE_NAME);
+
+        try (IgniteClient client = startClient(true)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            Map<Integer, Integer> entries = new HashMap<>();
+
+            for (int i = 0; i < 100; i++)
+                entries.put(i, i);
+
+            try (ClientTransaction tx = client.transactions().txStart()) {
+                cache.put(-1, -1);
+                cache.putAll(entries);
+
+                assertEquals(-1, (int)cache.get(-1));
+                assertEquals(entries, cache.getAll(entries.keySet()));
+
+                assertNull(srvCache.get(-1));
+                assertEquals(0, srvCache.size());
+
+                tx.commit();
+            }
+
+            assertEquals(-1, (int)srvCache.get(-1));
+            assertEquals(entries, srvCache.getAll(entries.keySet()));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRollback() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).cache(CACHE_NAME);
+
+        srvCache.put(1, 1);
+
+        try (IgniteClient client = startClient(false)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            try (ClientTransaction tx = client.transactions().txStart(SERIALIZABLE)) {
+                cache.put(1, 2);
+                cache.put(2, 2);
+
+                tx.rollback();
+            }
+
+            try (ClientTransaction ignored = client.transactions().txStart()) {
+                cache.remove(1);
+                cache.put(3, 3);
+
+                // Closed without commit.
+            }
+
+            assertEquals(1, (int)srvCache.get(1));
+            assertNull(srvCache.get(2));
+            assertNull(srvCache.get(3));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactionBoundToThread() throws Exception {
+        IgniteCache<Integer, Integer> srvCache = grid(0).cache(CACHE_NAME);
+
+        try (IgniteClient client = startClient(true)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            try (ClientTransaction tx = client.transactions().txStart()) {
+                cache.put(1, 1);
+
+                GridTestUtils.assertThrows(log, () -> client.transactions().txStart(), ClientException.class,
+                    "already been started");
+
+                // Operations of the other threads are not enlisted.
+                GridTestUtils.runAsync(() -> cache.put(2, 2)).get();
+
+                assertNull(srvCache.get(1));
+                assertEquals(2, (int)srvCache.get(2));
+
+                GridTestUtils.runAsync(() -> {
+                    GridTestUtils.assertThrows(log, () -> {
+                        tx.commit();
+
+                        return null;
+                    }, ClientException.class, "another thread");
+                }).get();
+
+                tx.commit();
+            }
+
+            assertEquals(1, (int)srvCache.get(1));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        try (IgniteClient client = startClient(false)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            try (ClientTransaction tx = client.transactions().txStart(REPEATABLE_READ, 200)) {
+                cache.put(1, 1);
+
+                doSleep(500);
+
+                GridTestUtils.assertThrows(log, () -> {
+                    tx.commit();
+
+                    return null;
+                }, ClientException.class, null);
+            }
+
+            assertNull(grid(0).cache(CACHE_NAME).get(1));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testActiveTransactionsLimit() throws Exception {
+        try (IgniteClient client = startClient(false)) {
+            ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+            CyclicBarrier startBarrier = new CyclicBarrier(MAX_ACTIVE_TXS + 1);
+            CyclicBarrier endBarrier = new CyclicBarrier(MAX_ACTIVE_TXS + 1);
+
+            IgniteInternalFuture<?> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+                try (ClientTransaction tx = client.transactions().txStart()) {
+                    startBarrier.await();
+
+                    endBarrier.await();
+
+                    tx.commit();
+                }
+
+                return null;
+            }, MAX_ACTIVE_TXS, "tx-thread");
+
+            startBarrier.await();
+
+            GridTestUtils.assertThrows(log, () -> client.transactions().txStart(), ClientException.class,
+                "limit");
+
+            endBarrier.await();
+
+            fut.get();
+
+            try (ClientTransaction tx = client.transactions().txStart()) {
+                cache.put(1, 1);
+
+                tx.commit();
+            }
+
+            assertEquals(1, (int)cache.get(1));
+        }
+    }
+
+    /**
+     * Tests that the limit is not exceeded by the transactions started concurrently.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testActiveTransactionsLimitConcurrentStart() throws Exception {
+        try (IgniteClient client = startClient(false)) {
+            int threads = MAX_ACTIVE_TXS * 4;
+
+            CyclicBarrier startBarrier = new CyclicBarrier(threads);
+            CyclicBarrier endBarrier = new CyclicBarrier(threads);
+
+            AtomicInteger started = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+
+            GridTestUtils.runMultiThreaded(() -> {
+                startBarrier.await();
+
+                ClientTransaction tx = null;
+
+                try {
+                    tx = client.transactions().txStart();
+
+                    started.incrementAndGet();
+                }
+                catch (ClientException e) {
+                    assertTrue(e.getMessage().contains("limit"));
+
+                    rejected.incrementAndGet();
+                }
+
+                // Started transactions are kept active until all threads tried to start one.
+                endBarrier.await();
+
+                if (tx != null)
+                    tx.close();
+
+                return null;
+            }, threads, "tx-thread");
+
+            assertEquals(MAX_ACTIVE_TXS, started.get());
+            assertEquals(threads - MAX_ACTIVE_TXS, rejected.get());
+
+            // Rejected transactions do not hold the limit.
+            GridTestUtils.runMultiThreaded(() -> {
+                try (ClientTransaction tx = client.transactions().txStart()) {
+                    client.cache(CACHE_NAME).put(1, 1);
+
+                    tx.commit();
+                }
+
+                return null;
+            }, MAX_ACTIVE_TXS, "tx-thread");
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRollbackOnDisconnect() throws Exception {
+        int rollbacks = txRollbacks();
+
+        IgniteClient client = startClient(false);
+
+        ClientCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+        client.transactions().withLabel("thin-tx").txStart();
+
+        cache.put(1, 1);
+
+        client.close();
+
+        assertTrue(GridTestUtils.waitForCondition(() -> txRollbacks() > rollbacks, 5_000));
+
+        assertNull(grid(0).cache(CACHE_NAME).get(1));
+    }
+
+    /**
+     * @return Number of transactions rolled back on both servers.
+     */
+    private int txRollbacks() {
+        return grid(0).transactions().metrics().txRollbacks() + grid(1).transactions().metrics().txRollbacks();
+    }
+
+    /**
+     * @param partitionAwareness Partition awareness flag.
+     * @return Thin client connected to both servers.
+     */
+    private static IgniteClient startClient(boolean partitionAwareness) {
+        return Ignition.startClient(new ClientConfiguration()
+            .setAddresses("127.0.0.1:" + ClientConnectorConfiguration.DFLT_PORT,
+                "127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + 1))
+            .setPartitionAwarenessEnabled(partitionAwareness));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.CachePartitionFullCountersMap;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.CompactPartitionCounters;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsFullMessage;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.IgniteDhtPartitionCountersMap2;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.marshaller.jdk.JdkMarshaller;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests compact encoding of partition update counters in full partitions messages.
+ */
+public class CacheExchangeCompactCountersTest extends GridCommonAbstractTest {
+    /** Partitions count. */
+    private static final int PARTS = 1024;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        TestRecordingCommunicationSpi commSpi = new TestRecordingCommunicationSpi();
+
+        commSpi.record((node, msg) -> msg.getClass() == GridDhtPartitionsFullMessage.class &&
+            ((GridDhtPartitionsFullMessage)msg).exchangeId() != null);
+
+        cfg.setCommunicationSpi(commSpi);
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompactEncoding() throws Exception {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        CachePartitionFullCountersMap cntrs = new CachePartitionFullCountersMap(PARTS);
+
+        for (int p = 0; p < PARTS; p++) {
+            long initialUpdCntr = p % 3 == 0 ? 0 : rnd.nextLong(1_000_000);
+
+            cntrs.initialUpdateCounter(p, initialUpdCntr);
+
+            // Update counter lower than the initial one and extreme values must survive as well.
+            if (p == 1)
+                cntrs.updateCounter(p, initialUpdCntr - 1);
+            else if (p == 2) {
+                cntrs.initialUpdateCounter(p, Long.MAX_VALUE);
+                cntrs.updateCounter(p, Long.MAX_VALUE);
+            }
+            else
+                cntrs.updateCounter(p, initialUpdCntr + rnd.nextLong(1_000));
+        }
+
+        IgniteDhtPartitionCountersMap2 map = new IgniteDhtPartitionCountersMap2();
+
+        map.putIfAbsent(1, cntrs);
+        map.putIfAbsent(2, new CachePartitionFullCountersMap(PARTS));
+
+        byte[] bytes = CompactPartitionCounters.toBytes(map);
+
+        IgniteDhtPartitionCountersMap2 res = CompactPartitionCounters.fromBytes(bytes);
+
+        for (int p = 0; p < PARTS; p++) {
+            assertEquals(cntrs.initialUpdateCounter(p), res.get(1).initialUpdateCounter(p));
+            assertEquals(cntrs.updateCounter(p), res.get(1).updateCounter(p));
+
+            assertEquals(0, res.get(2).initialUpdateCounter(p));
+            assertEquals(0, res.get(2).updateCounter(p));
+        }
+
+        byte[] jdkBytes = new JdkMarshaller().marshal(map);
+
+        assertTrue("Compact encoding is not smaller [compact=" + bytes.length + ", jdk=" + jdkBytes.length + ']',
+            bytes.length * 2 < jdkBytes.length);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExchangeWithCompactCounters() throws Exception {
+        IgniteEx ignite0 = startGrid(0);
+
+        startGrid(1);
+
+        try (IgniteDataStreamer<Integer, Integer> streamer = ignite0.dataStreamer(DEFAULT_CACHE_NAME)) {
+            for (int i = 0; i < 10_000; i++)
+                streamer.addData(i, i);
+        }
+
+        IgniteEx ignite2 = startGrid(2);
+
+        awaitPartitionMapExchange();
+
+        List<Object> msgs = TestRecordingCommunicationSpi.spi(ignite0).recordedMessages(false);
+
+        assertFalse(msgs.isEmpty());
+
+        for (Object msg : msgs)
+            assertTrue(((GridDhtPartitionsFullMessage)msg).compactCounters());
+
+        int grpId = CU.cacheId(DEFAULT_CACHE_NAME);
+
+        CachePartitionFullCountersMap expCntrs =
+            ignite0.context().cache().cacheGroup(grpId).topology().fullUpdateCounters();
+
+        CachePartitionFullCountersMap cntrs =
+            ignite2.context().cache().cacheGroup(grpId).topology().fullUpdateCounters();
+
+        for (int p = 0; p < PARTS; p++)
+            assertEquals(expCntrs.updateCounter(p), cntrs.updateCounter(p));
+    }
+}
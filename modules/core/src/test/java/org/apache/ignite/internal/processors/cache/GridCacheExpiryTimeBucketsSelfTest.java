@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ModifiedExpiryPolicy;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.MvccFeatureChecker;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Tests expiration of entries tracked by {@link GridCacheExpiryTimeBuckets}.
+ */
+public class GridCacheExpiryTimeBucketsSelfTest extends GridCommonAbstractTest {
+    /** Bucket width. */
+    private static final long WIDTH = 100;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        MvccFeatureChecker.skipIfNotSupported(MvccFeatureChecker.Feature.EXPIRATION);
+
+        super.beforeTestsStarted();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setEagerTtl(true)
+                .setExpiryBucketWidth(WIDTH));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that expiry buckets, which are not persisted, can not be enabled for a persistent cache.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPersistentCacheRejected() throws Exception {
+        IgniteConfiguration cfg = getConfiguration(getTestIgniteInstanceName(0))
+            .setCacheConfiguration()
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true)));
+
+        IgniteEx ignite = startGrid(cfg);
+
+        ignite.cluster().active(true);
+
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> ignite.createCache(new CacheConfiguration<>("persistent").setExpiryBucketWidth(WIDTH)),
+            IgniteCheckedException.class,
+            "Expiry buckets cannot be used for persistent cache");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBucketsExpireAsWhole() throws Exception {
+        GridCacheExpiryTimeBuckets buckets = new GridCacheExpiryTimeBuckets(WIDTH);
+
+        buckets.add(key(1), 1000);
+        buckets.add(key(2), 1050);
+        buckets.add(key(3), 1099);
+        buckets.add(key(4), 1100);
+        buckets.add(key(5), 2500);
+
+        assertEquals(5, buckets.size());
+
+        List<Integer> expired = new ArrayList<>();
+
+        // Bucket is not expired until all its entries are expired.
+        assertFalse(buckets.hasExpired(1099));
+        assertEquals(0, buckets.expire(1099, -1, k -> expired.add(k.value(null, false))));
+
+        assertTrue(buckets.hasExpired(1100));
+        assertEquals(3, buckets.expire(1150, -1, k -> expired.add(k.value(null, false))));
+        assertEquals(50, buckets.lag());
+
+        assertEquals(3, expired.size());
+        assertTrue(expired.containsAll(F.asList(1, 2, 3)));
+
+        assertEquals(2, buckets.size());
+
+        // Limited amount.
+        buckets.add(key(6), 1150);
+
+        assertEquals(1, buckets.expire(3000, 1, k -> expired.add(k.value(null, false))));
+        assertTrue(buckets.hasExpired(3000));
+        assertEquals(2, buckets.expire(3000, -1, k -> expired.add(k.value(null, false))));
+        assertFalse(buckets.hasExpired(3000));
+
+        assertEquals(6, expired.size());
+        assertEquals(0, buckets.size());
+        assertEquals(6, buckets.processed());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testUpdatedKeyIsMoved() throws Exception {
+        GridCacheExpiryTimeBuckets buckets = new GridCacheExpiryTimeBuckets(WIDTH);
+
+        // Every update moves the key to another bucket or keeps it in the same one.
+        for (int i = 0; i < 10_000; i++)
+            buckets.add(key(1), 1000 + i * 7);
+
+        buckets.add(key(2), 1000);
+        buckets.add(key(3), 1000);
+
+        assertEquals(3, buckets.size());
+
+        buckets.remove(key(3));
+
+        assertEquals(2, buckets.size());
+
+        List<Integer> expired = new ArrayList<>();
+
+        assertEquals(1, buckets.expire(1100, -1, k -> expired.add(k.value(null, false))));
+        assertEquals(F.asList(2), expired);
+
+        assertEquals(1, buckets.expire(Long.MAX_VALUE / 2, -1, k -> expired.add(k.value(null, false))));
+        assertEquals(F.asList(2, 1), expired);
+
+        assertEquals(0, buckets.size());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentAddAndExpire() throws Exception {
+        final GridCacheExpiryTimeBuckets buckets = new GridCacheExpiryTimeBuckets(1);
+
+        final int threads = 4;
+        final int keys = 20_000;
+
+        final AtomicInteger idx = new AtomicInteger();
+
+        final Collection<Integer> expired = new ConcurrentLinkedQueue<>();
+
+        // Keys are added to buckets which are expired concurrently, no key must be lost.
+        GridTestUtils.runMultiThreaded(() -> {
+            int i;
+
+            while ((i = idx.getAndIncrement()) < keys) {
+                buckets.add(key(i), System.currentTimeMillis());
+
+                if (i % 100 == 0)
+                    buckets.expire(System.currentTimeMillis(), 10, k -> expired.add(k.value(null, false)));
+            }
+        }, threads, "expiry-buckets");
+
+        doSleep(2);
+
+        buckets.expire(System.currentTimeMillis(), -1, k -> expired.add(k.value(null, false)));
+
+        assertEquals(keys, expired.size());
+        assertEquals(0, buckets.size());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testEntriesExpireEagerly() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        IgniteCache<Integer, Integer> cache = ignite.<Integer, Integer>cache(DEFAULT_CACHE_NAME)
+            .withExpiryPolicy(new CreatedExpiryPolicy(new Duration(MILLISECONDS, 500)));
+
+        IgniteCache<Integer, Integer> longCache = ignite.<Integer, Integer>cache(DEFAULT_CACHE_NAME)
+            .withExpiryPolicy(new ModifiedExpiryPolicy(new Duration(MILLISECONDS, 60_000)));
+
+        for (int i = 0; i < 1000; i++)
+            cache.put(i, i);
+
+        // Updated with a longer ttl, the key left in the expired bucket must be skipped.
+        for (int i = 0; i < 100; i++)
+            longCache.put(i, -i);
+
+        // Removed entries must not break expiration.
+        for (int i = 100; i < 200; i++)
+            cache.remove(i);
+
+        assertNotNull(ignite.cachex(DEFAULT_CACHE_NAME).context().ttl().expiryBuckets());
+
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> ignite.cache(DEFAULT_CACHE_NAME).localSize(CachePeekMode.PRIMARY) == 100, 10_000));
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(-i, (int)ignite.<Integer, Integer>cache(DEFAULT_CACHE_NAME).get(i));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRewrittenKeyIsTrackedOnce() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.withExpiryPolicy(new ModifiedExpiryPolicy(new Duration(MILLISECONDS, 60_000 + i * 10)))
+                .put(1, i);
+        }
+
+        GridCacheExpiryTimeBuckets buckets = ignite.cachex(DEFAULT_CACHE_NAME).context().ttl().expiryBuckets();
+
+        assertEquals(1, buckets.size());
+
+        cache.remove(1);
+
+        assertEquals(0, buckets.size());
+    }
+
+    /**
+     * @param i Key.
+     * @return Key cache object.
+     */
+    private static KeyCacheObject key(int i) {
+        return new KeyCacheObjectImpl(i, null, 0);
+    }
+}
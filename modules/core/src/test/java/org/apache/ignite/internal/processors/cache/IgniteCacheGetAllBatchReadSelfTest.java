@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+
+/**
+ * Checks that getAll with many keys returns correct results when rows are read in batches grouped by partitions.
+ */
+public class IgniteCacheGetAllBatchReadSelfTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 5_000;
+
+    /** Number of partitions. */
+    private static final int PARTS = 8;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCacheConfiguration(
+            cacheConfiguration("atomic", ATOMIC, null),
+            cacheConfiguration("tx", TRANSACTIONAL, null),
+            cacheConfiguration("grp1", ATOMIC, "grp"),
+            cacheConfiguration("grp2", ATOMIC, "grp"));
+
+        return cfg;
+    }
+
+    /**
+     * @param name Cache name.
+     * @param atomicityMode Atomicity mode.
+     * @param grpName Cache group name.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Object, Object> cacheConfiguration(
+        String name,
+        CacheAtomicityMode atomicityMode,
+        String grpName
+    ) {
+        return new CacheConfiguration<>(name)
+            .setAtomicityMode(atomicityMode)
+            .setGroupName(grpName)
+            .setBackups(1)
+            .setReadFromBackup(true)
+            .setWriteSynchronizationMode(FULL_SYNC)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(3);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        for (String name : new String[] {"atomic", "tx", "grp1", "grp2"})
+            grid(0).cache(name).clear();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAtomic() throws Exception {
+        checkGetAll("atomic");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactional() throws Exception {
+        checkGetAll("tx");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCacheGroup() throws Exception {
+        IgniteCache<Object, Object> other = grid(0).cache("grp2");
+
+        // Rows of another cache of the group are interleaved with rows of the checked cache.
+        for (int i = 0; i < KEYS * 2; i++)
+            other.put(i, "other-" + i);
+
+        checkGetAll("grp1");
+
+        for (int i = 0; i < KEYS * 2; i += 100)
+            assertEquals("other-" + i, other.get(i));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHashCollisions() throws Exception {
+        IgniteCache<Object, Object> cache = grid(0).cache("atomic");
+
+        // Keys of a group are stored with the same binary hash code.
+        for (int i = 0; i < KEYS; i++) {
+            int grpHash = grid(0).binary().toBinary(new CollidingKey(i - i % CollidingKey.GRP_SIZE)).hashCode();
+
+            assertEquals(grpHash, grid(0).binary().toBinary(new CollidingKey(i)).hashCode());
+        }
+
+        for (int i = 0; i < KEYS; i += 2)
+            cache.put(new CollidingKey(i), i);
+
+        for (int g = 0; g < 3; g++) {
+            IgniteCache<Object, Object> c = grid(g).cache("atomic");
+
+            Set<Object> keys = new TreeSet<>();
+
+            for (int i = 0; i < KEYS; i++)
+                keys.add(new CollidingKey(i));
+
+            Map<Object, Object> res = c.getAll(keys);
+
+            assertEquals(KEYS / 2, res.size());
+
+            for (int i = 0; i < KEYS; i += 2)
+                assertEquals(i, res.get(new CollidingKey(i)));
+
+            // Sparse keys are read one by one.
+            keys.clear();
+
+            for (int i = 0; i < KEYS; i += 97)
+                keys.add(new CollidingKey(i));
+
+            res = c.getAll(keys);
+
+            for (Object key : keys) {
+                int id = ((CollidingKey)key).id;
+
+                assertEquals(id % 2 == 0 ? id : null, res.get(key));
+            }
+        }
+    }
+
+    /**
+     * @param cacheName Cache name.
+     */
+    private void checkGetAll(String cacheName) {
+        IgniteCache<Object, Object> cache = grid(0).cache(cacheName);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, "val-" + i);
+
+        for (int g = 0; g < 3; g++) {
+            IgniteCache<Object, Object> c = grid(g).cache(cacheName);
+
+            // All keys, partitions are read with range scans.
+            checkGetAll(c, 0, KEYS, 1);
+
+            // Dense range together with absent keys.
+            checkGetAll(c, KEYS - 500, KEYS + 500, 1);
+
+            // Sparse keys, looked up one by one.
+            checkGetAll(c, 0, KEYS, 37);
+        }
+    }
+
+    /**
+     * @param cache Cache.
+     * @param from First key.
+     * @param to Last key (exclusive).
+     * @param step Step.
+     */
+    private void checkGetAll(IgniteCache<Object, Object> cache, int from, int to, int step) {
+        Set<Object> keys = new TreeSet<>();
+
+        for (int i = from; i < to; i += step)
+            keys.add(i);
+
+        Map<Object, Object> exp = new TreeMap<>();
+
+        for (int i = from; i < Math.min(to, KEYS); i += step)
+            exp.put(i, "val-" + i);
+
+        assertEquals(exp, new TreeMap<>(cache.getAll(keys)));
+    }
+
+    /**
+     * Key with a lot of binary hash code collisions. Binary hash code is the polynomial hash of the key bytes, and
+     * blocks {@code "Aa"} and {@code "BB"} have the same polynomial hash, so the names of the keys of a group of
+     * {@link #GRP_SIZE} keys have the same length and binary hash and differ only in the blocks.
+     */
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        /** Number of bits of the ID encoded with colliding blocks. */
+        private static final int COLLIDING_BITS = 4;
+
+        /** Number of keys with the same binary hash code. */
+        private static final int GRP_SIZE = 1 << COLLIDING_BITS;
+
+        /** Name. */
+        private final String name;
+
+        /** ID, not marshalled. */
+        private final transient int id;
+
+        /**
+         * @param id ID.
+         */
+        private CollidingKey(int id) {
+            this.id = id;
+
+            StringBuilder sb = new StringBuilder().append(id >> COLLIDING_BITS).append(':');
+
+            for (int i = 0; i < COLLIDING_BITS; i++)
+                sb.append((id & (1 << i)) == 0 ? "Aa" : "BB");
+
+            name = sb.toString();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int compareTo(CollidingKey o) {
+            return name.compareTo(o.name);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey)o).name.equals(name);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return name.hashCode();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(CollidingKey.class, this);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsExchangeFuture;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.CacheGroupMetricsImpl.CACHE_GROUP_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_STAGES_METRICS;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.testframework.GridTestUtils.mergeExchangeWaitVersion;
+
+/**
+ * Tests durations of partition map exchange stages exposed as metrics.
+ */
+public class CacheExchangeStagesMetricsTest extends GridCommonAbstractTest {
+    /** Cache groups. */
+    private static final List<String> GROUPS = Arrays.asList("grp1", "grp2", "grp3");
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        CacheConfiguration[] ccfgs = new CacheConfiguration[GROUPS.size() * 2];
+
+        for (int i = 0; i < GROUPS.size(); i++) {
+            for (int j = 0; j < 2; j++) {
+                ccfgs[i * 2 + j] = new CacheConfiguration<>(GROUPS.get(i) + "-cache" + j)
+                    .setGroupName(GROUPS.get(i))
+                    .setBackups(1);
+            }
+        }
+
+        cfg.setCacheConfiguration(ccfgs);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStagesMetrics() throws Exception {
+        IgniteEx crd = startGrid(0);
+
+        for (String grp : GROUPS)
+            crd.cache(grp + "-cache0").put(1, 1);
+
+        IgniteEx ignite = startGrid(1);
+
+        awaitPartitionMapExchange();
+
+        for (IgniteEx node : Arrays.asList(crd, ignite)) {
+            MetricRegistry reg = node.context().metric().registry(PME_STAGES_METRICS);
+
+            for (String stage : Arrays.asList("WaitPartitionsRelease", "PreloadingNotification", "ExchangeDone")) {
+                HistogramMetric hist = reg.findMetric(stage + "Histogram");
+
+                assertNotNull("No metric for stage " + stage, hist);
+                assertTrue(Arrays.stream(hist.value()).sum() > 0);
+
+                assertNotNull(reg.<LongMetric>findMetric(stage));
+            }
+
+            for (String grp : GROUPS) {
+                MetricRegistry grpReg = node.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, grp));
+
+                assertNotNull(grpReg.<LongMetric>findMetric("PmePreloadingNotificationDuration"));
+                assertNotNull(grpReg.<LongMetric>findMetric("PmeDetectLostPartitionsDuration"));
+            }
+        }
+
+        // Update counters are collected on the coordinator, full map is applied on other nodes.
+        for (String grp : GROUPS) {
+            assertNotNull(crd.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, grp))
+                .findMetric("PmeCollectUpdateCountersDuration"));
+
+            assertNotNull(ignite.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, grp))
+                .findMetric("PmeFullMapUpdatingDuration"));
+        }
+
+        assertNotNull(ignite.context().metric().registry(PME_STAGES_METRICS).findMetric("FullMapUpdating"));
+    }
+
+    /**
+     * Checks that affinity is recalculated and update counters are collected for every group when exchanges
+     * of concurrently joined nodes are merged.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMergedExchangeStagesMetrics() throws Exception {
+        IgniteEx crd = startGrid(0);
+
+        for (String grp : GROUPS)
+            crd.cache(grp + "-cache0").put(1, 1);
+
+        mergeExchangeWaitVersion(crd, 3);
+
+        AtomicInteger idx = new AtomicInteger(1);
+
+        IgniteInternalFuture<?> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+            startGrid(idx.getAndIncrement());
+
+            return null;
+        }, 2, "start-srv");
+
+        fut.get();
+
+        awaitPartitionMapExchange();
+
+        GridDhtPartitionsExchangeFuture exchFut = null;
+
+        for (GridDhtPartitionsExchangeFuture fut : crd.context().cache().context().exchange().exchangeFutures()) {
+            if (fut.initialVersion().equals(new AffinityTopologyVersion(2, 0)))
+                exchFut = fut;
+        }
+
+        assertNotNull(exchFut);
+        assertFalse(exchFut.isMerged());
+        assertEquals("Exchanges were not merged", new AffinityTopologyVersion(3, 0), exchFut.topologyVersion());
+
+        assertNotNull(crd.context().metric().registry(PME_STAGES_METRICS).findMetric("ExchangesMerge"));
+
+        for (String grp : GROUPS) {
+            MetricRegistry grpReg = crd.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, grp));
+
+            assertNotNull(grpReg.<LongMetric>findMetric("PmeAffinityRecalculationCrdDuration"));
+            assertNotNull(grpReg.<LongMetric>findMetric("PmeCollectUpdateCountersDuration"));
+
+            for (int i = 1; i <= 2; i++) {
+                assertNotNull(grid(i).context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, grp))
+                    .findMetric("PmeFullMapUpdatingDuration"));
+            }
+        }
+
+        for (String grp : GROUPS) {
+            for (int i = 0; i < 3; i++)
+                assertEquals(1, grid(i).cache(grp + "-cache0").get(1));
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE;
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+
+/**
+ * Tests coalescing of atomic cache update requests to the same backup node.
+ */
+public class IgniteCacheAtomicBackupUpdateBatchTest extends GridCommonAbstractTest {
+    /** Number of keys updated while the stripe is blocked. */
+    private static final int KEYS = 50;
+
+    /** Maximum number of coalesced requests. */
+    private static final int BATCH_SIZE = 16;
+
+    /** Striped pool size of the primary node. */
+    private static final int PRIMARY_STRIPES = 4;
+
+    /** Striped pool size of the backup node, differs from primary to check grouping by stripes of backup node. */
+    private static final int BACKUP_STRIPES = 3;
+
+    /** Number of updates of each key in ordering test. */
+    private static final int ROUNDS = 5;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TestRecordingCommunicationSpi());
+
+        cfg.setStripedPoolSize(getTestIgniteInstanceIndex(igniteInstanceName) == 1 ? BACKUP_STRIPES : PRIMARY_STRIPES);
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(ATOMIC)
+            .setWriteSynchronizationMode(FULL_SYNC)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 32)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        System.setProperty(IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE, String.valueOf(BATCH_SIZE));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        System.clearProperty(IGNITE_ATOMIC_DHT_UPDATE_BATCH_SIZE);
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentUpdatesCoalesced() throws Exception {
+        IgniteEx primary = startGrids(2);
+
+        IgniteEx client = startClientGrid(2);
+
+        awaitPartitionMapExchange();
+
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(primary);
+
+        spi.record(GridDhtAtomicBatchUpdateRequest.class);
+
+        List<Integer> keys = stripeKeys(primary);
+
+        for (IgniteFuture<Void> fut : putWithBlockedStripe(primary, client, keys, 1))
+            fut.get(getTestTimeout());
+
+        List<Object> msgs = spi.recordedMessages(true);
+
+        assertFalse(msgs.isEmpty());
+
+        int reqs = 0;
+
+        for (Object msg : msgs) {
+            List<GridDhtAtomicAbstractUpdateRequest> batch = ((GridDhtAtomicBatchUpdateRequest)msg).requests();
+
+            assertTrue(batch.size() > 1 && batch.size() <= BATCH_SIZE);
+
+            for (GridDhtAtomicAbstractUpdateRequest req : batch)
+                assertEquals(batch.get(0).partition() % BACKUP_STRIPES, req.partition() % BACKUP_STRIPES);
+
+            reqs += batch.size();
+        }
+
+        assertTrue("Too few coalesced requests: " + reqs, reqs > KEYS / 2);
+
+        IgniteCache<Integer, Integer> backupCache = grid(1).cache(DEFAULT_CACHE_NAME);
+
+        for (Integer key : keys)
+            assertEquals(key, backupCache.localPeek(key, CachePeekMode.BACKUP));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBackupLeft() throws Exception {
+        IgniteEx primary = startGrids(2);
+
+        IgniteEx client = startClientGrid(2);
+
+        awaitPartitionMapExchange();
+
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(primary);
+
+        spi.blockMessages((node, msg) -> msg instanceof GridDhtAtomicBatchUpdateRequest);
+
+        List<Integer> keys = stripeKeys(primary);
+
+        List<IgniteFuture<Void>> futs = putWithBlockedStripe(primary, client, keys, 1);
+
+        spi.waitForBlocked();
+
+        stopGrid(1);
+
+        spi.stopBlock(false);
+
+        for (IgniteFuture<Void> fut : futs)
+            fut.get(getTestTimeout());
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        for (Integer key : keys)
+            assertEquals(key, cache.get(key));
+    }
+
+    /**
+     * Checks that the backup node with a different striped pool size processes updates in the order the primary
+     * node processed them. The primary assigns increasing future IDs to updates processed by one stripe, and the
+     * backup acknowledges updates processed by each its stripe in processing order.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testUpdatesOrderOnBackup() throws Exception {
+        IgniteEx primary = startGrids(2);
+
+        IgniteEx client = startClientGrid(2);
+
+        awaitPartitionMapExchange();
+
+        TestRecordingCommunicationSpi backupSpi = TestRecordingCommunicationSpi.spi(grid(1));
+
+        backupSpi.record(GridDhtAtomicDeferredUpdateResponse.class);
+
+        List<Integer> keys = stripeKeys(primary);
+
+        for (IgniteFuture<Void> fut : putWithBlockedStripe(primary, client, keys, ROUNDS))
+            fut.get(getTestTimeout());
+
+        // Acks are sent by the backup after near updates complete.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            int acks = 0;
+
+            for (Object msg : backupSpi.recordedMessages(false))
+                acks += ((GridDhtAtomicDeferredUpdateResponse)msg).futureIds().size();
+
+            return acks == keys.size() * ROUNDS;
+        }, getTestTimeout()));
+
+        for (Object msg : backupSpi.recordedMessages(true)) {
+            GridLongList futIds = ((GridDhtAtomicDeferredUpdateResponse)msg).futureIds();
+
+            for (int i = 1; i < futIds.size(); i++)
+                assertTrue("Updates reordered on backup: " + futIds, futIds.get(i - 1) < futIds.get(i));
+        }
+
+        IgniteCache<Integer, Integer> backupCache = grid(1).cache(DEFAULT_CACHE_NAME);
+
+        for (Integer key : keys)
+            assertEquals(Integer.valueOf(key + ROUNDS - 1), backupCache.localPeek(key, CachePeekMode.BACKUP));
+    }
+
+    /**
+     * @param primary Primary node.
+     * @return Keys of different partitions owned by the same stripe of the primary node.
+     */
+    private List<Integer> stripeKeys(IgniteEx primary) {
+        Affinity<Integer> aff = primary.affinity(DEFAULT_CACHE_NAME);
+
+        List<Integer> keys = new ArrayList<>();
+
+        for (int k = 0; keys.size() < KEYS; k++) {
+            if (aff.isPrimary(primary.localNode(), k) && aff.partition(k) % PRIMARY_STRIPES == 0)
+                keys.add(k);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Puts keys while the stripe of the primary node owning them is blocked, so that near requests are queued
+     * and processed at once.
+     *
+     * @param primary Primary node.
+     * @param client Client node.
+     * @param keys Keys owned by the first stripe of the primary node.
+     * @param rounds Number of updates of each key, the last one puts the key increased by {@code rounds - 1}.
+     * @return Put futures.
+     * @throws Exception If failed.
+     */
+    private List<IgniteFuture<Void>> putWithBlockedStripe(IgniteEx primary, IgniteEx client, List<Integer> keys,
+        int rounds) throws Exception {
+        StripedExecutor stripedExec = primary.context().getStripedExecutorService();
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        stripedExec.execute(0, () -> U.awaitQuiet(latch));
+
+        IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+        List<IgniteFuture<Void>> futs = new ArrayList<>();
+
+        for (int r = 0; r < rounds; r++) {
+            for (Integer key : keys)
+                futs.add(cache.putAsync(key, key + r));
+        }
+
+        assertTrue(GridTestUtils.waitForCondition(() -> stripedExec.queueSize() >= keys.size() * rounds,
+            getTestTimeout()));
+
+        latch.countDown();
+
+        return futs;
+    }
+}
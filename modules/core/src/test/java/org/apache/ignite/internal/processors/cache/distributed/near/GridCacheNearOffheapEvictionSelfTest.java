@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
+/**
+ * Tests near cache with entries evicted from heap to off-heap memory.
+ */
+public class GridCacheNearOffheapEvictionSelfTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 500;
+
+    /** Near on-heap size. */
+    private static final int NEAR_HEAP_SIZE = 10;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        startClientGrid(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAtomic() throws Exception {
+        checkNearOffheap(ATOMIC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactional() throws Exception {
+        checkNearOffheap(TRANSACTIONAL);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentEvictionAndUpdateAtomic() throws Exception {
+        checkConcurrentEvictionAndUpdate(ATOMIC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentEvictionAndUpdateTransactional() throws Exception {
+        checkConcurrentEvictionAndUpdate(TRANSACTIONAL);
+    }
+
+    /**
+     * Checks that a value evicted from heap concurrently with its update is not served from off-heap memory
+     * after the update.
+     *
+     * @param atomicityMode Atomicity mode.
+     * @throws Exception If failed.
+     */
+    private void checkConcurrentEvictionAndUpdate(CacheAtomicityMode atomicityMode) throws Exception {
+        IgniteCache<Integer, String> nearCache = createNearCache(atomicityMode);
+
+        IgniteCache<Integer, String> srvCache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        int keys = NEAR_HEAP_SIZE * 5;
+
+        for (int i = 0; i < keys; i++)
+            srvCache.put(i, "val-" + i);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Readers keep evicting entries from heap while they are updated.
+        IgniteInternalFuture<?> readFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get())
+                nearCache.get(rnd.nextInt(keys));
+        }, 4, "near-reader");
+
+        try {
+            for (int iter = 0; iter < 200; iter++) {
+                for (int i = 0; i < keys; i++)
+                    srvCache.put(i, "val-" + i + "-" + iter);
+            }
+        }
+        finally {
+            stop.set(true);
+        }
+
+        readFut.get();
+
+        for (int i = 0; i < keys; i++)
+            assertEquals(srvCache.get(i), nearCache.get(i));
+    }
+
+    /**
+     * Checks that values older than a missed transactional update are not moved off-heap after the tracked
+     * missed updates overflow.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMissedTxUpdatesOverflow() throws Exception {
+        createNearCache(TRANSACTIONAL);
+
+        GridCacheContext<Object, Object> cctx = grid(2).cachex(DEFAULT_CACHE_NAME).context();
+
+        GridNearCacheAdapter<Object, Object> near = cctx.near();
+
+        KeyCacheObject key = cctx.toCacheKeyObject(0);
+
+        // Tracked update of the key is dropped with all the others on overflow.
+        for (int i = 0; i <= GridNearCacheAdapter.MISSED_TX_UPDATES_MAX; i++)
+            near.onNearEvictedSent(cctx.toCacheKeyObject(i), new GridCacheVersion(1, 1000 + i, 1, 0));
+
+        AffinityTopologyVersion topVer = cctx.topology().readyTopologyVersion();
+
+        int part = cctx.affinity().partition(key);
+
+        GridCacheVersion ver = new GridCacheVersion(1, 1, 1, 0);
+
+        near.onEvictedFromHeap(near.offheapInvalidationStamp(key), key, cctx.toCacheObject("stale"), ver,
+            new GridCacheVersion(1, 500, 1, 0), topVer, 0);
+
+        assertNull(near.offheapPeek(key, part, topVer));
+
+        near.onEvictedFromHeap(near.offheapInvalidationStamp(key), key, cctx.toCacheObject("fresh"), ver,
+            new GridCacheVersion(1, 2000, 1, 0), topVer, 0);
+
+        assertNotNull(near.offheapPeek(key, part, topVer));
+    }
+
+    /**
+     * @param atomicityMode Atomicity mode.
+     * @return Near cache on the client node.
+     */
+    private IgniteCache<Integer, String> createNearCache(CacheAtomicityMode atomicityMode) {
+        CacheConfiguration<Integer, String> ccfg = new CacheConfiguration<Integer, String>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(atomicityMode)
+            .setWriteSynchronizationMode(FULL_SYNC)
+            .setBackups(1);
+
+        grid(0).createCache(ccfg);
+
+        NearCacheConfiguration<Integer, String> nearCfg = new NearCacheConfiguration<Integer, String>()
+            .setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(NEAR_HEAP_SIZE))
+            .setNearOffheapMaxSize(4L * 1024 * 1024);
+
+        return grid(2).createNearCache(DEFAULT_CACHE_NAME, nearCfg);
+    }
+
+    /**
+     * @param atomicityMode Atomicity mode.
+     * @throws Exception If failed.
+     */
+    private void checkNearOffheap(CacheAtomicityMode atomicityMode) throws Exception {
+        IgniteCache<Integer, String> nearCache = createNearCache(atomicityMode);
+
+        IgniteEx client = grid(2);
+
+        Ignite srv = grid(0);
+
+        IgniteCache<Integer, String> srvCache = srv.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            srvCache.put(i, "val-" + i);
+
+        // Load entries into near cache, most of them are evicted from heap.
+        for (int i = 0; i < KEYS; i++)
+            assertEquals("val-" + i, nearCache.get(i));
+
+        // Entries are evicted from heap after get completes.
+        assertTrue(GridTestUtils.waitForCondition(
+            () -> client.cachex(DEFAULT_CACHE_NAME).context().near().nearSize() <= NEAR_HEAP_SIZE, 10_000));
+
+        // Frequency sketch learns the keys are accessed repeatedly.
+        for (int i = 0; i < KEYS; i++)
+            assertEquals("val-" + i, nearCache.get(i));
+
+        MetricRegistry mreg = client.context().metric().registry(cacheMetricsRegistryName(DEFAULT_CACHE_NAME, true));
+
+        long hits = ((LongAdderMetric)mreg.findMetric("NearOffheapHits")).value();
+
+        assertTrue("Unexpected off-heap hits: " + hits, hits > 0);
+
+        // Updates must invalidate off-heap copies.
+        for (int i = 0; i < KEYS; i++)
+            srvCache.put(i, "new-val-" + i);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals("new-val-" + i, nearCache.get(i));
+
+        for (int i = 0; i < KEYS; i += 2)
+            srvCache.remove(i);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i % 2 == 0 ? null : "new-val-" + i, nearCache.get(i));
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link NearCacheOffheapStore} and {@link NearCacheFrequencySketch}.
+ */
+public class NearCacheOffheapStoreSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final GridCacheVersion VER = new GridCacheVersion(1, 2, 3);
+
+    /** */
+    private static final AffinityTopologyVersion TOP_VER = new AffinityTopologyVersion(5, 1);
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPutGetRemove() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(1024 * 1024, 4, null);
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(put(store, i, key(i), value(i, 100), i));
+
+        assertEquals(100, store.size());
+
+        for (int i = 0; i < 100; i++) {
+            NearCacheOffheapStore.Entry e = store.get(i, key(i));
+
+            assertNotNull(e);
+            assertTrue(Arrays.equals(value(i, 100), e.valueBytes()));
+            assertEquals(1, e.valueType());
+            assertEquals(VER, e.version());
+            assertEquals(TOP_VER, e.topologyVersion());
+            assertEquals(i, e.expireTime());
+        }
+
+        assertNull(store.get(100, key(100)));
+
+        for (int i = 0; i < 100; i += 2)
+            assertTrue(store.remove(i, key(i)));
+
+        assertFalse(store.remove(0, key(0)));
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i % 2 != 0, store.get(i, key(i)) != null);
+
+        assertEquals(50, store.size());
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.usedSize());
+        assertNull(store.get(1, key(1)));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOverwrite() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(1024 * 1024, 1, null);
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+        assertTrue(put(store, 1, key(1), value(2, 20), 0));
+
+        assertEquals(1, store.size());
+        assertTrue(Arrays.equals(value(2, 20), store.get(1, key(1)).valueBytes()));
+    }
+
+    /**
+     * Checks that a value is not stored if its key was invalidated after the stamp was taken.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidatedAfterStamp() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(1024 * 1024, 1, null);
+
+        long stamp = store.invalidationStamp(1);
+
+        store.remove(1, key(1));
+
+        assertFalse(store.put(stamp, 1, key(1), value(1, 10), (byte)1, VER, TOP_VER, 0));
+        assertNull(store.get(1, key(1)));
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+        assertNotNull(store.get(1, key(1)));
+    }
+
+    /**
+     * Checks that invalidation without key bytes rejects values read before it and tells whether the key may be stored.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidate() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(1024 * 1024, 1, null);
+
+        long stamp = store.invalidationStamp(1);
+
+        assertFalse(store.invalidate(1));
+
+        assertFalse(store.put(stamp, 1, key(1), value(1, 10), (byte)1, VER, TOP_VER, 0));
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+
+        assertTrue(store.invalidate(1));
+        assertFalse(store.invalidate(2));
+
+        assertTrue(store.remove(1, key(1)));
+
+        assertFalse(store.invalidate(1));
+    }
+
+    /**
+     * Checks that keys with colliding hashes are distinguished by key bytes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHashCollisions() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(1024 * 1024, 1, null);
+
+        for (int i = 0; i < 50; i++)
+            assertTrue(put(store, 42, key(i), value(i, 10), 0));
+
+        for (int i = 0; i < 50; i += 3)
+            assertTrue(store.remove(42, key(i)));
+
+        for (int i = 0; i < 50; i++) {
+            NearCacheOffheapStore.Entry e = store.get(42, key(i));
+
+            if (i % 3 == 0)
+                assertNull(e);
+            else
+                assertTrue(Arrays.equals(value(i, 10), e.valueBytes()));
+        }
+    }
+
+    /**
+     * Checks that frequently accessed keys are admitted when memory is full and rarely accessed keys are not.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAdmission() throws Exception {
+        MetricRegistry mreg = new MetricRegistry("test", "test", log);
+
+        NearCacheOffheapStore store = new NearCacheOffheapStore(NearCacheOffheapStore.MIN_SHARD_SIZE, 1, mreg);
+
+        assertEquals(1, store.shards());
+
+        int key = 0;
+
+        // Fill the memory: new keys are rejected as soon as the oldest entry has to be evicted for them.
+        while (put(store, key, key(key), value(key, 1000), 0))
+            key++;
+
+        long size = store.size();
+
+        assertEquals(key, size);
+
+        int rare = key++;
+
+        assertNull(store.get(rare, key(rare)));
+
+        int frequent = key++;
+
+        for (int i = 0; i < 5; i++)
+            assertNull(store.get(frequent, key(frequent)));
+
+        assertTrue(put(store, frequent, key(frequent), value(frequent, 1000), 0));
+        assertNotNull(store.get(frequent, key(frequent)));
+
+        // The oldest entry was evicted.
+        assertNull(store.get(0, key(0)));
+
+        assertTrue(store.usedSize() <= store.allocatedSize());
+
+        assertEquals(1L, ((LongAdderMetric)mreg.findMetric("NearOffheapRejections")).value());
+        assertEquals(size + 1, ((LongAdderMetric)mreg.findMetric("NearOffheapAdmissions")).value());
+        assertTrue(((LongAdderMetric)mreg.findMetric("NearOffheapEvictions")).value() > 0);
+        assertTrue(((LongAdderMetric)mreg.findMetric("NearOffheapHits")).value() > 0);
+        assertTrue(((LongAdderMetric)mreg.findMetric("NearOffheapMisses")).value() > 0);
+    }
+
+    /**
+     * Checks store consistency while the ring buffer wraps around many times.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRandomOperations() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(NearCacheOffheapStore.MIN_SHARD_SIZE * 2, 2, null);
+
+        Map<Integer, byte[]> ref = new HashMap<>();
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 100_000; i++) {
+            int k = rnd.nextInt(2000);
+
+            if (rnd.nextInt(10) == 0) {
+                store.remove(k, key(k));
+
+                ref.remove(k);
+            }
+            else {
+                // Make some keys more popular to let them pass admission.
+                if (k < 100)
+                    store.get(k, key(k));
+
+                byte[] val = value(i, rnd.nextInt(1, 2000));
+
+                if (put(store, k, key(k), val, 0))
+                    ref.put(k, val);
+                else
+                    ref.remove(k);
+            }
+
+            assertTrue(store.usedSize() <= store.allocatedSize());
+        }
+
+        int found = 0;
+
+        for (int k = 0; k < 2000; k++) {
+            NearCacheOffheapStore.Entry e = store.get(k, key(k));
+
+            if (e != null) {
+                byte[] expVal = ref.get(k);
+
+                assertNotNull("Removed key found: " + k, expVal);
+                assertTrue(Arrays.equals(expVal, e.valueBytes()));
+
+                found++;
+            }
+        }
+
+        assertEquals(found, store.size());
+        assertTrue(found > 0);
+    }
+
+    /**
+     * Checks that memory is allocated on the first record and released explicitly when the shard runs empty,
+     * on clear and on close.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMemoryReleased() throws Exception {
+        NearCacheOffheapStore store = new NearCacheOffheapStore(NearCacheOffheapStore.MIN_SHARD_SIZE, 1, null);
+
+        assertEquals(0, store.allocatedSize());
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+        assertTrue(put(store, 2, key(2), value(2, 10), 0));
+
+        assertEquals(NearCacheOffheapStore.MIN_SHARD_SIZE, store.allocatedSize());
+
+        assertTrue(store.remove(1, key(1)));
+
+        assertEquals(NearCacheOffheapStore.MIN_SHARD_SIZE, store.allocatedSize());
+
+        assertTrue(store.remove(2, key(2)));
+
+        assertEquals(0, store.allocatedSize());
+        assertEquals(0, store.usedSize());
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+
+        store.clear();
+
+        assertEquals(0, store.allocatedSize());
+        assertNull(store.get(1, key(1)));
+
+        assertTrue(put(store, 1, key(1), value(1, 10), 0));
+
+        store.close();
+
+        assertEquals(0, store.allocatedSize());
+        assertFalse(put(store, 1, key(1), value(1, 10), 0));
+        assertEquals(0, store.allocatedSize());
+    }
+
+    /**
+     * Checks that readers never observe a value which does not belong to the key while memory is modified
+     * and released concurrently.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentReadWrite() throws Exception {
+        final NearCacheOffheapStore store = new NearCacheOffheapStore(NearCacheOffheapStore.MIN_SHARD_SIZE * 4, 4, null);
+
+        final AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> writeFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int k = rnd.nextInt(1000);
+
+                if (rnd.nextBoolean())
+                    put(store, k, key(k), value(k, rnd.nextInt(1, 1000)), 0);
+                else
+                    store.remove(k, key(k));
+            }
+
+            return null;
+        }, 2, "writer");
+
+        IgniteInternalFuture<?> clearFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                doSleep(50);
+
+                store.clear();
+            }
+        }, "clear");
+
+        IgniteInternalFuture<?> readFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int k = rnd.nextInt(1000);
+
+                NearCacheOffheapStore.Entry e = store.get(k, key(k));
+
+                if (e != null) {
+                    byte[] val = e.valueBytes();
+
+                    assertTrue(Arrays.equals(value(k, val.length), val));
+                }
+            }
+
+            return null;
+        }, 4, "reader");
+
+        doSleep(3_000);
+
+        stop.set(true);
+
+        writeFut.get();
+        readFut.get();
+        clearFut.get();
+
+        store.close();
+
+        assertEquals(0, store.allocatedSize());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFrequencySketch() throws Exception {
+        NearCacheFrequencySketch sketch = new NearCacheFrequencySketch(1024);
+
+        assertEquals(0, sketch.frequency(1));
+
+        for (int i = 0; i < 5; i++)
+            sketch.increment(1);
+
+        assertEquals(5, sketch.frequency(1));
+
+        for (int i = 0; i < 100; i++)
+            sketch.increment(2);
+
+        assertEquals(NearCacheFrequencySketch.MAX_FREQUENCY, sketch.frequency(2));
+
+        // Cause counters reset.
+        for (int i = 0; i < 10 * 1024; i++)
+            sketch.increment(i + 1000);
+
+        assertTrue(sketch.frequency(1) < 5);
+        assertTrue(sketch.frequency(2) < NearCacheFrequencySketch.MAX_FREQUENCY);
+    }
+
+    /**
+     * @param store Store.
+     * @param hash Key hash.
+     * @param key Key bytes.
+     * @param val Value bytes.
+     * @param expireTime Expire time.
+     * @return {@code True} if entry was stored.
+     */
+    private static boolean put(NearCacheOffheapStore store, int hash, byte[] key, byte[] val, long expireTime) {
+        return store.put(store.invalidationStamp(hash), hash, key, val, (byte)1, VER, TOP_VER, expireTime);
+    }
+
+    /**
+     * @param k Key.
+     * @return Key bytes.
+     */
+    private static byte[] key(int k) {
+        return ("key-" + k).getBytes();
+    }
+
+    /**
+     * @param v Value seed.
+     * @param len Length.
+     * @return Value bytes.
+     */
+    private static byte[] value(int v, int len) {
+        byte[] res = new byte[len];
+
+        for (int i = 0; i < len; i++)
+            res[i] = (byte)(v + i);
+
+        return res;
+    }
+}
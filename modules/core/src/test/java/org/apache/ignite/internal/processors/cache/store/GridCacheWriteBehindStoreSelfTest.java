@@ -18,16 +18,21 @@ package org.apache.ignite.internal.processors.cache.store;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.cache.Cache;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
 import org.apache.ignite.internal.processors.cache.GridCacheTestStore;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
 import org.jsr166.ConcurrentLinkedHashMap;
 import org.junit.Test;
 
@@ -449,4 +454,196 @@ public class GridCacheWriteBehindStoreSelfTest extends GridCacheWriteBehindStore
 
         assertTrue("Store map key set: " + underlyingMap.keySet(), F.eqOrdered(underlyingMap.keySet(), intList));
     }
+
+    /**
+     * Tests write-behind update and coalescing metrics.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCoalescingMetrics() throws Exception {
+        initStore(2, true);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                for (int key = 0; key < 10; key++)
+                    store.write(new CacheEntryImpl<>(key, "val" + i));
+            }
+
+            assertEquals(10, store.getWriteBehindBufferSize());
+            assertEquals(30, store.getWriteBehindUpdatesCount());
+            assertEquals(20, store.getWriteBehindCoalescedUpdatesCount());
+            assertEquals(2.0 / 3, store.getWriteBehindCoalescingRatio(), 1e-6);
+        }
+        finally {
+            shutdownStore();
+        }
+
+        assertEquals(0, store.getWriteBehindBufferSize());
+        assertEquals(10, store.getWriteBehindFlushedEntriesCount());
+        assertTrue(store.getWriteBehindFlushedBatchesCount() > 0);
+        assertTrue(store.getWriteBehindFlushTime() > 0);
+
+        for (int key = 0; key < 10; key++)
+            assertEquals("val2", delegate.load(key));
+    }
+
+    /**
+     * Tests that batch size is decreased on store failures and restored after the store is repaired.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchSizeAdjustedOnFailureWithCoalescing() throws Exception {
+        testBatchSizeAdjustedOnFailure(true);
+    }
+
+    /**
+     * Tests that batch size is decreased on store failures and restored after the store is repaired.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchSizeAdjustedOnFailureWithoutCoalescing() throws Exception {
+        testBatchSizeAdjustedOnFailure(false);
+    }
+
+    /**
+     * Tests that batch size is decreased on store failures and restored after the store is repaired.
+     *
+     * @param writeCoalescing Write coalescing flag.
+     * @throws Exception If failed.
+     */
+    private void testBatchSizeAdjustedOnFailure(boolean writeCoalescing) throws Exception {
+        initStore(1, writeCoalescing);
+
+        final int maxBatchSize = store.getWriteBehindStoreBatchSize();
+
+        try {
+            assertEquals(maxBatchSize, store.getWriteBehindCurrentBatchSize());
+
+            delegate.setShouldFail(true);
+
+            store.write(new CacheEntryImpl<>(-1, "val"));
+
+            assertTrue(GridTestUtils.waitForCondition(
+                () -> store.getWriteBehindCurrentBatchSize() < maxBatchSize, 5 * FLUSH_FREQUENCY));
+
+            delegate.setShouldFail(false);
+
+            assertTrue(GridTestUtils.waitForCondition(() -> store.getWriteBehindBufferSize() == 0,
+                5 * FLUSH_FREQUENCY));
+
+            int reduced = store.getWriteBehindCurrentBatchSize();
+
+            for (int i = 0; i < CACHE_SIZE; i++)
+                store.write(new CacheEntryImpl<>(i, "val" + i));
+
+            assertTrue(GridTestUtils.waitForCondition(() -> store.getWriteBehindBufferSize() == 0,
+                5 * FLUSH_FREQUENCY));
+
+            int restored = store.getWriteBehindCurrentBatchSize();
+
+            assertTrue("Batch size is not restored [reduced=" + reduced + ", restored=" + restored + ']',
+                restored > reduced && restored <= maxBatchSize);
+        }
+        finally {
+            shutdownStore();
+        }
+
+        assertEquals(CACHE_SIZE + 1, delegate.getMap().size());
+    }
+
+    /**
+     * Tests that keys of a single flusher can fill the write buffer up to its critical size, not only
+     * the flusher share of it.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSkewedKeysUseWholeBuffer() throws Exception {
+        int flushThreadCnt = 4;
+
+        initStore(flushThreadCnt, true);
+
+        // Keys which are multiples of the flusher count are flushed by the same flusher.
+        int keys = CACHE_SIZE - 24;
+
+        try {
+            for (int i = 0; i < keys; i++)
+                store.write(new CacheEntryImpl<>(i * flushThreadCnt, "val" + i));
+
+            assertEquals(0, store.getWriteBehindTotalCriticalOverflowCount());
+        }
+        finally {
+            shutdownStore();
+        }
+
+        assertEquals(keys, delegate.getMap().size());
+    }
+
+    /**
+     * Tests that writers are throttled instead of writing to the store when the write buffer is overflowed
+     * because of a slow store.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWritersThrottledOnOverflow() throws Exception {
+        Map<Integer, String> stored = new ConcurrentHashMap<>();
+
+        Thread writer = Thread.currentThread();
+
+        AtomicBoolean writtenByWriter = new AtomicBoolean();
+
+        CacheStoreAdapter<Integer, String> slowStore = new CacheStoreAdapter<Integer, String>() {
+            @Override public String load(Integer key) {
+                return stored.get(key);
+            }
+
+            @Override public void write(Cache.Entry<? extends Integer, ? extends String> e) {
+                writeAll(F.asList(e));
+            }
+
+            @Override public void writeAll(Collection<Cache.Entry<? extends Integer, ? extends String>> entries) {
+                if (Thread.currentThread() == writer)
+                    writtenByWriter.set(true);
+
+                doSleep(20);
+
+                for (Cache.Entry<? extends Integer, ? extends String> e : entries)
+                    stored.put(e.getKey(), e.getValue());
+            }
+
+            @Override public void delete(Object key) {
+                stored.remove(key);
+            }
+        };
+
+        GridCacheWriteBehindStore<Integer, String> slowWbStore =
+            new GridCacheWriteBehindStore<>(null, "", "", log, slowStore);
+
+        slowWbStore.setFlushFrequency(FLUSH_FREQUENCY);
+        slowWbStore.setFlushSize(CACHE_SIZE);
+        slowWbStore.setWriteCoalescing(true);
+        slowWbStore.setFlushThreadCount(1);
+
+        slowWbStore.start();
+
+        int keys = CACHE_SIZE * 4;
+
+        try {
+            for (int i = 0; i < keys; i++)
+                slowWbStore.write(new CacheEntryImpl<>(i, "val" + i));
+
+            assertTrue(slowWbStore.getWriteBehindTotalCriticalOverflowCount() > 0);
+        }
+        finally {
+            slowWbStore.stop();
+        }
+
+        assertFalse("Writer flushed values synchronously", writtenByWriter.get());
+
+        assertEquals(keys, stored.size());
+    }
 }
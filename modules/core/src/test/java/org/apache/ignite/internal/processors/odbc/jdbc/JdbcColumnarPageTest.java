@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryHeapOutputStream;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests columnar encoding of JDBC query result pages.
+ */
+public class JdbcColumnarPageTest {
+    /** Rows count. */
+    private static final int ROWS = 100;
+
+    /**
+     * Tests that rows are read the same as written for all column kinds.
+     */
+    @Test
+    public void testRoundTrip() {
+        List<List<Object>> rows = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            boolean nullRow = i % 7 == 0;
+
+            rows.add(Arrays.asList(
+                i,
+                nullRow ? null : (long)i * Integer.MAX_VALUE,
+                nullRow ? null : i / 3.0d,
+                nullRow ? null : i / 3.0f,
+                nullRow ? null : (short)i,
+                nullRow ? null : (byte)i,
+                nullRow ? null : i % 2 == 0,
+                nullRow ? null : "val" + i % 5,
+                "unique" + i,
+                nullRow ? null : new BigDecimal(i),
+                new Date(i),
+                i % 2 == 0 ? i : "mixed" + i,
+                null));
+        }
+
+        List<List<Object>> res = roundTrip(rows);
+
+        assertTrue(res instanceof JdbcColumnarPage);
+        assertEquals(rows, res);
+
+        JdbcColumnarPage.Row row = (JdbcColumnarPage.Row)res.get(1);
+
+        for (int col = 0; col < 7; col++)
+            assertTrue(row.isPrimitive(col));
+
+        assertTrue(row.isString(7));
+        assertFalse(row.isString(8));
+
+        for (int col = 8; col < row.size(); col++)
+            assertFalse(row.isPrimitive(col));
+
+        assertTrue(((JdbcColumnarPage.Row)res.get(0)).isNull(1));
+        assertFalse(row.isNull(1));
+        assertTrue(row.isNull(12));
+    }
+
+    /**
+     * Tests that primitive accessors convert values the same way as {@link Number} does.
+     */
+    @Test
+    public void testPrimitiveConversions() {
+        List<Object> vals = Arrays.asList(
+            Long.MAX_VALUE - 1, 1e10d, -2.5e9f, Integer.MIN_VALUE + 7, (short)-300, (byte)-5, true);
+
+        List<List<Object>> res = roundTrip(Collections.singletonList(vals));
+
+        JdbcColumnarPage.Row row = (JdbcColumnarPage.Row)res.get(0);
+
+        for (int col = 0; col < vals.size(); col++) {
+            Object val = vals.get(col);
+
+            Number num = val instanceof Boolean ? ((Boolean)val ? 1 : 0) : (Number)val;
+
+            assertEquals(num.byteValue(), row.byteValue(col));
+            assertEquals(num.shortValue(), row.shortValue(col));
+            assertEquals(num.intValue(), row.intValue(col));
+            assertEquals(num.longValue(), row.longValue(col));
+            assertEquals(num.floatValue(), row.floatValue(col), 0f);
+            assertEquals(num.doubleValue(), row.doubleValue(col), 0d);
+            assertEquals(num.intValue() != 0, row.booleanValue(col));
+        }
+    }
+
+    /**
+     * Tests empty page.
+     */
+    @Test
+    public void testEmpty() {
+        assertTrue(roundTrip(Collections.emptyList()).isEmpty());
+    }
+
+    /**
+     * Tests that row-based format is used if columnar one is not supported by the protocol version.
+     */
+    @Test
+    public void testPreviousProtocolVersion() {
+        List<List<Object>> rows = Collections.singletonList(Arrays.asList(1, "a"));
+
+        List<List<Object>> res = roundTrip(rows, JdbcConnectionContext.VER_2_8_1);
+
+        assertFalse(res instanceof JdbcColumnarPage);
+        assertEquals(rows, res);
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Rows written in columnar format and read back.
+     */
+    private static List<List<Object>> roundTrip(List<List<Object>> rows) {
+        return roundTrip(rows, JdbcConnectionContext.VER_2_8_2);
+    }
+
+    /**
+     * @param rows Rows.
+     * @param ver Protocol version.
+     * @return Rows written with columnar format flag set and read back.
+     */
+    private static List<List<Object>> roundTrip(List<List<Object>> rows, ClientListenerProtocolVersion ver) {
+        BinaryWriterExImpl writer = new BinaryWriterExImpl(null, new BinaryHeapOutputStream(1024), null, null);
+
+        JdbcUtils.writeItems(writer, rows, true, ver);
+
+        BinaryReaderExImpl reader = new BinaryReaderExImpl(null, new BinaryHeapInputStream(writer.array()),
+            null, null, false);
+
+        return JdbcUtils.readItems(reader, ver);
+    }
+}
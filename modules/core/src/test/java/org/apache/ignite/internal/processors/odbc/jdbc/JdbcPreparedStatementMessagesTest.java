@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.odbc.jdbc;
+
+import java.util.Arrays;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryHeapOutputStream;
+import org.apache.ignite.internal.processors.odbc.ClientListenerProtocolVersion;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests serialization of JDBC messages referring server-side prepared statements.
+ */
+public class JdbcPreparedStatementMessagesTest {
+    /** Query. */
+    private static final String SQL = "SELECT * FROM Person WHERE id = ?";
+
+    /**
+     * Tests that the query text is not sent if the prepared statement ID is set.
+     */
+    @Test
+    public void testExecuteRequest() {
+        JdbcQueryExecuteRequest req = executeRequest();
+
+        req.statementId(42);
+
+        JdbcQueryExecuteRequest res = (JdbcQueryExecuteRequest)roundTrip(req, JdbcConnectionContext.VER_2_8_3);
+
+        assertEquals(42, res.statementId());
+        assertNull(res.sqlQuery());
+        assertEquals(1, res.arguments()[0]);
+
+        req.statementId(0);
+
+        res = (JdbcQueryExecuteRequest)roundTrip(req, JdbcConnectionContext.VER_2_8_3);
+
+        assertEquals(0, res.statementId());
+        assertEquals(SQL, res.sqlQuery());
+    }
+
+    /**
+     * Tests that the query text is sent to the server of the previous protocol version.
+     */
+    @Test
+    public void testExecuteRequestPreviousProtocolVersion() {
+        JdbcQueryExecuteRequest res = (JdbcQueryExecuteRequest)roundTrip(executeRequest(),
+            JdbcConnectionContext.VER_2_8_2);
+
+        assertEquals(0, res.statementId());
+        assertEquals(SQL, res.sqlQuery());
+    }
+
+    /**
+     * Tests batch queries referring prepared statement.
+     */
+    @Test
+    public void testBatchRequest() {
+        JdbcQuery qry = new JdbcQuery(SQL, new Object[] {1});
+
+        qry.statementId(7);
+
+        JdbcBatchExecuteRequest req = new JdbcBatchExecuteRequest("PUBLIC",
+            Arrays.asList(qry, new JdbcQuery(null, new Object[] {2})), true, false);
+
+        JdbcBatchExecuteRequest res = (JdbcBatchExecuteRequest)roundTrip(req, JdbcConnectionContext.VER_2_8_3);
+
+        assertEquals(2, res.queries().size());
+        assertNull(res.queries().get(0).sql());
+        assertEquals(7, res.queries().get(0).statementId());
+        assertEquals(0, res.queries().get(1).statementId());
+        assertEquals(2, res.queries().get(1).args()[0]);
+    }
+
+    /**
+     * Tests prepare and close messages.
+     */
+    @Test
+    public void testPrepareAndClose() {
+        JdbcQueryPrepareRequest prepareReq = (JdbcQueryPrepareRequest)roundTrip(
+            new JdbcQueryPrepareRequest("PUBLIC", SQL), JdbcConnectionContext.VER_2_8_3);
+
+        assertEquals("PUBLIC", prepareReq.schemaName());
+        assertEquals(SQL, prepareReq.sqlQuery());
+
+        JdbcPreparedStatementCloseRequest closeReq = (JdbcPreparedStatementCloseRequest)roundTrip(
+            new JdbcPreparedStatementCloseRequest(42), JdbcConnectionContext.VER_2_8_3);
+
+        assertEquals(42, closeReq.statementId());
+
+        BinaryWriterExImpl writer = new BinaryWriterExImpl(null, new BinaryHeapOutputStream(64), null, null);
+
+        new JdbcQueryPrepareResult(42, null).writeBinary(writer, JdbcConnectionContext.VER_2_8_3);
+
+        JdbcResult res = JdbcResult.readResult(reader(writer), JdbcConnectionContext.VER_2_8_3);
+
+        assertTrue(res instanceof JdbcQueryPrepareResult);
+        assertEquals(42, ((JdbcQueryPrepareResult)res).statementId());
+    }
+
+    /**
+     * @return Query execute request.
+     */
+    private static JdbcQueryExecuteRequest executeRequest() {
+        return new JdbcQueryExecuteRequest(JdbcStatementType.SELECT_STATEMENT_TYPE, "PUBLIC", 1024, 0, true, SQL,
+            new Object[] {1});
+    }
+
+    /**
+     * @param req Request.
+     * @param ver Protocol version.
+     * @return Request written and read back.
+     */
+    private static JdbcRequest roundTrip(JdbcRequest req, ClientListenerProtocolVersion ver) {
+        BinaryWriterExImpl writer = new BinaryWriterExImpl(null, new BinaryHeapOutputStream(256), null, null);
+
+        req.writeBinary(writer, ver);
+
+        return JdbcRequest.readRequest(reader(writer), ver);
+    }
+
+    /**
+     * @param writer Writer.
+     * @return Reader of the written data.
+     */
+    private static BinaryReaderExImpl reader(BinaryWriterExImpl writer) {
+        return new BinaryReaderExImpl(null, new BinaryHeapInputStream(writer.array()), null, null, false);
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.ignite.internal.processors.cache.persistence.RootPage;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.sql.optimizer.affinity.PartitionResult;
 import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
@@ -217,6 +218,22 @@ public class DummyQueryIndexing implements GridQueryIndexing {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable PartitionResult partitionResult(
+        String schemaName,
+        SqlFieldsQuery sql
+    ) throws IgniteSQLException {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @Nullable ParsedQuery parse(
+        String schemaName,
+        SqlFieldsQuery sql
+    ) throws IgniteSQLException {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override public @Nullable List<GridQueryFieldMetadata> resultMetaData(
         String schemaName,
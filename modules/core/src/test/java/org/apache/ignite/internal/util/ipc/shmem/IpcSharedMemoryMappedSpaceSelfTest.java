@@ -0,0 +1,361 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.ipc.shmem;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.util.ipc.IpcEndpoint;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests shared memory spaces backed by memory mapped files.
+ */
+public class IpcSharedMemoryMappedSpaceSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final int DATA_LEN = 1024 * 1024;
+
+    /** */
+    private static final int SPACE_SIZE = 128;
+
+    /** */
+    private static final byte[] DATA = new byte[DATA_LEN];
+
+    /**
+     *
+     */
+    static {
+        for (int i = 0; i < DATA_LEN; i++)
+            DATA[i] = (byte)i;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBasicOperations() throws Exception {
+        File tokFile = tokenFile();
+
+        String tok = tokFile.getAbsolutePath();
+
+        IpcSharedMemorySpace outSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, false, true, log);
+
+        assertTrue(outSpace.mapped());
+        assertEquals(IpcSharedMemorySpace.MAPPED_SHMEM_ID, outSpace.sharedMemoryId());
+
+        IpcSharedMemorySpace inSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, true,
+            outSpace.sharedMemoryId(), log);
+
+        IgniteInternalFuture<?> fut = GridTestUtils.runAsync(() -> {
+            try (IpcSharedMemorySpace space = outSpace) {
+                int bytesWritten = 0;
+
+                while (bytesWritten < DATA_LEN) {
+                    int len = Math.min(DATA_LEN - bytesWritten, ThreadLocalRandom.current().nextInt(256) + 1);
+
+                    space.write(DATA, bytesWritten, len, 0);
+
+                    bytesWritten += len;
+                }
+            }
+
+            return null;
+        });
+
+        byte[] buf = new byte[DATA_LEN];
+
+        try (IpcSharedMemorySpace space = inSpace) {
+            int bytesRead = 0;
+
+            while (bytesRead < DATA_LEN) {
+                int len = Math.min(DATA_LEN - bytesRead, ThreadLocalRandom.current().nextInt(32) + 1);
+
+                int len0 = space.read(buf, bytesRead, len, 0);
+
+                assertTrue(len0 > 0);
+
+                bytesRead += len0;
+            }
+        }
+
+        fut.get();
+
+        assertTrue(Arrays.equals(DATA, buf));
+
+        assertFalse(tokFile.exists());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testByteBuffers() throws Exception {
+        String tok = tokenFile().getAbsolutePath();
+
+        try (IpcSharedMemorySpace outSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, false, true, log);
+             IpcSharedMemorySpace inSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, true,
+                 IpcSharedMemorySpace.MAPPED_SHMEM_ID, log)) {
+            for (ByteBuffer src : Arrays.asList(ByteBuffer.wrap(DATA, 0, 100), ByteBuffer.allocateDirect(100))) {
+                if (src.isDirect())
+                    src.put(DATA, 0, 100);
+
+                ByteBuffer dst = src.isDirect() ? ByteBuffer.allocateDirect(100) : ByteBuffer.allocate(100);
+
+                outSpace.write(src, 10, 90, 0);
+
+                assertEquals(90, inSpace.unreadCount());
+
+                int read = 0;
+
+                while (read < 90)
+                    read += inSpace.read(dst, 5 + read, 90 - read, 0);
+
+                assertEquals(0, inSpace.unreadCount());
+
+                for (int i = 0; i < 90; i++)
+                    assertEquals(DATA[10 + i], dst.get(5 + i));
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReaderWakesUpOnClose() throws Exception {
+        String tok = tokenFile().getAbsolutePath();
+
+        IpcSharedMemorySpace outSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, false, true, log);
+
+        try (IpcSharedMemorySpace inSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, true,
+            IpcSharedMemorySpace.MAPPED_SHMEM_ID, log)) {
+            byte[] buf = new byte[SPACE_SIZE];
+
+            outSpace.write(DATA, 0, 16, 0);
+
+            assertEquals(16, inSpace.read(buf, 0, SPACE_SIZE, 0));
+
+            GridTestUtils.assertThrows(log, () -> inSpace.read(buf, 0, SPACE_SIZE, 100),
+                IpcSharedMemoryOperationTimedoutException.class, null);
+
+            IgniteInternalFuture<Integer> fut = GridTestUtils.runAsync(() -> inSpace.read(buf, 0, SPACE_SIZE, 0));
+
+            doSleep(200);
+
+            assertFalse(fut.isDone());
+
+            outSpace.close();
+
+            assertEquals(-1, (int)fut.get(getTestTimeout()));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriterFailsOnClose() throws Exception {
+        File tokFile = tokenFile();
+
+        String tok = tokFile.getAbsolutePath();
+
+        try (IpcSharedMemorySpace outSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, false, true, log)) {
+            IpcSharedMemorySpace inSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, true,
+                IpcSharedMemorySpace.MAPPED_SHMEM_ID, log);
+
+            // Fill the space, so that the next write blocks.
+            outSpace.write(DATA, 0, SPACE_SIZE, 0);
+
+            IgniteInternalFuture<?> fut = GridTestUtils.runAsync(() -> {
+                outSpace.write(DATA, 0, SPACE_SIZE, 0);
+
+                return null;
+            });
+
+            doSleep(200);
+
+            assertFalse(fut.isDone());
+
+            inSpace.close();
+
+            // Token file is removed by the last party only.
+            assertTrue(tokFile.exists());
+
+            GridTestUtils.assertThrows(log, () -> fut.get(getTestTimeout()), IgniteCheckedException.class,
+                "Shared memory segment has been closed");
+        }
+
+        assertFalse(tokFile.exists());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOtherPartyAlive() throws Exception {
+        String tok = tokenFile().getAbsolutePath();
+
+        try (IpcSharedMemorySpace outSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, false, true, log)) {
+            // Party which has not attached yet is considered to be alive.
+            assertTrue(outSpace.otherPartyAlive());
+
+            IpcSharedMemorySpace inSpace = new IpcSharedMemorySpace(tok, 0, 0, SPACE_SIZE, true,
+                IpcSharedMemorySpace.MAPPED_SHMEM_ID, log);
+
+            assertTrue(outSpace.otherPartyAlive());
+            assertTrue(inSpace.otherPartyAlive());
+
+            inSpace.close();
+
+            assertFalse(outSpace.otherPartyAlive());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testEndpoints() throws Exception {
+        IpcSharedMemoryServerEndpoint srv = new IpcSharedMemoryServerEndpoint(log, UUID.randomUUID(),
+            getTestIgniteInstanceName(), U.defaultWorkDirectory());
+
+        srv.setSize(SPACE_SIZE);
+        srv.setMapped(true);
+
+        srv.start();
+
+        try {
+            IgniteInternalFuture<?> fut = GridTestUtils.runAsync(() -> {
+                try (IpcEndpoint endpoint = srv.accept()) {
+                    InputStream in = endpoint.inputStream();
+                    OutputStream out = endpoint.outputStream();
+
+                    byte[] buf = new byte[1024];
+
+                    int read;
+
+                    // Echo everything back.
+                    while ((read = in.read(buf)) > 0)
+                        out.write(buf, 0, read);
+                }
+
+                return null;
+            });
+
+            IpcSharedMemoryClientEndpoint client = new IpcSharedMemoryClientEndpoint(srv.getPort(), log);
+
+            try {
+                assertTrue(client.inSpace().mapped());
+                assertTrue(client.outSpace().mapped());
+
+                IgniteInternalFuture<?> writeFut = GridTestUtils.runAsync(() -> {
+                    client.outputStream().write(DATA);
+
+                    return null;
+                });
+
+                byte[] buf = new byte[DATA_LEN];
+
+                int read = 0;
+
+                while (read < DATA_LEN)
+                    read += client.inputStream().read(buf, read, DATA_LEN - read);
+
+                writeFut.get();
+
+                assertTrue(Arrays.equals(DATA, buf));
+            }
+            finally {
+                client.close();
+            }
+
+            fut.get();
+        }
+        finally {
+            srv.close();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIdleReaderParks() throws Exception {
+        IpcSharedMemoryServerEndpoint srv = new IpcSharedMemoryServerEndpoint(log, UUID.randomUUID(),
+            getTestIgniteInstanceName(), U.defaultWorkDirectory());
+
+        srv.setSize(SPACE_SIZE);
+        srv.setMapped(true);
+
+        srv.start();
+
+        try {
+            IgniteInternalFuture<IpcEndpoint> acceptFut = GridTestUtils.runAsync(srv::accept);
+
+            IpcSharedMemoryClientEndpoint client = new IpcSharedMemoryClientEndpoint(srv.getPort(), log);
+
+            try (IpcEndpoint endpoint = acceptFut.get(getTestTimeout())) {
+                AtomicReference<Thread> reader = new AtomicReference<>();
+
+                IgniteInternalFuture<Integer> readFut = GridTestUtils.runAsync(() -> {
+                    reader.set(Thread.currentThread());
+
+                    return client.inputStream().read();
+                });
+
+                // Idle reader is parked until the writer rings the doorbell instead of polling with timed parks.
+                assertTrue(GridTestUtils.waitForCondition(
+                    () -> reader.get() != null && reader.get().getState() == Thread.State.WAITING, getTestTimeout()));
+
+                assertFalse(readFut.isDone());
+
+                endpoint.outputStream().write(42);
+
+                assertEquals(42, (int)readFut.get(getTestTimeout()));
+            }
+            finally {
+                client.close();
+            }
+        }
+        finally {
+            srv.close();
+        }
+    }
+
+    /**
+     * @return New token file.
+     * @throws Exception If failed.
+     */
+    private File tokenFile() throws Exception {
+        File tokFile = new File(IgniteSystemProperties.getString("java.io.tmpdir"), UUID.randomUUID().toString());
+
+        assertTrue(tokFile.createNewFile());
+
+        return tokFile;
+    }
+}
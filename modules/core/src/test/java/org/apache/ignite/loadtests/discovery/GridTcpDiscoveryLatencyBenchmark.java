@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.loadtests.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.failure.StopNodeFailureHandler;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+
+/**
+ * Measures join, ring pass and failure detection latency of {@link TcpDiscoverySpi} on a cluster of many
+ * lightweight server nodes started in one JVM (300 by default).
+ * <p>
+ * Nodes are started one by one, join duration is taken from {@link TcpDiscoverySpi#getJoinDuration()}. Then a node
+ * in the middle of the ring is failed and the time it takes for the failure to be detected and delivered
+ * to all other nodes is measured.
+ */
+public class GridTcpDiscoveryLatencyBenchmark {
+    /** Number of nodes. */
+    private static final int NODES = Integer.getInteger("TEST_NODES_COUNT", 300);
+
+    /** Failure detection timeout. */
+    private static final long FAILURE_DETECTION_TIMEOUT = Long.getLong("TEST_FAILURE_DETECTION_TIMEOUT", 10_000);
+
+    /** IP finder shared by all nodes. */
+    private static final TcpDiscoveryVmIpFinder IP_FINDER = new TcpDiscoveryVmIpFinder(true);
+
+    /**
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        X.println("nodesCnt=" + NODES);
+        X.println("failureDetectionTimeout=" + FAILURE_DETECTION_TIMEOUT);
+
+        List<Ignite> nodes = new ArrayList<>(NODES);
+
+        try {
+            long start = System.currentTimeMillis();
+
+            List<Long> joinTimes = new ArrayList<>(NODES);
+
+            for (int i = 0; i < NODES; i++) {
+                Ignite ignite = G.start(configuration(i));
+
+                nodes.add(ignite);
+
+                joinTimes.add(spi(ignite).getJoinDuration());
+
+                if ((i + 1) % 50 == 0)
+                    X.println(">>> Started " + (i + 1) + " nodes, last join duration: " + joinTimes.get(i) + "ms");
+            }
+
+            X.println(">>> Cluster started in " + (System.currentTimeMillis() - start) + "ms");
+
+            printStats("Join duration", joinTimes);
+
+            TcpDiscoverySpi crdSpi = spi(nodes.get(0));
+
+            X.println(">>> Ring pass time [avg=" + crdSpi.getAvgRingMessageTime() +
+                "ms, max=" + crdSpi.getMaxRingMessageTime() + "ms]");
+
+            Ignite failed = nodes.get(NODES / 2);
+
+            CountDownLatch latch = new CountDownLatch(NODES - 1);
+
+            AtomicLong firstDelivered = new AtomicLong();
+
+            for (Ignite ignite : nodes) {
+                if (ignite == failed)
+                    continue;
+
+                ignite.events().localListen(evt -> {
+                    firstDelivered.compareAndSet(0, System.currentTimeMillis());
+
+                    latch.countDown();
+
+                    return false;
+                }, EVT_NODE_FAILED);
+            }
+
+            long failTime = System.currentTimeMillis();
+
+            spi(failed).simulateNodeFailure();
+
+            if (!latch.await(FAILURE_DETECTION_TIMEOUT * 10, TimeUnit.MILLISECONDS))
+                X.println(">>> Failure was not delivered to " + latch.getCount() + " nodes.");
+
+            long allDelivered = System.currentTimeMillis();
+
+            long maxDetection = 0;
+
+            for (Ignite ignite : nodes) {
+                if (ignite != failed)
+                    maxDetection = Math.max(maxDetection, spi(ignite).getMaxFailureDetectionTime());
+            }
+
+            X.println(">>> Failure detection [detectionTime=" + maxDetection +
+                "ms, firstDelivered=" + (firstDelivered.get() - failTime) +
+                "ms, allDelivered=" + (allDelivered - failTime) + "ms]");
+        }
+        finally {
+            G.stopAll(true);
+        }
+    }
+
+    /**
+     * @param idx Node index.
+     * @return Lightweight node configuration.
+     */
+    private static IgniteConfiguration configuration(int idx) {
+        IgniteConfiguration cfg = new IgniteConfiguration();
+
+        cfg.setIgniteInstanceName("node-" + idx);
+        cfg.setGridLogger(new NullLogger());
+        cfg.setFailureDetectionTimeout(FAILURE_DETECTION_TIMEOUT);
+        cfg.setFailureHandler(new StopNodeFailureHandler());
+        cfg.setIncludeEventTypes(EVT_NODE_FAILED);
+        cfg.setMetricsLogFrequency(0);
+        cfg.setConnectorConfiguration(null);
+        cfg.setClientConnectorConfiguration(null);
+
+        cfg.setPublicThreadPoolSize(1);
+        cfg.setSystemThreadPoolSize(2);
+        cfg.setStripedPoolSize(1);
+        cfg.setServiceThreadPoolSize(1);
+        cfg.setAsyncCallbackPoolSize(1);
+        cfg.setManagementThreadPoolSize(1);
+        cfg.setPeerClassLoadingThreadPoolSize(1);
+        cfg.setDataStreamerThreadPoolSize(1);
+        cfg.setUtilityCachePoolSize(1);
+        cfg.setQueryThreadPoolSize(1);
+        cfg.setRebalanceThreadPoolSize(1);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setSystemRegionInitialSize(10L * 1024 * 1024)
+            .setSystemRegionMaxSize(10L * 1024 * 1024)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setInitialSize(10L * 1024 * 1024)
+                .setMaxSize(10L * 1024 * 1024)));
+
+        TcpDiscoverySpi discoSpi = new TcpDiscoverySpi();
+
+        discoSpi.setIpFinder(IP_FINDER);
+        discoSpi.setLocalPortRange(NODES);
+
+        cfg.setDiscoverySpi(discoSpi);
+
+        TcpCommunicationSpi commSpi = new TcpCommunicationSpi();
+
+        commSpi.setLocalPortRange(NODES);
+
+        cfg.setCommunicationSpi(commSpi);
+
+        return cfg;
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Discovery SPI.
+     */
+    private static TcpDiscoverySpi spi(Ignite ignite) {
+        return (TcpDiscoverySpi)ignite.configuration().getDiscoverySpi();
+    }
+
+    /**
+     * @param name Statistics name.
+     * @param vals Values in milliseconds.
+     */
+    private static void printStats(String name, List<Long> vals) {
+        List<Long> sorted = new ArrayList<>(vals);
+
+        Collections.sort(sorted);
+
+        long sum = 0;
+
+        for (long val : sorted)
+            sum += val;
+
+        X.println(">>> " + name + " [avg=" + sum / sorted.size() + "ms, median=" + sorted.get(sorted.size() / 2) +
+            "ms, p99=" + sorted.get(sorted.size() * 99 / 100) + "ms, max=" + sorted.get(sorted.size() - 1) + "ms]");
+    }
+}
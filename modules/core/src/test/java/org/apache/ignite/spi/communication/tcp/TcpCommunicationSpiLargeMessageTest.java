@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests transfer of large messages over small socket buffers.
+ */
+public class TcpCommunicationSpiLargeMessageTest extends GridCommonAbstractTest {
+    /** Socket buffer size. */
+    private static final int SOCK_BUF_SIZE = 8 * 1024;
+
+    /** Value size. */
+    private static final int VAL_SIZE = 3 * 1024 * 1024 + 17;
+
+    /** Keys count. */
+    private static final int KEYS = 10;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        TcpCommunicationSpi spi = new TcpCommunicationSpi();
+
+        spi.setSocketSendBuffer(SOCK_BUF_SIZE);
+        spi.setSocketReceiveBuffer(SOCK_BUF_SIZE);
+
+        cfg.setCommunicationSpi(spi);
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setBackups(1));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLargeValues() throws Exception {
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, byte[]> cache = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        byte[][] vals = new byte[KEYS][];
+
+        for (int i = 0; i < KEYS; i++) {
+            vals[i] = new byte[VAL_SIZE];
+
+            ThreadLocalRandom.current().nextBytes(vals[i]);
+
+            cache.put(i, vals[i]);
+        }
+
+        for (IgniteEx ignite : Arrays.asList(ignite0, ignite1)) {
+            IgniteCache<Integer, byte[]> cache0 = ignite.cache(DEFAULT_CACHE_NAME);
+
+            for (int i = 0; i < KEYS; i++)
+                assertTrue("Unexpected value [node=" + ignite.name() + ", key=" + i + ']',
+                    Arrays.equals(vals[i], cache0.get(i)));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLargeBinaryObjects() throws Exception {
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, BinaryObject> cache = ignite0.cache(DEFAULT_CACHE_NAME).withKeepBinary();
+
+        byte[][] vals = new byte[KEYS][];
+
+        for (int i = 0; i < KEYS; i++) {
+            vals[i] = new byte[VAL_SIZE];
+
+            ThreadLocalRandom.current().nextBytes(vals[i]);
+
+            cache.put(i, ignite0.binary().builder("LargeValue").setField("data", vals[i]).build());
+        }
+
+        IgniteCache<Integer, BinaryObject> cache1 = ignite1.cache(DEFAULT_CACHE_NAME).withKeepBinary();
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue("Unexpected value [key=" + i + ']', Arrays.equals(vals[i], cache1.get(i).field("data")));
+    }
+}
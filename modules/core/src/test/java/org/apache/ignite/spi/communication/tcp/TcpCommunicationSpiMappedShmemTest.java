@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.nio.GridCommunicationClient;
+import org.apache.ignite.internal.util.nio.GridShmemCommunicationClient;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests that nodes on the same host communicate over shared memory spaces backed by memory mapped files
+ * when shared memory port is chosen automatically.
+ */
+public class TcpCommunicationSpiMappedShmemTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        // Spaces are memory mapped by default.
+        cfg.setCommunicationSpi(new TcpCommunicationSpi().setSharedMemoryPort(0));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setBackups(1));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCacheOperations() throws Exception {
+        if (U.isWindows())
+            return;
+
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, String> cache = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, "value-" + i);
+
+        IgniteCache<Integer, String> cache1 = ignite1.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals("value-" + i, cache1.get(i));
+
+        ConcurrentMap<UUID, GridCommunicationClient[]> clients =
+            GridTestUtils.getFieldValue(ignite0.configuration().getCommunicationSpi(), "clients");
+
+        GridCommunicationClient[] nodeClients = clients.get(ignite1.localNode().id());
+
+        assertNotNull(nodeClients);
+
+        for (GridCommunicationClient client : nodeClients) {
+            if (client != null)
+                assertTrue("Unexpected client: " + client, client instanceof GridShmemCommunicationClient);
+        }
+    }
+}
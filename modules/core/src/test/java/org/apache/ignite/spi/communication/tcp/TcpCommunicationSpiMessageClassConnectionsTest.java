@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.GridTopic;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.managers.communication.CommunicationMessageClass;
+import org.apache.ignite.internal.managers.communication.GridIoMessage;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtAffinityAssignmentRequest;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtAffinityAssignmentResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionSupplyMessage;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearGetRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearLockRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearSingleGetRequest;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxFinishRequest;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetric;
+import org.apache.ignite.internal.processors.metric.impl.MetricUtils;
+import org.apache.ignite.internal.util.nio.GridCommunicationClient;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.SYSTEM_POOL;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMMUNICATION_METRICS_GROUP_NAME;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.WRITE_QUEUE_WAIT_TIME_METRIC_NAME;
+
+/**
+ * Tests sending messages of different classes over separate connections.
+ */
+public class TcpCommunicationSpiMessageClassConnectionsTest extends GridCommonAbstractTest {
+    /** Atomic cache name. */
+    private static final String ATOMIC_CACHE = "atomic";
+
+    /** Transactional cache name. */
+    private static final String TX_CACHE = "tx";
+
+    /** Keys count. */
+    private static final int KEYS = 1000;
+
+    /** Connections per node. */
+    private int connsPerNode = CommunicationMessageClass.values().length;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        TcpCommunicationSpi spi = new TcpCommunicationSpi();
+
+        spi.setConnectionsPerNode(connsPerNode);
+        spi.setMessageClassConnections(true);
+        spi.setSharedMemoryPort(-1);
+
+        cfg.setCommunicationSpi(spi);
+
+        cfg.setCacheConfiguration(
+            new CacheConfiguration<>(ATOMIC_CACHE)
+                .setAtomicityMode(CacheAtomicityMode.ATOMIC)
+                .setBackups(1),
+            new CacheConfiguration<>(TX_CACHE)
+                .setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL)
+                .setBackups(1));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMessageClassConnections() throws Exception {
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, Integer> atomic = ignite0.cache(ATOMIC_CACHE);
+        IgniteCache<Integer, Integer> tx = ignite0.cache(TX_CACHE);
+
+        for (int i = 0; i < KEYS; i++) {
+            atomic.put(i, i);
+
+            try (Transaction t = ignite0.transactions().txStart()) {
+                tx.put(i, i);
+
+                t.commit();
+            }
+        }
+
+        try (IgniteDataStreamer<Integer, Integer> streamer = ignite0.dataStreamer(ATOMIC_CACHE)) {
+            streamer.allowOverwrite(true);
+
+            for (int i = 0; i < KEYS; i++)
+                streamer.addData(i, -i);
+        }
+
+        ConcurrentMap<UUID, GridCommunicationClient[]> clients =
+            GridTestUtils.getFieldValue(ignite0.configuration().getCommunicationSpi(), "clients");
+
+        GridCommunicationClient[] nodeClients = clients.get(ignite1.localNode().id());
+
+        assertNotNull(nodeClients);
+
+        // Each message class has a connection of its own.
+        for (CommunicationMessageClass cls : CommunicationMessageClass.values())
+            assertNotNull("No connection for messages of class " + cls, nodeClients[cls.ordinal()]);
+
+        MetricRegistry mreg = ignite0.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME);
+
+        for (CommunicationMessageClass cls : CommunicationMessageClass.values()) {
+            HistogramMetric hist =
+                mreg.findMetric(MetricUtils.metricName(WRITE_QUEUE_WAIT_TIME_METRIC_NAME, cls.name()));
+
+            assertNotNull(hist);
+
+            long cnt = 0;
+
+            for (long v : hist.value())
+                cnt += v;
+
+            assertTrue("No messages of class " + cls, cnt > 0);
+        }
+    }
+
+    /**
+     * Checks that messages are classified by their type and that messages of a transaction share a connection key.
+     */
+    @Test
+    public void testMessageClassification() {
+        assertEquals(CommunicationMessageClass.SYSTEM,
+            ioMessage(new GridDhtAffinityAssignmentRequest()).messageClass());
+        assertEquals(CommunicationMessageClass.SYSTEM,
+            ioMessage(new GridDhtAffinityAssignmentResponse()).messageClass());
+        assertEquals(CommunicationMessageClass.BULK, ioMessage(new GridDhtPartitionSupplyMessage()).messageClass());
+        assertEquals(CommunicationMessageClass.DATA, ioMessage(new GridNearGetRequest()).messageClass());
+
+        GridCacheVersion ver = new GridCacheVersion(1, 2, 3);
+
+        GridNearLockRequest lockReq = new GridNearLockRequest();
+        GridNearTxFinishRequest finishReq = new GridNearTxFinishRequest();
+
+        lockReq.version(ver);
+        finishReq.version(ver);
+
+        GridIoMessage lockMsg = ioMessage(lockReq);
+        GridIoMessage finishMsg = ioMessage(finishReq);
+
+        assertEquals(CommunicationMessageClass.TX, lockMsg.messageClass());
+        assertEquals(CommunicationMessageClass.TX, finishMsg.messageClass());
+
+        assertTrue(lockMsg.connectionKey() >= 0);
+        assertEquals(lockMsg.connectionKey(), finishMsg.connectionKey());
+
+        // Other messages are pinned to a connection by the sending thread.
+        assertEquals(-1, ioMessage(new GridNearGetRequest()).connectionKey());
+    }
+
+    /**
+     * Checks that cache messages sent by a thread use one connection whether they are mapped to a partition or not,
+     * and that messages of a transaction use one connection whichever thread sends them.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMessageOrdering() throws Exception {
+        connsPerNode = 4 * CommunicationMessageClass.values().length;
+
+        IgniteEx ignite = startGrid(0);
+
+        TcpCommunicationSpi.ConnectionPolicy plc =
+            GridTestUtils.getFieldValue(ignite.configuration().getCommunicationSpi(), "connPlc");
+
+        GridNearSingleGetRequest singleGetReq = new GridNearSingleGetRequest();
+
+        GridTestUtils.setFieldValue(singleGetReq, "key", new KeyCacheObjectImpl(1, null, 5));
+
+        GridIoMessage getMsg = ioMessage(new GridNearGetRequest());
+        GridIoMessage singleGetMsg = ioMessage(singleGetReq);
+
+        assertEquals(CommunicationMessageClass.DATA, singleGetMsg.messageClass());
+
+        // Cache messages of a thread share a connection whether they are mapped to a partition or not.
+        for (int i = 0; i < 10; i++) {
+            GridTestUtils.runAsync(
+                () -> assertEquals(plc.connectionIndex(getMsg), plc.connectionIndex(singleGetMsg))).get();
+        }
+
+        GridCacheVersion ver = new GridCacheVersion(1, 2, 3);
+
+        GridNearLockRequest lockReq = new GridNearLockRequest();
+        GridNearTxFinishRequest finishReq = new GridNearTxFinishRequest();
+
+        lockReq.version(ver);
+        finishReq.version(ver);
+
+        int txIdx = plc.connectionIndex(ioMessage(lockReq));
+
+        // Messages of a transaction share a connection whichever thread sends them.
+        for (int i = 0; i < 10; i++)
+            assertEquals(txIdx, (int)GridTestUtils.runAsync(() -> plc.connectionIndex(ioMessage(finishReq))).get());
+    }
+
+    /**
+     * @param msg Message.
+     * @return Communication message wrapping the given one.
+     */
+    private static GridIoMessage ioMessage(Message msg) {
+        return new GridIoMessage(SYSTEM_POOL, GridTopic.TOPIC_CACHE, GridTopic.TOPIC_CACHE.ordinal(), msg, false, 0,
+            false);
+    }
+}
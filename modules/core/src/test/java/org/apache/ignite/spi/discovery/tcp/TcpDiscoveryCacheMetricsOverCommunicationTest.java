@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.spi.IgniteSpiException;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryMetricsUpdateMessage;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DELTA_METRICS_UPDATES;
+import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.FULL_METRICS_UPDATES;
+import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.METRICS_EXCHANGE_METRICS;
+
+/**
+ * Tests exchange of cache metrics over communication SPI.
+ */
+public class TcpDiscoveryCacheMetricsOverCommunicationTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES = 3;
+
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** Cache metrics were added to a metrics update message. */
+    private final AtomicBoolean ringCacheMetrics = new AtomicBoolean();
+
+    /** Number of metrics update messages. */
+    private final AtomicInteger ringMetricsMsgs = new AtomicInteger();
+
+    /** Cache metrics over communication flag of started nodes. */
+    private boolean cacheMetricsOverComm = true;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setMetricsUpdateFrequency(500);
+
+        TcpDiscoverySpi spi = (TcpDiscoverySpi)cfg.getDiscoverySpi();
+
+        spi.setCacheMetricsOverCommunication(cacheMetricsOverComm);
+
+        spi.addSendMessageListener(msg -> {
+            if (msg instanceof TcpDiscoveryMetricsUpdateMessage) {
+                ringMetricsMsgs.incrementAndGet();
+
+                if (((TcpDiscoveryMetricsUpdateMessage)msg).hasCacheMetrics())
+                    ringCacheMetrics.set(true);
+            }
+        });
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setStatisticsEnabled(true));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCacheMetricsOverCommunication() throws Exception {
+        startGrids(NODES);
+
+        IgniteEx ignite = grid(NODES - 1);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        // Cache metrics of each node are delivered to all nodes.
+        for (int i = 0; i < NODES; i++) {
+            IgniteEx ignite0 = grid(i);
+
+            for (int j = 0; j < NODES; j++) {
+                IgniteEx ignite1 = grid(j);
+
+                long puts = ignite1.cache(DEFAULT_CACHE_NAME).localMetrics().getCachePuts();
+
+                assertTrue(GridTestUtils.waitForCondition(() -> ignite0.cache(DEFAULT_CACHE_NAME)
+                    .metrics(ignite0.cluster().forNodeId(ignite1.localNode().id())).getCachePuts() == puts, 10_000));
+            }
+        }
+
+        assertTrue(ringMetricsMsgs.get() > 0);
+        assertFalse("Cache metrics were sent around the ring", ringCacheMetrics.get());
+
+        MetricRegistry mreg = grid(0).context().metric().registry(METRICS_EXCHANGE_METRICS);
+
+        assertTrue(mreg.<AtomicLongMetric>findMetric(FULL_METRICS_UPDATES).value() > 0);
+
+        // Only changed metrics are sent between full updates.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            cache.put(0, 0);
+
+            return mreg.<AtomicLongMetric>findMetric(DELTA_METRICS_UPDATES).value() > 0;
+        }, 10_000));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testJoinWithDifferentFlag() throws Exception {
+        startGrid(0);
+
+        cacheMetricsOverComm = false;
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> startGrid(1), IgniteSpiException.class,
+            "cacheMetricsOverCommunication");
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> startClientGrid(2), IgniteSpiException.class,
+            "cacheMetricsOverCommunication");
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.lang.IgniteUuid;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryAbstractMessage;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryCustomEventMessage;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+/**
+ * Tests packing of several discovery custom events into one ring message.
+ */
+public class TcpDiscoveryCustomEventBatchTest extends GridCommonAbstractTest {
+    /** Servers count. */
+    private static final int SRVS = 3;
+
+    /** Messages count. */
+    private static final int MSGS = 20;
+
+    /** Latch that blocks processing of custom messages on the coordinator, {@code null} if not blocked. */
+    private volatile CountDownLatch blockLatch;
+
+    /** Number of sent batches. */
+    private final AtomicInteger batches = new AtomicInteger();
+
+    /** Received messages per node. */
+    private final Map<String, List<Integer>> rcvd = new ConcurrentHashMap<>();
+
+    /** Received acknowledgements per node. */
+    private final Map<String, AtomicInteger> acks = new ConcurrentHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        BlockingDiscoverySpi spi = new BlockingDiscoverySpi();
+
+        spi.setIpFinder(sharedStaticIpFinder);
+
+        spi.addSendMessageListener(msg -> {
+            if (msg instanceof TcpDiscoveryCustomEventMessage &&
+                !((TcpDiscoveryCustomEventMessage)msg).batch().isEmpty())
+                batches.incrementAndGet();
+        });
+
+        cfg.setDiscoverySpi(spi);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchedMessages() throws Exception {
+        checkBatchedMessages(false);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchedMessagesWithAcknowledgement() throws Exception {
+        checkBatchedMessages(true);
+    }
+
+    /**
+     * @param ack Whether messages require acknowledgement.
+     * @throws Exception If failed.
+     */
+    private void checkBatchedMessages(boolean ack) throws Exception {
+        IgniteEx crd = startGrids(SRVS);
+
+        startClientGrid(SRVS);
+
+        for (Ignite ignite : G.allGrids()) {
+            String name = ignite.name();
+
+            rcvd.put(name, Collections.synchronizedList(new ArrayList<>()));
+            acks.put(name, new AtomicInteger());
+
+            ((IgniteEx)ignite).context().discovery().setCustomEventListener(TestMessage.class,
+                (topVer, snd, msg) -> rcvd.get(name).add(msg.idx));
+
+            ((IgniteEx)ignite).context().discovery().setCustomEventListener(TestAckMessage.class,
+                (topVer, snd, msg) -> acks.get(name).incrementAndGet());
+        }
+
+        for (int i = 0; i < SRVS; i++)
+            ((BlockingDiscoverySpi)grid(i).configuration().getDiscoverySpi()).processed.clear();
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        blockLatch = latch;
+
+        // The first message blocks the coordinator, so that the rest of messages are queued behind it.
+        for (int i = 0; i < MSGS; i++)
+            crd.context().discovery().sendCustomEvent(new TestMessage(i, ack));
+
+        latch.countDown();
+
+        blockLatch = null;
+
+        List<Integer> exp = new ArrayList<>();
+
+        for (int i = 0; i < MSGS; i++)
+            exp.add(i);
+
+        for (Ignite ignite : G.allGrids()) {
+            String name = ignite.name();
+
+            assertTrue(GridTestUtils.waitForCondition(() -> rcvd.get(name).size() >= MSGS &&
+                acks.get(name).get() >= (ack ? MSGS : 0), getTestTimeout()));
+
+            assertEquals(name, exp, rcvd.get(name));
+            assertEquals(name, ack ? MSGS : 0, acks.get(name).get());
+        }
+
+        assertTrue(batches.get() > 0);
+
+        // Every batched message is processed by SPI as a separate message.
+        for (int i = 0; i < SRVS; i++) {
+            Set<IgniteUuid> processed = ((BlockingDiscoverySpi)grid(i).configuration().getDiscoverySpi()).processed;
+
+            assertTrue(GridTestUtils.waitForCondition(() -> processed.size() >= (ack ? 2 : 1) * MSGS,
+                getTestTimeout()));
+        }
+    }
+
+    /**
+     * Discovery SPI that blocks processing of custom messages while the latch is set.
+     */
+    private class BlockingDiscoverySpi extends TcpDiscoverySpi {
+        /** Identifiers of processed custom messages. */
+        private final Set<IgniteUuid> processed = ConcurrentHashMap.newKeySet();
+
+        /** {@inheritDoc} */
+        @Override protected void startMessageProcess(TcpDiscoveryAbstractMessage msg) {
+            if (msg instanceof TcpDiscoveryCustomEventMessage)
+                processed.add(msg.id());
+
+            CountDownLatch latch = blockLatch;
+
+            if (latch != null && msg instanceof TcpDiscoveryCustomEventMessage && isLocalNodeCoordinator()) {
+                try {
+                    latch.await(getTestTimeout(), TimeUnit.MILLISECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test message.
+     */
+    private static class TestMessage implements DiscoveryCustomMessage {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final IgniteUuid id = IgniteUuid.randomUuid();
+
+        /** Index. */
+        private final int idx;
+
+        /** Whether acknowledgement is required. */
+        private final boolean ack;
+
+        /**
+         * @param idx Index.
+         * @param ack Whether acknowledgement is required.
+         */
+        private TestMessage(int idx, boolean ack) {
+            this.idx = idx;
+            this.ack = ack;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteUuid id() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+            return ack ? new TestAckMessage() : null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isMutable() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean stopProcess() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+            DiscoCache discoCache) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Test acknowledgement message.
+     */
+    private static class TestAckMessage implements DiscoveryCustomMessage {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final IgniteUuid id = IgniteUuid.randomUuid();
+
+        /** {@inheritDoc} */
+        @Override public IgniteUuid id() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isMutable() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean stopProcess() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+            DiscoCache discoCache) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
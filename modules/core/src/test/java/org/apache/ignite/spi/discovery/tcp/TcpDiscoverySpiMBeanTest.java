@@ -97,6 +97,58 @@ public class TcpDiscoverySpiMBeanTest extends GridCommonAbstractTest {
         }
     }
 
+    /**
+     * Tests join, ring pass and failure detection time metrics of TcpDiscoverySpiMBean.
+     *
+     * @throws Exception if fails.
+     */
+    @Test
+    public void testLatencyMetrics() throws Exception {
+        try {
+            startGrids(3);
+
+            for (int i = 0; i < 3; i++) {
+                TcpDiscoverySpiMBean bean = mbean(grid(i));
+
+                assertTrue(bean.getJoinDuration() > 0);
+                assertTrue(bean.getMaxRingMessageTime() >= bean.getAvgRingMessageTime());
+                assertEquals(0, bean.getMaxFailureDetectionTime());
+            }
+
+            ((TcpDiscoverySpi)grid(2).configuration().getDiscoverySpi()).simulateNodeFailure();
+
+            assertTrue(GridTestUtils.waitForCondition(() ->
+                grid(0).cluster().forServers().nodes().size() == 2, 10_000));
+
+            long maxTime = 0;
+
+            for (int i = 0; i < 2; i++) {
+                TcpDiscoverySpiMBean bean = mbean(grid(i));
+
+                assertTrue(bean.getMaxFailureDetectionTime() >= bean.getAvgFailureDetectionTime());
+
+                maxTime = Math.max(maxTime, bean.getMaxFailureDetectionTime());
+            }
+
+            assertTrue(maxTime <= grid(0).configuration().getFailureDetectionTimeout() * 2);
+        }
+        finally {
+            stopAllGrids();
+        }
+    }
+
+    /**
+     * @param grid Node.
+     * @return Discovery SPI MBean of the node.
+     * @throws Exception If failed.
+     */
+    private TcpDiscoverySpiMBean mbean(IgniteEx grid) throws Exception {
+        ObjectName spiName = U.makeMBeanName(grid.context().igniteInstanceName(), "SPIs",
+            TcpDiscoverySpi.class.getSimpleName());
+
+        return JMX.newMBeanProxy(ManagementFactory.getPlatformMBeanServer(), spiName, TcpDiscoverySpiMBean.class);
+    }
+
     /**
      * Tests TcpDiscoverySpiMBean#excludeNode.
      *
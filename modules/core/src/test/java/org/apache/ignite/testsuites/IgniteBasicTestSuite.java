@@ -98,6 +98,8 @@ import org.apache.ignite.internal.processors.metastorage.persistence.InMemoryCac
 import org.apache.ignite.internal.processors.odbc.OdbcConfigurationValidationSelfTest;
 import org.apache.ignite.internal.processors.odbc.OdbcEscapeSequenceSelfTest;
 import org.apache.ignite.internal.processors.odbc.SqlListenerUtilsTest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcColumnarPageTest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcPreparedStatementMessagesTest;
 import org.apache.ignite.internal.product.GridProductVersionSelfTest;
 import org.apache.ignite.internal.product.FeatureIsNotAvailableTest;
 import org.apache.ignite.internal.util.collection.BitSetIntSetTest;
@@ -201,6 +203,8 @@ import org.junit.runners.Suite;
     OdbcConfigurationValidationSelfTest.class,
     OdbcEscapeSequenceSelfTest.class,
     SqlListenerUtilsTest.class,
+    JdbcColumnarPageTest.class,
+    JdbcPreparedStatementMessagesTest.class,
 
     DynamicProxySerializationMultiJvmSelfTest.class,
 
@@ -17,6 +17,7 @@
 package org.apache.ignite.testsuites;
 
 import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryCrashDetectionSelfTest;
+import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryMappedSpaceSelfTest;
 import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryNativeLoaderSelfTest;
 import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemorySpaceSelfTest;
 import org.apache.ignite.internal.util.ipc.shmem.IpcSharedMemoryUtilsSelfTest;
@@ -31,7 +32,8 @@ import org.junit.runners.Suite;
     IpcSharedMemorySpaceSelfTest.class,
     IpcSharedMemoryUtilsSelfTest.class,
     IpcSharedMemoryCrashDetectionSelfTest.class,
-    IpcSharedMemoryNativeLoaderSelfTest.class
+    IpcSharedMemoryNativeLoaderSelfTest.class,
+    IpcSharedMemoryMappedSpaceSelfTest.class
 })
 public class IgniteIpcSharedMemorySelfTestSuite {
 }
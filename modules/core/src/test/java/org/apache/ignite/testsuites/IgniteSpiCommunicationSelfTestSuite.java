@@ -43,6 +43,9 @@ import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiFaultyClientSs
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiFaultyClientTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiFreezingClientTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiHalfOpenedConnectionTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiLargeMessageTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiMappedShmemTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiMessageClassConnectionsTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiMultiJvmTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiSkipMessageSendTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationStatisticsTest;
@@ -93,6 +96,10 @@ import org.junit.runners.Suite;
 
     TcpCommunicationStatisticsTest.class,
 
+    TcpCommunicationSpiMessageClassConnectionsTest.class,
+    TcpCommunicationSpiLargeMessageTest.class,
+    TcpCommunicationSpiMappedShmemTest.class,
+
     IgniteTcpCommunicationHandshakeWaitTest.class,
     IgniteTcpCommunicationHandshakeWaitSslTest.class,
     IgniteTcpCommunicationConnectOnInitTest.class,
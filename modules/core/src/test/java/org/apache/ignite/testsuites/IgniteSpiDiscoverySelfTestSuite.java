@@ -37,6 +37,8 @@ import org.apache.ignite.spi.discovery.tcp.TcpClientDiscoverySpiFailureTimeoutSe
 import org.apache.ignite.spi.discovery.tcp.TcpClientDiscoverySpiMulticastTest;
 import org.apache.ignite.spi.discovery.tcp.TcpClientDiscoverySpiSelfTest;
 import org.apache.ignite.spi.discovery.tcp.TcpClientDiscoveryUnresolvedHostTest;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoveryCacheMetricsOverCommunicationTest;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoveryCustomEventBatchTest;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoveryClientSuspensionSelfTest;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoveryFailedJoinTest;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoveryCoordinatorFailureTest;
@@ -163,7 +165,9 @@ import static org.apache.ignite.IgniteSystemProperties.IGNITE_OVERRIDE_MCAST_GRP
     TcpDiscoveryReconnectUnstableTopologyTest.class,
 
     IgniteMetricsOverflowTest.class,
-    MetricsCompactionTest.class
+    MetricsCompactionTest.class,
+    TcpDiscoveryCacheMetricsOverCommunicationTest.class,
+    TcpDiscoveryCustomEventBatchTest.class
 })
 public class IgniteSpiDiscoverySelfTestSuite {
     /** */
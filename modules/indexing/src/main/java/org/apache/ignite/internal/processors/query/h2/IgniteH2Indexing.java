@@ -108,6 +108,7 @@ import org.apache.ignite.internal.processors.query.GridQueryRowCacheCleaner;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.ParsedQuery;
 import org.apache.ignite.internal.processors.query.QueryField;
 import org.apache.ignite.internal.processors.query.QueryIndexDescriptorImpl;
 import org.apache.ignite.internal.processors.query.QueryUtils;
@@ -136,6 +137,7 @@ import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlInsert;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
 import org.apache.ignite.internal.processors.query.h2.twostep.GridMapQueryExecutor;
 import org.apache.ignite.internal.processors.query.h2.twostep.GridReduceQueryExecutor;
@@ -353,6 +355,45 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public PartitionResult partitionResult(String schemaName, SqlFieldsQuery qry)
+        throws IgniteSQLException {
+        QueryParserResult parsed = parser.parse(schemaName, qry, true);
+
+        if (parsed.remainingQuery() != null)
+            return null;
+
+        if (parsed.isSelect()) {
+            GridCacheTwoStepQuery twoStepQry = parsed.select().twoStepQuery();
+
+            return twoStepQry != null ? twoStepQry.derivedPartitions() : null;
+        }
+
+        if (parsed.isDml()) {
+            GridSqlStatement stmt = parsed.dml().statement();
+
+            if (stmt instanceof GridSqlInsert) {
+                try {
+                    return partExtractor.extractFromInsert((GridSqlInsert)stmt);
+                }
+                catch (IgniteCheckedException e) {
+                    throw new IgniteSQLException("Failed to extract partitions from the query.", e);
+                }
+            }
+
+            DmlDistributedPlanInfo distributedPlan = parsed.dml().plan().distributedPlan();
+
+            return distributedPlan != null ? distributedPlan.derivedPartitions() : null;
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ParsedQuery parse(String schemaName, SqlFieldsQuery qry) throws IgniteSQLException {
+        return parser.prepare(schemaName, qry);
+    }
+
     /** {@inheritDoc} */
     @Override public void store(GridCacheContext cctx,
         GridQueryTypeDescriptor type,
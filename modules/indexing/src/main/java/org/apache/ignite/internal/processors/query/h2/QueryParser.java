@@ -37,6 +37,7 @@ import org.apache.ignite.internal.processors.cache.query.SqlFieldsQueryEx;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
 import org.apache.ignite.internal.processors.query.GridQueryFieldMetadata;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.ParsedQuery;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.dml.DmlAstUtils;
 import org.apache.ignite.internal.processors.query.h2.dml.UpdatePlan;
@@ -146,11 +147,16 @@ public class QueryParser {
     private QueryParserResult parse0(String schemaName, SqlFieldsQuery qry, boolean remainingAllowed) {
         QueryDescriptor qryDesc = queryDescriptor(schemaName, qry);
 
-        QueryParserCacheEntry cached = cache.get(qryDesc);
+        QueryParserCacheEntry cached = parsedQuery(qryDesc, qry);
 
-        if (cached != null) {
-            metricsHolder.countCacheHit();
+        if (cached == null) {
+            cached = cache.get(qryDesc);
+
+            if (cached != null)
+                metricsHolder.countCacheHit();
+        }
 
+        if (cached != null) {
             return new QueryParserResult(
                 qryDesc,
                 QueryParameters.fromQuery(qry),
@@ -173,7 +179,8 @@ public class QueryParser {
 
         // Add to cache if not multi-statement.
         if (parseRes.remainingQuery() == null) {
-            cached = new QueryParserCacheEntry(parseRes.parametersMeta(), parseRes.select(), parseRes.dml(), parseRes.command());
+            cached = new QueryParserCacheEntry(qryDesc, parseRes.parametersMeta(), parseRes.select(), parseRes.dml(),
+                parseRes.command());
 
             cache.put(qryDesc, cached);
         }
@@ -182,6 +189,44 @@ public class QueryParser {
         return parseRes;
     }
 
+    /**
+     * Parses the query in advance, so that it can be executed without parsing and parser cache lookup.
+     *
+     * @param schemaName Schema name.
+     * @param qry Query to parse.
+     * @return Parsed query or {@code null} if the query is multi-statement.
+     */
+    public @Nullable QueryParserCacheEntry prepare(String schemaName, SqlFieldsQuery qry) {
+        QueryParserResult parseRes = parse0(schemaName, qry, true);
+
+        if (parseRes.remainingQuery() != null)
+            return null;
+
+        return new QueryParserCacheEntry(parseRes.queryDescriptor(), parseRes.parametersMeta(), parseRes.select(),
+            parseRes.dml(), parseRes.command());
+    }
+
+    /**
+     * Gets the query parsed in advance, if it has been parsed with the same descriptor.
+     *
+     * @param qryDesc Query descriptor.
+     * @param qry Query.
+     * @return Parsed query or {@code null} if the query is to be parsed.
+     */
+    private static @Nullable QueryParserCacheEntry parsedQuery(QueryDescriptor qryDesc, SqlFieldsQuery qry) {
+        if (!(qry instanceof SqlFieldsQueryEx))
+            return null;
+
+        ParsedQuery parsedQry = ((SqlFieldsQueryEx)qry).getParsedQuery();
+
+        if (parsedQry == null)
+            return null;
+
+        QueryParserCacheEntry cached = (QueryParserCacheEntry)parsedQry;
+
+        return cached.queryDescriptor().equals(qryDesc) ? cached : null;
+    }
+
     /**
      * Tries to parse sql query text using native parser. Only first (leading) sql command of the multi-statement is
      * actually parsed.
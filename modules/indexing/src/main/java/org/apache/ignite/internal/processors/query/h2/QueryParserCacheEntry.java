@@ -18,13 +18,17 @@ package org.apache.ignite.internal.processors.query.h2;
 
 import java.util.List;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
+import org.apache.ignite.internal.processors.query.ParsedQuery;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Cached two-step query.
  */
-public class QueryParserCacheEntry {
+public class QueryParserCacheEntry implements ParsedQuery {
+    /** Query descriptor. */
+    private final QueryDescriptor qryDesc;
+
     /** Select. */
     private final QueryParserResultSelect select;
 
@@ -40,25 +44,36 @@ public class QueryParserCacheEntry {
     /**
      * Constructor.
      *
+     * @param qryDesc Query descriptor.
      * @param paramsMeta metadata info about positional parameters of the query this record describes.
      * @param select SELECT.
      * @param dml DML.
      * @param cmd Command.
      */
     public QueryParserCacheEntry(
+        QueryDescriptor qryDesc,
         List<JdbcParameterMeta> paramsMeta,
         @Nullable QueryParserResultSelect select,
         @Nullable QueryParserResultDml dml,
         @Nullable QueryParserResultCommand cmd
     ) {
+        assert qryDesc != null;
         assert paramsMeta != null;
 
+        this.qryDesc = qryDesc;
         this.paramsMeta = paramsMeta;
         this.select = select;
         this.dml = dml;
         this.cmd = cmd;
     }
 
+    /**
+     * @return Query descriptor.
+     */
+    public QueryDescriptor queryDescriptor() {
+        return qryDesc;
+    }
+
     /**
      * @return SELECT.
      */
@@ -29,12 +29,14 @@ import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
+import org.apache.ignite.internal.processors.query.h2.dml.DmlAstUtils;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlConst;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlElement;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlInsert;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperation;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
@@ -131,6 +133,70 @@ public class PartitionExtractor {
             ctx.cache().context().exchange().readyAffinityVersion());
     }
 
+    /**
+     * Extract partition of the row inserted by single-row INSERT, so that the row could be sent directly to the
+     * primary node.
+     *
+     * @param ins Insert.
+     * @return Partition result or {@code null} if partition cannot be derived.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public PartitionResult extractFromInsert(GridSqlInsert ins) throws IgniteCheckedException {
+        if (ins.query() != null || ins.rows().size() != 1)
+            return null;
+
+        GridH2Table tbl = DmlAstUtils.gridTableForElement(ins.into()).dataTable();
+
+        if (tbl == null)
+            return null;
+
+        PartitionTableModel tblModel = new PartitionTableModel();
+
+        PartitionTable tbl0 = prepareDataTable(tbl.getName(), tbl, tblModel);
+
+        if (tbl0 == null)
+            return null;
+
+        GridSqlColumn[] cols = ins.columns();
+        GridSqlElement[] row = ins.rows().get(0);
+
+        for (int i = 0; i < cols.length; i++) {
+            Column col = cols[i].column();
+
+            // Key columns of a table with a separate affinity column cannot be used on the client side.
+            if (!tbl.isColumnForPartitionPruningStrict(col))
+                continue;
+
+            PartitionSingleNode part;
+
+            if (row[i] instanceof GridSqlConst) {
+                part = new PartitionConstantNode(tbl0, partResolver.partition(
+                    ((GridSqlConst)row[i]).value().getObject(),
+                    col.getType().getValueType(),
+                    tbl.cacheName()
+                ));
+            }
+            else if (row[i] instanceof GridSqlParameter) {
+                int colType = col.getType().getValueType();
+
+                part = new PartitionParameterNode(
+                    tbl0,
+                    partResolver,
+                    ((GridSqlParameter)row[i]).index(),
+                    colType,
+                    mappedType(colType)
+                );
+            }
+            else
+                return null;
+
+            return new PartitionResult(part, tblModel.joinGroupAffinity(tbl0.joinGroup()),
+                ctx.cache().context().exchange().readyAffinityVersion());
+        }
+
+        return null;
+    }
+
     /**
      * Merge partition info from multiple queries.
      *
@@ -337,47 +403,63 @@ public class PartitionExtractor {
                 return null;
             }
 
-            String cacheName = tbl0.cacheName();
-
-            String affColName = null;
-            String secondAffColName = null;
+            return prepareDataTable(alias, tbl0, tblModel);
+        }
+        else {
+            // Subquery/union/view, etc.
+            assert alias != null;
 
-            for (Column col : tbl0.getColumns()) {
-                if (tbl0.isColumnForPartitionPruningStrict(col)) {
-                    if (affColName == null)
-                        affColName = col.getName();
-                    else {
-                        secondAffColName = col.getName();
+            tblModel.addExcludedTable(alias);
 
-                        // Break as we cannot have more than two affinity key columns.
-                        break;
-                    }
-                }
-            }
+            return null;
+        }
+    }
 
-            PartitionTable tbl = new PartitionTable(alias, cacheName, affColName, secondAffColName);
+    /**
+     * Prepare data table.
+     *
+     * @param alias Table alias.
+     * @param tbl0 Data table.
+     * @param tblModel Table model.
+     * @return Added table or {@code null} if table is exlcuded from the model.
+     */
+    @Nullable private static PartitionTable prepareDataTable(
+        String alias,
+        GridH2Table tbl0,
+        PartitionTableModel tblModel
+    ) {
+        String cacheName = tbl0.cacheName();
 
-            PartitionTableAffinityDescriptor aff = affinityForCache(tbl0.cacheInfo().config());
+        String affColName = null;
+        String secondAffColName = null;
 
-            if (aff == null) {
-                // Non-standard affinity, exclude table.
-                tblModel.addExcludedTable(alias);
+        for (Column col : tbl0.getColumns()) {
+            if (tbl0.isColumnForPartitionPruningStrict(col)) {
+                if (affColName == null)
+                    affColName = col.getName();
+                else {
+                    secondAffColName = col.getName();
 
-                return null;
+                    // Break as we cannot have more than two affinity key columns.
+                    break;
+                }
             }
+        }
 
-            tblModel.addTable(tbl, aff);
+        PartitionTable tbl = new PartitionTable(alias, cacheName, affColName, secondAffColName);
 
-            return tbl;
-        }
-        else {
-            // Subquery/union/view, etc.
-            assert alias != null;
+        PartitionTableAffinityDescriptor aff = affinityForCache(tbl0.cacheInfo().config());
 
+        if (aff == null) {
+            // Non-standard affinity, exclude table.
             tblModel.addExcludedTable(alias);
 
             return null;
         }
+
+        tblModel.addTable(tbl, aff);
+
+        return tbl;
     }
 
     /**
@@ -36,7 +36,14 @@ import org.junit.runners.Suite;
     SslParametersTest.class,
     ConnectionTest.class,
     ConnectToStartingNodeTest.class,
-    AsyncChannelTest.class
+    AsyncChannelTest.class,
+    ClientPartitionAwarenessTest.class,
+    ClientDataStreamerTest.class,
+    ClientContinuousQueryTest.class,
+    ClientTransactionsTest.class,
+    ClientComputeTest.class,
+    ClientNearCacheTest.class,
+    ClientConnectorAdmissionControlTest.class
 })
 public class ClientTestSuite {
     // No-op.
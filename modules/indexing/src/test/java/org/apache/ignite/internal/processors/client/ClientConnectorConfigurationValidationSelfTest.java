@@ -154,6 +154,20 @@ public class ClientConnectorConfigurationValidationSelfTest extends GridCommonAb
         checkJdbc(null, ClientConnectorConfiguration.DFLT_PORT + 1);
     }
 
+    /**
+     * Test max active compute tasks per connection.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMaxActiveComputeTasksPerConnection() throws Exception {
+        check(new ClientConnectorConfiguration().setMaxActiveComputeTasksPerConnection(-1), false);
+        check(new ClientConnectorConfiguration().setMaxActiveComputeTasksPerConnection(0), false);
+
+        check(new ClientConnectorConfiguration().setMaxActiveComputeTasksPerConnection(10), true);
+        checkJdbc(null, ClientConnectorConfiguration.DFLT_PORT);
+    }
+
     /**
      * Test thread pool size.
      *